@@ -1,9 +1,11 @@
 package com.swagteam360.dungeonadventure.controller;
 
 import com.swagteam360.dungeonadventure.model.*;
+import com.swagteam360.dungeonadventure.utility.FXBatcher;
 import com.swagteam360.dungeonadventure.utility.GUIUtils;
 import com.swagteam360.dungeonadventure.view.InventoryPanel;
 import com.swagteam360.dungeonadventure.view.RoomView;
+import com.swagteam360.dungeonadventure.view.SaveSlotDialog;
 import javafx.animation.*;
 import javafx.application.Platform;
 import javafx.event.ActionEvent;
@@ -22,8 +24,9 @@ import javafx.util.Duration;
 
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
-import java.io.File;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 
 /**
@@ -36,6 +39,18 @@ import java.util.*;
  */
 public final class GameViewController implements PropertyChangeListener {
 
+    /**
+     * Pause between the steps of a battle shown to the player, such as the Hero's attack and the
+     * monster's answer, so that each can be read before the next one replaces it.
+     */
+    private static final Duration BATTLE_STEP_DELAY = Duration.seconds(0.75);
+
+    /**
+     * Pause between the commands of a replay at normal speed. The replay speed slider divides it, and the
+     * battle step delay, while a replay is shown.
+     */
+    private static final Duration REPLAY_STEP_DELAY = Duration.seconds(1);
+
     /* **** THE FOLLOWING FIELDS HOLD REFERENCES TO FXML ELEMENTS **** */
 
     /**
@@ -172,6 +187,20 @@ public final class GameViewController implements PropertyChangeListener {
     @FXML
     private Button myUseHealthPotionButton;
 
+    /**
+     * Represents the button that fights the rest of a battle at once with normal attacks only.
+     * It is hidden unless the player is in battle.
+     */
+    @FXML
+    private Button myAutoAttackButton;
+
+    /**
+     * Represents the button that fights the rest of a battle at once, using the Hero's special move whenever it
+     * helps. It is hidden unless the player is in battle.
+     */
+    @FXML
+    private Button myAutoSpecialButton;
+
     /**
      * Represents the Hero's health bar throughout the game. It is updated when damage is inflicted (by monsters or
      * pits) or when the Hero heals themselves.
@@ -203,6 +232,31 @@ public final class GameViewController implements PropertyChangeListener {
     @FXML
     private Pane roomViewPane;
 
+    /**
+     * Controller of the included minimap. GameManager only holds weak references to its
+     * listeners, so this field keeps the minimap alive for as long as the game view is shown.
+     */
+    @FXML
+    private MinimapController myMinimapController;
+
+    /**
+     * Holds the replay speed control, which is only shown during a replay.
+     */
+    @FXML
+    private VBox myReplayControls;
+
+    /**
+     * Shows the replay speed.
+     */
+    @FXML
+    private Label myReplaySpeedLabel;
+
+    /**
+     * Sets the replay speed, as a multiple of the normal speed.
+     */
+    @FXML
+    private Slider myReplaySpeedSlider;
+
 
     /* **** THE FOLLOWING FIELDS ARE GENERAL INSTANCE FIELDS FOR THE CONTROLLER **** */
 
@@ -226,10 +280,49 @@ public final class GameViewController implements PropertyChangeListener {
     );
 
     /**
-     * Represents a reference to BattleSystem. The player (through the GUI) will call some methods in this class
-     * through two main controls; either the attack button or the special move button.
+     * The monster the Hero is fighting, as it was when the battle began, or null while exploring. The battle itself
+     * is played by GameManager; the player drives it through the attack, special move and auto battle buttons.
      */
-    private BattleSystem myCurrentBattle;
+    private DungeonCharacter.CharacterViewModel myCurrentMonster;
+
+    /**
+     * The most hit points the Hero can have, as sent by GameManager.
+     */
+    private int myHeroMaxHP;
+
+    /**
+     * The directions the Hero can move in from the current room, as sent by GameManager with each room change.
+     * The view only reads what the events carry, never the model itself, which the game-logic thread owns.
+     */
+    private Set<Direction> myAvailableDirections = Set.of();
+
+    /**
+     * Steps of a battle waiting to be shown. A battle round is played at once on the game-logic thread, and
+     * its events are shown one step at a time, {@link #BATTLE_STEP_DELAY} apart.
+     * Only accessed on the JavaFX Application Thread.
+     */
+    private final Deque<Runnable> myBattleSteps = new ArrayDeque<>();
+
+    /**
+     * Timer that shows the next battle step, or null when no step has been shown for a while.
+     */
+    private Timeline myBattleStepTimeline;
+
+    /**
+     * Hit points of the Hero and the monster as the battle steps shown so far leave them. The health bars
+     * show these rather than the current hit points, which already include the steps still waiting.
+     */
+    private int myShownHeroHP;
+
+    /**
+     * See {@link #myShownHeroHP}.
+     */
+    private int myShownMonsterHP;
+
+    /**
+     * Summary of a battle fought at once, shown when the battle's end is shown. Null otherwise.
+     */
+    private String myBattleSummary;
 
     /**
      * Maintain a list of the player's current inventory items.
@@ -252,6 +345,26 @@ public final class GameViewController implements PropertyChangeListener {
      */
     private InventoryPanel myInventoryPanel;
 
+    /**
+     * Indicates that the player's attack or special move has been queued on the game-logic
+     * thread but its result has not come back yet. Prevents a double click from queueing
+     * a second move for the same turn, and holds back the battle steps until the whole
+     * round is known. Only accessed on the JavaFX Application Thread.
+     */
+    private boolean myBattleCommandPending;
+
+    /**
+     * Timer that plays the next command of a replay, or null when no replay is shown. While it runs,
+     * the player's controls stay hidden.
+     */
+    private Timeline myReplayTimeline;
+
+    /**
+     * Indicates that a replay command has been queued on the game-logic thread and its events have
+     * not all been shown yet. Only accessed on the JavaFX Application Thread.
+     */
+    private boolean myReplayStepPending;
+
 
     /* *** FXML HELPER METHODS *** */
 
@@ -280,16 +393,22 @@ public final class GameViewController implements PropertyChangeListener {
             myHeroDialogueLabel = new Label();
         }
 
-        myRoomView = new RoomView((int)roomViewPane.getPrefWidth(), (int)roomViewPane.getPrefHeight(),
-                GameManager.getInstance().getHero().getClass().getSimpleName().toLowerCase());
+        final String heroType = gameManager.getGameSettings().getHero();
+        myRoomView = new RoomView((int)roomViewPane.getPrefWidth(), (int)roomViewPane.getPrefHeight(), heroType);
 
         myInventoryPanel = new InventoryPanel();
 
-        // *** OBSERVER REGISTRATION ***
-        gameManager.addPropertyChangeListener(this);
+        // *** OBSERVER REGISTRATION (on the game-logic thread, which owns the model) ***
+        GameExecutor.getInstance().submit(() -> gameManager.addPropertyChangeListener(this));
+
+        // *** START AUTOSAVING in the background while this game is shown, or the replay of a saved game ***
+        if (gameManager.isReplaying()) {
+            startReplay();
+        } else {
+            startAutosave();
+        }
 
         GUIUtils.initializeDarkModeToggle(myDarkModeToggle); // Initialize dark mode toggle button
-        final String heroType = gameManager.getGameSettings().getHero();
         if (heroType != null) {
             setHeroImage(heroType); // Set the bottom-right image based on the hero type
         }
@@ -313,14 +432,21 @@ public final class GameViewController implements PropertyChangeListener {
         // ADD inventory panel to the scene
         heroControlsSpaceRight.getChildren().add(myInventoryPanel);
 
-        // *** SET the name label, UPDATE movement buttons, HIDE battle controls, SET health bar, and START hero dialogue ***
+        // *** SET the name label, HIDE battle controls, and START hero dialogue ***
+        // The movement buttons and health bar are set by the state GameManager sends on registration
         myHeroNameLabel.setText(gameManager.getGameSettings().getName());
-        updateMovementButtons(gameManager.getCurrentRoom().getAvailableDirections());
         showBattleControls(false);
-        updateHealthBar(gameManager.getHero());
         startHeroDialogue();
     }
 
+    /**
+     * Starts autosaving the game shown by this view.
+     */
+    private void startAutosave() {
+        AutosaveService.getInstance().start(SaveSlots.getInstance(),
+                AutosaveService.DEFAULT_INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+
     /**
      * Handles the event triggered by clicking the "Save and Quit" button.
      * This method is intended to save the current game state and exit the application.
@@ -347,41 +473,20 @@ public final class GameViewController implements PropertyChangeListener {
 
         if (saveResponse.isPresent()) {
             if (saveResponse.get() == saveAndQuit) {
-                final File savedFile = new File("saved_game.txt");
-
-                try {
-                    GameManager.getInstance().saveGame(savedFile);
-
-                    // Let user know that the game saved successfully
-                    final Alert savedAlert = new Alert(Alert.AlertType.INFORMATION);
-                    savedAlert.setTitle("Save Successful");
-                    savedAlert.setHeaderText(null);
-                    savedAlert.setContentText("Game saved successfully!");
-                    savedAlert.showAndWait();
-
-                    // Ask if they still want to quit
-                    final Alert exitPrompt = new Alert(Alert.AlertType.CONFIRMATION);
-                    exitPrompt.setTitle("Exit Game?");
-                    exitPrompt.setHeaderText("Do you still want to exit the application?");
-                    exitPrompt.setContentText("Choose your option:");
-
-                    final ButtonType exitNow = new ButtonType("Yes, Exit");
-                    final ButtonType stay = new ButtonType("No, Continue Playing");
-
-                    exitPrompt.getButtonTypes().setAll(exitNow, stay);
+                final Optional<Integer> slot = chooseSaveSlot();
+                if (slot.isEmpty()) {
+                    return;
+                }
 
-                    final Optional<ButtonType> exitResponse = exitPrompt.showAndWait();
-                    if (exitResponse.isPresent() && exitResponse.get() == exitNow) {
-                        Platform.exit();
+                // Save on the game-logic thread, then report back on the JavaFX Application Thread
+                GameExecutor.getInstance().submit(() -> {
+                    try {
+                        GameManager.getInstance().saveToSlot(slot.get());
+                        FXBatcher.post(this::onGameSaved);
+                    } catch (Exception e) {
+                        FXBatcher.post(this::onGameSaveFailed);
                     }
-
-                } catch (Exception e) {
-                    final Alert errorAlert = new Alert(Alert.AlertType.ERROR);
-                    errorAlert.setTitle("Save Error");
-                    errorAlert.setHeaderText("Could not save game.");
-                    errorAlert.setContentText("An error occurred while saving.");
-                    errorAlert.showAndWait();
-                }
+                });
 
             } else if (saveResponse.get() == quitWithoutSaving) {
                 Platform.exit();
@@ -389,6 +494,60 @@ public final class GameViewController implements PropertyChangeListener {
         }
     }
 
+    /**
+     * Asks the player which save slot to save to. The slots are described by the slot index.
+     *
+     * @return The chosen slot, or empty if the player cancelled.
+     */
+    private Optional<Integer> chooseSaveSlot() {
+        final List<Integer> slotNumbers = new ArrayList<>();
+        for (int slot = 1; slot <= SaveSlots.SLOT_COUNT; slot++) {
+            slotNumbers.add(slot);
+        }
+
+        return new SaveSlotDialog("Save Game", "Choose a slot to save to:", "Save", slotNumbers)
+                .showAndWait();
+    }
+
+    /**
+     * Lets the user know that the game saved successfully and asks whether they still want to quit.
+     */
+    private void onGameSaved() {
+        // Let user know that the game saved successfully
+        final Alert savedAlert = new Alert(Alert.AlertType.INFORMATION);
+        savedAlert.setTitle("Save Successful");
+        savedAlert.setHeaderText(null);
+        savedAlert.setContentText("Game saved successfully!");
+        savedAlert.showAndWait();
+
+        // Ask if they still want to quit
+        final Alert exitPrompt = new Alert(Alert.AlertType.CONFIRMATION);
+        exitPrompt.setTitle("Exit Game?");
+        exitPrompt.setHeaderText("Do you still want to exit the application?");
+        exitPrompt.setContentText("Choose your option:");
+
+        final ButtonType exitNow = new ButtonType("Yes, Exit");
+        final ButtonType stay = new ButtonType("No, Continue Playing");
+
+        exitPrompt.getButtonTypes().setAll(exitNow, stay);
+
+        final Optional<ButtonType> exitResponse = exitPrompt.showAndWait();
+        if (exitResponse.isPresent() && exitResponse.get() == exitNow) {
+            Platform.exit();
+        }
+    }
+
+    /**
+     * Lets the user know that an error occurred while saving.
+     */
+    private void onGameSaveFailed() {
+        final Alert errorAlert = new Alert(Alert.AlertType.ERROR);
+        errorAlert.setTitle("Save Error");
+        errorAlert.setHeaderText("Could not save game.");
+        errorAlert.setContentText("An error occurred while saving.");
+        errorAlert.showAndWait();
+    }
+
     /**
      * Handles the event triggered by the "Help" button.
      * This method displays an informational dialog box providing instructions
@@ -496,63 +655,110 @@ public final class GameViewController implements PropertyChangeListener {
             }
         }
 
+        // HIDE the buttons until the move has been processed so that extra clicks cannot queue more moves.
+        hideMovementButtons();
+
         // TELL the player to move. If it's illegal, handle the exception and print a notice.
-        try {
-            GameManager.getInstance().movePlayer(targetDirection);
-            updateMovementButtons(GameManager.getInstance().getCurrentRoom().getAvailableDirections());
-        } catch(IllegalArgumentException e) {
-            System.out.println("Illegal Move!");
-        }
+        GameExecutor.getInstance().submit(() -> {
+            try {
+                GameManager.getInstance().movePlayer(targetDirection);
+            } catch(IllegalStateException e) {
+                System.out.println("Illegal Move!");
+            }
+
+            // Posted after every event fired by the move, so a fight has already started if there is one.
+            FXBatcher.post(() -> updateMovementButtons(myAvailableDirections));
+        });
 
     }
 
     /**
-     * Handles the event where the player attacks the monster. A call is made in BattleSystem through myCurrentBattle
-     * to process and receive the result from the attack.
+     * Handles the event where the player attacks the monster. GameManager plays the round, and its
+     * steps are then shown to the player one at a time.
      */
     @FXML
     private void handleAttackButton() {
 
-        if (myCurrentBattle != null && myCurrentBattle.isPlayerTurn()) {
-            final String result = myCurrentBattle.processPlayerAttacks(); // Get the result from the player's attack
-            continueBattleAfterPlayerMove(result);
+        if (canTakeBattleTurn()) {
+            submitBattleCommand(() -> {
+                GameManager.getInstance().attack(); // The result arrives as battle events
+                return null;
+            });
         }
 
     }
 
     /**
-     * Handles the event where the player decides to use their special move in battle. A call is made in BattleSystem
-     * through myCurrentBattle to process and receive the result from this action.
+     * Handles the event where the player decides to use their special move in battle. GameManager plays
+     * the round, and its steps are then shown to the player one at a time.
      */
     @FXML
     private void handleSpecialMoveButton() {
 
-        if (myCurrentBattle != null && myCurrentBattle.isPlayerTurn()) {
-            String result = myCurrentBattle.processPlayerSpecialMove();
-            continueBattleAfterPlayerMove(result);
+        if (canTakeBattleTurn()) {
+            submitBattleCommand(() -> {
+                GameManager.getInstance().special();
+                return null;
+            });
         }
 
     }
 
+    /**
+     * Handles the event where the player chooses to resolve the battle automatically. The whole battle is fought at
+     * once on the game-logic thread, with the policy of the button that was clicked, and a summary is shown instead
+     * of each turn.
+     *
+     * @param theActionEvent The click on one of the auto battle buttons.
+     */
+    @FXML
+    private void handleAutoBattleButton(final ActionEvent theActionEvent) {
+
+        if (!canTakeBattleTurn() || !(theActionEvent.getSource() instanceof Button clickedButton)) {
+            return;
+        }
+
+        final BattlePolicy policy = clickedButton == myAutoSpecialButton
+                ? BattlePolicy.SPECIAL_WHEN_AVAILABLE
+                : BattlePolicy.ATTACK_ONLY;
+        final String monsterName = myCurrentMonster.name();
+
+        submitBattleCommand(() -> {
+            final BattleSummary summary = GameManager.getInstance().autoResolve(policy);
+            final String result = BattleText.renderSummary(summary, monsterName);
+            return () -> {
+                myShownMonsterHP += summary.monsterHealed() - summary.damageDealt();
+                updateHealthBars();
+                if (summary.finished()) {
+                    myBattleSummary = result; // Shown along with the end of the battle
+                } else {
+                    updateBattleStatus(result);
+                }
+            };
+        });
+
+    }
+
     /**
      * Handles the event in which the player chooses to heal themselves with a health potion.
      */
     @FXML
     private void handleHealthPotionButton() {
 
-        List<Item> inventory = GameManager.getInstance().getHero().getInventory();
-        Optional<Item> healthPotion = inventory.stream()
-                .filter(item -> item instanceof HealthPotion).findFirst();
-
-        if (healthPotion.isPresent()) {
-            HealthPotion hp = (HealthPotion) healthPotion.get();
-            GameManager.getInstance().getHero().heal(hp.getHealAmount());
-            inventory.remove(hp);
-            updateHealthBar(GameManager.getInstance().getHero()); // Update the GUI
-            updateBattleStatus("You used a health potion! Gained " + hp.getHealAmount() + " health.");
-        }
+        GameExecutor.getInstance().submit(() -> {
+            final Optional<Item> healthPotion = GameManager.getInstance().getHero().getInventory().stream()
+                    .filter(item -> item instanceof HealthPotion).findFirst();
+            final String result = healthPotion.map(item -> GameManager.getInstance().useItem(item.getName()))
+                    .orElse(null);
 
-        showBattleControls(true); // Inventory may not have anymore health potions, so update it here.
+            FXBatcher.post(() -> {
+                if (result != null) {
+                    updateBattleStatus(result);
+                }
+                // Inventory may not have anymore health potions, so update it here.
+                showBattleControls(true);
+            });
+        });
 
     }
 
@@ -641,7 +847,7 @@ public final class GameViewController implements PropertyChangeListener {
      */
     private void updateMovementButtons(final Set<Direction> availableDirections) {
 
-        if (myCurrentBattle != null) {
+        if (myCurrentMonster != null || myReplayTimeline != null) {
             hideMovementButtons();
         } else {
             if (myNorthButton != null) {
@@ -669,34 +875,37 @@ public final class GameViewController implements PropertyChangeListener {
      *                If {@code true}, the battle controls (attack and special move buttons)
      *                will be made visible while movement controls will be hidden.
      *                If {@code false}, movement controls will be enabled, and
-     *                battle controls will be hidden.
+     *                battle controls will be hidden. Nothing is shown during a replay.
      */
     private void showBattleControls(final boolean theShow) {
 
+        final boolean show = theShow && myReplayTimeline == null;
+
         if (myAttackButton != null) {
-            myAttackButton.setVisible(theShow);
+            myAttackButton.setVisible(show);
         }
 
         if (mySpecialMoveButton != null) {
-            mySpecialMoveButton.setVisible(theShow); // Show buttons for attacking when we encounter a monster
+            mySpecialMoveButton.setVisible(show); // Show buttons for attacking when we encounter a monster
         }
 
-        boolean hasHealthPotions = false;
-        if (GameManager.getInstance().getHero() != null
-                && GameManager.getInstance().getHero().getInventory() != null) {
-            hasHealthPotions = GameManager.getInstance().getHero().getInventory()
-                    .stream().anyMatch(item -> item instanceof HealthPotion);
+        if (myAutoAttackButton != null) {
+            myAutoAttackButton.setVisible(show);
         }
 
+        if (myAutoSpecialButton != null) {
+            myAutoSpecialButton.setVisible(show);
+        }
+
+        final boolean hasHealthPotions = myInventoryItems.stream().anyMatch(item -> item instanceof HealthPotion);
+
         if (myUseHealthPotionButton != null) {
-            myUseHealthPotionButton.setVisible(theShow && hasHealthPotions);
+            myUseHealthPotionButton.setVisible(show && hasHealthPotions);
         }
 
-        if (!theShow) {
-            if (GameManager.getInstance().getCurrentRoom() != null) {
-                updateMovementButtons(GameManager.getInstance().getCurrentRoom().getAvailableDirections());
-                //myInventoryButton.setVisible(true);
-            }
+        if (!show) {
+            updateMovementButtons(myAvailableDirections);
+            //myInventoryButton.setVisible(true);
         }
 
     }
@@ -707,7 +916,7 @@ public final class GameViewController implements PropertyChangeListener {
      *
      * @param theMonster The monster whose info is displayed in the GUI.
      */
-    private void showMonsterNameAndHealthBar(final Monster theMonster) {
+    private void showMonsterNameAndHealthBar(final DungeonCharacter.CharacterViewModel theMonster) {
 
         if (theMonster == null) {
             if (myMonsterNameLabel != null) {
@@ -720,11 +929,11 @@ public final class GameViewController implements PropertyChangeListener {
         }
 
         if (myMonsterNameLabel != null) {
-            myMonsterNameLabel.setText(theMonster.getName());
+            myMonsterNameLabel.setText(theMonster.name());
             myMonsterNameLabel.setVisible(true);
         }
         if (myMonsterHealthBar != null) {
-            updateHealthBar(theMonster);
+            setHealthBar(myMonsterHealthBar, theMonster.hp(), theMonster.maxHP());
             myMonsterHealthBar.setVisible(true);
         }
     }
@@ -764,124 +973,197 @@ public final class GameViewController implements PropertyChangeListener {
     }
 
     /**
-     * General method that updates the health bar of a dungeon character (either a Hero or Monster).
+     * Fills a health bar in proportion to the hit points left.
      *
-     * @param theCharacter The DungeonCharacter in which it's health progress bar needs to be updated.
+     * @param theBar The health bar.
+     * @param theHP The hit points left.
+     * @param theMaxHP The most hit points the character can have.
      */
-    private void updateHealthBar(final DungeonCharacter theCharacter) {
-
-        ProgressBar pb = new ProgressBar();
+    private void setHealthBar(final ProgressBar theBar, final int theHP, final int theMaxHP) {
 
-        if (theCharacter instanceof Hero) {
-            pb = myHealthBar;
-        } else if (theCharacter instanceof Monster) {
-            pb = myMonsterHealthBar;
-        }
-
-        if (theCharacter == null || pb == null) {
+        if (theMaxHP == 0) {
+            theBar.setProgress(0);
             return;
         }
 
-        int currentHP = theCharacter.getHP();
-        int maxHP = theCharacter.getMaxHP();
+        double percentage = (double) Math.clamp(theHP, 0, theMaxHP) / theMaxHP;
+        theBar.setProgress(percentage);
+    }
+
+    /* *** BATTLE-RELATED CODE *** */
+
+    /**
+     * Indicates whether the player may act in the battle: a battle is going, no command is on its way
+     * and every step of the last round has been shown.
+     *
+     * @return True if the battle buttons may act.
+     */
+    private boolean canTakeBattleTurn() {
+        return myCurrentMonster != null && !myBattleCommandPending && myBattleStepTimeline == null;
+    }
+
+    /**
+     * Queues a battle command on the game-logic thread. The steps of the round it plays are held back
+     * until the command has finished and are then shown one at a time.
+     *
+     * @param theCommand Plays the command, and returns any update to make on the JavaFX Application
+     *                   Thread before the steps are shown, or null.
+     */
+    private void submitBattleCommand(final Supplier<Runnable> theCommand) {
+
+        myBattleCommandPending = true;
+
+        GameExecutor.getInstance().submit(() -> {
+            Runnable update = null;
+            try {
+                update = theCommand.get();
+            } catch (IllegalStateException e) {
+                System.out.println("No battle is in progress!");
+            }
+
+            final Runnable finalUpdate = update;
+            FXBatcher.post(() -> {
+                myBattleCommandPending = false;
+                if (finalUpdate != null) {
+                    finalUpdate.run();
+                }
+                if (myBattleStepTimeline == null) {
+                    showNextBattleStep();
+                }
+            });
+        });
+    }
+
+    /**
+     * Shows a step of a battle, once the steps before it have been shown. A step arriving while
+     * nothing else is waiting is shown straight away.
+     *
+     * @param theStep The update to the GUI.
+     */
+    private void queueBattleStep(final Runnable theStep) {
 
-        if (maxHP == 0) {
-            pb.setProgress(0);
+        if (myBattleCommandPending || myBattleStepTimeline != null) {
+            myBattleSteps.add(theStep);
             return;
         }
 
-        double percentage = (double) currentHP / maxHP;
-        pb.setProgress(percentage);
+        theStep.run();
+        myBattleStepTimeline = new Timeline(new KeyFrame(BATTLE_STEP_DELAY, event -> showNextBattleStep()));
+        myBattleStepTimeline.setRate(myReplayTimeline != null ? myReplaySpeedSlider.getValue() : 1);
+        myBattleStepTimeline.play();
     }
 
-    /* *** BATTLE-RELATED CODE *** */
+    /**
+     * Shows the next waiting battle step, if any.
+     */
+    private void showNextBattleStep() {
+
+        myBattleStepTimeline = null;
+        final Runnable step = myBattleSteps.poll();
+        if (step != null) {
+            queueBattleStep(step);
+        }
+    }
 
     /**
-     * Helper method that updates the status label given the result of the user's attack/special move. A timeline is
-     * then started for a minor delay for the monster's upcoming attack and possible heal.
+     * Shows one move of a battle: what happened, and the health bar of whoever it hurt or healed.
      *
-     * @param theResult The result given by processing the player's attack, which updates the battle status.
-     */
-    private void continueBattleAfterPlayerMove(final String theResult) {
-
-        updateBattleStatus(theResult);
-        updateHealthBar(GameManager.getInstance().getCurrentRoom().getMonster());
-
-        final boolean battleOverAfterPlayer = myCurrentBattle.isBattleOver();
-
-        if (!battleOverAfterPlayer) {
-            final Timeline timeline = new Timeline(
-                    new KeyFrame(Duration.seconds(1), event -> {
-                        if (myCurrentBattle != null && !myCurrentBattle.isBattleOver()) {
-                            final String monsterResult = myCurrentBattle.processMonsterAttacks();
-                            updateBattleStatus(monsterResult); // Show monster attack results
-                            updateHealthBar(GameManager.getInstance().getHero()); // Update Hero health
-
-                            if (myCurrentBattle.isBattleOver()) {
-                                onBattleEnd(GameManager.getInstance().getCurrentRoom(), myCurrentBattle.didHeroWin());
-                            }
-
-                        }
-                    }),
-                    new KeyFrame(Duration.seconds(1.5), event -> {
-                        if (myCurrentBattle != null && !myCurrentBattle.isBattleOver()) {
-                            final String heal = myCurrentBattle.processMonsterHeal();
-                            updateBattleStatus(heal); // After a delay, show if the monster healed
-                            updateHealthBar(GameManager.getInstance().getCurrentRoom().getMonster()); // Update Monster
-                                                                                                      // health
-
-                            if (myCurrentBattle.isBattleOver()) {
-                                onBattleEnd(GameManager.getInstance().getCurrentRoom(), myCurrentBattle.didHeroWin());
-                            }
-                        }
-                    })
-            );
-            timeline.play();
-        } else {
-            onBattleEnd(GameManager.getInstance().getCurrentRoom(), myCurrentBattle.didHeroWin());
+     * @param theOutcome The move's outcome.
+     */
+    private void showBattleOutcome(final BattleOutcome theOutcome) {
+
+        if (myCurrentMonster == null) {
+            return;
+        }
+
+        final String result = BattleText.render(theOutcome, myCurrentMonster.name());
+        if (!result.isEmpty()) {
+            updateBattleStatus(result);
         }
+
+        switch (theOutcome.kind()) {
+            case MONSTER_ATTACK -> myShownHeroHP -= theOutcome.damage();
+            case MONSTER_HEAL -> myShownMonsterHP += theOutcome.heal();
+            case HEAL -> myShownHeroHP += theOutcome.heal();
+            case NOT_YOUR_TURN -> { }
+            default -> myShownMonsterHP -= theOutcome.damage();
+        }
+        updateHealthBars();
     }
 
     /**
-     * Handles the property change event that occurs when a monster is present in the room. myCurrentBattle is
-     * instantiated given the Hero and Monster, battle controls are enabled, monster info is visible, movement buttons
-     * are disabled, and the battle status label is updated.
+     * Updates the Hero's health bar, and the monster's during a battle, to the hit points shown so far.
+     */
+    private void updateHealthBars() {
+
+        if (myHealthBar != null) {
+            setHealthBar(myHealthBar, myShownHeroHP, myHeroMaxHP);
+        }
+        if (myMonsterHealthBar != null && myCurrentMonster != null) {
+            setHealthBar(myMonsterHealthBar, myShownMonsterHP, myCurrentMonster.maxHP());
+        }
+    }
+
+    /**
+     * Handles the property change event that occurs when a monster is present in the room. The battle has
+     * already begun in GameManager; battle controls are enabled, monster info is visible, movement buttons
+     * are disabled, and the battle status label is updated. The Hero's hit points are already shown.
      *
-     * @param theHero The Hero involved in the battle.
-     * @param theMonster The monster involved in the battle.
+     * @param theMonster The monster involved in the battle, as it was when the battle began.
      */
-    private void onBattleStart(final Hero theHero, final Monster theMonster) {
+    private void onBattleStart(final DungeonCharacter.CharacterViewModel theMonster) {
 
-        myCurrentBattle = new BattleSystem(theHero, theMonster);
+        myCurrentMonster = theMonster;
+        myShownMonsterHP = theMonster.hp();
         showBattleControls(true);
         showMonsterNameAndHealthBar(theMonster);
         hideMovementButtons();
-        updateBattleStatus("A fight has begun with a " + theMonster.getName());
+        final String message = "A fight has begun with a " + theMonster.name();
+        updateBattleStatus(message);
+        showBattleOdds(theMonster, message);
+
+    }
 
+    /**
+     * Works out the Hero's chance to win a battle that has just begun on the game-logic thread, then adds it to the
+     * battle status label, unless the battle has moved on by then.
+     *
+     * @param theMonster The monster involved in the battle, as it was when the battle began.
+     * @param theMessage The battle status shown when the battle began.
+     */
+    private void showBattleOdds(final DungeonCharacter.CharacterViewModel theMonster, final String theMessage) {
+
+        GameExecutor.getInstance().submit(() -> {
+            final BattleOdds odds = GameManager.getInstance().getBattleOdds();
+            FXBatcher.post(() -> {
+                if (odds != null && myCurrentMonster == theMonster && myBattleStatusLabel != null
+                        && theMessage.equals(myBattleStatusLabel.getText())) {
+                    updateBattleStatus(String.format("%s (%.0f%% chance to win)", theMessage,
+                            odds.winProbability() * 100));
+                }
+            });
+        });
     }
 
     /**
      * Handles the event where a battle ends. Checks whether the Hero was victorious, which updates events accordingly
      * (battle status label is updated, battle controls are disabled, monster info is set invisible, and movement
-     * buttons are enabled again). Otherwise, if the Hero was defeated, it delegates to another method that handles
-     * game-over events.
+     * buttons are enabled again). Otherwise, the game-over event that follows handles the Hero's defeat.
      *
-     * @param theRoom The current room to be examined, which updates the enabled movement buttons.
      * @param theHeroWon Boolean that determines the outcomes of battle.
      */
-    private void onBattleEnd(final Room theRoom, final boolean theHeroWon) {
+    private void onBattleEnd(final boolean theHeroWon) {
+
+        final String summary = myBattleSummary;
+        myBattleSummary = null;
+        updateBattleStatus(summary != null ? summary : theHeroWon ? "You won!" : "You lost!");
+        myCurrentMonster = null;
+        showBattleControls(false);
 
         if (theHeroWon) {
-            // If the Hero won, hide battle controls and update movement buttons
-            updateBattleStatus("You won!");
-            showBattleControls(false);
+            // If the Hero won, hide monster info and update movement buttons
             showMonsterNameAndHealthBar(null);
-            myCurrentBattle = null;
-            updateMovementButtons(theRoom.getAvailableDirections());
-        } else {
-            updateBattleStatus("You lost!");
-            showBattleControls(false);
-            handleGameOver();
+            updateMovementButtons(myAvailableDirections);
         }
     }
 
@@ -892,7 +1174,7 @@ public final class GameViewController implements PropertyChangeListener {
     private void handleGameOver() {
         // ChatGPT gave the following
         Platform.runLater(() -> {
-            GameManager.getInstance().removePropertyChangeListener(this);
+            unloadObserver();
             Alert alert = new Alert(Alert.AlertType.CONFIRMATION);
             alert.setTitle("Game Over");
             alert.setHeaderText("You lost the game!");
@@ -916,60 +1198,141 @@ public final class GameViewController implements PropertyChangeListener {
         });
     }
 
+    /* *** REPLAY *** */
+
+    /**
+     * Shows the replay of a saved game that GameManager has started. The player's controls are hidden,
+     * and a command is played every {@link #REPLAY_STEP_DELAY}, divided by the speed set on the slider.
+     */
+    private void startReplay() {
+
+        myReplayControls.setVisible(true);
+        myReplayControls.setManaged(true);
+        myInventoryPanel.setDisable(true);
+        updateBattleStatus("Replaying " + GameManager.getInstance().getGameSettings().getName() + "'s game...");
+
+        myReplayTimeline = new Timeline(new KeyFrame(REPLAY_STEP_DELAY, event -> stepReplay()));
+        myReplayTimeline.setCycleCount(Animation.INDEFINITE);
+        myReplayTimeline.rateProperty().bind(myReplaySpeedSlider.valueProperty());
+        myReplaySpeedLabel.textProperty().bind(myReplaySpeedSlider.valueProperty()
+                .asString("Replay Speed: %.1fx"));
+        myReplayTimeline.play();
+    }
+
+    /**
+     * Plays the next command of the replay on the game-logic thread, once the events of the last one,
+     * battle steps included, have all been shown.
+     */
+    private void stepReplay() {
+
+        if (myReplayStepPending || myBattleStepTimeline != null || !myBattleSteps.isEmpty()) {
+            return;
+        }
+
+        myReplayStepPending = true;
+        GameExecutor.getInstance().submit(() -> {
+            GameManager.getInstance().stepReplay();
+            FXBatcher.post(() -> myReplayStepPending = false); // Posted after the command's events
+        });
+    }
+
+    /**
+     * Stops the replay timer, if it is running.
+     */
+    private void stopReplay() {
+
+        if (myReplayTimeline != null) {
+            myReplayTimeline.stop();
+            myReplayTimeline = null;
+        }
+    }
+
+    /**
+     * Handles the end of a replay. The replay has caught up with the saved game, which GameManager has
+     * made the current game again, so the player's controls come back and autosaving starts.
+     */
+    private void onReplayEnd() {
+
+        stopReplay();
+        myReplayControls.setVisible(false);
+        myReplayControls.setManaged(false);
+        myInventoryPanel.setDisable(false);
+        startAutosave();
+
+        // The Hero's health and any battle were sent again just before the end of the replay
+        showBattleControls(myCurrentMonster != null);
+        updateBattleStatus("The replay has caught up with the saved game. Play on!");
+    }
+
     /* *** GAME MOVEMENTS AND BEHAVIOR *** */
 
     /**
      * Handles the event where the player successfully reaches the exit room of the dungeon with all four pillars. The
      * player may choose to continue exploring or exit the dungeon, which ends the game.
      */
-    private void handleGameCompletion() {
+    private void askToFinishGame() {
+        // Shown after the current event has been handled, like the game-over dialog
+        Platform.runLater(() -> {
+            Alert alert = new Alert(Alert.AlertType.CONFIRMATION);
+            alert.setTitle("Game Completion");
+            alert.setHeaderText("You have all four Pillars!");
+            alert.setContentText("Would you like to exit the dungeon or continue exploring?");
 
-        Alert alert = new Alert(Alert.AlertType.CONFIRMATION);
-        alert.setTitle("Game Completion");
-        alert.setHeaderText("You have all four Pillars!");
-        alert.setContentText("Would you like to exit the dungeon or continue exploring?");
+            ButtonType finishButton = new ButtonType("Finish Game");
+            ButtonType continueButton = new ButtonType("Keep exploring", ButtonBar.ButtonData.CANCEL_CLOSE);
 
-        ButtonType finishButton = new ButtonType("Finish Game");
-        ButtonType continueButton = new ButtonType("Keep exploring", ButtonBar.ButtonData.CANCEL_CLOSE);
+            alert.getButtonTypes().setAll(finishButton, continueButton);
 
-        alert.getButtonTypes().setAll(finishButton, continueButton);
+            Optional<ButtonType> result = alert.showAndWait();
+            if (result.isPresent() && result.get() == finishButton) {
+                GameExecutor.getInstance().submit(() -> {
+                    try {
+                        GameManager.getInstance().finishGame(); // The win arrives as a "Won" event
+                    } catch (IllegalStateException e) {
+                        System.out.println("The hero can no longer leave the dungeon!");
+                    }
+                });
+            }
+        });
+    }
 
-        Optional<ButtonType> result = alert.showAndWait();
-        if (result.isPresent() && result.get() == finishButton) {
-            GameManager.getInstance().removePropertyChangeListener(this);
-            final FXMLLoader loader = new FXMLLoader(getClass()
-                    .getResource("/com/swagteam360/dungeonadventure/game-completion.fxml"));
-            final Stage stage = (Stage) myRootPane.getScene().getWindow();
-            GUIUtils.switchScene(stage, loader);
-        }
+    /**
+     * Handles the event where the Hero has left the dungeon with all four pillars, which ends the game. The
+     * completion screen is shown.
+     */
+    private void handleGameCompletion() {
+
+        unloadObserver();
+
+        final FXMLLoader loader = new FXMLLoader(getClass()
+                .getResource("/com/swagteam360/dungeonadventure/game-completion.fxml"));
+        final Stage stage = (Stage) myRootPane.getScene().getWindow();
+        GUIUtils.switchScene(stage, loader);
 
     }
 
     /**
      * Handles the event which occurs when the user reaches the exit room. If the pillar count is four, the user is
      * then prompted to end the game; otherwise the battle status label is updated to notify the player to come back
-     * with all four pillars.
-     * @param theHero The hero whose inventory is to be examined.
+     * with all four pillars. Nothing is asked during a replay.
+     * @param thePillarCount The number of pillars the Hero holds.
      */
-    private void onExitRoomEntered(final Hero theHero) {
-        if (theHero.getPillarCount() == 4) {
-            handleGameCompletion();
-        } else {
-
-            if (myBattleStatusLabel != null) {
-                myBattleStatusLabel.setText("You've reached the exit room! Return with all four pillars to exit.");
+    private void onExitRoomEntered(final int thePillarCount) {
+        if (thePillarCount == PillarType.values().length) {
+            if (myReplayTimeline == null) {
+                askToFinishGame();
             }
-
+        } else if (myBattleStatusLabel != null) {
+            myBattleStatusLabel.setText("You've reached the exit room! Return with all four pillars to exit.");
         }
     }
 
     /**
-     * Handles the event if the room was a pit. Damage is applied to the hero, and the battle status label is updated.
-     * @param theHero The hero to be examined
+     * Handles the event if the room was a pit. The battle status label is updated; the health bar follows with
+     * the Hero's health change.
      * @param theDamage The damage inflicted to the Hero from the pit.
      */
-    private void onPitDamageTaken(final Hero theHero, final int theDamage) {
-        updateHealthBar(theHero);
+    private void onPitDamageTaken(final int theDamage) {
         updateBattleStatus("You've taken " + theDamage + " damage from the pit!");
     }
 
@@ -998,40 +1361,77 @@ public final class GameViewController implements PropertyChangeListener {
         myInventoryItems = itemList;
     }
 
+    /**
+     * Helper method to redraw the room view, and the movement buttons, for the room the Hero has entered.
+     * @param theRoomMatrix The view models of the room, in the middle, and its neighbors (uncast)
+     */
     private void updateRoomView(final Object theRoomMatrix) {
-        if (theRoomMatrix instanceof IRoom.RoomViewModel[][]) {
-            myRoomView.updateRoom((IRoom.RoomViewModel[][])theRoomMatrix);
+        if (theRoomMatrix instanceof IRoom.RoomViewModel[][] rooms) {
+            myRoomView.updateRoom(rooms);
+            myAvailableDirections = rooms[1][1].availableDirections();
+            updateMovementButtons(myAvailableDirections);
         }
     }
 
+    /**
+     * Helper method to show the Hero's health sent by GameManager when this view registers.
+     * @param theHero The view model of the Hero.
+     */
+    private void updateHeroStatus(final DungeonCharacter.CharacterViewModel theHero) {
+        myShownHeroHP = theHero.hp();
+        myHeroMaxHP = theHero.maxHP();
+        updateHealthBars();
+    }
+
     /**
      * Helper method that removes this controller classes as a listener of the current instance of GameManager.
+     * Autosaving stops as well, since the game shown by this view is over, and so does a replay.
      */
     private void unloadObserver() {
-        GameManager.getInstance().removePropertyChangeListener(this);
+        stopReplay();
+        AutosaveService.getInstance().stop();
+        GameExecutor.getInstance().submit(() -> GameManager.getInstance().removePropertyChangeListener(this));
     }
 
     /**
-     * Handles property changes that come from GameManager.
+     * Handles property changes that come from GameManager. Events are fired on the game-logic
+     * thread, so they are handed to the JavaFX Application Thread before touching the GUI.
      * @param theEvent A PropertyChangeEvent object describing the event source
      *          and the property that has changed.
      */
     @Override
     public void propertyChange(final PropertyChangeEvent theEvent) {
+        FXBatcher.post(() -> handlePropertyChange(theEvent));
+    }
+
+    /**
+     * Updates the GUI for a property change from GameManager. Runs on the JavaFX Application Thread.
+     * @param theEvent A PropertyChangeEvent object describing the event source
+     *          and the property that has changed.
+     */
+    private void handlePropertyChange(final PropertyChangeEvent theEvent) {
         switch (theEvent.getPropertyName()) {
             case "Clear Label" -> {
                 if (myBattleStatusLabel != null) {
                     myBattleStatusLabel.setText("");
                 }
             }
-            case "Fight" -> onBattleStart(GameManager.getInstance().getHero(), (Monster) theEvent.getNewValue());
-            case "Pit" -> onPitDamageTaken(GameManager.getInstance().getHero(), (int) theEvent.getNewValue());
-            case "Dead" -> handleGameOver();
-            case "Exit" -> onExitRoomEntered(GameManager.getInstance().getHero());
+            case "Fight" -> onBattleStart((DungeonCharacter.CharacterViewModel) theEvent.getNewValue());
+            case "Battle" -> queueBattleStep(() -> showBattleOutcome((BattleOutcome) theEvent.getNewValue()));
+            case "Battle End" -> queueBattleStep(() -> onBattleEnd((boolean) theEvent.getNewValue()));
+            case "Pit" -> onPitDamageTaken((int) theEvent.getNewValue());
+            case "Dead" -> queueBattleStep(this::handleGameOver);
+            case "Exit" -> onExitRoomEntered((int) theEvent.getNewValue());
+            case "Won" -> handleGameCompletion();
             case "INVENTORY_CHANGE" -> updateInventoryList(theEvent.getNewValue());
             case "ROOM_CHANGE" -> updateRoomView(theEvent.getNewValue());
-            case "HERO_HEALTH_CHANGE" -> updateHealthBar(GameManager.getInstance().getHero());
+            case "HERO_STATUS" -> updateHeroStatus((DungeonCharacter.CharacterViewModel) theEvent.getNewValue());
+            case "HERO_HEALTH_CHANGE" -> queueBattleStep(() -> {
+                myShownHeroHP = (int) theEvent.getNewValue();
+                updateHealthBars();
+            });
             case "VISION_POWERS" -> myRoomView.setVisionPowers((boolean) theEvent.getNewValue());
+            case "Replay End" -> onReplayEnd();
         }
     }
 }
\ No newline at end of file
@@ -1,5 +1,7 @@
 package com.swagteam360.dungeonadventure.controller;
 
+import com.swagteam360.dungeonadventure.model.GameExecutor;
+import com.swagteam360.dungeonadventure.model.GameManager;
 import com.swagteam360.dungeonadventure.model.Item;
 import com.swagteam360.dungeonadventure.model.Pillar;
 import com.swagteam360.dungeonadventure.utility.GUIUtils;
@@ -92,7 +94,8 @@ public class InventoryController {
     private void onBuffClick() {
         final Item selected = inventoryList.getSelectionModel().getSelectedItem();
         if (selected != null) {
-            System.out.println(selected.buff()); // buff the item
+            GameExecutor.getInstance().submit(() -> System.out.println(
+                    GameManager.getInstance().useItem(selected.getName()))); // buff the item
             myObservableItems.remove(selected);  // remove the selected item (now used) from the list (on frontend)
         } else {
             btnBuff.disableProperty().setValue(true);
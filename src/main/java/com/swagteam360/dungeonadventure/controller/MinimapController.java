@@ -1,6 +1,7 @@
 package com.swagteam360.dungeonadventure.controller;
 
 import com.swagteam360.dungeonadventure.model.*;
+import com.swagteam360.dungeonadventure.utility.FXBatcher;
 import javafx.fxml.FXML;
 import javafx.scene.layout.ColumnConstraints;
 import javafx.scene.layout.GridPane;
@@ -41,6 +42,19 @@ public final class MinimapController implements PropertyChangeListener {
      */
     private static final int MAX_SIZE = 100;
 
+    /**
+     * Largest number of rooms shown along each side of the minimap. Larger dungeons are shown
+     * through a window that follows the player, so drawing the minimap costs the same for any
+     * dungeon size.
+     */
+    private static final int MAX_VIEW_ROOMS = 15;
+
+    /**
+     * Number of rows and columns of rooms shown on the minimap.
+     */
+    private int myViewRows;
+    private int myViewCols;
+
     /**
      * Retrieves dungeon information and constructs the dungeon cell by cell. More logic is contained
      * in the updateMinimap method.
@@ -49,8 +63,10 @@ public final class MinimapController implements PropertyChangeListener {
     private void initialize() {
 
         myDungeon = GameManager.getInstance().getDungeon();
-        int rows = myDungeon.getRowSize();
-        int cols = myDungeon.getColSize(); // Get dungeon information.
+        int rows = Math.min(myDungeon.getRowSize(), MAX_VIEW_ROOMS);
+        int cols = Math.min(myDungeon.getColSize(), MAX_VIEW_ROOMS); // Get dungeon information.
+        myViewRows = rows;
+        myViewCols = cols;
 
         int CELL_SIZE = MAX_SIZE / Math.max(rows, cols);
 
@@ -77,13 +93,14 @@ public final class MinimapController implements PropertyChangeListener {
             }
         } // Set cells
 
-        GameManager.getInstance().addPropertyChangeListener(this);
-        updateMinimap();
+        // Register on the game-logic thread. Registering fires ROOM_CHANGE, which draws the minimap.
+        GameExecutor.getInstance().submit(() -> GameManager.getInstance().addPropertyChangeListener(this));
 
     }
 
     /**
-     * Handles the event in which the player moves.
+     * Handles the event in which the player moves. The room information is read here, on the game-logic
+     * thread, and the grid itself is redrawn on the JavaFX Application Thread.
      *
      * @param theEvent A PropertyChangeEvent object describing the event source
      *          and the property that has changed.
@@ -91,18 +108,28 @@ public final class MinimapController implements PropertyChangeListener {
     @Override
     public void propertyChange(final PropertyChangeEvent theEvent) {
         if (theEvent.getPropertyName().equals("ROOM_CHANGE")) {
-            updateMinimap();
+            final Dungeon dungeon = GameManager.getInstance().getDungeon();
+            final IRoom.RoomViewModel currentRoom = GameManager.getInstance().getCurrentRoomViewModel();
+
+            // Center the window on the player, keeping it inside the dungeon
+            final int startRow = Math.clamp(currentRoom.row() - myViewRows / 2, 0,
+                    dungeon.getRowSize() - myViewRows);
+            final int startCol = Math.clamp(currentRoom.col() - myViewCols / 2, 0,
+                    dungeon.getColSize() - myViewCols);
+            final IRoom.RoomViewModel[][] allRooms = dungeon.getRoomViewModels(startRow, startCol,
+                    myViewRows, myViewCols);
+            FXBatcher.post(() -> updateMinimap(allRooms, currentRoom));
         }
     }
 
     /**
      * Constructs the minimap when called upon. Black cells represent unvisited rooms, white cells represent visited
      * rooms, and a red cell denotes the player's current position within the dungeon.
+     *
+     * @param allRooms Room information for every room shown on the minimap
+     * @param currentRoom CURRENT room information
      */
-    private void updateMinimap() {
-
-        IRoom.RoomViewModel[][] allRooms = GameManager.getInstance().getDungeon().getAllRoomViewModels(); // ALL room information
-        IRoom.RoomViewModel currentRoom = GameManager.getInstance().getCurrentRoomViewModel(); // CURRENT room information
+    private void updateMinimap(final IRoom.RoomViewModel[][] allRooms, final IRoom.RoomViewModel currentRoom) {
 
         for (int row = 0; row < allRooms.length; row++) {
             for (int col = 0; col < allRooms[0].length; col++) {
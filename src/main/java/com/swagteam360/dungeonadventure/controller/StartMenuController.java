@@ -1,8 +1,14 @@
 package com.swagteam360.dungeonadventure.controller;
 
+import com.swagteam360.dungeonadventure.model.GameExecutor;
 import com.swagteam360.dungeonadventure.model.GameManager;
 import com.swagteam360.dungeonadventure.model.GameSettings;
+import com.swagteam360.dungeonadventure.model.SaveFormat;
+import com.swagteam360.dungeonadventure.model.SaveSlotInfo;
+import com.swagteam360.dungeonadventure.model.SaveSlots;
+import com.swagteam360.dungeonadventure.utility.FXBatcher;
 import com.swagteam360.dungeonadventure.utility.GUIUtils;
+import com.swagteam360.dungeonadventure.view.SaveSlotDialog;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
@@ -10,8 +16,11 @@ import javafx.scene.control.*;
 import javafx.scene.image.ImageView;
 import javafx.scene.input.MouseEvent;
 import javafx.stage.Stage;
+import javafx.util.StringConverter;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
@@ -26,6 +35,11 @@ import java.util.Optional;
  */
 public final class StartMenuController {
 
+    /**
+     * The file games were saved to before there were save slots.
+     */
+    private static final String LEGACY_SAVE_FILE = "saved_game.txt";
+
     /**
      * A ToggleButton in the user interface for enabling or disabling dark mode.
      * This button provides users with the option to switch between light mode
@@ -41,6 +55,13 @@ public final class StartMenuController {
     @FXML
     private ToggleButton myDarkModeToggle;
 
+    /**
+     * A ChoiceBox on the options screen for picking how games are saved. The chosen
+     * {@link SaveFormat} is handed to the GameManager on the game-logic thread.
+     */
+    @FXML
+    private ChoiceBox<SaveFormat> mySaveFormatChoice;
+
     /**
      * A TextField component in the application's user interface used for inputting the hero's name.
      * This field allows the user to enter or modify the name of their selected hero before starting the game.
@@ -76,6 +97,13 @@ public final class StartMenuController {
     @FXML
     private ToggleGroup myDifficultyButtons;
 
+    /**
+     * A CheckBox on the game customization screen for letting monsters roam the dungeon.
+     * When selected, the new game starts with monsters that move toward the hero as it explores.
+     */
+    @FXML
+    private CheckBox myRoamingMonstersCheckBox;
+
     /**
      * The ImageView component in the UI that represents the Thief character image.
      * This UI element is used as part of the character selection functionality
@@ -248,7 +276,7 @@ public final class StartMenuController {
     /**
      * Event handler for the Start Game button in the application's user interface.
      * This method initializes game settings based on user input (hero name, hero type,
-     * and selected difficulty), starts a new game using these settings, and switches
+     * selected difficulty and roaming monsters), starts a new game using these settings, and switches
      * the application to the game view scene.
      *
      * @param theActionEvent the ActionEvent triggered by the user's interaction,
@@ -271,23 +299,97 @@ public final class StartMenuController {
         }
 
         final GameSettings gameSettings = new GameSettings(heroName, heroType, difficulty);
-        GameManager.getInstance().startNewGame(gameSettings);
+        gameSettings.setRoamingMonsters(myRoamingMonstersCheckBox != null && myRoamingMonstersCheckBox.isSelected());
 
-        final FXMLLoader loader = new FXMLLoader(getClass()
-                .getResource("/com/swagteam360/dungeonadventure/game-view.fxml"));
-        GUIUtils.switchScene(theActionEvent, loader);
+        // Generate the game on the game-logic thread and switch scenes once it is ready.
+        GameExecutor.getInstance().submit(() -> {
+            GameManager.getInstance().startNewGame(gameSettings);
+            FXBatcher.post(() -> switchToGameView(theActionEvent));
+        });
 
     }
 
     /**
-     * Event handler for the Load Game button in the application's user interface.
+     * Event handler for the Load Game button in the application's user interface. Lists the
+     * occupied save slots, including the autosave, and loads the one the player picks.
+     * Only the slot index is read until a slot has been chosen.
      *
      * @param theActionEvent the ActionEvent triggered by the user's interaction.
      */
     @FXML
     private void loadGameButtonEvent(final ActionEvent theActionEvent) {
 
-        final File savedFile = new File("saved_game.txt");
+        final List<Integer> slots = new ArrayList<>();
+        for (final SaveSlotInfo info : SaveSlots.getInstance().listSlots()) {
+            slots.add(info.slot());
+        }
+
+        // Games saved before there were save slots are still offered when no slot is in use
+        if (slots.isEmpty()) {
+            loadLegacySave(theActionEvent);
+            return;
+        }
+
+        final Optional<Integer> slot = new SaveSlotDialog("Load Game", "Choose a saved game to load:",
+                "Load", slots).showAndWait();
+        slot.ifPresent(theSlot -> GameExecutor.getInstance().submit(() -> {
+            GameManager.getInstance().loadFromSlot(theSlot);
+            FXBatcher.post(() -> switchToGameView(theActionEvent));
+        }));
+    }
+
+    /**
+     * Event handler for the Replay Game button in the application's user interface. Lists the saved
+     * games that have a journal and replays the one the player picks in the game view, at a speed the
+     * player can change. Once the replay catches up with the save, the player goes on from there.
+     *
+     * @param theActionEvent the ActionEvent triggered by the user's interaction.
+     */
+    @FXML
+    private void replayGameButtonEvent(final ActionEvent theActionEvent) {
+
+        final List<Integer> slots = new ArrayList<>();
+        for (final SaveSlotInfo info : SaveSlots.getInstance().listSlots()) {
+            if (SaveSlots.getInstance().hasJournal(info.slot())) {
+                slots.add(info.slot());
+            }
+        }
+
+        if (slots.isEmpty()) {
+            final Alert alert = new Alert(Alert.AlertType.INFORMATION);
+            alert.setTitle("No Replays");
+            alert.setHeaderText(null);
+            alert.setContentText("No saved game can be replayed. Games are recorded from the start of a new game.");
+            alert.showAndWait();
+            return;
+        }
+
+        final Optional<Integer> slot = new SaveSlotDialog("Replay Game", "Choose a saved game to replay:",
+                "Replay", slots).showAndWait();
+        slot.ifPresent(theSlot -> GameExecutor.getInstance().submit(() -> {
+            final boolean started = GameManager.getInstance().startReplay(theSlot);
+            FXBatcher.post(() -> {
+                if (started) {
+                    switchToGameView(theActionEvent);
+                } else {
+                    final Alert alert = new Alert(Alert.AlertType.ERROR);
+                    alert.setTitle("Replay Error");
+                    alert.setHeaderText("Could not replay the game.");
+                    alert.setContentText("The game's journal does not match its save.");
+                    alert.showAndWait();
+                }
+            });
+        }));
+    }
+
+    /**
+     * Loads the single save file used before there were save slots, if it exists.
+     *
+     * @param theActionEvent the ActionEvent triggered by the user's interaction.
+     */
+    private void loadLegacySave(final ActionEvent theActionEvent) {
+
+        final File savedFile = new File(LEGACY_SAVE_FILE);
 
         // Load game may not exist. Prompt user to start a new game
         if (!savedFile.exists()) {
@@ -308,14 +410,25 @@ public final class StartMenuController {
         // Switch to the game view scene if confirmed. Call load game from GameManager.
         Optional<ButtonType> result = confirmAlert.showAndWait();
         if (result.isPresent() && result.get() == ButtonType.OK) {
-            GameManager.getInstance().loadGame(savedFile);
-
-            final FXMLLoader loader = new FXMLLoader(getClass()
-                    .getResource("/com/swagteam360/dungeonadventure/game-view.fxml"));
-            GUIUtils.switchScene(theActionEvent, loader);
+            GameExecutor.getInstance().submit(() -> {
+                GameManager.getInstance().loadGame(savedFile);
+                FXBatcher.post(() -> switchToGameView(theActionEvent));
+            });
         }
     }
 
+    /**
+     * Switches to the game view scene. Called on the JavaFX Application Thread once the
+     * game-logic thread has finished starting or loading the game.
+     *
+     * @param theActionEvent the ActionEvent whose source window should show the game view.
+     */
+    private void switchToGameView(final ActionEvent theActionEvent) {
+        final FXMLLoader loader = new FXMLLoader(getClass()
+                .getResource("/com/swagteam360/dungeonadventure/game-view.fxml"));
+        GUIUtils.switchScene(theActionEvent, loader);
+    }
+
     /**
      * Retrieves the type of hero selected in the user interface.
      * If no hero type is currently selected, a default value of "Warrior" is returned.
@@ -350,6 +463,48 @@ public final class StartMenuController {
     @FXML
     private void initialize() {
         GUIUtils.initializeDarkModeToggle(myDarkModeToggle);
+        if (mySaveFormatChoice != null) {
+            mySaveFormatChoice.setConverter(new StringConverter<>() {
+                @Override
+                public String toString(final SaveFormat theFormat) {
+                    return theFormat == null ? "" : describeSaveFormat(theFormat);
+                }
+
+                @Override
+                public SaveFormat fromString(final String theString) {
+                    return null; // The choice box is not editable
+                }
+            });
+            mySaveFormatChoice.getItems().setAll(SaveFormat.values());
+            mySaveFormatChoice.setValue(GameManager.getInstance().getSaveFormat());
+        }
+    }
+
+    /**
+     * Event handler for the save format ChoiceBox on the options screen. The chosen format
+     * is used by every save from then on, including saves to slots.
+     */
+    @FXML
+    private void saveFormatEvent() {
+        final SaveFormat format = mySaveFormatChoice.getValue();
+        if (format != null) {
+            GameExecutor.getInstance().submit(() -> GameManager.getInstance().setSaveFormat(format));
+        }
+    }
+
+    /**
+     * Returns the name a save format is shown under on the options screen.
+     *
+     * @param theFormat The save format.
+     * @return The format's name.
+     */
+    private static String describeSaveFormat(final SaveFormat theFormat) {
+        return switch (theFormat) {
+            case FULL -> "Full";
+            case SEED_DELTA -> "Compact (seed and changes)";
+            case INDEXED -> "Indexed (default)";
+            case MAPPED -> "Memory-mapped";
+        };
     }
 
     /**
@@ -0,0 +1,118 @@
+package com.swagteam360.dungeonadventure.model;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.random.RandomGenerator;
+
+/**
+ * A table for drawing an index with given weights in constant time, built with Vose's alias
+ * method. Each column holds the chance of keeping its own index and the index it falls back
+ * to otherwise, so a draw costs one random column and one random number however many indices
+ * there are.
+ *
+ * @author agent
+ * @version 1.0 (19 October 2026)
+ */
+final class AliasTable {
+
+    /**
+     * Chance of keeping each column's own index, from 0 to 1.
+     */
+    private final double[] myKeep;
+
+    /**
+     * The index each column falls back to.
+     */
+    private final int[] myAlias;
+
+    /**
+     * Builds a table for the given weights. The weights do not need to add up to anything.
+     *
+     * @param theWeights The weight of each index.
+     * @throws IllegalArgumentException if there are no weights, a weight is negative or not
+     *                                  finite, or every weight is zero.
+     */
+    AliasTable(final double[] theWeights) {
+        final int count = theWeights.length;
+        if (count == 0) {
+            throw new IllegalArgumentException("An alias table needs at least one weight.");
+        }
+        double total = 0;
+        for (final double weight : theWeights) {
+            if (weight < 0 || !Double.isFinite(weight)) {
+                throw new IllegalArgumentException("Invalid weight: " + weight);
+            }
+            total += weight;
+        }
+        if (total <= 0) {
+            throw new IllegalArgumentException("At least one weight must be positive.");
+        }
+
+        myKeep = new double[count];
+        myAlias = new int[count];
+
+        // Scale so the average column is exactly full, then pair each underfull column with an overfull one
+        final double[] scaled = new double[count];
+        final Deque<Integer> small = new ArrayDeque<>();
+        final Deque<Integer> large = new ArrayDeque<>();
+        for (int i = 0; i < count; i++) {
+            scaled[i] = theWeights[i] * count / total;
+            (scaled[i] < 1 ? small : large).push(i);
+        }
+        while (!small.isEmpty() && !large.isEmpty()) {
+            final int less = small.pop();
+            final int more = large.pop();
+            myKeep[less] = scaled[less];
+            myAlias[less] = more;
+            scaled[more] -= 1 - scaled[less];
+            (scaled[more] < 1 ? small : large).push(more);
+        }
+        // Whatever is left is full up to rounding error
+        while (!large.isEmpty()) {
+            final int index = large.pop();
+            myKeep[index] = 1;
+            myAlias[index] = index;
+        }
+        while (!small.isEmpty()) {
+            final int index = small.pop();
+            myKeep[index] = 1;
+            myAlias[index] = index;
+        }
+    }
+
+    /**
+     * Draws an index.
+     *
+     * @param theRandom Source of randomness.
+     * @return An index, drawn with the chance given by its weight.
+     */
+    int sample(final RandomGenerator theRandom) {
+        final int column = theRandom.nextInt(myKeep.length);
+        return theRandom.nextDouble() < myKeep[column] ? column : myAlias[column];
+    }
+
+    /**
+     * Returns the number of indices in the table.
+     *
+     * @return The number of weights the table was built from.
+     */
+    int size() {
+        return myKeep.length;
+    }
+
+    /**
+     * Works out the chance that a draw returns an index. Used to check the table.
+     *
+     * @param theIndex The index.
+     * @return The chance of drawing it, from 0 to 1.
+     */
+    double probability(final int theIndex) {
+        double chance = myKeep[theIndex];
+        for (int column = 0; column < myKeep.length; column++) {
+            if (myAlias[column] == theIndex && column != theIndex) {
+                chance += 1 - myKeep[column];
+            }
+        }
+        return chance / myKeep.length;
+    }
+}
@@ -0,0 +1,250 @@
+package com.swagteam360.dungeonadventure.model;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The AutosaveService class saves the game in the background. A save is requested either
+ * periodically or after notable events (winning a battle, picking up a pillar). The game
+ * state is copied into a {@link GameSnapshot} on the game-logic thread, which is cheap,
+ * and the snapshot is then encoded and written on the autosave thread so that neither
+ * the game logic nor the user interface ever waits on the disk.
+ * <p>
+ * Each write goes to a temporary file that atomically replaces the autosave file, so a
+ * crash in the middle of a write never leaves a damaged save behind. If snapshots arrive
+ * faster than they can be written, only the newest one is written.
+ * <p>
+ * When started with {@link SaveSlots}, autosaves go to the autosave slot and the slot's
+ * index entry is updated after every write, so the load menu lists the autosave too.
+ * The game's {@link GameJournal}, if it has one, is written next to the autosave file.
+ *
+ * @author agent
+ * @version 1.0 (19 October 2026)
+ */
+public final class AutosaveService {
+
+    /**
+     * Default number of seconds between periodic autosaves.
+     */
+    public static final long DEFAULT_INTERVAL_SECONDS = 30;
+
+    /**
+     * Name given to the autosave thread, which is helpful when reading stack traces.
+     */
+    private static final String THREAD_NAME = "autosave";
+
+    /**
+     * A singleton instance of the AutosaveService class.
+     */
+    private static final AutosaveService mySingleton = new AutosaveService();
+
+    /**
+     * A snapshot waiting to be written, together with its format and the file it belongs in.
+     *
+     * @param snapshot The game state to write
+     * @param format The preferred save format
+     * @param target The file to replace
+     * @param slots The save slots whose autosave slot the file is, or null
+     * @param journal The game's journal so far, or null if it has none
+     */
+    private record PendingSave(GameSnapshot snapshot, SaveFormat format, Path target, SaveSlots slots,
+                               byte[] journal) { }
+
+    /**
+     * Runs the periodic timer and every write, one at a time.
+     */
+    private final ScheduledExecutorService myExecutor;
+
+    /**
+     * The newest snapshot that has not been written yet, or null if there is none.
+     */
+    private final AtomicReference<PendingSave> myPendingSave = new AtomicReference<>();
+
+    /**
+     * The file autosaves are written to, or null while autosave is stopped.
+     */
+    private volatile Path myTarget;
+
+    /**
+     * The save slots whose autosave slot is being written, or null if autosaves go to a plain file.
+     */
+    private volatile SaveSlots mySlots;
+
+    /**
+     * The periodic autosave task, or null while autosave is stopped.
+     */
+    private ScheduledFuture<?> myPeriodicTask;
+
+    /**
+     * Constructs the service and its daemon thread. The thread is a daemon so that
+     * it never keeps the JVM alive after the application window closes.
+     */
+    private AutosaveService() {
+        myExecutor = Executors.newSingleThreadScheduledExecutor(theRunnable -> {
+            final Thread thread = new Thread(theRunnable, THREAD_NAME);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Provides access to the singleton instance of the AutosaveService class.
+     *
+     * @return the singleton instance of AutosaveService
+     */
+    public static AutosaveService getInstance() {
+        return mySingleton;
+    }
+
+    /**
+     * Starts autosaving to the given file. Every interval, an autosave is queued on the
+     * game-logic thread. Calling this while autosave is running switches to the new file
+     * and interval.
+     *
+     * @param theTarget The file autosaves are written to.
+     * @param theInterval Time between periodic autosaves.
+     * @param theUnit Unit of the interval.
+     */
+    public synchronized void start(final Path theTarget, final long theInterval, final TimeUnit theUnit) {
+        start(theTarget, null, theInterval, theUnit);
+    }
+
+    /**
+     * Starts autosaving to the autosave slot of the given save slots. Works like
+     * {@link #start(Path, long, TimeUnit)}, and also updates the slot's index entry after every write.
+     *
+     * @param theSlots The save slots to autosave into.
+     * @param theInterval Time between periodic autosaves.
+     * @param theUnit Unit of the interval.
+     */
+    public synchronized void start(final SaveSlots theSlots, final long theInterval, final TimeUnit theUnit) {
+        start(theSlots.getSlotFile(SaveSlots.AUTOSAVE_SLOT), theSlots, theInterval, theUnit);
+    }
+
+    /**
+     * Starts autosaving to a file that may belong to save slots.
+     */
+    private void start(final Path theTarget, final SaveSlots theSlots, final long theInterval,
+                       final TimeUnit theUnit) {
+        if (theInterval <= 0) {
+            throw new IllegalArgumentException("Autosave interval must be positive.");
+        }
+        stop();
+
+        mySlots = theSlots;
+        myTarget = Objects.requireNonNull(theTarget);
+        myPeriodicTask = myExecutor.scheduleWithFixedDelay(
+                () -> GameExecutor.getInstance().submit(() -> GameManager.getInstance().autosave()),
+                theInterval, theInterval, theUnit);
+    }
+
+    /**
+     * Stops periodic autosaves and ignores further save requests. A write that is already
+     * queued still completes.
+     */
+    public synchronized void stop() {
+        if (myPeriodicTask != null) {
+            myPeriodicTask.cancel(false);
+            myPeriodicTask = null;
+        }
+        myTarget = null;
+        mySlots = null;
+    }
+
+    /**
+     * Indicates whether autosave is running.
+     *
+     * @return True if save requests are currently accepted.
+     */
+    public boolean isRunning() {
+        return myTarget != null;
+    }
+
+    /**
+     * Queues a snapshot to be written to the autosave file. Does nothing while autosave is
+     * stopped. If an earlier snapshot is still waiting, it is replaced by this one.
+     *
+     * @param theSnapshot The game state to write.
+     * @param theFormat The preferred save format.
+     */
+    void save(final GameSnapshot theSnapshot, final SaveFormat theFormat) {
+        save(theSnapshot, theFormat, null);
+    }
+
+    /**
+     * Queues a snapshot to be written to the autosave file, together with the journal of the game.
+     * See {@link #save(GameSnapshot, SaveFormat)}.
+     *
+     * @param theSnapshot The game state to write.
+     * @param theFormat The preferred save format.
+     * @param theJournal The game's journal up to the snapshot, or null if it has none, in which case
+     *                   any journal left next to the autosave file is deleted.
+     */
+    void save(final GameSnapshot theSnapshot, final SaveFormat theFormat, final byte[] theJournal) {
+        final Path target = myTarget;
+        if (target == null) {
+            return;
+        }
+        final SaveSlots slots = mySlots; // start() sets the slots before the target
+
+        // Only schedule a write if none is waiting; a waiting write will pick up this snapshot.
+        if (myPendingSave.getAndSet(new PendingSave(theSnapshot, theFormat, target, slots,
+                theJournal)) == null) {
+            myExecutor.execute(this::writePendingSave);
+        }
+    }
+
+    /**
+     * Returns a Future that completes once every write queued so far has finished.
+     *
+     * @return A Future that completes after the pending writes.
+     */
+    public Future<?> flush() {
+        return myExecutor.submit(() -> { });
+    }
+
+    /**
+     * Stops autosaving and waits for the queued write, if any, to finish, so that the last
+     * autosave is not lost when the application exits. Autosave can be started again afterward.
+     */
+    public void close() {
+        stop();
+        try {
+            flush().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            e.printStackTrace(); // Might want to log this exception.
+        }
+    }
+
+    /**
+     * Writes the newest pending snapshot. Runs on the autosave thread.
+     */
+    private void writePendingSave() {
+        final PendingSave pending = myPendingSave.getAndSet(null);
+        if (pending == null) {
+            return;
+        }
+
+        try {
+            Files.createDirectories(pending.target().toAbsolutePath().getParent());
+            SaveCodec.writeAtomically(pending.snapshot(), pending.format(), pending.target());
+            GameJournal.writeFor(pending.target(), pending.journal());
+            if (pending.slots() != null) {
+                pending.slots().recordSave(SaveSlots.AUTOSAVE_SLOT, pending.snapshot());
+            }
+        } catch (IOException e) {
+            e.printStackTrace(); // Might want to log this exception. The previous autosave is left intact.
+        }
+    }
+}
@@ -0,0 +1,419 @@
+package com.swagteam360.dungeonadventure.model;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * The BatchEnvironment class steps many independent games in lockstep, for training and
+ * evaluating policies that play the game. Each call to {@link #step(int[])} gives every game one
+ * action, coded as a small number, and writes what each game looks like afterwards into arrays
+ * that are made once and overwritten by every step: the walls around the Hero, the Hero's hit
+ * points, the pillars held and the monster's hit points.
+ * <p>
+ * A game that ends is started over at once with its next seed, and is marked done for that step;
+ * its observations are then those of the new game, and its status says how the old one ended.
+ * Game i's k-th game is played from seed {@code seed + i + k * size}, so a batch replays exactly.
+ * <p>
+ * The games are split into a fixed set of fork/join tasks, made once and reused, which spread over
+ * every core. Steps therefore create no objects of their own. A game that ends is restarted in place,
+ * its next dungeon generated into the rooms of the last, and beaten monsters are pooled for the next
+ * spawn, so that only a battle or a used potion creates a few small objects.
+ *
+ * @author agent
+ * @version 1.0 (19 October 2026)
+ */
+public final class BatchEnvironment {
+
+    /** Action that moves north. The four moves are the {@link Direction} ordinals. */
+    public static final int MOVE_NORTH = Direction.NORTH.ordinal();
+
+    /** Action that moves south. */
+    public static final int MOVE_SOUTH = Direction.SOUTH.ordinal();
+
+    /** Action that moves east. */
+    public static final int MOVE_EAST = Direction.EAST.ordinal();
+
+    /** Action that moves west. */
+    public static final int MOVE_WEST = Direction.WEST.ordinal();
+
+    /** Action that attacks the monster. */
+    public static final int ATTACK = 4;
+
+    /** Action that uses the Hero's special move. */
+    public static final int SPECIAL = 5;
+
+    /** Action that drinks a health potion. */
+    public static final int USE_HEALTH_POTION = 6;
+
+    /** Action that drinks a vision potion. */
+    public static final int USE_VISION_POTION = 7;
+
+    /** Number of actions. */
+    public static final int ACTION_COUNT = 8;
+
+    /**
+     * Fewest games a task steps, so that small batches are not split finer than is worth it.
+     */
+    static final int MIN_TASK_GAMES = 64;
+
+    /**
+     * Beaten monsters of each type a game keeps for its next spawns. A game fights one monster at a time.
+     */
+    static final int SPAWN_POOL_CAPACITY = 2;
+
+    /**
+     * The directions, by ordinal.
+     */
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    /**
+     * Seed of the first game of the batch.
+     */
+    private final long mySeed;
+
+    /**
+     * The games.
+     */
+    private final GameSession[] myGames;
+
+    /**
+     * Number of games each game slot has finished.
+     */
+    private final long[] myEpisodes;
+
+    /**
+     * Walls around the Hero, one bit per {@link Direction} ordinal, set where the way is shut.
+     */
+    private final int[] myWalls;
+
+    /**
+     * The Hero's hit points.
+     */
+    private final int[] myHeroHP;
+
+    /**
+     * Number of pillars held.
+     */
+    private final int[] myPillars;
+
+    /**
+     * The monster's hit points, or 0 outside of a battle.
+     */
+    private final int[] myMonsterHP;
+
+    /**
+     * {@link GameSession.Status} ordinal of each game, which for a game that just ended is how it ended.
+     */
+    private final int[] myStatus;
+
+    /**
+     * Whether each game ended in the last step and was started over.
+     */
+    private final boolean[] myDone;
+
+    /**
+     * Whether each game ignored the last action, because of a wall, a battle or a missing item.
+     */
+    private final boolean[] myIgnored;
+
+    /**
+     * The pool the games are stepped in.
+     */
+    private final ForkJoinPool myPool;
+
+    /**
+     * The task that steps every game, made once.
+     */
+    private final StepAll myStepAll;
+
+    /**
+     * The actions of the step in progress.
+     */
+    private int[] myActions;
+
+    /**
+     * Constructs a batch in the common fork/join pool, which uses every core together with the
+     * calling thread.
+     *
+     * @param theSettings The hero type and difficulty of every game.
+     * @param theSize Number of games.
+     * @param theSeed Seed of the first game.
+     * @throws IllegalArgumentException if the hero type or difficulty is unknown or the size is not positive.
+     */
+    public BatchEnvironment(final GameSettings theSettings, final int theSize, final long theSeed) {
+        this(theSettings, theSize, theSeed, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs a batch.
+     *
+     * @param theSettings The hero type and difficulty of every game.
+     * @param theSize Number of games.
+     * @param theSeed Seed of the first game.
+     * @param thePool The pool the games are stepped in.
+     * @throws IllegalArgumentException if the hero type or difficulty is unknown or the size is not positive.
+     */
+    BatchEnvironment(final GameSettings theSettings, final int theSize, final long theSeed,
+                     final ForkJoinPool thePool) {
+        if (theSize <= 0) {
+            throw new IllegalArgumentException("Number of games must be positive: " + theSize);
+        }
+        mySeed = theSeed;
+        myPool = thePool;
+        myGames = new GameSession[theSize];
+        myEpisodes = new long[theSize];
+        myWalls = new int[theSize];
+        myHeroHP = new int[theSize];
+        myPillars = new int[theSize];
+        myMonsterHP = new int[theSize];
+        myStatus = new int[theSize];
+        myDone = new boolean[theSize];
+        myIgnored = new boolean[theSize];
+
+        final int tasks = Math.max(1, Math.min(thePool.getParallelism() * 4, theSize / MIN_TASK_GAMES));
+        final StepRange[] ranges = new StepRange[tasks];
+        for (int t = 0; t < tasks; t++) {
+            ranges[t] = new StepRange((int) ((long) theSize * t / tasks), (int) ((long) theSize * (t + 1) / tasks));
+        }
+        myStepAll = new StepAll(ranges);
+
+        for (int i = 0; i < theSize; i++) {
+            myGames[i] = new GameSession(theSettings, seedOf(i));
+            myGames[i].getSpawnService().setPoolCapacity(SPAWN_POOL_CAPACITY);
+            observe(i);
+        }
+    }
+
+    /**
+     * Gives every game one action and writes what every game looks like afterwards.
+     *
+     * @param theActions One action per game, from 0 to {@link #ACTION_COUNT} - 1.
+     * @throws IllegalArgumentException if there is not one action per game.
+     */
+    public void step(final int[] theActions) {
+        if (theActions.length != myGames.length) {
+            throw new IllegalArgumentException("Expected " + myGames.length + " actions, got " + theActions.length);
+        }
+        myActions = theActions;
+        try {
+            if (myStepAll.myRanges.length == 1) {
+                myStepAll.myRanges[0].compute();
+            } else {
+                myStepAll.reinitialize();
+                myPool.invoke(myStepAll);
+            }
+        } finally {
+            myActions = null;
+        }
+    }
+
+    /**
+     * Gives one game its action.
+     *
+     * @param theIndex The game's index.
+     * @param theAction The action.
+     */
+    private void stepGame(final int theIndex, final int theAction) {
+        final GameSession game = myGames[theIndex];
+        final boolean inBattle = game.isInBattle();
+        final boolean applied = switch (theAction) {
+            case 0, 1, 2, 3 -> !inBattle && game.move(DIRECTIONS[theAction]);
+            case ATTACK -> inBattle && game.attack() != null;
+            case SPECIAL -> inBattle && game.special() != null;
+            case USE_HEALTH_POTION -> game.useItem(HealthPotion.NAME) != null;
+            case USE_VISION_POTION -> game.useItem(VisionPotion.NAME) != null;
+            default -> false;
+        };
+        myIgnored[theIndex] = !applied;
+        myDone[theIndex] = game.isOver();
+
+        if (game.isOver()) {
+            final int status = game.getStatus().ordinal();
+            myEpisodes[theIndex]++;
+            game.restart(seedOf(theIndex));
+            observe(theIndex);
+            myStatus[theIndex] = status;
+        } else {
+            observe(theIndex);
+        }
+    }
+
+    /**
+     * Writes what a game looks like into the observation arrays.
+     *
+     * @param theIndex The game's index.
+     */
+    private void observe(final int theIndex) {
+        final GameSession game = myGames[theIndex];
+        int walls = 0;
+        for (final Direction direction : DIRECTIONS) {
+            if (!game.canMove(direction)) {
+                walls |= 1 << direction.ordinal();
+            }
+        }
+        myWalls[theIndex] = walls;
+        myHeroHP[theIndex] = game.getHero().getHP();
+        myPillars[theIndex] = game.getHero().getPillarCount();
+        myMonsterHP[theIndex] = game.isInBattle() ? game.getMonster().getHP() : 0;
+        myStatus[theIndex] = game.getStatus().ordinal();
+    }
+
+    /**
+     * Returns the seed of the next game of a slot.
+     *
+     * @param theIndex The game's index.
+     * @return The seed.
+     */
+    private long seedOf(final int theIndex) {
+        return mySeed + theIndex + myEpisodes[theIndex] * myGames.length;
+    }
+
+    /**
+     * Returns the number of games.
+     *
+     * @return The number of games stepped together.
+     */
+    public int size() {
+        return myGames.length;
+    }
+
+    /**
+     * Returns the walls around each Hero, one bit per {@link Direction} ordinal, set where the way
+     * is shut. The array is overwritten by every step and must not be changed.
+     *
+     * @return The walls of each game.
+     */
+    public int[] getWalls() {
+        return myWalls;
+    }
+
+    /**
+     * Returns each Hero's hit points. The array is overwritten by every step and must not be changed.
+     *
+     * @return The hit points of each game's Hero.
+     */
+    public int[] getHeroHP() {
+        return myHeroHP;
+    }
+
+    /**
+     * Returns the number of pillars each Hero holds. The array is overwritten by every step and
+     * must not be changed.
+     *
+     * @return The pillars of each game.
+     */
+    public int[] getPillars() {
+        return myPillars;
+    }
+
+    /**
+     * Returns the hit points of each game's monster, or 0 outside of a battle. The array is
+     * overwritten by every step and must not be changed.
+     *
+     * @return The monster hit points of each game.
+     */
+    public int[] getMonsterHP() {
+        return myMonsterHP;
+    }
+
+    /**
+     * Returns the {@link GameSession.Status} ordinal of each game. For a game that ended in the
+     * last step, it is how that game ended. The array is overwritten by every step and must not
+     * be changed.
+     *
+     * @return The status of each game.
+     */
+    public int[] getStatus() {
+        return myStatus;
+    }
+
+    /**
+     * Returns whether each game ended in the last step and was started over. The array is
+     * overwritten by every step and must not be changed.
+     *
+     * @return The done flags of each game.
+     */
+    public boolean[] getDone() {
+        return myDone;
+    }
+
+    /**
+     * Returns whether each game ignored its last action. The array is overwritten by every step
+     * and must not be changed.
+     *
+     * @return The ignored flags of each game.
+     */
+    public boolean[] getIgnored() {
+        return myIgnored;
+    }
+
+    /**
+     * Returns the number of games a slot has finished.
+     *
+     * @param theIndex The game's index.
+     * @return The number of finished games.
+     */
+    public long getEpisodeCount(final int theIndex) {
+        return myEpisodes[theIndex];
+    }
+
+    /**
+     * Returns a game, for looking at more than the observations show.
+     *
+     * @param theIndex The game's index.
+     * @return The game now being played in that slot.
+     */
+    GameSession getGame(final int theIndex) {
+        return myGames[theIndex];
+    }
+
+    /**
+     * Steps every range of games at once.
+     */
+    private final class StepAll extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        /** The ranges, made once. */
+        private final transient StepRange[] myRanges;
+
+        private StepAll(final StepRange[] theRanges) {
+            myRanges = theRanges;
+        }
+
+        @Override
+        protected void compute() {
+            for (final StepRange range : myRanges) {
+                range.reinitialize();
+            }
+            invokeAll(myRanges);
+        }
+    }
+
+    /**
+     * Steps a range of games.
+     */
+    private final class StepRange extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        /** Index of the first game. */
+        private final int myFrom;
+
+        /** Index after the last game. */
+        private final int myTo;
+
+        private StepRange(final int theFrom, final int theTo) {
+            myFrom = theFrom;
+            myTo = theTo;
+        }
+
+        @Override
+        protected void compute() {
+            final int[] actions = myActions;
+            for (int i = myFrom; i < myTo; i++) {
+                stepGame(i, actions[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,331 @@
+package com.swagteam360.dungeonadventure.model;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The BattleCalculator class works out the exact odds of a fight, without sampling. Hit points
+ * are bounded, so a fight is a Markov chain over the hit points of the hero and the monster at
+ * the start of each round. Each round the hero attacks, then the monster attacks and may heal,
+ * with the chances of {@link DungeonCharacter#attack}, {@link Hero#block} and {@link Monster#heal}.
+ * Like {@link BattleSimulator}, the hero only uses normal attacks.
+ * <p>
+ * The odds are computed backwards one round at a time for every pair of hit points at once,
+ * until they stop changing or reach the simulator's round limit. The tables are kept per set of
+ * stats, so after the first fight between two character types every lookup takes constant time,
+ * whatever hit points the characters have left.
+ *
+ * @author agent
+ * @version 1.0 (19 October 2026)
+ */
+public final class BattleCalculator {
+
+    /**
+     * The odds are complete once no value changes by more than this between rounds.
+     */
+    static final double TOLERANCE = 1e-12;
+
+    /**
+     * Index of the win probabilities in a set of values.
+     */
+    private static final int WIN = 0;
+
+    /**
+     * Index of the expected hero hit points in a set of values.
+     */
+    private static final int HERO_HP = 1;
+
+    /**
+     * Index of the expected monster hit points in a set of values.
+     */
+    private static final int MONSTER_HP = 2;
+
+    /**
+     * Index of the expected rounds in a set of values.
+     */
+    private static final int ROUNDS = 3;
+
+    /**
+     * A singleton instance of the BattleCalculator class.
+     */
+    private static final BattleCalculator mySingleton = new BattleCalculator();
+
+    /**
+     * The odds tables worked out so far, by stats.
+     */
+    private final Map<Matchup, OddsTable> myTables = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a calculator with no tables.
+     */
+    BattleCalculator() {
+    }
+
+    /**
+     * Provides access to the singleton instance of the BattleCalculator class.
+     *
+     * @return the singleton instance of BattleCalculator
+     */
+    public static BattleCalculator getInstance() {
+        return mySingleton;
+    }
+
+    /**
+     * Returns the odds of a fight between two characters, with the hit points they have now.
+     *
+     * @param theHero The hero.
+     * @param theMonster The monster.
+     * @return The odds of the fight.
+     */
+    public BattleOdds getOdds(final Hero theHero, final Monster theMonster) {
+        return getTable(new Matchup(theHero.getMaxHP(), theHero.getMyAttackSpeed(), theHero.getDamageRangeMin(),
+                theHero.getDamageRangeMax(), theHero.getMyHitChance(), theHero.getBlockChance(),
+                theMonster.getMaxHP(), theMonster.getMyAttackSpeed(), theMonster.getDamageRangeMin(),
+                theMonster.getDamageRangeMax(), theMonster.getMyHitChance(), theMonster.getHealChance(),
+                theMonster.getMinHealPoints(), theMonster.getMaxHealPoints()))
+                .getOdds(theHero.getHP(), theMonster.getHP());
+    }
+
+    /**
+     * Returns the odds of a fight between two character types at full health.
+     *
+     * @param theHero The hero's stats.
+     * @param theMonster The monster's stats.
+     * @return The odds of the fight.
+     */
+    public BattleOdds getOdds(final HeroStats theHero, final MonsterStats theMonster) {
+        return getOdds(theHero, theMonster, theHero.healthPoints(), theMonster.healthPoints());
+    }
+
+    /**
+     * Returns the odds of a fight between two character types with the given hit points.
+     *
+     * @param theHero The hero's stats.
+     * @param theMonster The monster's stats.
+     * @param theHeroHP The hero's hit points.
+     * @param theMonsterHP The monster's hit points.
+     * @return The odds of the fight.
+     * @throws IllegalArgumentException if either has more hit points than its maximum.
+     */
+    public BattleOdds getOdds(final HeroStats theHero, final MonsterStats theMonster,
+                              final int theHeroHP, final int theMonsterHP) {
+        return getTable(new Matchup(theHero.healthPoints(), theHero.attackSpeed(), theHero.damageRangeMin(),
+                theHero.damageRangeMax(), theHero.hitChance(), theHero.blockChance(), theMonster.healthPoints(),
+                theMonster.attackSpeed(), theMonster.damageRangeMin(), theMonster.damageRangeMax(),
+                theMonster.hitChance(), theMonster.healChance(), theMonster.minHealPoints(),
+                theMonster.maxHealPoints())).getOdds(theHeroHP, theMonsterHP);
+    }
+
+    /**
+     * Returns the number of odds tables kept.
+     *
+     * @return The number of sets of stats worked out so far.
+     */
+    int getTableCount() {
+        return myTables.size();
+    }
+
+    /**
+     * Returns the table of a set of stats, working it out the first time.
+     */
+    private OddsTable getTable(final Matchup theMatchup) {
+        return myTables.computeIfAbsent(theMatchup, OddsTable::new);
+    }
+
+    /**
+     * The stats that decide the odds of a fight.
+     */
+    private record Matchup(int heroMaxHP, int heroSpeed, int heroMinDamage, int heroMaxDamage, int heroHitChance,
+                           int blockChance, int monsterMaxHP, int monsterSpeed, int monsterMinDamage,
+                           int monsterMaxDamage, int monsterHitChance, double healChance, int minHeal,
+                           int maxHeal) {
+    }
+
+    /**
+     * The odds of every pair of hit points for one set of stats. Each value array holds the
+     * odds of hero hit points h and monster hit points m at index h * (monsterMaxHP + 1) + m;
+     * indexes where either is 0 are not used.
+     */
+    private static final class OddsTable {
+
+        /** The hero's maximum hit points. */
+        private final int myHeroMaxHP;
+
+        /** The monster's maximum hit points. */
+        private final int myMonsterMaxHP;
+
+        /** Win probability, expected hero and monster hit points and expected rounds. */
+        private final double[][] myValues;
+
+        /**
+         * Works out the table, one round at a time. After t rounds the values are the odds of
+         * a fight limited to t rounds, with unfinished fights counting as losses.
+         */
+        private OddsTable(final Matchup theMatchup) {
+            myHeroMaxHP = Math.max(theMatchup.heroMaxHP(), 1);
+            myMonsterMaxHP = Math.max(theMatchup.monsterMaxHP(), 1);
+            final int size = (myHeroMaxHP + 1) * (myMonsterMaxHP + 1);
+
+            final int heroAttacks = BattleSystem.attacksPerTurn(theMatchup.heroSpeed(), theMatchup.monsterSpeed());
+            final int monsterAttacks = BattleSystem.attacksPerTurn(theMatchup.monsterSpeed(), theMatchup.heroSpeed());
+            final double heroHit = chance(theMatchup.heroHitChance() / 100.0);
+            final double monsterHit = chance(theMatchup.monsterHitChance() / 100.0)
+                    * (1 - chance(theMatchup.blockChance() / 100.0));
+            final double heal = chance(theMatchup.healChance());
+            final int heroMaxDamage = Math.max(theMatchup.heroMinDamage(), theMatchup.heroMaxDamage());
+            final int monsterMaxDamage = Math.max(theMatchup.monsterMinDamage(), theMatchup.monsterMaxDamage());
+
+            // With no rounds left the fight is lost with both characters as they are
+            double[][] values = new double[4][size];
+            for (int h = 1; h <= myHeroMaxHP; h++) {
+                for (int m = 1; m <= myMonsterMaxHP; m++) {
+                    values[HERO_HP][index(h, m)] = h;
+                    values[MONSTER_HP][index(h, m)] = m;
+                }
+            }
+
+            double[][] next = new double[4][size];
+            double[][] scratch = new double[4][size];
+            final double[] prefix = new double[Math.max(myHeroMaxHP, myMonsterMaxHP) + 1];
+            for (int round = 0; round < BattleSystem.MAX_ROUNDS; round++) {
+                // Go back through the round: the heal, the monster's attacks, then the hero's attacks
+                for (int value = 0; value < 4; value++) {
+                    if (heal > 0) {
+                        for (int h = 1; h <= myHeroMaxHP; h++) {
+                            healLine(values[value], next[value], index(h, 0), 1, myMonsterMaxHP, heal,
+                                    theMatchup.minHeal(), theMatchup.maxHeal(), prefix);
+                        }
+                    } else {
+                        System.arraycopy(values[value], 0, next[value], 0, size);
+                    }
+                }
+                for (int attack = 0; attack < monsterAttacks; attack++) {
+                    for (int value = 0; value < 4; value++) {
+                        for (int m = 1; m <= myMonsterMaxHP; m++) {
+                            final double lost = value == MONSTER_HP ? m : 0;
+                            damageLine(next[value], scratch[value], index(0, m), myMonsterMaxHP + 1, myHeroMaxHP,
+                                    monsterHit, theMatchup.monsterMinDamage(), monsterMaxDamage, lost, prefix);
+                        }
+                    }
+                    final double[][] swap = next;
+                    next = scratch;
+                    scratch = swap;
+                }
+                for (int attack = 0; attack < heroAttacks; attack++) {
+                    for (int value = 0; value < 4; value++) {
+                        for (int h = 1; h <= myHeroMaxHP; h++) {
+                            final double won = value == WIN ? 1 : value == HERO_HP ? h : 0;
+                            damageLine(next[value], scratch[value], index(h, 0), 1, myMonsterMaxHP,
+                                    heroHit, theMatchup.heroMinDamage(), heroMaxDamage, won, prefix);
+                        }
+                    }
+                    final double[][] swap = next;
+                    next = scratch;
+                    scratch = swap;
+                }
+
+                boolean changed = false;
+                for (int h = 1; h <= myHeroMaxHP; h++) {
+                    for (int m = 1; m <= myMonsterMaxHP; m++) {
+                        final int i = index(h, m);
+                        next[ROUNDS][i] += 1;
+                        for (int value = 0; value < 4 && !changed; value++) {
+                            changed = Math.abs(next[value][i] - values[value][i])
+                                    > TOLERANCE * Math.max(1, Math.abs(next[value][i]));
+                        }
+                    }
+                }
+
+                final double[][] swap = values;
+                values = next;
+                next = swap;
+                if (!changed) {
+                    break;
+                }
+            }
+            myValues = values;
+        }
+
+        /**
+         * Looks up the odds of a pair of hit points.
+         */
+        private BattleOdds getOdds(final int theHeroHP, final int theMonsterHP) {
+            if (theHeroHP > myHeroMaxHP || theMonsterHP > myMonsterMaxHP) {
+                throw new IllegalArgumentException("Hit points above the maximum: " + theHeroHP + ", " + theMonsterHP);
+            }
+            if (theHeroHP <= 0) {
+                return new BattleOdds(0, 0, Math.max(theMonsterHP, 0), 0);
+            }
+            if (theMonsterHP <= 0) {
+                return new BattleOdds(1, theHeroHP, 0, 0);
+            }
+            final int i = index(theHeroHP, theMonsterHP);
+            return new BattleOdds(myValues[WIN][i], myValues[HERO_HP][i], myValues[MONSTER_HP][i],
+                    myValues[ROUNDS][i]);
+        }
+
+        private int index(final int theHeroHP, final int theMonsterHP) {
+            return theHeroHP * (myMonsterMaxHP + 1) + theMonsterHP;
+        }
+
+        /**
+         * Goes back through one attack along a line of hit points x = 1 to theLength, at
+         * theSource[theStart + x * theStride]. The attack hits with the given chance and deals
+         * from theMin to theMax damage; hits that bring x to 0 or below end the fight with
+         * theFinal.
+         */
+        private static void damageLine(final double[] theSource, final double[] theTarget, final int theStart,
+                                       final int theStride, final int theLength, final double theHit,
+                                       final int theMin, final int theMax, final double theFinal,
+                                       final double[] thePrefix) {
+            fillPrefix(theSource, theStart, theStride, theLength, thePrefix);
+            final double perDamage = theHit / (theMax - theMin + 1);
+            for (int x = 1; x <= theLength; x++) {
+                final int highest = x - theMin;
+                final int lowest = x - theMax;
+                final double alive = thePrefix[Math.max(highest, 0)] - thePrefix[Math.max(lowest - 1, 0)];
+                final int finished = lowest <= 0 ? Math.min(highest, 0) - lowest + 1 : 0;
+                final int i = theStart + x * theStride;
+                theTarget[i] = (1 - theHit) * theSource[i] + perDamage * (alive + finished * theFinal);
+            }
+        }
+
+        /**
+         * Goes back through one heal along a line of hit points x = 1 to theLength. The heal
+         * happens with the given chance and restores from theMin to theMax hit points, up to theLength.
+         */
+        private static void healLine(final double[] theSource, final double[] theTarget, final int theStart,
+                                     final int theStride, final int theLength, final double theChance,
+                                     final int theMin, final int theMax, final double[] thePrefix) {
+            fillPrefix(theSource, theStart, theStride, theLength, thePrefix);
+            final double perAmount = theChance / (theMax - theMin + 1);
+            final double full = theSource[theStart + theLength * theStride];
+            for (int x = 1; x <= theLength; x++) {
+                final int lowest = x + theMin;
+                final int highest = x + theMax;
+                final double below = thePrefix[Math.min(highest, theLength)] - thePrefix[Math.min(lowest - 1, theLength)];
+                final int capped = Math.max(0, highest - Math.max(lowest - 1, theLength));
+                final int i = theStart + x * theStride;
+                theTarget[i] = (1 - theChance) * theSource[i] + perAmount * (below + capped * full);
+            }
+        }
+
+        /**
+         * Fills thePrefix[x] with the sum of the line's values 1 to x.
+         */
+        private static void fillPrefix(final double[] theSource, final int theStart, final int theStride,
+                                       final int theLength, final double[] thePrefix) {
+            thePrefix[0] = 0;
+            for (int x = 1; x <= theLength; x++) {
+                thePrefix[x] = thePrefix[x - 1] + theSource[theStart + x * theStride];
+            }
+        }
+
+        /**
+         * Clamps a chance to the range 0 to 1, as the dice rolls do.
+         */
+        private static double chance(final double theChance) {
+            return Math.min(1, Math.max(0, theChance));
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.swagteam360.dungeonadventure.model;
+
+/**
+ * The exact odds of a fight, as worked out by {@link BattleCalculator}. Fights still going after
+ * {@link BattleSystem#MAX_ROUNDS} rounds count as losses, as they do in the simulator.
+ *
+ * @param winProbability Chance that the hero wins, from 0 to 1
+ * @param expectedHeroHP Expected hit points of the hero when the fight ends, counting 0 for losses
+ * @param expectedMonsterHP Expected hit points of the monster when the fight ends, counting 0 for wins
+ * @param expectedRounds Expected number of rounds the fight lasts
+ *
+ * @author agent
+ * @version 1.0 (19 October 2026)
+ */
+public record BattleOdds(double winProbability, double expectedHeroHP, double expectedMonsterHP,
+                         double expectedRounds) {
+
+    /**
+     * Returns the chance that the hero does not win.
+     *
+     * @return The loss probability, from 0 to 1
+     */
+    public double lossProbability() {
+        return 1 - winProbability;
+    }
+}
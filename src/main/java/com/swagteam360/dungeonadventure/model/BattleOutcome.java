@@ -0,0 +1,106 @@
+package com.swagteam360.dungeonadventure.model;
+
+/**
+ * What happened in one step of a battle: a character's attacks, a special move or a monster's
+ * heal. Outcomes only hold numbers, so battles that nobody watches, such as simulations, build
+ * no text. {@link BattleText} turns an outcome into the message the player sees.
+ *
+ * @param kind What kind of step this was
+ * @param attempts Number of attacks attempted
+ * @param hits Number of attacks that dealt damage
+ * @param blocks Number of attacks the hero blocked
+ * @param damage Total damage dealt
+ * @param firstDamage Damage dealt by the first hit, for moves that list their hits
+ * @param heal Hit points healed
+ *
+ * @author agent
+ * @version 1.0 (19 October 2026)
+ */
+public record BattleOutcome(Kind kind, int attempts, int hits, int blocks, int damage, int firstDamage, int heal) {
+
+    /**
+     * The outcome of a special move attempted when it is not the hero's turn.
+     */
+    static final BattleOutcome NOT_YOUR_TURN = new BattleOutcome(Kind.NOT_YOUR_TURN, 0, 0, 0, 0, 0, 0);
+
+    /**
+     * The outcome of a monster that did not heal.
+     */
+    static final BattleOutcome NO_HEAL = new BattleOutcome(Kind.MONSTER_HEAL, 0, 0, 0, 0, 0, 0);
+
+    /**
+     * The kinds of battle steps.
+     */
+    public enum Kind {
+        /** The hero's normal attacks. */
+        HERO_ATTACK,
+        /** The monster's attacks. */
+        MONSTER_ATTACK,
+        /** The monster's chance to heal. */
+        MONSTER_HEAL,
+        /** A special move tried out of turn. Nothing happened. */
+        NOT_YOUR_TURN,
+        /** The Warrior's Bash. */
+        BASH,
+        /** The Priestess's Heal. */
+        HEAL,
+        /** The Thief was caught trying a Surprise Attack. */
+        CAUGHT,
+        /** The Thief's Surprise Attack turned into a normal attack. */
+        NORMAL_ATTACK,
+        /** The Thief's Surprise Attack succeeded. */
+        SURPRISE_ATTACK;
+
+        /**
+         * Indicates whether this kind of step is a hero's special move.
+         *
+         * @return True for the special moves.
+         */
+        public boolean isSpecialMove() {
+            return ordinal() >= BASH.ordinal();
+        }
+    }
+
+    /**
+     * Builds the outcome of a turn of normal attacks.
+     *
+     * @param theHero True for the hero's attacks, false for the monster's.
+     * @param theAttempts Number of attacks attempted.
+     * @param theHits Number of attacks that dealt damage.
+     * @param theBlocks Number of attacks blocked.
+     * @param theDamage Total damage dealt.
+     * @return The outcome.
+     */
+    static BattleOutcome attacks(final boolean theHero, final int theAttempts, final int theHits,
+                                 final int theBlocks, final int theDamage) {
+        return new BattleOutcome(theHero ? Kind.HERO_ATTACK : Kind.MONSTER_ATTACK, theAttempts, theHits, theBlocks,
+                theDamage, 0, 0);
+    }
+
+    /**
+     * Builds the outcome of a special move that deals damage.
+     *
+     * @param theKind The special move.
+     * @param theAttempts Number of attacks attempted.
+     * @param theHits Number of attacks that dealt damage.
+     * @param theDamage Total damage dealt.
+     * @param theFirstDamage Damage dealt by the first hit.
+     * @return The outcome.
+     */
+    static BattleOutcome special(final Kind theKind, final int theAttempts, final int theHits, final int theDamage,
+                                 final int theFirstDamage) {
+        return new BattleOutcome(theKind, theAttempts, theHits, 0, theDamage, theFirstDamage, 0);
+    }
+
+    /**
+     * Builds the outcome of a heal.
+     *
+     * @param theKind {@link Kind#HEAL} or {@link Kind#MONSTER_HEAL}.
+     * @param theHeal Hit points healed.
+     * @return The outcome.
+     */
+    static BattleOutcome heal(final Kind theKind, final int theHeal) {
+        return theKind == Kind.MONSTER_HEAL && theHeal == 0 ? NO_HEAL
+                : new BattleOutcome(theKind, 0, 0, 0, 0, 0, theHeal);
+    }
+}
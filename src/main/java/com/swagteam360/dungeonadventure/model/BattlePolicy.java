@@ -0,0 +1,36 @@
+package com.swagteam360.dungeonadventure.model;
+
+/**
+ * The BattlePolicy enum lists the ways a battle can be fought without the player choosing each
+ * move, for {@link BattleSystem#autoResolve(BattlePolicy)}.
+ *
+ * @author agent
+ * @version 1.0 (19 October 2026)
+ */
+public enum BattlePolicy {
+
+    /**
+     * The hero only uses normal attacks.
+     */
+    ATTACK_ONLY,
+
+    /**
+     * The hero uses their special move whenever it helps. The Priestess's heal is kept until she
+     * is down to half her health; the other special moves are used every turn.
+     */
+    SPECIAL_WHEN_AVAILABLE;
+
+    /**
+     * Decides whether the hero uses their special move this turn.
+     *
+     * @param theHero The hero.
+     * @param theMonster The monster the hero is fighting.
+     * @return True to use the special move, false to attack.
+     */
+    public boolean useSpecialMove(final Hero theHero, final Monster theMonster) {
+        return switch (this) {
+            case ATTACK_ONLY -> false;
+            case SPECIAL_WHEN_AVAILABLE -> !(theHero instanceof Priestess) || theHero.getHP() * 2 <= theHero.getMaxHP();
+        };
+    }
+}
@@ -0,0 +1,505 @@
+package com.swagteam360.dungeonadventure.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * The BattleSimulator class runs large numbers of fights between heroes and monsters without the
+ * user interface, to help tune the HeroStats and MonsterStats tables. Fights are played by
+ * {@link BattleSystem#autoResolve(BattlePolicy)}, in the order the game plays them: the hero
+ * moves, then the monster attacks and may heal. The hero's moves are chosen by a
+ * {@link BattlePolicy}, normal attacks only unless told otherwise.
+ * <p>
+ * There is one row of results for every hero against every monster, and one for every hero
+ * against the mix of monsters each difficulty spawns, drawn with the {@link SpawnService} weights.
+ * Each row's fights are split into a tree of fork/join tasks that spread over every core. Every
+ * task draws from its own {@link SplittableRandom}, split from its parent's, so the results
+ * depend only on the seed and not on how the tasks were scheduled.
+ * <p>
+ * Run {@link #main(String[])} to print a report of the catalog's stats as CSV or JSON.
+ *
+ * @author agent
+ * @version 1.0 (19 October 2026)
+ */
+public final class BattleSimulator {
+
+    /**
+     * Difficulty of the rows that pit a hero against a single monster type.
+     */
+    public static final String ANY_DIFFICULTY = "any";
+
+    /**
+     * Monster of the rows that pit a hero against a difficulty's mix of monsters.
+     */
+    public static final String MIXED_MONSTERS = "mix";
+
+    /**
+     * Most fights a task runs itself rather than splitting.
+     */
+    static final long LEAF_FIGHTS = 8192;
+
+    /**
+     * The difficulties of the game.
+     */
+    private static final List<String> DIFFICULTIES = List.of("easy", "normal", "hard");
+
+    /**
+     * Standard normal quantile for a 95% confidence interval.
+     */
+    private static final double Z_95 = 1.959963984540054;
+
+    /**
+     * The pool the fights run in.
+     */
+    private final ForkJoinPool myPool;
+
+    /**
+     * Source of the difficulties' monster weights.
+     */
+    private final SpawnService mySpawns;
+
+    /**
+     * Constructs a simulator that runs in the common fork/join pool, which uses every core
+     * together with the calling thread.
+     */
+    public BattleSimulator() {
+        this(ForkJoinPool.commonPool(), SpawnService.getInstance());
+    }
+
+    /**
+     * Constructs a simulator.
+     *
+     * @param thePool The pool the fights run in.
+     * @param theSpawns Source of the difficulties' monster weights.
+     */
+    BattleSimulator(final ForkJoinPool thePool, final SpawnService theSpawns) {
+        myPool = thePool;
+        mySpawns = theSpawns;
+    }
+
+    /**
+     * Simulates every hero and monster in the {@link StatCatalog}.
+     *
+     * @param theFights Number of fights per row.
+     * @param theSeed Seed of the random streams.
+     * @param thePolicy How the heroes fight.
+     * @return One row per hero and monster, then one per hero and difficulty.
+     */
+    public List<Result> simulateCatalog(final long theFights, final long theSeed, final BattlePolicy thePolicy) {
+        final StatCatalog catalog = StatCatalog.getInstance();
+        return simulate(catalog.getAllHeroStats(), catalog.getAllMonsterStats(), DIFFICULTIES, theFights, theSeed,
+                thePolicy);
+    }
+
+    /**
+     * Simulates the given stats with heroes that only use normal attacks.
+     *
+     * @param theHeroes The heroes.
+     * @param theMonsters The monsters, which the difficulties' mixes are drawn from.
+     * @param theDifficulties The difficulties to give rows for.
+     * @param theFights Number of fights per row.
+     * @param theSeed Seed of the random streams.
+     * @return One row per hero and monster, then one per hero and difficulty.
+     * @throws IllegalArgumentException if a name matches no character type, a difficulty has
+     *                                  no monsters among those given, or the count is not positive.
+     */
+    public List<Result> simulate(final List<HeroStats> theHeroes, final List<MonsterStats> theMonsters,
+                                 final List<String> theDifficulties, final long theFights, final long theSeed) {
+        return simulate(theHeroes, theMonsters, theDifficulties, theFights, theSeed, BattlePolicy.ATTACK_ONLY);
+    }
+
+    /**
+     * Simulates the given stats, which need not be in the catalog.
+     *
+     * @param theHeroes The heroes.
+     * @param theMonsters The monsters, which the difficulties' mixes are drawn from.
+     * @param theDifficulties The difficulties to give rows for.
+     * @param theFights Number of fights per row.
+     * @param theSeed Seed of the random streams.
+     * @param thePolicy How the heroes fight.
+     * @return One row per hero and monster, then one per hero and difficulty.
+     * @throws IllegalArgumentException if a name matches no character type, a difficulty has
+     *                                  no monsters among those given, or the count is not positive.
+     */
+    public List<Result> simulate(final List<HeroStats> theHeroes, final List<MonsterStats> theMonsters,
+                                 final List<String> theDifficulties, final long theFights, final long theSeed,
+                                 final BattlePolicy thePolicy) {
+        if (theFights <= 0) {
+            throw new IllegalArgumentException("Number of fights must be positive: " + theFights);
+        }
+
+        final List<Row> rows = new ArrayList<>();
+        for (final HeroStats hero : theHeroes) {
+            for (final MonsterStats monster : theMonsters) {
+                rows.add(new Row(hero, monster.name(), ANY_DIFFICULTY, List.of(monster), null));
+            }
+        }
+        for (final HeroStats hero : theHeroes) {
+            for (final String difficulty : theDifficulties) {
+                rows.add(mixedRow(hero, difficulty, theMonsters));
+            }
+        }
+        for (final Row row : rows) {
+            row.check();
+        }
+
+        // Split the streams in a fixed order so that each row's results depend only on the seed
+        final SplittableRandom root = new SplittableRandom(theSeed);
+        final List<FightTask> tasks = new ArrayList<>();
+        for (final Row row : rows) {
+            tasks.add(new FightTask(row, thePolicy, theFights, root.split()));
+        }
+        tasks.forEach(myPool::execute);
+
+        final List<Result> results = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            results.add(tasks.get(i).join().toResult(rows.get(i)));
+        }
+        return results;
+    }
+
+    /**
+     * Formats results as CSV, with a header line.
+     *
+     * @param theResults The results.
+     * @return The CSV text.
+     */
+    public static String toCsv(final List<Result> theResults) {
+        final StringBuilder csv = new StringBuilder("hero,monster,difficulty,fights,wins,win_rate,win_rate_low,"
+                + "win_rate_high,mean_rounds,mean_hp_lost,sd_hp_lost,p10_hp_lost,p50_hp_lost,p90_hp_lost,"
+                + "mean_damage_per_turn\n");
+        for (final Result result : theResults) {
+            csv.append(String.format(Locale.ROOT, "%s,%s,%s,%d,%d,%.6f,%.6f,%.6f,%.3f,%.3f,%.3f,%d,%d,%d,%.3f%n",
+                    result.hero(), result.monster(), result.difficulty(), result.fights(), result.wins(),
+                    result.winRate(), result.winRateLow(), result.winRateHigh(), result.meanRounds(),
+                    result.meanHpLost(), result.sdHpLost(), result.p10HpLost(), result.p50HpLost(),
+                    result.p90HpLost(), result.meanDamagePerTurn()));
+        }
+        return csv.toString();
+    }
+
+    /**
+     * Formats results as a JSON array of objects.
+     *
+     * @param theResults The results.
+     * @return The JSON text.
+     */
+    public static String toJson(final List<Result> theResults) {
+        final StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < theResults.size(); i++) {
+            final Result result = theResults.get(i);
+            json.append(i == 0 ? "\n" : ",\n").append(String.format(Locale.ROOT,
+                    "  {\"hero\": \"%s\", \"monster\": \"%s\", \"difficulty\": \"%s\", \"fights\": %d, "
+                            + "\"wins\": %d, \"winRate\": %.6f, \"winRateLow\": %.6f, \"winRateHigh\": %.6f, "
+                            + "\"meanRounds\": %.3f, \"hpLost\": {\"mean\": %.3f, \"sd\": %.3f, \"p10\": %d, "
+                            + "\"p50\": %d, \"p90\": %d}, \"meanDamagePerTurn\": %.3f}",
+                    escape(result.hero()), escape(result.monster()), escape(result.difficulty()), result.fights(),
+                    result.wins(), result.winRate(), result.winRateLow(), result.winRateHigh(), result.meanRounds(),
+                    result.meanHpLost(), result.sdHpLost(), result.p10HpLost(), result.p50HpLost(),
+                    result.p90HpLost(), result.meanDamagePerTurn()));
+        }
+        return json.append(theResults.isEmpty() ? "]\n" : "\n]\n").toString();
+    }
+
+    /**
+     * Prints a report of the catalog's stats to standard output.
+     *
+     * @param theArgs Optionally the number of fights per row (default 1,000,000), the seed
+     *                (default random), the format, "csv" (default) or "json", and the
+     *                {@link BattlePolicy} (default ATTACK_ONLY).
+     */
+    public static void main(final String[] theArgs) {
+        final long fights = theArgs.length > 0 ? Long.parseLong(theArgs[0]) : 1_000_000L;
+        final long seed = theArgs.length > 1 ? Long.parseLong(theArgs[1]) : System.nanoTime();
+        final boolean json = theArgs.length > 2 && "json".equalsIgnoreCase(theArgs[2]);
+        final BattlePolicy policy = theArgs.length > 3
+                ? BattlePolicy.valueOf(theArgs[3].toUpperCase(Locale.ROOT)) : BattlePolicy.ATTACK_ONLY;
+
+        final long start = System.nanoTime();
+        final List<Result> results = new BattleSimulator().simulateCatalog(fights, seed, policy);
+        final long millis = (System.nanoTime() - start) / 1_000_000L;
+
+        System.out.print(json ? toJson(results) : toCsv(results));
+        System.err.printf("Simulated %d fights (%s) in %d ms on %d cores (seed %d)%n", fights * results.size(),
+                policy, millis, Runtime.getRuntime().availableProcessors(), seed);
+    }
+
+    /**
+     * Builds the row of a hero against a difficulty's mix of monsters.
+     */
+    private Row mixedRow(final HeroStats theHero, final String theDifficulty, final List<MonsterStats> theMonsters) {
+        final SpawnService.SpawnWeights weights = mySpawns.getWeights(theDifficulty);
+        final List<MonsterStats> monsters = new ArrayList<>();
+        final List<Double> chances = new ArrayList<>();
+        for (int i = 0; i < weights.monsters().size(); i++) {
+            for (final MonsterStats monster : theMonsters) {
+                if (monster.name().equalsIgnoreCase(weights.monsters().get(i))) {
+                    monsters.add(monster);
+                    chances.add(weights.table().probability(i));
+                }
+            }
+        }
+        if (monsters.isEmpty()) {
+            throw new IllegalArgumentException("No monsters to simulate for difficulty " + theDifficulty);
+        }
+        final double[] array = new double[chances.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = chances.get(i);
+        }
+        return new Row(theHero, MIXED_MONSTERS, theDifficulty, monsters, new AliasTable(array));
+    }
+
+    /**
+     * Runs fights and adds them up.
+     */
+    private static Tally runFights(final Row theRow, final BattlePolicy thePolicy, final long theCount,
+                                   final SplittableRandom theRandom) {
+        final Hero hero = HeroFactory.createHero(theRow.myHero);
+        final Monster[] monsters = new Monster[theRow.myMonsters.size()];
+        for (int i = 0; i < monsters.length; i++) {
+            monsters[i] = MonsterFactory.createMonster(theRow.myMonsters.get(i));
+        }
+
+        final Tally tally = new Tally(hero.getMaxHP());
+        for (long fight = 0; fight < theCount; fight++) {
+            final Monster monster = monsters[theRow.myTable == null ? 0 : theRow.myTable.sample(theRandom)];
+            hero.heal(hero.getMaxHP() - hero.getHP());
+            monster.heal(monster.getMaxHP() - monster.getHP());
+
+            final BattleSummary summary = new BattleSystem(hero, monster, theRandom).autoResolve(thePolicy);
+            tally.add(summary.heroWon(), summary.rounds(), hero.getMaxHP() - hero.getHP(), summary.damageDealt());
+        }
+        return tally;
+    }
+
+    /**
+     * Escapes a string for a JSON string literal.
+     */
+    private static String escape(final String theText) {
+        return theText.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
+    /**
+     * The results of one row of the simulation. Hit points lost are the hero's at the end of each fight.
+     *
+     * @param hero The hero type
+     * @param monster The monster type, or {@link #MIXED_MONSTERS} for a difficulty's mix
+     * @param difficulty The difficulty, or {@link #ANY_DIFFICULTY} for a single monster type
+     * @param fights Number of fights
+     * @param wins Number of fights the hero won
+     * @param meanRounds Mean number of rounds per fight
+     * @param meanHpLost Mean hit points the hero lost per fight
+     * @param sdHpLost Standard deviation of the hit points lost
+     * @param p10HpLost 10th percentile of the hit points lost
+     * @param p50HpLost Median of the hit points lost
+     * @param p90HpLost 90th percentile of the hit points lost
+     * @param meanDamagePerTurn Mean damage the hero dealt per turn
+     */
+    public record Result(String hero, String monster, String difficulty, long fights, long wins, double meanRounds,
+                         double meanHpLost, double sdHpLost, int p10HpLost, int p50HpLost, int p90HpLost,
+                         double meanDamagePerTurn) {
+
+        /**
+         * Returns the share of fights the hero won.
+         *
+         * @return The win rate, from 0 to 1.
+         */
+        public double winRate() {
+            return (double) wins / fights;
+        }
+
+        /**
+         * Returns the lower end of the 95% Wilson score interval of the win rate.
+         *
+         * @return The lower bound, from 0 to 1.
+         */
+        public double winRateLow() {
+            return Math.max(0, wilsonCenter() - wilsonHalfWidth());
+        }
+
+        /**
+         * Returns the upper end of the 95% Wilson score interval of the win rate.
+         *
+         * @return The upper bound, from 0 to 1.
+         */
+        public double winRateHigh() {
+            return Math.min(1, wilsonCenter() + wilsonHalfWidth());
+        }
+
+        private double wilsonCenter() {
+            final double z2 = Z_95 * Z_95;
+            return (winRate() + z2 / (2.0 * fights)) / (1 + z2 / fights);
+        }
+
+        private double wilsonHalfWidth() {
+            final double p = winRate();
+            final double z2 = Z_95 * Z_95;
+            return Z_95 * Math.sqrt(p * (1 - p) / fights + z2 / (4.0 * fights * fights)) / (1 + z2 / fights);
+        }
+    }
+
+    /**
+     * One row of the simulation: a hero against a single monster type or a weighted mix.
+     */
+    private static final class Row {
+
+        /** The hero's stats. */
+        private final HeroStats myHero;
+
+        /** Name of the monster column. */
+        private final String myMonsterName;
+
+        /** Name of the difficulty column. */
+        private final String myDifficulty;
+
+        /** The monsters' stats. */
+        private final List<MonsterStats> myMonsters;
+
+        /** Weights of the monsters, or null for a single monster. */
+        private final AliasTable myTable;
+
+        private Row(final HeroStats theHero, final String theMonsterName, final String theDifficulty,
+                    final List<MonsterStats> theMonsters, final AliasTable theTable) {
+            myHero = theHero;
+            myMonsterName = theMonsterName;
+            myDifficulty = theDifficulty;
+            myMonsters = List.copyOf(theMonsters);
+            myTable = theTable;
+        }
+
+        /**
+         * Checks that every name matches a character type before any fight starts.
+         */
+        private void check() {
+            if (HeroFactory.createHero(myHero) == null) {
+                throw new IllegalArgumentException("Not a hero type: " + myHero.name());
+            }
+            for (final MonsterStats monster : myMonsters) {
+                if (MonsterFactory.createMonster(monster) == null) {
+                    throw new IllegalArgumentException("Not a monster type: " + monster.name());
+                }
+            }
+        }
+    }
+
+    /**
+     * Runs a row's fights, splitting them into halves until they are few enough. Tasks are never
+     * serialized, so their fields are transient.
+     */
+    private static final class FightTask extends RecursiveTask<Tally> {
+
+        private static final long serialVersionUID = 1L;
+
+        /** The row being simulated. */
+        private final transient Row myRow;
+
+        /** How the hero fights. */
+        private final transient BattlePolicy myPolicy;
+
+        /** Number of fights to run. */
+        private final long myCount;
+
+        /** This task's random stream. */
+        private final transient SplittableRandom myRandom;
+
+        private FightTask(final Row theRow, final BattlePolicy thePolicy, final long theCount,
+                          final SplittableRandom theRandom) {
+            myRow = theRow;
+            myPolicy = thePolicy;
+            myCount = theCount;
+            myRandom = theRandom;
+        }
+
+        @Override
+        protected Tally compute() {
+            if (myCount <= LEAF_FIGHTS) {
+                return runFights(myRow, myPolicy, myCount, myRandom);
+            }
+            final long half = myCount / 2;
+            final FightTask left = new FightTask(myRow, myPolicy, half, myRandom.split());
+            left.fork();
+            final Tally right = new FightTask(myRow, myPolicy, myCount - half, myRandom).compute();
+            return right.merge(left.join());
+        }
+    }
+
+    /**
+     * Running totals of a set of fights.
+     */
+    private static final class Tally {
+
+        /** Number of fights. */
+        private long myFights;
+
+        /** Number of fights won. */
+        private long myWins;
+
+        /** Total rounds. */
+        private long myRounds;
+
+        /** Total hit points lost. */
+        private long myHpLost;
+
+        /** Total of the squares of the hit points lost. */
+        private double myHpLostSquares;
+
+        /** Total damage dealt by the hero. */
+        private long myDamage;
+
+        /** Number of fights by hit points lost, from 0 to the hero's maximum. */
+        private long[] myHistogram;
+
+        private Tally(final int theMaxHP) {
+            myHistogram = new long[theMaxHP + 1];
+        }
+
+        private void add(final boolean theWon, final int theRounds, final int theHpLost, final long theDamage) {
+            myFights++;
+            if (theWon) {
+                myWins++;
+            }
+            myRounds += theRounds;
+            myHpLost += theHpLost;
+            myHpLostSquares += (double) theHpLost * theHpLost;
+            myDamage += theDamage;
+            myHistogram[theHpLost]++;
+        }
+
+        private Tally merge(final Tally theOther) {
+            myFights += theOther.myFights;
+            myWins += theOther.myWins;
+            myRounds += theOther.myRounds;
+            myHpLost += theOther.myHpLost;
+            myHpLostSquares += theOther.myHpLostSquares;
+            myDamage += theOther.myDamage;
+            for (int i = 0; i < myHistogram.length; i++) {
+                myHistogram[i] += theOther.myHistogram[i];
+            }
+            return this;
+        }
+
+        private Result toResult(final Row theRow) {
+            final double mean = (double) myHpLost / myFights;
+            final double variance = Math.max(0, myHpLostSquares / myFights - mean * mean);
+            return new Result(theRow.myHero.name(), theRow.myMonsterName, theRow.myDifficulty, myFights, myWins,
+                    (double) myRounds / myFights, mean, Math.sqrt(variance), percentile(0.1), percentile(0.5),
+                    percentile(0.9), (double) myDamage / myRounds);
+        }
+
+        private int percentile(final double theFraction) {
+            final long target = (long) Math.ceil(theFraction * myFights);
+            long seen = 0;
+            for (int i = 0; i < myHistogram.length; i++) {
+                seen += myHistogram[i];
+                if (seen >= Math.max(1, target)) {
+                    return i;
+                }
+            }
+            return myHistogram.length - 1;
+        }
+    }
+}
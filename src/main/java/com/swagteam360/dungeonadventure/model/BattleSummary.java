@@ -0,0 +1,24 @@
+package com.swagteam360.dungeonadventure.model;
+
+/**
+ * Sums up a battle fought by {@link BattleSystem#autoResolve(BattlePolicy)}. Like
+ * {@link BattleOutcome}, it only holds numbers; {@link BattleText} describes it to the player.
+ *
+ * @param policy How the hero fought
+ * @param rounds Number of rounds fought
+ * @param finished False if the battle was still going after {@link BattleSystem#MAX_ROUNDS} rounds
+ * @param heroWon True if the hero won
+ * @param damageDealt Damage the hero dealt
+ * @param damageTaken Damage the hero took
+ * @param attacksBlocked Number of attacks the hero blocked
+ * @param specialMoves Number of special moves the hero used
+ * @param heroHealed Hit points the hero healed
+ * @param monsterHealed Hit points the monster healed
+ *
+ * @author agent
+ * @version 1.0 (19 October 2026)
+ */
+public record BattleSummary(BattlePolicy policy, int rounds, boolean finished, boolean heroWon, int damageDealt,
+                            int damageTaken, int attacksBlocked, int specialMoves, int heroHealed,
+                            int monsterHealed) {
+}
@@ -1,5 +1,8 @@
 package com.swagteam360.dungeonadventure.model;
 
+import java.util.Random;
+import java.util.random.RandomGenerator;
+
 /**
  * The BattleSystem class represents a combat system that facilitates a battle
  * between a Hero and a Monster. It manages the sequence of turns, calculates
@@ -10,6 +13,12 @@ package com.swagteam360.dungeonadventure.model;
  */
 public final class BattleSystem {
 
+    /**
+     * Most rounds an automatic battle lasts. Battles between characters that can never hurt each other would
+     * otherwise not end.
+     */
+    public static final int MAX_ROUNDS = 1000;
+
     /**
      * Represents the Hero participating in the battle within the BattleSystem.
      * This field stores the instance of the Hero character controlled by the player.
@@ -23,13 +32,18 @@ public final class BattleSystem {
      * must engage and defeat. It is initialized during the creation of the BattleSystem
      * and remains constant throughout the battle.
      */
-    private final Monster myMonster;
+    private Monster myMonster;
 
     /**
      * Represents the Hero's turn if true.
      */
     private boolean myTurn;
 
+    /**
+     * Source of randomness for every roll in this battle.
+     */
+    private final RandomGenerator myRandom;
+
     /**
      * Constructs a BattleSystem instance, initializing a battle between a Hero and a Monster.
      * This constructor sets up the battle entities and ensures the battle state is marked as ongoing.
@@ -38,7 +52,31 @@ public final class BattleSystem {
      * @param theMonster the Monster the Hero will fight against.
      */
     public BattleSystem(final Hero theHero, final Monster theMonster) {
+        this(theHero, theMonster, new Random());
+    }
+
+    /**
+     * Constructs a BattleSystem instance that draws every roll from the given source of randomness, so that
+     * simulations can give each thread its own reproducible stream.
+     *
+     * @param theHero   the Hero participating in the battle.
+     * @param theMonster the Monster the Hero will fight against.
+     * @param theRandom source of randomness for the battle.
+     */
+    public BattleSystem(final Hero theHero, final Monster theMonster, final RandomGenerator theRandom) {
         myHero = theHero;
+        myMonster = theMonster;
+        myRandom = theRandom;
+        myTurn = true; // Player will attack first
+    }
+
+    /**
+     * Starts a new battle between the same Hero and another Monster, as if this BattleSystem had just been
+     * constructed for it.
+     *
+     * @param theMonster the Monster the Hero will fight against.
+     */
+    void restart(final Monster theMonster) {
         myMonster = theMonster;
         myTurn = true; // Player will attack first
     }
@@ -53,14 +91,13 @@ public final class BattleSystem {
      * @param theHeroTurn A check to alter the Hero's turn after this method is finished.
      * @return The results from this interaction, including multiple attacks, blocks, attempts, and damage dealt.
      */
-    private String processAttacks(final DungeonCharacter theAttacker, final DungeonCharacter theDefender,
+    private BattleOutcome processAttacks(final DungeonCharacter theAttacker, final DungeonCharacter theDefender,
     final boolean theHeroTurn) {
 
         final int attackSpeed = theAttacker.getMyAttackSpeed();
         final int defendSpeed = theDefender.getMyAttackSpeed();
 
-        int numAttacks = Math.max(1, attackSpeed / defendSpeed); // There will be at least one attack
-                                                                 // If attack speed is greater, there might be multiple
+        int numAttacks = attacksPerTurn(attackSpeed, defendSpeed);
 
         int totalDamage = 0;
         int hits = 0;
@@ -70,7 +107,7 @@ public final class BattleSystem {
         for (int i = 0; i < numAttacks && !isBattleOver(); i++) {
             int damage = theAttacker.attack(theAttacker.getDamageRangeMin(),
                     theAttacker.getDamageRangeMax(),
-                    theAttacker.getMyHitChance());
+                    theAttacker.getMyHitChance(), myRandom);
             attempts++;
 
             if (damage > 0) {
@@ -78,7 +115,7 @@ public final class BattleSystem {
                 boolean blocked = false;
 
                 if (theDefender instanceof Hero) {
-                    blocked = ((Hero) theDefender).block();
+                    blocked = ((Hero) theDefender).block(myRandom);
                 }
 
                 if (blocked) {
@@ -94,42 +131,20 @@ public final class BattleSystem {
 
         myTurn = !theHeroTurn;
 
-        String attackerName = theHeroTurn ? "You" : "The " + theAttacker.getName();
-
-        if (hits == 0 && blocks == 0) {
-            return attackerName + " attempted " + attempts + (attempts == 1
-                    ? " attack, but it missed!"
-                    : " attacks, but they all missed!");
-        } else if (hits == 0 && blocks > 0) {
-            return attackerName + " attempted " + attempts + (attempts == 1
-                    ? " attack, but it was blocked!"
-                    : " attacks, but they were all blocked!");
-        } else if (hits == attempts) {
-            return attackerName + " landed " + hits + (hits == 1
-                    ? " attack"
-                    : " attacks") + " for a total of " + totalDamage + " damage!";
-        } else {
-            StringBuilder sb = new StringBuilder();
-            sb.append(attackerName)
-                    .append(" attempted ")
-                    .append(attempts)
-                    .append(attempts == 1 ? " attack" : " attacks")
-                    .append(", ");
-
-            if (blocks > 0) {
-                sb.append(blocks)
-                        .append(blocks == 1 ? " was blocked, " : " were blocked, ");
-            }
-
-            sb.append(hits)
-                    .append(" landed")
-                    .append(" for a total of ")
-                    .append(totalDamage)
-                    .append(" damage!");
+        return BattleOutcome.attacks(theHeroTurn, attempts, hits, blocks, totalDamage);
 
-            return sb.toString();
-        }
+    }
 
+    /**
+     * Works out how many attacks a character makes in one turn. There will be at least one attack;
+     * if the attacker is at least twice as fast as the defender, there might be multiple.
+     *
+     * @param theAttackSpeed Attack speed of the attacker.
+     * @param theDefendSpeed Attack speed of the defender.
+     * @return The number of attacks.
+     */
+    static int attacksPerTurn(final int theAttackSpeed, final int theDefendSpeed) {
+        return Math.max(1, theAttackSpeed / theDefendSpeed);
     }
 
     /**
@@ -137,7 +152,7 @@ public final class BattleSystem {
      *
      * @return The outcome of the player's attack.
      */
-    public String processPlayerAttacks() {
+    public BattleOutcome processPlayerAttacks() {
         return processAttacks(myHero, myMonster, true);
     }
 
@@ -146,7 +161,7 @@ public final class BattleSystem {
      *
      * @return The outcome of the monster's attack.
      */
-    public String processMonsterAttacks() {
+    public BattleOutcome processMonsterAttacks() {
         return processAttacks(myMonster, myHero, false);
     }
 
@@ -155,12 +170,12 @@ public final class BattleSystem {
      *
      * @return The outcome of the Hero's special move.
      */
-    public String processPlayerSpecialMove() {
+    public BattleOutcome processPlayerSpecialMove() {
         if (!myTurn) {
-            return "It is not your turn yet!";
+            return BattleOutcome.NOT_YOUR_TURN;
         }
 
-        final String result = myHero.specialMove(myMonster);
+        final BattleOutcome result = myHero.specialMove(myMonster, myRandom);
         myTurn = false;
         return result;
 
@@ -169,22 +184,69 @@ public final class BattleSystem {
     /**
      * Processes the event in which the Monster heals itself. This method is called from the controller, so a check
      * is made if the health is 0, in which the monster may not revive itself. Furthermore, There is a chance that the
-     * healing may fail, in which this method just returns an empty string. Otherwise, the healing results are given.
+     * healing may fail, in which the outcome heals 0 HP. Otherwise, the healing results are given.
      *
      * @return The results from the Monster's healing.
      */
-    public String processMonsterHeal() {
+    public BattleOutcome processMonsterHeal() {
         if (myMonster.getHP() <= 0) {
-            return "";
+            return BattleOutcome.NO_HEAL;
         }
 
-        int healAmount = myMonster.heal();
-        if (healAmount > 0) {
-            return "The " + myMonster.getName() + " healed itself for " + healAmount + " HP!";
+        return BattleOutcome.heal(BattleOutcome.Kind.MONSTER_HEAL, myMonster.heal(myRandom));
+
+    }
+
+    /**
+     * Fights the rest of the battle at once, choosing the Hero's moves with the given policy. If it is the
+     * Monster's turn, the Monster goes first. Each round the Hero moves, then the Monster attacks and may heal,
+     * as when the player fights; the battle stops once it is over or after {@link #MAX_ROUNDS} rounds.
+     *
+     * @param thePolicy How the Hero fights.
+     * @return A summary of the battle.
+     */
+    public BattleSummary autoResolve(final BattlePolicy thePolicy) {
+        int rounds = 0;
+        int damageDealt = 0;
+        int damageTaken = 0;
+        int blocks = 0;
+        int specialMoves = 0;
+        int heroHealed = 0;
+        int monsterHealed = 0;
+
+        // A round ends with the monster's turn, so the last round is finished before stopping
+        while (!isBattleOver() && (rounds < MAX_ROUNDS || !myTurn)) {
+            if (myTurn) {
+                rounds++;
+                final BattleOutcome outcome = thePolicy.useSpecialMove(myHero, myMonster)
+                        ? processPlayerSpecialMove()
+                        : processPlayerAttacks();
+                damageDealt += outcome.damage();
+                heroHealed += outcome.heal();
+                if (outcome.kind().isSpecialMove()) {
+                    specialMoves++;
+                }
+            } else {
+                final BattleOutcome outcome = processMonsterAttacks();
+                damageTaken += outcome.damage();
+                blocks += outcome.blocks();
+                if (!isBattleOver()) {
+                    monsterHealed += processMonsterHeal().heal();
+                }
+            }
         }
 
-        return "";
+        return new BattleSummary(thePolicy, rounds, isBattleOver(), didHeroWin(), damageDealt, damageTaken, blocks,
+                specialMoves, heroHealed, monsterHealed);
+    }
 
+    /**
+     * Returns the name of the Monster in this battle, for rendering the battle's outcomes.
+     *
+     * @return The Monster's name.
+     */
+    public String getMonsterName() {
+        return myMonster.getName();
     }
 
     /**
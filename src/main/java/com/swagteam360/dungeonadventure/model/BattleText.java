@@ -0,0 +1,131 @@
+package com.swagteam360.dungeonadventure.model;
+
+/**
+ * The BattleText class turns {@link BattleOutcome}s and {@link BattleSummary}s into the messages
+ * shown in the battle status label. Text is only built here, when the user interface asks for it.
+ *
+ * @author agent
+ * @version 1.0 (19 October 2026)
+ */
+public final class BattleText {
+
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private BattleText() {
+    }
+
+    /**
+     * Builds the message for a battle step.
+     *
+     * @param theOutcome What happened.
+     * @param theMonsterName Name of the monster in the battle.
+     * @return The message, or an empty string for a monster that did not heal.
+     */
+    public static String render(final BattleOutcome theOutcome, final String theMonsterName) {
+        return switch (theOutcome.kind()) {
+            case HERO_ATTACK -> renderAttacks(theOutcome, "You");
+            case MONSTER_ATTACK -> renderAttacks(theOutcome, "The " + theMonsterName);
+            case MONSTER_HEAL -> theOutcome.heal() > 0
+                    ? "The " + theMonsterName + " healed itself for " + theOutcome.heal() + " HP!"
+                    : "";
+            case NOT_YOUR_TURN -> "It is not your turn yet!";
+            case BASH -> theOutcome.damage() > 0
+                    ? "Bash successful! You dealt " + theOutcome.damage() + " damage."
+                    : "Bash failed! You missed!";
+            case HEAL -> "You healed for " + theOutcome.heal() + " points of health!";
+            case CAUGHT -> "You've been caught! Attack missed!";
+            case NORMAL_ATTACK -> "You performed a normal attack for " + theOutcome.damage() + " damage!";
+            case SURPRISE_ATTACK -> "Surprise attack successful! Hit 1: " + theOutcome.firstDamage()
+                    + " damage!\nHit 2: " + (theOutcome.damage() - theOutcome.firstDamage())
+                    + " damage!\nTotal damage: " + theOutcome.damage() + "!";
+        };
+    }
+
+    /**
+     * Builds the condensed message for a battle fought automatically.
+     *
+     * @param theSummary The battle.
+     * @param theMonsterName Name of the monster in the battle.
+     * @return The message.
+     */
+    public static String renderSummary(final BattleSummary theSummary, final String theMonsterName) {
+        final int rounds = theSummary.rounds();
+        final StringBuilder sb = new StringBuilder();
+
+        if (!theSummary.finished()) {
+            sb.append("The fight with the ").append(theMonsterName).append(" is still going after ");
+        } else {
+            sb.append(theSummary.heroWon() ? "You defeated the " : "You were defeated by the ")
+                    .append(theMonsterName).append(" in ");
+        }
+        sb.append(rounds).append(rounds == 1 ? " round! " : " rounds! ");
+
+        sb.append("You dealt ").append(theSummary.damageDealt())
+                .append(" damage and took ").append(theSummary.damageTaken());
+        if (theSummary.attacksBlocked() > 0) {
+            sb.append(", blocking ").append(theSummary.attacksBlocked())
+                    .append(theSummary.attacksBlocked() == 1 ? " attack" : " attacks");
+        }
+        sb.append('.');
+
+        if (theSummary.specialMoves() > 0) {
+            sb.append(" Special moves used: ").append(theSummary.specialMoves()).append('.');
+        }
+        if (theSummary.heroHealed() > 0) {
+            sb.append(" You healed ").append(theSummary.heroHealed()).append(" HP.");
+        }
+        if (theSummary.monsterHealed() > 0) {
+            sb.append(" The ").append(theMonsterName).append(" healed ").append(theSummary.monsterHealed())
+                    .append(" HP.");
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Builds the message for a turn of normal attacks.
+     *
+     * @param theOutcome The attacks.
+     * @param theAttackerName How the attacker is named at the start of the message.
+     * @return The message.
+     */
+    private static String renderAttacks(final BattleOutcome theOutcome, final String theAttackerName) {
+        final int attempts = theOutcome.attempts();
+        final int hits = theOutcome.hits();
+        final int blocks = theOutcome.blocks();
+
+        if (hits == 0 && blocks == 0) {
+            return theAttackerName + " attempted " + attempts + (attempts == 1
+                    ? " attack, but it missed!"
+                    : " attacks, but they all missed!");
+        } else if (hits == 0) {
+            return theAttackerName + " attempted " + attempts + (attempts == 1
+                    ? " attack, but it was blocked!"
+                    : " attacks, but they were all blocked!");
+        } else if (hits == attempts) {
+            return theAttackerName + " landed " + hits + (hits == 1
+                    ? " attack"
+                    : " attacks") + " for a total of " + theOutcome.damage() + " damage!";
+        }
+
+        final StringBuilder sb = new StringBuilder();
+        sb.append(theAttackerName)
+                .append(" attempted ")
+                .append(attempts)
+                .append(attempts == 1 ? " attack" : " attacks")
+                .append(", ");
+
+        if (blocks > 0) {
+            sb.append(blocks)
+                    .append(blocks == 1 ? " was blocked, " : " were blocked, ");
+        }
+
+        sb.append(hits)
+                .append(" landed")
+                .append(" for a total of ")
+                .append(theOutcome.damage())
+                .append(" damage!");
+
+        return sb.toString();
+    }
+}
@@ -0,0 +1,22 @@
+package com.swagteam360.dungeonadventure.model;
+
+/**
+ * A player that plays a {@link GameSession} by itself. Each turn the bot is shown what the
+ * player would see and chooses one action. A bot may remember what it has seen, so a new bot is
+ * made for every game.
+ *
+ * @author agent
+ * @version 1.0 (19 October 2026)
+ */
+@FunctionalInterface
+public interface Bot {
+
+    /**
+     * Chooses the next action. An action the game does not allow, such as walking into a wall,
+     * wastes the turn.
+     *
+     * @param theView What the player can see now. It is only valid during this call.
+     * @return The action to take.
+     */
+    BotAction act(BotView theView);
+}
@@ -0,0 +1,119 @@
+package com.swagteam360.dungeonadventure.model;
+
+import java.util.Objects;
+
+/**
+ * An action chosen by a {@link Bot}: one of the commands of a {@link GameSession}.
+ *
+ * @param kind Which command to give
+ * @param direction Where to move, for moves
+ * @param itemName Name of the item to use, such as "Health Potion", for item uses
+ *
+ * @author agent
+ * @version 1.0 (19 October 2026)
+ */
+public record BotAction(Kind kind, Direction direction, String itemName) {
+
+    /**
+     * The attack action, which is shared since it holds nothing else.
+     */
+    private static final BotAction ATTACK = new BotAction(Kind.ATTACK, null, null);
+
+    /**
+     * The special move action.
+     */
+    private static final BotAction SPECIAL = new BotAction(Kind.SPECIAL, null, null);
+
+    /**
+     * One move action per direction, by the direction's ordinal.
+     */
+    private static final BotAction[] MOVES = new BotAction[Direction.values().length];
+
+    static {
+        for (final Direction direction : Direction.values()) {
+            MOVES[direction.ordinal()] = new BotAction(Kind.MOVE, direction, null);
+        }
+    }
+
+    /**
+     * The commands a bot can give.
+     */
+    public enum Kind {
+        /** Move to a neighboring room. */
+        MOVE,
+        /** Attack the monster. */
+        ATTACK,
+        /** Use the Hero's special move on the monster. */
+        SPECIAL,
+        /** Use an item from the inventory. */
+        USE_ITEM
+    }
+
+    /**
+     * Checks that the action holds what its kind needs.
+     *
+     * @throws NullPointerException if a move has no direction or an item use no item name.
+     */
+    public BotAction {
+        Objects.requireNonNull(kind);
+        if (kind == Kind.MOVE) {
+            Objects.requireNonNull(direction, "A move needs a direction.");
+        } else if (kind == Kind.USE_ITEM) {
+            Objects.requireNonNull(itemName, "An item use needs an item name.");
+        }
+    }
+
+    /**
+     * Returns the action of moving in a direction.
+     *
+     * @param theDirection The direction.
+     * @return The action.
+     */
+    public static BotAction move(final Direction theDirection) {
+        return MOVES[theDirection.ordinal()];
+    }
+
+    /**
+     * Returns the action of attacking the monster.
+     *
+     * @return The action.
+     */
+    public static BotAction attack() {
+        return ATTACK;
+    }
+
+    /**
+     * Returns the action of using the Hero's special move.
+     *
+     * @return The action.
+     */
+    public static BotAction special() {
+        return SPECIAL;
+    }
+
+    /**
+     * Returns the action of using an item.
+     *
+     * @param theItemName The item's name, such as "Health Potion".
+     * @return The action.
+     */
+    public static BotAction useItem(final String theItemName) {
+        return new BotAction(Kind.USE_ITEM, null, theItemName);
+    }
+
+    /**
+     * Gives the action's command to a game.
+     *
+     * @param theSession The game.
+     * @return False if the game ignored the command, because of a wall or a missing item.
+     * @throws IllegalStateException if the game does not allow the command now.
+     */
+    boolean applyTo(final GameSession theSession) {
+        return switch (kind) {
+            case MOVE -> theSession.move(direction);
+            case ATTACK -> theSession.attack() != null;
+            case SPECIAL -> theSession.special() != null;
+            case USE_ITEM -> theSession.useItem(itemName) != null;
+        };
+    }
+}
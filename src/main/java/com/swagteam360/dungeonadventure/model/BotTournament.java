@@ -0,0 +1,315 @@
+package com.swagteam360.dungeonadventure.model;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.LongFunction;
+
+/**
+ * The BotTournament class plays many whole games with each of a set of {@link Bot}s, to find
+ * out how the bots compare and how hard the game is. Every bot plays the same seeded games, so
+ * any difference between bots comes from how they play and not from the dungeons they drew.
+ * <p>
+ * Games are split into a tree of fork/join tasks that spread over every core, like the fights of
+ * the {@link BattleSimulator}. Each game depends only on its seed, so the results do not depend on
+ * how the tasks were scheduled. Only the time per game does.
+ * <p>
+ * Run {@link #main(String[])} to print a report of the reference bots as CSV.
+ *
+ * @author agent
+ * @version 1.0 (19 October 2026)
+ */
+public final class BotTournament {
+
+    /**
+     * Most turns a game may last before it is stopped unfinished.
+     */
+    public static final int DEFAULT_MAX_TURNS = 20_000;
+
+    /**
+     * Most games a task plays itself rather than splitting.
+     */
+    static final int LEAF_GAMES = 8;
+
+    /**
+     * The pool the games run in.
+     */
+    private final ForkJoinPool myPool;
+
+    /**
+     * Constructs a tournament that runs in the common fork/join pool, which uses every core
+     * together with the calling thread.
+     */
+    public BotTournament() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs a tournament.
+     *
+     * @param thePool The pool the games run in.
+     */
+    BotTournament(final ForkJoinPool thePool) {
+        myPool = thePool;
+    }
+
+    /**
+     * Returns the reference bots: a random walker, a pillar collector and a risk-aware fighter.
+     *
+     * @return Each bot's maker by name, in that order. Makers are given the game's seed.
+     */
+    public static Map<String, LongFunction<Bot>> getReferenceBots() {
+        final Map<String, LongFunction<Bot>> bots = new LinkedHashMap<>();
+        bots.put("random-walker", RandomWalkerBot::new);
+        bots.put("pillar-collector", theSeed -> new PillarCollectorBot());
+        bots.put("risk-aware", theSeed -> new RiskAwareBot());
+        return bots;
+    }
+
+    /**
+     * Plays the same games with each bot.
+     *
+     * @param theBots Makers of the bots by name. A new bot is made for every game from the game's seed.
+     * @param theSettings The hero type and difficulty of the games.
+     * @param theGames Number of games per bot.
+     * @param theSeed Seed of the first game; the others follow it.
+     * @return One result per bot, in the order given.
+     * @throws IllegalArgumentException if the hero type or difficulty is unknown or the count is not positive.
+     */
+    public List<Result> play(final Map<String, LongFunction<Bot>> theBots, final GameSettings theSettings,
+                             final int theGames, final long theSeed) {
+        if (theGames <= 0) {
+            throw new IllegalArgumentException("Number of games must be positive: " + theGames);
+        }
+        // Fail here rather than once in every task
+        GameSession.createHero(theSettings.getHero());
+        GameSession.createDungeon(theSettings.getDifficulty(), theSeed);
+
+        final List<GameTask> tasks = new ArrayList<>();
+        for (final LongFunction<Bot> bot : theBots.values()) {
+            tasks.add(new GameTask(bot, theSettings, theSeed, theGames));
+        }
+        tasks.forEach(myPool::execute);
+
+        final List<Result> results = new ArrayList<>();
+        int i = 0;
+        for (final String name : theBots.keySet()) {
+            results.add(tasks.get(i++).join().toResult(name, theSettings));
+        }
+        return results;
+    }
+
+    /**
+     * Lets a bot play a game until it ends or runs out of turns.
+     *
+     * @param theBot The bot.
+     * @param theSession The game.
+     * @param theMaxTurns Most turns to play.
+     * @return How the game went.
+     */
+    public static GameResult playGame(final Bot theBot, final GameSession theSession, final int theMaxTurns) {
+        final BotView view = new BotView(theSession);
+        int turns = 0;
+        int wasted = 0;
+        while (!theSession.isOver() && turns < theMaxTurns) {
+            turns++;
+            try {
+                if (!theBot.act(view).applyTo(theSession)) {
+                    wasted++;
+                }
+            } catch (IllegalStateException e) {
+                wasted++;
+            }
+        }
+        return new GameResult(theSession.getStatus(), theSession.getMoveCount(), turns, wasted);
+    }
+
+    /**
+     * Formats results as CSV, with a header line.
+     *
+     * @param theResults The results.
+     * @return The CSV text.
+     */
+    public static String toCsv(final List<Result> theResults) {
+        final StringBuilder csv = new StringBuilder("bot,hero,difficulty,games,wins,win_rate,unfinished,"
+                + "mean_moves,mean_turns,wasted_turns,mean_ms_per_game\n");
+        for (final Result result : theResults) {
+            csv.append(String.format(Locale.ROOT, "%s,%s,%s,%d,%d,%.4f,%d,%.2f,%.2f,%d,%.4f%n",
+                    result.bot(), result.hero(), result.difficulty(), result.games(), result.wins(),
+                    result.winRate(), result.unfinished(), result.meanMoves(), result.meanTurns(),
+                    result.wastedTurns(), result.meanMillisPerGame()));
+        }
+        return csv.toString();
+    }
+
+    /**
+     * Prints a report of the reference bots to standard output, for every hero type.
+     *
+     * @param theArgs Optionally the number of games per bot and hero (default 10,000), the seed
+     *                (default random), and the difficulty (default normal).
+     */
+    public static void main(final String[] theArgs) {
+        final int games = theArgs.length > 0 ? Integer.parseInt(theArgs[0]) : 10_000;
+        final long seed = theArgs.length > 1 ? Long.parseLong(theArgs[1]) : System.nanoTime();
+        final String difficulty = theArgs.length > 2 ? theArgs[2] : "normal";
+
+        final long start = System.nanoTime();
+        final List<Result> results = new ArrayList<>();
+        for (final String hero : List.of("warrior", "priestess", "thief")) {
+            results.addAll(new BotTournament().play(getReferenceBots(), new GameSettings("Bot", hero, difficulty),
+                    games, seed));
+        }
+        final long millis = (System.nanoTime() - start) / 1_000_000L;
+
+        System.out.print(toCsv(results));
+        System.err.printf("Played %d games in %d ms on %d cores (seed %d)%n", (long) games * results.size(), millis,
+                Runtime.getRuntime().availableProcessors(), seed);
+    }
+
+    /**
+     * How one game went.
+     *
+     * @param status How the game ended, or {@link GameSession.Status#PLAYING} if it ran out of turns
+     * @param moves Number of rooms the Hero moved
+     * @param turns Number of actions the bot chose
+     * @param wastedTurns Number of actions the game ignored or refused
+     */
+    public record GameResult(GameSession.Status status, int moves, int turns, int wastedTurns) {
+    }
+
+    /**
+     * The results of one bot.
+     *
+     * @param bot The bot's name
+     * @param hero The hero type
+     * @param difficulty The difficulty
+     * @param games Number of games
+     * @param wins Number of games won
+     * @param unfinished Number of games stopped after {@link #DEFAULT_MAX_TURNS} turns
+     * @param meanMoves Mean number of rooms moved per game
+     * @param meanTurns Mean number of actions per game
+     * @param wastedTurns Total number of actions the game ignored or refused
+     * @param meanMillisPerGame Mean time to play a game, in milliseconds of one core
+     */
+    public record Result(String bot, String hero, String difficulty, long games, long wins, long unfinished,
+                         double meanMoves, double meanTurns, long wastedTurns, double meanMillisPerGame) {
+
+        /**
+         * Returns the share of games the bot won.
+         *
+         * @return The win rate, from 0 to 1.
+         */
+        public double winRate() {
+            return (double) wins / games;
+        }
+    }
+
+    /**
+     * Plays a range of games, splitting it into halves until it is small enough.
+     */
+    private static final class GameTask extends RecursiveTask<Tally> {
+
+        private static final long serialVersionUID = 1L;
+
+        /** Maker of the bot. */
+        private final transient LongFunction<Bot> myBot;
+
+        /** The hero type and difficulty. */
+        private final transient GameSettings mySettings;
+
+        /** Seed of the first game. */
+        private final long myFirstSeed;
+
+        /** Number of games to play. */
+        private final int myCount;
+
+        private GameTask(final LongFunction<Bot> theBot, final GameSettings theSettings, final long theFirstSeed,
+                         final int theCount) {
+            myBot = theBot;
+            mySettings = theSettings;
+            myFirstSeed = theFirstSeed;
+            myCount = theCount;
+        }
+
+        @Override
+        protected Tally compute() {
+            if (myCount <= LEAF_GAMES) {
+                final Tally tally = new Tally();
+                for (int i = 0; i < myCount; i++) {
+                    final long seed = myFirstSeed + i;
+                    final long start = System.nanoTime();
+                    final GameResult game = playGame(myBot.apply(seed), new GameSession(mySettings, seed),
+                            DEFAULT_MAX_TURNS);
+                    tally.add(game, System.nanoTime() - start);
+                }
+                return tally;
+            }
+            final int half = myCount / 2;
+            final GameTask left = new GameTask(myBot, mySettings, myFirstSeed, half);
+            left.fork();
+            final Tally right = new GameTask(myBot, mySettings, myFirstSeed + half, myCount - half).compute();
+            return right.merge(left.join());
+        }
+    }
+
+    /**
+     * Running totals of a set of games.
+     */
+    private static final class Tally {
+
+        /** Number of games. */
+        private long myGames;
+
+        /** Number of games won. */
+        private long myWins;
+
+        /** Number of games that ran out of turns. */
+        private long myUnfinished;
+
+        /** Total rooms moved. */
+        private long myMoves;
+
+        /** Total actions. */
+        private long myTurns;
+
+        /** Total actions ignored or refused. */
+        private long myWasted;
+
+        /** Total time spent playing, in nanoseconds. */
+        private long myNanos;
+
+        private void add(final GameResult theGame, final long theNanos) {
+            myGames++;
+            if (theGame.status() == GameSession.Status.WON) {
+                myWins++;
+            } else if (theGame.status() == GameSession.Status.PLAYING) {
+                myUnfinished++;
+            }
+            myMoves += theGame.moves();
+            myTurns += theGame.turns();
+            myWasted += theGame.wastedTurns();
+            myNanos += theNanos;
+        }
+
+        private Tally merge(final Tally theOther) {
+            myGames += theOther.myGames;
+            myWins += theOther.myWins;
+            myUnfinished += theOther.myUnfinished;
+            myMoves += theOther.myMoves;
+            myTurns += theOther.myTurns;
+            myWasted += theOther.myWasted;
+            myNanos += theOther.myNanos;
+            return this;
+        }
+
+        private Result toResult(final String theBot, final GameSettings theSettings) {
+            return new Result(theBot, theSettings.getHero(), theSettings.getDifficulty(), myGames, myWins,
+                    myUnfinished, (double) myMoves / myGames, (double) myTurns / myGames, myWasted,
+                    myNanos / 1e6 / myGames);
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package com.swagteam360.dungeonadventure.model;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * What a {@link Bot} can see of a game: the room the Hero is in and its ways out, the Hero's
+ * health and inventory, and the monster when there is a battle. Like the player, a bot sees only
+ * the rooms it has been in, so it has to remember the maze itself.
+ * <p>
+ * The view reads the game as it is when asked, without copying it, so a bot should not keep it
+ * past the turn it was given for.
+ *
+ * @author agent
+ * @version 1.0 (19 October 2026)
+ */
+public final class BotView {
+
+    /**
+     * The game being viewed.
+     */
+    private final GameSession mySession;
+
+    /**
+     * Constructs a view of a game.
+     *
+     * @param theSession The game.
+     */
+    BotView(final GameSession theSession) {
+        mySession = theSession;
+    }
+
+    /**
+     * Returns everything that can be seen of the current room.
+     *
+     * @return The current room's view model.
+     */
+    public IRoom.RoomViewModel getRoom() {
+        return mySession.getCurrentRoom().getRoomViewModel();
+    }
+
+    /**
+     * Returns the directions without a wall in the current room.
+     *
+     * @return The open directions.
+     */
+    public Set<Direction> getDirections() {
+        return mySession.getCurrentRoom().getAvailableDirections();
+    }
+
+    /**
+     * Returns the row of the current room.
+     *
+     * @return The row, counted from the top.
+     */
+    public int getRow() {
+        return mySession.getCurrentRoom().getRow();
+    }
+
+    /**
+     * Returns the column of the current room.
+     *
+     * @return The column, counted from the left.
+     */
+    public int getCol() {
+        return mySession.getCurrentRoom().getCol();
+    }
+
+    /**
+     * Returns the number of rows of rooms in the dungeon.
+     *
+     * @return The number of rows.
+     */
+    public int getRowCount() {
+        return mySession.getDungeon().getRowSize();
+    }
+
+    /**
+     * Returns the number of columns of rooms in the dungeon.
+     *
+     * @return The number of columns.
+     */
+    public int getColCount() {
+        return mySession.getDungeon().getColSize();
+    }
+
+    /**
+     * Indicates whether the current room has a pit, which hurts the Hero every time it is entered.
+     *
+     * @return True if the room has a pit.
+     */
+    public boolean hasPit() {
+        return mySession.getCurrentRoom().hasPit();
+    }
+
+    /**
+     * Indicates whether the current room is the exit.
+     *
+     * @return True if the room is the exit.
+     */
+    public boolean isExit() {
+        return mySession.getCurrentRoom().isExit();
+    }
+
+    /**
+     * Returns the Hero's class, such as "Warrior".
+     *
+     * @return The Hero's class name.
+     */
+    public String getHeroType() {
+        return mySession.getHero().getClass().getSimpleName();
+    }
+
+    /**
+     * Returns the Hero's hit points.
+     *
+     * @return The hit points.
+     */
+    public int getHP() {
+        return mySession.getHero().getHP();
+    }
+
+    /**
+     * Returns the Hero's most hit points.
+     *
+     * @return The maximum hit points.
+     */
+    public int getMaxHP() {
+        return mySession.getHero().getMaxHP();
+    }
+
+    /**
+     * Returns the number of pillars the Hero holds.
+     *
+     * @return The number of pillars.
+     */
+    public int getPillarCount() {
+        return mySession.getHero().getPillarCount();
+    }
+
+    /**
+     * Returns a copy of the Hero's inventory.
+     *
+     * @return The items the Hero holds.
+     */
+    public List<Item> getInventory() {
+        return mySession.getHero().getInventory();
+    }
+
+    /**
+     * Counts the items of a name in the Hero's inventory.
+     *
+     * @param theItemName The item's name, such as "Health Potion".
+     * @return The number held.
+     */
+    public int countItems(final String theItemName) {
+        int count = 0;
+        for (final Item item : mySession.getHero().getInventory()) {
+            if (item.getName().equals(theItemName)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Indicates whether vision powers are active.
+     *
+     * @return True while vision powers last.
+     */
+    public boolean hasSuperVision() {
+        return mySession.hasSuperVision();
+    }
+
+    /**
+     * Returns the number of rooms the Hero has moved so far.
+     *
+     * @return The number of moves.
+     */
+    public int getMoveCount() {
+        return mySession.getMoveCount();
+    }
+
+    /**
+     * Indicates whether a battle is in progress, in which case the Hero cannot move.
+     *
+     * @return True during a battle.
+     */
+    public boolean isInBattle() {
+        return mySession.isInBattle();
+    }
+
+    /**
+     * Returns the name of the monster in the battle.
+     *
+     * @return The monster's name, or null outside of a battle.
+     */
+    public String getMonsterName() {
+        return mySession.isInBattle() ? mySession.getMonster().getName() : null;
+    }
+
+    /**
+     * Returns the hit points of the monster in the battle.
+     *
+     * @return The monster's hit points, or 0 outside of a battle.
+     */
+    public int getMonsterHP() {
+        return mySession.isInBattle() ? mySession.getMonster().getHP() : 0;
+    }
+
+    /**
+     * Returns the most hit points of the monster in the battle.
+     *
+     * @return The monster's maximum hit points, or 0 outside of a battle.
+     */
+    public int getMonsterMaxHP() {
+        return mySession.isInBattle() ? mySession.getMonster().getMaxHP() : 0;
+    }
+
+    /**
+     * Returns the exact odds of the battle if the Hero only attacks from now on, as worked out by
+     * the {@link BattleCalculator}.
+     *
+     * @return The odds, or null outside of a battle.
+     */
+    public BattleOdds getBattleOdds() {
+        return mySession.isInBattle()
+                ? BattleCalculator.getInstance().getOdds(mySession.getHero(), mySession.getMonster()) : null;
+    }
+}
@@ -21,6 +21,16 @@ public interface CellFactory {
      */
     Cell createCell(final int theRow, final int theCol);
 
+    /**
+     * Puts an existing cell back the way createCell would create it at
+     * the cell's position, so that a new maze can be generated into old cells.
+     * @param theCell The cell to reset
+     * @return True if the cell was reset, false if a new cell must be created instead
+     */
+    default boolean resetCell(final Cell theCell) {
+        return false;
+    }
+
     /**
      * Get the entrance row coordinate used by the cell factory.
      * @return Row coordinate
@@ -1,13 +1,27 @@
 package com.swagteam360.dungeonadventure.model;
 
+import java.io.IOException;
 import java.sql.*;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
  * The Database class handles everything related to Database connection and
  * accessing. Utilizes methods to retrieve data to be used in other classes
  * for character use.
+ * <p>
+ * A single connection is opened the first time a query runs and kept open until
+ * {@link #close()} is called, and each query is prepared only once. Spawning a monster
+ * therefore no longer pays for opening a connection. The connection is only ever used
+ * by one thread at a time, since every method that touches it is synchronized.
+ * <p>
+ * The stats of every hero and monster are read from the {@link StatSnapshot} packaged on
+ * the classpath, which needs no connection at all. Setting -Ddungeon.stats.live=true, or
+ * calling {@link #setLiveStats(boolean)}, reads them from the SQLite database instead, which
+ * is how stat changes are tried out before the snapshot is rebuilt. Stats are looked up
+ * by name in the {@link StatCatalog}, which reads them all from here in one go.
  *
  * @author Luke Willis
  * @version 28 May 2025
@@ -21,22 +35,46 @@ public class Database {
     //private static final String DB_URL = "jdbc:sqlite:src/main/resources/Database/360Game_win.db";
     //private static final String DB_URL = "jdbc:sqlite:src/main/resources/Database/360Game_lose.db";
 
+    /** Query for the stats of every monster. */
+    private static final String ALL_MONSTERS_QUERY = "SELECT * FROM MonsterStats";
+
+    /** Query for the stats of every hero. */
+    private static final String ALL_HEROES_QUERY = "SELECT * FROM HeroStats";
+
+    /** System property that makes the stats come from the database instead of the snapshot. */
+    private static final String LIVE_STATS_PROPERTY = "dungeon.stats.live";
+
     /**
      * Establishing this class as a singleton
      */
     private static Database mySingleton = new Database();
 
+    /**
+     * The open connection, or null until the first query runs or after close.
+     */
+    private Connection myConnection;
+
+    /**
+     * Statements prepared on the open connection, by query.
+     */
+    private final Map<String, PreparedStatement> myStatements = new HashMap<>();
+
+    /**
+     * Whether the stats are read from the database rather than the packaged snapshot.
+     */
+    private boolean myLiveStats = Boolean.getBoolean(LIVE_STATS_PROPERTY);
+
+    /**
+     * The packaged snapshot, or null until it has been read.
+     */
+    private StatSnapshot mySnapshot;
+
 
     /**
-     * Private constructor tests the connection to the database.
+     * Private constructor. The connection is opened by the first query.
      */
     private Database() {
-        try(Connection conn = DriverManager.getConnection(DB_URL)) {
-            //Statement stmt = conn.createStatement();
-            System.out.println("Connected to database");
-        } catch (SQLException e) {
-            System.err.println("Could not connect to database" + e.getMessage());
-        }
+        super();
     }
 
     /**
@@ -53,76 +91,141 @@ public class Database {
 
 
     /**
-     * getMonsterByName method takes in a String as an argument and queries
-     * the SQLite databse for all the stats of the monster that was requested.
-     * Returns a map which has all the information required from the SQLite Database.
-     * @param name represents queried monster name.
-     * @return Map<String, Object> which holds all requested monster data.
+     * getAllMonsterStats method reads the stats of every monster in the
+     * MonsterStats table, or from the packaged snapshot unless live stats
+     * are on. Used to fill the {@link StatCatalog}.
+     * @return List of every monster's stats, or null if the table could not be read.
      */
-    protected Map<String, Object> getMonsterByName(String name) {
-        String query = "SELECT * FROM MonsterStats WHERE Name = ?";
-        try (Connection conn = DriverManager.getConnection(DB_URL);
-            PreparedStatement stmt = conn.prepareStatement(query)) {
-
-            stmt.setString(1, name);
-
-            try(ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    Map<String, Object> data = new HashMap<>();
-                    data.put("Name", rs.getString("Name"));
-                    data.put("HealthPoints", rs.getInt("HealthPoints"));
-                    data.put("DamageRangeMin", rs.getInt("DamageRangeMin"));
-                    data.put("DamageRangeMax", rs.getInt("DamageRangeMax"));
-                    data.put("AttackSpeed", rs.getInt("AttackSpeed"));
-                    data.put("HitChance", rs.getInt("HitChance"));
-                    data.put("HealChance", rs.getDouble("HealChance"));
-                    data.put("MinHealPoints", rs.getInt("MinHealPoints"));
-                    data.put("MaxHealPoints", rs.getInt("MaxHealPoints"));
-
-                    return data;
-                }
+    protected synchronized List<MonsterStats> getAllMonsterStats() {
+        final StatSnapshot snapshot = getSnapshot();
+        if (snapshot != null) {
+            return new ArrayList<>(snapshot.monsters());
+        }
+
+        try (ResultSet rs = prepare(ALL_MONSTERS_QUERY).executeQuery()) {
+            final List<MonsterStats> monsters = new ArrayList<>();
+            while (rs.next()) {
+                monsters.add(new MonsterStats(rs.getString("Name"), rs.getInt("HealthPoints"),
+                        rs.getInt("AttackSpeed"), rs.getInt("DamageRangeMin"), rs.getInt("DamageRangeMax"),
+                        rs.getInt("HitChance"), rs.getDouble("HealChance"), rs.getInt("MinHealPoints"),
+                        rs.getInt("MaxHealPoints")));
             }
+            return monsters;
         } catch (SQLException e) {
-            System.err.println("Error getting monsta: " + name + e.getMessage());
+            System.err.println("Error getting monster stats: " + e.getMessage());
+            close(); // Reconnect on the next query in case the connection broke
         }
-
-        //if monster isnt found
         return null;
     }
 
     /**
-     * getMonsterByName method takes in a String as an argument and queries
-     * the SQLite databse for all the stats of the hero that was requested.
-     * Returns a map which has all the information required from the SQLite Database.
-     * @param name represents queried hero name.
-     * @return Map<String, Object> which holds all requested monster data.
+     * getAllHeroStats method reads the stats of every hero in the
+     * HeroStats table, or from the packaged snapshot unless live stats
+     * are on. Used to fill the {@link StatCatalog}.
+     * @return List of every hero's stats, or null if the table could not be read.
      */
-    protected Map<String, Object> getHeroByName(String name) {
-        String query = "SELECT * FROM HeroStats WHERE Name = ?";
-        try (Connection conn = DriverManager.getConnection(DB_URL);
-             PreparedStatement stmt = conn.prepareStatement(query)) {
-
-            stmt.setString(1, name);
-
-            try(ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    Map<String, Object> data = new HashMap<>();
-                    data.put("Name", rs.getString("Name"));
-                    data.put("HealthPoints", rs.getInt("HealthPoints"));
-                    data.put("AttackSpeed", rs.getInt("AttackSpeed"));
-                    data.put("DamageRangeMin", rs.getInt("DamageRangeMin"));
-                    data.put("DamageRangeMax", rs.getInt("DamageRangeMax"));
-                    data.put("HitChance", rs.getInt("HitChance"));
-                    data.put("BlockChance", rs.getInt("BlockChance"));
-
-                    return data;
-                }
+    protected synchronized List<HeroStats> getAllHeroStats() {
+        final StatSnapshot snapshot = getSnapshot();
+        if (snapshot != null) {
+            return new ArrayList<>(snapshot.heroes());
+        }
+
+        try (ResultSet rs = prepare(ALL_HEROES_QUERY).executeQuery()) {
+            final List<HeroStats> heroes = new ArrayList<>();
+            while (rs.next()) {
+                heroes.add(new HeroStats(rs.getString("Name"), rs.getInt("HealthPoints"),
+                        rs.getInt("AttackSpeed"), rs.getInt("DamageRangeMin"), rs.getInt("DamageRangeMax"),
+                        rs.getInt("HitChance"), rs.getInt("BlockChance")));
             }
+            return heroes;
         } catch (SQLException e) {
-            System.err.println("Error getting hero: " + name + e.getMessage());
+            System.err.println("Error getting hero stats: " + e.getMessage());
+            close(); // Reconnect on the next query in case the connection broke
         }
-
-        //if hero isnt found
         return null;
     }
+
+    /**
+     * Tells whether the stats are read from the database rather than the packaged snapshot.
+     * @return true if the stats come from the database.
+     */
+    public synchronized boolean isLiveStats() {
+        return myLiveStats;
+    }
+
+    /**
+     * Chooses where the stats are read from. Call {@link StatCatalog#reload()} afterward
+     * to put the change into effect.
+     * @param theLiveStats true to read the stats from the database, false for the snapshot.
+     */
+    public synchronized void setLiveStats(final boolean theLiveStats) {
+        myLiveStats = theLiveStats;
+    }
+
+    /**
+     * Closes the connection and every prepared statement. The next query opens
+     * a new connection, so calling this early is harmless.
+     */
+    public synchronized void close() {
+        for (final PreparedStatement stmt : myStatements.values()) {
+            try {
+                stmt.close();
+            } catch (SQLException e) {
+                System.err.println("Could not close statement" + e.getMessage());
+            }
+        }
+        myStatements.clear();
+
+        if (myConnection != null) {
+            try {
+                myConnection.close();
+            } catch (SQLException e) {
+                System.err.println("Could not close database connection" + e.getMessage());
+            }
+            myConnection = null;
+        }
+    }
+
+    /**
+     * Returns the packaged snapshot, reading it the first time. When live stats are on,
+     * or the snapshot is missing or damaged, the stats come from the database instead.
+     * @return StatSnapshot to read the stats from, or null to query the database.
+     */
+    private StatSnapshot getSnapshot() {
+        if (myLiveStats) {
+            return null;
+        }
+        if (mySnapshot == null) {
+            try {
+                mySnapshot = StatSnapshot.readPackaged();
+            } catch (IOException e) {
+                System.err.println("Could not read the stat snapshot: " + e.getMessage());
+            }
+            if (mySnapshot == null) {
+                myLiveStats = true; // Fall back to the database from now on
+            }
+        }
+        return mySnapshot;
+    }
+
+    /**
+     * Returns the prepared statement for a query, opening the connection and
+     * preparing the statement the first time they are needed.
+     * @param theQuery the query to prepare.
+     * @return PreparedStatement for the query on the open connection.
+     * @throws SQLException if the connection cannot be opened or the query cannot be prepared.
+     */
+    private PreparedStatement prepare(final String theQuery) throws SQLException {
+        if (myConnection == null || myConnection.isClosed()) {
+            myStatements.clear();
+            myConnection = DriverManager.getConnection(DB_URL);
+        }
+
+        PreparedStatement stmt = myStatements.get(theQuery);
+        if (stmt == null) {
+            stmt = myConnection.prepareStatement(theQuery);
+            myStatements.put(theQuery, stmt);
+        }
+        return stmt;
+    }
 }
@@ -1,7 +1,12 @@
 package com.swagteam360.dungeonadventure.model;
 
 import java.io.Serializable;
-import java.util.Stack;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * The Dungeon class contains logic related to the
@@ -12,6 +17,23 @@ import java.util.Stack;
  */
 public final class Dungeon implements Serializable {
 
+    /**
+     * Pinned so that games saved with Java serialization keep loading.
+     */
+    private static final long serialVersionUID = 8623939583153329703L;
+
+    /**
+     * Version of the generation algorithm. Must be increased whenever a change
+     * makes the same seed produce a different dungeon, so that saves which only
+     * store the seed are rejected instead of loading the wrong dungeon.
+     */
+    static final int GENERATOR_VERSION = 1;
+
+    /**
+     * Every pillar type, in declaration order.
+     */
+    private static final PillarType[] PILLAR_TYPES = PillarType.values();
+
     /**
      * Represents the number of rows making up the maze.
      * A value of y means there are y rows (1, 2, ..., y).
@@ -38,13 +60,61 @@ public final class Dungeon implements Serializable {
 
     /**
      * Represents the column index of the entrance in the dungeon maze.
-     * This value is set when the dungeon is initialized and remains constant
-     * throughout the lifetime of the Dungeon instance.
+     * This value is set when the dungeon is initialized and only changes
+     * when the dungeon is regenerated.
      */
-    private final int myEntranceCol;
+    private int myEntranceCol;
+
+    /**
+     * The seed this dungeon was generated from. Only meaningful if mySeeded is true.
+     */
+    private long mySeed;
+
+    /**
+     * Whether the seed is known. Dungeons read from old save files have no seed.
+     */
+    private boolean mySeeded;
+
+    /**
+     * The mapped file this dungeon's rooms are saved to, or null if the dungeon is not kept in one.
+     */
+    private transient MappedDungeonStore myStore;
+
+    /**
+     * What the rooms held before the player changed any of them, or null if that is not known.
+     * Snapshots share it and only copy the rooms that changed since.
+     */
+    private transient GameSnapshot.Base myBase;
+
+    /**
+     * Rooms changed since the base, in the order they first changed. Null until a room changes.
+     */
+    private transient List<Room> myChangedRooms;
+
+    /**
+     * Indices of the rooms in myChangedRooms. Null until a room changes.
+     */
+    private transient BitSet myChangedIndices;
+
+    /**
+     * Source of randomness reused every time the dungeon is regenerated, or null until it first is.
+     */
+    private transient Random myRegenerationRandom;
 
 
     public Dungeon(final int theRowSize, final int theColSize) {
+        this(theRowSize, theColSize, ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Generates a dungeon from a seed. Generation is deterministic, so the same
+     * size and seed always produce the same maze, items, pits and pillars.
+     *
+     * @param theRowSize Number of rows in the maze
+     * @param theColSize Number of columns in the maze
+     * @param theSeed The seed driving every random choice made during generation
+     */
+    public Dungeon(final int theRowSize, final int theColSize, final long theSeed) {
         super(); // explicit call to super
 
         if (theRowSize < 0 || theColSize < 0) {
@@ -54,29 +124,100 @@ public final class Dungeon implements Serializable {
         // Set row and column size
         myRowSize = theRowSize;
         myColSize = theColSize;
+        mySeed = theSeed;
+        mySeeded = true;
+
+        // Every random choice below is drawn from this one source, in a fixed order
+        final Random random = new Random(theSeed);
 
         // Determine start and end coordinates
-        final int startCol = randomGen(0, theColSize);
-        final int endCol = randomGen(0, theColSize);
+        final int startCol = randomGen(random, 0, theColSize);
+        final int endCol = randomGen(random, 0, theColSize);
 
         myEntranceRow = 0;
         myEntranceCol = startCol;
 
         // Create room factory with start and end coordinates
         final CellFactory roomFactory = new RoomFactory(0, startCol,
-                theRowSize - 1, endCol);
+                theRowSize - 1, endCol, random);
 
         // Create new maze using the room factory
-        myDungeonMaze = new DungeonMaze(myRowSize, myColSize, roomFactory);
+        myDungeonMaze = new DungeonMaze(myRowSize, myColSize, roomFactory, random);
 
         // Place pillars in the maze
-        placePillarsInRooms();
+        placePillarsInRooms(random);
+
+        setBase(new GameSnapshot.SeedBase(theRowSize, theColSize, theSeed, theRowSize - 1, endCol));
+    }
+
+    /**
+     * Wraps an already built maze. Nothing is randomly generated, which
+     * allows a dungeon to be rebuilt exactly from a save file.
+     *
+     * @param theDungeonMaze The maze holding every room of the dungeon
+     * @param theRowSize Number of rows in the maze
+     * @param theColSize Number of columns in the maze
+     * @param theEntranceRow Row of the entrance room
+     * @param theEntranceCol Column of the entrance room
+     * @param theSeeded Whether the seed the dungeon was generated from is known
+     * @param theSeed The seed the dungeon was generated from, if known
+     */
+    Dungeon(final DungeonMaze theDungeonMaze, final int theRowSize, final int theColSize,
+            final int theEntranceRow, final int theEntranceCol,
+            final boolean theSeeded, final long theSeed) {
+        super();
+
+        if (theRowSize < 0 || theColSize < 0) {
+            throw new IllegalArgumentException("Row and column size cannot be negative");
+        }
+
+        myDungeonMaze = Objects.requireNonNull(theDungeonMaze);
+        myRowSize = theRowSize;
+        myColSize = theColSize;
+        myEntranceRow = theEntranceRow;
+        myEntranceCol = theEntranceCol;
+        mySeeded = theSeeded;
+        mySeed = theSeed;
+    }
+
+    /**
+     * Generates the dungeon of another seed into this dungeon's rooms. The result is the
+     * same as a new dungeon of this size generated from the seed, but no rooms are created,
+     * which suits simulations that play one game after another.
+     *
+     * @param theSeed The seed driving every random choice made during generation
+     * @throws IllegalStateException if the dungeon is kept in a mapped file or still being loaded
+     */
+    void regenerate(final long theSeed) {
+        if (myStore != null) {
+            throw new IllegalStateException("A dungeon kept in a mapped file cannot be regenerated.");
+        }
+        if (myRegenerationRandom == null) {
+            myRegenerationRandom = new Random();
+        }
+        // Drawn in the same order as the constructor, so the same seed gives the same dungeon
+        final Random random = myRegenerationRandom;
+        random.setSeed(theSeed);
+
+        final int startCol = randomGen(random, 0, myColSize);
+        final int endCol = randomGen(random, 0, myColSize);
+        myEntranceCol = startCol;
+        mySeed = theSeed;
+        mySeeded = true;
+
+        myDungeonMaze.regenerate(new RoomFactory(myEntranceRow, startCol, myRowSize - 1, endCol, random), random);
+        placePillarsInRooms(random);
+
+        setBase(new GameSnapshot.SeedBase(myRowSize, myColSize, theSeed, myRowSize - 1, endCol));
     }
 
     public Room getRoom(final int theRow, final int theCol) {
         Cell mazeCell = myDungeonMaze.getCell(theRow, theCol);
-        if (mazeCell instanceof Room) {
-            return (Room) mazeCell;
+        if (mazeCell instanceof Room room) {
+            if (room.getDungeon() != this) {
+                room.setDungeon(this); // from now on the room reports its changes
+            }
+            return room;
         } else {
             throw new ClassCastException("Incorrect cell type stored in the maze. Failed to cast type.");
         }
@@ -157,38 +298,118 @@ public final class Dungeon implements Serializable {
      * @return A RoomViewModel[][] matrix of all rooms
      */
     public IRoom.RoomViewModel[][] getAllRoomViewModels() {
-        final IRoom.RoomViewModel[][] roomViewModels = new IRoom.RoomViewModel[myRowSize][myColSize];
-        for (int i = 0; i < myRowSize; i++) {
-            for (int j = 0; j < myColSize; j++) {
-                roomViewModels[i][j] = getRoom(i, j).getRoomViewModel();
+        return getRoomViewModels(0, 0, myRowSize, myColSize);
+    }
+
+    /**
+     * Get the room data of a rectangular part of the dungeon as a matrix of
+     * immutable records. Useful when only part of a large dungeon is shown.
+     * @param theStartRow Row of the top-left room
+     * @param theStartCol Column of the top-left room
+     * @param theRows Number of rows to return
+     * @param theCols Number of columns to return
+     * @return A RoomViewModel[][] matrix of the requested rooms
+     */
+    public IRoom.RoomViewModel[][] getRoomViewModels(final int theStartRow, final int theStartCol,
+                                                     final int theRows, final int theCols) {
+        if (theStartRow < 0 || theStartCol < 0 || theRows < 0 || theCols < 0
+                || theStartRow + theRows > myRowSize || theStartCol + theCols > myColSize) {
+            throw new IllegalArgumentException("The requested rooms are outside the dungeon");
+        }
+
+        final IRoom.RoomViewModel[][] roomViewModels = new IRoom.RoomViewModel[theRows][theCols];
+        for (int i = 0; i < theRows; i++) {
+            for (int j = 0; j < theCols; j++) {
+                roomViewModels[i][j] = getRoom(theStartRow + i, theStartCol + j).getRoomViewModel();
             }
         }
 
         return roomViewModels;
     }
 
-    private Stack<Pillar> generatePillars() {
-        final Stack<Pillar> pillarStack = new Stack<>();
+    /**
+     * Reads up to the given number of rooms that a lazily loaded dungeon has not
+     * read from its save file yet. Does nothing for a dungeon that is fully loaded.
+     * @param theCount Largest number of rooms to read
+     * @return True if every room has been read
+     */
+    boolean loadPendingRooms(final int theCount) {
+        return myDungeonMaze.createPendingCells(theCount);
+    }
+
+    /**
+     * Returns the mapped file this dungeon's rooms are saved to.
+     * @return The dungeon's store, or null if the dungeon is not kept in one
+     */
+    MappedDungeonStore getStore() {
+        return myStore;
+    }
+
+    /**
+     * Sets the mapped file this dungeon's rooms are saved to. The rooms must be attached to it as well.
+     * @param theStore The dungeon's store
+     */
+    void setStore(final MappedDungeonStore theStore) {
+        myStore = theStore;
+    }
 
-        for (PillarType ptype : PillarType.values()) {
-            pillarStack.push(new Pillar(ptype));
+    /**
+     * Returns what the rooms held before the player changed any of them.
+     * @return The dungeon's base, or null if it is not known
+     */
+    GameSnapshot.Base getBase() {
+        return myBase;
+    }
+
+    /**
+     * Sets what the rooms hold right now as the dungeon's base, and forgets which rooms have changed.
+     * @param theBase The rooms as they are now
+     */
+    void setBase(final GameSnapshot.Base theBase) {
+        myBase = theBase;
+        if (myChangedRooms != null) {
+            myChangedRooms.clear(); // Kept for the next changes
+            myChangedIndices.clear();
         }
+    }
 
-        return pillarStack;
+    /**
+     * Returns the rooms changed since the base was set.
+     * @return The changed rooms, in the order they first changed
+     */
+    List<Room> getChangedRooms() {
+        return myChangedRooms == null ? List.of() : myChangedRooms;
+    }
+
+    /**
+     * Remembers that a room has changed since the base. Called by the room itself.
+     * @param theRoom A room of this dungeon
+     */
+    void roomChanged(final Room theRoom) {
+        if (myChangedRooms == null) {
+            myChangedRooms = new ArrayList<>();
+            myChangedIndices = new BitSet();
+        }
+        final int index = theRoom.getRow() * myColSize + theRoom.getCol();
+        if (!myChangedIndices.get(index)) {
+            myChangedIndices.set(index);
+            myChangedRooms.add(theRoom);
+        }
     }
 
-    private void placePillarsInRooms() {
-        final Stack<Pillar> pillarStack = generatePillars();
+    private void placePillarsInRooms(final Random theRandom) {
+        // The pillars are placed last type first, as they used to be when popped off a stack
+        int next = PILLAR_TYPES.length - 1;
 
-        while (!pillarStack.isEmpty()) {
-            int randomRow = randomGen(0, myRowSize);
-            int randomCol = randomGen(0, myColSize);
+        while (next >= 0) {
+            int randomRow = randomGen(theRandom, 0, myRowSize);
+            int randomCol = randomGen(theRandom, 0, myColSize);
 
             if (getRoom(randomRow, randomCol).isEntranceOrExit()
                 || getRoom(randomRow, randomCol).hasPillar()) {
                 continue;
             } else {
-                getRoom(randomRow, randomCol).setPillar(pillarStack.pop());
+                getRoom(randomRow, randomCol).setPillar(new Pillar(PILLAR_TYPES[next--]));
             }
         }
     }
@@ -196,12 +417,13 @@ public final class Dungeon implements Serializable {
     /**
      * Generates a random number between values
      * theStart and (theEnd - 1) inclusive.
+     * @param theRandom Source of randomness
      * @param theStart Starting value (inclusive)
      * @param theEnd Ending value (non-inclusive)
      * @return A random integer between the specified range
      */
-    private int randomGen(final int theStart, final int theEnd) {
-        return (int)(Math.random() * (theEnd-theStart)) + theStart;
+    private int randomGen(final Random theRandom, final int theStart, final int theEnd) {
+        return (int)(theRandom.nextDouble() * (theEnd-theStart)) + theStart;
     }
 
     /**
@@ -347,4 +569,27 @@ public final class Dungeon implements Serializable {
         return myColSize;
     }
 
+    /**
+     * Indicates whether the seed this dungeon was generated from is known.
+     * Dungeons loaded from old save files do not have one.
+     *
+     * @return True if getSeed returns the generation seed.
+     */
+    public boolean hasSeed() {
+        return mySeeded;
+    }
+
+    /**
+     * Retrieves the seed this dungeon was generated from.
+     *
+     * @return The generation seed.
+     * @throws IllegalStateException if the seed is not known.
+     */
+    public long getSeed() {
+        if (!mySeeded) {
+            throw new IllegalStateException("This dungeon was not generated from a known seed.");
+        }
+        return mySeed;
+    }
+
 }
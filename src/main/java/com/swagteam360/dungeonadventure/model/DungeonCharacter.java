@@ -2,6 +2,7 @@ package com.swagteam360.dungeonadventure.model;
 
 import java.util.Objects;
 import java.util.Random;
+import java.util.random.RandomGenerator;
 import java.io.Serializable;
 
 /**
@@ -19,6 +20,12 @@ import java.io.Serializable;
  * @version 1 May 2025
  */
 public abstract class DungeonCharacter implements Serializable {
+
+    /**
+     * Pinned so that games saved with Java serialization keep loading.
+     */
+    private static final long serialVersionUID = -6330044453525802099L;
+
     /** Field myName represents name given to a character. */
     private String myName;
 
@@ -95,6 +102,20 @@ public abstract class DungeonCharacter implements Serializable {
      */
     public int attack(final int theDamageRangeMin, final int theDamageRangeMax,
                       final int theHitChance) {
+        return attack(theDamageRangeMin, theDamageRangeMax, theHitChance, new Random());
+    }
+
+    /**
+     * Attack method that draws from the given source of randomness, so that
+     * simulations can give each thread its own reproducible stream.
+     * @param theDamageRangeMin represents min amount of damage that can be inflicted.
+     * @param theDamageRangeMax represents max amount of damage that can be inflicted.
+     * @param theHitChance represents chance to miss a hit, as a whole number percent.
+     * @param theRandom source of randomness for the hit and damage rolls.
+     * @return int representing amount of damage dealt.
+     */
+    public int attack(final int theDamageRangeMin, final int theDamageRangeMax,
+                      final int theHitChance, final RandomGenerator theRandom) {
 
         // test negative hit chance
         if (theHitChance < 0){
@@ -102,17 +123,16 @@ public abstract class DungeonCharacter implements Serializable {
         }
 
         int returned;
-        Random random = new Random();
 
         // check if attack hits based on hitchance
-        int hitRoll = random.nextInt(100) + 1; //roll 1-100
+        int hitRoll = theRandom.nextInt(100) + 1; //roll 1-100
 
         if (hitRoll <= theHitChance) {
 
             //attack hits
             int dmg = 0;
             if (theDamageRangeMax > theDamageRangeMin) {
-                dmg = random.nextInt(theDamageRangeMax - theDamageRangeMin + 1) + theDamageRangeMin; //ensures always above the min
+                dmg = theRandom.nextInt(theDamageRangeMax - theDamageRangeMin + 1) + theDamageRangeMin; //ensures always above the min
             } else { // if the min is greater than the max, use theDamageRangeMin value.
                 dmg = theDamageRangeMin;
             }
@@ -205,6 +225,14 @@ public abstract class DungeonCharacter implements Serializable {
      */
     public int getMyHitChance() {return myHitChance;}
 
+    /**
+     * Get an immutable record of this character's name and health.
+     * @return A CharacterViewModel record of this character's state.
+     */
+    public CharacterViewModel getViewModel() {
+        return new CharacterViewModel(getName(), myHP, myMaxHP);
+    }
+
     /**
      * Override of Objects' toString to portray a version of the character
      * object with information displayed such as Name, character type, and values
@@ -220,4 +248,14 @@ public abstract class DungeonCharacter implements Serializable {
                 "Hit Chance: " + myHitChance + "\n";
 
     }
+
+    /**
+     * Represents an immutable record of a character's name and health
+     * that can be safely sent to the view.
+     *
+     * @param name Name of the character
+     * @param hp Health points left
+     * @param maxHP Most health points the character can have
+     */
+    public record CharacterViewModel(String name, int hp, int maxHP) { }
 }
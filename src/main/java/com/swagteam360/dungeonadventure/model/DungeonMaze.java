@@ -2,7 +2,8 @@ package com.swagteam360.dungeonadventure.model;
 
 import java.io.Serializable;
 import java.util.Objects;
-import java.util.Stack;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * DungeonMaze auto-generates a maze
@@ -15,14 +16,42 @@ import java.util.Stack;
  * @version 1.00, 02 May 2025
  */
 public final class DungeonMaze implements Serializable {
+
+    /**
+     * Pinned so that games saved with Java serialization keep loading.
+     */
+    private static final long serialVersionUID = -7407105753865239824L;
+
+    /**
+     * Offsets of the top, bottom, left and right neighbors of a cell.
+     */
+    private static final int[][] CELL_OFFSETS = {{-1, 0}, {1, 0}, {0, -1}, {0, 1}};
+
     /**
      * Grid of Cells representing the maze
      */
     private final Cell[][] myRoomGrid;
     /**
-     * Reference to the cell factory
+     * Reference to the cell factory. Replaced when the maze is regenerated.
+     */
+    private CellFactory myCellFactory;
+
+    /**
+     * Cells waiting to be revisited while the maze is built. Kept so that regenerating
+     * the maze creates nothing, and not saved.
      */
-    private final CellFactory myCellFactory;
+    private transient Cell[] myCellStack;
+
+    /**
+     * Creates cells that have not been read from a save file yet, or null once every
+     * cell exists. While it is set, cells are only read or created under this maze's lock.
+     */
+    private transient volatile CellFactory myLazyCells;
+
+    /**
+     * Index of the first cell that the background fill has not created yet.
+     */
+    private transient int myNextLazyIndex;
 
 
     /**
@@ -35,6 +64,21 @@ public final class DungeonMaze implements Serializable {
      */
     public DungeonMaze(final int theRows, final int theCols,
                        final CellFactory theCellFactory) {
+        this(theRows, theCols, theCellFactory, ThreadLocalRandom.current());
+    }
+
+    /**
+     * Constructs a new Dungeon Maze using a randomized depth-first
+     * search algorithm driven by the given source of randomness.
+     * The same seeded source always produces the same maze.
+     *
+     * @param theRows The desired height (number of rows) of the maze
+     * @param theCols The desired width (number of columns) or the maze
+     * @param theCellFactory The factory for creating Cell objects
+     * @param theRandom Source of randomness for carving paths
+     */
+    DungeonMaze(final int theRows, final int theCols,
+                final CellFactory theCellFactory, final Random theRandom) {
         // Explicit call to superclass
         super();
 
@@ -46,7 +90,67 @@ public final class DungeonMaze implements Serializable {
 
         myRoomGrid = new Cell[theRows][theCols];    // Create a new 2D array
         generateField();            // Generate an empty field
-        buildMaze();                // Build a maze from the empty field
+        buildMaze(Objects.requireNonNull(theRandom)); // Build a maze from the empty field
+    }
+
+    /**
+     * Wraps an existing grid of cells without generating a new maze.
+     * Used when a dungeon is rebuilt from a save file.
+     *
+     * @param theRoomGrid The grid of cells making up the maze
+     * @param theCellFactory The factory that describes the entrance and exit
+     */
+    DungeonMaze(final Cell[][] theRoomGrid, final CellFactory theCellFactory) {
+        super();
+
+        myRoomGrid = Objects.requireNonNull(theRoomGrid);
+        myCellFactory = Objects.requireNonNull(theCellFactory);
+    }
+
+    /**
+     * Wraps an empty grid whose cells are created the first time they are requested.
+     * Used when a dungeon is loaded lazily from a save file, so that the game can be
+     * shown before every room has been read.
+     *
+     * @param theRows Number of rows in the maze
+     * @param theCols Number of columns in the maze
+     * @param theCellFactory The factory that describes the entrance and exit
+     * @param theLazyCells Creates the saved cell at a position
+     */
+    DungeonMaze(final int theRows, final int theCols, final CellFactory theCellFactory,
+                final CellFactory theLazyCells) {
+        this(new Cell[theRows][theCols], theCellFactory);
+
+        myLazyCells = Objects.requireNonNull(theLazyCells);
+        if (theRows == 0 || theCols == 0) {
+            myLazyCells = null;
+        }
+    }
+
+    /**
+     * Generates a new maze into the cells of this one. The factory puts every cell back
+     * the way it would create it, in the same order as a new maze, so the result is the
+     * same as a new maze built from the same factory and source of randomness.
+     *
+     * @param theCellFactory The factory for the new maze's cells
+     * @param theRandom Source of randomness for carving paths
+     * @throws IllegalStateException if cells are still being read from a save file
+     */
+    void regenerate(final CellFactory theCellFactory, final Random theRandom) {
+        if (myLazyCells != null) {
+            throw new IllegalStateException("The maze is still being loaded.");
+        }
+        myCellFactory = Objects.requireNonNull(theCellFactory);
+
+        for (int i = 0; i < myRoomGrid.length; i++) {
+            for (int j = 0; j < myRoomGrid[i].length; j++) {
+                // Cells the factory cannot reset are created again
+                if (!myCellFactory.resetCell(myRoomGrid[i][j])) {
+                    myRoomGrid[i][j] = myCellFactory.createCell(i, j);
+                }
+            }
+        }
+        buildMaze(Objects.requireNonNull(theRandom));
     }
 
     /**
@@ -56,9 +160,56 @@ public final class DungeonMaze implements Serializable {
      * @return Cell at the specified coordinate
      */
     public Cell getCell(final int theRow, final int theCol) {
+        if (myLazyCells != null) {
+            return getOrCreateCell(theRow, theCol);
+        }
         return myRoomGrid[theRow][theCol];
     }
 
+    /**
+     * Creates up to the given number of cells that have not been requested yet, in row order.
+     * Does nothing once every cell exists.
+     *
+     * @param theCount Largest number of cells to visit.
+     * @return True if every cell now exists.
+     */
+    synchronized boolean createPendingCells(final int theCount) {
+        final CellFactory lazyCells = myLazyCells;
+        if (lazyCells == null) {
+            return true;
+        }
+
+        final int cols = myRoomGrid[0].length;
+        final int end = (int) Math.min((long) myRoomGrid.length * cols, (long) myNextLazyIndex + theCount);
+        for (int index = myNextLazyIndex; index < end; index++) {
+            final int row = index / cols;
+            final int col = index % cols;
+            if (myRoomGrid[row][col] == null) {
+                myRoomGrid[row][col] = lazyCells.createCell(row, col);
+            }
+        }
+        myNextLazyIndex = end;
+
+        if (end == myRoomGrid.length * cols) {
+            myLazyCells = null; // every cell exists; reads no longer need the lock
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns the cell at a position, creating it first if it has not been created yet.
+     */
+    private synchronized Cell getOrCreateCell(final int theRow, final int theCol) {
+        Cell cell = myRoomGrid[theRow][theCol];
+        final CellFactory lazyCells = myLazyCells;
+        if (cell == null && lazyCells != null) {
+            cell = lazyCells.createCell(theRow, theCol);
+            myRoomGrid[theRow][theCol] = cell;
+        }
+        return cell;
+    }
+
     /**
      * Print a prettier "collapsed"
      * version of the maze.
@@ -74,13 +225,13 @@ public final class DungeonMaze implements Serializable {
             final StringBuilder middle = new StringBuilder();   // Left and right walls, path chars
 
             for (int j = 0; j < myRoomGrid[i].length; j++) {
-                top.append(myRoomGrid[i][j].hasTopWall() ? "##" : "# "); // append top wall status
-                middle.append(myRoomGrid[i][j].hasLeftWall() ? "# " : "  "); // append left wall status
+                top.append(getCell(i, j).hasTopWall() ? "##" : "# "); // append top wall status
+                middle.append(getCell(i, j).hasLeftWall() ? "# " : "  "); // append left wall status
 
                 // add extra characters at the end
                 if (j == myRoomGrid[i].length - 1) {
                     top.append("#");
-                    middle.append(myRoomGrid[i][j].hasRightWall() ? "#" : " "); // check right wall status at the end
+                    middle.append(getCell(i, j).hasRightWall() ? "#" : " "); // check right wall status at the end
                 }
             }
 
@@ -92,7 +243,7 @@ public final class DungeonMaze implements Serializable {
                 for (int k = 0; k < myRoomGrid[myRoomGrid.length - 1].length; k++) {
                     mainString.append("#");
                     // add characters for bottom wall status
-                    mainString.append(myRoomGrid[myRoomGrid.length - 1][k].hasBottomWall() ? "#" : " ");
+                    mainString.append(getCell(myRoomGrid.length - 1, k).hasBottomWall() ? "#" : " ");
                 }
                 mainString.append("#");
             }
@@ -120,31 +271,40 @@ public final class DungeonMaze implements Serializable {
      * Build a maze out of the grid of cells
      * using an implementation of the randomized
      * depth-first search algorithm.
+     *
+     * @param theRandom Source of randomness for picking neighbors.
      */
-    private void buildMaze() {
+    private void buildMaze(final Random theRandom) {
         //Cell current = myRoomGrid[0][0];                // Pick the top-left corner to be the starting point
         // Start generating at the specified starting location
         Cell current = myRoomGrid[myCellFactory.getEntranceRow()][myCellFactory.getEntranceCol()];
-        final Stack<Cell> cellStack = new Stack<>();    // Create a stack to track cells
+
+        // Track cells in an array used as a stack. Every cell is on it at most once, and it is kept for the next build.
+        final int cellCount = myRoomGrid.length * myRoomGrid[0].length;
+        if (myCellStack == null || myCellStack.length < cellCount) {
+            myCellStack = new Cell[cellCount];
+        }
+        final Cell[] cellStack = myCellStack;
+        int size = 0;
 
         current.markTraversalVisit();   // Set the corner cell to be marked as visited
-        cellStack.push(current);        // push the corner cell to the stack
+        cellStack[size++] = current;    // push the corner cell to the stack
 
 
-        while (!cellStack.isEmpty()) { // Continue processing until the stack is empty (all are visited)
-            current = cellStack.pop(); // pop stack, set as current
+        while (size > 0) { // Continue processing until the stack is empty (all are visited)
+            current = cellStack[--size]; // pop stack, set as current
 
             if (hasUnvisitedNeighbors(current.getRow(), current.getCol())) {
-                cellStack.push(current); // push it back onto the stack if unvisited neighbors exist
+                cellStack[size++] = current; // push it back onto the stack if unvisited neighbors exist
 
                 // Pick a random cell that hasn't been visited yet
-                Cell randomUnvisitedCell = pickRandomUnvisitedCell(current.getRow(), current.getCol());
+                Cell randomUnvisitedCell = pickRandomUnvisitedCell(current.getRow(), current.getCol(), theRandom);
                 // remove the walls between the current cell and randomly picked cell
                 removeWalls(current, randomUnvisitedCell);
                 // Mark the unvisited cell as visited
                 randomUnvisitedCell.markTraversalVisit();
                 // Push the selected cell onto the stack
-                cellStack.push(randomUnvisitedCell);
+                cellStack[size++] = randomUnvisitedCell;
             }
         }
     }
@@ -188,18 +348,19 @@ public final class DungeonMaze implements Serializable {
      *
      * @param theRow The row of the cell to be evaluated.
      * @param theCol The column of the cell to be evaluated.
+     * @param theRandom Source of randomness.
      * @return The randomly selected neighboring cell that is marked as unvisited.
      */
-    private Cell pickRandomUnvisitedCell(final int theRow, final int theCol) {
+    private Cell pickRandomUnvisitedCell(final int theRow, final int theCol, final Random theRandom) {
         // offset coordinates representing top, left, bottom, right
-        final int[][] cellOffsets = {{-1, 0}, {1, 0}, {0, -1}, {0, 1}};
+        final int[][] cellOffsets = CELL_OFFSETS;
 
         int random;         // Store a random value between 0 and the length of cellOffsets
         int randRowCoord;   // Store the coordinate of the randomly selected neighbor
         int randColCoord;   // Store the coordinate of the randomly selected neighbor
 
         do { // regenerate coordinates if they aren't valid or don't map to an unvisited square
-            random = (int)(Math.random() * cellOffsets.length);
+            random = theRandom.nextInt(cellOffsets.length);
             randRowCoord = theRow + cellOffsets[random][0];
             randColCoord = theCol + cellOffsets[random][1];
         } while (!isValidCoord(randRowCoord, randColCoord)
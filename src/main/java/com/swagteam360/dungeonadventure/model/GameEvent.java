@@ -0,0 +1,66 @@
+package com.swagteam360.dungeonadventure.model;
+
+/**
+ * Something that happened in a {@link GameSession}. Events follow the property changes that
+ * {@link GameManager} fires to the GUI: each type names the property it corresponds to, and the
+ * value is what the GUI would receive as the new value.
+ *
+ * @param type What happened
+ * @param value Details of the event; see each type for what it holds
+ *
+ * @author agent
+ * @version 1.0 (19 October 2026)
+ */
+public record GameEvent(Type type, Object value) {
+
+    /**
+     * The kinds of events a session sends.
+     */
+    public enum Type {
+        /** The Hero entered a room. The value is the {@link Room}. */
+        ROOM_CHANGE("ROOM_CHANGE"),
+        /** The Hero fell into a pit. The value is the damage taken. */
+        PIT("Pit"),
+        /** The Hero's health changed. The value is the Hero's hit points. */
+        HERO_HEALTH_CHANGE("HERO_HEALTH_CHANGE"),
+        /** The Hero picked up or used items. The value is a copy of the inventory. */
+        INVENTORY_CHANGE("INVENTORY_CHANGE"),
+        /** Vision powers started or wore off. The value is true while they are active. */
+        VISION_POWERS("VISION_POWERS"),
+        /** A battle began. The value is the {@link Monster}. */
+        FIGHT("Fight"),
+        /** A move was made in battle. The value is its {@link BattleOutcome}. */
+        BATTLE("Battle"),
+        /** A battle ended. The value is true if the Hero won. */
+        BATTLE_END("Battle End"),
+        /** The Hero entered the exit room. The value is the number of pillars held. */
+        EXIT("Exit"),
+        /** The Hero died and the game is lost. The value is the {@link Hero}. */
+        DEAD("Dead"),
+        /** The Hero left the dungeon with every pillar and the game is won. The value is the {@link Hero}. */
+        WON("Won");
+
+        /**
+         * Name of the matching property change fired by {@link GameManager}.
+         */
+        private final String myPropertyName;
+
+        /**
+         * Constructs an event type.
+         *
+         * @param thePropertyName Name of the matching property change.
+         */
+        Type(final String thePropertyName) {
+            myPropertyName = thePropertyName;
+        }
+
+        /**
+         * Returns the name of the matching property change fired by {@link GameManager}.
+         *
+         * @return The property name.
+         */
+        public String getPropertyName() {
+            return myPropertyName;
+        }
+    }
+}
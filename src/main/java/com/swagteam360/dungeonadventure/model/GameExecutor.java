@@ -0,0 +1,118 @@
+package com.swagteam360.dungeonadventure.model;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The GameExecutor class owns the single game-logic thread. Every command that
+ * changes the model (moving, fighting, using items, starting or loading a game)
+ * is queued here and runs one at a time, in the order it was submitted. Because
+ * only this thread writes to the model, the model classes do not need any locks.
+ * <p>
+ * Slow model work such as maze generation or database lookups therefore never
+ * runs on the JavaFX Application Thread. Results travel back to the user interface
+ * through the property change events fired by GameManager.
+ *
+ * @author agent
+ * @version 1.0 (19 October 2026)
+ */
+public final class GameExecutor {
+
+    /**
+     * Longest time {@link #close()} waits for the queued commands, in seconds.
+     */
+    private static final long CLOSE_TIMEOUT_SECONDS = 5;
+
+    /**
+     * Name given to the game-logic thread, which is helpful when reading stack traces.
+     */
+    private static final String THREAD_NAME = "game-logic";
+
+    /**
+     * A singleton instance of the GameExecutor class.
+     */
+    private static final GameExecutor mySingleton = new GameExecutor();
+
+    /**
+     * The single-threaded executor that runs all queued game commands.
+     */
+    private final ExecutorService myExecutor;
+
+    /**
+     * Reference to the game-logic thread, used to tell whether the caller is already on it.
+     */
+    private volatile Thread myThread;
+
+    /**
+     * Constructs the executor and its daemon thread. The thread is a daemon so that
+     * it never keeps the JVM alive after the application window closes.
+     */
+    private GameExecutor() {
+        myExecutor = Executors.newSingleThreadExecutor(theRunnable -> {
+            final Thread thread = new Thread(theRunnable, THREAD_NAME);
+            thread.setDaemon(true);
+            myThread = thread;
+            return thread;
+        });
+    }
+
+    /**
+     * Provides access to the singleton instance of the GameExecutor class.
+     *
+     * @return the singleton instance of GameExecutor
+     */
+    public static GameExecutor getInstance() {
+        return mySingleton;
+    }
+
+    /**
+     * Queues a command to run on the game-logic thread. Exceptions thrown by the
+     * command are printed instead of being silently stored in the returned Future.
+     *
+     * @param theCommand The command to run.
+     * @return A Future that completes once the command has run.
+     */
+    public Future<?> submit(final Runnable theCommand) {
+        return myExecutor.submit(() -> {
+            try {
+                theCommand.run();
+            } catch (RuntimeException e) {
+                e.printStackTrace(); // Might want to log this exception.
+                throw e;
+            }
+        });
+    }
+
+    /**
+     * Indicates whether the calling thread is the game-logic thread.
+     *
+     * @return True if called from the game-logic thread, false otherwise.
+     */
+    public boolean isGameThread() {
+        return Thread.currentThread() == myThread;
+    }
+
+    /**
+     * Stops accepting new commands. Commands already queued still run.
+     */
+    public void shutdown() {
+        myExecutor.shutdown();
+    }
+
+    /**
+     * Stops accepting new commands and waits, for a few seconds at most, until the queued ones have run.
+     * Called when the application exits, so that a save or autosave the player triggered last still happens.
+     */
+    public void close() {
+        shutdown();
+        try {
+            if (!myExecutor.awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                System.err.println("Game commands were still running when the application closed.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
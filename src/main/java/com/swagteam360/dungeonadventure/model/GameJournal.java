@@ -0,0 +1,661 @@
+package com.swagteam360.dungeonadventure.model;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Objects;
+
+/**
+ * The GameJournal class records a {@link GameSession} as its seed plus every command that changed
+ * it, and plays such a journal back. A session started from a seed and given the same commands
+ * always plays out the same way, so the journal is all it takes to reproduce a run, for example
+ * one that showed a bug.
+ * <p>
+ * A journal starts with the settings and the seed. Each command then takes a single byte, except
+ * item uses other than potions, which add the item's name, roaming monsters being added, which
+ * adds their number, battles fought at once, which add the policy, telling the game whether to
+ * wait at the exit, which adds the choice, and save points, which add the seed the game's random
+ * numbers start again from. Every {@link #CHECKPOINT_INTERVAL} commands, at every save point and
+ * when the game ends, a checkpoint adds a hash of the game's state, which the replay checks, so a
+ * replay that strays from the original is caught close to where it happened. A long game makes a
+ * journal of well under a kilobyte.
+ * <p>
+ * The journal is only ever appended to. It is flushed at every checkpoint, so a crash loses at most
+ * the commands since the last one, and a journal cut short still replays up to where it ends.
+ * <p>
+ * {@link GameManager} journals every game it starts and keeps the journal next to each save, in the
+ * file given by {@link #journalFileFor}. The journal of a save ends at the save point written with it,
+ * so a game loaded from the save takes the journal over with {@link #resume}, without replaying it, and
+ * the journal always covers the whole game from its first move.
+ *
+ * @author agent
+ * @version 1.0 (19 October 2026)
+ */
+public final class GameJournal {
+
+    /**
+     * Number of commands between checkpoints.
+     */
+    static final int CHECKPOINT_INTERVAL = 64;
+
+    /**
+     * First bytes of every journal, "DAJ1".
+     */
+    private static final int MAGIC = 0x44414A31;
+
+    /**
+     * Code of an attack. Moves are coded by their {@link Direction} ordinal.
+     */
+    private static final int ATTACK = 4;
+
+    /**
+     * Code of a special move.
+     */
+    private static final int SPECIAL = 5;
+
+    /**
+     * Code of drinking a health potion.
+     */
+    private static final int HEALTH_POTION = 6;
+
+    /**
+     * Code of drinking a vision potion.
+     */
+    private static final int VISION_POTION = 7;
+
+    /**
+     * Code of using another item, followed by its name.
+     */
+    private static final int OTHER_ITEM = 8;
+
+    /**
+     * Code of a checkpoint, followed by the state hash.
+     */
+    private static final int CHECKPOINT = 9;
+
+    /**
+     * Code of adding roaming monsters, followed by their number.
+     */
+    private static final int ROAMING_MONSTERS = 10;
+
+    /**
+     * Code of fighting the rest of a battle at once, followed by the policy's ordinal.
+     */
+    private static final int AUTO_RESOLVE = 11;
+
+    /**
+     * Code of telling the game whether to wait at the exit, followed by the choice.
+     */
+    private static final int WAITS_AT_EXIT = 12;
+
+    /**
+     * Code of leaving the dungeon.
+     */
+    private static final int FINISH = 13;
+
+    /**
+     * Code of a save point, followed by the seed the game's random numbers start again from. A
+     * checkpoint always follows.
+     */
+    private static final int SAVE_POINT = 14;
+
+    /**
+     * The battle policies, by ordinal.
+     */
+    private static final BattlePolicy[] POLICIES = BattlePolicy.values();
+
+    /**
+     * The directions, by ordinal.
+     */
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    /**
+     * Added to the name of a save file to name its journal.
+     */
+    private static final String JOURNAL_EXTENSION = ".journal";
+
+    /**
+     * Constructor that is private to prevent instantiation.
+     */
+    private GameJournal() {
+    }
+
+    /**
+     * Starts a new game that writes its journal to a stream as it is played. The stream is not
+     * closed, and should be closed once the game is over or put aside.
+     *
+     * @param theSettings The hero type and difficulty of the game.
+     * @param theSeed The seed the game is played from.
+     * @param theOut The stream to write the journal to.
+     * @return The new game.
+     * @throws IOException if the start of the journal cannot be written.
+     * @throws IllegalArgumentException if the hero type or the difficulty is unknown.
+     */
+    public static GameSession record(final GameSettings theSettings, final long theSeed, final OutputStream theOut)
+            throws IOException {
+        final GameSession session = new GameSession(theSettings, theSeed);
+        final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(theOut));
+        out.writeInt(MAGIC);
+        // Like a save, the journal of a game whose settings are not all set can still be written
+        out.writeUTF(Objects.requireNonNullElse(theSettings.getName(), ""));
+        out.writeUTF(theSettings.getHero());
+        out.writeUTF(theSettings.getDifficulty());
+        out.writeLong(theSeed);
+        out.flush();
+        session.setJournal(new Writer(out));
+        return session;
+    }
+
+    /**
+     * Opens a journal for replay. Nothing is played until the replay is stepped.
+     *
+     * @param theIn The stream to read the journal from.
+     * @return The replay, at the start of the game.
+     * @throws IOException if the journal cannot be read or is not a journal.
+     */
+    public static Replay replay(final InputStream theIn) throws IOException {
+        final DataInputStream in = new DataInputStream(new BufferedInputStream(theIn));
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a game journal.");
+        }
+        final GameSettings settings = new GameSettings(in.readUTF(), in.readUTF(), in.readUTF());
+        return new Replay(in, new GameSession(settings, in.readLong()));
+    }
+
+    /**
+     * Hands the journal of a save over to the game loaded from it, so that the game goes on recording
+     * into the same journal. The journal must end at a save point whose checkpoint the game matches;
+     * the game then takes over the journal's move count and random numbers, and its commands are
+     * added to the end of the journal. Only the journal is read, not the game's rooms, so a lazily
+     * loaded game stays lazy.
+     *
+     * @param theSession The game loaded from the save.
+     * @param theJournal Every byte of the save's journal.
+     * @param theOut A stream that already holds every byte of the journal.
+     * @return True if the game goes on recording, false if the journal does not lead to it.
+     * @throws IOException if the journal is not a journal or holds an unknown code.
+     */
+    static boolean resume(final GameSession theSession, final byte[] theJournal, final OutputStream theOut)
+            throws IOException {
+        final DataInputStream in = new DataInputStream(new ByteArrayInputStream(theJournal));
+        int commands = 0;
+        int moves = 0;
+        long seed = 0;
+        int hash = 0;
+        int last = -1;
+        int beforeLast = -1;
+        try {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a game journal.");
+            }
+            in.readUTF(); // The name may have been left unset
+            final GameSettings settings = theSession.getSettings();
+            if (!in.readUTF().equals(settings.getHero()) || !in.readUTF().equals(settings.getDifficulty())) {
+                return false;
+            }
+            in.readLong();
+
+            int code;
+            while ((code = in.read()) >= 0) {
+                switch (code) {
+                    case 0, 1, 2, 3 -> moves++;
+                    case ATTACK, SPECIAL, HEALTH_POTION, VISION_POTION, FINISH -> { }
+                    case OTHER_ITEM -> in.readUTF();
+                    case ROAMING_MONSTERS -> in.readInt();
+                    case AUTO_RESOLVE -> in.readUnsignedByte();
+                    case WAITS_AT_EXIT -> in.readBoolean();
+                    case SAVE_POINT -> seed = in.readLong();
+                    case CHECKPOINT -> hash = in.readInt();
+                    default -> throw new IOException("Unknown journal code " + code + ".");
+                }
+                if (code != CHECKPOINT) {
+                    commands++;
+                }
+                beforeLast = last;
+                last = code;
+            }
+        } catch (EOFException e) {
+            return false; // Cut short, so nothing can be added to it
+        }
+
+        if (beforeLast != SAVE_POINT || last != CHECKPOINT || theSession.getStateHash(moves) != hash) {
+            return false;
+        }
+        final Writer writer = new Writer(new DataOutputStream(new BufferedOutputStream(theOut)));
+        writer.myCommands = commands;
+        writer.myAtSavePoint = true;
+        theSession.resumeJournal(writer, moves, seed);
+        return true;
+    }
+
+    /**
+     * Returns the journal file that belongs to a save file.
+     *
+     * @param theSaveFile The save file of the game.
+     * @return The save file's journal, in the same directory.
+     */
+    static Path journalFileFor(final Path theSaveFile) {
+        return theSaveFile.resolveSibling(theSaveFile.getFileName() + JOURNAL_EXTENSION);
+    }
+
+    /**
+     * Replaces the journal of a save file in a single step, or deletes it if the game was not
+     * recorded, so that a save is never left next to the journal of another game.
+     *
+     * @param theSaveFile The save file the journal belongs to.
+     * @param theJournal The whole journal, or null if the saved game has none.
+     * @throws IOException if the journal cannot be written or deleted.
+     */
+    static void writeFor(final Path theSaveFile, final byte[] theJournal) throws IOException {
+        final Path file = journalFileFor(theSaveFile);
+        if (theJournal == null) {
+            Files.deleteIfExists(file);
+            return;
+        }
+        SaveCodec.replaceAtomically(file, out -> {
+            out.write(theJournal);
+            out.flush();
+        });
+    }
+
+    /**
+     * Reads the journal of a save file.
+     *
+     * @param theSaveFile The save file the journal belongs to.
+     * @return The whole journal, or null if the save has none.
+     * @throws IOException if the journal exists but cannot be read.
+     */
+    static byte[] readFor(final Path theSaveFile) throws IOException {
+        final Path file = journalFileFor(theSaveFile);
+        return Files.exists(file) ? Files.readAllBytes(file) : null;
+    }
+
+    /**
+     * Writes the commands of one game. A journal that fails to write stops writing, and the game
+     * goes on without it.
+     */
+    static final class Writer {
+
+        /**
+         * The journal.
+         */
+        private final DataOutputStream myOut;
+
+        /**
+         * Number of commands written.
+         */
+        private int myCommands;
+
+        /**
+         * Whether writing has failed.
+         */
+        private boolean myFailed;
+
+        /**
+         * Whether nothing has been written since the last save point.
+         */
+        private boolean myAtSavePoint;
+
+        /**
+         * Constructs a writer.
+         *
+         * @param theOut The journal, with its start already written.
+         */
+        private Writer(final DataOutputStream theOut) {
+            myOut = theOut;
+        }
+
+        /**
+         * Writes out the commands recorded since the last checkpoint, so the stream holds the
+         * whole journal so far.
+         */
+        void flush() {
+            if (myFailed) {
+                return;
+            }
+            try {
+                myOut.flush();
+            } catch (IOException e) {
+                e.printStackTrace(); // Might want to log this exception.
+                myFailed = true;
+            }
+        }
+
+        /**
+         * Records a move.
+         *
+         * @param theSession The game, after the move.
+         * @param theDirection The direction moved in.
+         */
+        void move(final GameSession theSession, final Direction theDirection) {
+            write(theSession, theDirection.ordinal(), null);
+        }
+
+        /**
+         * Records an attack or special move.
+         *
+         * @param theSession The game, after the move.
+         * @param theSpecial True for the special move.
+         */
+        void fight(final GameSession theSession, final boolean theSpecial) {
+            write(theSession, theSpecial ? SPECIAL : ATTACK, null);
+        }
+
+        /**
+         * Records the use of an item.
+         *
+         * @param theSession The game, after the item was used.
+         * @param theItemName The item's name.
+         */
+        void useItem(final GameSession theSession, final String theItemName) {
+            final int code = switch (theItemName) {
+                case HealthPotion.NAME -> HEALTH_POTION;
+                case VisionPotion.NAME -> VISION_POTION;
+                default -> OTHER_ITEM;
+            };
+            write(theSession, code, code == OTHER_ITEM ? theItemName : null);
+        }
+
+        /**
+         * Records roaming monsters being added.
+         *
+         * @param theSession The game, after the monsters were added.
+         * @param theCount The number of monsters asked for.
+         */
+        void roamingMonsters(final GameSession theSession, final int theCount) {
+            write(theSession, ROAMING_MONSTERS, theCount);
+        }
+
+        /**
+         * Records the rest of a battle being fought at once.
+         *
+         * @param theSession The game, after the battle.
+         * @param thePolicy The policy the Hero fought with.
+         */
+        void autoResolve(final GameSession theSession, final BattlePolicy thePolicy) {
+            write(theSession, AUTO_RESOLVE, thePolicy);
+        }
+
+        /**
+         * Records whether the game waits at the exit.
+         *
+         * @param theSession The game.
+         * @param theWaits True if the game waits for the Hero to leave.
+         */
+        void waitsAtExit(final GameSession theSession, final boolean theWaits) {
+            write(theSession, WAITS_AT_EXIT, theWaits);
+        }
+
+        /**
+         * Records the Hero leaving the dungeon.
+         *
+         * @param theSession The game, after the Hero left.
+         */
+        void finish(final GameSession theSession) {
+            write(theSession, FINISH, null);
+        }
+
+        /**
+         * Records a save point.
+         *
+         * @param theSession The game, after its random numbers were reseeded.
+         * @param theSeed The seed they start again from.
+         */
+        void savePoint(final GameSession theSession, final long theSeed) {
+            write(theSession, SAVE_POINT, theSeed);
+            myAtSavePoint = true;
+        }
+
+        /**
+         * Indicates whether nothing has been recorded since the last save point, so that the game is
+         * still in the state saved there.
+         *
+         * @return True at a save point.
+         */
+        boolean isAtSavePoint() {
+            return myAtSavePoint;
+        }
+
+        /**
+         * Writes a command, and a checkpoint after it when one is due, at a save point or when the
+         * game is over.
+         *
+         * @param theSession The game, after the command.
+         * @param theCode The command's code.
+         * @param theArgument The item's name for other items, the number of roaming monsters, the policy of
+         *                    a battle fought at once, whether the game waits at the exit, the seed of a save
+         *                    point, or null.
+         */
+        private void write(final GameSession theSession, final int theCode, final Object theArgument) {
+            if (myFailed) {
+                return;
+            }
+            myAtSavePoint = false;
+            try {
+                myOut.writeByte(theCode);
+                if (theArgument instanceof String itemName) {
+                    myOut.writeUTF(itemName);
+                } else if (theArgument instanceof Integer count) {
+                    myOut.writeInt(count);
+                } else if (theArgument instanceof BattlePolicy policy) {
+                    myOut.writeByte(policy.ordinal());
+                } else if (theArgument instanceof Boolean waits) {
+                    myOut.writeBoolean(waits);
+                } else if (theArgument instanceof Long seed) {
+                    myOut.writeLong(seed);
+                }
+                myCommands++;
+                if (myCommands % CHECKPOINT_INTERVAL == 0 || theCode == SAVE_POINT || theSession.isOver()) {
+                    myOut.writeByte(CHECKPOINT);
+                    myOut.writeInt(theSession.getStateHash());
+                    myOut.flush();
+                }
+            } catch (IOException e) {
+                e.printStackTrace(); // Might want to log this exception.
+                myFailed = true;
+            }
+        }
+    }
+
+    /**
+     * Plays a journal back on a new game, one command at a time or all at once. Listeners added to
+     * the game see every event again, so a user interface can follow the replay at any speed by
+     * stepping it on a timer.
+     */
+    public static final class Replay {
+
+        /**
+         * The journal, past its start.
+         */
+        private final DataInputStream myIn;
+
+        /**
+         * The game being replayed.
+         */
+        private final GameSession mySession;
+
+        /**
+         * Number of commands played.
+         */
+        private int myCommands;
+
+        /**
+         * Number of checkpoints passed.
+         */
+        private int myCheckpoints;
+
+        /**
+         * Whether the end of the journal has been reached.
+         */
+        private boolean myEnded;
+
+        /**
+         * Constructs a replay.
+         *
+         * @param theIn The journal, past its start.
+         * @param theSession The new game to replay on.
+         */
+        private Replay(final DataInputStream theIn, final GameSession theSession) {
+            myIn = theIn;
+            mySession = theSession;
+        }
+
+        /**
+         * Plays the next command, checking any checkpoint that comes before it.
+         *
+         * @return True if a command was played, false at the end of the journal.
+         * @throws IOException if the journal cannot be read or holds an unknown code.
+         * @throws IllegalStateException if the game no longer matches the journal.
+         */
+        public boolean step() throws IOException {
+            while (!myEnded) {
+                final int code = myIn.read();
+                if (code < 0) {
+                    myEnded = true;
+                    break;
+                }
+                try {
+                    if (code == CHECKPOINT) {
+                        check(myIn.readInt());
+                        continue;
+                    }
+                    play(code);
+                    myCommands++;
+                    return true;
+                } catch (EOFException e) {
+                    // The journal was cut short in the middle of its last record
+                    myEnded = true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Plays every command left in the journal.
+         *
+         * @return The game as the journal leaves it.
+         * @throws IOException if the journal cannot be read or holds an unknown code.
+         * @throws IllegalStateException if the game no longer matches the journal.
+         */
+        public GameSession playToEnd() throws IOException {
+            while (step()) {
+                // Keep going
+            }
+            return mySession;
+        }
+
+        /**
+         * Reads the rest of a command and gives it to the game.
+         *
+         * @param theCode The command's code.
+         * @throws IOException if the code is unknown or the command cannot be read.
+         * @throws IllegalStateException if the game refuses the command.
+         */
+        private void play(final int theCode) throws IOException {
+            final boolean played;
+            try {
+                played = switch (theCode) {
+                    case 0, 1, 2, 3 -> mySession.move(DIRECTIONS[theCode]);
+                    case ATTACK -> mySession.attack() != null;
+                    case SPECIAL -> mySession.special() != null;
+                    case HEALTH_POTION -> mySession.useItem(HealthPotion.NAME) != null;
+                    case VISION_POTION -> mySession.useItem(VisionPotion.NAME) != null;
+                    case OTHER_ITEM -> mySession.useItem(myIn.readUTF()) != null;
+                    case ROAMING_MONSTERS -> mySession.addRoamingMonsters(myIn.readInt()) >= 0;
+                    case AUTO_RESOLVE -> mySession.autoResolve(policy(myIn.readUnsignedByte())) != null;
+                    case WAITS_AT_EXIT -> {
+                        mySession.setWaitsAtExit(myIn.readBoolean());
+                        yield true;
+                    }
+                    case FINISH -> {
+                        mySession.finish();
+                        yield true;
+                    }
+                    case SAVE_POINT -> {
+                        mySession.reseed(myIn.readLong());
+                        yield true;
+                    }
+                    default -> throw new IOException("Unknown journal code " + theCode + ".");
+                };
+            } catch (IllegalStateException e) {
+                throw diverged(e);
+            }
+            if (!played) {
+                throw diverged(null);
+            }
+        }
+
+        /**
+         * Looks up a battle policy by its ordinal.
+         *
+         * @param theOrdinal The ordinal read from the journal.
+         * @return The policy.
+         * @throws IOException if no policy has that ordinal.
+         */
+        private static BattlePolicy policy(final int theOrdinal) throws IOException {
+            if (theOrdinal >= POLICIES.length) {
+                throw new IOException("Unknown battle policy " + theOrdinal + ".");
+            }
+            return POLICIES[theOrdinal];
+        }
+
+        /**
+         * Checks the game against a checkpoint.
+         *
+         * @param theHash The state hash recorded at the checkpoint.
+         * @throws IllegalStateException if the game does not match it.
+         */
+        private void check(final int theHash) {
+            if (mySession.getStateHash() != theHash) {
+                throw diverged(null);
+            }
+            myCheckpoints++;
+        }
+
+        /**
+         * Describes a replay that strayed from its journal.
+         *
+         * @param theCause What the game said, or null.
+         * @return The exception to throw.
+         */
+        private IllegalStateException diverged(final Throwable theCause) {
+            return new IllegalStateException("The replay no longer matches the journal after " + myCommands
+                    + " commands.", theCause);
+        }
+
+        /**
+         * Returns the game being replayed, for adding listeners or looking at its state.
+         *
+         * @return The game.
+         */
+        public GameSession getSession() {
+            return mySession;
+        }
+
+        /**
+         * Returns the number of commands played so far.
+         *
+         * @return The number of commands.
+         */
+        public int getCommandCount() {
+            return myCommands;
+        }
+
+        /**
+         * Returns the number of checkpoints that matched so far.
+         *
+         * @return The number of checkpoints.
+         */
+        public int getCheckpointCount() {
+            return myCheckpoints;
+        }
+    }
+}
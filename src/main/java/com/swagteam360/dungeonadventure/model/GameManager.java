@@ -1,100 +1,129 @@
 package com.swagteam360.dungeonadventure.model;
 
 import java.io.*;
-import java.util.List;
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
-import java.beans.PropertyChangeSupport;
 
 /**
  * The GameManager class serves as a singleton responsible for managing the game's lifecycle.
  * It handles game initialization, including the setup of game settings and the creation
  * of hero characters based on the specified configurations in the GameSettings object.
  * Moving and handling events fire property changes to the controller to update the GUI.
+ * <p>
+ * The user interface does not call the mutating methods of this class directly. Instead, it queues
+ * them on the {@link GameExecutor} so that the model is only ever written by the game-logic thread.
+ * Listeners are therefore notified on that thread and are responsible for handing any UI work back
+ * to the JavaFX Application Thread.
+ * <p>
+ * The rules of the game are not implemented here. Every game, new or loaded, is played by a
+ * seeded {@link GameSession}, and its {@link GameEvent}s are passed on to listeners as property
+ * changes named by {@link GameEvent.Type#getPropertyName()}. This class only adds what the JavaFX
+ * game needs on top: saving and loading, autosaves, play time and the run history.
+ * <p>
+ * Every new game is recorded in a {@link GameJournal}, which is written next to each save of the game.
+ * Loading a save picks the journal up again, so the journal of a game always starts at its first move.
+ * A saved game can also be replayed from its journal, one command per {@link #stepReplay()}; listeners
+ * see the replay's events exactly as they saw the original ones.
  *
  * @author Jonathan Hernandez
  * @version 1.2 (7 June, 2025)
  */
-public final class GameManager {
+public final class GameManager implements ItemTarget {
 
     /**
-     * Constant that represents the damage dealt from a pit.
+     * Number of rooms read per game-logic task while a lazily loaded dungeon is filled in
+     * the background. Small enough that player commands never wait long behind the fill.
      */
-    private static final int PIT_DAMAGE = 10;
+    private static final int ROOM_LOAD_CHUNK = 4096;
+
     /**
-     * The maximum number of rooms the player can
-     * visit before the vision potion runs out.
+     * Number of monsters let loose in the dungeon when a game with roaming monsters starts.
      */
-    private static final int MAX_SUPER_VISION_ROOMS = 3;
+    static final int ROAMING_MONSTER_COUNT = 6;
 
     /**
-     * The spawn chance of monsters in easy mode.
+     * Whether the whole dungeon is printed to the console after every move. Printing takes
+     * time proportional to the dungeon size, so it is off unless -Ddungeon.debug=true is set.
      */
-    private static final double MONSTER_SPAWN_CHANCE_EASY = 0.25;
+    private static final boolean DEBUG_PRINT = Boolean.getBoolean("dungeon.debug");
 
     /**
-     * The spawn chance of monsters in normal mode.
+     * A singleton instance of the GameManager class. This instance ensures that only one
+     * instance of the GameManager exists in the application, providing a global access point
+     * to manage the game's lifecycle, including initialization, configuration, and hero creation.
      */
-    private static final double MONSTER_SPAWN_CHANCE_NORMAL = 0.34;
+    private static final GameManager mySingleton = new GameManager();
 
     /**
-     * The spawn chance of monsters in hard mode.
+     * The game being played, or null before the first game is started or loaded. Its dungeon,
+     * Hero and current room are read through the getters of this class.
      */
-    private static final double MONSTER_SPAWN_CHANCE_HARD = 0.50;
+    private GameSession mySession;
 
     /**
-     * A singleton instance of the GameManager class. This instance ensures that only one
-     * instance of the GameManager exists in the application, providing a global access point
-     * to manage the game's lifecycle, including initialization, configuration, and hero creation.
+     * Passes the events of the current session on to listeners. Kept in a field so that it can be
+     * removed from a session that is no longer current.
      */
-    private static final GameManager mySingleton = new GameManager();
+    private final Consumer<GameEvent> mySessionListener = this::fireSessionEvent;
+
+    /**
+     * Journal of the current game, holding every command since the game was started, or null if the
+     * game is not being recorded, such as a game loaded from a save that has no journal.
+     */
+    private ByteArrayOutputStream myJournal;
+
+    /**
+     * The replay being shown, or null. While a replay is shown, its session is the current game.
+     */
+    private GameJournal.Replay myReplay;
+
+    /**
+     * The game being replayed, as it was loaded from its save. It becomes the current game again
+     * when the replay ends.
+     */
+    private GameSession myReplayedSession;
 
     /**
-     * The GameSettings object that holds the configuration for the current game session.
-     * It includes information such as the player's chosen hero, the hero's name, and
-     * the game's difficulty level. This field is updated when starting a new game and is
-     * used for hero creation and game setup.
+     * Play time of the game being replayed.
      */
-    private GameSettings myGameSettings;
+    private long myReplayedPlayTimeMillis;
 
     /**
-     * Represents the player's chosen hero in the game. This field is initialized
-     * based on the hero configuration specified in the game's settings and determines
-     * the character that the player controls during gameplay. It holds a reference
-     * to an instance of a specific Hero subclass, such as Warrior, Priestess, or Thief.
+     * The layout used when saving. Indexed saves load in the same time for any dungeon size.
+     * Read by the options menu on the JavaFX thread.
      */
-    private Hero myHero;
+    private volatile SaveFormat mySaveFormat = SaveFormat.INDEXED;
 
     /**
-     * Represents the dungeon instance currently used in the game.
-     * The dungeon contains the maze structure, rooms, and relevant game logic.
-     * It is responsible for managing the game's maze and interacting with
-     * various dungeon-related operations.
+     * Time spent playing the current game before it was last started or loaded, in milliseconds.
      */
-    private Dungeon myDungeon;
+    private long myPlayTimeMillis;
 
     /**
-     * Represents the currently active room in use by the game.
-     * This room will initially be set to the entrance coordinates
-     * specified in the Dungeon class.
+     * Value of {@link System#nanoTime()} when the current game was started or loaded.
      */
-    private Room myCurrentRoom;
+    private long myPlayStartNanos;
 
     /**
-     * Indicates if vision powers given by the vision
-     * potion should apply.
+     * Whether the end of the current game has been recorded in the run history.
      */
-    private boolean mySuperVision;
+    private boolean myRunRecorded;
 
     /**
-     * Keep track of how many rooms have been visited before
-     * the vision powers wear off.
+     * The run history finished games are recorded in.
      */
-    private int mySuperVisionCounter;
+    private RunHistory myRunHistory = RunHistory.getInstance();
 
      /**
      * Fires property changes to listeners (primarily controller classes) of GameManager to update the GUI.
+     * Listeners are only weakly referenced, so a discarded controller cannot be kept alive by GameManager.
      */
-    private final PropertyChangeSupport myPCS = new PropertyChangeSupport(this);
+    private final ListenerRegistry myPCS = new ListenerRegistry(this);
 
     /**
      * Constructs a new instance of the GameManager class.
@@ -119,8 +148,10 @@ public final class GameManager {
     /**
      * Starts a new game session by initializing game settings, creating a hero,
      * and generating a dungeon based on the specified game settings.
-     * The game is prepared using the configurations provided in the supplied
-     * GameSettings object. The current room is retrieved and marked as visited.
+     * The game is played by a new {@link GameSession} with a random seed, which
+     * puts the hero in the entrance room and marks it as visited, and is recorded
+     * in a {@link GameJournal} from its first move. If the settings ask for roaming
+     * monsters, they are let loose before the first move.
      *
      * @param theGameSettings an instance of GameSettings containing the player's name,
      *                        selected hero, and chosen difficulty level for the game session.
@@ -128,86 +159,228 @@ public final class GameManager {
     public void startNewGame(final GameSettings theGameSettings) {
 
         // Initialize the game.
-        myGameSettings = theGameSettings;
-        myHero = createHero(theGameSettings);
-        myDungeon = createDungeon(theGameSettings);
-        myCurrentRoom = myDungeon.getRoom(
-                myDungeon.getEntranceRow(),
-                myDungeon.getEntranceCol()
-        );
-
-        mySuperVision = false;
-        mySuperVisionCounter = 0;
-
-        myCurrentRoom.setVisited(true);
+        final long seed = ThreadLocalRandom.current().nextLong();
+        ByteArrayOutputStream journal = new ByteArrayOutputStream();
+        GameSession session;
+        try {
+            session = GameJournal.record(theGameSettings, seed, journal);
+        } catch (IOException e) {
+            e.printStackTrace(); // Might want to log this exception. The game is played without a journal.
+            session = new GameSession(theGameSettings, seed);
+            journal = null;
+        }
+        session.setWaitsAtExit(true); // The player is asked before leaving the dungeon
+        if (theGameSettings.hasRoamingMonsters()) {
+            session.addRoamingMonsters(ROAMING_MONSTER_COUNT); // Journaled, and saved with the game
+        }
+        replaceSession(session, 0L);
+        myJournal = journal;
 
-        debugPrintDungeon(myCurrentRoom.getRow(), myCurrentRoom.getCol()); // DEBUGGING PURPOSES
+        debugPrintDungeon(); // DEBUGGING PURPOSES
 
     }
 
     /**
-     * Moves the player to a specified position in the dungeon by updating the
-     * current row, column, and room based on the provided coordinates.
-     * Validates that the specified position is within the bounds of the dungeon.
-     * A call to a private helper method handleEvents is made in case the room
-     * has anything noteworthy to handle.
+     * Moves the player to the neighboring room in a direction, then handles whatever is in
+     * that room. The events of the move are fired as property changes. Picking up a pillar
+     * is autosaved, and the end of the game is recorded in the run history.
      *
      * @param theDirection Direction enumeration type - either NORTH, SOUTH, WEST, or EAST
-     * @throws IllegalArgumentException if the specified row or column is out of bounds.
+     * @return True if the player moved, false if a wall is in the way.
+     * @throws IllegalStateException if the game is over, a battle is in progress or a replay is shown.
      */
-    public void movePlayer(final Direction theDirection) {
-        int row = myCurrentRoom.getRow(); // store the current row
-        int col = myCurrentRoom.getCol(); // store the current column
-        final int maxRow = myDungeon.getRowSize() - 1; // maximum row index inclusive
-        final int maxCol = myDungeon.getColSize() - 1; // maximum column index inclusive
+    public boolean movePlayer(final Direction theDirection) {
+        checkNotReplaying();
+        final int pillars = mySession.getHero().getPillarCount();
 
-        // Get coordinates and the corresponding new room based on the direction
-        final int[] newCoordinates = getNewCoordinates(row, col, maxRow, maxCol, theDirection);
-        row = newCoordinates[0];
-        col = newCoordinates[1];
-        final Room newRoom = validateAndGetRoom(row, col, maxRow, maxCol);
+        myPCS.firePropertyChange("Clear Label", null, null);
+        final boolean moved = mySession.move(theDirection);
 
-        // Although the GUI does not allow invalid moves (they are hidden),
-        // the two helper methods above do NOT indicate whether they player
-        // is able to actually move. movePlayer() can be called and the following
-        // COULD occur, and the Hero may remain in the same room.
+        debugPrintDungeon(); // FOR DEBUGGING PURPOSES
 
-        chanceToSpawnMonster(newRoom); // May spawn a monster
+        if (mySession.getHero().getPillarCount() > pillars) {
+            autosave(); // Picking up a pillar is a milestone worth keeping
+        }
+        return moved;
+    }
 
-        myCurrentRoom = newRoom; // Moves the character by updating the room. That room is then set as visited.
-        myCurrentRoom.setVisited(true);
+    /**
+     * Attacks the monster the hero is fighting, after which the monster takes its turn. Every
+     * move of the round is fired as a "Battle" property change.
+     *
+     * @return The outcome of the hero's attack.
+     * @throws IllegalStateException if no battle is in progress or a replay is shown.
+     */
+    public BattleOutcome attack() {
+        checkNotReplaying();
+        final BattleOutcome outcome = mySession.attack();
+        autosaveAfterBattle();
+        return outcome;
+    }
 
-        // Update super vision counters if a vision potion is applied
-        updateSuperVision();
+    /**
+     * Uses the hero's special move, after which the monster takes its turn. See {@link #attack()}.
+     *
+     * @return The outcome of the special move.
+     * @throws IllegalStateException if no battle is in progress or a replay is shown.
+     */
+    public BattleOutcome special() {
+        checkNotReplaying();
+        final BattleOutcome outcome = mySession.special();
+        autosaveAfterBattle();
+        return outcome;
+    }
 
-        debugPrintDungeon(row, col); // FOR DEBUGGING PURPOSES
+    /**
+     * Fights the rest of the battle at once, choosing each of the hero's moves with a policy.
+     *
+     * @param thePolicy How the hero chooses between attacking and the special move.
+     * @return A summary of the rounds fought.
+     * @throws IllegalStateException if no battle is in progress or a replay is shown.
+     */
+    public BattleSummary autoResolve(final BattlePolicy thePolicy) {
+        checkNotReplaying();
+        final BattleSummary summary = mySession.autoResolve(thePolicy);
+        autosaveAfterBattle();
+        return summary;
+    }
 
-        handleEvents();
+    /**
+     * Uses the first item in the hero's inventory with the given name.
+     *
+     * @param theItemName The name of the item, such as "Health Potion".
+     * @return A description of the item's effect, or null if the hero has no such item.
+     * @throws IllegalStateException if the game is over or a replay is shown.
+     */
+    public String useItem(final String theItemName) {
+        checkNotReplaying();
+        return mySession.useItem(theItemName);
+    }
 
+    /**
+     * Makes sure the player's commands do not reach a replay, which only plays its journal.
+     *
+     * @throws IllegalStateException if a replay is shown.
+     */
+    private void checkNotReplaying() {
+        if (myReplay != null) {
+            throw new IllegalStateException("A replay is being shown.");
+        }
     }
 
-    // The following two methods were written based on the Serializable example from the modules.
+    /**
+     * Leaves the dungeon, which wins the game. The player is asked first when the hero reaches the exit
+     * with every pillar, and may explore on instead; see {@link GameSession#setWaitsAtExit}.
+     *
+     * @throws IllegalStateException if the hero is not in the exit with every pillar, or a replay is shown.
+     */
+    public void finishGame() {
+        checkNotReplaying();
+        mySession.finish();
+    }
 
     /**
-     * Handles saving logic when called from the controller. Serializable objects are saved to the specified file.
+     * Autosaves once a battle has been won.
+     */
+    private void autosaveAfterBattle() {
+        if (!mySession.isInBattle() && !mySession.isOver()) {
+            autosave();
+        }
+    }
+
+    /**
+     * Handles saving logic when called from the controller. The game is written to the specified file
+     * in the compact binary format of {@link SaveCodec}. The file is replaced in a single step, so an
+     * interrupted save never damages an existing save.
+     * <p>
+     * In the {@link SaveFormat#MAPPED} format the dungeon is kept in a room file next to the save file.
+     * The first save to a file writes the whole room file; later saves only overwrite the rooms that
+     * changed and force them to disk.
+     * <p>
+     * The game's journal is written next to the save file; see {@link GameJournal#journalFileFor}.
+     * Saving during a replay ends the replay first, so the game is saved as it was loaded.
      *
      * @param theFile The file to be written to.
      */
     public void saveGame(final File theFile) {
 
+        finishReplay();
         try {
+            if (mySaveFormat == SaveFormat.MAPPED) {
+                saveMapped(theFile.toPath());
+            } else {
+                SaveCodec.writeAtomically(createSnapshot(), mySaveFormat, theFile.toPath());
+            }
+            GameJournal.writeFor(theFile.toPath(), getJournalBytes());
+        } catch (IOException e) {
+            e.printStackTrace(); // Might want to log this exception.
+        }
+
+    }
+
+    /**
+     * Saves the game in the {@link SaveFormat#MAPPED} format: the changed rooms go to the dungeon's
+     * room file, and everything else to a small save file.
+     *
+     * @param theFile The save file.
+     * @throws IOException if either file cannot be written.
+     */
+    private void saveMapped(final Path theFile) throws IOException {
+        final Path roomsFile = MappedDungeonStore.roomsFileFor(theFile).toAbsolutePath();
+        final GameSettings settings = mySession.getSettings();
+        final Dungeon dungeon = mySession.getDungeon();
+        final Room currentRoom = mySession.getCurrentRoom();
+        MappedDungeonStore store = dungeon.getStore();
+        if (store != null && store.getFile().equals(roomsFile)) {
+            store.flush(currentRoom);
+        } else {
+            final MappedDungeonStore previous = store;
+            store = MappedDungeonStore.create(roomsFile, dungeon);
+            if (previous != null) {
+                previous.close();
+            }
+        }
 
-            final FileOutputStream file = new FileOutputStream(theFile);
-            final ObjectOutputStream out = new ObjectOutputStream(file);
+        SaveCodec.writeMappedHeader(new SaveCodec.Header(SaveCodec.VERSION, SaveFormat.MAPPED,
+                settings.getName(), settings.getHero(), settings.getDifficulty(),
+                GameSnapshot.captureHero(mySession.getHero()), mySession.hasSuperVision(),
+                mySession.getSuperVisionCounter(), store.getRows(), store.getCols(), store.getEntranceRow(),
+                store.getEntranceCol(), store.getExitRow(), store.getExitCol(), currentRoom.getRow(),
+                currentRoom.getCol(), dungeon.hasSeed(), dungeon.hasSeed() ? dungeon.getSeed() : 0L,
+                getPlayTimeMillis()),
+                store.getGeneration(), theFile);
+    }
+
+    /**
+     * Saves the current game to a save slot. The slot's entry in the slot index, which the load
+     * menu lists, is updated in the background. In the {@link SaveFormat#MAPPED} format the slot's
+     * file is written like {@link #saveGame}, with the dungeon in a room file next to it. The game's
+     * journal is written next to the slot's file as well.
+     *
+     * @param theSlot The slot to save to, from 1 to {@link SaveSlots#SLOT_COUNT}.
+     */
+    public void saveToSlot(final int theSlot) {
+        saveToSlot(SaveSlots.getInstance(), theSlot);
+    }
 
-            out.writeObject(myGameSettings);
-            out.writeObject(myHero);
-            out.writeObject(myDungeon);
-            out.writeObject(myCurrentRoom);
+    /**
+     * Saves the current game to a slot of the given save slots. See {@link #saveToSlot(int)}.
+     *
+     * @param theSlots The save slots to use.
+     * @param theSlot The slot to save to.
+     */
+    void saveToSlot(final SaveSlots theSlots, final int theSlot) {
 
-            out.close();
-            file.close();
+        finishReplay();
+        final GameSnapshot snapshot = createSnapshot();
 
+        try {
+            if (mySaveFormat == SaveFormat.MAPPED) {
+                theSlots.save(theSlot, snapshot, this::saveMapped);
+            } else {
+                theSlots.save(theSlot, snapshot, mySaveFormat);
+            }
+            GameJournal.writeFor(theSlots.getSlotFile(theSlot), getJournalBytes());
         } catch (IOException e) {
             e.printStackTrace(); // Might want to log this exception.
         }
@@ -215,232 +388,480 @@ public final class GameManager {
     }
 
     /**
-     * Handles loading logic when called from the controller. Serializable objects are loaded from the specified file.
+     * Loads the game stored in a save slot. See {@link #loadGame(File)}.
+     *
+     * @param theSlot The slot to load, including {@link SaveSlots#AUTOSAVE_SLOT}.
+     */
+    public void loadFromSlot(final int theSlot) {
+        loadGame(SaveSlots.getInstance().getSlotFile(theSlot).toFile());
+    }
+
+    /**
+     * Handles loading logic when called from the controller. Files in the binary format of {@link SaveCodec}
+     * are decoded directly; older saves written with Java serialization are still understood. The current
+     * game is only replaced once the whole file has been read successfully.
+     * <p>
+     * Saves in the {@link SaveFormat#INDEXED} format are loaded lazily: only the header and the hero's
+     * room are read before this method returns, and the other rooms are read when first needed or by
+     * background tasks on the game-logic thread.
+     * <p>
+     * If the save has a journal that ends at the saved game, the loaded game goes on recording into
+     * the journal. Otherwise the loaded game is played without a journal.
      *
      * @param theFile The file to be read from.
      */
     public void loadGame(final File theFile) {
 
-        try {
+        try (BufferedInputStream in = new BufferedInputStream(new FileInputStream(theFile))) {
 
-            final FileInputStream file = new FileInputStream(theFile);
-            final ObjectInputStream in = new ObjectInputStream(file);
+            if (SaveCodec.isBinarySave(in) && SaveCodec.peekFormat(in) == SaveFormat.MAPPED) {
+                restoreMappedSave(theFile.toPath());
+            } else if (SaveCodec.isBinarySave(in) && SaveCodec.peekFormat(in) == SaveFormat.INDEXED) {
+                restoreIndexedSave(SaveCodec.openIndexed(theFile.toPath()));
+            } else if (SaveCodec.isBinarySave(in)) {
+                restoreSnapshot(SaveCodec.read(in));
+            } else {
+                loadLegacyGame(in);
+            }
+            resumeJournal(theFile.toPath());
 
-            myGameSettings = (GameSettings) in.readObject();
-            myHero = (Hero) in.readObject();
-            myDungeon = (Dungeon) in.readObject();
-            myCurrentRoom = (Room) in.readObject();
-            in.close();
-            file.close();
+        } catch (IOException | UncheckedIOException | IllegalArgumentException e) {
+            e.printStackTrace(); // Might want to log this exception.
+        }
+    }
 
-        } catch (IOException e) {
-            e.printStackTrace();
-        } catch (ClassNotFoundException e) {
-            e.printStackTrace(); // Might want to log these exceptions
+    /**
+     * Queues an autosave of the current game with the {@link AutosaveService}. Only the copy into a
+     * snapshot happens on the calling thread; encoding and writing happen in the background.
+     * Nothing is saved while autosave is stopped, after the game is over, or while the hero is
+     * fighting, since a save taken mid-battle would restore the monster without restarting the fight.
+     * Games saved in the {@link SaveFormat#MAPPED} format are autosaved in the {@link SaveFormat#INDEXED}
+     * format, which is written from the snapshot and leaves the room file of the last save alone.
+     * Nothing is saved during a replay either. The game's journal is copied along with the snapshot.
+     */
+    public void autosave() {
+        final AutosaveService autosave = AutosaveService.getInstance();
+        if (!autosave.isRunning() || mySession == null || myReplay != null || mySession.isOver()
+                || mySession.isInBattle() || mySession.getHero().getHP() <= 0) {
+            return;
         }
+
+        autosave.save(createSnapshot(), mySaveFormat == SaveFormat.MAPPED ? SaveFormat.INDEXED : mySaveFormat,
+                getJournalBytes());
     }
 
     /**
-     * Enable vision powers for the player.
-     * Super vision will be active for
-     * a certain number of room moves.
+     * Marks a save point in the journal of the current game, which is being saved, and copies the
+     * journal.
+     *
+     * @return Every byte of the journal so far, or null if the game is not being recorded.
      */
-    public void enableSuperVision() {
-        mySuperVision = true;
-        mySuperVisionCounter = 0;
-        // Fire property change
-        myPCS.firePropertyChange("VISION_POWERS", false, true);
-    }
-
-    /**
-     * Creates and returns a Hero instance based on the provided game settings.
-     * The hero type is determined by the value of the hero field in the supplied
-     * GameSettings object. If the hero type is not recognized, an IllegalArgumentException
-     * is thrown.
-     *
-     * @param theGameSettings an instance of GameSettings containing the hero type
-     *                        and other game configuration details.
-     * @return a Hero instance corresponding to the type specified in the game settings,
-     *         such as Warrior, Priestess, or Thief.
-     * @throws IllegalArgumentException if the hero type provided in the game settings
-     *                                  is unknown or invalid.
-     */
-    private Hero createHero(final GameSettings theGameSettings) {
-        return switch (theGameSettings.getHero().toLowerCase()) {
-            case "warrior" -> HeroFactory.createHero("Warrior");
-            case "priestess" -> HeroFactory.createHero("Priestess");
-            case "thief" -> HeroFactory.createHero("Thief");
-            default -> throw new IllegalArgumentException("Unknown/Invalid Hero type.");
-        };
+    private byte[] getJournalBytes() {
+        if (myJournal == null) {
+            return null;
+        }
+        mySession.markSavePoint();
+        mySession.flushJournal();
+        return myJournal.toByteArray();
     }
 
     /**
-     * Creates and initializes a Dungeon instance based on the difficulty level provided
-     * in the given GameSettings. The dungeon dimensions are determined based on the
-     * difficulty level: "easy", "normal", or "hard". If an invalid or unknown difficulty
-     * level is specified, an IllegalArgumentException is thrown.
+     * Picks up the journal of a game that has just been loaded. If the journal ends at the save point
+     * of the loaded game, the game takes it over and goes on recording into it; see
+     * {@link GameJournal#resume}. Neither the journal is replayed nor the game's rooms read, and the
+     * loaded game stays the current one. A journal left over from an older save, or one that cannot be
+     * read, is ignored.
      *
-     * @param theGameSettings an instance of GameSettings containing the difficulty
-     *                        level and other configuration details for the game.
-     * @return a new Dungeon instance with dimensions corresponding to the specified
-     *         difficulty level.
-     * @throws IllegalArgumentException if the difficulty level from GameSettings is
-     *                                  unknown or invalid.
+     * @param theSaveFile The save file the game was loaded from.
      */
-    private Dungeon createDungeon(final GameSettings theGameSettings) {
-        return switch (theGameSettings.getDifficulty().toLowerCase()) {
-            case "easy" -> new Dungeon(5, 5);
-            case "normal" -> new Dungeon(7, 7);
-            case "hard" -> new Dungeon(9, 9);
-            default -> throw new IllegalArgumentException("Unknown/Invalid Difficulty level.");
-        };
+    private void resumeJournal(final Path theSaveFile) {
+        try {
+            final byte[] bytes = GameJournal.readFor(theSaveFile);
+            if (bytes == null) {
+                return;
+            }
+
+            final ByteArrayOutputStream journal = new ByteArrayOutputStream();
+            journal.writeBytes(bytes);
+            if (GameJournal.resume(mySession, bytes, journal)) {
+                myJournal = journal;
+            }
+        } catch (IOException e) {
+            e.printStackTrace(); // Might want to log this exception. The game goes on without a journal.
+        }
+    }
+
+    /**
+     * Loads the game stored in a save slot and starts replaying it from its journal. See
+     * {@link #startReplay(Path)}.
+     *
+     * @param theSlot The slot to replay, including {@link SaveSlots#AUTOSAVE_SLOT}.
+     * @return True if the replay has started.
+     */
+    public boolean startReplay(final int theSlot) {
+        return startReplay(SaveSlots.getInstance().getSlotFile(theSlot));
+    }
+
+    /**
+     * Loads a saved game and starts replaying it from its journal. The replay's session is the current
+     * game until the replay ends, so listeners see every event of the game again as it is stepped with
+     * {@link #stepReplay()}. When the replay ends, the loaded game takes over where the replay left off.
+     * <p>
+     * If the save cannot be loaded, nothing changes. If it loads but has no journal that leads to it,
+     * the loaded game is the current game and no replay is started.
+     *
+     * @param theSaveFile The save file.
+     * @return True if the replay has started.
+     */
+    boolean startReplay(final Path theSaveFile) {
+        final GameSession previous = mySession;
+        loadGame(theSaveFile.toFile());
+        if (mySession == previous || myJournal == null) {
+            return false;
+        }
+
+        try {
+            final GameJournal.Replay replay = GameJournal.replay(new ByteArrayInputStream(myJournal.toByteArray()));
+            myReplayedSession = mySession;
+            myReplayedPlayTimeMillis = getPlayTimeMillis();
+            setSession(replay.getSession());
+            myReplay = replay;
+            return true;
+        } catch (IOException e) {
+            e.printStackTrace(); // Might want to log this exception.
+            return false;
+        }
     }
 
     /**
-     * Takes in coordinates, bounds, and a direction to return a new set of coordinates.
+     * Plays the next command of the replay. Once the journal runs out, the replay ends; see
+     * {@link #finishReplay()}.
      *
-     * @param theRow The current row.
-     * @param theCol The current column.
-     * @param theMaxRow The max row size of the dungeon.
-     * @param theMaxCol The max column size of the dungeon.
-     * @param theDirection The direction in which theRow and theCol may be adjusted to.
-     * @return A new set of coordinates that are adjusted from theRow and theCol.
+     * @return True if a command was played, false if the replay has ended or none is being shown.
      */
-    private int[] getNewCoordinates(final int theRow, final int theCol, final int theMaxRow,
-                                    final int theMaxCol, final Direction theDirection) {
+    public boolean stepReplay() {
+        if (myReplay == null) {
+            return false;
+        }
 
-        int newRow = theRow;
-        int newCol = theCol;
+        try {
+            if (myReplay.step()) {
+                return true;
+            }
+        } catch (IOException | IllegalStateException e) {
+            e.printStackTrace(); // Might want to log this exception. The replay stops here.
+        }
+        finishReplay();
+        return false;
+    }
 
-        // Does not indicate whether player moved.
-        switch (theDirection) {
-            case NORTH -> { if (theRow > 0) newRow--; }
-            case SOUTH -> { if (theRow < theMaxRow) newRow++; }
-            case EAST -> {if (theCol < theMaxCol) newCol++; }
-            case WEST -> { if (theCol > 0) newCol--; } // Coverage here can vary
+    /**
+     * Ends the replay being shown, if any. The loaded game becomes the current game again, its state
+     * is sent to listeners as it is to a new listener, and a "Replay End" property change follows.
+     * Time spent watching does not count as play time.
+     */
+    public void finishReplay() {
+        if (myReplay == null) {
+            return;
         }
 
-        return new int[] {newRow, newCol};
+        myReplay = null;
+        setSession(myReplayedSession);
+        myReplayedSession = null;
+        resetPlayTime(myReplayedPlayTimeMillis);
+        sendCurrentState(theEvent -> myPCS.firePropertyChange(theEvent.getPropertyName(), null,
+                theEvent.getNewValue()));
+        myPCS.firePropertyChange("Replay End", null, null);
+    }
+
+    /**
+     * Indicates whether a replay is being shown.
+     *
+     * @return True during a replay.
+     */
+    public boolean isReplaying() {
+        return myReplay != null;
+    }
+
+    /**
+     * Copies the current game into an immutable snapshot that can be encoded on any thread.
+     *
+     * @return A snapshot of the current game.
+     */
+    GameSnapshot createSnapshot() {
+        return GameSnapshot.capture(mySession.getSettings(), mySession.getHero(), mySession.getDungeon(),
+                mySession.getCurrentRoom(), mySession.hasSuperVision(), mySession.getSuperVisionCounter(),
+                getPlayTimeMillis());
+    }
 
+    /**
+     * Returns how long the current game has been played, including the time played before it was saved.
+     *
+     * @return The play time in milliseconds.
+     */
+    public long getPlayTimeMillis() {
+        return myPlayTimeMillis + (System.nanoTime() - myPlayStartNanos) / 1_000_000L;
     }
 
     /**
-     * Takes in coordinates (in row and column) and bounds and validates them.
+     * Starts measuring play time for a game that has just been started or loaded.
      *
-     * @param theRow The row to be examined.
-     * @param theCol The column to be examined.
-     * @param theMaxRow The row bound.
-     * @param theMaxCol The column bound.
-     * @return The room of the examined rows and columns as long as they are valid.
+     * @param thePlayTimeMillis Time already spent playing the game.
      */
-    private Room validateAndGetRoom(final int theRow, final int theCol, final int theMaxRow, final int theMaxCol) {
+    private void resetPlayTime(final long thePlayTimeMillis) {
+        myPlayTimeMillis = thePlayTimeMillis;
+        myPlayStartNanos = System.nanoTime();
+        myRunRecorded = false;
+    }
 
-        // The following should NEVER happen
-        if (theRow < 0 || theRow > theMaxRow || theCol < 0 || theCol > theMaxCol) {
-            throw new IllegalArgumentException("Row and/or column coordinates of the given directional step are invalid");
+    /**
+     * Records the end of the current game in the {@link RunHistory}. The run is written in the
+     * background. Only the first call after a game is started or loaded counts. It is called when
+     * the game's session is won or lost.
+     *
+     * @param theWon True if the hero left the dungeon with every pillar, false if the hero died.
+     */
+    public void recordRun(final boolean theWon) {
+        if (myRunRecorded || mySession == null) {
+            return;
         }
+        myRunRecorded = true;
+        myRunHistory.record(RunRecord.of(mySession.getSettings(), theWon,
+                mySession.getHero().getPillarCount(),
+                getPlayTimeMillis(), System.currentTimeMillis()));
+    }
 
-        return myDungeon.getRoom(theRow, theCol);
+    /**
+     * Sets the run history finished games are recorded in, so that tests can keep their runs out
+     * of the player's history.
+     *
+     * @param theRunHistory The run history to use from now on.
+     */
+    void setRunHistory(final RunHistory theRunHistory) {
+        myRunHistory = Objects.requireNonNull(theRunHistory);
+    }
 
+    /**
+     * Replaces the current game with the game stored in a snapshot.
+     *
+     * @param theSnapshot The snapshot to restore.
+     */
+    void restoreSnapshot(final GameSnapshot theSnapshot) {
+        final GameSettings settings = theSnapshot.toGameSettings();
+        final Hero hero = theSnapshot.toHero();
+        final Dungeon dungeon = theSnapshot.toDungeon();
+
+        replaceSession(resumeSession(settings, hero, dungeon,
+                dungeon.getRoom(theSnapshot.getCurrentRow(), theSnapshot.getCurrentCol()),
+                theSnapshot.isSuperVision(), theSnapshot.getSuperVisionCounter()), theSnapshot.getPlayTimeMillis());
     }
 
     /**
-     * Temporary method that generates a random percentage and compares it to the monster spawn chance, which may
-     * change, according to the selected difficulty. This method may not do anything at all if the monster spawn chance
-     * is too low.
+     * Replaces the current game with a lazily loaded indexed save, then queues background
+     * tasks that read the remaining rooms.
      *
-     * @param theRoom The room in which the monster may spawn.
+     * @param theSave The opened save.
      */
-    private void chanceToSpawnMonster(final Room theRoom) {
+    private void restoreIndexedSave(final IndexedSave theSave) {
+        final GameSettings settings = theSave.toGameSettings();
+        final Hero hero = theSave.toHero();
+        final Dungeon dungeon = theSave.toDungeon();
+        final Room currentRoom = dungeon.getRoom(theSave.getCurrentRow(), theSave.getCurrentCol());
 
-        if (theRoom.isEntranceOrExit()) {
-            return; // TODO: Would we like to add a monster at the exit?
+        replaceSession(resumeSession(settings, hero, dungeon, currentRoom, theSave.isSuperVision(),
+                theSave.getSuperVisionCounter()), theSave.getPlayTimeMillis());
+
+        GameExecutor.getInstance().submit(() -> loadRemainingRooms(dungeon));
+    }
+
+    /**
+     * Replaces the current game with a save in the {@link SaveFormat#MAPPED} format. The dungeon's rooms
+     * are read from the mapped room file when first needed and by background tasks, like an indexed save.
+     *
+     * @param theFile The save file.
+     * @throws IOException if either file cannot be read, or the room file belongs to another game or
+     *                     was not saved together with the save file.
+     */
+    private void restoreMappedSave(final Path theFile) throws IOException {
+        final SaveCodec.MappedHeader mapped = SaveCodec.readMappedHeader(theFile);
+        final SaveCodec.Header header = mapped.header();
+        final MappedDungeonStore store = MappedDungeonStore.open(MappedDungeonStore.roomsFileFor(theFile));
+        if (store.getRows() != header.rows() || store.getCols() != header.cols()
+                || store.getEntranceRow() != header.entranceRow() || store.getEntranceCol() != header.entranceCol()) {
+            throw new IOException("The dungeon file does not belong to this save.");
+        }
+        if (store.getGeneration() != mapped.generation()) {
+            throw new IOException("The dungeon file does not match this save; the last save was interrupted.");
         }
 
-        final double monsterSpawnChance = Math.random();
-        final String difficulty = myGameSettings.getDifficulty().toLowerCase();
-        final boolean spawnMonster = switch (difficulty) {
-            case "easy" -> monsterSpawnChance > (1 - MONSTER_SPAWN_CHANCE_EASY);
-            case "normal" -> monsterSpawnChance > (1 - MONSTER_SPAWN_CHANCE_NORMAL);
-            case "hard" -> monsterSpawnChance > (1 - MONSTER_SPAWN_CHANCE_HARD);
-            default -> false;
-        };
+        final GameSettings settings = new GameSettings(header.name(), header.heroType(), header.difficulty());
+        final Hero hero = GameSnapshot.toHero(header.hero());
+        final Dungeon dungeon = store.toDungeon();
+        final Room currentRoom = dungeon.getRoom(header.currentRow(), header.currentCol());
+
+        replaceSession(resumeSession(settings, hero, dungeon, currentRoom, header.superVision(),
+                header.superVisionCounter()), header.playTimeMillis());
 
-        if (spawnMonster) {
-            theRoom.addMonster();
+        GameExecutor.getInstance().submit(() -> loadRemainingRooms(dungeon));
+    }
+
+    /**
+     * Creates the session of a loaded game. Its random choices are drawn from a new random seed. Like a
+     * new game, it waits at the exit until the player chooses to leave.
+     *
+     * @param theSettings The settings of the game.
+     * @param theHero The hero.
+     * @param theDungeon The dungeon.
+     * @param theCurrentRoom The room the hero is in.
+     * @param theSuperVision Whether vision powers are active.
+     * @param theSuperVisionCounter Rooms entered since vision powers were given.
+     * @return The session.
+     */
+    private static GameSession resumeSession(final GameSettings theSettings, final Hero theHero,
+                                             final Dungeon theDungeon, final Room theCurrentRoom,
+                                             final boolean theSuperVision, final int theSuperVisionCounter) {
+        final GameSession session = GameSession.resume(theSettings, theHero, theDungeon, theCurrentRoom,
+                theSuperVision, theSuperVisionCounter, new Random(ThreadLocalRandom.current().nextLong()));
+        session.setWaitsAtExit(true);
+        return session;
+    }
+
+    /**
+     * Makes a session the current game and starts passing its events on to listeners. The room file
+     * of the game being replaced is closed, if it was saved in the {@link SaveFormat#MAPPED} format,
+     * so that it is not written to after the new game takes over. The new game is not journaled, and
+     * any replay is dropped.
+     *
+     * @param theSession The new game.
+     * @param thePlayTimeMillis Time already spent playing the new game.
+     */
+    private void replaceSession(final GameSession theSession, final long thePlayTimeMillis) {
+        if (mySession != null && mySession.getDungeon().getStore() != null) {
+            mySession.getDungeon().getStore().close();
         }
+        setSession(theSession);
+        myJournal = null;
+        myReplay = null;
+        myReplayedSession = null;
+        resetPlayTime(thePlayTimeMillis);
+    }
 
+    /**
+     * Makes a session the current game, moving the listener that passes its events on from the
+     * session it replaces.
+     *
+     * @param theSession The new current session.
+     */
+    private void setSession(final GameSession theSession) {
+        if (mySession != null) {
+            mySession.removeListener(mySessionListener);
+        }
+        mySession = theSession;
+        mySession.addListener(mySessionListener);
     }
 
-    private void updateSuperVision() {
-        if (mySuperVision) {
-            if (mySuperVisionCounter < MAX_SUPER_VISION_ROOMS){
-                mySuperVisionCounter++;
-            } else {
-                // DISABLE super vision
-                mySuperVision = false;
-                mySuperVisionCounter = 0;
-                // Fire property change
-                myPCS.firePropertyChange("VISION_POWERS", true, false);
+    /**
+     * Passes an event of the current session on to listeners as a property change, and records the
+     * end of the game, unless it is being replayed. A room change carries the view models of the room and its neighbors, which is
+     * what the GUI draws, and a fight the view model of the monster. Listeners on other threads never see live model
+     * objects.
+     *
+     * @param theEvent The event.
+     */
+    private void fireSessionEvent(final GameEvent theEvent) {
+        if (myReplay == null) {
+            switch (theEvent.type()) {
+                case WON -> recordRun(true);
+                case DEAD -> recordRun(false);
+                default -> { }
             }
         }
+
+        final Object value = switch (theEvent.type()) {
+            case ROOM_CHANGE -> getAdjacentRoomViewModels();
+            case FIGHT -> ((Monster) theEvent.value()).getViewModel();
+            default -> theEvent.value();
+        };
+        myPCS.firePropertyChange(theEvent.type().getPropertyName(), null, value);
     }
 
     /**
-     * Prints out the toString() methods of the Dungeon to the console for debugging purposes.
+     * Returns the view models of the current room and its neighbors.
      *
-     * @param theRow The row in which the Hero may exist, which is outputted to the console.
-     * @param theCol The column in which the Hero may exist, which is outputted to the console.
+     * @return The view models, with the current room in the middle.
      */
-    private void debugPrintDungeon(final int theRow, final int theCol) {
-
-        // FIXME DEBUGGING
-        System.out.println(myDungeon.toStringWithPlayer(theRow, theCol));
-        System.out.println();
-        System.out.println(myDungeon.toDetailedString(theRow, theCol));
-        System.out.println();
+    private IRoom.RoomViewModel[][] getAdjacentRoomViewModels() {
+        final Room room = mySession.getCurrentRoom();
+        return mySession.getDungeon().getAdjacentRoomViewModels(room.getRow(), room.getCol());
+    }
 
+    /**
+     * Reads the next chunk of rooms of a lazily loaded dungeon and queues another task until every
+     * room has been read. Stops early if another game has been started or loaded in the meantime.
+     *
+     * @param theDungeon The dungeon being filled.
+     */
+    private void loadRemainingRooms(final Dungeon theDungeon) {
+        if (mySession != null && mySession.getDungeon() == theDungeon
+                && !theDungeon.loadPendingRooms(ROOM_LOAD_CHUNK)) {
+            GameExecutor.getInstance().submit(() -> loadRemainingRooms(theDungeon));
+        }
     }
 
+    // The following method was written based on the Serializable example from the modules.
+
     /**
-     * Fires property changes to listeners according to what the room may have or to pass Hero information.
+     * Loads a save written with Java serialization, the format used before the binary save format.
+     *
+     * @param theIn The stream to read from, positioned at the start of the file.
+     * @throws IOException if the file cannot be read.
      */
-    private void handleEvents() {
+    private void loadLegacyGame(final InputStream theIn) throws IOException {
 
-        myPCS.firePropertyChange("Clear Label", null, null);
+        final ObjectInputStream in = new ObjectInputStream(theIn);
 
-        myPCS.firePropertyChange("ROOM_CHANGE", null,
-                myDungeon.getAdjacentRoomViewModels(myCurrentRoom.getRow(), myCurrentRoom.getCol()));
+        try {
 
-        if (myCurrentRoom.hasPit()) {
-            myHero.takeDamage(PIT_DAMAGE); // Take damage from the pit and update the UI.
-            myPCS.firePropertyChange("Pit", null, PIT_DAMAGE);
-        }
+            final GameSettings settings = (GameSettings) in.readObject();
+            final Hero hero = (Hero) in.readObject();
+            final Dungeon dungeon = (Dungeon) in.readObject();
+            final Room currentRoom = (Room) in.readObject();
 
-        // In case we die from the pit
-        if (myHero.getHP() <= 0) {
-            myPCS.firePropertyChange("Dead", null, myHero);
-        }
+            // Vision powers and play time are not recorded by this format
+            replaceSession(resumeSession(settings, hero, dungeon, currentRoom, false, 0), 0L);
 
-        if (myCurrentRoom.hasItems() || myCurrentRoom.hasPillar()) {
-            List<Item> roomItems = myCurrentRoom.collectAllItems();
-            myHero.addToInventory(roomItems);
-            myPCS.firePropertyChange("INVENTORY_CHANGE", null, myHero.getInventory());
+        } catch (ClassNotFoundException e) {
+            e.printStackTrace(); // Might want to log these exceptions
         }
+    }
 
-        // Check if we are at the exit room of the dungeon
-        if (myCurrentRoom.isExit()) {
-            myPCS.firePropertyChange("Exit", null, myCurrentRoom);
-        }
+    /**
+     * Enable vision powers for the player.
+     * Super vision will be active for
+     * a certain number of room moves.
+     */
+    @Override
+    public void enableSuperVision() {
+        mySession.enableSuperVision();
+    }
 
-        // Flipped around order of events. If room has multiple events to handle, fighting a monster will be last.
-        if (myCurrentRoom.hasMonster()) {
-            final Monster monster = myCurrentRoom.getMonster();
-            if (monster.getHP() > 0) {
-                myPCS.firePropertyChange("Fight", null, monster);
-            }
+    /**
+     * Prints out the toString() methods of the Dungeon to the console for debugging purposes.
+     * Only prints when the dungeon.debug system property is true.
+     */
+    private void debugPrintDungeon() {
+        if (!DEBUG_PRINT) {
+            return;
         }
 
+        // FIXME DEBUGGING
+        final Dungeon dungeon = mySession.getDungeon();
+        final Room room = mySession.getCurrentRoom();
+        System.out.println(dungeon.toStringWithPlayer(room.getRow(), room.getCol()));
+        System.out.println();
+        System.out.println(dungeon.toDetailedString(room.getRow(), room.getCol()));
+        System.out.println();
+
     }
 
     /**
@@ -451,14 +872,33 @@ public final class GameManager {
      * @return the current instance of GameSettings representing the
      *         configuration settings for the game session.
      */
-    public GameSettings getGameSettings() {return myGameSettings;}
+    public GameSettings getGameSettings() {return mySession == null ? null : mySession.getSettings();}
+
+    /**
+     * Returns the layout used when saving.
+     *
+     * @return The current save format.
+     */
+    public SaveFormat getSaveFormat() {return mySaveFormat;}
+
+    /**
+     * Sets the layout used when saving. {@link SaveFormat#INDEXED}, the default, loads quickly at any
+     * dungeon size. {@link SaveFormat#SEED_DELTA} keeps saves of huge dungeons small; games whose
+     * dungeon has no known seed are still saved in full. {@link SaveFormat#MAPPED} makes later saves
+     * of the same game only write the rooms that changed; autosaves then use the indexed format.
+     *
+     * @param theSaveFormat The save format to use from now on.
+     */
+    public void setSaveFormat(final SaveFormat theSaveFormat) {
+        mySaveFormat = Objects.requireNonNull(theSaveFormat);
+    }
 
     /**
      * Returns the current room.
      *
      * @return The current room.
      */
-    public Room getCurrentRoom() {return myCurrentRoom;}
+    public Room getCurrentRoom() {return mySession == null ? null : mySession.getCurrentRoom();}
 
     /**
      * Return an immutable Java Record representing the
@@ -466,7 +906,7 @@ public final class GameManager {
      * @return RoomViewModel Java Record of the current room
      */
     public IRoom.RoomViewModel getCurrentRoomViewModel() {
-        return myCurrentRoom.getRoomViewModel();
+        return mySession.getCurrentRoom().getRoomViewModel();
     }
 
     /**
@@ -474,36 +914,74 @@ public final class GameManager {
      *
      * @return The dungeon.
      */
-    public Dungeon getDungeon() {return myDungeon;}
+    public Dungeon getDungeon() {return mySession == null ? null : mySession.getDungeon();}
 
     /**
      * Returns the Hero of the game.
      *
      * @return The hero.
      */
-    public Hero getHero() {return myHero;}
+    @Override
+    public Hero getHero() {return mySession == null ? null : mySession.getHero();}
+
+    /**
+     * Indicates whether the hero is fighting a monster.
+     *
+     * @return True during a battle.
+     */
+    public boolean isInBattle() {return mySession != null && mySession.isInBattle();}
 
     /**
      * Allow a property change to be manually fired
      * alerting subscribers of a change in the player's health.
      */
+    @Override
     public void sendHeroHealthUpdate() {
-        myPCS.firePropertyChange("HERO_HEALTH_CHANGE",
-                null, myHero.getHP());
+        mySession.sendHeroHealthUpdate();
     }
 
     /**
-     * Adds listeners to GameManager.
+     * Works out the Hero's chance to win the battle in progress, from the hit points both sides have
+     * left. Like every command, it should be called on the game-logic thread.
+     *
+     * @return The odds of the battle, or null if no battle is in progress.
+     */
+    public BattleOdds getBattleOdds() {
+        return isInBattle() ? BattleCalculator.getInstance().getOdds(mySession.getHero(), mySession.getMonster())
+                : null;
+    }
+
+    /**
+     * Adds listeners to GameManager. The listener, and only the listener, is sent the current inventory,
+     * vision powers and room straight away, and the monster if a battle is in progress, such as in a
+     * loaded game. Like every command, it should be called on the game-logic thread.
      *
      * @param theListener A listener of GameManager.
      */
     public void addPropertyChangeListener(final PropertyChangeListener theListener) {
         myPCS.addPropertyChangeListener(theListener);
-        //handleEvents(); // Immediately SEND INVENTORY property updates to the registered listener.
-        myPCS.firePropertyChange("INVENTORY_CHANGE", null, myHero.getInventory());
-        myPCS.firePropertyChange("VISION_POWERS", null, mySuperVision);
-        myPCS.firePropertyChange("ROOM_CHANGE", null,
-                myDungeon.getAdjacentRoomViewModels(myCurrentRoom.getRow(), myCurrentRoom.getCol()));
+        sendCurrentState(theListener);
+    }
+
+    /**
+     * Sends the Hero's health, the current inventory, vision powers and room to a listener, and the
+     * monster if a battle is in progress.
+     *
+     * @param theListener The listener to send the state to.
+     */
+    private void sendCurrentState(final PropertyChangeListener theListener) {
+        theListener.propertyChange(new PropertyChangeEvent(this, "HERO_STATUS", null,
+                mySession.getHero().getViewModel()));
+        theListener.propertyChange(new PropertyChangeEvent(this, "INVENTORY_CHANGE", null,
+                mySession.getHero().getInventory()));
+        theListener.propertyChange(new PropertyChangeEvent(this, "VISION_POWERS", null,
+                mySession.hasSuperVision()));
+        theListener.propertyChange(new PropertyChangeEvent(this, "ROOM_CHANGE", null,
+                getAdjacentRoomViewModels()));
+        if (mySession.isInBattle()) {
+            theListener.propertyChange(new PropertyChangeEvent(this, "Fight", null,
+                    mySession.getMonster().getViewModel()));
+        }
     }
 
     /**
@@ -515,4 +993,14 @@ public final class GameManager {
         myPCS.removePropertyChangeListener(theListener);
     }
 
+    /**
+     * Returns the number of registered listeners that have not been garbage collected.
+     * Useful for spotting controllers that pile up across scene switches.
+     *
+     * @return The number of live listeners.
+     */
+    public int getLiveListenerCount() {
+        return myPCS.getLiveListenerCount();
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,1048 @@
+package com.swagteam360.dungeonadventure.model;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+import java.util.function.Consumer;
+
+/**
+ * A single game, played through commands instead of a user interface. The session holds the
+ * Hero, the dungeon and the battle in progress, and applies the same rules as the JavaFX game:
+ * monsters may spawn when a room is entered, pits hurt, items and pillars are picked up, and a
+ * monster in the room starts a battle. Each battle command plays the Hero's move and then the
+ * monster's turn at once, without the pauses the GUI adds for the player to follow along.
+ * <p>
+ * What happens is reported to listeners as {@link GameEvent}s. {@link GameManager} plays the JavaFX
+ * game through a session and passes these events on to the GUI as property changes. The session never
+ * touches JavaFX or any singleton game state, so any number of sessions can run side by side, for
+ * example in tests and simulations.
+ * Every random choice comes from the session's own source, so a session started from a seed and
+ * given the same commands always plays out the same way, even if it is saved and restored in between.
+ * <p>
+ * Monsters can also be made to roam with {@link #addRoamingMonsters}. Every move of the Hero is then
+ * a game tick on which the monsters near the Hero move too, and a monster that walks into the Hero's
+ * room starts a battle.
+ * <p>
+ * Reaching the exit with every pillar wins the game at once, unless the session has been told with
+ * {@link #setWaitsAtExit} to wait for {@link #finish()}. The JavaFX game waits, so that the player can
+ * choose between leaving the dungeon and exploring on.
+ * <p>
+ * A session is not thread-safe; it should be driven by one thread at a time.
+ *
+ * @author agent
+ * @version 1.0 (19 October 2026)
+ */
+public final class GameSession implements ItemTarget {
+
+    /**
+     * Damage dealt by a pit.
+     */
+    static final int PIT_DAMAGE = 10;
+
+    /**
+     * The number of rooms the Hero can enter before vision powers wear off.
+     */
+    static final int MAX_SUPER_VISION_ROOMS = 3;
+
+    /**
+     * Rooms drawn per roaming monster before giving up on finding free rooms.
+     */
+    private static final int MAX_PLACEMENT_TRIES = 10;
+
+    /**
+     * Number of pillars a Hero needs to win.
+     */
+    private static final int PILLAR_COUNT = PillarType.values().length;
+
+    /**
+     * The spawn chance of monsters in easy mode.
+     */
+    private static final double MONSTER_SPAWN_CHANCE_EASY = 0.25;
+
+    /**
+     * The spawn chance of monsters in normal mode.
+     */
+    private static final double MONSTER_SPAWN_CHANCE_NORMAL = 0.34;
+
+    /**
+     * The spawn chance of monsters in hard mode.
+     */
+    private static final double MONSTER_SPAWN_CHANCE_HARD = 0.50;
+
+    /**
+     * Flag written by {@link #writeTo} for a session whose monsters roam.
+     */
+    private static final int ROAMING_FLAG = 1;
+
+    /**
+     * Flag written by {@link #writeTo} for a session that waits for {@link #finish()} at the exit.
+     */
+    private static final int WAITS_AT_EXIT_FLAG = 2;
+
+    /**
+     * The state of a game.
+     */
+    public enum Status {
+        /** The game is still going. */
+        PLAYING,
+        /** The Hero left the dungeon with every pillar. */
+        WON,
+        /** The Hero died. */
+        LOST
+    }
+
+    /**
+     * The settings the game was started with.
+     */
+    private final GameSettings mySettings;
+
+    /**
+     * The Hero controlled by the commands.
+     */
+    private final Hero myHero;
+
+    /**
+     * The dungeon being explored.
+     */
+    private final Dungeon myDungeon;
+
+    /**
+     * Source of every random choice made during play. A Random is kept, rather than a faster generator,
+     * because its state can be saved along with the game.
+     */
+    private final Random myRandom;
+
+    /**
+     * Spawns this game's monsters. Its own copy of the shared service, so that games played in
+     * parallel never wait on one another to spawn.
+     */
+    private final SpawnService mySpawns = SpawnService.getInstance().copy();
+
+    /**
+     * Chance that a monster spawns in a room when it is entered.
+     */
+    private final double mySpawnChance;
+
+    /**
+     * Listeners told about every event, in the order they were added.
+     */
+    private final List<Consumer<GameEvent>> myListeners = new ArrayList<>();
+
+    /**
+     * The room the Hero is in.
+     */
+    private Room myCurrentRoom;
+
+    /**
+     * The battle in progress, or null while exploring.
+     */
+    private BattleSystem myBattle;
+
+    /**
+     * The battle system of the last battle, restarted for the next one so that battles do not allocate.
+     */
+    private BattleSystem myLastBattle;
+
+    /**
+     * Whether vision powers given by a vision potion are active.
+     */
+    private boolean mySuperVision;
+
+    /**
+     * Rooms entered since vision powers were given.
+     */
+    private int mySuperVisionCounter;
+
+    /**
+     * The state of the game.
+     */
+    private Status myStatus = Status.PLAYING;
+
+    /**
+     * Whether reaching the exit with every pillar waits for {@link #finish()} instead of winning at once.
+     */
+    private boolean myWaitsAtExit;
+
+    /**
+     * Number of moves from room to room made so far.
+     */
+    private int myMoveCount;
+
+    /**
+     * Journal the commands are written to, or null if the game is not being recorded.
+     */
+    private GameJournal.Writer myJournal;
+
+    /**
+     * The monsters that roam the dungeon, or null if monsters stay where they spawn.
+     */
+    private RoamingMonsters myRoamers;
+
+    /**
+     * Starts a new game. The dungeon and every later random choice are drawn from the seed.
+     *
+     * @param theSettings The hero type and difficulty of the game.
+     * @param theSeed The seed the game is played from.
+     * @throws IllegalArgumentException if the hero type or the difficulty is unknown.
+     */
+    public GameSession(final GameSettings theSettings, final long theSeed) {
+        this(theSettings, new Random(theSeed));
+    }
+
+    /**
+     * Starts a new game, generating the dungeon from the first number drawn from the given source.
+     *
+     * @param theSettings The hero type and difficulty of the game.
+     * @param theRandom Source of every random choice.
+     */
+    private GameSession(final GameSettings theSettings, final Random theRandom) {
+        this(theSettings, createHero(theSettings.getHero()),
+                createDungeon(theSettings.getDifficulty(), theRandom.nextLong()), theRandom);
+    }
+
+    /**
+     * Starts a game with the given Hero in the entrance room of the given dungeon.
+     *
+     * @param theSettings The settings of the game; the difficulty sets the spawn chance.
+     * @param theHero The Hero to play.
+     * @param theDungeon The dungeon to explore.
+     * @param theRandom Source of every random choice made during play.
+     */
+    GameSession(final GameSettings theSettings, final Hero theHero, final Dungeon theDungeon,
+                final Random theRandom) {
+        this(theSettings, theHero, theDungeon,
+                theDungeon.getRoom(theDungeon.getEntranceRow(), theDungeon.getEntranceCol()), theRandom);
+        myCurrentRoom.setVisited(true);
+    }
+
+    /**
+     * Resumes a game with the Hero in the given room. If a monster is alive in that room, the
+     * battle with it goes on; if the Hero is dead, or stands in the exit with every pillar, the
+     * game is over.
+     *
+     * @param theSettings The settings of the game; the difficulty sets the spawn chance.
+     * @param theHero The Hero to play.
+     * @param theDungeon The dungeon to explore.
+     * @param theCurrentRoom The room the Hero is in.
+     * @param theRandom Source of every random choice made during play.
+     */
+    private GameSession(final GameSettings theSettings, final Hero theHero, final Dungeon theDungeon,
+                        final Room theCurrentRoom, final Random theRandom) {
+        mySettings = Objects.requireNonNull(theSettings);
+        myHero = Objects.requireNonNull(theHero);
+        myDungeon = Objects.requireNonNull(theDungeon);
+        myCurrentRoom = Objects.requireNonNull(theCurrentRoom);
+        myRandom = Objects.requireNonNull(theRandom);
+        mySpawnChance = spawnChance(theSettings.getDifficulty());
+
+        if (theHero.getHP() <= 0) {
+            myStatus = Status.LOST;
+        } else if (theCurrentRoom.isExit() && theHero.getPillarCount() == PILLAR_COUNT) {
+            myStatus = Status.WON;
+        } else if (theCurrentRoom.hasMonster() && theCurrentRoom.getMonster().getHP() > 0) {
+            myBattle = new BattleSystem(theHero, theCurrentRoom.getMonster(), theRandom);
+        }
+    }
+
+    /**
+     * Writes the whole game to a stream, so that {@link #readFrom} can resume it exactly where it left off,
+     * random choices included. The dungeon is stored as its seed plus what has changed, so a session takes
+     * up only a few hundred bytes. Listeners are not written. The stream is flushed but not closed.
+     *
+     * @param theOut The stream to write to.
+     * @throws IOException if writing fails.
+     */
+    void writeTo(final OutputStream theOut) throws IOException {
+        SaveCodec.write(GameSnapshot.capture(mySettings, myHero, myDungeon, myCurrentRoom, mySuperVision,
+                mySuperVisionCounter), SaveFormat.SEED_DELTA, theOut);
+
+        final DataOutputStream data = new DataOutputStream(theOut);
+        data.writeInt(myMoveCount);
+        data.flush();
+
+        final ObjectOutputStream objects = new ObjectOutputStream(theOut);
+        objects.writeObject(myRandom);
+        objects.flush();
+        theOut.write((myRoamers == null ? 0 : ROAMING_FLAG) | (myWaitsAtExit ? WAITS_AT_EXIT_FLAG : 0));
+        theOut.flush();
+    }
+
+    /**
+     * Reads a game written by {@link #writeTo}.
+     *
+     * @param theIn The stream to read from.
+     * @return The resumed game, without listeners.
+     * @throws IOException if reading fails or the data is corrupt.
+     */
+    static GameSession readFrom(final InputStream theIn) throws IOException {
+        final GameSnapshot snapshot = SaveCodec.read(theIn);
+        final int moveCount = new DataInputStream(theIn).readInt();
+
+        final Random random;
+        try {
+            random = (Random) new ObjectInputStream(theIn).readObject();
+        } catch (ClassNotFoundException | ClassCastException e) {
+            throw new IOException("Corrupt session data.", e);
+        }
+
+        final Dungeon dungeon = snapshot.toDungeon();
+        final GameSession session = resume(snapshot.toGameSettings(), snapshot.toHero(), dungeon,
+                dungeon.getRoom(snapshot.getCurrentRow(), snapshot.getCurrentCol()), snapshot.isSuperVision(),
+                snapshot.getSuperVisionCounter(), random);
+        session.myMoveCount = moveCount;
+        final int flags = theIn.read(); // Sessions written before monsters could roam end here
+        if (flags > 0 && (flags & ROAMING_FLAG) != 0) {
+            session.myRoamers = new RoamingMonsters(dungeon);
+        }
+        if (flags > 0 && (flags & WAITS_AT_EXIT_FLAG) != 0) {
+            session.setWaitsAtExit(true);
+        }
+        return session;
+    }
+
+    /**
+     * Resumes a game from its saved parts. See the constructor that takes the current room for how a
+     * battle in progress and a finished game are picked up.
+     *
+     * @param theSettings The settings of the game.
+     * @param theHero The Hero to play.
+     * @param theDungeon The dungeon to explore.
+     * @param theCurrentRoom The room the Hero is in.
+     * @param theSuperVision Whether vision powers are active.
+     * @param theSuperVisionCounter Rooms entered since vision powers were given.
+     * @param theRandom Source of every random choice made from now on.
+     * @return The resumed game, without listeners.
+     */
+    static GameSession resume(final GameSettings theSettings, final Hero theHero, final Dungeon theDungeon,
+                              final Room theCurrentRoom, final boolean theSuperVision,
+                              final int theSuperVisionCounter, final Random theRandom) {
+        final GameSession session = new GameSession(theSettings, theHero, theDungeon, theCurrentRoom, theRandom);
+        session.mySuperVision = theSuperVision;
+        session.mySuperVisionCounter = theSuperVisionCounter;
+        return session;
+    }
+
+    /**
+     * Creates the Hero of a given type at full health.
+     *
+     * @param theHeroType "warrior", "priestess" or "thief", in any case.
+     * @return A new Hero.
+     * @throws IllegalArgumentException if the hero type is unknown.
+     */
+    static Hero createHero(final String theHeroType) {
+        final Hero hero = switch (theHeroType.toLowerCase()) {
+            case "warrior" -> HeroFactory.createHero("Warrior");
+            case "priestess" -> HeroFactory.createHero("Priestess");
+            case "thief" -> HeroFactory.createHero("Thief");
+            default -> throw new IllegalArgumentException("Unknown/Invalid Hero type.");
+        };
+        if (hero == null) {
+            throw new IllegalArgumentException("No stats for Hero type: " + theHeroType);
+        }
+        return hero;
+    }
+
+    /**
+     * Generates the dungeon of a difficulty from a seed. Harder difficulties have larger dungeons.
+     *
+     * @param theDifficulty "easy", "normal" or "hard", in any case.
+     * @param theSeed The seed the dungeon is generated from.
+     * @return A new dungeon.
+     * @throws IllegalArgumentException if the difficulty is unknown.
+     */
+    static Dungeon createDungeon(final String theDifficulty, final long theSeed) {
+        return switch (theDifficulty.toLowerCase()) {
+            case "easy" -> new Dungeon(5, 5, theSeed);
+            case "normal" -> new Dungeon(7, 7, theSeed);
+            case "hard" -> new Dungeon(9, 9, theSeed);
+            default -> throw new IllegalArgumentException("Unknown/Invalid Difficulty level.");
+        };
+    }
+
+    /**
+     * Returns the chance that a monster spawns in a room when it is entered.
+     *
+     * @param theDifficulty The difficulty, in any case.
+     * @return The spawn chance, or zero for an unknown difficulty.
+     */
+    static double spawnChance(final String theDifficulty) {
+        return switch (theDifficulty.toLowerCase()) {
+            case "easy" -> MONSTER_SPAWN_CHANCE_EASY;
+            case "normal" -> MONSTER_SPAWN_CHANCE_NORMAL;
+            case "hard" -> MONSTER_SPAWN_CHANCE_HARD;
+            default -> 0;
+        };
+    }
+
+    /* *** COMMANDS *** */
+
+    /**
+     * Moves the Hero to the neighboring room in a direction, then handles whatever is in that room.
+     *
+     * @param theDirection The direction to move in.
+     * @return True if the Hero moved, false if a wall is in the way.
+     * @throws IllegalStateException if the game is over or a battle is in progress.
+     */
+    public boolean move(final Direction theDirection) {
+        checkPlaying();
+        if (myBattle != null) {
+            throw new IllegalStateException("The Hero cannot leave during a battle.");
+        }
+        if (!canMove(theDirection)) {
+            return false;
+        }
+
+        final int row = myCurrentRoom.getRow() + switch (theDirection) {
+            case NORTH -> -1;
+            case SOUTH -> 1;
+            case EAST, WEST -> 0;
+        };
+        final int col = myCurrentRoom.getCol() + switch (theDirection) {
+            case WEST -> -1;
+            case EAST -> 1;
+            case NORTH, SOUTH -> 0;
+        };
+        final Room room = myDungeon.getRoom(row, col);
+
+        chanceToSpawnMonster(room);
+        myCurrentRoom = room;
+        myCurrentRoom.setVisited(true);
+        myMoveCount++;
+        updateSuperVision();
+        handleEvents();
+        if (myRoamers != null && myStatus == Status.PLAYING && myBattle == null) {
+            roam();
+        }
+        if (myJournal != null) {
+            myJournal.move(this, theDirection);
+        }
+        return true;
+    }
+
+    /**
+     * Leaves the dungeon, which wins the game. Only needed in a session that waits at the exit; see
+     * {@link #setWaitsAtExit}.
+     *
+     * @throws IllegalStateException if the game is over, or the Hero is not in the exit with every pillar.
+     */
+    public void finish() {
+        checkPlaying();
+        if (!canFinish()) {
+            throw new IllegalStateException("The Hero can only leave from the exit, with every pillar.");
+        }
+        win();
+        if (myJournal != null) {
+            myJournal.finish(this);
+        }
+    }
+
+    /**
+     * Indicates whether the Hero can leave the dungeon with {@link #finish()}: the Hero stands in the exit
+     * with every pillar and is not fighting.
+     *
+     * @return True if the game can be won now.
+     */
+    public boolean canFinish() {
+        return myStatus == Status.PLAYING && myBattle == null && myCurrentRoom.isExit()
+                && myHero.getPillarCount() == PILLAR_COUNT;
+    }
+
+    /**
+     * Attacks the monster, after which the monster takes its turn.
+     *
+     * @return The outcome of the Hero's attack.
+     * @throws IllegalStateException if no battle is in progress.
+     */
+    public BattleOutcome attack() {
+        return fight(false);
+    }
+
+    /**
+     * Uses the Hero's special move, after which the monster takes its turn.
+     *
+     * @return The outcome of the special move.
+     * @throws IllegalStateException if no battle is in progress.
+     */
+    public BattleOutcome special() {
+        return fight(true);
+    }
+
+    /**
+     * Fights the rest of the battle at once, choosing each of the Hero's moves with a policy, as
+     * {@link BattleSystem#autoResolve} does. No event is sent for the single moves, only for how the
+     * battle changed the Hero's health and how it ended.
+     *
+     * @param thePolicy How the Hero chooses between attacking and the special move.
+     * @return A summary of the rounds fought.
+     * @throws IllegalStateException if no battle is in progress.
+     */
+    public BattleSummary autoResolve(final BattlePolicy thePolicy) {
+        checkPlaying();
+        if (myBattle == null) {
+            throw new IllegalStateException("No battle is in progress.");
+        }
+
+        final int heroHP = myHero.getHP();
+        final BattleSummary summary = myBattle.autoResolve(Objects.requireNonNull(thePolicy));
+        if (myHero.getHP() != heroHP) {
+            sendHeroHealthUpdate();
+        }
+
+        endBattleIfOver();
+        if (myJournal != null) {
+            myJournal.autoResolve(this, thePolicy);
+        }
+        return summary;
+    }
+
+    /**
+     * Uses the first item in the Hero's inventory with the given name. Using an item does not
+     * take a turn, so potions may be drunk during a battle. Pillars cannot be used.
+     *
+     * @param theItemName The name of the item, such as "Health Potion".
+     * @return A description of the item's effect, or null if the Hero has no such item.
+     * @throws IllegalStateException if the game is over.
+     */
+    public String useItem(final String theItemName) {
+        checkPlaying();
+        for (final Item item : myHero.getInventory()) {
+            if (!(item instanceof Pillar) && item.getName().equals(theItemName)) {
+                final String result = item.buff(this);
+                fireInventoryChange();
+                if (myJournal != null) {
+                    myJournal.useItem(this, theItemName);
+                }
+                return result;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Lets the monsters of the dungeon roam, and places more of them in random free rooms other than
+     * the entrance, the exit and the Hero's room. From then on, every move of the Hero is a game tick
+     * on which the monsters near the Hero move as well.
+     *
+     * @param theCount Number of monsters to place.
+     * @return The number placed, which is fewer than asked for if free rooms were hard to find.
+     * @throws IllegalArgumentException if the count is negative.
+     * @throws IllegalStateException if the game is over.
+     */
+    public int addRoamingMonsters(final int theCount) {
+        checkPlaying();
+        if (theCount < 0) {
+            throw new IllegalArgumentException("Number of monsters must not be negative: " + theCount);
+        }
+        if (myRoamers == null) {
+            myRoamers = new RoamingMonsters(myDungeon);
+        }
+        int placed = 0;
+        for (int tries = 0; placed < theCount && tries < theCount * MAX_PLACEMENT_TRIES; tries++) {
+            final Room room = myDungeon.getRoom(myRandom.nextInt(myDungeon.getRowSize()),
+                    myRandom.nextInt(myDungeon.getColSize()));
+            if (room != myCurrentRoom && RoamingMonsters.canEnter(room)) {
+                myRoamers.add(room, mySpawns.spawn(mySettings.getDifficulty(), myRandom));
+                placed++;
+            }
+        }
+        if (myJournal != null) {
+            myJournal.roamingMonsters(this, theCount);
+        }
+        return placed;
+    }
+
+    /* *** GAME RULES *** */
+
+    /**
+     * Plays one round of the battle: the Hero's move, then the monster's attack and heal.
+     *
+     * @param theSpecial True for the Hero's special move, false for an attack.
+     * @return The outcome of the Hero's move.
+     */
+    private BattleOutcome fight(final boolean theSpecial) {
+        checkPlaying();
+        if (myBattle == null) {
+            throw new IllegalStateException("No battle is in progress.");
+        }
+
+        final int heroHP = myHero.getHP();
+        final BattleOutcome outcome = theSpecial ? myBattle.processPlayerSpecialMove() : myBattle.processPlayerAttacks();
+        fire(GameEvent.Type.BATTLE, outcome);
+
+        if (!myBattle.isBattleOver()) {
+            fire(GameEvent.Type.BATTLE, myBattle.processMonsterAttacks());
+            if (!myBattle.isBattleOver()) {
+                fire(GameEvent.Type.BATTLE, myBattle.processMonsterHeal());
+            }
+        }
+        if (myHero.getHP() != heroHP) {
+            sendHeroHealthUpdate();
+        }
+
+        endBattleIfOver();
+        if (myJournal != null) {
+            myJournal.fight(this, theSpecial);
+        }
+        return outcome;
+    }
+
+    /**
+     * Ends the battle if one side has fallen: a beaten monster is taken out of the room, and a
+     * beaten Hero loses the game.
+     */
+    private void endBattleIfOver() {
+        if (myBattle.isBattleOver()) {
+            final boolean heroWon = myBattle.didHeroWin();
+            myBattle = null;
+            fire(GameEvent.Type.BATTLE_END, heroWon);
+            if (heroWon) {
+                if (myRoamers != null) {
+                    myRoamers.remove(myCurrentRoom);
+                }
+                final Monster beaten = myCurrentRoom.getMonster();
+                myCurrentRoom.removeMonster();
+                mySpawns.recycle(beaten); // Kept only if pooling is on
+            } else {
+                lose();
+            }
+        }
+    }
+
+    /**
+     * Handles whatever is in the room the Hero just entered, in the same order as the GUI: pits,
+     * items and pillars, the exit, and last of all a monster.
+     */
+    private void handleEvents() {
+        fire(GameEvent.Type.ROOM_CHANGE, myCurrentRoom);
+
+        if (myCurrentRoom.hasPit()) {
+            myHero.takeDamage(PIT_DAMAGE);
+            fire(GameEvent.Type.PIT, PIT_DAMAGE);
+            sendHeroHealthUpdate();
+            if (myHero.getHP() <= 0) {
+                lose();
+                return;
+            }
+        }
+
+        if (myCurrentRoom.hasItems() || myCurrentRoom.hasPillar()) {
+            myCurrentRoom.giveAllItemsTo(myHero);
+            fireInventoryChange();
+        }
+
+        if (myCurrentRoom.isExit()) {
+            final int pillars = myHero.getPillarCount();
+            fire(GameEvent.Type.EXIT, pillars);
+            if (pillars == PILLAR_COUNT && !myWaitsAtExit) {
+                win();
+                return;
+            }
+        }
+
+        if (myCurrentRoom.hasMonster() && myCurrentRoom.getMonster().getHP() > 0) {
+            startBattle();
+        }
+    }
+
+    /**
+     * Starts a battle with the monster in the Hero's room.
+     */
+    private void startBattle() {
+        if (myLastBattle == null) {
+            myLastBattle = new BattleSystem(myHero, myCurrentRoom.getMonster(), myRandom);
+        } else {
+            myLastBattle.restart(myCurrentRoom.getMonster());
+        }
+        myBattle = myLastBattle;
+        fire(GameEvent.Type.FIGHT, myCurrentRoom.getMonster());
+    }
+
+    /**
+     * Moves the monsters near the Hero, and starts a battle if one of them walks into the Hero's room.
+     */
+    private void roam() {
+        myRoamers.tick(myCurrentRoom, myRandom);
+        if (myCurrentRoom.hasMonster()) {
+            startBattle();
+        }
+    }
+
+    /**
+     * May spawn a monster in a room that is about to be entered. No monster spawns at the entrance or exit,
+     * or in a room a roaming monster is already in. While monsters roam, the new one roams as well.
+     *
+     * @param theRoom The room about to be entered.
+     */
+    private void chanceToSpawnMonster(final Room theRoom) {
+        if (!theRoom.isEntranceOrExit() && !theRoom.hasMonster() && myRandom.nextDouble() < mySpawnChance) {
+            final Monster monster = mySpawns.spawn(mySettings.getDifficulty(), myRandom);
+            if (myRoamers == null) {
+                theRoom.addMonster(monster);
+            } else {
+                myRoamers.add(theRoom, monster); // Indexed like the others, so a resumed game matches
+            }
+        }
+    }
+
+    /**
+     * Counts a room entered with vision powers, and takes the powers away once they run out.
+     */
+    private void updateSuperVision() {
+        if (mySuperVision) {
+            if (mySuperVisionCounter < MAX_SUPER_VISION_ROOMS) {
+                mySuperVisionCounter++;
+            } else {
+                mySuperVision = false;
+                mySuperVisionCounter = 0;
+                fire(GameEvent.Type.VISION_POWERS, false);
+            }
+        }
+    }
+
+    /**
+     * Ends the game with the Hero leaving the dungeon.
+     */
+    private void win() {
+        myStatus = Status.WON;
+        fire(GameEvent.Type.WON, myHero);
+    }
+
+    /**
+     * Ends the game with the Hero's death.
+     */
+    private void lose() {
+        myStatus = Status.LOST;
+        fire(GameEvent.Type.DEAD, myHero);
+    }
+
+    /**
+     * Checks that the game is still going.
+     *
+     * @throws IllegalStateException if it is over.
+     */
+    private void checkPlaying() {
+        if (myStatus != Status.PLAYING) {
+            throw new IllegalStateException("The game is over.");
+        }
+    }
+
+    /**
+     * Sends an event to every listener. Nothing is created when no one is listening.
+     *
+     * @param theType What happened.
+     * @param theValue Details of the event.
+     */
+    private void fire(final GameEvent.Type theType, final Object theValue) {
+        if (myListeners.isEmpty()) {
+            return;
+        }
+        final GameEvent event = new GameEvent(theType, theValue);
+        for (final Consumer<GameEvent> listener : myListeners) {
+            listener.accept(event);
+        }
+    }
+
+    /**
+     * Sends the Hero's inventory to every listener. The inventory is only copied when someone is listening.
+     */
+    private void fireInventoryChange() {
+        if (!myListeners.isEmpty()) {
+            fire(GameEvent.Type.INVENTORY_CHANGE, myHero.getInventory());
+        }
+    }
+
+    /* *** ITEM TARGET *** */
+
+    @Override
+    public Hero getHero() {
+        return myHero;
+    }
+
+    @Override
+    public void sendHeroHealthUpdate() {
+        fire(GameEvent.Type.HERO_HEALTH_CHANGE, myHero.getHP());
+    }
+
+    @Override
+    public void enableSuperVision() {
+        mySuperVision = true;
+        mySuperVisionCounter = 0;
+        fire(GameEvent.Type.VISION_POWERS, true);
+    }
+
+    /* *** STATE *** */
+
+    /**
+     * Records every later command in a journal.
+     *
+     * @param theJournal The journal.
+     */
+    void setJournal(final GameJournal.Writer theJournal) {
+        myJournal = theJournal;
+    }
+
+    /**
+     * Sets whether reaching the exit with every pillar waits for {@link #finish()}, so that the player
+     * can explore on, instead of winning at once. It should be set before the first command. A resumed
+     * game found standing in the exit with every pillar has then not left yet, and goes on.
+     *
+     * @param theWaits True to wait for {@link #finish()}.
+     */
+    void setWaitsAtExit(final boolean theWaits) {
+        myWaitsAtExit = theWaits;
+        if (theWaits && myStatus == Status.WON) {
+            myStatus = Status.PLAYING;
+        }
+        if (myJournal != null) {
+            myJournal.waitsAtExit(this, theWaits);
+        }
+    }
+
+    /**
+     * Starts the game over from a seed, just as a new session with the same settings would start, but
+     * in the same Hero and dungeon: the dungeon of the seed is generated into the existing rooms, and
+     * the Hero gets back every hit point and an empty inventory. Listeners are kept. Simulations that
+     * play one game after another restart a session rather than create a new one for every game.
+     *
+     * @param theSeed The seed the game is played from.
+     * @throws IllegalStateException if the game is recorded in a journal, or its dungeon is kept in a mapped file.
+     */
+    void restart(final long theSeed) {
+        if (myJournal != null) {
+            throw new IllegalStateException("A game recorded in a journal cannot be restarted.");
+        }
+        // The same draws as the constructor, so that the game matches a new session of the seed
+        myRandom.setSeed(theSeed);
+        myDungeon.regenerate(myRandom.nextLong());
+        myHero.restart();
+
+        myCurrentRoom = myDungeon.getRoom(myDungeon.getEntranceRow(), myDungeon.getEntranceCol());
+        myCurrentRoom.setVisited(true);
+        myBattle = null;
+        myRoamers = null;
+        mySuperVision = false;
+        mySuperVisionCounter = 0;
+        myMoveCount = 0;
+        myStatus = Status.PLAYING;
+    }
+
+    /**
+     * Marks the point where the game is saved in its journal, if it is being recorded. The game's random
+     * numbers start again there from a seed they draw themselves, so that a game loaded from the save can
+     * take the journal over without replaying it; see {@link GameJournal#resume}.
+     */
+    void markSavePoint() {
+        if (myJournal != null && !myJournal.isAtSavePoint()) {
+            final long seed = myRandom.nextLong();
+            reseed(seed);
+            myJournal.savePoint(this, seed);
+        }
+    }
+
+    /**
+     * Starts the game's random numbers again from a seed, as at a save point.
+     *
+     * @param theSeed The seed.
+     */
+    void reseed(final long theSeed) {
+        myRandom.setSeed(theSeed);
+    }
+
+    /**
+     * Takes over the journal of the save this game was loaded from, at its last save point.
+     *
+     * @param theJournal The journal, which goes on recording.
+     * @param theMoveCount The number of moves made before the save.
+     * @param theSeed The seed of the save point.
+     */
+    void resumeJournal(final GameJournal.Writer theJournal, final int theMoveCount, final long theSeed) {
+        myMoveCount = theMoveCount;
+        reseed(theSeed);
+        myJournal = theJournal;
+    }
+
+    /**
+     * Writes out every command journaled so far, if the game is being recorded.
+     */
+    void flushJournal() {
+        if (myJournal != null) {
+            myJournal.flush();
+        }
+    }
+
+    /**
+     * Returns a hash of what the player can see of the game: the Hero's place, health and
+     * belongings, the battle and the progress of the game. Two plays of the same game that have
+     * gone the same way have the same hash.
+     *
+     * @return The hash.
+     */
+    int getStateHash() {
+        return getStateHash(myMoveCount);
+    }
+
+    /**
+     * Returns the hash of {@link #getStateHash()} as it would be after a number of moves, for a game
+     * loaded from a save, which does not know how many moves were made.
+     *
+     * @param theMoveCount The number of moves.
+     * @return The hash.
+     */
+    int getStateHash(final int theMoveCount) {
+        int hash = theMoveCount;
+        hash = 31 * hash + myStatus.ordinal();
+        hash = 31 * hash + myCurrentRoom.getRow();
+        hash = 31 * hash + myCurrentRoom.getCol();
+        hash = 31 * hash + myHero.getHP();
+        hash = 31 * hash + myHero.getPillarCount();
+        hash = 31 * hash + myHero.getInventory().size();
+        hash = 31 * hash + (mySuperVision ? mySuperVisionCounter + 1 : 0);
+        hash = 31 * hash + (myBattle == null ? -1 : myCurrentRoom.getMonster().getHP());
+        if (myRoamers != null) {
+            hash = 31 * hash + myRoamers.size();
+        }
+        return hash;
+    }
+
+    /**
+     * Indicates whether the Hero can move in a direction, that is, no wall or edge of the dungeon is in
+     * the way. Only walls are checked; {@link #move} also refuses to leave a battle in progress.
+     *
+     * @param theDirection The direction to check.
+     * @return True if the way is open.
+     */
+    public boolean canMove(final Direction theDirection) {
+        return switch (theDirection) {
+            case NORTH -> !myCurrentRoom.hasTopWall() && myCurrentRoom.getRow() > 0;
+            case SOUTH -> !myCurrentRoom.hasBottomWall() && myCurrentRoom.getRow() < myDungeon.getRowSize() - 1;
+            case WEST -> !myCurrentRoom.hasLeftWall() && myCurrentRoom.getCol() > 0;
+            case EAST -> !myCurrentRoom.hasRightWall() && myCurrentRoom.getCol() < myDungeon.getColSize() - 1;
+        };
+    }
+
+    /**
+     * Adds a listener that is told about every event from now on.
+     *
+     * @param theListener The listener.
+     */
+    public void addListener(final Consumer<GameEvent> theListener) {
+        myListeners.add(Objects.requireNonNull(theListener));
+    }
+
+    /**
+     * Removes a listener.
+     *
+     * @param theListener The listener.
+     */
+    public void removeListener(final Consumer<GameEvent> theListener) {
+        myListeners.remove(theListener);
+    }
+
+    /**
+     * Returns the settings the game was started with.
+     *
+     * @return The game settings.
+     */
+    public GameSettings getSettings() {
+        return mySettings;
+    }
+
+    /**
+     * Returns the service this game's monsters are spawned from.
+     *
+     * @return The game's own spawn service.
+     */
+    SpawnService getSpawnService() {
+        return mySpawns;
+    }
+
+    /**
+     * Returns the dungeon being explored.
+     *
+     * @return The dungeon.
+     */
+    public Dungeon getDungeon() {
+        return myDungeon;
+    }
+
+    /**
+     * Returns the room the Hero is in.
+     *
+     * @return The current room.
+     */
+    public Room getCurrentRoom() {
+        return myCurrentRoom;
+    }
+
+    /**
+     * Returns the monster the Hero is fighting.
+     *
+     * @return The monster, or null if no battle is in progress.
+     */
+    public Monster getMonster() {
+        return myBattle == null ? null : myCurrentRoom.getMonster();
+    }
+
+    /**
+     * Indicates whether a battle is in progress.
+     *
+     * @return True during a battle.
+     */
+    public boolean isInBattle() {
+        return myBattle != null;
+    }
+
+    /**
+     * Indicates whether vision powers are active.
+     *
+     * @return True while vision powers last.
+     */
+    public boolean hasSuperVision() {
+        return mySuperVision;
+    }
+
+    /**
+     * Returns the number of rooms entered since vision powers were given.
+     *
+     * @return The vision powers counter.
+     */
+    int getSuperVisionCounter() {
+        return mySuperVisionCounter;
+    }
+
+    /**
+     * Returns the state of the game.
+     *
+     * @return Whether the game is going, won or lost.
+     */
+    public Status getStatus() {
+        return myStatus;
+    }
+
+    /**
+     * Indicates whether the game is over.
+     *
+     * @return True once the game is won or lost.
+     */
+    public boolean isOver() {
+        return myStatus != Status.PLAYING;
+    }
+
+    /**
+     * Returns the number of moves from room to room made so far.
+     *
+     * @return The move count.
+     */
+    public int getMoveCount() {
+        return myMoveCount;
+    }
+
+}
@@ -5,7 +5,8 @@ import java.io.Serializable;
 /**
  * The GameSettings class is designed to encapsulate and manage the
  * configuration settings related to a player's game session, such as
- * player name, chosen hero, and selected difficulty level.
+ * player name, chosen hero, and selected difficulty level, and whether
+ * monsters roam the dungeon.
  *
  * @author Jonathan Hernandez
  * @version 1.0 (May 11, 2025)
@@ -33,6 +34,12 @@ public final class GameSettings implements Serializable {
      */
     private String myDifficulty;
 
+    /**
+     * Whether monsters roam the dungeon in this game session, rather than
+     * only appearing in the room the hero enters. Off unless the player turns it on.
+     */
+    private boolean myRoamingMonsters;
+
     /**
      * Constructs a new GameSettings object with a specified player name, hero, and difficulty level.
      *
@@ -74,6 +81,15 @@ public final class GameSettings implements Serializable {
         return myDifficulty;
     }
 
+    /**
+     * Tells whether monsters roam the dungeon in the game session.
+     *
+     * @return true if monsters roam the dungeon.
+     */
+    public boolean hasRoamingMonsters() {
+        return myRoamingMonsters;
+    }
+
     /**
      * Sets the name of the player for the game session.
      *
@@ -103,6 +119,15 @@ public final class GameSettings implements Serializable {
         myDifficulty = theDifficulty;
     }
 
+    /**
+     * Sets whether monsters roam the dungeon in the game session.
+     *
+     * @param theRoamingMonsters true to let monsters roam the dungeon.
+     */
+    public void setRoamingMonsters(final boolean theRoamingMonsters) {
+        myRoamingMonsters = theRoamingMonsters;
+    }
+
     /**
      * Helper method that validates data used by the setter methods. All instances fields of GameSettings cannot be
      * empty or null.
@@ -0,0 +1,942 @@
+package com.swagteam360.dungeonadventure.model;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The GameSnapshot class is an immutable copy of everything needed to restore a game:
+ * the game settings, the hero, the dungeon and the player's position. It only holds
+ * primitives, strings and small records, so it can be handed to another thread or
+ * encoded by {@link SaveCodec} without touching the live model.
+ * <p>
+ * The dungeon layout is stored compactly. Walls take four bits per room, visited flags
+ * take one bit per room, and only rooms that contain something (a pit, a pillar, items
+ * or a monster) get a {@link RoomRecord}.
+ * <p>
+ * Capturing a snapshot only copies the rooms the player changed. The rest is shared with every
+ * other snapshot of the same dungeon through its {@link Base}: the seed the dungeon was generated
+ * from, or the save it was loaded from. The shared rooms are only read when the snapshot is written,
+ * which happens on a background thread, so capturing costs the same however large the dungeon is.
+ * <p>
+ * A snapshot can also be <em>seed-only</em>. Such a snapshot stores no walls or room
+ * contents at all. It holds the seed the dungeon was generated from and what the player
+ * changed since: which rooms were visited, which rooms were looted, and the monsters.
+ * {@link #toDungeon()} regenerates the dungeon from the seed and replays those changes.
+ *
+ * @author agent
+ * @version 1.0 (19 October 2026)
+ */
+final class GameSnapshot {
+
+    /** Wall bit for the left wall of a room. */
+    static final int WALL_LEFT = 1;
+    /** Wall bit for the right wall of a room. */
+    static final int WALL_RIGHT = 1 << 1;
+    /** Wall bit for the top wall of a room. */
+    static final int WALL_TOP = 1 << 2;
+    /** Wall bit for the bottom wall of a room. */
+    static final int WALL_BOTTOM = 1 << 3;
+
+    /** Item kind for a health potion. Its value is the heal amount. */
+    static final byte ITEM_HEALTH_POTION = 0;
+    /** Item kind for a vision potion. Its value is unused. */
+    static final byte ITEM_VISION_POTION = 1;
+    /** Item kind for a pillar. Its value is the pillar type's ordinal. */
+    static final byte ITEM_PILLAR = 2;
+
+    /** Hero type names, indexed by their saved type code. */
+    private static final String[] HERO_TYPES = {"Warrior", "Priestess", "Thief"};
+    /** Monster type names, indexed by their saved type code. */
+    private static final String[] MONSTER_TYPES = {"Ogre", "Gremlin", "Witch"};
+
+    /**
+     * Fixed-width state of the hero.
+     *
+     * @param type Index into the hero types (Warrior, Priestess, Thief)
+     * @param hp Current health points
+     * @param maxHp Maximum health points
+     * @param attackSpeed Attack speed
+     * @param damageMin Minimum damage
+     * @param damageMax Maximum damage
+     * @param hitChance Hit chance as a whole number percentage
+     * @param blockChance Block chance as a whole number percentage
+     * @param inventory The hero's items, in order
+     */
+    record HeroState(byte type, int hp, int maxHp, int attackSpeed, int damageMin, int damageMax,
+                     int hitChance, int blockChance, List<ItemState> inventory) {
+        HeroState {
+            inventory = List.copyOf(inventory);
+        }
+    }
+
+    /**
+     * Fixed-width state of a monster.
+     *
+     * @param type Index into the monster types (Ogre, Gremlin, Witch)
+     * @param hp Current health points
+     * @param maxHp Maximum health points
+     * @param attackSpeed Attack speed
+     * @param damageMin Minimum damage
+     * @param damageMax Maximum damage
+     * @param hitChance Hit chance as a whole number percentage
+     * @param healChance Chance to heal, between 0 and 1
+     * @param minHeal Minimum heal points
+     * @param maxHeal Maximum heal points
+     */
+    record MonsterState(byte type, int hp, int maxHp, int attackSpeed, int damageMin, int damageMax,
+                        int hitChance, double healChance, int minHeal, int maxHeal) { }
+
+    /**
+     * A single item, stored as a kind and a value.
+     *
+     * @param kind One of the ITEM constants
+     * @param value Heal amount for health potions, pillar ordinal for pillars, otherwise 0
+     */
+    record ItemState(byte kind, int value) { }
+
+    /**
+     * Contents of a room that holds anything worth saving.
+     *
+     * @param index Room index, row * columns + column
+     * @param pit Whether the room has a pit
+     * @param pillar Ordinal of the room's pillar type, or -1 if there is none
+     * @param items Items lying in the room
+     * @param monster The room's monster, or null if there is none
+     */
+    record RoomRecord(int index, boolean pit, int pillar, List<ItemState> items, MonsterState monster) {
+        RoomRecord {
+            items = List.copyOf(items);
+        }
+    }
+
+    /**
+     * A room the player changed since the dungeon's base.
+     *
+     * @param index Room index, row * columns + column
+     * @param visited Whether the room has been visited
+     * @param looted Whether the room's items have been collected
+     * @param contents What the room holds, or null if it is empty
+     */
+    record RoomChange(int index, boolean visited, boolean looted, RoomRecord contents) { }
+
+    /**
+     * The rooms of a dungeon as they were before the player changed any of them. Every snapshot
+     * of the dungeon shares its base and only copies the rooms that changed since. A base never
+     * changes, so it can be read on any thread long after the snapshot was captured.
+     */
+    interface Base {
+
+        /**
+         * Returns the row of the exit room.
+         * @return The exit's row, or -1 if the dungeon has none
+         */
+        int getExitRow();
+
+        /**
+         * Returns the column of the exit room.
+         * @return The exit's column, or -1 if the dungeon has none
+         */
+        int getExitCol();
+
+        /**
+         * Reads the walls and contents of every room. This is slow for a large dungeon, so it is
+         * left to the thread that writes the snapshot.
+         * @return Every room of the base
+         */
+        Layout layout();
+    }
+
+    /**
+     * The walls and contents of every room of a dungeon, packed like a full snapshot. The arrays
+     * are never changed once the layout is built.
+     *
+     * @param exitRow Row of the exit room, or -1 if there is none
+     * @param exitCol Column of the exit room, or -1 if there is none
+     * @param walls Packed wall bits, or null for a seed-only snapshot
+     * @param visited Packed visited bits
+     * @param looted Packed looted bits
+     * @param records Contents of every room that is not empty, in room index order
+     */
+    record Layout(int exitRow, int exitCol, byte[] walls, byte[] visited, byte[] looted,
+                  List<RoomRecord> records) implements Base {
+        Layout {
+            records = List.copyOf(records);
+        }
+
+        @Override
+        public int getExitRow() {
+            return exitRow;
+        }
+
+        @Override
+        public int getExitCol() {
+            return exitCol;
+        }
+
+        @Override
+        public Layout layout() {
+            return this;
+        }
+    }
+
+    /**
+     * The base of a dungeon generated from a seed, which is regenerated when its rooms are needed.
+     *
+     * @param rows Number of rows in the dungeon
+     * @param cols Number of columns in the dungeon
+     * @param seed The seed the dungeon was generated from
+     * @param exitRow Row of the exit room
+     * @param exitCol Column of the exit room
+     */
+    record SeedBase(int rows, int cols, long seed, int exitRow, int exitCol) implements Base {
+
+        @Override
+        public int getExitRow() {
+            return exitRow;
+        }
+
+        @Override
+        public int getExitCol() {
+            return exitCol;
+        }
+
+        @Override
+        public Layout layout() {
+            return captureLayout(new Dungeon(rows, cols, seed));
+        }
+    }
+
+    /** The player's name from the game settings. */
+    private final String myPlayerName;
+    /** The hero type from the game settings, as the player chose it. */
+    private final String myHeroType;
+    /** The difficulty from the game settings. */
+    private final String myDifficulty;
+    /** The hero's stats and inventory. */
+    private final HeroState myHero;
+    /** Whether vision powers are active. */
+    private final boolean mySuperVision;
+    /** Rooms visited since vision powers were enabled. */
+    private final int mySuperVisionCounter;
+    /** Number of rows in the dungeon. */
+    private final int myRows;
+    /** Number of columns in the dungeon. */
+    private final int myCols;
+    /** Coordinates of the entrance room. */
+    private final int myEntranceRow;
+    private final int myEntranceCol;
+    /** Coordinates of the exit room, or -1 if the dungeon has none. */
+    private final int myExitRow;
+    private final int myExitCol;
+    /** Coordinates of the room the hero is standing in. */
+    private final int myCurrentRow;
+    private final int myCurrentCol;
+    /** Whether the seed the dungeon was generated from is known. */
+    private final boolean mySeeded;
+    /** The seed the dungeon was generated from. Only meaningful if mySeeded is true. */
+    private final long mySeed;
+    /** Time spent playing the game, in milliseconds. */
+    private final long myPlayTimeMillis;
+    /** The rooms shared with the live dungeon, or null for a snapshot built from its parts. */
+    private final Base myBase;
+    /** Rooms changed since the base, in room index order. */
+    private final List<RoomChange> myChanges;
+    /**
+     * Every room: four wall bits per room (null for a seed-only snapshot), one visited and one
+     * looted bit per room, and the contents of every room that is not empty. A seed-only snapshot
+     * only has records for rooms with a monster. Built from the base and the changes when first needed.
+     */
+    private volatile Layout myLayout;
+
+    /**
+     * Constructs a snapshot from its parts. The arrays are copied.
+     *
+     * @param theWalls Packed wall bits, or null for a seed-only snapshot.
+     * @throws IllegalArgumentException if the dimensions are not positive, the packed
+     *                                  arrays do not match them, or a seed-only snapshot
+     *                                  has no seed.
+     */
+    GameSnapshot(final String thePlayerName, final String theHeroType, final String theDifficulty,
+                 final HeroState theHero, final boolean theSuperVision, final int theSuperVisionCounter,
+                 final int theRows, final int theCols,
+                 final int theEntranceRow, final int theEntranceCol,
+                 final int theExitRow, final int theExitCol,
+                 final int theCurrentRow, final int theCurrentCol,
+                 final boolean theSeeded, final long theSeed, final long thePlayTimeMillis,
+                 final byte[] theWalls, final byte[] theVisited, final byte[] theLooted,
+                 final List<RoomRecord> theRooms) {
+        this(thePlayerName, theHeroType, theDifficulty, theHero, theSuperVision, theSuperVisionCounter,
+                theRows, theCols, theEntranceRow, theEntranceCol, theCurrentRow, theCurrentCol,
+                theSeeded, theSeed, thePlayTimeMillis, null, List.of(),
+                checkedLayout(theRows, theCols, theExitRow, theExitCol, theSeeded,
+                        theWalls, theVisited, theLooted, theRooms));
+    }
+
+    /**
+     * Constructs a snapshot that either holds every room or shares them with a base.
+     *
+     * @param theBase The shared rooms, or null if theLayout holds every room.
+     * @param theChanges Rooms changed since the base, in room index order.
+     * @param theLayout Every room, or null if they are built from the base when needed.
+     * @throws IllegalArgumentException if the dimensions are not positive.
+     */
+    private GameSnapshot(final String thePlayerName, final String theHeroType, final String theDifficulty,
+                         final HeroState theHero, final boolean theSuperVision, final int theSuperVisionCounter,
+                         final int theRows, final int theCols,
+                         final int theEntranceRow, final int theEntranceCol,
+                         final int theCurrentRow, final int theCurrentCol,
+                         final boolean theSeeded, final long theSeed, final long thePlayTimeMillis,
+                         final Base theBase, final List<RoomChange> theChanges, final Layout theLayout) {
+        if (theRows <= 0 || theCols <= 0) {
+            throw new IllegalArgumentException("Dungeon dimensions must be positive.");
+        }
+        final Base rooms = theLayout != null ? theLayout : Objects.requireNonNull(theBase);
+
+        myPlayerName = Objects.requireNonNull(thePlayerName);
+        myHeroType = Objects.requireNonNull(theHeroType);
+        myDifficulty = Objects.requireNonNull(theDifficulty);
+        myHero = Objects.requireNonNull(theHero);
+        mySuperVision = theSuperVision;
+        mySuperVisionCounter = theSuperVisionCounter;
+        myRows = theRows;
+        myCols = theCols;
+        myEntranceRow = theEntranceRow;
+        myEntranceCol = theEntranceCol;
+        myExitRow = rooms.getExitRow();
+        myExitCol = rooms.getExitCol();
+        myCurrentRow = theCurrentRow;
+        myCurrentCol = theCurrentCol;
+        mySeeded = theSeeded;
+        mySeed = theSeed;
+        myPlayTimeMillis = thePlayTimeMillis;
+        myBase = theBase;
+        myChanges = List.copyOf(theChanges);
+        myLayout = theLayout;
+    }
+
+    /**
+     * Checks the packed arrays of a snapshot built from its parts and copies them into a layout.
+     *
+     * @throws IllegalArgumentException if the packed arrays do not match the dimensions, or a
+     *                                  seed-only snapshot has no seed.
+     */
+    private static Layout checkedLayout(final int theRows, final int theCols, final int theExitRow,
+                                        final int theExitCol, final boolean theSeeded, final byte[] theWalls,
+                                        final byte[] theVisited, final byte[] theLooted,
+                                        final List<RoomRecord> theRooms) {
+        final int roomCount = Math.max(theRows, 0) * Math.max(theCols, 0);
+        if ((theWalls != null && theWalls.length != wallBytes(roomCount))
+                || theVisited.length != visitedBytes(roomCount) || theLooted.length != visitedBytes(roomCount)) {
+            throw new IllegalArgumentException("Wall, visited or looted data does not match the dungeon size.");
+        }
+        if (theWalls == null && !theSeeded) {
+            throw new IllegalArgumentException("A snapshot without walls needs a seed.");
+        }
+        return new Layout(theExitRow, theExitCol, theWalls == null ? null : theWalls.clone(),
+                theVisited.clone(), theLooted.clone(), theRooms);
+    }
+
+    /**
+     * Copies the live game state into a new snapshot. Must be called on the game-logic thread.
+     *
+     * @param theSettings The current game settings
+     * @param theHero The current hero
+     * @param theDungeon The current dungeon
+     * @param theCurrentRoom The room the hero is standing in
+     * @param theSuperVision Whether vision powers are active
+     * @param theSuperVisionCounter Rooms visited since vision powers were enabled
+     * @return A snapshot of the given state
+     */
+    static GameSnapshot capture(final GameSettings theSettings, final Hero theHero, final Dungeon theDungeon,
+                                final Room theCurrentRoom, final boolean theSuperVision,
+                                final int theSuperVisionCounter) {
+        return capture(theSettings, theHero, theDungeon, theCurrentRoom, theSuperVision, theSuperVisionCounter, 0L);
+    }
+
+    /**
+     * Copies the live game state into a new snapshot. Must be called on the game-logic thread.
+     *
+     * @param theSettings The current game settings
+     * @param theHero The current hero
+     * @param theDungeon The current dungeon
+     * @param theCurrentRoom The room the hero is standing in
+     * @param theSuperVision Whether vision powers are active
+     * @param theSuperVisionCounter Rooms visited since vision powers were enabled
+     * @param thePlayTimeMillis Time spent playing the game, in milliseconds
+     * @return A snapshot of the given state
+     */
+    static GameSnapshot capture(final GameSettings theSettings, final Hero theHero, final Dungeon theDungeon,
+                                final Room theCurrentRoom, final boolean theSuperVision,
+                                final int theSuperVisionCounter, final long thePlayTimeMillis) {
+        Base base = theDungeon.getBase();
+        if (base == null) {
+            // Nothing is known about how the dungeon started, so every room is copied once and shared from now on
+            base = captureLayout(theDungeon);
+            theDungeon.setBase(base);
+        }
+
+        // The health of the current room's monster changes without the room being told
+        theDungeon.roomChanged(theCurrentRoom);
+        final int cols = theDungeon.getColSize();
+        final List<RoomChange> changes = new ArrayList<>();
+        for (final Room room : theDungeon.getChangedRooms()) {
+            changes.add(new RoomChange(room.getRow() * cols + room.getCol(), room.isVisited(), room.isLooted(),
+                    captureRecord(room, room.getRow() * cols + room.getCol())));
+        }
+        changes.sort(Comparator.comparingInt(RoomChange::index));
+
+        // GameSettings never holds null values, but a half-built settings object should still be savable.
+        // Empty values are rejected again by GameSettings when such a save is loaded.
+        return new GameSnapshot(Objects.requireNonNullElse(theSettings.getName(), ""),
+                Objects.requireNonNullElse(theSettings.getHero(), ""),
+                Objects.requireNonNullElse(theSettings.getDifficulty(), ""),
+                captureHero(theHero), theSuperVision, theSuperVisionCounter,
+                theDungeon.getRowSize(), cols, theDungeon.getEntranceRow(), theDungeon.getEntranceCol(),
+                theCurrentRoom.getRow(), theCurrentRoom.getCol(),
+                theDungeon.hasSeed(), theDungeon.hasSeed() ? theDungeon.getSeed() : 0L, thePlayTimeMillis,
+                base, changes, null);
+    }
+
+    /**
+     * Copies the walls and contents of every room of a dungeon. Every room of a lazily loaded
+     * dungeon is read.
+     *
+     * @param theDungeon The dungeon to copy
+     * @return Every room of the dungeon
+     */
+    static Layout captureLayout(final Dungeon theDungeon) {
+        final int rows = theDungeon.getRowSize();
+        final int cols = theDungeon.getColSize();
+        final int roomCount = rows * cols;
+        final byte[] walls = new byte[wallBytes(roomCount)];
+        final byte[] visited = new byte[visitedBytes(roomCount)];
+        final byte[] looted = new byte[visitedBytes(roomCount)];
+        final List<RoomRecord> records = new ArrayList<>();
+        int exitRow = -1;
+        int exitCol = -1;
+
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < cols; col++) {
+                final Room room = theDungeon.getRoom(row, col);
+                final int index = row * cols + col;
+
+                walls[index >> 1] |= (byte) (wallBits(room) << ((index & 1) << 2));
+                if (room.isVisited()) {
+                    visited[index >> 3] |= (byte) (1 << (index & 7));
+                }
+                if (room.isLooted()) {
+                    looted[index >> 3] |= (byte) (1 << (index & 7));
+                }
+                if (room.isExit()) {
+                    exitRow = row;
+                    exitCol = col;
+                }
+
+                final RoomRecord record = captureRecord(room, index);
+                if (record != null) {
+                    records.add(record);
+                }
+            }
+        }
+        return new Layout(exitRow, exitCol, walls, visited, looted, records);
+    }
+
+    /**
+     * Copies the contents of a room.
+     *
+     * @param theRoom The room to copy
+     * @param theIndex The room's index, row * columns + column
+     * @return The room's contents, or null if it holds nothing worth saving
+     */
+    private static RoomRecord captureRecord(final Room theRoom, final int theIndex) {
+        final Pillar pillar = theRoom.getPillar();
+        if (!theRoom.hasPit() && pillar == null && !theRoom.hasItems() && !theRoom.hasMonster()) {
+            return null;
+        }
+        return new RoomRecord(theIndex, theRoom.hasPit(),
+                pillar == null ? -1 : pillar.getPillarType().ordinal(),
+                captureItems(theRoom.getAllItems()),
+                theRoom.hasMonster() ? captureMonster(theRoom.getMonster()) : null);
+    }
+
+    /**
+     * Returns every room of the snapshot, building them from the base and the changes the first time.
+     *
+     * @return The snapshot's rooms
+     */
+    private Layout layout() {
+        Layout layout = myLayout;
+        if (layout == null) {
+            synchronized (this) {
+                layout = myLayout;
+                if (layout == null) {
+                    layout = applyChanges(myBase.layout(), myChanges);
+                    myLayout = layout;
+                }
+            }
+        }
+        return layout;
+    }
+
+    /**
+     * Lays changed rooms over the rooms of a base.
+     *
+     * @param theBase Every room of the base
+     * @param theChanges Rooms changed since, in room index order
+     * @return Every room as it is after the changes
+     */
+    private static Layout applyChanges(final Layout theBase, final List<RoomChange> theChanges) {
+        final byte[] visited = theBase.visited().clone();
+        final byte[] looted = theBase.looted().clone();
+        final List<RoomRecord> records = new ArrayList<>(theBase.records().size() + theChanges.size());
+
+        int next = 0;
+        for (final RoomRecord record : theBase.records()) {
+            while (next < theChanges.size() && theChanges.get(next).index() < record.index()) {
+                addChange(records, visited, looted, theChanges.get(next++));
+            }
+            if (next < theChanges.size() && theChanges.get(next).index() == record.index()) {
+                addChange(records, visited, looted, theChanges.get(next++));
+            } else {
+                records.add(record);
+            }
+        }
+        while (next < theChanges.size()) {
+            addChange(records, visited, looted, theChanges.get(next++));
+        }
+        return new Layout(theBase.exitRow(), theBase.exitCol(), theBase.walls(), visited, looted, records);
+    }
+
+    /**
+     * Writes a changed room into packed flags and a list of records.
+     */
+    private static void addChange(final List<RoomRecord> theRecords, final byte[] theVisited,
+                                  final byte[] theLooted, final RoomChange theChange) {
+        final int index = theChange.index();
+        final byte bit = (byte) (1 << (index & 7));
+        theVisited[index >> 3] = (byte) (theChange.visited() ? theVisited[index >> 3] | bit
+                : theVisited[index >> 3] & ~bit);
+        theLooted[index >> 3] = (byte) (theChange.looted() ? theLooted[index >> 3] | bit
+                : theLooted[index >> 3] & ~bit);
+        if (theChange.contents() != null) {
+            theRecords.add(theChange.contents());
+        }
+    }
+
+    /**
+     * Builds new game settings from the snapshot.
+     *
+     * @return The saved game settings
+     */
+    GameSettings toGameSettings() {
+        return new GameSettings(myPlayerName, myHeroType, myDifficulty);
+    }
+
+    /**
+     * Builds a new hero from the snapshot, including its inventory.
+     *
+     * @return The saved hero
+     */
+    Hero toHero() {
+        return toHero(myHero);
+    }
+
+    /**
+     * Builds a new hero from its saved state, including its inventory.
+     *
+     * @param theHero The saved hero
+     * @return A new hero with the saved stats, health and inventory
+     */
+    static Hero toHero(final HeroState theHero) {
+        final HeroState s = theHero;
+        final String name = HERO_TYPES[s.type()];
+        final Hero hero = switch (s.type()) {
+            case 0 -> new Warrior(name, s.maxHp(), s.attackSpeed(), s.damageMin(), s.damageMax(),
+                    s.hitChance(), s.blockChance());
+            case 1 -> new Priestess(name, s.maxHp(), s.attackSpeed(), s.damageMin(), s.damageMax(),
+                    s.hitChance(), s.blockChance());
+            default -> new Thief(name, s.maxHp(), s.attackSpeed(), s.damageMin(), s.damageMax(),
+                    s.hitChance(), s.blockChance());
+        };
+        hero.takeDamage(s.maxHp() - s.hp());
+
+        final List<Item> inventory = new ArrayList<>(s.inventory().size());
+        for (final ItemState item : s.inventory()) {
+            inventory.add(toItem(item));
+        }
+        hero.addToInventory(inventory);
+        return hero;
+    }
+
+    /**
+     * Builds a new dungeon from the snapshot. A seed-only snapshot regenerates the dungeon
+     * from its seed and replays the saved changes. Otherwise no rooms, items, pits or
+     * monsters are randomly generated; everything comes from the saved data.
+     *
+     * @return The saved dungeon
+     * @throws IllegalArgumentException if the regenerated dungeon does not match the save.
+     */
+    Dungeon toDungeon() {
+        final Layout layout = layout();
+        if (layout.walls() == null) {
+            return regenerateDungeon();
+        }
+
+        final Cell[][] grid = new Cell[myRows][myCols];
+
+        for (int row = 0; row < myRows; row++) {
+            for (int col = 0; col < myCols; col++) {
+                final int index = row * myCols + col;
+                final String type;
+                if (row == myEntranceRow && col == myEntranceCol) {
+                    type = IRoom.PROPERTY_ENTRANCE;
+                } else if (row == myExitRow && col == myExitCol) {
+                    type = IRoom.PROPERTY_EXIT;
+                } else {
+                    type = IRoom.PROPERTY_NORMAL;
+                }
+                grid[row][col] = toRoom(type, row, col, getWallBits(index), isVisited(index), isLooted(index));
+            }
+        }
+
+        for (final RoomRecord record : layout.records()) {
+            applyRecord((Room) grid[record.index() / myCols][record.index() % myCols], record);
+        }
+
+        final CellFactory factory = new RoomFactory(myEntranceRow, myEntranceCol,
+                Math.max(myExitRow, 0), Math.max(myExitCol, 0));
+        final Dungeon dungeon = new Dungeon(new DungeonMaze(grid, factory), myRows, myCols,
+                myEntranceRow, myEntranceCol, mySeeded, mySeed);
+        dungeon.setBase(layout);
+        return dungeon;
+    }
+
+    /**
+     * Regenerates the dungeon from the seed, then replays what the player changed:
+     * visited rooms, looted rooms and monsters.
+     *
+     * @return The saved dungeon
+     * @throws IllegalArgumentException if the regenerated dungeon does not match the save.
+     */
+    private Dungeon regenerateDungeon() {
+        final Dungeon dungeon = new Dungeon(myRows, myCols, mySeed);
+        if (dungeon.getEntranceRow() != myEntranceRow || dungeon.getEntranceCol() != myEntranceCol
+                || (myExitRow >= 0 && !dungeon.getRoom(myExitRow, myExitCol).isExit())) {
+            throw new IllegalArgumentException("The dungeon generated from the seed does not match the save.");
+        }
+
+        for (int row = 0; row < myRows; row++) {
+            for (int col = 0; col < myCols; col++) {
+                final int index = row * myCols + col;
+                final Room room = dungeon.getRoom(row, col);
+                if (isVisited(index)) {
+                    room.setVisited(true);
+                }
+                if (isLooted(index)) {
+                    room.collectAllItems(); // discard what the player already picked up
+                }
+            }
+        }
+
+        for (final RoomRecord record : layout().records()) {
+            if (record.monster() != null) {
+                dungeon.getRoom(record.index() / myCols, record.index() % myCols)
+                        .setMonster(toMonster(record.monster()));
+            }
+        }
+        return dungeon;
+    }
+
+    // Accessors used by SaveCodec
+
+    String getPlayerName() {return myPlayerName;}
+
+    String getHeroType() {return myHeroType;}
+
+    String getDifficulty() {return myDifficulty;}
+
+    HeroState getHero() {return myHero;}
+
+    boolean isSuperVision() {return mySuperVision;}
+
+    int getSuperVisionCounter() {return mySuperVisionCounter;}
+
+    int getRows() {return myRows;}
+
+    int getCols() {return myCols;}
+
+    int getEntranceRow() {return myEntranceRow;}
+
+    int getEntranceCol() {return myEntranceCol;}
+
+    int getExitRow() {return myExitRow;}
+
+    int getExitCol() {return myExitCol;}
+
+    int getCurrentRow() {return myCurrentRow;}
+
+    int getCurrentCol() {return myCurrentCol;}
+
+    List<RoomRecord> getRooms() {return layout().records();}
+
+    boolean hasSeed() {return mySeeded;}
+
+    long getSeed() {return mySeed;}
+
+    long getPlayTimeMillis() {return myPlayTimeMillis;}
+
+    /**
+     * Indicates whether this snapshot only stores the seed and the player's changes.
+     * @return True if the snapshot holds no walls or room contents
+     */
+    boolean isSeedOnly() {return myBase == null && myLayout.walls() == null;}
+
+    /**
+     * Returns a copy of the packed wall bits.
+     * @return Four bits per room, two rooms per byte
+     * @throws IllegalStateException if the snapshot is seed-only
+     */
+    byte[] getWalls() {
+        final byte[] walls = layout().walls();
+        if (walls == null) {
+            throw new IllegalStateException("A seed-only snapshot has no walls.");
+        }
+        return walls.clone();
+    }
+
+    /**
+     * Returns a copy of the packed visited bits.
+     * @return One bit per room, eight rooms per byte
+     */
+    byte[] getVisited() {return layout().visited().clone();}
+
+    /**
+     * Returns a copy of the packed looted bits.
+     * @return One bit per room, eight rooms per byte
+     */
+    byte[] getLooted() {return layout().looted().clone();}
+
+    /**
+     * Returns the wall bits of one room.
+     * @param theIndex Room index, row * columns + column
+     * @return A combination of the WALL constants
+     */
+    int getWallBits(final int theIndex) {
+        return (layout().walls()[theIndex >> 1] >> ((theIndex & 1) << 2)) & 0xF;
+    }
+
+    /**
+     * Returns whether the player has visited a room.
+     * @param theIndex Room index, row * columns + column
+     * @return True if the room has been visited
+     */
+    boolean isVisited(final int theIndex) {
+        return (layout().visited()[theIndex >> 3] & (1 << (theIndex & 7))) != 0;
+    }
+
+    /**
+     * Returns whether the player has collected the items of a room.
+     * @param theIndex Room index, row * columns + column
+     * @return True if the room has been looted
+     */
+    boolean isLooted(final int theIndex) {
+        return (layout().looted()[theIndex >> 3] & (1 << (theIndex & 7))) != 0;
+    }
+
+    /**
+     * Number of bytes needed to pack the walls of the given number of rooms.
+     * @param theRoomCount Number of rooms
+     * @return Byte count
+     */
+    static int wallBytes(final int theRoomCount) {
+        return (theRoomCount + 1) >> 1;
+    }
+
+    /**
+     * Number of bytes needed to pack the visited flags of the given number of rooms.
+     * @param theRoomCount Number of rooms
+     * @return Byte count
+     */
+    static int visitedBytes(final int theRoomCount) {
+        return (theRoomCount + 7) >> 3;
+    }
+
+    /**
+     * Number of hero types that can be saved.
+     * @return Hero type count
+     */
+    static int heroTypeCount() {
+        return HERO_TYPES.length;
+    }
+
+    /**
+     * Number of monster types that can be saved.
+     * @return Monster type count
+     */
+    static int monsterTypeCount() {
+        return MONSTER_TYPES.length;
+    }
+
+    /**
+     * Builds an empty room from its saved walls and flags.
+     * @param theType Entrance, exit or normal room type
+     * @param theRow Row of the room
+     * @param theCol Column of the room
+     * @param theWallBits A combination of the WALL constants
+     * @param theVisited Whether the player has visited the room
+     * @param theLooted Whether the player has collected the room's items
+     * @return A new room without contents
+     */
+    static Room toRoom(final String theType, final int theRow, final int theCol, final int theWallBits,
+                       final boolean theVisited, final boolean theLooted) {
+        final Room room = new Room(theType, theRow, theCol,
+                (theWallBits & WALL_LEFT) != 0, (theWallBits & WALL_RIGHT) != 0,
+                (theWallBits & WALL_TOP) != 0, (theWallBits & WALL_BOTTOM) != 0, null);
+        room.markTraversalVisit();
+        room.setVisited(theVisited);
+        room.setLooted(theLooted);
+        return room;
+    }
+
+    /**
+     * Places the saved contents of a room into it.
+     * @param theRoom The room to fill
+     * @param theRecord The room's saved contents
+     */
+    static void applyRecord(final Room theRoom, final RoomRecord theRecord) {
+        theRoom.setPit(theRecord.pit());
+        if (theRecord.pillar() >= 0) {
+            theRoom.setPillar(new Pillar(PillarType.values()[theRecord.pillar()]));
+        }
+        for (final ItemState item : theRecord.items()) {
+            theRoom.addItem(toItem(item));
+        }
+        if (theRecord.monster() != null) {
+            theRoom.setMonster(toMonster(theRecord.monster()));
+        }
+    }
+
+    /**
+     * Converts a saved item back into an item.
+     * @param theItem The saved item
+     * @return A new item of the saved kind
+     */
+    static Item toItem(final ItemState theItem) {
+        return switch (theItem.kind()) {
+            case ITEM_HEALTH_POTION -> new HealthPotion(theItem.value());
+            case ITEM_VISION_POTION -> new VisionPotion();
+            case ITEM_PILLAR -> new Pillar(PillarType.values()[theItem.value()]);
+            default -> throw new IllegalArgumentException("Unknown item kind: " + theItem.kind());
+        };
+    }
+
+    /**
+     * Converts a saved monster back into a monster.
+     * @param theMonster The saved monster
+     * @return A new monster with the saved stats and health
+     */
+    static Monster toMonster(final MonsterState theMonster) {
+        final MonsterState s = theMonster;
+        final String name = MONSTER_TYPES[s.type()];
+        final Monster monster = switch (s.type()) {
+            case 0 -> new Ogre(name, s.maxHp(), s.attackSpeed(), s.damageMin(), s.damageMax(),
+                    s.hitChance(), s.healChance(), s.minHeal(), s.maxHeal());
+            case 1 -> new Gremlin(name, s.maxHp(), s.attackSpeed(), s.damageMin(), s.damageMax(),
+                    s.hitChance(), s.healChance(), s.minHeal(), s.maxHeal());
+            default -> new Witch(name, s.maxHp(), s.attackSpeed(), s.damageMin(), s.damageMax(),
+                    s.hitChance(), s.healChance(), s.minHeal(), s.maxHeal());
+        };
+        monster.takeDamage(s.maxHp() - s.hp());
+        return monster;
+    }
+
+    /**
+     * Copies a hero's state.
+     * @param theHero The hero to copy
+     * @return The hero's fixed-width state
+     */
+    static HeroState captureHero(final Hero theHero) {
+        final byte type;
+        if (theHero instanceof Warrior) {
+            type = 0;
+        } else if (theHero instanceof Priestess) {
+            type = 1;
+        } else if (theHero instanceof Thief) {
+            type = 2;
+        } else {
+            throw new IllegalArgumentException("Unsupported hero type: " + theHero.getClass().getSimpleName());
+        }
+
+        return new HeroState(type, theHero.getHP(), theHero.getMaxHP(), theHero.getMyAttackSpeed(),
+                theHero.getDamageRangeMin(), theHero.getDamageRangeMax(), theHero.getMyHitChance(),
+                theHero.getBlockChance(), captureItems(theHero.getInventory()));
+    }
+
+    /**
+     * Copies a monster's state.
+     * @param theMonster The monster to copy
+     * @return The monster's fixed-width state
+     */
+    static MonsterState captureMonster(final Monster theMonster) {
+        final byte type;
+        if (theMonster instanceof Ogre) {
+            type = 0;
+        } else if (theMonster instanceof Gremlin) {
+            type = 1;
+        } else if (theMonster instanceof Witch) {
+            type = 2;
+        } else {
+            throw new IllegalArgumentException("Unsupported monster type: "
+                    + theMonster.getClass().getSimpleName());
+        }
+
+        return new MonsterState(type, theMonster.getHP(), theMonster.getMaxHP(), theMonster.getMyAttackSpeed(),
+                theMonster.getDamageRangeMin(), theMonster.getDamageRangeMax(), theMonster.getMyHitChance(),
+                theMonster.getHealChance(), theMonster.getMinHealPoints(), theMonster.getMaxHealPoints());
+    }
+
+    /**
+     * Copies a list of items.
+     * @param theItems The items to copy
+     * @return The saved form of each item, in order
+     */
+    static List<ItemState> captureItems(final List<Item> theItems) {
+        final List<ItemState> items = new ArrayList<>(theItems.size());
+        for (final Item item : theItems) {
+            if (item instanceof HealthPotion potion) {
+                items.add(new ItemState(ITEM_HEALTH_POTION, potion.getHealAmount()));
+            } else if (item instanceof VisionPotion) {
+                items.add(new ItemState(ITEM_VISION_POTION, 0));
+            } else if (item instanceof Pillar pillar) {
+                items.add(new ItemState(ITEM_PILLAR, pillar.getPillarType().ordinal()));
+            } else {
+                throw new IllegalArgumentException("Unsupported item type: " + item.getClass().getSimpleName());
+            }
+        }
+        return items;
+    }
+
+    /**
+     * Packs the walls of a room into four bits.
+     * @param theRoom The room to read
+     * @return A combination of the WALL constants
+     */
+    static int wallBits(final Room theRoom) {
+        int bits = 0;
+        if (theRoom.hasLeftWall()) {
+            bits |= WALL_LEFT;
+        }
+        if (theRoom.hasRightWall()) {
+            bits |= WALL_RIGHT;
+        }
+        if (theRoom.hasTopWall()) {
+            bits |= WALL_TOP;
+        }
+        if (theRoom.hasBottomWall()) {
+            bits |= WALL_BOTTOM;
+        }
+        return bits;
+    }
+}
@@ -13,7 +13,12 @@ package com.swagteam360.dungeonadventure.model;
  */
 public class HealthPotion implements Item {
 
-    private static final String NAME = "Health Potion";
+    /**
+     * Pinned so that games saved with Java serialization keep loading.
+     */
+    private static final long serialVersionUID = 9203383700270948923L;
+
+    static final String NAME = "Health Potion";
 
     /**
      * Represents the number of health points (HP) that this health potion can restore.
@@ -38,13 +43,14 @@ public class HealthPotion implements Item {
      * Applies the effect of the HealthPotion by returning a description of the
      * health points (HP) restored.
      *
+     * @param theTarget The game the potion is used in.
      * @return A string indicating the amount of HP gained when the potion is consumed.
      */
     @Override
-    public String buff() {
-        Hero player = GameManager.getInstance().getHero();
+    public String buff(final ItemTarget theTarget) {
+        Hero player = theTarget.getHero();
         player.heal(myHealAmount);
-        GameManager.getInstance().sendHeroHealthUpdate(); // manually send a health update
+        theTarget.sendHeroHealthUpdate(); // manually send a health update
         player.removeFromInventory(this);
 
         return "You gain " + myHealAmount + " HP!";
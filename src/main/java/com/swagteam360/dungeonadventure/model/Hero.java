@@ -4,6 +4,7 @@ import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
+import java.util.random.RandomGenerator;
 
 /**
  * The Hero abstract class represents the possible player characters and their
@@ -16,6 +17,11 @@ import java.util.Random;
  */
 public abstract class Hero extends DungeonCharacter implements Serializable {
 
+    /**
+     * Pinned so that games saved with Java serialization keep loading.
+     */
+    private static final long serialVersionUID = -7328634115362483052L;
+
     /**
      * Field myBlockChance represents a percent chance that a hero might block a
      * receiving attack.
@@ -62,6 +68,15 @@ public abstract class Hero extends DungeonCharacter implements Serializable {
         myInventory.addAll(theItems);
     }
 
+    /**
+     * Adds one item to the Hero's inventory.
+     *
+     * @param theItem The item to be added to the Hero's inventory.
+     */
+    void addItem(final Item theItem) {
+        myInventory.add(theItem);
+    }
+
     /**
      * Returns a copy of the Hero's inventory.
      *
@@ -91,16 +106,43 @@ public abstract class Hero extends DungeonCharacter implements Serializable {
      * @return The pillar count from the Hero's inventory.
      */
     public int getPillarCount() {
-        return (int) myInventory.stream().filter(item -> item instanceof Pillar).count();
+        // Counted in a plain loop, since it is asked after every move of every simulated game
+        int count = 0;
+        for (final Item item : myInventory) {
+            if (item instanceof Pillar) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Gets the Hero ready for a new game: the inventory is emptied and the hit points are
+     * restored to their maximum. The Hero keeps the stats it was created with.
+     */
+    void restart() {
+        myInventory.clear();
+        heal(getMaxHP() - getHP());
+    }
+
+    /**
+     * Performs the Hero's special move against a monster.
+     *
+     * @param theMonster The monster in which the special move may be performed on.
+     * @return The results of the special move.
+     */
+    public BattleOutcome specialMove(final Monster theMonster) {
+        return specialMove(theMonster, new Random());
     }
 
     /**
      * Abstract method that Hero subclasses must implement. Each Hero has a special move performed against a monster.
      *
      * @param theMonster The monster in which the special move may be performed on.
-     * @return A String that represents the results of the special move.
+     * @param theRandom source of randomness for the special move's rolls.
+     * @return The results of the special move.
      */
-    public abstract String specialMove(final Monster theMonster);
+    public abstract BattleOutcome specialMove(final Monster theMonster, final RandomGenerator theRandom);
 
     /**
      * Heroes have a chance to block an attack. This method handles that chance and returns whether a random int number
@@ -109,7 +151,25 @@ public abstract class Hero extends DungeonCharacter implements Serializable {
      * @return True if a block was successful, otherwise false.
      */
     public boolean block() {
-        Random rand = new Random();
-        return rand.nextInt(100) < myBlockChance;
+        return block(new Random());
+    }
+
+    /**
+     * Rolls for a block with the given source of randomness.
+     *
+     * @param theRandom source of randomness for the roll.
+     * @return true if the attack is blocked.
+     */
+    public boolean block(final RandomGenerator theRandom) {
+        return theRandom.nextInt(100) < myBlockChance;
+    }
+
+    /**
+     * Returns the Hero's chance to block an attack, as a whole number percentage.
+     *
+     * @return The block chance.
+     */
+    int getBlockChance() {
+        return myBlockChance;
     }
 }
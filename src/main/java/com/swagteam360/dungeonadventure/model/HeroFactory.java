@@ -1,8 +1,5 @@
 package com.swagteam360.dungeonadventure.model;
 
-import java.util.List;
-import java.util.Map;
-
 /**
  * The HeroFactory class is responsible for creating instances of the
  * Hero type. Based on the provided Hero name, this factory determines
@@ -32,27 +29,39 @@ public class HeroFactory {
      */
     public static Hero createHero(String theHeroName) {
 
-        Hero theHero = null;
-
-        //utilizes singleton design pattern to only call upon one instance of Database class.
-        Map<String, Object> data = Database.getInstance().getHeroByName(theHeroName);
+        //stats come from the in-memory catalog, which is loaded from the database once.
+        final HeroStats stats = StatCatalog.getInstance().getHeroStats(theHeroName);
 
         //checking for underflow
-        if (data == null) {
+        if (stats == null) {
             System.err.println("Hero not found: " + theHeroName);
-            return theHero;
+            return null;
         }
 
-        //write check for if theHeroName == name from map?
-        String name = (String) data.get("Name");
-        int healthPoints = (int) data.get("HealthPoints");
-        int attackSpeed = (int) data.get("AttackSpeed");
-        int damageRangeMin = (int) data.get("DamageRangeMin");
-        int damageRangeMax = (int) data.get("DamageRangeMax");
-        int hitChance = (int) data.get("HitChance");
-        int blockChance = (int) data.get("BlockChance");
+        return createHero(stats);
 
+    }
 
+    /**
+     * Creates a Hero from a row of stats, which need not be in the catalog. Used by
+     * simulations that try out stats before they are put in the database.
+     *
+     * @param theStats the stats of the Hero; the name picks the type.
+     * @return a Hero with the given stats, or null if the name does not match any
+     *         predefined Hero type.
+     */
+    static Hero createHero(final HeroStats theStats) {
+
+        Hero theHero = null;
+        final HeroStats stats = theStats;
+
+        final String name = stats.name();
+        final int healthPoints = stats.healthPoints();
+        final int attackSpeed = stats.attackSpeed();
+        final int damageRangeMin = stats.damageRangeMin();
+        final int damageRangeMax = stats.damageRangeMax();
+        final int hitChance = stats.hitChance();
+        final int blockChance = stats.blockChance();
 
         //creating Hero
         if (name.equalsIgnoreCase("warrior")) {
@@ -0,0 +1,28 @@
+package com.swagteam360.dungeonadventure.model;
+
+import java.util.Objects;
+
+/**
+ * The stats of one hero type, as stored in the HeroStats table of the database.
+ *
+ * @param name The hero type, such as "Warrior"
+ * @param healthPoints Starting and maximum health points
+ * @param attackSpeed Number of attacks per turn, before the monster's speed is taken into account
+ * @param damageRangeMin Least damage an attack deals
+ * @param damageRangeMax Most damage an attack deals
+ * @param hitChance Chance to hit, as a percentage
+ * @param blockChance Chance to block an attack, as a percentage
+ *
+ * @author agent
+ * @version 1.0 (19 October 2026)
+ */
+public record HeroStats(String name, int healthPoints, int attackSpeed, int damageRangeMin, int damageRangeMax,
+                        int hitChance, int blockChance) {
+
+    /**
+     * Checks that the hero type has a name.
+     */
+    public HeroStats {
+        Objects.requireNonNull(name);
+    }
+}
@@ -1,5 +1,7 @@
 package com.swagteam360.dungeonadventure.model;
 
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Set;
 
@@ -144,5 +146,21 @@ public interface IRoom {
      */
     record RoomViewModel(boolean leftWall, boolean rightWall, boolean topWall,
                                 boolean bottomWall, String entranceExit, boolean hasPit, Pillar pillar,
-                                List<Item> items, boolean visited, int row, int col, String roomString) { }
+                                List<Item> items, boolean visited, int row, int col, String roomString) {
+
+        /**
+         * Get the directions the player can move in from this room.
+         * @return A set of directions not blocked by a wall.
+         */
+        public Set<Direction> availableDirections() {
+            final Set<Direction> directions = EnumSet.noneOf(Direction.class);
+
+            if (!topWall) { directions.add(Direction.NORTH);}
+            if (!bottomWall) { directions.add(Direction.SOUTH);}
+            if (!leftWall) { directions.add(Direction.WEST);}
+            if (!rightWall) { directions.add(Direction.EAST);}
+
+            return Collections.unmodifiableSet(directions);
+        }
+    }
 }
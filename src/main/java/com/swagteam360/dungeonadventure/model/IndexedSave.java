@@ -0,0 +1,291 @@
+package com.swagteam360.dungeonadventure.model;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The IndexedSave class is a save file in the {@link SaveFormat#INDEXED} format that has been
+ * opened for lazy loading. The header (game settings, hero, dungeon size and position) is read
+ * when the file is opened; everything else stays in a memory-mapped region of the file.
+ * <p>
+ * The dungeon returned by {@link #toDungeon()} starts out without any rooms. Each room is decoded
+ * from the mapped region the first time it is requested, which is what this class does as the
+ * dungeon's {@link CellFactory}. Loading a game therefore only costs the rooms the player can see,
+ * no matter how large the dungeon is. The file never changes once it is written, so it is also the
+ * dungeon's {@link GameSnapshot.Base}: snapshots of the loaded game read unchanged rooms from it.
+ *
+ * @author agent
+ * @version 1.0 (19 October 2026)
+ */
+final class IndexedSave implements CellFactory, GameSnapshot.Base {
+
+    /**
+     * Settings, hero and dungeon information read from the start of the file.
+     */
+    private final SaveCodec.Header myHeader;
+
+    /**
+     * The whole save file, mapped into memory. Only absolute reads are used, so the
+     * buffer's position never changes.
+     */
+    private final ByteBuffer myBuffer;
+
+    /** Number of rooms in the dungeon. */
+    private final int myRoomCount;
+    /** Where the packed wall bits start. */
+    private final int myWallsOffset;
+    /** Where the packed visited bits start. */
+    private final int myVisitedOffset;
+    /** Where the packed looted bits start. */
+    private final int myLootedOffset;
+    /** Where the block index starts. */
+    private final int myBlockIndexOffset;
+    /** Where the first room record starts. Block index entries count from here. */
+    private final int myRecordsOffset;
+
+    /**
+     * Locates every section of the file and checks that the block index fits the file.
+     *
+     * @param theHeader The header, already read from the file.
+     * @param theBuffer The whole file.
+     * @param theHeaderSize Number of bytes the header takes up.
+     * @throws IllegalArgumentException if the file is truncated or the block index is corrupt.
+     */
+    IndexedSave(final SaveCodec.Header theHeader, final ByteBuffer theBuffer, final int theHeaderSize) {
+        myHeader = theHeader;
+        myBuffer = theBuffer;
+        myRoomCount = theHeader.rows() * theHeader.cols();
+
+        myWallsOffset = theHeaderSize;
+        myVisitedOffset = myWallsOffset + GameSnapshot.wallBytes(myRoomCount);
+        myLootedOffset = myVisitedOffset + GameSnapshot.visitedBytes(myRoomCount);
+        myBlockIndexOffset = myLootedOffset + GameSnapshot.visitedBytes(myRoomCount);
+        final int recordCountOffset = myBlockIndexOffset + SaveCodec.blockCount(myRoomCount) * Integer.BYTES;
+        myRecordsOffset = recordCountOffset + Integer.BYTES;
+
+        if (myRecordsOffset > theBuffer.capacity()) {
+            throw new IllegalArgumentException("Save file is truncated.");
+        }
+        final int recordCount = theBuffer.getInt(recordCountOffset);
+        if (recordCount < 0 || recordCount > myRoomCount) {
+            throw new IllegalArgumentException("Invalid room record count: " + recordCount);
+        }
+
+        int previous = 0;
+        for (int block = 0; block < SaveCodec.blockCount(myRoomCount); block++) {
+            final int offset = blockOffset(block);
+            if (offset < previous || myRecordsOffset + (long) offset > theBuffer.capacity()) {
+                throw new IllegalArgumentException("Invalid block index entry: " + offset);
+            }
+            previous = offset;
+        }
+    }
+
+    /**
+     * Decodes the saved room at a position.
+     *
+     * @throws UncheckedIOException if the room's record turns out to be corrupt.
+     */
+    @Override
+    public Cell createCell(final int theRow, final int theCol) {
+        final int index = theRow * myHeader.cols() + theCol;
+        final String type;
+        if (theRow == myHeader.entranceRow() && theCol == myHeader.entranceCol()) {
+            type = IRoom.PROPERTY_ENTRANCE;
+        } else if (theRow == myHeader.exitRow() && theCol == myHeader.exitCol()) {
+            type = IRoom.PROPERTY_EXIT;
+        } else {
+            type = IRoom.PROPERTY_NORMAL;
+        }
+
+        final int walls = (myBuffer.get(myWallsOffset + (index >> 1)) >> ((index & 1) << 2)) & 0xF;
+        final Room room = GameSnapshot.toRoom(type, theRow, theCol, walls,
+                isBitSet(myVisitedOffset, index), isBitSet(myLootedOffset, index));
+
+        final GameSnapshot.RoomRecord record = findRecord(index);
+        if (record != null) {
+            GameSnapshot.applyRecord(room, record);
+        }
+        return room;
+    }
+
+    @Override
+    public int getEntranceRow() {
+        return myHeader.entranceRow();
+    }
+
+    @Override
+    public int getEntranceCol() {
+        return myHeader.entranceCol();
+    }
+
+    @Override
+    public int getExitRow() {
+        return myHeader.exitRow();
+    }
+
+    @Override
+    public int getExitCol() {
+        return myHeader.exitCol();
+    }
+
+    /**
+     * Builds new game settings from the header.
+     *
+     * @return The saved game settings
+     */
+    GameSettings toGameSettings() {
+        return new GameSettings(myHeader.name(), myHeader.heroType(), myHeader.difficulty());
+    }
+
+    /**
+     * Builds a new hero from the header, including its inventory.
+     *
+     * @return The saved hero
+     */
+    Hero toHero() {
+        return GameSnapshot.toHero(myHeader.hero());
+    }
+
+    /**
+     * Builds a dungeon whose rooms are read from this save the first time they are needed.
+     * {@link Dungeon#loadPendingRooms(int)} reads the remaining rooms ahead of time.
+     *
+     * @return The saved dungeon
+     */
+    Dungeon toDungeon() {
+        final CellFactory factory = new RoomFactory(myHeader.entranceRow(), myHeader.entranceCol(),
+                Math.max(myHeader.exitRow(), 0), Math.max(myHeader.exitCol(), 0));
+        final Dungeon dungeon = new Dungeon(new DungeonMaze(myHeader.rows(), myHeader.cols(), factory, this),
+                myHeader.rows(), myHeader.cols(), myHeader.entranceRow(), myHeader.entranceCol(),
+                myHeader.seeded(), myHeader.seed());
+        dungeon.setBase(this);
+        return dungeon;
+    }
+
+    /**
+     * Reads the walls, flags and records of every room.
+     *
+     * @throws UncheckedIOException if a room's record turns out to be corrupt.
+     */
+    @Override
+    public GameSnapshot.Layout layout() {
+        final byte[] walls = new byte[GameSnapshot.wallBytes(myRoomCount)];
+        final byte[] visited = new byte[GameSnapshot.visitedBytes(myRoomCount)];
+        final byte[] looted = new byte[GameSnapshot.visitedBytes(myRoomCount)];
+        myBuffer.get(myWallsOffset, walls);
+        myBuffer.get(myVisitedOffset, visited);
+        myBuffer.get(myLootedOffset, looted);
+
+        final int count = myBuffer.getInt(myRecordsOffset - Integer.BYTES);
+        final List<GameSnapshot.RoomRecord> records = new ArrayList<>(count);
+        final DataInputStream in = new DataInputStream(
+                new BufferInputStream(myBuffer, myRecordsOffset, myBuffer.capacity()));
+        try {
+            for (int i = 0; i < count; i++) {
+                records.add(SaveCodec.readRoomRecord(in, myRoomCount));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Corrupt room record in save file.", e);
+        }
+        return new GameSnapshot.Layout(getExitRow(), getExitCol(), walls, visited, looted, records);
+    }
+
+    int getCurrentRow() {return myHeader.currentRow();}
+
+    int getCurrentCol() {return myHeader.currentCol();}
+
+    boolean isSuperVision() {return myHeader.superVision();}
+
+    int getSuperVisionCounter() {return myHeader.superVisionCounter();}
+
+    long getPlayTimeMillis() {return myHeader.playTimeMillis();}
+
+    /**
+     * Finds the record of a room by scanning the records of its block.
+     *
+     * @param theIndex Room index, row * columns + column
+     * @return The room's record, or null if the room is empty
+     */
+    private GameSnapshot.RoomRecord findRecord(final int theIndex) {
+        final int block = theIndex / SaveCodec.BLOCK_ROOMS;
+        final int end = block + 1 < SaveCodec.blockCount(myRoomCount)
+                ? myRecordsOffset + blockOffset(block + 1) : myBuffer.capacity();
+        final BufferInputStream stream = new BufferInputStream(myBuffer, myRecordsOffset + blockOffset(block), end);
+        final DataInputStream in = new DataInputStream(stream);
+
+        try {
+            while (stream.hasRemaining()) {
+                final GameSnapshot.RoomRecord record = SaveCodec.readRoomRecord(in, myRoomCount);
+                if (record.index() >= theIndex) {
+                    return record.index() == theIndex ? record : null;
+                }
+            }
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Corrupt room record in save file.", e);
+        }
+    }
+
+    /**
+     * Reads an entry of the block index.
+     */
+    private int blockOffset(final int theBlock) {
+        return myBuffer.getInt(myBlockIndexOffset + theBlock * Integer.BYTES);
+    }
+
+    /**
+     * Reads one bit of a packed bitmap.
+     */
+    private boolean isBitSet(final int theOffset, final int theIndex) {
+        return (myBuffer.get(theOffset + (theIndex >> 3)) & (1 << (theIndex & 7))) != 0;
+    }
+
+    /**
+     * Reads a range of a shared buffer without changing the buffer's position.
+     */
+    private static final class BufferInputStream extends InputStream {
+
+        /** The buffer to read from. */
+        private final ByteBuffer myBuffer;
+        /** Position of the next byte. */
+        private int myPosition;
+        /** Position just past the last byte that may be read. */
+        private final int myEnd;
+
+        BufferInputStream(final ByteBuffer theBuffer, final int theStart, final int theEnd) {
+            super();
+            myBuffer = theBuffer;
+            myPosition = theStart;
+            myEnd = theEnd;
+        }
+
+        boolean hasRemaining() {
+            return myPosition < myEnd;
+        }
+
+        @Override
+        public int read() {
+            return myPosition < myEnd ? myBuffer.get(myPosition++) & 0xFF : -1;
+        }
+
+        @Override
+        public int read(final byte[] theBytes, final int theOffset, final int theLength) {
+            if (theLength == 0) {
+                return 0;
+            }
+            if (myPosition >= myEnd) {
+                return -1;
+            }
+            final int count = Math.min(theLength, myEnd - myPosition);
+            myBuffer.get(myPosition, theBytes, theOffset, count);
+            myPosition += count;
+            return count;
+        }
+    }
+}
@@ -0,0 +1,366 @@
+package com.swagteam360.dungeonadventure.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * The InitiativeScheduler class runs encounters between any number of heroes and monsters. Each
+ * combatant acts again a fixed time after its last action, shorter the higher its attack speed,
+ * so a character with speed 6 acts three times for every action of a character with speed 2.
+ * This replaces the one-on-one turns and extra attacks of {@link BattleSystem} when there are
+ * more than two combatants.
+ * <p>
+ * The combatants wait in a binary heap ordered by the time of their next action, then by the
+ * order they were added in, so every action costs O(log n). Combatants that die stay in the heap
+ * until their turn comes up and are dropped then. Targets are drawn at random from the living
+ * members of the other side, and every roll comes from one {@link RandomGenerator}, so an
+ * encounter with a seeded generator always plays out the same way.
+ * <p>
+ * When a hero acts, the {@link BattlePolicy} decides between a normal attack and its special move.
+ * When a monster acts, it attacks, the target may block, and the monster may heal, as in a battle.
+ *
+ * @author agent
+ * @version 1.0 (19 October 2026)
+ */
+public final class InitiativeScheduler {
+
+    /**
+     * Time between the actions of a combatant with attack speed 1. It divides evenly by every
+     * speed up to 16, so most intervals are exact.
+     */
+    public static final long TICKS_PER_ACTION = 720_720L;
+
+    /**
+     * The heroes and then the monsters. A combatant's index in this list is its id.
+     */
+    private final List<DungeonCharacter> myCombatants;
+
+    /**
+     * Number of heroes, which come first in the list of combatants.
+     */
+    private final int myHeroCount;
+
+    /**
+     * How the heroes fight.
+     */
+    private final BattlePolicy myPolicy;
+
+    /**
+     * Source of randomness for every roll.
+     */
+    private final RandomGenerator myRandom;
+
+    /**
+     * Time between each combatant's actions, by id.
+     */
+    private final long[] myIntervals;
+
+    /**
+     * Ids of the combatants waiting to act, as a binary heap.
+     */
+    private final int[] myHeap;
+
+    /**
+     * Time of each combatant's next action, by id.
+     */
+    private final long[] myNextAction;
+
+    /**
+     * Number of combatants in the heap.
+     */
+    private int myHeapSize;
+
+    /**
+     * Ids of the living heroes, then the living monsters, in any order within each side.
+     */
+    private final int[] myLiving;
+
+    /**
+     * Position of each living combatant in myLiving, by id.
+     */
+    private final int[] myLivingIndex;
+
+    /**
+     * Number of living heroes.
+     */
+    private int myLivingHeroes;
+
+    /**
+     * Number of living monsters.
+     */
+    private int myLivingMonsters;
+
+    /**
+     * Time of the last action.
+     */
+    private long myTime;
+
+    /**
+     * Number of actions so far.
+     */
+    private long myActions;
+
+    /**
+     * Damage dealt by the heroes so far.
+     */
+    private long myHeroDamage;
+
+    /**
+     * Damage dealt by the monsters so far.
+     */
+    private long myMonsterDamage;
+
+    /**
+     * Sets up an encounter. Every combatant takes its first action one interval after the start.
+     *
+     * @param theHeroes The heroes and their allies.
+     * @param theMonsters The monsters.
+     * @param thePolicy How the heroes fight.
+     * @param theRandom Source of randomness for every roll.
+     * @throws IllegalArgumentException if either side is empty.
+     */
+    public InitiativeScheduler(final List<? extends Hero> theHeroes, final List<? extends Monster> theMonsters,
+                               final BattlePolicy thePolicy, final RandomGenerator theRandom) {
+        if (theHeroes.isEmpty() || theMonsters.isEmpty()) {
+            throw new IllegalArgumentException("Both sides need at least one combatant.");
+        }
+
+        myCombatants = new ArrayList<>(theHeroes.size() + theMonsters.size());
+        myCombatants.addAll(theHeroes);
+        myCombatants.addAll(theMonsters);
+        myHeroCount = theHeroes.size();
+        myPolicy = thePolicy;
+        myRandom = theRandom;
+
+        final int count = myCombatants.size();
+        myIntervals = new long[count];
+        myNextAction = new long[count];
+        myHeap = new int[count];
+        myLiving = new int[count];
+        myLivingIndex = new int[count];
+
+        for (int id = 0; id < count; id++) {
+            final DungeonCharacter combatant = myCombatants.get(id);
+            myIntervals[id] = TICKS_PER_ACTION / Math.max(1, combatant.getMyAttackSpeed());
+            myLivingIndex[id] = -1;
+            if (combatant.getHP() > 0) {
+                addLiving(id);
+                myNextAction[id] = myIntervals[id];
+                push(id);
+            }
+        }
+    }
+
+    /**
+     * Runs the next action, if the encounter is not over.
+     *
+     * @return True if an action was run.
+     */
+    public boolean step() {
+        while (!isOver() && myHeapSize > 0) {
+            final int id = pop();
+            if (myLivingIndex[id] < 0) {
+                continue; // Died while waiting
+            }
+
+            myTime = myNextAction[id];
+            myActions++;
+            if (id < myHeroCount) {
+                heroAction((Hero) myCombatants.get(id));
+            } else {
+                monsterAction((Monster) myCombatants.get(id));
+            }
+
+            myNextAction[id] = myTime + myIntervals[id];
+            push(id);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Runs actions until the encounter is over or the given number of actions have been run.
+     *
+     * @param theMaxActions Most actions to run.
+     * @return A summary of the encounter so far.
+     */
+    public Summary run(final long theMaxActions) {
+        for (long i = 0; i < theMaxActions && step(); i++) {
+            // Each step runs one action
+        }
+        return getSummary();
+    }
+
+    /**
+     * Sums up the encounter so far.
+     *
+     * @return The summary.
+     */
+    public Summary getSummary() {
+        return new Summary(isOver(), myLivingMonsters == 0 && myLivingHeroes > 0, myActions, myTime,
+                myLivingHeroes, myLivingMonsters, myHeroDamage, myMonsterDamage);
+    }
+
+    /**
+     * Checks whether one side has no living combatants left.
+     *
+     * @return True if the encounter is over.
+     */
+    public boolean isOver() {
+        return myLivingHeroes == 0 || myLivingMonsters == 0;
+    }
+
+    /**
+     * Returns the time of the last action, in ticks from the start.
+     *
+     * @return The time of the last action.
+     */
+    public long getTime() {
+        return myTime;
+    }
+
+    /**
+     * Returns the combatant that acts next, without running its action.
+     *
+     * @return The next combatant, or null if the encounter is over.
+     */
+    public DungeonCharacter peekNext() {
+        while (!isOver() && myHeapSize > 0) {
+            if (myLivingIndex[myHeap[0]] >= 0) {
+                return myCombatants.get(myHeap[0]);
+            }
+            pop();
+        }
+        return null;
+    }
+
+    /**
+     * A hero's action against a random living monster.
+     */
+    private void heroAction(final Hero theHero) {
+        final int targetId = randomLiving(myHeroCount, myLivingMonsters);
+        final Monster target = (Monster) myCombatants.get(targetId);
+
+        if (myPolicy.useSpecialMove(theHero, target)) {
+            myHeroDamage += theHero.specialMove(target, myRandom).damage();
+        } else {
+            final int damage = theHero.attack(theHero.getDamageRangeMin(), theHero.getDamageRangeMax(),
+                    theHero.getMyHitChance(), myRandom);
+            if (damage > 0) {
+                target.takeDamage(damage);
+                myHeroDamage += damage;
+            }
+        }
+
+        if (target.getHP() <= 0) {
+            removeLiving(targetId);
+        }
+    }
+
+    /**
+     * A monster's action against a random living hero, followed by its chance to heal.
+     */
+    private void monsterAction(final Monster theMonster) {
+        final int targetId = randomLiving(0, myLivingHeroes);
+        final Hero target = (Hero) myCombatants.get(targetId);
+
+        final int damage = theMonster.attack(theMonster.getDamageRangeMin(), theMonster.getDamageRangeMax(),
+                theMonster.getMyHitChance(), myRandom);
+        if (damage > 0 && !target.block(myRandom)) {
+            target.takeDamage(damage);
+            myMonsterDamage += damage;
+        }
+
+        if (target.getHP() <= 0) {
+            removeLiving(targetId);
+        }
+        if (!isOver()) {
+            theMonster.heal(myRandom);
+        }
+    }
+
+    /**
+     * Draws a living combatant of one side. Heroes start at position 0 of myLiving and
+     * monsters at position myHeroCount.
+     */
+    private int randomLiving(final int theStart, final int theCount) {
+        return myLiving[theStart + myRandom.nextInt(theCount)];
+    }
+
+    private void addLiving(final int theId) {
+        final int position = theId < myHeroCount ? myLivingHeroes++ : myHeroCount + myLivingMonsters++;
+        myLiving[position] = theId;
+        myLivingIndex[theId] = position;
+    }
+
+    private void removeLiving(final int theId) {
+        final int last = theId < myHeroCount ? --myLivingHeroes : myHeroCount + --myLivingMonsters;
+        final int position = myLivingIndex[theId];
+        final int moved = myLiving[last];
+        myLiving[position] = moved;
+        myLivingIndex[moved] = position;
+        myLivingIndex[theId] = -1;
+    }
+
+    /**
+     * Orders combatants by the time of their next action, then by id.
+     */
+    private boolean before(final int theFirst, final int theSecond) {
+        return myNextAction[theFirst] < myNextAction[theSecond]
+                || myNextAction[theFirst] == myNextAction[theSecond] && theFirst < theSecond;
+    }
+
+    private void push(final int theId) {
+        int child = myHeapSize++;
+        while (child > 0) {
+            final int parent = (child - 1) >>> 1;
+            if (!before(theId, myHeap[parent])) {
+                break;
+            }
+            myHeap[child] = myHeap[parent];
+            child = parent;
+        }
+        myHeap[child] = theId;
+    }
+
+    private int pop() {
+        final int top = myHeap[0];
+        final int last = myHeap[--myHeapSize];
+        int parent = 0;
+        while (true) {
+            int child = 2 * parent + 1;
+            if (child >= myHeapSize) {
+                break;
+            }
+            if (child + 1 < myHeapSize && before(myHeap[child + 1], myHeap[child])) {
+                child++;
+            }
+            if (!before(myHeap[child], last)) {
+                break;
+            }
+            myHeap[parent] = myHeap[child];
+            parent = child;
+        }
+        if (myHeapSize > 0) {
+            myHeap[parent] = last;
+        }
+        return top;
+    }
+
+    /**
+     * Sums up an encounter.
+     *
+     * @param finished True if one side has no living combatants left
+     * @param heroesWon True if the monsters are all dead and a hero is alive
+     * @param actions Number of actions run
+     * @param ticks Time of the last action
+     * @param heroesLeft Number of living heroes
+     * @param monstersLeft Number of living monsters
+     * @param heroDamage Damage dealt by the heroes
+     * @param monsterDamage Damage dealt by the monsters
+     */
+    public record Summary(boolean finished, boolean heroesWon, long actions, long ticks, int heroesLeft,
+                          int monstersLeft, long heroDamage, long monsterDamage) {
+    }
+}
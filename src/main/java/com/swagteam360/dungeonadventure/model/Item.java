@@ -19,11 +19,12 @@ public interface Item extends Serializable {
     double GENERATION_PROB = 0.10;
 
     /**
-     * Applies the item's effect or enhancement to the Hero.
+     * Applies the item's effect or enhancement to the Hero of the given game.
      *
+     * @param theTarget The game the item is used in.
      * @return A string representation of the item's effect or enhancement.
      */
-    String buff();
+    String buff(ItemTarget theTarget);
 
     /**
      * Get the name of the potion.
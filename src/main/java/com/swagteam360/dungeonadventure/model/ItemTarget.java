@@ -0,0 +1,30 @@
+package com.swagteam360.dungeonadventure.model;
+
+/**
+ * The game that an {@link Item} is used in. Items apply their effects through this interface
+ * instead of reaching for {@link GameManager}, so the same item works in the JavaFX game and in
+ * a headless {@link GameSession}.
+ *
+ * @author agent
+ * @version 1.0 (19 October 2026)
+ */
+public interface ItemTarget {
+
+    /**
+     * Returns the Hero using the item.
+     *
+     * @return The hero.
+     */
+    Hero getHero();
+
+    /**
+     * Tells listeners of the game that the Hero's health has changed.
+     */
+    void sendHeroHealthUpdate();
+
+    /**
+     * Gives the Hero vision of the surrounding rooms for the next few moves.
+     */
+    void enableSuperVision();
+
+}
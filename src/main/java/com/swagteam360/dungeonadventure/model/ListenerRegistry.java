@@ -0,0 +1,151 @@
+package com.swagteam360.dungeonadventure.model;
+
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The ListenerRegistry class is a replacement for PropertyChangeSupport that only holds
+ * weak references to its listeners. A controller that is thrown away during a scene switch
+ * can therefore be garbage collected even if it never unregistered itself. Collected
+ * listeners are pruned whenever the registry is used, so they stop receiving events.
+ * <p>
+ * The registry is confined to the game-logic thread, like the rest of the model.
+ *
+ * @author agent
+ * @version 1.0 (19 October 2026)
+ */
+final class ListenerRegistry {
+
+    /**
+     * Number of live listeners above which a possible leak is reported. The game view only
+     * needs a handful of listeners, so anything past this points to controllers piling up.
+     */
+    static final int LEAK_WARNING_THRESHOLD = 16;
+
+    /**
+     * The object reported as the source of every fired event.
+     */
+    private final Object mySource;
+
+    /**
+     * Weak references to the registered listeners, in registration order.
+     */
+    private final List<WeakReference<PropertyChangeListener>> myListeners = new ArrayList<>();
+
+    /**
+     * Whether a leak has been reported since the live count last went above the threshold.
+     */
+    private boolean myLeakReported;
+
+    /**
+     * Constructs an empty registry.
+     *
+     * @param theSource The object reported as the source of every fired event.
+     */
+    ListenerRegistry(final Object theSource) {
+        mySource = Objects.requireNonNull(theSource);
+    }
+
+    /**
+     * Registers a listener. Registering the same listener twice has no effect.
+     * A warning is printed once when the number of live listeners grows past the leak
+     * threshold, and again only after it has dropped back and crossed it once more.
+     *
+     * @param theListener The listener to register.
+     */
+    void addPropertyChangeListener(final PropertyChangeListener theListener) {
+        Objects.requireNonNull(theListener);
+        prune();
+
+        for (final WeakReference<PropertyChangeListener> ref : myListeners) {
+            if (ref.get() == theListener) {
+                return;
+            }
+        }
+
+        myListeners.add(new WeakReference<>(theListener));
+
+        if (myListeners.size() > LEAK_WARNING_THRESHOLD && !myLeakReported) {
+            myLeakReported = true;
+            System.err.println("Possible listener leak: more than " + LEAK_WARNING_THRESHOLD
+                    + " live listeners registered.");
+        }
+    }
+
+    /**
+     * Unregisters a listener. Does nothing if the listener was not registered.
+     *
+     * @param theListener The listener to unregister.
+     */
+    void removePropertyChangeListener(final PropertyChangeListener theListener) {
+        myListeners.removeIf(ref -> ref.get() == null || ref.get() == theListener);
+        rearmLeakWarning();
+    }
+
+    /**
+     * Fires an event to every live listener. Like PropertyChangeSupport, nothing is fired
+     * if the old and new values are equal and non-null. Listeners may register or unregister
+     * while the event is being delivered.
+     *
+     * @param thePropertyName The name of the property that changed.
+     * @param theOldValue The old value of the property.
+     * @param theNewValue The new value of the property.
+     */
+    void firePropertyChange(final String thePropertyName, final Object theOldValue, final Object theNewValue) {
+        if (theOldValue != null && theOldValue.equals(theNewValue)) {
+            return;
+        }
+
+        final PropertyChangeEvent event = new PropertyChangeEvent(mySource, thePropertyName,
+                theOldValue, theNewValue);
+
+        // Copy the live listeners first so they may change the registry during delivery.
+        final List<PropertyChangeListener> live = new ArrayList<>(myListeners.size());
+        final Iterator<WeakReference<PropertyChangeListener>> it = myListeners.iterator();
+        while (it.hasNext()) {
+            final PropertyChangeListener listener = it.next().get();
+            if (listener == null) {
+                it.remove();
+            } else {
+                live.add(listener);
+            }
+        }
+        rearmLeakWarning();
+
+        for (final PropertyChangeListener listener : live) {
+            listener.propertyChange(event);
+        }
+    }
+
+    /**
+     * Returns the number of listeners that have not been garbage collected.
+     *
+     * @return The live listener count.
+     */
+    int getLiveListenerCount() {
+        prune();
+        return myListeners.size();
+    }
+
+    /**
+     * Removes the references whose listeners have been garbage collected.
+     */
+    private void prune() {
+        myListeners.removeIf(ref -> ref.get() == null);
+        rearmLeakWarning();
+    }
+
+    /**
+     * Lets the next crossing of the leak threshold be reported once the live count is back under it.
+     */
+    private void rearmLeakWarning() {
+        if (myListeners.size() <= LEAK_WARNING_THRESHOLD) {
+            myLeakReported = false;
+        }
+    }
+}
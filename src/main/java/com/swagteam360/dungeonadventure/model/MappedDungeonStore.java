@@ -0,0 +1,591 @@
+package com.swagteam360.dungeonadventure.model;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The MappedDungeonStore class keeps a dungeon in a fixed-layout file that is memory-mapped
+ * with {@link FileChannel#map}. Every room has a record of the same size at a known position,
+ * so a room that changes is saved by overwriting its record in place. Saving a huge dungeon
+ * therefore costs only the rooms the player changed since the last save, followed by a
+ * {@link MappedByteBuffer#force()}, instead of rewriting the whole file.
+ * <p>
+ * Rooms attached to a store report their changes (visited, looted, monsters spawned or
+ * defeated) with {@link #markDirty(Room)}. The changed records are only written by
+ * {@link #flush(Room)}, so the file keeps the last saved state if the player quits without saving.
+ * <p>
+ * The file starts with a fixed header (magic number "MAPD", version, size, entrance, exit and
+ * seed), followed by the wall bits (four per room) and one record per room. A record holds the
+ * room's flags, pillar, up to {@value #MAX_ROOM_ITEMS} items and a monster slot. The whole file
+ * is mapped at once, which limits it to 2 GB.
+ * <p>
+ * A dungeon loaded from a store uses the store as its {@link GameSnapshot.Base}, so snapshots of the
+ * game read the rooms the player has not changed from the file. Since a flush overwrites records,
+ * it first keeps a copy of each record as it was when the store was opened.
+ * <p>
+ * The header also holds a generation number, which every flush increases once the records are on
+ * disk. The save file written after a flush records the same number, so a save whose room file was
+ * flushed without the save file being written, or the other way around, is caught when it is loaded.
+ *
+ * @author agent
+ * @version 1.0 (19 October 2026)
+ */
+final class MappedDungeonStore implements CellFactory, GameSnapshot.Base {
+
+    /**
+     * Extension added to the name of a save file to get the name of its room file.
+     */
+    static final String ROOMS_EXTENSION = ".rooms";
+
+    /**
+     * Largest number of items a room record can hold. Generated rooms hold at most a
+     * health potion and a vision potion.
+     */
+    static final int MAX_ROOM_ITEMS = 2;
+
+    /** Marks a file as a mapped dungeon. Spells "MAPD" in ASCII. */
+    private static final int MAGIC = 0x4D415044;
+    /** The layout version this class writes and understands. */
+    private static final short VERSION = 1;
+    /** Bytes reserved for the header. The walls start right after it. */
+    private static final int HEADER_BYTES = 64;
+    /** Where the generation is stored in the header. Files written before it was added hold 0 there. */
+    private static final int GENERATION_OFFSET = 39;
+
+    /** Record flag: the room has been visited. */
+    private static final int FLAG_VISITED = 1;
+    /** Record flag: the room's items have been collected. */
+    private static final int FLAG_LOOTED = 1 << 1;
+    /** Record flag: the room has a pit. */
+    private static final int FLAG_PIT = 1 << 2;
+    /** Record flag: the monster slot is in use. */
+    private static final int FLAG_MONSTER = 1 << 3;
+
+    /** Bytes used by one item slot: kind (or -1 if unused) and value. */
+    private static final int ITEM_BYTES = Byte.BYTES + Integer.BYTES;
+    /** Bytes used by the monster slot: type, six int stats, heal chance and heal range. */
+    private static final int MONSTER_BYTES = Byte.BYTES + 6 * Integer.BYTES + Double.BYTES + 2 * Integer.BYTES;
+    /** Bytes used by one room record: flags, pillar, item slots and monster slot. */
+    static final int RECORD_BYTES = 2 * Byte.BYTES + MAX_ROOM_ITEMS * ITEM_BYTES + MONSTER_BYTES;
+    /** A record with no flags, no pillar, empty item slots and no monster. */
+    private static final byte[] EMPTY_RECORD = emptyRecord();
+
+    /** The mapped file, as an absolute path. */
+    private final Path myFile;
+    /** The whole file, mapped read-write. */
+    private final MappedByteBuffer myBuffer;
+
+    /** Number of rows in the dungeon. */
+    private final int myRows;
+    /** Number of columns in the dungeon. */
+    private final int myCols;
+    /** Coordinates of the entrance room. */
+    private final int myEntranceRow;
+    private final int myEntranceCol;
+    /** Coordinates of the exit room, or -1 if the dungeon has none. */
+    private final int myExitRow;
+    private final int myExitCol;
+    /** Whether the generation seed is known. */
+    private final boolean mySeeded;
+    /** The generation seed, if known. */
+    private final long mySeed;
+    /** Where the first room record starts. */
+    private final int myRecordsOffset;
+
+    /** Rooms changed since the last flush, in the order they first changed. */
+    private final List<Room> myDirtyRooms = new ArrayList<>();
+    /** Indices of the rooms in myDirtyRooms. */
+    private final BitSet myDirtyIndices = new BitSet();
+
+    /** The generation of the records on disk. */
+    private long myGeneration;
+    /** Whether the game using this store has been replaced. */
+    private boolean myClosed;
+
+    /**
+     * Records as they were when the store was opened, by room index, kept for the snapshots that
+     * use the store as their base. Null unless a dungeon was loaded from the store.
+     */
+    private Map<Integer, byte[]> myOpenedRecords;
+
+    /**
+     * Maps an existing store file and reads its header.
+     *
+     * @param theFile The file to map.
+     * @throws IOException if the file cannot be mapped or is not a valid store.
+     */
+    private MappedDungeonStore(final Path theFile) throws IOException {
+        myFile = theFile.toAbsolutePath();
+        try (FileChannel channel = FileChannel.open(myFile, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Dungeon file is too large to map.");
+            }
+            myBuffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+        }
+
+        if (myBuffer.capacity() < HEADER_BYTES || myBuffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a mapped dungeon file.");
+        }
+        final short version = myBuffer.getShort(4);
+        if (version != VERSION) {
+            throw new IOException("Unsupported mapped dungeon version: " + version);
+        }
+        myRows = myBuffer.getInt(6);
+        myCols = myBuffer.getInt(10);
+        myEntranceRow = myBuffer.getInt(14);
+        myEntranceCol = myBuffer.getInt(18);
+        myExitRow = myBuffer.getInt(22);
+        myExitCol = myBuffer.getInt(26);
+        mySeeded = myBuffer.get(30) != 0;
+        mySeed = myBuffer.getLong(31);
+        myGeneration = myBuffer.getLong(GENERATION_OFFSET);
+
+        if (myRows <= 0 || myCols <= 0 || fileSize(myRows, myCols) != myBuffer.capacity()) {
+            throw new IOException("Dungeon file does not match its size: " + myRows + "x" + myCols);
+        }
+        if (!inBounds(myEntranceRow, myEntranceCol)
+                || ((myExitRow != -1 || myExitCol != -1) && !inBounds(myExitRow, myExitCol))) {
+            throw new IOException("Room coordinates are outside the dungeon.");
+        }
+        myRecordsOffset = HEADER_BYTES + GameSnapshot.wallBytes(myRows * myCols);
+    }
+
+    /**
+     * Writes a dungeon to a new store file, replacing any existing file in a single step, then maps
+     * it and attaches the dungeon and its rooms to it. Every room of a lazily loaded dungeon is read.
+     * The new file starts at a random generation, so it does not match a save file written for the
+     * file it replaces.
+     *
+     * @param theFile The file to create or replace.
+     * @param theDungeon The dungeon to store.
+     * @return The new store.
+     * @throws IOException if the file cannot be written or mapped.
+     * @throws IllegalStateException if a room holds more than {@value #MAX_ROOM_ITEMS} items.
+     */
+    static MappedDungeonStore create(final Path theFile, final Dungeon theDungeon) throws IOException {
+        final int rows = theDungeon.getRowSize();
+        final int cols = theDungeon.getColSize();
+        if (fileSize(rows, cols) > Integer.MAX_VALUE) {
+            throw new IOException("Dungeon is too large to map: " + rows + "x" + cols);
+        }
+
+        int exitRow = -1;
+        int exitCol = -1;
+        final byte[] walls = new byte[GameSnapshot.wallBytes(rows * cols)];
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < cols; col++) {
+                final Room room = theDungeon.getRoom(row, col);
+                final int index = row * cols + col;
+                walls[index >> 1] |= (byte) (GameSnapshot.wallBits(room) << ((index & 1) << 2));
+                if (room.isExit()) {
+                    exitRow = row;
+                    exitCol = col;
+                }
+            }
+        }
+
+        final int foundExitRow = exitRow;
+        final int foundExitCol = exitCol;
+        SaveCodec.replaceAtomically(theFile, theOut -> {
+            final DataOutputStream out = new DataOutputStream(theOut);
+            out.writeInt(MAGIC);
+            out.writeShort(VERSION);
+            out.writeInt(rows);
+            out.writeInt(cols);
+            out.writeInt(theDungeon.getEntranceRow());
+            out.writeInt(theDungeon.getEntranceCol());
+            out.writeInt(foundExitRow);
+            out.writeInt(foundExitCol);
+            out.writeBoolean(theDungeon.hasSeed());
+            out.writeLong(theDungeon.hasSeed() ? theDungeon.getSeed() : 0L);
+            out.writeLong(ThreadLocalRandom.current().nextLong());
+            out.write(new byte[HEADER_BYTES - out.size()]);
+            out.write(walls);
+            for (int i = 0; i < rows * cols; i++) {
+                out.write(EMPTY_RECORD); // filled in through the mapping below
+            }
+            out.flush();
+        });
+
+        final MappedDungeonStore store = new MappedDungeonStore(theFile);
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < cols; col++) {
+                final Room room = theDungeon.getRoom(row, col);
+                store.writeRecord(row * cols + col, room);
+                room.setStore(store);
+            }
+        }
+        store.myBuffer.force();
+        theDungeon.setStore(store);
+        return store;
+    }
+
+    /**
+     * Opens an existing store file.
+     *
+     * @param theFile The file to open.
+     * @return The opened store.
+     * @throws IOException if the file cannot be mapped or is not a valid store.
+     */
+    static MappedDungeonStore open(final Path theFile) throws IOException {
+        return new MappedDungeonStore(theFile);
+    }
+
+    /**
+     * Returns the room file that belongs to a save file.
+     *
+     * @param theSaveFile The save file holding the rest of the game.
+     * @return The save file's room file, in the same directory.
+     */
+    static Path roomsFileFor(final Path theSaveFile) {
+        return theSaveFile.resolveSibling(theSaveFile.getFileName() + ROOMS_EXTENSION);
+    }
+
+    /**
+     * Builds a dungeon whose rooms are read from this store the first time they are needed,
+     * and attaches it to the store. {@link Dungeon#loadPendingRooms(int)} reads the remaining
+     * rooms ahead of time.
+     *
+     * @return The stored dungeon
+     */
+    Dungeon toDungeon() {
+        final CellFactory factory = new RoomFactory(myEntranceRow, myEntranceCol,
+                Math.max(myExitRow, 0), Math.max(myExitCol, 0));
+        final Dungeon dungeon = new Dungeon(new DungeonMaze(myRows, myCols, factory, this),
+                myRows, myCols, myEntranceRow, myEntranceCol, mySeeded, mySeed);
+        dungeon.setStore(this);
+        synchronized (this) {
+            if (myOpenedRecords == null) {
+                myOpenedRecords = new HashMap<>();
+            }
+        }
+        dungeon.setBase(this);
+        return dungeon;
+    }
+
+    /**
+     * Decodes the stored room at a position and attaches it to this store.
+     *
+     * @throws UncheckedIOException if the room's record is corrupt.
+     */
+    @Override
+    public Cell createCell(final int theRow, final int theCol) {
+        final int index = theRow * myCols + theCol;
+        final String type;
+        if (theRow == myEntranceRow && theCol == myEntranceCol) {
+            type = IRoom.PROPERTY_ENTRANCE;
+        } else if (theRow == myExitRow && theCol == myExitCol) {
+            type = IRoom.PROPERTY_EXIT;
+        } else {
+            type = IRoom.PROPERTY_NORMAL;
+        }
+
+        final int walls = (myBuffer.get(HEADER_BYTES + (index >> 1)) >> ((index & 1) << 2)) & 0xF;
+        final int offset = recordOffset(index);
+        final int flags = myBuffer.get(offset);
+        final Room room = GameSnapshot.toRoom(type, theRow, theCol, walls,
+                (flags & FLAG_VISITED) != 0, (flags & FLAG_LOOTED) != 0);
+
+        try {
+            GameSnapshot.applyRecord(room, readRecord(index, myBuffer, offset));
+        } catch (IllegalArgumentException e) {
+            throw new UncheckedIOException(new IOException("Corrupt room record in dungeon file.", e));
+        }
+        room.setStore(this);
+        return room;
+    }
+
+    @Override
+    public int getEntranceRow() {
+        return myEntranceRow;
+    }
+
+    @Override
+    public int getEntranceCol() {
+        return myEntranceCol;
+    }
+
+    @Override
+    public int getExitRow() {
+        return myExitRow;
+    }
+
+    @Override
+    public int getExitCol() {
+        return myExitCol;
+    }
+
+    int getRows() {return myRows;}
+
+    int getCols() {return myCols;}
+
+    /**
+     * Returns the mapped file.
+     *
+     * @return The file, as an absolute path
+     */
+    Path getFile() {
+        return myFile;
+    }
+
+    /**
+     * Returns the generation of the records on disk, which the save file must match.
+     *
+     * @return The generation
+     */
+    synchronized long getGeneration() {
+        return myGeneration;
+    }
+
+    /**
+     * Remembers that a room has changed, so that it is written by the next flush. Does nothing once
+     * the store is closed.
+     *
+     * @param theRoom A room attached to this store
+     */
+    void markDirty(final Room theRoom) {
+        if (myClosed) {
+            return;
+        }
+        final int index = theRoom.getRow() * myCols + theRoom.getCol();
+        if (!myDirtyIndices.get(index)) {
+            myDirtyIndices.set(index);
+            myDirtyRooms.add(theRoom);
+        }
+    }
+
+    /**
+     * Overwrites the records of every changed room in place and forces them to disk, then increases
+     * the generation and forces it as well.
+     *
+     * @param theCurrentRoom The room the hero is standing in. It is always written, since the
+     *                       health of its monster changes without the room being told.
+     * @throws IllegalStateException if a room holds more than {@value #MAX_ROOM_ITEMS} items,
+     *                               or the store is closed.
+     */
+    synchronized void flush(final Room theCurrentRoom) {
+        if (myClosed) {
+            throw new IllegalStateException("The dungeon file has been closed.");
+        }
+        markDirty(theCurrentRoom);
+        for (final Room room : myDirtyRooms) {
+            final int index = room.getRow() * myCols + room.getCol();
+            if (myOpenedRecords != null && !myOpenedRecords.containsKey(index)) {
+                final byte[] record = new byte[RECORD_BYTES];
+                myBuffer.get(recordOffset(index), record);
+                myOpenedRecords.put(index, record);
+            }
+            writeRecord(index, room);
+        }
+        myDirtyRooms.clear();
+        myDirtyIndices.clear();
+        myBuffer.force();
+
+        myGeneration++;
+        myBuffer.putLong(GENERATION_OFFSET, myGeneration);
+        myBuffer.force();
+    }
+
+    /**
+     * Closes the store once its game has been replaced. Changes that were not flushed are dropped
+     * and later ones are ignored. Snapshots that use the store as their base can still read it; the
+     * file is unmapped once they and the old dungeon are no longer used.
+     */
+    synchronized void close() {
+        myClosed = true;
+        myDirtyRooms.clear();
+        myDirtyIndices.clear();
+    }
+
+    /**
+     * Indicates how many rooms have changed since the last flush.
+     *
+     * @return The number of changed rooms
+     */
+    int getDirtyCount() {
+        return myDirtyRooms.size();
+    }
+
+    /**
+     * Reads every room as it was when the store was opened.
+     *
+     * @throws UncheckedIOException if a room's record is corrupt.
+     */
+    @Override
+    public synchronized GameSnapshot.Layout layout() {
+        final int roomCount = myRows * myCols;
+        final byte[] walls = new byte[GameSnapshot.wallBytes(roomCount)];
+        final byte[] visited = new byte[GameSnapshot.visitedBytes(roomCount)];
+        final byte[] looted = new byte[GameSnapshot.visitedBytes(roomCount)];
+        final List<GameSnapshot.RoomRecord> records = new ArrayList<>();
+        myBuffer.get(HEADER_BYTES, walls);
+
+        for (int index = 0; index < roomCount; index++) {
+            final byte[] opened = myOpenedRecords == null ? null : myOpenedRecords.get(index);
+            final ByteBuffer source = opened == null ? myBuffer : ByteBuffer.wrap(opened);
+            final int offset = opened == null ? recordOffset(index) : 0;
+            final int flags = source.get(offset);
+            if ((flags & FLAG_VISITED) != 0) {
+                visited[index >> 3] |= (byte) (1 << (index & 7));
+            }
+            if ((flags & FLAG_LOOTED) != 0) {
+                looted[index >> 3] |= (byte) (1 << (index & 7));
+            }
+
+            final GameSnapshot.RoomRecord record;
+            try {
+                record = readRecord(index, source, offset);
+            } catch (IllegalArgumentException e) {
+                throw new UncheckedIOException(new IOException("Corrupt room record in dungeon file.", e));
+            }
+            if (record.pit() || record.pillar() >= 0 || !record.items().isEmpty() || record.monster() != null) {
+                records.add(record);
+            }
+        }
+        return new GameSnapshot.Layout(myExitRow, myExitCol, walls, visited, looted, records);
+    }
+
+    /**
+     * Builds the bytes of an empty record.
+     */
+    private static byte[] emptyRecord() {
+        final byte[] record = new byte[RECORD_BYTES];
+        record[1] = -1; // no pillar
+        for (int i = 0; i < MAX_ROOM_ITEMS; i++) {
+            record[2 + i * ITEM_BYTES] = -1; // unused item slot
+        }
+        return record;
+    }
+
+    /**
+     * Encodes a room into its record.
+     */
+    private void writeRecord(final int theIndex, final Room theRoom) {
+        final List<Item> items = theRoom.getAllItems();
+        if (items.size() > MAX_ROOM_ITEMS) {
+            throw new IllegalStateException("Room " + theRoom.getRow() + "," + theRoom.getCol()
+                    + " holds more items than a mapped dungeon can store.");
+        }
+        final List<GameSnapshot.ItemState> itemStates = GameSnapshot.captureItems(items);
+        final Pillar pillar = theRoom.getPillar();
+        final int offset = recordOffset(theIndex);
+
+        int flags = 0;
+        if (theRoom.isVisited()) {
+            flags |= FLAG_VISITED;
+        }
+        if (theRoom.isLooted()) {
+            flags |= FLAG_LOOTED;
+        }
+        if (theRoom.hasPit()) {
+            flags |= FLAG_PIT;
+        }
+        if (theRoom.hasMonster()) {
+            flags |= FLAG_MONSTER;
+        }
+        myBuffer.put(offset, (byte) flags);
+        myBuffer.put(offset + 1, (byte) (pillar == null ? -1 : pillar.getPillarType().ordinal()));
+
+        int position = offset + 2;
+        for (int i = 0; i < MAX_ROOM_ITEMS; i++) {
+            if (i < itemStates.size()) {
+                myBuffer.put(position, itemStates.get(i).kind());
+                myBuffer.putInt(position + 1, itemStates.get(i).value());
+            } else {
+                myBuffer.put(position, (byte) -1);
+                myBuffer.putInt(position + 1, 0);
+            }
+            position += ITEM_BYTES;
+        }
+
+        if (theRoom.hasMonster()) {
+            final GameSnapshot.MonsterState monster = GameSnapshot.captureMonster(theRoom.getMonster());
+            myBuffer.put(position, monster.type());
+            myBuffer.putInt(position + 1, monster.hp());
+            myBuffer.putInt(position + 5, monster.maxHp());
+            myBuffer.putInt(position + 9, monster.attackSpeed());
+            myBuffer.putInt(position + 13, monster.damageMin());
+            myBuffer.putInt(position + 17, monster.damageMax());
+            myBuffer.putInt(position + 21, monster.hitChance());
+            myBuffer.putDouble(position + 25, monster.healChance());
+            myBuffer.putInt(position + 33, monster.minHeal());
+            myBuffer.putInt(position + 37, monster.maxHeal());
+        }
+    }
+
+    /**
+     * Decodes the contents of a room's record.
+     *
+     * @throws IllegalArgumentException if the record holds an unknown type code.
+     */
+    private static GameSnapshot.RoomRecord readRecord(final int theIndex, final ByteBuffer theBuffer,
+                                                      final int theOffset) {
+        final int flags = theBuffer.get(theOffset);
+        final int pillar = theBuffer.get(theOffset + 1);
+        if (pillar < -1 || pillar >= PillarType.values().length) {
+            throw new IllegalArgumentException("Invalid pillar type: " + pillar);
+        }
+
+        final List<GameSnapshot.ItemState> items = new ArrayList<>(MAX_ROOM_ITEMS);
+        int position = theOffset + 2;
+        for (int i = 0; i < MAX_ROOM_ITEMS; i++) {
+            final byte kind = theBuffer.get(position);
+            final int value = theBuffer.getInt(position + 1);
+            if (kind == GameSnapshot.ITEM_PILLAR && (value < 0 || value >= PillarType.values().length)) {
+                throw new IllegalArgumentException("Invalid pillar type: " + value);
+            }
+            if (kind >= 0) {
+                items.add(new GameSnapshot.ItemState(kind, value));
+            }
+            position += ITEM_BYTES;
+        }
+
+        GameSnapshot.MonsterState monster = null;
+        if ((flags & FLAG_MONSTER) != 0) {
+            final byte type = theBuffer.get(position);
+            if (type < 0 || type >= GameSnapshot.monsterTypeCount()) {
+                throw new IllegalArgumentException("Invalid monster type: " + type);
+            }
+            monster = new GameSnapshot.MonsterState(type, theBuffer.getInt(position + 1),
+                    theBuffer.getInt(position + 5), theBuffer.getInt(position + 9), theBuffer.getInt(position + 13),
+                    theBuffer.getInt(position + 17), theBuffer.getInt(position + 21),
+                    theBuffer.getDouble(position + 25), theBuffer.getInt(position + 33),
+                    theBuffer.getInt(position + 37));
+        }
+        return new GameSnapshot.RoomRecord(theIndex, (flags & FLAG_PIT) != 0, pillar, items, monster);
+    }
+
+    /**
+     * Returns where a room's record starts.
+     */
+    private int recordOffset(final int theIndex) {
+        return myRecordsOffset + theIndex * RECORD_BYTES;
+    }
+
+    /**
+     * Checks that a position lies inside the dungeon.
+     */
+    private boolean inBounds(final int theRow, final int theCol) {
+        return theRow >= 0 && theRow < myRows && theCol >= 0 && theCol < myCols;
+    }
+
+    /**
+     * Returns the size of the file that stores a dungeon of the given size.
+     */
+    private static long fileSize(final int theRows, final int theCols) {
+        final long roomCount = (long) theRows * theCols;
+        return HEADER_BYTES + (roomCount + 1) / 2 + roomCount * RECORD_BYTES;
+    }
+}
@@ -1,6 +1,7 @@
 package com.swagteam360.dungeonadventure.model;
 
 import java.util.Random;
+import java.util.random.RandomGenerator;
 
 /**
  * Abstract Class "Monster" defines what a "Monster" is, primarily
@@ -12,7 +13,12 @@ import java.util.Random;
  * @version 9 May 2025
  */
 
-public abstract class Monster extends DungeonCharacter {
+public abstract class Monster extends DungeonCharacter implements Cloneable {
+
+    /**
+     * Pinned so that games saved with Java serialization keep loading.
+     */
+    private static final long serialVersionUID = -8580830057674331488L;
 
     /** Field myHealChance represents the % chance for a monster to heal in combat. */
     private final double myHealChance;
@@ -62,13 +68,20 @@ public abstract class Monster extends DungeonCharacter {
      *  Uses a random object to simulate the "chance" that a monster will heal.
      */
     public int heal() {
-        //establish random object
-        Random random = new Random();
+        return heal(new Random());
+    }
 
+    /**
+     * Heal method that draws from the given source of randomness, so that
+     * simulations can give each thread its own reproducible stream.
+     * @param theRandom source of randomness for the heal rolls.
+     * @return int amount healed, 0 if the monster did not heal.
+     */
+    public int heal(final RandomGenerator theRandom) {
         //if healchance is greater than or equal to the random rolled, will heal :)
-        if (random.nextDouble() < myHealChance) {
+        if (theRandom.nextDouble() < myHealChance) {
             int healRange = myMaxHealPoints - myMinHealPoints + 1;
-            int healAmount = random.nextInt(healRange) + myMinHealPoints;
+            int healAmount = theRandom.nextInt(healRange) + myMinHealPoints;
 
             int currentHP = this.getHP();
             int maxHP = this.getMaxHP();
@@ -82,4 +95,60 @@ public abstract class Monster extends DungeonCharacter {
         return 0;
     }
 
+    /**
+     * Getter method to fetch the chance that this monster heals in combat.
+     * @return double between 0 and 1 representing the heal chance.
+     */
+    double getHealChance() {return myHealChance;}
+
+    /**
+     * Getter method to fetch the minimum amount healed in one heal.
+     * @return int minimum heal points.
+     */
+    int getMinHealPoints() {return myMinHealPoints;}
+
+    /**
+     * Getter method to fetch the maximum amount healed in one heal.
+     * @return int maximum heal points.
+     */
+    int getMaxHealPoints() {return myMaxHealPoints;}
+
+    /**
+     * Copies this monster, current health included. Every field is a primitive or a
+     * String, so the copy shares nothing with the original. Used by the SpawnService
+     * to create monsters from a prototype.
+     * @return a new monster of the same type with the same stats.
+     */
+    Monster copy() {
+        try {
+            return (Monster) super.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new AssertionError(e); // Monster is Cloneable
+        }
+    }
+
+    /**
+     * Restores a defeated monster to the state of its prototype so that it can be
+     * spawned again. Only health and attack speed change during a game, so the other
+     * stats must already match; they do not if the stats were reloaded since.
+     * @param thePrototype the monster this one was copied from.
+     * @return true if this monster now matches the prototype.
+     */
+    boolean resetTo(final Monster thePrototype) {
+        if (getClass() != thePrototype.getClass()
+                || !getName().equals(thePrototype.getName())
+                || getMaxHP() != thePrototype.getMaxHP()
+                || getDamageRangeMin() != thePrototype.getDamageRangeMin()
+                || getDamageRangeMax() != thePrototype.getDamageRangeMax()
+                || getMyHitChance() != thePrototype.getMyHitChance()
+                || myHealChance != thePrototype.myHealChance
+                || myMinHealPoints != thePrototype.myMinHealPoints
+                || myMaxHealPoints != thePrototype.myMaxHealPoints) {
+            return false;
+        }
+        setMyAttackSpeed(thePrototype.getMyAttackSpeed());
+        heal(getMaxHP() - getHP());
+        return true;
+    }
+
 }
@@ -1,8 +1,5 @@
 package com.swagteam360.dungeonadventure.model;
 
-import java.util.List;
-import java.util.Map;
-
 /**
  * The MonsterFactory class is responsible for creating instances of the
  * Monster type. Based on the provided monster name, this factory determines
@@ -32,28 +29,41 @@ public class MonsterFactory {
      */
     public static Monster createMonster(final String theMonsterName) {
 
-        Monster theMonster = null;
-
-        //utilizes singleton design pattern to only call upon one instance of Database class.
-        Map<String, Object> data = Database.getInstance().getMonsterByName(theMonsterName);
+        //stats come from the in-memory catalog, which is loaded from the database once.
+        final MonsterStats stats = StatCatalog.getInstance().getMonsterStats(theMonsterName);
 
         //checking for underflow
-        if (data == null) {
+        if (stats == null) {
             System.err.println("Monster not found: " + theMonsterName);
-            return theMonster;
+            return null;
         }
 
-        //write check for if theMonsterName == name from map
-        String name = (String) data.get("Name");
-        int healthPoints = (int) data.get("HealthPoints");
-        int damageRangeMin = (int) data.get("DamageRangeMin");
-        int damageRangeMax = (int) data.get("DamageRangeMax");
-        int attackSpeed = (int) data.get("AttackSpeed");
-        int hitChance = (int) data.get("HitChance");
-        double healChance = (double) data.get("HealChance");
-        int minHealPoints = (int) data.get("MinHealPoints");
-        int maxHealPoints = (int) data.get("MaxHealPoints");
+        return createMonster(stats);
+
+    }
+
+    /**
+     * Creates a Monster from a row of stats, which need not be in the catalog. Used by
+     * simulations that try out stats before they are put in the database.
+     *
+     * @param theStats the stats of the Monster; the name picks the type.
+     * @return a Monster with the given stats, or null if the name does not match any
+     *         predefined monster type.
+     */
+    static Monster createMonster(final MonsterStats theStats) {
+
+        Monster theMonster = null;
+        final MonsterStats stats = theStats;
 
+        final String name = stats.name();
+        final int healthPoints = stats.healthPoints();
+        final int damageRangeMin = stats.damageRangeMin();
+        final int damageRangeMax = stats.damageRangeMax();
+        final int attackSpeed = stats.attackSpeed();
+        final int hitChance = stats.hitChance();
+        final double healChance = stats.healChance();
+        final int minHealPoints = stats.minHealPoints();
+        final int maxHealPoints = stats.maxHealPoints();
 
         //creating monster
         if (name.equalsIgnoreCase("witch")) {
@@ -0,0 +1,30 @@
+package com.swagteam360.dungeonadventure.model;
+
+import java.util.Objects;
+
+/**
+ * The stats of one monster type, as stored in the MonsterStats table of the database.
+ *
+ * @param name The monster type, such as "Ogre"
+ * @param healthPoints Starting and maximum health points
+ * @param attackSpeed Attack speed, compared with the hero's to decide who attacks more often
+ * @param damageRangeMin Least damage an attack deals
+ * @param damageRangeMax Most damage an attack deals
+ * @param hitChance Chance to hit, as a percentage
+ * @param healChance Chance to heal after being hit, from 0 to 1
+ * @param minHealPoints Fewest health points a heal restores
+ * @param maxHealPoints Most health points a heal restores
+ *
+ * @author agent
+ * @version 1.0 (19 October 2026)
+ */
+public record MonsterStats(String name, int healthPoints, int attackSpeed, int damageRangeMin, int damageRangeMax,
+                           int hitChance, double healChance, int minHealPoints, int maxHealPoints) {
+
+    /**
+     * Checks that the monster type has a name.
+     */
+    public MonsterStats {
+        Objects.requireNonNull(name);
+    }
+}
@@ -10,6 +10,11 @@ import java.util.Objects;
  */
 public class Pillar implements Item {
 
+    /**
+     * Pinned so that games saved with Java serialization keep loading.
+     */
+    private static final long serialVersionUID = -2029422807271241339L;
+
     private final PillarType myPillarType;
 
     /**
@@ -34,7 +39,7 @@ public class Pillar implements Item {
     }
 
     @Override
-    public String buff() {
+    public String buff(final ItemTarget theTarget) {
         //TODO implement
         return null;
     }
@@ -0,0 +1,213 @@
+package com.swagteam360.dungeonadventure.model;
+
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ * A bot that maps the maze as it goes. It remembers the open sides of every room it has been in,
+ * walks the shortest known path to the nearest room it has not seen until it holds every pillar,
+ * then walks the shortest known path to the exit. It attacks any monster it meets.
+ * <p>
+ * Paths are found with Dijkstra's algorithm over the rooms seen so far, using arrays kept from turn
+ * to turn. Subclasses may make some rooms dearer to walk through, and may play battles and use
+ * items differently.
+ *
+ * @author agent
+ * @version 1.0 (19 October 2026)
+ */
+public class PillarCollectorBot implements Bot {
+
+    /**
+     * Open sides of a room that has not been seen.
+     */
+    private static final byte UNSEEN = -1;
+
+    /**
+     * Distance to a room no known path leads to.
+     */
+    private static final int UNREACHED = Integer.MAX_VALUE;
+
+    /**
+     * The directions, in the fixed order paths are searched in.
+     */
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    /**
+     * Number of columns of rooms.
+     */
+    private int myCols;
+
+    /**
+     * Open sides of each room seen, one bit per direction ordinal, or {@link #UNSEEN}.
+     */
+    private byte[] myOpenSides;
+
+    /**
+     * Whether each room seen has a pit.
+     */
+    private boolean[] myPits;
+
+    /**
+     * Index of the exit room, or -1 until it is seen.
+     */
+    private int myExit = -1;
+
+    /**
+     * Distance of each room from the current one while a path is searched.
+     */
+    private int[] myDistances;
+
+    /**
+     * Direction of the first step towards each room while a path is searched.
+     */
+    private byte[] myFirstSteps;
+
+    /**
+     * Whether each room's distance is final while a path is searched.
+     */
+    private boolean[] myDone;
+
+    @Override
+    public final BotAction act(final BotView theView) {
+        if (myOpenSides == null) {
+            start(theView.getRowCount(), theView.getColCount());
+        }
+        remember(theView);
+
+        if (theView.isInBattle()) {
+            return fight(theView);
+        }
+        final BotAction prepared = prepare(theView);
+        if (prepared != null) {
+            return prepared;
+        }
+
+        final int here = theView.getRow() * myCols + theView.getCol();
+        final boolean toExit = theView.getPillarCount() == PillarType.values().length && myExit >= 0;
+        final Direction step = findStep(here, toExit);
+        if (step == null) {
+            throw new IllegalStateException("Nowhere left to go.");
+        }
+        return BotAction.move(step);
+    }
+
+    /**
+     * Chooses what to do in a battle. This bot always attacks.
+     *
+     * @param theView What the player can see.
+     * @return The action to take.
+     */
+    protected BotAction fight(final BotView theView) {
+        return BotAction.attack();
+    }
+
+    /**
+     * Gets ready before moving on, for example by drinking a potion. This bot never does.
+     *
+     * @param theView What the player can see.
+     * @return The action to take first, or null to move on.
+     */
+    protected BotAction prepare(final BotView theView) {
+        return null;
+    }
+
+    /**
+     * Returns the cost of walking into a room that has been seen. This bot counts every room as one step.
+     *
+     * @param theHasPit Whether the room has a pit.
+     * @return The cost, at least 1.
+     */
+    protected int getEnterCost(final boolean theHasPit) {
+        return 1;
+    }
+
+    /**
+     * Makes room for a map of the dungeon.
+     *
+     * @param theRows Number of rows of rooms.
+     * @param theCols Number of columns of rooms.
+     */
+    private void start(final int theRows, final int theCols) {
+        final int rooms = theRows * theCols;
+        myCols = theCols;
+        myOpenSides = new byte[rooms];
+        Arrays.fill(myOpenSides, UNSEEN);
+        myPits = new boolean[rooms];
+        myDistances = new int[rooms];
+        myFirstSteps = new byte[rooms];
+        myDone = new boolean[rooms];
+    }
+
+    /**
+     * Adds the current room to the map.
+     *
+     * @param theView What the player can see.
+     */
+    private void remember(final BotView theView) {
+        final int here = theView.getRow() * myCols + theView.getCol();
+        if (myOpenSides[here] != UNSEEN) {
+            return;
+        }
+        final Set<Direction> directions = theView.getDirections();
+        byte open = 0;
+        for (final Direction direction : directions) {
+            open |= (byte) (1 << direction.ordinal());
+        }
+        myOpenSides[here] = open;
+        myPits[here] = theView.hasPit();
+        if (theView.isExit()) {
+            myExit = here;
+        }
+    }
+
+    /**
+     * Finds the first step of the cheapest known path to the exit, or to the nearest room not yet seen.
+     *
+     * @param theStart Index of the current room.
+     * @param theToExit True to head for the exit.
+     * @return The direction of the first step, or null if no such room can be reached.
+     */
+    private Direction findStep(final int theStart, final boolean theToExit) {
+        Arrays.fill(myDistances, UNREACHED);
+        Arrays.fill(myDone, false);
+        myDistances[theStart] = 0;
+
+        while (true) {
+            // The maze is small, so a scan for the closest room beats keeping a heap
+            int room = -1;
+            for (int i = 0; i < myDistances.length; i++) {
+                if (!myDone[i] && myDistances[i] != UNREACHED && (room < 0 || myDistances[i] < myDistances[room])) {
+                    room = i;
+                }
+            }
+            if (room < 0) {
+                return null;
+            }
+            myDone[room] = true;
+            final boolean unseen = myOpenSides[room] == UNSEEN;
+            if (room != theStart && (theToExit ? room == myExit : unseen)) {
+                return DIRECTIONS[myFirstSteps[room]];
+            }
+            if (unseen) {
+                continue;
+            }
+
+            for (final Direction direction : DIRECTIONS) {
+                if ((myOpenSides[room] & (1 << direction.ordinal())) == 0) {
+                    continue;
+                }
+                final int next = room + switch (direction) {
+                    case NORTH -> -myCols;
+                    case SOUTH -> myCols;
+                    case WEST -> -1;
+                    case EAST -> 1;
+                };
+                final int cost = myOpenSides[next] == UNSEEN ? 1 : getEnterCost(myPits[next]);
+                if (!myDone[next] && myDistances[room] + cost < myDistances[next]) {
+                    myDistances[next] = myDistances[room] + cost;
+                    myFirstSteps[next] = room == theStart ? (byte) direction.ordinal() : myFirstSteps[room];
+                }
+            }
+        }
+    }
+}
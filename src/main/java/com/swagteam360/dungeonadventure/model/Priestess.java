@@ -1,6 +1,6 @@
 package com.swagteam360.dungeonadventure.model;
 
-import java.util.Random;
+import java.util.random.RandomGenerator;
 
 /**
  *  The Priestess class is a specific type of Hero, one of the 3 player
@@ -13,6 +13,11 @@ import java.util.Random;
  */
 public class Priestess extends Hero {
 
+    /**
+     * Pinned so that games saved with Java serialization keep loading.
+     */
+    private static final long serialVersionUID = 4014285574970423092L;
+
     /** Field utilized for the heal ability of the priestess */
     private final int maximumHP;
 
@@ -36,20 +41,19 @@ public class Priestess extends Hero {
      * "Heal" is the ability of the priestess, in which they can heal
      * their HP by a value up to 75% of their maximum health points.
      *
-     *
-     * @return String representing the outcome of this special move.
+     * @param theMonster The monster in which the special move may be performed on.
+     * @param theRandom source of randomness for the heal roll.
+     * @return The outcome of this special move.
      */
     @Override
-    public String specialMove(final Monster theMonster) {
-        Random rand = new Random();
-
+    public BattleOutcome specialMove(final Monster theMonster, final RandomGenerator theRandom) {
         int minHeal = 10;
         int maxHeal = (int)(0.75 * maximumHP);
-        int healAmt = rand.nextInt(maxHeal - minHeal) + minHeal;
+        int healAmt = theRandom.nextInt(maxHeal - minHeal) + minHeal;
 
         //making sure overhealing doesn't happen.
-        healAmt = (Math.min(super.getHP() + healAmt, maximumHP));
+        healAmt = Math.min(healAmt, maximumHP - super.getHP());
         super.heal(healAmt);
-        return "You healed for " + healAmt + " points of health!";
+        return BattleOutcome.heal(BattleOutcome.Kind.HEAL, healAmt);
     }
 }
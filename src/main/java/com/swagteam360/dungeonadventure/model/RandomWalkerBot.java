@@ -0,0 +1,44 @@
+package com.swagteam360.dungeonadventure.model;
+
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * A bot that wanders: it moves through a random open side of each room and attacks any monster it
+ * meets. It sets the floor that smarter bots are measured against.
+ *
+ * @author agent
+ * @version 1.0 (19 October 2026)
+ */
+public final class RandomWalkerBot implements Bot {
+
+    /**
+     * Source of the bot's choices.
+     */
+    private final SplittableRandom myRandom;
+
+    /**
+     * Constructs a random walker.
+     *
+     * @param theSeed Seed of the bot's choices.
+     */
+    public RandomWalkerBot(final long theSeed) {
+        myRandom = new SplittableRandom(theSeed);
+    }
+
+    @Override
+    public BotAction act(final BotView theView) {
+        if (theView.isInBattle()) {
+            return BotAction.attack();
+        }
+        final Set<Direction> directions = theView.getDirections();
+        int pick = myRandom.nextInt(directions.size());
+        // Walk the directions in a fixed order, since the set's order changes from run to run
+        for (final Direction direction : Direction.values()) {
+            if (directions.contains(direction) && pick-- == 0) {
+                return BotAction.move(direction);
+            }
+        }
+        throw new IllegalStateException("The room has no way out.");
+    }
+}
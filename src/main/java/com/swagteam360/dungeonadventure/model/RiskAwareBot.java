@@ -0,0 +1,52 @@
+package com.swagteam360.dungeonadventure.model;
+
+/**
+ * A bot that explores like the {@link PillarCollectorBot} but looks after the Hero. It walks
+ * around pits it knows of unless the detour is long, drinks a health potion before moving on when
+ * badly hurt, and in battle drinks one when the {@link BattleCalculator} gives the monster a real
+ * chance of winning. Its only special move is the Priestess's heal, once she is down to half her
+ * health: in whole games the other heroes' special moves lose more fights than they win.
+ *
+ * @author agent
+ * @version 1.0 (19 October 2026)
+ */
+public final class RiskAwareBot extends PillarCollectorBot {
+
+    /**
+     * Name of the health potion item.
+     */
+    private static final String HEALTH_POTION = "Health Potion";
+
+    /**
+     * Cost of walking into a room with a pit, in rooms of detour worth taking to avoid it.
+     */
+    private static final int PIT_COST = 5;
+
+    /**
+     * Chance of losing a battle above which a hurt Hero drinks a potion.
+     */
+    private static final double RISKY_BATTLE = 0.05;
+
+    @Override
+    protected BotAction fight(final BotView theView) {
+        final boolean hurt = theView.getHP() * 2 <= theView.getMaxHP();
+        if (hurt && theView.countItems(HEALTH_POTION) > 0
+                && theView.getBattleOdds().lossProbability() > RISKY_BATTLE) {
+            return BotAction.useItem(HEALTH_POTION);
+        }
+        return hurt && "Priestess".equals(theView.getHeroType()) ? BotAction.special() : BotAction.attack();
+    }
+
+    @Override
+    protected BotAction prepare(final BotView theView) {
+        if (theView.getHP() * 5 < theView.getMaxHP() * 2 && theView.countItems(HEALTH_POTION) > 0) {
+            return BotAction.useItem(HEALTH_POTION);
+        }
+        return null;
+    }
+
+    @Override
+    protected int getEnterCost(final boolean theHasPit) {
+        return theHasPit ? PIT_COST : 1;
+    }
+}
@@ -0,0 +1,437 @@
+package com.swagteam360.dungeonadventure.model;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * The RoamingMonsters class moves the monsters of a dungeon around on every game tick. A monster
+ * that can reach the Hero within {@link #PURSUIT_RANGE} rooms along the maze's paths walks one room
+ * closer; any other monster wanders into a random open side now and then. Monsters only pass where
+ * the walls of a {@link Cell} leave a way open, never share a room, and keep out of the entrance
+ * and exit, as spawned monsters do.
+ * <p>
+ * The monsters live in their rooms as before; this class only keeps a spatial index of which rooms
+ * hold one, grouped into square regions of {@link #REGION_SIZE} rooms on a side. A tick moves only
+ * the monsters in the region the Hero is in and the regions around it, and maps the paths to the
+ * Hero once for all of them, so its cost depends on how crowded the Hero's surroundings are and
+ * not on the size of the dungeon or the number of monsters in it. Monsters far away wait until
+ * the Hero comes near.
+ *
+ * @author agent
+ * @version 1.0 (19 October 2026)
+ */
+final class RoamingMonsters {
+
+    /**
+     * Number of rooms on a side of a region.
+     */
+    static final int REGION_SIZE = 8;
+
+    /**
+     * Number of regions on each side of the Hero's region whose monsters move.
+     */
+    static final int ACTIVE_REGIONS = 1;
+
+    /**
+     * Most rooms along the paths from which a monster goes after the Hero.
+     */
+    static final int PURSUIT_RANGE = 4;
+
+    /**
+     * Chance that a monster not going after the Hero moves on a tick.
+     */
+    static final double WANDER_CHANCE = 0.5;
+
+    /**
+     * Number of rooms on a side of the window the paths to the Hero are mapped in.
+     */
+    private static final int WINDOW = 2 * PURSUIT_RANGE + 1;
+
+    /**
+     * The directions, in the order they are tried.
+     */
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    /**
+     * The rooms of the dungeon, by index (row times the number of columns plus column).
+     */
+    private final Room[] myRooms;
+
+    /**
+     * Number of columns of rooms.
+     */
+    private final int myColCount;
+
+    /**
+     * Number of rows of regions.
+     */
+    private final int myRegionRowCount;
+
+    /**
+     * Number of columns of regions.
+     */
+    private final int myRegionColCount;
+
+    /**
+     * Indexes of the rooms holding a monster, per region. Only the first entries, up to the
+     * region's size, are in use.
+     */
+    private final int[][] myRegions;
+
+    /**
+     * Number of monsters in each region.
+     */
+    private final int[] myRegionSizes;
+
+    /**
+     * Where each room's entry is in its region, by room index, or -1 for rooms without a monster.
+     */
+    private final int[] mySlots;
+
+    /**
+     * Number of rooms along the paths from each room in the window to the Hero, or -1 if farther
+     * than {@link #PURSUIT_RANGE}.
+     */
+    private final int[] myDistances = new int[WINDOW * WINDOW];
+
+    /**
+     * Queue of room indexes for mapping the paths to the Hero.
+     */
+    private final int[] myQueue = new int[WINDOW * WINDOW];
+
+    /**
+     * Room indexes of the monsters moved by the tick in progress.
+     */
+    private int[] myActive = new int[REGION_SIZE * REGION_SIZE];
+
+    /**
+     * Number of monsters in the index.
+     */
+    private int mySize;
+
+    /**
+     * Row of the Hero, the center of the window.
+     */
+    private int myHeroRow;
+
+    /**
+     * Column of the Hero, the center of the window.
+     */
+    private int myHeroCol;
+
+    /**
+     * Indexes the monsters already in a dungeon's rooms.
+     *
+     * @param theDungeon The dungeon.
+     */
+    RoamingMonsters(final Dungeon theDungeon) {
+        final int rows = theDungeon.getRowSize();
+        myColCount = theDungeon.getColSize();
+        myRooms = new Room[rows * myColCount];
+        mySlots = new int[myRooms.length];
+        Arrays.fill(mySlots, -1);
+        myRegionRowCount = (rows + REGION_SIZE - 1) / REGION_SIZE;
+        myRegionColCount = (myColCount + REGION_SIZE - 1) / REGION_SIZE;
+        myRegions = new int[myRegionRowCount * myRegionColCount][];
+        myRegionSizes = new int[myRegions.length];
+
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < myColCount; col++) {
+                final Room room = theDungeon.getRoom(row, col);
+                myRooms[row * myColCount + col] = room;
+                if (room.hasMonster()) {
+                    index(row * myColCount + col);
+                }
+            }
+        }
+    }
+
+    /**
+     * Places a monster in a room to roam from there.
+     *
+     * @param theRoom The room, which must be one a monster {@link #canEnter}.
+     * @param theMonster The monster.
+     */
+    void add(final Room theRoom, final Monster theMonster) {
+        theRoom.addMonster(theMonster);
+        index(indexOf(theRoom));
+    }
+
+    /**
+     * Forgets the monster of a room, once it has been taken out of the room.
+     *
+     * @param theRoom The room.
+     */
+    void remove(final Room theRoom) {
+        final int index = indexOf(theRoom);
+        if (mySlots[index] >= 0) {
+            unindex(index);
+        }
+    }
+
+    /**
+     * Moves every monster near the Hero by at most one room. Monsters are moved in the order of
+     * their regions and of their entries within them, so that the same dungeon and the same random
+     * choices always give the same moves.
+     *
+     * @param theHeroRoom The room the Hero is in.
+     * @param theRandom Source of the wandering monsters' choices.
+     * @return The number of monsters that moved.
+     */
+    int tick(final Room theHeroRoom, final Random theRandom) {
+        myHeroRow = theHeroRoom.getRow();
+        myHeroCol = theHeroRoom.getCol();
+        final int active = collectActive();
+        if (active == 0) {
+            return 0;
+        }
+        mapPathsToHero();
+
+        int moved = 0;
+        for (int i = 0; i < active; i++) {
+            final int from = myActive[i];
+            final int to = chooseStep(from, theRandom);
+            if (to >= 0) {
+                move(from, to);
+                moved++;
+            }
+        }
+        return moved;
+    }
+
+    /**
+     * Copies the room indexes of the monsters in the Hero's region and the regions around it.
+     *
+     * @return The number of monsters copied.
+     */
+    private int collectActive() {
+        final int regionRow = myHeroRow / REGION_SIZE;
+        final int regionCol = myHeroCol / REGION_SIZE;
+        int count = 0;
+        for (int r = Math.max(0, regionRow - ACTIVE_REGIONS);
+             r <= Math.min(myRegionRowCount - 1, regionRow + ACTIVE_REGIONS); r++) {
+            for (int c = Math.max(0, regionCol - ACTIVE_REGIONS);
+                 c <= Math.min(myRegionColCount - 1, regionCol + ACTIVE_REGIONS); c++) {
+                final int region = r * myRegionColCount + c;
+                final int size = myRegionSizes[region];
+                if (size == 0) {
+                    continue;
+                }
+                if (count + size > myActive.length) {
+                    myActive = Arrays.copyOf(myActive, Math.max(myActive.length * 2, count + size));
+                }
+                System.arraycopy(myRegions[region], 0, myActive, count, size);
+                count += size;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Finds how many rooms each room in the window is from the Hero along the open paths, going
+     * out from the Hero breadth first.
+     */
+    private void mapPathsToHero() {
+        Arrays.fill(myDistances, -1);
+        final int start = myHeroRow * myColCount + myHeroCol;
+        myDistances[windowIndex(start)] = 0;
+        myQueue[0] = start;
+        int head = 0;
+        int tail = 1;
+        while (head < tail) {
+            final int room = myQueue[head++];
+            final int distance = myDistances[windowIndex(room)];
+            if (distance == PURSUIT_RANGE) {
+                continue;
+            }
+            for (final Direction direction : DIRECTIONS) {
+                final int next = neighbor(room, direction);
+                if (next >= 0 && myDistances[windowIndex(next)] < 0) {
+                    myDistances[windowIndex(next)] = distance + 1;
+                    myQueue[tail++] = next;
+                }
+            }
+        }
+    }
+
+    /**
+     * Chooses where a monster goes: one room closer to the Hero if it is near enough, and
+     * otherwise maybe a random open side.
+     *
+     * @param theFrom Index of the monster's room.
+     * @param theRandom Source of the wandering monsters' choices.
+     * @return Index of the room to move to, or -1 to stay.
+     */
+    private int chooseStep(final int theFrom, final Random theRandom) {
+        final int distance = distanceToHero(theFrom);
+        if (distance > 0) {
+            for (final Direction direction : DIRECTIONS) {
+                final int next = neighbor(theFrom, direction);
+                if (next >= 0 && distanceToHero(next) == distance - 1) {
+                    return canEnter(myRooms[next]) ? next : -1;
+                }
+            }
+        }
+
+        if (theRandom.nextDouble() >= WANDER_CHANCE) {
+            return -1;
+        }
+        int open = 0;
+        for (final Direction direction : DIRECTIONS) {
+            if (neighbor(theFrom, direction) >= 0) {
+                open++;
+            }
+        }
+        if (open == 0) {
+            return -1;
+        }
+        int pick = theRandom.nextInt(open);
+        for (final Direction direction : DIRECTIONS) {
+            final int next = neighbor(theFrom, direction);
+            if (next >= 0 && pick-- == 0) {
+                return canEnter(myRooms[next]) ? next : -1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns how many rooms a room is from the Hero along the paths, as of the last mapping.
+     *
+     * @param theIndex The room's index.
+     * @return The number of rooms, or -1 if farther than {@link #PURSUIT_RANGE}.
+     */
+    private int distanceToHero(final int theIndex) {
+        final int row = theIndex / myColCount;
+        final int col = theIndex % myColCount;
+        if (Math.abs(row - myHeroRow) > PURSUIT_RANGE || Math.abs(col - myHeroCol) > PURSUIT_RANGE) {
+            return -1;
+        }
+        return myDistances[windowIndex(theIndex)];
+    }
+
+    /**
+     * Returns where a room is in the window around the Hero. The room must be in the window.
+     *
+     * @param theIndex The room's index.
+     * @return The position in the window.
+     */
+    private int windowIndex(final int theIndex) {
+        final int row = theIndex / myColCount - myHeroRow + PURSUIT_RANGE;
+        final int col = theIndex % myColCount - myHeroCol + PURSUIT_RANGE;
+        return row * WINDOW + col;
+    }
+
+    /**
+     * Returns the room on the other side of a room's side, if no wall is in the way.
+     *
+     * @param theIndex The room's index.
+     * @param theDirection The side.
+     * @return The index of the neighboring room, or -1 if the side is walled off.
+     */
+    private int neighbor(final int theIndex, final Direction theDirection) {
+        final Cell cell = myRooms[theIndex];
+        return switch (theDirection) {
+            case NORTH -> cell.hasTopWall() || theIndex < myColCount ? -1 : theIndex - myColCount;
+            case SOUTH -> cell.hasBottomWall() || theIndex + myColCount >= myRooms.length
+                    ? -1 : theIndex + myColCount;
+            case WEST -> cell.hasLeftWall() || theIndex % myColCount == 0 ? -1 : theIndex - 1;
+            case EAST -> cell.hasRightWall() || theIndex % myColCount == myColCount - 1 ? -1 : theIndex + 1;
+        };
+    }
+
+    /**
+     * Checks whether a monster may move into a room.
+     *
+     * @param theRoom The room.
+     * @return True if the room is free and is neither the entrance nor the exit.
+     */
+    static boolean canEnter(final Room theRoom) {
+        return !theRoom.hasMonster() && !theRoom.isEntranceOrExit();
+    }
+
+    /**
+     * Moves a monster from one room to another and updates the index.
+     *
+     * @param theFrom Index of the monster's room.
+     * @param theTo Index of the free room to move to.
+     */
+    private void move(final int theFrom, final int theTo) {
+        final Monster monster = myRooms[theFrom].getMonster();
+        myRooms[theFrom].removeMonster();
+        myRooms[theTo].addMonster(monster);
+        if (regionOf(theFrom) == regionOf(theTo)) {
+            final int slot = mySlots[theFrom];
+            myRegions[regionOf(theTo)][slot] = theTo;
+            mySlots[theTo] = slot;
+            mySlots[theFrom] = -1;
+        } else {
+            unindex(theFrom);
+            index(theTo);
+        }
+    }
+
+    /**
+     * Adds a room to its region's entries.
+     *
+     * @param theIndex The room's index.
+     */
+    private void index(final int theIndex) {
+        final int region = regionOf(theIndex);
+        int[] entries = myRegions[region];
+        if (entries == null) {
+            entries = new int[4];
+        } else if (myRegionSizes[region] == entries.length) {
+            entries = Arrays.copyOf(entries, entries.length * 2);
+        }
+        myRegions[region] = entries;
+        entries[myRegionSizes[region]] = theIndex;
+        mySlots[theIndex] = myRegionSizes[region]++;
+        mySize++;
+    }
+
+    /**
+     * Removes a room from its region's entries, moving the region's last entry into its place.
+     *
+     * @param theIndex The room's index.
+     */
+    private void unindex(final int theIndex) {
+        final int region = regionOf(theIndex);
+        final int[] entries = myRegions[region];
+        final int slot = mySlots[theIndex];
+        final int last = entries[--myRegionSizes[region]];
+        entries[slot] = last;
+        mySlots[last] = slot;
+        mySlots[theIndex] = -1;
+        mySize--;
+    }
+
+    /**
+     * Returns the region a room is in.
+     *
+     * @param theIndex The room's index.
+     * @return The region's index.
+     */
+    private int regionOf(final int theIndex) {
+        return theIndex / myColCount / REGION_SIZE * myRegionColCount + theIndex % myColCount / REGION_SIZE;
+    }
+
+    /**
+     * Returns a room's index.
+     *
+     * @param theRoom The room.
+     * @return Its row times the number of columns plus its column.
+     */
+    private int indexOf(final Room theRoom) {
+        return theRoom.getRow() * myColCount + theRoom.getCol();
+    }
+
+    /**
+     * Returns the number of monsters roaming the dungeon.
+     *
+     * @return The number of monsters.
+     */
+    int size() {
+        return mySize;
+    }
+}
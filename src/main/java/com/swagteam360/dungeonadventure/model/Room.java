@@ -2,6 +2,7 @@ package com.swagteam360.dungeonadventure.model;
 
 import java.io.Serializable;
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * The Room class represents a single room within a dungeon. A room may contain
@@ -15,6 +16,11 @@ import java.util.*;
  */
 public class Room implements Cell, IRoom, Serializable {
 
+    /**
+     * Pinned so that games saved with Java serialization keep loading.
+     */
+    private static final long serialVersionUID = 1665373260974077319L;
+
     /**
      * Contains the items in the room, such
      * as potions.
@@ -33,9 +39,9 @@ public class Room implements Cell, IRoom, Serializable {
 
     /**
      * Specify whether the room is an entrance,
-     * exit, or none.
+     * exit, or none. Only changed when the room is reset.
      */
-    private final String myEntranceExit;
+    private String myEntranceExit;
 
     // Status of the doors/walls
     /**
@@ -90,6 +96,22 @@ public class Room implements Cell, IRoom, Serializable {
      */
     private Monster myMonster;
 
+    /**
+     * Store whether the room's items have been collected. Lets a save
+     * file record which generated rooms were emptied by the player.
+     */
+    private boolean myLooted;
+
+    /**
+     * The mapped file this room is saved to, or null if the room is not kept in one.
+     */
+    private transient MappedDungeonStore myStore;
+
+    /**
+     * The dungeon that keeps track of this room's changes, or null until the dungeon first hands the room out.
+     */
+    private transient Dungeon myDungeon;
+
 
     /**
      * Constructs a new instance of the Room class with defaults.
@@ -121,6 +143,29 @@ public class Room implements Cell, IRoom, Serializable {
                 final int theRow, final int theCol,
                 final boolean theLeftDoor, final boolean theRightDoor,
                 final boolean theTopDoor, final boolean theBottomDoor) {
+        this(theEntranceExitType, theRow, theCol, theLeftDoor, theRightDoor,
+                theTopDoor, theBottomDoor, ThreadLocalRandom.current());
+    }
+
+    /**
+     * Constructs a room with specific parameters, generating its items and pits
+     * from the given source of randomness. Passing a seeded source makes the
+     * contents reproducible. Passing null skips generation entirely, which is used
+     * when a room is rebuilt from a save file and its contents are restored afterward.
+     * @param theEntranceExitType Sets entrance or exit type
+     * @param theRow Row coordinate for the room.
+     * @param theCol Column coordinate for the room.
+     * @param theLeftDoor Status of left door/wall.
+     * @param theRightDoor Status of right door/wall.
+     * @param theTopDoor Status of upper door/wall.
+     * @param theBottomDoor Status of lower door/wall.
+     * @param theRandom Source of randomness for items and pits, or null to generate nothing.
+     */
+    Room(final String theEntranceExitType,
+         final int theRow, final int theCol,
+         final boolean theLeftDoor, final boolean theRightDoor,
+         final boolean theTopDoor, final boolean theBottomDoor,
+         final Random theRandom) {
 
         super(); // explicit call to superclass
 
@@ -131,12 +176,7 @@ public class Room implements Cell, IRoom, Serializable {
         myItems = new ArrayList<>();
 
         // set entrance or exit type
-        switch (theEntranceExitType) {
-            case IRoom.PROPERTY_NORMAL -> myEntranceExit = IRoom.PROPERTY_NORMAL;
-            case IRoom.PROPERTY_ENTRANCE -> myEntranceExit = IRoom.PROPERTY_ENTRANCE;
-            case IRoom.PROPERTY_EXIT -> myEntranceExit = IRoom.PROPERTY_EXIT;
-            case null, default -> throw new IllegalArgumentException("Invalid entrance-exit type.");
-        }
+        myEntranceExit = checkEntranceExitType(theEntranceExitType);
 
 
         // Set row, column, and default traversal flag value
@@ -152,14 +192,57 @@ public class Room implements Cell, IRoom, Serializable {
         myWallBottom = theBottomDoor;
 
         // generate items and pits
-        if (!isEntranceOrExit()) {
-            generateItems();
-            generatePits();
+        if (theRandom != null && !isEntranceOrExit()) {
+            generateItems(theRandom);
+            generatePits(theRandom);
 
         }
 
     }
 
+    /**
+     * Puts the room back the way the constructor leaves it, with four walls and nothing in it,
+     * then generates its items and pits from the given source of randomness just as a new room
+     * would. Lets a new dungeon be generated into the rooms of an old one without creating rooms.
+     * @param theEntranceExitType Sets entrance or exit type
+     * @param theRandom Source of randomness for items and pits.
+     */
+    void reset(final String theEntranceExitType, final Random theRandom) {
+        myEntranceExit = checkEntranceExitType(theEntranceExitType);
+
+        myTraversalFlag = false;
+        myVisited = false;
+        myLooted = false;
+        myMonster = null;
+        myPillar = null;
+        myPit = false;
+        myItems.clear();
+
+        myWallLeft = true;
+        myWallRight = true;
+        myWallTop = true;
+        myWallBottom = true;
+
+        if (!isEntranceOrExit()) {
+            generateItems(theRandom);
+            generatePits(theRandom);
+        }
+    }
+
+    /**
+     * Checks that a room type is an entrance, an exit or a normal room.
+     * @param theEntranceExitType The room type.
+     * @return The matching IRoom constant.
+     */
+    private static String checkEntranceExitType(final String theEntranceExitType) {
+        return switch (theEntranceExitType) {
+            case IRoom.PROPERTY_NORMAL -> IRoom.PROPERTY_NORMAL;
+            case IRoom.PROPERTY_ENTRANCE -> IRoom.PROPERTY_ENTRANCE;
+            case IRoom.PROPERTY_EXIT -> IRoom.PROPERTY_EXIT;
+            case null, default -> throw new IllegalArgumentException("Invalid entrance-exit type.");
+        };
+    }
+
     // Cell implementation
     @Override
     public boolean hasLeftWall() {
@@ -224,13 +307,14 @@ public class Room implements Cell, IRoom, Serializable {
 
     /**
      * Randomly generated potions and other items for a room.
+     * @param theRandom Source of randomness.
      */
-    private void generateItems() {
-        final boolean genHealingPotion = Math.random() < Item.GENERATION_PROB;
-        final boolean genVisionPotion = Math.random() < Item.GENERATION_PROB;
+    private void generateItems(final Random theRandom) {
+        final boolean genHealingPotion = theRandom.nextDouble() < Item.GENERATION_PROB;
+        final boolean genVisionPotion = theRandom.nextDouble() < Item.GENERATION_PROB;
 
         if (genHealingPotion) {
-            myItems.add(new HealthPotion((int)(Math.random()*5)+1));
+            myItems.add(new HealthPotion((int)(theRandom.nextDouble()*5)+1));
         }
         if (genVisionPotion) {
             myItems.add(new VisionPotion());
@@ -243,11 +327,12 @@ public class Room implements Cell, IRoom, Serializable {
      * The method uses a random probability to decide whether the room will have a pit.
      * There is a 10% chance that the `hasPit` field will be set to true, indicating
      * the presence of a pit in the room. Otherwise, the field will remain false.
+     * @param theRandom Source of randomness.
      */
-    private void generatePits() {
+    private void generatePits(final Random theRandom) {
         //myPit = Math.random() < 0.10; // Description says 10% so may adjust later for difficulty.
         // TODO implement
-        final boolean genPit = Math.random() < Item.GENERATION_PROB;
+        final boolean genPit = theRandom.nextDouble() < Item.GENERATION_PROB;
 
         if (genPit) {
             myPit = true; //FIXME
@@ -257,17 +342,18 @@ public class Room implements Cell, IRoom, Serializable {
     @Override
     public void addMonster() {
 
-        // Three random choices. We need to randomly call this method else where since this method guarantees the
-        // creation of a monster.
+        // This method guarantees the creation of a monster, so callers decide whether one should spawn at all.
+        addMonster(SpawnService.getInstance().spawn(SpawnService.DEFAULT_DIFFICULTY));
+    }
 
-        double choice = Math.random();
-        if (choice < 0.25) {
-            myMonster = MonsterFactory.createMonster("Ogre");
-        } else if (choice < 0.50) {
-            myMonster = MonsterFactory.createMonster("Gremlin");
-        } else {
-            myMonster = MonsterFactory.createMonster("Witch");
-        }
+    /**
+     * Places a monster in this room, replacing any monster already here.
+     *
+     * @param theMonster The monster, typically from the {@link SpawnService}.
+     */
+    void addMonster(final Monster theMonster) {
+        myMonster = theMonster;
+        markChanged();
     }
 
     @Override
@@ -277,12 +363,14 @@ public class Room implements Cell, IRoom, Serializable {
                     "The pillar cannot be set on an entrance or exit room.");
         } else {
             myPillar = Objects.requireNonNull(thePillar);
+            markChanged();
         }
     }
 
     @Override
     public void setVisited(final boolean theVisited) {
         myVisited = theVisited;
+        markChanged();
     }
 
     @Override
@@ -321,9 +409,30 @@ public class Room implements Cell, IRoom, Serializable {
         }
 
         myItems.clear(); // CLEAR the list for the room so that items cannot be collected again
+        myLooted = true;
+        markChanged();
         return roomItems; // RETURN the list of items to the player
     }
 
+    /**
+     * Hands the room's items and pillar straight to a Hero, as {@link #collectAllItems()} does,
+     * without building a list of them first.
+     * @param theHero The Hero collecting the items.
+     */
+    void giveAllItemsTo(final Hero theHero) {
+        for (final Item item : myItems) {
+            theHero.addItem(item);
+        }
+        if (myPillar != null) {
+            theHero.addItem(myPillar);
+            myPillar = null;
+        }
+
+        myItems.clear();
+        myLooted = true;
+        markChanged();
+    }
+
     @Override
     public Set<Direction> getAvailableDirections() {
         Set<Direction> directions = new HashSet<>();
@@ -339,6 +448,7 @@ public class Room implements Cell, IRoom, Serializable {
     @Override
     public void removeMonster() {
         myMonster = null;
+        markChanged();
     }
 
     @Override
@@ -368,7 +478,7 @@ public class Room implements Cell, IRoom, Serializable {
      * Indicate whether this room is an entrance or exit.
      * @return True if the room is an entrance or exit, false otherwise
      */
-    boolean isEntranceOrExit() {
+    final boolean isEntranceOrExit() {
         // using package-level visibility
         return !IRoom.PROPERTY_NORMAL.equals(myEntranceExit);
     }
@@ -390,8 +500,97 @@ public class Room implements Cell, IRoom, Serializable {
         return myPit;
     }
 
+    /**
+     * Returns the room's pillar without collecting it.
+     * @return The pillar in this room, or null if there is none
+     */
+    Pillar getPillar() {
+        return myPillar;
+    }
+
+    /**
+     * Sets whether the room contains a pit. Used when restoring a saved game.
+     * @param thePit True if the room should have a pit
+     */
+    void setPit(final boolean thePit) {
+        myPit = thePit;
+        markChanged();
+    }
+
+    /**
+     * Places an item in the room. Used when restoring a saved game.
+     * @param theItem The item to place in the room
+     */
+    void addItem(final Item theItem) {
+        myItems.add(Objects.requireNonNull(theItem));
+        markChanged();
+    }
+
+    /**
+     * Places a specific monster in the room. Used when restoring a saved game.
+     * @param theMonster The monster to place in the room, or null for none
+     */
+    void setMonster(final Monster theMonster) {
+        myMonster = theMonster;
+        markChanged();
+    }
+
+    /**
+     * Indicates whether the room's items have been collected.
+     * @return True if collectAllItems has been called on this room
+     */
+    boolean isLooted() {
+        return myLooted;
+    }
+
+    /**
+     * Sets whether the room's items have been collected. Used when restoring a saved game.
+     * @param theLooted True if the room's items were collected
+     */
+    void setLooted(final boolean theLooted) {
+        myLooted = theLooted;
+        markChanged();
+    }
+
+    /**
+     * Attaches the room to the mapped file it is saved to. Changes made by the player from now on
+     * are remembered by the store and written to the file on the next save.
+     * @param theStore The store, or null to detach the room
+     */
+    void setStore(final MappedDungeonStore theStore) {
+        myStore = theStore;
+    }
+
+    /**
+     * Attaches the room to the dungeon it belongs to, which is told about every change from now on.
+     * @param theDungeon The room's dungeon
+     */
+    void setDungeon(final Dungeon theDungeon) {
+        myDungeon = theDungeon;
+    }
+
+    /**
+     * Returns the dungeon the room is attached to.
+     * @return The room's dungeon, or null if it has not been attached yet
+     */
+    Dungeon getDungeon() {
+        return myDungeon;
+    }
+
     // Private helpers
 
+    /**
+     * Tells the room's store and dungeon, if any, that the room has changed.
+     */
+    private void markChanged() {
+        if (myStore != null) {
+            myStore.markDirty(this);
+        }
+        if (myDungeon != null) {
+            myDungeon.roomChanged(this);
+        }
+    }
+
     /**
      * Clear all items and pillars.
      */
@@ -1,6 +1,9 @@
 package com.swagteam360.dungeonadventure.model;
 
 import java.io.Serializable;
+import java.util.Objects;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * A concrete class that creates Room instances.
@@ -12,6 +15,12 @@ import java.io.Serializable;
  * @version 1.00, 10 May 2025
  */
 public class RoomFactory implements CellFactory, Serializable {
+
+    /**
+     * Pinned so that games saved with Java serialization keep loading.
+     */
+    private static final long serialVersionUID = 7252827650391687228L;
+
     /**
      * The row that the entrance room will reside.
      */
@@ -28,6 +37,11 @@ public class RoomFactory implements CellFactory, Serializable {
      * The column where the exit room will reside.
      */
     private final int myExitCol;
+    /**
+     * Source of randomness for room contents. Only needed while the maze
+     * is being generated, so it is not saved with the dungeon.
+     */
+    private final transient Random myRandom;
 
     /**
      * Creates a room factory which helps to generate rooms.
@@ -38,6 +52,20 @@ public class RoomFactory implements CellFactory, Serializable {
      */
     public RoomFactory(final int theEntranceRow, final int theEntranceCol,
                        final int theExitRow, final int theExitCol) {
+        this(theEntranceRow, theEntranceCol, theExitRow, theExitCol, ThreadLocalRandom.current());
+    }
+
+    /**
+     * Creates a room factory whose rooms draw their contents from the given
+     * source of randomness, so a seeded source produces the same rooms every time.
+     * @param theEntranceRow Entrance room row
+     * @param theEntranceCol Entrance room column
+     * @param theExitRow Exit room row
+     * @param theExitCol Exit room column
+     * @param theRandom Source of randomness for items and pits
+     */
+    RoomFactory(final int theEntranceRow, final int theEntranceCol,
+                final int theExitRow, final int theExitCol, final Random theRandom) {
 
         super();
 
@@ -50,6 +78,7 @@ public class RoomFactory implements CellFactory, Serializable {
         myEntranceCol = theEntranceCol;
         myExitRow = theExitRow;
         myExitCol = theExitCol;
+        myRandom = Objects.requireNonNull(theRandom);
     }
 
     @Override
@@ -58,16 +87,35 @@ public class RoomFactory implements CellFactory, Serializable {
             throw new IllegalArgumentException("Row and column cannot be negative");
         }
 
-        Cell roomToReturn;
-        if (theRow == myEntranceRow && theCol == myEntranceCol) { // create an entrance room
-            roomToReturn = new Room(IRoom.PROPERTY_ENTRANCE, theRow, theCol);
-        } else if (theRow == myExitRow && theCol == myExitCol) { // create an exit room
-            roomToReturn = new Room(IRoom.PROPERTY_EXIT, theRow, theCol);
-        } else { // create a normal room
-            roomToReturn = new Room(IRoom.PROPERTY_NORMAL, theRow, theCol);
+        // A factory read back from an old save has no random source of its own
+        final Random random = myRandom != null ? myRandom : ThreadLocalRandom.current();
+
+        return new Room(getRoomType(theRow, theCol), theRow, theCol,
+                true, true, true, true, random);
+    }
+
+    @Override
+    public boolean resetCell(final Cell theCell) {
+        if (!(theCell instanceof Room room) || myRandom == null) {
+            return false;
         }
+        room.reset(getRoomType(room.getRow(), room.getCol()), myRandom);
+        return true;
+    }
 
-        return roomToReturn;
+    /**
+     * Tells whether the room at a position is the entrance, the exit or a normal room.
+     * @param theRow Row coordinate
+     * @param theCol Column coordinate
+     * @return The IRoom property of the room type
+     */
+    private String getRoomType(final int theRow, final int theCol) {
+        if (theRow == myEntranceRow && theCol == myEntranceCol) { // an entrance room
+            return IRoom.PROPERTY_ENTRANCE;
+        } else if (theRow == myExitRow && theCol == myExitCol) { // an exit room
+            return IRoom.PROPERTY_EXIT;
+        }
+        return IRoom.PROPERTY_NORMAL;
     }
 
     @Override
@@ -0,0 +1,373 @@
+package com.swagteam360.dungeonadventure.model;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * The RunHistory class records every finished run in a SQLite database of its own, next to the
+ * save slots, and answers the queries of a leaderboard. The RunHistory table keeps each run; the
+ * Leaderboard table keeps the best run of each player, hero and difficulty. Both are indexed by
+ * score and by date, so a top-N query reads only N index entries however many runs there are.
+ * <p>
+ * {@link #record(RunRecord)} only queues the run. A background thread writes whatever has been
+ * queued in one transaction, so bursts of runs (from simulations, say) cost one commit per batch.
+ * The database is in WAL mode, which lets the leaderboard be read while a batch is written.
+ *
+ * @author agent
+ * @version 1.0 (19 October 2026)
+ */
+public final class RunHistory {
+
+    /**
+     * Most runs written in one transaction.
+     */
+    static final int MAX_BATCH = 1024;
+
+    /**
+     * The database file, relative to the working directory.
+     */
+    private static final String DEFAULT_FILE = "saves/runs.db";
+
+    /**
+     * Name given to the thread that writes runs.
+     */
+    private static final String THREAD_NAME = "run-history";
+
+    /**
+     * Statements that create the tables and indexes if they do not exist yet.
+     */
+    private static final String[] SCHEMA = {
+        "CREATE TABLE IF NOT EXISTS RunHistory (Id INTEGER PRIMARY KEY, PlayerName TEXT NOT NULL, "
+                + "HeroType TEXT NOT NULL, Difficulty TEXT NOT NULL, Won INTEGER NOT NULL, "
+                + "Pillars INTEGER NOT NULL, PlayTimeMillis INTEGER NOT NULL, FinishedAt INTEGER NOT NULL, "
+                + "Score INTEGER NOT NULL)",
+        "CREATE INDEX IF NOT EXISTS RunHistoryScore ON RunHistory (Score DESC, FinishedAt)",
+        "CREATE INDEX IF NOT EXISTS RunHistoryFinishedAt ON RunHistory (FinishedAt DESC)",
+        "CREATE TABLE IF NOT EXISTS Leaderboard (PlayerName TEXT NOT NULL, HeroType TEXT NOT NULL, "
+                + "Difficulty TEXT NOT NULL, Score INTEGER NOT NULL, FinishedAt INTEGER NOT NULL, "
+                + "RunId INTEGER NOT NULL, PRIMARY KEY (PlayerName, HeroType, Difficulty)) WITHOUT ROWID",
+        "CREATE INDEX IF NOT EXISTS LeaderboardScore ON Leaderboard (Score DESC, FinishedAt)",
+        "CREATE INDEX IF NOT EXISTS LeaderboardDifficultyScore ON Leaderboard (Difficulty, Score DESC, FinishedAt)"
+    };
+
+    /** Adds a run. */
+    private static final String INSERT_RUN = "INSERT INTO RunHistory (PlayerName, HeroType, Difficulty, Won, "
+            + "Pillars, PlayTimeMillis, FinishedAt, Score) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    /** Makes the run just added the best of its player, hero and difficulty if it beats the current best. */
+    private static final String UPDATE_BEST = "INSERT INTO Leaderboard (PlayerName, HeroType, Difficulty, Score, "
+            + "FinishedAt, RunId) VALUES (?, ?, ?, ?, ?, last_insert_rowid()) "
+            + "ON CONFLICT (PlayerName, HeroType, Difficulty) DO UPDATE SET Score = excluded.Score, "
+            + "FinishedAt = excluded.FinishedAt, RunId = excluded.RunId WHERE excluded.Score > Leaderboard.Score";
+
+    /** Columns of a run, prefixed with the RunHistory alias r. */
+    private static final String RUN_COLUMNS =
+            "r.PlayerName, r.HeroType, r.Difficulty, r.Won, r.Pillars, r.PlayTimeMillis, r.FinishedAt, r.Score";
+
+    /** Best runs of every difficulty. */
+    static final String TOP_QUERY = "SELECT " + RUN_COLUMNS + " FROM Leaderboard l "
+            + "JOIN RunHistory r ON r.Id = l.RunId ORDER BY l.Score DESC, l.FinishedAt LIMIT ?";
+
+    /** Best runs of one difficulty. */
+    static final String TOP_BY_DIFFICULTY_QUERY = "SELECT " + RUN_COLUMNS + " FROM Leaderboard l "
+            + "JOIN RunHistory r ON r.Id = l.RunId WHERE l.Difficulty = ? "
+            + "ORDER BY l.Score DESC, l.FinishedAt LIMIT ?";
+
+    /** Latest runs. */
+    static final String RECENT_QUERY = "SELECT " + RUN_COLUMNS + " FROM RunHistory r "
+            + "ORDER BY r.FinishedAt DESC LIMIT ?";
+
+    /**
+     * A singleton instance of the RunHistory class, using the default file.
+     */
+    private static final RunHistory mySingleton = new RunHistory(Path.of(DEFAULT_FILE));
+
+    /**
+     * The database file.
+     */
+    private final Path myFile;
+
+    /**
+     * Runs waiting to be written.
+     */
+    private final Queue<RunRecord> myPending = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Writes the queued runs, one batch at a time.
+     */
+    private final ExecutorService myExecutor;
+
+    /**
+     * Connection used by the writer thread only, or null until the first batch.
+     */
+    private Connection myWriter;
+
+    /**
+     * Connection used by the queries, or null until the first query. Guarded by this object.
+     */
+    private Connection myReader;
+
+    /**
+     * Constructs a run history kept in the given file. The file and its directory are created
+     * by the first write or query.
+     *
+     * @param theFile The database file.
+     */
+    RunHistory(final Path theFile) {
+        myFile = Objects.requireNonNull(theFile);
+        myExecutor = Executors.newSingleThreadExecutor(theRunnable -> {
+            final Thread thread = new Thread(theRunnable, THREAD_NAME);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Provides access to the singleton instance of the RunHistory class.
+     *
+     * @return the singleton instance of RunHistory
+     */
+    public static RunHistory getInstance() {
+        return mySingleton;
+    }
+
+    /**
+     * Queues a finished run to be written in the background.
+     *
+     * @param theRun The run to record.
+     */
+    public void record(final RunRecord theRun) {
+        myPending.add(Objects.requireNonNull(theRun));
+        myExecutor.execute(this::writePending);
+    }
+
+    /**
+     * Returns a Future that completes once every run queued so far has been written.
+     *
+     * @return A Future that completes after the pending writes.
+     */
+    public Future<?> flush() {
+        return myExecutor.submit(() -> { });
+    }
+
+    /**
+     * Returns the best runs, at most one per player, hero and difficulty, highest score first.
+     * Runs with equal scores are ordered by who got there first.
+     *
+     * @param theDifficulty The difficulty to list, or null for every difficulty.
+     * @param theLimit Most runs to return.
+     * @return The best runs, possibly fewer than the limit.
+     * @throws SQLException if the database cannot be read.
+     */
+    public synchronized List<RunRecord> getTopRuns(final String theDifficulty, final int theLimit)
+            throws SQLException {
+        final String query = theDifficulty == null ? TOP_QUERY : TOP_BY_DIFFICULTY_QUERY;
+        try (PreparedStatement stmt = getReader().prepareStatement(query)) {
+            int parameter = 1;
+            if (theDifficulty != null) {
+                stmt.setString(parameter++, theDifficulty);
+            }
+            stmt.setInt(parameter, Math.max(0, theLimit));
+            return readRuns(stmt);
+        }
+    }
+
+    /**
+     * Returns the latest runs, newest first.
+     *
+     * @param theLimit Most runs to return.
+     * @return The latest runs, possibly fewer than the limit.
+     * @throws SQLException if the database cannot be read.
+     */
+    public synchronized List<RunRecord> getRecentRuns(final int theLimit) throws SQLException {
+        try (PreparedStatement stmt = getReader().prepareStatement(RECENT_QUERY)) {
+            stmt.setInt(1, Math.max(0, theLimit));
+            return readRuns(stmt);
+        }
+    }
+
+    /**
+     * Describes how SQLite runs a query. Used to check that the leaderboard queries use their indexes.
+     *
+     * @param theQuery One of the query constants.
+     * @return The details of each step of the query plan, one per line.
+     * @throws SQLException if the database cannot be read.
+     */
+    synchronized String explain(final String theQuery) throws SQLException {
+        final StringBuilder plan = new StringBuilder();
+        try (PreparedStatement stmt = getReader().prepareStatement("EXPLAIN QUERY PLAN " + theQuery)) {
+            final int parameters = stmt.getParameterMetaData().getParameterCount();
+            for (int i = 1; i <= parameters; i++) {
+                stmt.setObject(i, i == parameters ? 10 : "normal");
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    plan.append(rs.getString("detail")).append('\n');
+                }
+            }
+        }
+        return plan.toString();
+    }
+
+    /**
+     * Writes the pending runs and closes both connections. Runs recorded afterward open them again.
+     */
+    public void close() {
+        try {
+            myExecutor.submit(() -> myWriter = closeQuietly(myWriter)).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            e.printStackTrace(); // Might want to log this exception.
+        }
+        synchronized (this) {
+            myReader = closeQuietly(myReader);
+        }
+    }
+
+    /**
+     * Writes the queued runs in batches of up to {@value #MAX_BATCH}, one transaction each.
+     * Runs on the writer thread. Every call after the first finds most runs already written.
+     */
+    private void writePending() {
+        final List<RunRecord> batch = new ArrayList<>();
+        RunRecord run;
+        while ((run = myPending.poll()) != null) {
+            batch.add(run);
+            if (batch.size() == MAX_BATCH) {
+                writeBatch(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            writeBatch(batch);
+        }
+    }
+
+    /**
+     * Writes a batch of runs in one transaction. If the transaction fails, the batch is lost.
+     */
+    private void writeBatch(final List<RunRecord> theBatch) {
+        try {
+            if (myWriter == null) {
+                myWriter = open();
+            }
+            myWriter.setAutoCommit(false);
+            try (PreparedStatement insert = myWriter.prepareStatement(INSERT_RUN);
+                 PreparedStatement best = myWriter.prepareStatement(UPDATE_BEST)) {
+                for (final RunRecord run : theBatch) {
+                    insert.setString(1, run.playerName());
+                    insert.setString(2, run.heroType());
+                    insert.setString(3, run.difficulty());
+                    insert.setInt(4, run.won() ? 1 : 0);
+                    insert.setInt(5, run.pillarCount());
+                    insert.setLong(6, run.playTimeMillis());
+                    insert.setLong(7, run.finishedAt());
+                    insert.setInt(8, run.score());
+                    insert.executeUpdate();
+
+                    best.setString(1, run.playerName());
+                    best.setString(2, run.heroType());
+                    best.setString(3, run.difficulty());
+                    best.setInt(4, run.score());
+                    best.setLong(5, run.finishedAt());
+                    best.executeUpdate();
+                }
+            }
+            myWriter.commit();
+        } catch (SQLException | IOException e) {
+            e.printStackTrace(); // Might want to log this exception. The batch is dropped.
+            if (myWriter != null) {
+                try {
+                    myWriter.rollback();
+                } catch (SQLException ignored) {
+                    // The connection is closed below anyway
+                }
+            }
+            myWriter = closeQuietly(myWriter); // Reconnect on the next batch in case the connection broke
+        }
+    }
+
+    /**
+     * Returns the query connection, opening it the first time.
+     */
+    private Connection getReader() throws SQLException {
+        if (myReader == null) {
+            try {
+                myReader = open();
+            } catch (IOException e) {
+                throw new SQLException("Could not create " + myFile.getParent(), e);
+            }
+        }
+        return myReader;
+    }
+
+    /**
+     * Opens a connection in WAL mode and creates the tables if needed.
+     */
+    private Connection open() throws SQLException, IOException {
+        final Path directory = myFile.toAbsolutePath().getParent();
+        if (directory != null) {
+            Files.createDirectories(directory);
+        }
+        final Connection connection = DriverManager.getConnection("jdbc:sqlite:" + myFile);
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("PRAGMA busy_timeout = 5000");
+            stmt.execute("PRAGMA journal_mode = WAL");
+            stmt.execute("PRAGMA synchronous = NORMAL"); // Safe in WAL mode; a crash loses at most the last batch
+            for (final String statement : SCHEMA) {
+                stmt.execute(statement);
+            }
+        } catch (SQLException e) {
+            closeQuietly(connection);
+            throw e;
+        }
+        return connection;
+    }
+
+    /**
+     * Reads every run a query returns.
+     */
+    private static List<RunRecord> readRuns(final PreparedStatement theStatement) throws SQLException {
+        final List<RunRecord> runs = new ArrayList<>();
+        try (ResultSet rs = theStatement.executeQuery()) {
+            while (rs.next()) {
+                runs.add(new RunRecord(rs.getString(1), rs.getString(2), rs.getString(3), rs.getInt(4) != 0,
+                        rs.getInt(5), rs.getLong(6), rs.getLong(7), rs.getInt(8)));
+            }
+        }
+        return runs;
+    }
+
+    /**
+     * Closes a connection, printing any error.
+     *
+     * @return Always null, for clearing the field that held the connection.
+     */
+    private static Connection closeQuietly(final Connection theConnection) {
+        if (theConnection != null) {
+            try {
+                theConnection.close();
+            } catch (SQLException e) {
+                System.err.println("Could not close run history connection: " + e.getMessage());
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,84 @@
+package com.swagteam360.dungeonadventure.model;
+
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * One finished run, as kept by {@link RunHistory}.
+ *
+ * @param playerName The player's name
+ * @param heroType The hero type from the game settings
+ * @param difficulty The difficulty from the game settings
+ * @param won Whether the hero left the dungeon with every pillar
+ * @param pillarCount Number of pillars the hero collected
+ * @param playTimeMillis Time spent playing the run, in milliseconds
+ * @param finishedAt When the run ended, in milliseconds since the epoch
+ * @param score The run's score, see {@link #score(boolean, int, long, String)}
+ *
+ * @author agent
+ * @version 1.0 (19 October 2026)
+ */
+public record RunRecord(String playerName, String heroType, String difficulty, boolean won, int pillarCount,
+                        long playTimeMillis, long finishedAt, int score) {
+
+    /** Points for each pillar collected. */
+    static final int PILLAR_POINTS = 250;
+
+    /** Points for leaving the dungeon with every pillar. */
+    static final int WIN_POINTS = 1000;
+
+    /** Largest bonus for winning quickly. One point is lost for every second played. */
+    static final int TIME_BONUS = 1000;
+
+    /**
+     * Checks that the names are present.
+     */
+    public RunRecord {
+        Objects.requireNonNull(playerName);
+        Objects.requireNonNull(heroType);
+        Objects.requireNonNull(difficulty);
+    }
+
+    /**
+     * Creates the record of a run that has just ended, working out its score.
+     *
+     * @param theSettings The run's game settings.
+     * @param theWon Whether the hero won.
+     * @param thePillarCount Number of pillars the hero collected.
+     * @param thePlayTimeMillis Time spent playing, in milliseconds.
+     * @param theFinishedAt When the run ended, in milliseconds since the epoch.
+     * @return The run's record.
+     */
+    public static RunRecord of(final GameSettings theSettings, final boolean theWon, final int thePillarCount,
+                               final long thePlayTimeMillis, final long theFinishedAt) {
+        final String difficulty = Objects.requireNonNullElse(theSettings.getDifficulty(), "");
+        return new RunRecord(Objects.requireNonNullElse(theSettings.getName(), ""),
+                Objects.requireNonNullElse(theSettings.getHero(), ""), difficulty, theWon, thePillarCount,
+                thePlayTimeMillis, theFinishedAt, score(theWon, thePillarCount, thePlayTimeMillis, difficulty));
+    }
+
+    /**
+     * Scores a run: {@value #PILLAR_POINTS} points per pillar, {@value #WIN_POINTS} for a win plus a
+     * bonus of up to {@value #TIME_BONUS} that shrinks by one point per second played, all multiplied
+     * by 1, 2 or 3 for easy, normal or hard games.
+     *
+     * @param theWon Whether the hero won.
+     * @param thePillarCount Number of pillars collected.
+     * @param thePlayTimeMillis Time spent playing, in milliseconds.
+     * @param theDifficulty The difficulty, in any case.
+     * @return The score, never negative.
+     */
+    public static int score(final boolean theWon, final int thePillarCount, final long thePlayTimeMillis,
+                            final String theDifficulty) {
+        int points = Math.max(0, thePillarCount) * PILLAR_POINTS;
+        if (theWon) {
+            points += WIN_POINTS + (int) Math.max(0, TIME_BONUS - Math.max(0, thePlayTimeMillis) / 1000);
+        }
+        final int multiplier = switch (theDifficulty.toLowerCase(Locale.ROOT)) {
+            case "normal" -> 2;
+            case "hard" -> 3;
+            default -> 1;
+        };
+        return points * multiplier;
+    }
+}
@@ -0,0 +1,885 @@
+package com.swagteam360.dungeonadventure.model;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The SaveCodec class writes and reads {@link GameSnapshot} objects in a compact binary
+ * format. Unlike Java serialization, the format does not depend on the shape of the model
+ * classes, so renaming a field or adding a method never breaks existing save files.
+ * <p>
+ * Every file starts with a four byte magic number, a version number and, since version 2,
+ * a {@link SaveFormat} code. The rest of the file is laid out as follows (all numbers big-endian):
+ * <ul>
+ *     <li>Game settings: player name, hero type and difficulty as modified UTF-8 strings.</li>
+ *     <li>Hero: type code, then HP, max HP, attack speed, damage range, hit chance and
+ *     block chance as fixed-width ints, followed by the inventory.</li>
+ *     <li>Vision powers: active flag and room counter.</li>
+ *     <li>Dungeon: rows, columns, entrance, exit and current room coordinates.</li>
+ *     <li>Since version 2, whether the generation seed is known, followed by the seed.</li>
+ *     <li>Since version 3, the play time in milliseconds.</li>
+ * </ul>
+ * A {@link SaveFormat#FULL} file continues with the walls (four bits per room), visited flags
+ * and, since version 2, looted flags (one bit per room each), then sparse room records for every
+ * room that contains a pit, pillar, items or a monster.
+ * <p>
+ * A {@link SaveFormat#INDEXED} file is laid out like a full file, with a block index between the
+ * looted flags and the room records. The index holds, for every {@value #BLOCK_ROOMS} rooms, where
+ * the records of those rooms start, so a single room can be found without reading the whole file.
+ * <p>
+ * A {@link SaveFormat#MAPPED} file ends after the header; its dungeon is kept by a
+ * {@link MappedDungeonStore} in a separate file.
+ * <p>
+ * A {@link SaveFormat#SEED_DELTA} file continues with the generator version, the visited and
+ * looted rooms as index sets, and the monsters. An index set is stored either as a list of
+ * gaps between room indices or as a bitmap, whichever is smaller.
+ *
+ * @author agent
+ * @version 1.0 (19 October 2026)
+ */
+final class SaveCodec {
+
+    /**
+     * Marks a file as a binary save. Spells "DUNG" in ASCII.
+     */
+    static final int MAGIC = 0x44554E47;
+
+    /**
+     * The newest format version this codec writes and understands.
+     */
+    static final short VERSION = 3;
+
+    /**
+     * Largest number of rows or columns accepted when reading, to reject corrupt files
+     * before allocating huge arrays.
+     */
+    private static final int MAX_DIMENSION = 1 << 14;
+
+    /** Room record flag: the room has a pit. */
+    private static final int FLAG_PIT = 1;
+    /** Room record flag: the room has a pillar. */
+    private static final int FLAG_PILLAR = 1 << 1;
+    /** Room record flag: the room has items. */
+    private static final int FLAG_ITEMS = 1 << 2;
+    /** Room record flag: the room has a monster. */
+    private static final int FLAG_MONSTER = 1 << 3;
+
+    /** Number of rooms covered by each entry of the block index of an indexed save. */
+    static final int BLOCK_ROOMS = 1024;
+    /** Bytes used by one item: kind and value. */
+    private static final int ITEM_BYTES = Byte.BYTES + Integer.BYTES;
+    /** Bytes used by one monster: type, six int stats, heal chance and heal range. */
+    private static final int MONSTER_BYTES = Byte.BYTES + 6 * Integer.BYTES + Double.BYTES + 2 * Integer.BYTES;
+
+    /** Index set encoding: a count followed by the gaps between set indices. */
+    private static final int INDEX_SET_GAPS = 0;
+    /** Index set encoding: one bit per room. */
+    private static final int INDEX_SET_BITMAP = 1;
+
+    /**
+     * Everything stored before the dungeon data, shared by every format.
+     *
+     * @param version Format version of the file
+     * @param format Layout of the dungeon data
+     * @param name The player's name
+     * @param heroType The hero type from the game settings
+     * @param difficulty The difficulty from the game settings
+     * @param hero The hero's stats and inventory
+     * @param superVision Whether vision powers are active
+     * @param superVisionCounter Rooms visited since vision powers were enabled
+     * @param rows Number of rows in the dungeon
+     * @param cols Number of columns in the dungeon
+     * @param entranceRow Row of the entrance room
+     * @param entranceCol Column of the entrance room
+     * @param exitRow Row of the exit room, or -1 if there is none
+     * @param exitCol Column of the exit room, or -1 if there is none
+     * @param currentRow Row of the room the hero is standing in
+     * @param currentCol Column of the room the hero is standing in
+     * @param seeded Whether the generation seed is known
+     * @param seed The generation seed, if known
+     * @param playTimeMillis Time spent playing the game, or 0 for files older than version 3
+     */
+    record Header(short version, SaveFormat format, String name, String heroType, String difficulty,
+                  GameSnapshot.HeroState hero, boolean superVision, int superVisionCounter,
+                  int rows, int cols, int entranceRow, int entranceCol, int exitRow, int exitCol,
+                  int currentRow, int currentCol, boolean seeded, long seed, long playTimeMillis) { }
+
+    /**
+     * The save file of a {@link SaveFormat#MAPPED} game.
+     *
+     * @param header The header
+     * @param generation The generation of the room file the save was written with, or 0 for files
+     *                   written before generations were recorded
+     */
+    record MappedHeader(Header header, long generation) { }
+
+    /**
+     * Writes the contents of a file that is being replaced atomically.
+     */
+    @FunctionalInterface
+    interface ContentWriter {
+
+        /**
+         * Writes the contents and flushes the stream.
+         *
+         * @param theOut The stream to write to.
+         * @throws IOException if writing fails.
+         */
+        void write(OutputStream theOut) throws IOException;
+    }
+
+    /**
+     * Private constructor to prevent instantiation of the utility class.
+     */
+    private SaveCodec() {
+        super();
+    }
+
+    /**
+     * Writes a snapshot to a stream in the full format. The stream is flushed but not closed.
+     * Callers should pass a buffered stream.
+     *
+     * @param theSnapshot The snapshot to write.
+     * @param theOut The stream to write to.
+     * @throws IOException if writing fails.
+     */
+    static void write(final GameSnapshot theSnapshot, final OutputStream theOut) throws IOException {
+        write(theSnapshot, SaveFormat.FULL, theOut);
+    }
+
+    /**
+     * Writes a snapshot to a stream. The stream is flushed but not closed.
+     * Callers should pass a buffered stream.
+     *
+     * @param theSnapshot The snapshot to write.
+     * @param theFormat The preferred format. See {@link #resolveFormat}.
+     * @param theOut The stream to write to.
+     * @throws IOException if writing fails.
+     */
+    static void write(final GameSnapshot theSnapshot, final SaveFormat theFormat,
+                      final OutputStream theOut) throws IOException {
+        final SaveFormat format = resolveFormat(theSnapshot, theFormat);
+        final DataOutputStream out = new DataOutputStream(theOut);
+
+        writeHeader(out, new Header(VERSION, format, theSnapshot.getPlayerName(), theSnapshot.getHeroType(),
+                theSnapshot.getDifficulty(), theSnapshot.getHero(), theSnapshot.isSuperVision(),
+                theSnapshot.getSuperVisionCounter(), theSnapshot.getRows(), theSnapshot.getCols(),
+                theSnapshot.getEntranceRow(), theSnapshot.getEntranceCol(),
+                theSnapshot.getExitRow(), theSnapshot.getExitCol(),
+                theSnapshot.getCurrentRow(), theSnapshot.getCurrentCol(),
+                theSnapshot.hasSeed(), theSnapshot.getSeed(), theSnapshot.getPlayTimeMillis()));
+
+        if (format == SaveFormat.SEED_DELTA) {
+            writeDelta(out, theSnapshot);
+        } else {
+            writeFull(out, theSnapshot, format == SaveFormat.INDEXED);
+        }
+
+        out.flush();
+    }
+
+    /**
+     * Writes everything up to the dungeon data. The header's version is ignored; {@link #VERSION} is written.
+     */
+    private static void writeHeader(final DataOutputStream out, final Header theHeader) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+        out.writeByte(theHeader.format().ordinal());
+
+        out.writeUTF(theHeader.name());
+        out.writeUTF(theHeader.heroType());
+        out.writeUTF(theHeader.difficulty());
+
+        final GameSnapshot.HeroState hero = theHeader.hero();
+        out.writeByte(hero.type());
+        out.writeInt(hero.hp());
+        out.writeInt(hero.maxHp());
+        out.writeInt(hero.attackSpeed());
+        out.writeInt(hero.damageMin());
+        out.writeInt(hero.damageMax());
+        out.writeInt(hero.hitChance());
+        out.writeInt(hero.blockChance());
+        writeItems(out, hero.inventory());
+
+        out.writeBoolean(theHeader.superVision());
+        out.writeInt(theHeader.superVisionCounter());
+
+        out.writeInt(theHeader.rows());
+        out.writeInt(theHeader.cols());
+        out.writeInt(theHeader.entranceRow());
+        out.writeInt(theHeader.entranceCol());
+        out.writeInt(theHeader.exitRow());
+        out.writeInt(theHeader.exitCol());
+        out.writeInt(theHeader.currentRow());
+        out.writeInt(theHeader.currentCol());
+
+        out.writeBoolean(theHeader.seeded());
+        out.writeLong(theHeader.seed());
+        out.writeLong(theHeader.playTimeMillis());
+    }
+
+    /**
+     * Writes the save file of a {@link SaveFormat#MAPPED} game, which holds nothing but the header
+     * and the generation of its room file. The file is replaced in a single step, like
+     * {@link #writeAtomically}.
+     *
+     * @param theHeader The header to write. Its format must be {@link SaveFormat#MAPPED}.
+     * @param theGeneration The generation of the room file, see {@link MappedDungeonStore#getGeneration()}.
+     * @param theTarget The file to create or replace.
+     * @throws IOException if writing or replacing the file fails.
+     */
+    static void writeMappedHeader(final Header theHeader, final long theGeneration,
+                                  final Path theTarget) throws IOException {
+        if (theHeader.format() != SaveFormat.MAPPED) {
+            throw new IllegalArgumentException("Only mapped saves consist of a header alone.");
+        }
+        replaceAtomically(theTarget, theOut -> {
+            final DataOutputStream out = new DataOutputStream(theOut);
+            writeHeader(out, theHeader);
+            out.writeLong(theGeneration);
+            out.flush();
+        });
+    }
+
+    /**
+     * Reads the save file of a {@link SaveFormat#MAPPED} game.
+     *
+     * @param theFile The save file to read.
+     * @return The header and generation stored in the file.
+     * @throws IOException if reading fails, or the file is not a mapped save.
+     */
+    static MappedHeader readMappedHeader(final Path theFile) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(theFile)))) {
+            final Header header = readHeader(in);
+            if (header.format() != SaveFormat.MAPPED) {
+                throw new IOException("Not a mapped save file.");
+            }
+            long generation = 0L;
+            try {
+                generation = in.readLong();
+            } catch (EOFException e) {
+                // Written before generations were recorded
+            }
+            return new MappedHeader(header, generation);
+        }
+    }
+
+    /**
+     * Picks the format a snapshot is actually written in. A snapshot without a seed cannot
+     * be written as a delta and is written in full, and a seed-only snapshot can only be
+     * written as a delta. A snapshot cannot be written as {@link SaveFormat#MAPPED}, since a
+     * mapped dungeon is kept up to date by its {@link MappedDungeonStore}.
+     *
+     * @param theSnapshot The snapshot to write.
+     * @param theFormat The preferred format.
+     * @return The format that will be written.
+     * @throws IllegalArgumentException if the format is {@link SaveFormat#MAPPED}.
+     */
+    static SaveFormat resolveFormat(final GameSnapshot theSnapshot, final SaveFormat theFormat) {
+        if (theFormat == SaveFormat.MAPPED) {
+            throw new IllegalArgumentException("A snapshot cannot be written as a mapped save.");
+        }
+        if (theSnapshot.isSeedOnly()) {
+            return SaveFormat.SEED_DELTA;
+        }
+        if (theFormat == SaveFormat.SEED_DELTA && !theSnapshot.hasSeed()) {
+            return SaveFormat.FULL;
+        }
+        return theFormat;
+    }
+
+    /**
+     * Writes the walls, flags and room records of a full save.
+     */
+    private static void writeFull(final DataOutputStream out, final GameSnapshot theSnapshot,
+                                  final boolean theIndexed) throws IOException {
+        out.write(theSnapshot.getWalls());
+        out.write(theSnapshot.getVisited());
+        out.write(theSnapshot.getLooted());
+
+        final List<GameSnapshot.RoomRecord> rooms = theSnapshot.getRooms();
+        if (theIndexed) {
+            writeBlockIndex(out, rooms, theSnapshot.getRows() * theSnapshot.getCols());
+        }
+        out.writeInt(rooms.size());
+        for (final GameSnapshot.RoomRecord room : rooms) {
+            writeRoomRecord(out, room);
+        }
+    }
+
+    /**
+     * Writes, for every block of BLOCK_ROOMS rooms, where the records of that block start,
+     * counted in bytes from the first record. Records must be in room index order.
+     */
+    private static void writeBlockIndex(final DataOutputStream out, final List<GameSnapshot.RoomRecord> theRooms,
+                                        final int theRoomCount) throws IOException {
+        final int[] blockOffsets = new int[blockCount(theRoomCount)];
+        int block = 0;
+        int offset = 0;
+        int previous = -1;
+        for (final GameSnapshot.RoomRecord room : theRooms) {
+            if (room.index() <= previous) {
+                throw new IllegalArgumentException("Room records must be in room index order.");
+            }
+            while (block <= room.index() / BLOCK_ROOMS) {
+                blockOffsets[block++] = offset;
+            }
+            offset += recordSize(room);
+            previous = room.index();
+        }
+        while (block < blockOffsets.length) {
+            blockOffsets[block++] = offset;
+        }
+
+        for (final int blockOffset : blockOffsets) {
+            out.writeInt(blockOffset);
+        }
+    }
+
+    /**
+     * Number of bytes writeRoomRecord uses for a record.
+     */
+    private static int recordSize(final GameSnapshot.RoomRecord theRoom) {
+        int size = Integer.BYTES + Byte.BYTES;
+        if (theRoom.pillar() >= 0) {
+            size += Byte.BYTES;
+        }
+        if (!theRoom.items().isEmpty()) {
+            size += Short.BYTES + theRoom.items().size() * ITEM_BYTES;
+        }
+        if (theRoom.monster() != null) {
+            size += MONSTER_BYTES;
+        }
+        return size;
+    }
+
+    /**
+     * Number of blocks in the block index of a dungeon with the given number of rooms.
+     *
+     * @param theRoomCount Number of rooms.
+     * @return Block count.
+     */
+    static int blockCount(final int theRoomCount) {
+        return (theRoomCount + BLOCK_ROOMS - 1) / BLOCK_ROOMS;
+    }
+
+    /**
+     * Writes a room record as its index and a set of flags, followed by the parts the flags announce.
+     */
+    private static void writeRoomRecord(final DataOutputStream out,
+                                        final GameSnapshot.RoomRecord room) throws IOException {
+        int flags = 0;
+        if (room.pit()) {
+            flags |= FLAG_PIT;
+        }
+        if (room.pillar() >= 0) {
+            flags |= FLAG_PILLAR;
+        }
+        if (!room.items().isEmpty()) {
+            flags |= FLAG_ITEMS;
+        }
+        if (room.monster() != null) {
+            flags |= FLAG_MONSTER;
+        }
+
+        out.writeInt(room.index());
+        out.writeByte(flags);
+        if ((flags & FLAG_PILLAR) != 0) {
+            out.writeByte(room.pillar());
+        }
+        if ((flags & FLAG_ITEMS) != 0) {
+            writeItems(out, room.items());
+        }
+        if ((flags & FLAG_MONSTER) != 0) {
+            writeMonster(out, room.monster());
+        }
+    }
+
+    /**
+     * Writes what the player changed in a dungeon generated from a seed.
+     */
+    private static void writeDelta(final DataOutputStream out, final GameSnapshot theSnapshot) throws IOException {
+        final int roomCount = theSnapshot.getRows() * theSnapshot.getCols();
+        out.writeInt(Dungeon.GENERATOR_VERSION);
+        writeIndexSet(out, theSnapshot.getVisited(), roomCount);
+        writeIndexSet(out, theSnapshot.getLooted(), roomCount);
+
+        final List<GameSnapshot.RoomRecord> monsters = new ArrayList<>();
+        for (final GameSnapshot.RoomRecord room : theSnapshot.getRooms()) {
+            if (room.monster() != null) {
+                monsters.add(room);
+            }
+        }
+        writeVarInt(out, monsters.size());
+        int previous = -1;
+        for (final GameSnapshot.RoomRecord room : monsters) {
+            writeVarInt(out, room.index() - previous - 1);
+            writeMonster(out, room.monster());
+            previous = room.index();
+        }
+    }
+
+    /**
+     * Writes a snapshot to a file without ever leaving a partly written file behind. The data is
+     * written to a temporary file in the same directory, synced to disk, and then moved over the
+     * target in a single step. If anything fails, the previous file is left untouched.
+     *
+     * @param theSnapshot The snapshot to write.
+     * @param theFormat The preferred format. See {@link #resolveFormat}.
+     * @param theTarget The file to create or replace.
+     * @throws IOException if writing or replacing the file fails.
+     */
+    static void writeAtomically(final GameSnapshot theSnapshot, final SaveFormat theFormat,
+                                final Path theTarget) throws IOException {
+        replaceAtomically(theTarget, out -> write(theSnapshot, theFormat, out));
+    }
+
+    /**
+     * Replaces a file in a single step, the same way {@link #writeAtomically} does.
+     *
+     * @param theTarget The file to create or replace.
+     * @param theWriter Writes the new contents. It must flush but not close the stream.
+     * @throws IOException if writing or replacing the file fails.
+     */
+    static void replaceAtomically(final Path theTarget, final ContentWriter theWriter) throws IOException {
+        final Path directory = theTarget.toAbsolutePath().getParent();
+        final Path temp = Files.createTempFile(directory, theTarget.getFileName().toString(), ".tmp");
+
+        try {
+            try (FileOutputStream file = new FileOutputStream(temp.toFile());
+                 OutputStream out = new BufferedOutputStream(file)) {
+                theWriter.write(out); // flushes the buffer into the file
+                file.getFD().sync();
+            }
+
+            try {
+                Files.move(temp, theTarget, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, theTarget, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp); // Only still present if something failed
+        }
+    }
+
+    /**
+     * Reads a snapshot from a stream, starting at the magic number.
+     *
+     * @param theIn The stream to read from.
+     * @return The snapshot stored in the stream.
+     * @throws IOException if reading fails, the stream is not a binary save, or the data is corrupt.
+     */
+    static GameSnapshot read(final InputStream theIn) throws IOException {
+        final DataInputStream in = new DataInputStream(theIn);
+        final Header header = readHeader(in);
+        if (header.format() == SaveFormat.MAPPED) {
+            throw new IOException("A mapped save keeps its dungeon in a separate file.");
+        }
+
+        try {
+            final int roomCount = header.rows() * header.cols();
+            final byte[] walls;
+            final byte[] visited;
+            final byte[] looted;
+            final List<GameSnapshot.RoomRecord> rooms;
+
+            if (header.format() == SaveFormat.SEED_DELTA) {
+                final int generatorVersion = in.readInt();
+                if (generatorVersion != Dungeon.GENERATOR_VERSION) {
+                    throw new IOException("Save was made by a different dungeon generator: " + generatorVersion);
+                }
+                walls = null;
+                visited = readIndexSet(in, roomCount);
+                looted = readIndexSet(in, roomCount);
+                rooms = readDeltaMonsters(in, roomCount);
+            } else {
+                walls = new byte[GameSnapshot.wallBytes(roomCount)];
+                in.readFully(walls);
+                visited = new byte[GameSnapshot.visitedBytes(roomCount)];
+                in.readFully(visited);
+                looted = new byte[GameSnapshot.visitedBytes(roomCount)];
+                if (header.version() > 1) {
+                    in.readFully(looted);
+                }
+                if (header.format() == SaveFormat.INDEXED) {
+                    in.readFully(new byte[blockCount(roomCount) * Integer.BYTES]); // only needed for lazy loading
+                }
+                rooms = readRoomRecords(in, roomCount);
+            }
+
+            return new GameSnapshot(header.name(), header.heroType(), header.difficulty(), header.hero(),
+                    header.superVision(), header.superVisionCounter(), header.rows(), header.cols(),
+                    header.entranceRow(), header.entranceCol(), header.exitRow(), header.exitCol(),
+                    header.currentRow(), header.currentCol(), header.seeded(), header.seed(),
+                    header.playTimeMillis(), walls, visited, looted, rooms);
+
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Corrupt save file.", e);
+        }
+    }
+
+    /**
+     * Opens a save in the {@link SaveFormat#INDEXED} format for lazy loading. Only the header is
+     * read; the rest of the file is memory-mapped and each room is decoded when it is first needed.
+     *
+     * @param theFile The save file to open.
+     * @return The opened save.
+     * @throws IOException if reading fails, or the file is not an indexed save or is corrupt.
+     */
+    static IndexedSave openIndexed(final Path theFile) throws IOException {
+        try (FileChannel channel = FileChannel.open(theFile, StandardOpenOption.READ)) {
+            // DataInputStream never reads ahead, so the channel position ends up right after the header
+            final Header header = readHeader(new DataInputStream(Channels.newInputStream(channel)));
+            if (header.format() != SaveFormat.INDEXED) {
+                throw new IOException("Not an indexed save file.");
+            }
+            final long headerSize = channel.position();
+            final long fileSize = channel.size();
+            if (fileSize > Integer.MAX_VALUE) {
+                throw new IOException("Save file is too large to map.");
+            }
+
+            final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize);
+            return new IndexedSave(header, buffer, (int) headerSize);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Corrupt save file.", e);
+        }
+    }
+
+    /**
+     * Reads the format of a binary save without consuming any of the stream.
+     *
+     * @param theIn The stream to check. Must support mark and reset and start with the magic number.
+     * @return The format of the save.
+     * @throws IOException if reading fails or the format is unknown.
+     */
+    static SaveFormat peekFormat(final BufferedInputStream theIn) throws IOException {
+        theIn.mark(Integer.BYTES + Short.BYTES + Byte.BYTES);
+        try {
+            final DataInputStream in = new DataInputStream(theIn);
+            in.readInt();
+            final short version = in.readShort();
+            // Version 1 files have no format code and are always full saves
+            return version == 1 ? SaveFormat.FULL : SaveFormat.values()[readCode(in, SaveFormat.values().length)];
+        } finally {
+            theIn.reset();
+        }
+    }
+
+    /**
+     * Reads everything up to the dungeon data: the magic number, version, format, game settings,
+     * hero, vision powers, dungeon size, entrance, exit, current room, seed and play time.
+     */
+    private static Header readHeader(final DataInputStream in) throws IOException {
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a binary save file.");
+        }
+        final short version = in.readShort();
+        if (version < 1 || version > VERSION) {
+            throw new IOException("Unsupported save file version: " + version);
+        }
+        // Version 1 files have no format code and are always full saves
+        final SaveFormat format = version == 1 ? SaveFormat.FULL
+                : SaveFormat.values()[readCode(in, SaveFormat.values().length)];
+
+        final String name = in.readUTF();
+        final String heroType = in.readUTF();
+        final String difficulty = in.readUTF();
+
+        final byte type = readCode(in, GameSnapshot.heroTypeCount());
+        final GameSnapshot.HeroState hero = new GameSnapshot.HeroState(type,
+                in.readInt(), in.readInt(), in.readInt(), in.readInt(), in.readInt(),
+                in.readInt(), in.readInt(), readItems(in));
+
+        final boolean superVision = in.readBoolean();
+        final int superVisionCounter = in.readInt();
+
+        final int rows = in.readInt();
+        final int cols = in.readInt();
+        if (rows <= 0 || cols <= 0 || rows > MAX_DIMENSION || cols > MAX_DIMENSION) {
+            throw new IOException("Invalid dungeon size: " + rows + "x" + cols);
+        }
+        final int entranceRow = in.readInt();
+        final int entranceCol = in.readInt();
+        final int exitRow = in.readInt();
+        final int exitCol = in.readInt();
+        final int currentRow = in.readInt();
+        final int currentCol = in.readInt();
+        if (!inBounds(entranceRow, entranceCol, rows, cols) || !inBounds(currentRow, currentCol, rows, cols)
+                || ((exitRow != -1 || exitCol != -1) && !inBounds(exitRow, exitCol, rows, cols))) {
+            throw new IOException("Room coordinates are outside the dungeon.");
+        }
+
+        final boolean seeded = version > 1 && in.readBoolean();
+        final long seed = version > 1 ? in.readLong() : 0L;
+        final long playTimeMillis = version > 2 ? Math.max(in.readLong(), 0L) : 0L;
+
+        return new Header(version, format, name, heroType, difficulty, hero, superVision, superVisionCounter,
+                rows, cols, entranceRow, entranceCol, exitRow, exitCol, currentRow, currentCol, seeded, seed,
+                playTimeMillis);
+    }
+
+    /**
+     * Reads the sparse room records of a full save.
+     */
+    private static List<GameSnapshot.RoomRecord> readRoomRecords(final DataInputStream in,
+                                                                 final int roomCount) throws IOException {
+        final int recordCount = in.readInt();
+        if (recordCount < 0 || recordCount > roomCount) {
+            throw new IOException("Invalid room record count: " + recordCount);
+        }
+        final List<GameSnapshot.RoomRecord> rooms = new ArrayList<>(recordCount);
+        for (int i = 0; i < recordCount; i++) {
+            rooms.add(readRoomRecord(in, roomCount));
+        }
+        return rooms;
+    }
+
+    /**
+     * Reads a single room record written by writeRoomRecord.
+     *
+     * @param in The stream to read from.
+     * @param roomCount Number of rooms in the dungeon.
+     * @return The room record.
+     * @throws IOException if reading fails or the record is corrupt.
+     */
+    static GameSnapshot.RoomRecord readRoomRecord(final DataInputStream in, final int roomCount) throws IOException {
+        final int index = in.readInt();
+        if (index < 0 || index >= roomCount) {
+            throw new IOException("Room index out of range: " + index);
+        }
+        final int flags = in.readUnsignedByte();
+        final int pillar = (flags & FLAG_PILLAR) != 0 ? readCode(in, PillarType.values().length) : -1;
+        final List<GameSnapshot.ItemState> items = (flags & FLAG_ITEMS) != 0 ? readItems(in) : List.of();
+        final GameSnapshot.MonsterState monster = (flags & FLAG_MONSTER) != 0 ? readMonster(in) : null;
+        return new GameSnapshot.RoomRecord(index, (flags & FLAG_PIT) != 0, pillar, items, monster);
+    }
+
+    /**
+     * Reads the monsters of a delta save as room records that only hold a monster.
+     */
+    private static List<GameSnapshot.RoomRecord> readDeltaMonsters(final DataInputStream in,
+                                                                   final int roomCount) throws IOException {
+        final int count = readVarInt(in);
+        if (count > roomCount) {
+            throw new IOException("Invalid monster count: " + count);
+        }
+        final List<GameSnapshot.RoomRecord> rooms = new ArrayList<>(count);
+        long index = -1;
+        for (int i = 0; i < count; i++) {
+            index += readVarInt(in) + 1L;
+            if (index >= roomCount) {
+                throw new IOException("Room index out of range: " + index);
+            }
+            rooms.add(new GameSnapshot.RoomRecord((int) index, false, -1, List.of(), readMonster(in)));
+        }
+        return rooms;
+    }
+
+    /**
+     * Checks whether a stream starts with the binary save magic number without consuming it.
+     *
+     * @param theIn The stream to check. Must support mark and reset.
+     * @return True if the stream holds a binary save, false otherwise (for example an older
+     *         save written with Java serialization).
+     * @throws IOException if reading fails.
+     */
+    static boolean isBinarySave(final BufferedInputStream theIn) throws IOException {
+        theIn.mark(Integer.BYTES);
+        final byte[] header = theIn.readNBytes(Integer.BYTES);
+        theIn.reset();
+
+        return header.length == Integer.BYTES
+                && ((header[0] & 0xFF) << 24 | (header[1] & 0xFF) << 16
+                    | (header[2] & 0xFF) << 8 | (header[3] & 0xFF)) == MAGIC;
+    }
+
+    /**
+     * Writes a list of items as a count followed by a kind and value per item.
+     */
+    private static void writeItems(final DataOutputStream theOut,
+                                   final List<GameSnapshot.ItemState> theItems) throws IOException {
+        theOut.writeShort(theItems.size());
+        for (final GameSnapshot.ItemState item : theItems) {
+            theOut.writeByte(item.kind());
+            theOut.writeInt(item.value());
+        }
+    }
+
+    /**
+     * Reads a list of items written by writeItems.
+     */
+    private static List<GameSnapshot.ItemState> readItems(final DataInputStream theIn) throws IOException {
+        final int count = theIn.readUnsignedShort();
+        final List<GameSnapshot.ItemState> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            final byte kind = readCode(theIn, GameSnapshot.ITEM_PILLAR + 1);
+            final int value = theIn.readInt();
+            if (kind == GameSnapshot.ITEM_PILLAR && (value < 0 || value >= PillarType.values().length)) {
+                throw new IOException("Invalid pillar type: " + value);
+            }
+            items.add(new GameSnapshot.ItemState(kind, value));
+        }
+        return items;
+    }
+
+    /**
+     * Writes a monster as a type code followed by fixed-width stats.
+     */
+    private static void writeMonster(final DataOutputStream theOut,
+                                     final GameSnapshot.MonsterState theMonster) throws IOException {
+        theOut.writeByte(theMonster.type());
+        theOut.writeInt(theMonster.hp());
+        theOut.writeInt(theMonster.maxHp());
+        theOut.writeInt(theMonster.attackSpeed());
+        theOut.writeInt(theMonster.damageMin());
+        theOut.writeInt(theMonster.damageMax());
+        theOut.writeInt(theMonster.hitChance());
+        theOut.writeDouble(theMonster.healChance());
+        theOut.writeInt(theMonster.minHeal());
+        theOut.writeInt(theMonster.maxHeal());
+    }
+
+    /**
+     * Reads a monster written by writeMonster.
+     */
+    private static GameSnapshot.MonsterState readMonster(final DataInputStream theIn) throws IOException {
+        final byte type = readCode(theIn, GameSnapshot.monsterTypeCount());
+        return new GameSnapshot.MonsterState(type, theIn.readInt(), theIn.readInt(), theIn.readInt(),
+                theIn.readInt(), theIn.readInt(), theIn.readInt(), theIn.readDouble(),
+                theIn.readInt(), theIn.readInt());
+    }
+
+    /**
+     * Reads a one byte code and checks that it is below the given limit.
+     */
+    private static byte readCode(final DataInputStream theIn, final int theLimit) throws IOException {
+        final int code = theIn.readUnsignedByte();
+        if (code >= theLimit) {
+            throw new IOException("Invalid type code: " + code);
+        }
+        return (byte) code;
+    }
+
+    /**
+     * Writes the set bits of a packed bitmap as a set of room indices, using whichever
+     * encoding is smaller: the gaps between set indices, or the bitmap itself.
+     */
+    private static void writeIndexSet(final DataOutputStream theOut, final byte[] theBits,
+                                      final int theRoomCount) throws IOException {
+        int count = 0;
+        long gapBytes = 0;
+        int previous = -1;
+        for (int index = 0; index < theRoomCount; index++) {
+            if ((theBits[index >> 3] & (1 << (index & 7))) != 0) {
+                count++;
+                gapBytes += varIntSize(index - previous - 1);
+                previous = index;
+            }
+        }
+
+        if (varIntSize(count) + gapBytes < theBits.length) {
+            theOut.writeByte(INDEX_SET_GAPS);
+            writeVarInt(theOut, count);
+            previous = -1;
+            for (int index = 0; index < theRoomCount; index++) {
+                if ((theBits[index >> 3] & (1 << (index & 7))) != 0) {
+                    writeVarInt(theOut, index - previous - 1);
+                    previous = index;
+                }
+            }
+        } else {
+            theOut.writeByte(INDEX_SET_BITMAP);
+            theOut.write(theBits);
+        }
+    }
+
+    /**
+     * Reads an index set written by writeIndexSet back into a packed bitmap.
+     */
+    private static byte[] readIndexSet(final DataInputStream theIn, final int theRoomCount) throws IOException {
+        final byte[] bits = new byte[GameSnapshot.visitedBytes(theRoomCount)];
+        final int encoding = theIn.readUnsignedByte();
+
+        if (encoding == INDEX_SET_BITMAP) {
+            theIn.readFully(bits);
+        } else if (encoding == INDEX_SET_GAPS) {
+            final int count = readVarInt(theIn);
+            if (count > theRoomCount) {
+                throw new IOException("Invalid room count: " + count);
+            }
+            long index = -1;
+            for (int i = 0; i < count; i++) {
+                index += readVarInt(theIn) + 1L;
+                if (index >= theRoomCount) {
+                    throw new IOException("Room index out of range: " + index);
+                }
+                bits[(int) index >> 3] |= (byte) (1 << (index & 7));
+            }
+        } else {
+            throw new IOException("Invalid index set encoding: " + encoding);
+        }
+        return bits;
+    }
+
+    /**
+     * Writes a non-negative int in seven bit groups, low group first. Small values take one byte.
+     */
+    private static void writeVarInt(final DataOutputStream theOut, final int theValue) throws IOException {
+        int value = theValue;
+        while ((value & ~0x7F) != 0) {
+            theOut.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        theOut.writeByte(value);
+    }
+
+    /**
+     * Reads a non-negative int written by writeVarInt.
+     */
+    private static int readVarInt(final DataInputStream theIn) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < Integer.SIZE; shift += 7) {
+            final int b = theIn.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                if (value < 0) {
+                    throw new IOException("Invalid number in save file.");
+                }
+                return value;
+            }
+        }
+        throw new IOException("Invalid number in save file.");
+    }
+
+    /**
+     * Number of bytes writeVarInt uses for a value.
+     */
+    private static int varIntSize(final int theValue) {
+        return (Integer.SIZE - Integer.numberOfLeadingZeros(theValue | 1) + 6) / 7;
+    }
+
+    /**
+     * Checks whether a coordinate lies inside a dungeon of the given size.
+     */
+    private static boolean inBounds(final int theRow, final int theCol, final int theRows, final int theCols) {
+        return theRow >= 0 && theRow < theRows && theCol >= 0 && theCol < theCols;
+    }
+}
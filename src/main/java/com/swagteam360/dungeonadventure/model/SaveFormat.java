@@ -0,0 +1,43 @@
+package com.swagteam360.dungeonadventure.model;
+
+/**
+ * The ways a game can be laid out in a save file. The order of the constants is
+ * stored in save files, so new formats must be added at the end.
+ *
+ * @author agent
+ * @version 1.0 (19 October 2026)
+ */
+public enum SaveFormat {
+
+    /**
+     * Stores every wall and the contents of every room. Works for any dungeon and
+     * keeps loading even if the dungeon generator changes.
+     */
+    FULL,
+
+    /**
+     * Stores only the seed the dungeon was generated from and what the player changed
+     * since: visited rooms, looted rooms, monsters and the hero. Loading regenerates the
+     * dungeon from the seed, so the file stays a few kilobytes even for huge dungeons.
+     * Games whose dungeon has no known seed are saved in the {@link #FULL} format instead.
+     */
+    SEED_DELTA,
+
+    /**
+     * Stores the same data as {@link #FULL}, plus an index that locates each room's contents.
+     * Loading only reads the header and the rooms around the hero before the game is shown;
+     * the other rooms are read on demand and in the background, so loading takes the same
+     * time for any dungeon size.
+     */
+    INDEXED,
+
+    /**
+     * Keeps the dungeon in a fixed-layout room file next to the save file, which only holds the
+     * game settings, hero and position. The room file is memory-mapped, and saving overwrites the
+     * records of the rooms that changed instead of rewriting the file, so saving a huge dungeon
+     * stays quick. Only {@link GameManager#saveGame} and {@link GameManager#saveToSlot} write this
+     * format, since they own the game's room file; autosaves, which are written from a snapshot,
+     * use {@link #INDEXED} instead.
+     */
+    MAPPED
+}
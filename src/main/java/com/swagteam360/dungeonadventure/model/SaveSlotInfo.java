@@ -0,0 +1,81 @@
+package com.swagteam360.dungeonadventure.model;
+
+import java.util.Objects;
+
+/**
+ * Describes the game stored in a save slot, as kept in the index file of {@link SaveSlots}.
+ * Everything the load menu shows comes from here, so listing the slots never opens a save.
+ * <p>
+ * The thumbnail is a small map of the dungeon with one byte per pixel, row by row. Each
+ * pixel covers a block of rooms and holds one of the THUMBNAIL constants.
+ *
+ * @param slot The slot number, {@link SaveSlots#AUTOSAVE_SLOT} for the autosave
+ * @param playerName The player's name
+ * @param heroType The hero type from the game settings
+ * @param difficulty The difficulty from the game settings
+ * @param pillarCount Number of pillars the hero has collected
+ * @param playTimeMillis Time spent playing the game, in milliseconds
+ * @param savedAt When the game was saved, in milliseconds since the epoch
+ * @param thumbnailWidth Width of the thumbnail in pixels
+ * @param thumbnailHeight Height of the thumbnail in pixels
+ * @param thumbnail The thumbnail pixels
+ *
+ * @author agent
+ * @version 1.0 (19 October 2026)
+ */
+public record SaveSlotInfo(int slot, String playerName, String heroType, String difficulty, int pillarCount,
+                           long playTimeMillis, long savedAt, int thumbnailWidth, int thumbnailHeight,
+                           byte[] thumbnail) {
+
+    /** Thumbnail pixel for rooms that have not been explored. */
+    public static final byte THUMBNAIL_UNEXPLORED = 0;
+    /** Thumbnail pixel for rooms the player has visited. */
+    public static final byte THUMBNAIL_EXPLORED = 1;
+    /** Thumbnail pixel for the rooms around the hero. */
+    public static final byte THUMBNAIL_HERO = 2;
+
+    /**
+     * Checks the thumbnail size and copies the pixels.
+     *
+     * @throws IllegalArgumentException if the pixels do not match the thumbnail size.
+     */
+    public SaveSlotInfo {
+        Objects.requireNonNull(playerName);
+        Objects.requireNonNull(heroType);
+        Objects.requireNonNull(difficulty);
+        if (thumbnailWidth < 0 || thumbnailHeight < 0 || thumbnail.length != thumbnailWidth * thumbnailHeight) {
+            throw new IllegalArgumentException("Thumbnail pixels do not match its size.");
+        }
+        thumbnail = thumbnail.clone();
+    }
+
+    /**
+     * Returns a copy of the thumbnail pixels.
+     *
+     * @return One THUMBNAIL constant per pixel, row by row
+     */
+    @Override
+    public byte[] thumbnail() {
+        return thumbnail.clone();
+    }
+
+    /**
+     * Reads one pixel of the thumbnail.
+     *
+     * @param theX Column of the pixel
+     * @param theY Row of the pixel
+     * @return One of the THUMBNAIL constants
+     */
+    public byte thumbnailPixel(final int theX, final int theY) {
+        return thumbnail[theY * thumbnailWidth + theX];
+    }
+
+    /**
+     * Indicates whether this slot holds the autosave.
+     *
+     * @return True for the autosave slot
+     */
+    public boolean isAutosave() {
+        return slot == SaveSlots.AUTOSAVE_SLOT;
+    }
+}
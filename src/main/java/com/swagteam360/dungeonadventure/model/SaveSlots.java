@@ -0,0 +1,386 @@
+package com.swagteam360.dungeonadventure.model;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * The SaveSlots class manages the save slots: one file per slot in a save directory, plus a
+ * small index file that describes every occupied slot with a {@link SaveSlotInfo}. Slot
+ * {@link #AUTOSAVE_SLOT} holds the autosave; slots 1 to {@link #SLOT_COUNT} are for the player.
+ * <p>
+ * The load menu lists the slots from the index alone, so it never has to decode a save, however
+ * large the dungeons are. After each save the slot's entry (including its thumbnail) is built on
+ * a background thread from the snapshot that was written, and the index is replaced atomically.
+ * <p>
+ * The index file starts with the magic number "SLOT" and a version number, followed by the
+ * number of entries and the entries themselves (all numbers big-endian).
+ *
+ * @author agent
+ * @version 1.0 (19 October 2026)
+ */
+public final class SaveSlots {
+
+    /**
+     * Writes a game to a slot's file.
+     */
+    @FunctionalInterface
+    interface SlotWriter {
+
+        /**
+         * Writes the game.
+         *
+         * @param theFile The slot's file.
+         * @throws IOException if writing fails.
+         */
+        void write(Path theFile) throws IOException;
+    }
+
+    /**
+     * The slot that autosaves are written to.
+     */
+    public static final int AUTOSAVE_SLOT = 0;
+
+    /**
+     * Number of slots the player can save to, numbered from 1.
+     */
+    public static final int SLOT_COUNT = 8;
+
+    /**
+     * Largest width and height of a thumbnail. Larger dungeons are scaled down to fit.
+     */
+    static final int THUMBNAIL_SIZE = 32;
+
+    /**
+     * Directory the save files and the index are kept in.
+     */
+    private static final String DEFAULT_DIRECTORY = "saves";
+
+    /**
+     * Name of the index file.
+     */
+    private static final String INDEX_FILE_NAME = "slots.idx";
+
+    /**
+     * Marks a file as a slot index. Spells "SLOT" in ASCII.
+     */
+    private static final int INDEX_MAGIC = 0x534C4F54;
+
+    /**
+     * The index format version this class writes and understands.
+     */
+    private static final short INDEX_VERSION = 1;
+
+    /**
+     * Name given to the thread that builds thumbnails and writes the index.
+     */
+    private static final String THREAD_NAME = "save-slots";
+
+    /**
+     * A singleton instance of the SaveSlots class, using the default directory.
+     */
+    private static final SaveSlots mySingleton = new SaveSlots(Path.of(DEFAULT_DIRECTORY));
+
+    /**
+     * Directory the save files and the index are kept in.
+     */
+    private final Path myDirectory;
+
+    /**
+     * Builds thumbnails and writes the index, one save at a time.
+     */
+    private final ExecutorService myExecutor;
+
+    /**
+     * The index entries by slot, or null until the index has been read.
+     */
+    private Map<Integer, SaveSlotInfo> mySlots;
+
+    /**
+     * Constructs save slots kept in the given directory. The directory is created by the first save.
+     *
+     * @param theDirectory Directory for the save files and the index.
+     */
+    SaveSlots(final Path theDirectory) {
+        myDirectory = Objects.requireNonNull(theDirectory);
+        myExecutor = Executors.newSingleThreadExecutor(theRunnable -> {
+            final Thread thread = new Thread(theRunnable, THREAD_NAME);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Provides access to the singleton instance of the SaveSlots class.
+     *
+     * @return the singleton instance of SaveSlots
+     */
+    public static SaveSlots getInstance() {
+        return mySingleton;
+    }
+
+    /**
+     * Returns the file a slot is saved in.
+     *
+     * @param theSlot The slot, from {@link #AUTOSAVE_SLOT} to {@link #SLOT_COUNT}.
+     * @return The slot's save file, which may not exist yet.
+     * @throws IllegalArgumentException if the slot does not exist.
+     */
+    public Path getSlotFile(final int theSlot) {
+        checkSlot(theSlot);
+        return myDirectory.resolve(theSlot == AUTOSAVE_SLOT ? "autosave.sav" : "slot" + theSlot + ".sav");
+    }
+
+    /**
+     * Indicates whether the game in a slot has a {@link GameJournal} it can be replayed from.
+     *
+     * @param theSlot The slot, from {@link #AUTOSAVE_SLOT} to {@link #SLOT_COUNT}.
+     * @return True if a journal is kept next to the slot's save file.
+     * @throws IllegalArgumentException if the slot does not exist.
+     */
+    public boolean hasJournal(final int theSlot) {
+        return Files.exists(GameJournal.journalFileFor(getSlotFile(theSlot)));
+    }
+
+    /**
+     * Lists every occupied slot, in slot order. Only the index file is read.
+     *
+     * @return Information on the occupied slots.
+     */
+    public synchronized List<SaveSlotInfo> listSlots() {
+        return new ArrayList<>(getSlots().values());
+    }
+
+    /**
+     * Looks up a single slot in the index.
+     *
+     * @param theSlot The slot to look up.
+     * @return Information on the slot, or null if the slot is empty.
+     */
+    public synchronized SaveSlotInfo getSlot(final int theSlot) {
+        checkSlot(theSlot);
+        return getSlots().get(theSlot);
+    }
+
+    /**
+     * Writes a snapshot to a slot, then updates the slot's index entry in the background.
+     *
+     * @param theSlot The slot to save to.
+     * @param theSnapshot The game to save.
+     * @param theFormat The preferred save format.
+     * @throws IOException if the save file cannot be written. The index is left unchanged.
+     */
+    void save(final int theSlot, final GameSnapshot theSnapshot, final SaveFormat theFormat) throws IOException {
+        save(theSlot, theSnapshot, theFile -> SaveCodec.writeAtomically(theSnapshot, theFormat, theFile));
+    }
+
+    /**
+     * Writes a game to a slot with a writer of the caller's own, such as the one for
+     * {@link SaveFormat#MAPPED} saves, then updates the slot's index entry in the background.
+     *
+     * @param theSlot The slot to save to.
+     * @param theSnapshot The game being saved, used for the index entry.
+     * @param theWriter Writes the game to the slot's file.
+     * @throws IOException if the save file cannot be written. The index is left unchanged.
+     */
+    void save(final int theSlot, final GameSnapshot theSnapshot, final SlotWriter theWriter) throws IOException {
+        final Path file = getSlotFile(theSlot);
+        Files.createDirectories(myDirectory);
+        theWriter.write(file);
+        recordSave(theSlot, theSnapshot);
+    }
+
+    /**
+     * Queues an update of a slot's index entry for a snapshot that has just been written to the
+     * slot's file. The thumbnail is built and the index is written on the save-slots thread.
+     *
+     * @param theSlot The slot that was saved to.
+     * @param theSnapshot The game that was saved.
+     */
+    void recordSave(final int theSlot, final GameSnapshot theSnapshot) {
+        checkSlot(theSlot);
+        final long savedAt = System.currentTimeMillis();
+        myExecutor.execute(() -> {
+            final SaveSlotInfo info = describe(theSlot, theSnapshot, savedAt);
+            try {
+                synchronized (this) {
+                    getSlots().put(theSlot, info);
+                    writeIndex();
+                }
+            } catch (IOException e) {
+                e.printStackTrace(); // Might want to log this exception. The slot is still listed until restart.
+            }
+        });
+    }
+
+    /**
+     * Returns a Future that completes once every index update queued so far has been written.
+     *
+     * @return A Future that completes after the pending updates.
+     */
+    public Future<?> flush() {
+        return myExecutor.submit(() -> { });
+    }
+
+    /**
+     * Waits for the queued index updates to be written, so that no save is missing from the load
+     * menu after the application exits. Saving afterward still works.
+     */
+    public void close() {
+        try {
+            flush().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            e.printStackTrace(); // Might want to log this exception.
+        }
+    }
+
+    /**
+     * Builds the index entry for a saved game, including its thumbnail.
+     *
+     * @param theSlot The slot the game was saved to.
+     * @param theSnapshot The saved game.
+     * @param theSavedAt When the game was saved.
+     * @return The slot's new index entry.
+     */
+    static SaveSlotInfo describe(final int theSlot, final GameSnapshot theSnapshot, final long theSavedAt) {
+        int pillars = 0;
+        for (final GameSnapshot.ItemState item : theSnapshot.getHero().inventory()) {
+            if (item.kind() == GameSnapshot.ITEM_PILLAR) {
+                pillars++;
+            }
+        }
+
+        final int rows = theSnapshot.getRows();
+        final int cols = theSnapshot.getCols();
+        final int width = Math.min(cols, THUMBNAIL_SIZE);
+        final int height = Math.min(rows, THUMBNAIL_SIZE);
+        final byte[] thumbnail = new byte[width * height];
+
+        // Each pixel covers a block of rooms and counts as explored if any room of the block was visited
+        for (int row = 0; row < rows; row++) {
+            final int y = (int) ((long) row * height / rows);
+            for (int col = 0; col < cols; col++) {
+                final int x = (int) ((long) col * width / cols);
+                if (theSnapshot.isVisited(row * cols + col)) {
+                    thumbnail[y * width + x] = SaveSlotInfo.THUMBNAIL_EXPLORED;
+                }
+            }
+        }
+        final int heroY = (int) ((long) theSnapshot.getCurrentRow() * height / rows);
+        final int heroX = (int) ((long) theSnapshot.getCurrentCol() * width / cols);
+        thumbnail[heroY * width + heroX] = SaveSlotInfo.THUMBNAIL_HERO;
+
+        return new SaveSlotInfo(theSlot, theSnapshot.getPlayerName(), theSnapshot.getHeroType(),
+                theSnapshot.getDifficulty(), pillars, theSnapshot.getPlayTimeMillis(), theSavedAt,
+                width, height, thumbnail);
+    }
+
+    /**
+     * Returns the index entries, reading the index file the first time. A missing index means
+     * that nothing has been saved yet; a damaged index is treated the same way.
+     */
+    private Map<Integer, SaveSlotInfo> getSlots() {
+        if (mySlots == null) {
+            mySlots = new TreeMap<>();
+            try {
+                readIndex(mySlots);
+            } catch (NoSuchFileException e) {
+                // Nothing has been saved yet
+            } catch (IOException | IllegalArgumentException e) {
+                mySlots.clear();
+                e.printStackTrace(); // Might want to log this exception. Slots are listed again once saved.
+            }
+        }
+        return mySlots;
+    }
+
+    /**
+     * Reads every entry of the index file into a map.
+     */
+    private void readIndex(final Map<Integer, SaveSlotInfo> theSlots) throws IOException {
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(myDirectory.resolve(INDEX_FILE_NAME))))) {
+            if (in.readInt() != INDEX_MAGIC) {
+                throw new IOException("Not a save slot index.");
+            }
+            final short version = in.readShort();
+            if (version != INDEX_VERSION) {
+                throw new IOException("Unsupported save slot index version: " + version);
+            }
+
+            final int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                final int slot = in.readInt();
+                checkSlot(slot);
+                final String name = in.readUTF();
+                final String heroType = in.readUTF();
+                final String difficulty = in.readUTF();
+                final int pillars = in.readInt();
+                final long playTime = in.readLong();
+                final long savedAt = in.readLong();
+                final int width = in.readUnsignedByte();
+                final int height = in.readUnsignedByte();
+                if (width > THUMBNAIL_SIZE || height > THUMBNAIL_SIZE) {
+                    throw new IOException("Invalid thumbnail size: " + width + "x" + height);
+                }
+                final byte[] thumbnail = new byte[width * height];
+                in.readFully(thumbnail);
+
+                theSlots.put(slot, new SaveSlotInfo(slot, name, heroType, difficulty, pillars, playTime, savedAt,
+                        width, height, thumbnail));
+            }
+        }
+    }
+
+    /**
+     * Replaces the index file with the current entries.
+     */
+    private void writeIndex() throws IOException {
+        final List<SaveSlotInfo> slots = new ArrayList<>(mySlots.values());
+        SaveCodec.replaceAtomically(myDirectory.resolve(INDEX_FILE_NAME), theOut -> {
+            final DataOutputStream out = new DataOutputStream(theOut);
+            out.writeInt(INDEX_MAGIC);
+            out.writeShort(INDEX_VERSION);
+            out.writeInt(slots.size());
+            for (final SaveSlotInfo info : slots) {
+                out.writeInt(info.slot());
+                out.writeUTF(info.playerName());
+                out.writeUTF(info.heroType());
+                out.writeUTF(info.difficulty());
+                out.writeInt(info.pillarCount());
+                out.writeLong(info.playTimeMillis());
+                out.writeLong(info.savedAt());
+                out.writeByte(info.thumbnailWidth());
+                out.writeByte(info.thumbnailHeight());
+                out.write(info.thumbnail());
+            }
+            out.flush();
+        });
+    }
+
+    /**
+     * Checks that a slot number exists.
+     *
+     * @throws IllegalArgumentException if it does not.
+     */
+    private static void checkSlot(final int theSlot) {
+        if (theSlot < AUTOSAVE_SLOT || theSlot > SLOT_COUNT) {
+            throw new IllegalArgumentException("Invalid save slot: " + theSlot);
+        }
+    }
+}
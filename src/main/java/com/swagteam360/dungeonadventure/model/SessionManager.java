@@ -0,0 +1,570 @@
+package com.swagteam360.dungeonadventure.model;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Hosts many independent {@link GameSession}s in one JVM. Each session is driven by its own
+ * virtual thread, which runs the session's commands one at a time in the order they were
+ * submitted, so sessions never share mutable state and never need locking of their own.
+ * <p>
+ * A session that receives no commands for the idle timeout is passivated: it is written to a
+ * small file in the session directory, dropped from memory, and its thread ends. The next command
+ * restores it from the file on a new thread, exactly as it was, random choices included. Only a few
+ * bytes of bookkeeping stay in memory for a passivated session, so a node can host far more sessions
+ * than are active at any one moment.
+ * <p>
+ * Listeners added through the manager stay with their session while it is passivated and are
+ * added back when it is restored. Passivated sessions outlive the manager: a manager opened on
+ * the same directory finds them again, without their listeners.
+ *
+ * @author agent
+ * @version 1.0 (19 October 2026)
+ */
+public final class SessionManager implements AutoCloseable {
+
+    /**
+     * Default time a session may go without commands before it is passivated.
+     */
+    public static final Duration DEFAULT_IDLE_TIMEOUT = Duration.ofMinutes(5);
+
+    /**
+     * Ending of the files passivated sessions are kept in.
+     */
+    private static final String FILE_SUFFIX = ".session";
+
+    /**
+     * Directory passivated sessions are written to.
+     */
+    private final Path myDirectory;
+
+    /**
+     * Time a session may go without commands before it is passivated, in nanoseconds.
+     */
+    private final long myIdleTimeoutNanos;
+
+    /**
+     * Every session, active or passivated, by id.
+     */
+    private final Map<Long, Host> myHosts = new ConcurrentHashMap<>();
+
+    /**
+     * The id given to the next new session.
+     */
+    private final AtomicLong myNextId;
+
+    /**
+     * Number of sessions currently held in memory.
+     */
+    private final AtomicInteger myActiveCount = new AtomicInteger();
+
+    /**
+     * Whether the manager has been closed.
+     */
+    private volatile boolean myClosed;
+
+    /**
+     * Opens a session manager on a directory. Sessions passivated there earlier are found again and
+     * restored when they receive a command.
+     *
+     * @param theDirectory Directory passivated sessions are written to; it is created if needed.
+     * @param theIdleTimeout Time a session may go without commands before it is passivated.
+     * @throws IOException if the directory cannot be created or read.
+     * @throws IllegalArgumentException if the timeout is not positive.
+     */
+    public SessionManager(final Path theDirectory, final Duration theIdleTimeout) throws IOException {
+        if (theIdleTimeout.isNegative() || theIdleTimeout.isZero()) {
+            throw new IllegalArgumentException("Idle timeout must be positive.");
+        }
+        myDirectory = Objects.requireNonNull(theDirectory);
+        myIdleTimeoutNanos = theIdleTimeout.toNanos();
+
+        Files.createDirectories(theDirectory);
+        long nextId = 1;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(theDirectory, "*" + FILE_SUFFIX)) {
+            for (final Path file : files) {
+                final String name = file.getFileName().toString();
+                try {
+                    final long id = Long.parseLong(name.substring(0, name.length() - FILE_SUFFIX.length()));
+                    myHosts.put(id, new Host(id, null));
+                    nextId = Math.max(nextId, id + 1);
+                } catch (NumberFormatException e) {
+                    // Not one of ours
+                }
+            }
+        }
+        myNextId = new AtomicLong(nextId);
+    }
+
+    /**
+     * Starts a new session.
+     *
+     * @param theSettings The hero type and difficulty of the game.
+     * @param theSeed The seed the game is played from.
+     * @return The id of the new session.
+     * @throws IllegalArgumentException if the hero type or the difficulty is unknown.
+     * @throws IllegalStateException if the manager has been closed.
+     */
+    public long create(final GameSettings theSettings, final long theSeed) {
+        checkOpen();
+        final GameSession session = new GameSession(theSettings, theSeed);
+        final long id = myNextId.getAndIncrement();
+        final Host host = new Host(id, session);
+        myActiveCount.incrementAndGet();
+        myHosts.put(id, host);
+        host.start();
+        return id;
+    }
+
+    /**
+     * Queues a command for a session. The command runs on the session's thread after every command
+     * submitted before it, restoring the session first if it has been passivated.
+     *
+     * @param theId The session's id.
+     * @param theCommand The command, which may read and change the session and returns a result.
+     *                   It must not keep the session for use outside of commands.
+     * @param <T> The type of the result.
+     * @return A future that completes with the command's result, or with the exception it threw.
+     * @throws IllegalArgumentException if there is no session with that id.
+     * @throws IllegalStateException if the manager has been closed.
+     */
+    public <T> CompletableFuture<T> submit(final long theId, final Function<GameSession, T> theCommand) {
+        checkOpen();
+        final Host host = getHost(theId);
+        final CompletableFuture<T> future = new CompletableFuture<>();
+        host.enqueue(new Command<>(theCommand, future));
+        return future;
+    }
+
+    /**
+     * Adds a listener to a session. The listener is called on the session's thread, so it should
+     * hand any slow work, such as writing to a network connection, to another thread.
+     *
+     * @param theId The session's id.
+     * @param theListener The listener.
+     * @return A future that completes once the listener has been added.
+     * @throws IllegalArgumentException if there is no session with that id.
+     */
+    public CompletableFuture<Void> addListener(final long theId, final Consumer<GameEvent> theListener) {
+        final Host host = getHost(theId);
+        return submit(theId, theSession -> {
+            host.myListeners.add(theListener);
+            theSession.addListener(theListener);
+            return null;
+        });
+    }
+
+    /**
+     * Removes a listener from a session.
+     *
+     * @param theId The session's id.
+     * @param theListener The listener.
+     * @return A future that completes once the listener has been removed.
+     * @throws IllegalArgumentException if there is no session with that id.
+     */
+    public CompletableFuture<Void> removeListener(final long theId, final Consumer<GameEvent> theListener) {
+        final Host host = getHost(theId);
+        return submit(theId, theSession -> {
+            host.myListeners.remove(theListener);
+            theSession.removeListener(theListener);
+            return null;
+        });
+    }
+
+    /**
+     * Indicates whether a session exists, active or passivated.
+     *
+     * @param theId The session's id.
+     * @return True if there is a session with that id.
+     */
+    public boolean hasSession(final long theId) {
+        return myHosts.containsKey(theId);
+    }
+
+    /**
+     * Ends a session and deletes its file. Commands still waiting for it fail.
+     *
+     * @param theId The session's id.
+     * @return True if the session existed.
+     */
+    public boolean remove(final long theId) {
+        final Host host = myHosts.remove(theId);
+        if (host == null) {
+            return false;
+        }
+        host.remove();
+        return true;
+    }
+
+    /**
+     * Returns the number of sessions, active or passivated.
+     *
+     * @return The session count.
+     */
+    public int getSessionCount() {
+        return myHosts.size();
+    }
+
+    /**
+     * Returns the number of sessions currently held in memory.
+     *
+     * @return The active session count.
+     */
+    public int getActiveCount() {
+        return myActiveCount.get();
+    }
+
+    /**
+     * Returns the file a session is passivated to.
+     *
+     * @param theId The session's id.
+     * @return The session's file, which only exists once the session has been passivated.
+     */
+    Path getSessionFile(final long theId) {
+        return myDirectory.resolve(theId + FILE_SUFFIX);
+    }
+
+    /**
+     * Stops accepting commands, lets every session finish the commands already queued, passivates
+     * every session held in memory, and waits until all session threads have ended. If the calling
+     * thread is interrupted while waiting, it stops waiting and keeps its interrupt flag set; the
+     * sessions are still passivated by their own threads.
+     */
+    @Override
+    public void close() {
+        myClosed = true;
+        final List<Thread> threads = new ArrayList<>();
+        for (final Host host : myHosts.values()) {
+            host.passivateNow(threads);
+        }
+        try {
+            for (final Thread thread : threads) {
+                thread.join();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Looks up a session.
+     *
+     * @param theId The session's id.
+     * @return The session's host.
+     * @throws IllegalArgumentException if there is no session with that id.
+     */
+    private Host getHost(final long theId) {
+        final Host host = myHosts.get(theId);
+        if (host == null) {
+            throw new IllegalArgumentException("No such session: " + theId);
+        }
+        return host;
+    }
+
+    /**
+     * Checks that the manager is open.
+     *
+     * @throws IllegalStateException if it has been closed.
+     */
+    private void checkOpen() {
+        if (myClosed) {
+            throw new IllegalStateException("The session manager has been closed.");
+        }
+    }
+
+    /**
+     * A command waiting to run, with the future its result goes to.
+     *
+     * @param command The command
+     * @param future The future completed with its result
+     * @param <T> The type of the result
+     */
+    private record Command<T>(Function<GameSession, T> command, CompletableFuture<T> future) {
+
+        /**
+         * Runs the command and completes the future.
+         *
+         * @param theSession The session to run the command on.
+         */
+        void run(final GameSession theSession) {
+            try {
+                future.complete(command.apply(theSession));
+            } catch (RuntimeException | Error e) {
+                future.completeExceptionally(e);
+            }
+        }
+
+        /**
+         * Fails the command without running it.
+         *
+         * @param theCause Why it did not run.
+         */
+        void fail(final Throwable theCause) {
+            future.completeExceptionally(theCause);
+        }
+    }
+
+    /**
+     * One session and its queue of commands. While commands are waiting or the session was used
+     * within the idle timeout, a virtual thread serves the queue; otherwise no thread exists.
+     * <p>
+     * The lock guards the queue and the flags. The session itself is only touched by the serving
+     * thread, and handing over the lock makes it visible to the next thread.
+     */
+    private final class Host {
+
+        /**
+         * The session's id.
+         */
+        private final long myId;
+
+        /**
+         * Guards the queue and the flags.
+         */
+        private final ReentrantLock myLock = new ReentrantLock();
+
+        /**
+         * Signalled when a command is queued or the session should stop.
+         */
+        private final Condition myWork = myLock.newCondition();
+
+        /**
+         * Commands waiting to run.
+         */
+        private final ArrayDeque<Command<?>> myQueue = new ArrayDeque<>();
+
+        /**
+         * Listeners added through the manager. Only touched by the serving thread.
+         */
+        private final List<Consumer<GameEvent>> myListeners = new ArrayList<>();
+
+        /**
+         * The session, or null while it is passivated.
+         */
+        private GameSession mySession;
+
+        /**
+         * The thread serving the queue, or null if there is none.
+         */
+        private Thread myThread;
+
+        /**
+         * Whether the session should be passivated as soon as the queue is empty.
+         */
+        private boolean myPassivateNow;
+
+        /**
+         * Whether the session has been removed.
+         */
+        private boolean myRemoved;
+
+        /**
+         * Constructs a host.
+         *
+         * @param theId The session's id.
+         * @param theSession The session, or null if it is passivated.
+         */
+        Host(final long theId, final GameSession theSession) {
+            myId = theId;
+            mySession = theSession;
+        }
+
+        /**
+         * Starts a thread to serve a new session, so that it is passivated once idle even if it never
+         * receives a command.
+         */
+        void start() {
+            myLock.lock();
+            try {
+                if (myThread == null && !myRemoved) {
+                    startThread();
+                }
+            } finally {
+                myLock.unlock();
+            }
+        }
+
+        /**
+         * Queues a command, starting a thread to serve the queue if there is none.
+         *
+         * @param theCommand The command.
+         */
+        void enqueue(final Command<?> theCommand) {
+            myLock.lock();
+            try {
+                if (myRemoved) {
+                    theCommand.fail(new IllegalArgumentException("No such session: " + myId));
+                    return;
+                }
+                myQueue.add(theCommand);
+                if (myThread == null) {
+                    startThread();
+                } else {
+                    myWork.signal();
+                }
+            } finally {
+                myLock.unlock();
+            }
+        }
+
+        /**
+         * Starts the virtual thread that serves the queue. Called with the lock held.
+         */
+        private void startThread() {
+            myThread = Thread.ofVirtual().name("session-" + myId).start(this::serve);
+        }
+
+        /**
+         * Asks the serving thread to passivate the session once the queued commands have run.
+         *
+         * @param theThreads Collects the serving thread, if there is one, so that it can be waited for.
+         */
+        void passivateNow(final List<Thread> theThreads) {
+            myLock.lock();
+            try {
+                myPassivateNow = true;
+                if (myThread != null) {
+                    theThreads.add(myThread);
+                    myWork.signal();
+                }
+            } finally {
+                myLock.unlock();
+            }
+        }
+
+        /**
+         * Ends the session, failing the queued commands and deleting its file.
+         */
+        void remove() {
+            myLock.lock();
+            try {
+                myRemoved = true;
+                final IllegalArgumentException cause = new IllegalArgumentException("No such session: " + myId);
+                while (!myQueue.isEmpty()) {
+                    myQueue.poll().fail(cause);
+                }
+                myWork.signal();
+                Files.deleteIfExists(getSessionFile(myId));
+            } catch (IOException e) {
+                e.printStackTrace(); // Might want to log this exception.
+            } finally {
+                myLock.unlock();
+            }
+        }
+
+        /**
+         * Serves the queue: restores the session if needed, then runs commands until the session is
+         * idle for the timeout, or should be passivated or removed.
+         */
+        private void serve() {
+            if (mySession == null && !restore()) {
+                return;
+            }
+
+            long idleNanos = myIdleTimeoutNanos;
+            while (true) {
+                final Command<?> command;
+                myLock.lock();
+                try {
+                    while (myQueue.isEmpty()) {
+                        if (myRemoved) {
+                            drop();
+                            return;
+                        }
+                        if (myPassivateNow || idleNanos <= 0) {
+                            if (passivate() || myPassivateNow) {
+                                return; // When closing, a session that cannot be written is given up
+                            }
+                            idleNanos = myIdleTimeoutNanos; // Keep the session in memory and try again later
+                            continue;
+                        }
+                        idleNanos = myWork.awaitNanos(idleNanos);
+                    }
+                    command = myQueue.poll();
+                } catch (InterruptedException e) {
+                    myPassivateNow = true; // No one else interrupts these threads, so this can only mean stop
+                    continue;
+                } finally {
+                    myLock.unlock();
+                }
+
+                command.run(mySession);
+                idleNanos = myIdleTimeoutNanos;
+            }
+        }
+
+        /**
+         * Reads the session back from its file. If that fails, the queued commands fail and the thread ends.
+         *
+         * @return True if the session was restored.
+         */
+        private boolean restore() {
+            try (InputStream in = new BufferedInputStream(Files.newInputStream(getSessionFile(myId)))) {
+                mySession = GameSession.readFrom(in);
+                myListeners.forEach(mySession::addListener);
+                myActiveCount.incrementAndGet();
+                return true;
+            } catch (IOException e) {
+                myLock.lock();
+                try {
+                    final UncheckedIOException cause = new UncheckedIOException(e);
+                    while (!myQueue.isEmpty()) {
+                        myQueue.poll().fail(cause);
+                    }
+                    myThread = null;
+                } finally {
+                    myLock.unlock();
+                }
+                return false;
+            }
+        }
+
+        /**
+         * Writes the session to its file and lets go of it and of this thread. Called with the lock held.
+         *
+         * @return True if the session was passivated; false if it could not be written and stays in memory.
+         */
+        private boolean passivate() {
+            try {
+                SaveCodec.replaceAtomically(getSessionFile(myId), mySession::writeTo);
+            } catch (IOException e) {
+                e.printStackTrace(); // Might want to log this exception.
+                if (myPassivateNow) {
+                    drop();
+                }
+                return false;
+            }
+            drop();
+            return true;
+        }
+
+        /**
+         * Lets go of the session and of this thread. Called with the lock held.
+         */
+        private void drop() {
+            mySession = null;
+            myThread = null;
+            myPassivateNow = false;
+            myActiveCount.decrementAndGet();
+        }
+    }
+}
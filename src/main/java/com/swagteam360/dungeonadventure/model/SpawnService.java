@@ -0,0 +1,429 @@
+package com.swagteam360.dungeonadventure.model;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * The SpawnService class decides which monsters appear and creates them. Each monster type
+ * has a prototype built once by the {@link MonsterFactory}; spawning copies the prototype,
+ * which costs no database lookup and no stat parsing. When the stats in the
+ * {@link StatCatalog} are reloaded, the prototype is rebuilt on the next spawn.
+ * <p>
+ * The chance of each monster type comes from a table of weights per difficulty, read from
+ * the {@value #WEIGHTS_RESOURCE} resource. The weights of each difficulty are kept in an
+ * {@link AliasTable}, so choosing a monster takes the same time however many types there are.
+ * <p>
+ * Defeated monsters can be handed back with {@link #recycle(Monster)}. If pooling is on, up to
+ * the pool capacity of each type are kept and restored to full health for the next spawn,
+ * which saves allocations when many games are simulated. Pooling is off by default, since a
+ * recycled monster must no longer be referenced anywhere.
+ * <p>
+ * Each game spawns from a SpawnService of its own, made with {@link #copy()}, and so does each
+ * game played in parallel, such as the sessions of a {@link SessionManager} or of a
+ * {@link BatchEnvironment}. The copies share the weights and prototypes, which never change once
+ * built, and keep their own pools, so spawning takes no lock and games share no state that
+ * changes. A SpawnService itself is used by one thread at a time, like the game it belongs to.
+ *
+ * @author agent
+ * @version 1.0 (19 October 2026)
+ */
+public final class SpawnService {
+
+    /**
+     * Difficulty whose weights are used for unknown difficulties.
+     */
+    public static final String DEFAULT_DIFFICULTY = "normal";
+
+    /**
+     * Classpath resource holding the spawn weights, as lines of "Difficulty,Monster,Weight"
+     * after a header line.
+     */
+    static final String WEIGHTS_RESOURCE = "/com/swagteam360/dungeonadventure/spawn-weights.csv";
+
+    /**
+     * A singleton instance of the SpawnService class, using the packaged weights.
+     */
+    private static final SpawnService mySingleton = new SpawnService(loadDefaultWeights(), 0);
+
+    /**
+     * Weights by difficulty, matched in any case. Shared by copies, and never changed.
+     */
+    private final Map<String, SpawnWeights> myWeights;
+
+    /**
+     * Prototypes by monster name, matched in any case. Shared by copies; a prototype is replaced, never changed.
+     */
+    private final ConcurrentMap<String, Prototype> myPrototypes;
+
+    /**
+     * Pools of defeated monsters by monster name, matched in any case. Kept by this service alone.
+     */
+    private final Map<String, Pool> myPools = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+
+    /**
+     * Most defeated monsters kept per type. Zero turns pooling off.
+     */
+    private int myPoolCapacity;
+
+    /**
+     * Constructs a spawn service.
+     *
+     * @param theWeights Weights by difficulty, which must include {@link #DEFAULT_DIFFICULTY}.
+     * @param thePoolCapacity Most defeated monsters kept per type, or zero to turn pooling off.
+     * @throws IllegalArgumentException if the default difficulty has no weights or the capacity is negative.
+     */
+    SpawnService(final Map<String, SpawnWeights> theWeights, final int thePoolCapacity) {
+        // Names are matched in any case without making lower-case copies, since monsters spawn on every other move
+        final Map<String, SpawnWeights> weights = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        weights.putAll(theWeights);
+        if (!weights.containsKey(DEFAULT_DIFFICULTY)) {
+            throw new IllegalArgumentException("No spawn weights for the " + DEFAULT_DIFFICULTY + " difficulty.");
+        }
+        myWeights = Collections.unmodifiableMap(weights);
+        myPrototypes = new ConcurrentSkipListMap<>(String.CASE_INSENSITIVE_ORDER);
+        setPoolCapacity(thePoolCapacity);
+    }
+
+    /**
+     * Constructs a spawn service that shares the weights and prototypes of another.
+     *
+     * @param theShared The service to share with.
+     */
+    private SpawnService(final SpawnService theShared) {
+        myWeights = theShared.myWeights;
+        myPrototypes = theShared.myPrototypes;
+        myPoolCapacity = theShared.myPoolCapacity;
+    }
+
+    /**
+     * Provides access to the singleton instance of the SpawnService class. Games spawn from
+     * {@link #copy() copies} of it rather than from it.
+     *
+     * @return the singleton instance of SpawnService
+     */
+    public static SpawnService getInstance() {
+        return mySingleton;
+    }
+
+    /**
+     * Returns a spawn service for one game. It shares this service's weights and prototypes, and
+     * keeps a pool of its own, empty, of this service's capacity.
+     *
+     * @return The new spawn service.
+     */
+    public SpawnService copy() {
+        return new SpawnService(this);
+    }
+
+    /**
+     * Spawns a random monster for a difficulty.
+     *
+     * @param theDifficulty The game's difficulty, in any case.
+     * @return A new monster at full health, or null if its type has no stats.
+     */
+    public Monster spawn(final String theDifficulty) {
+        return spawn(theDifficulty, ThreadLocalRandom.current());
+    }
+
+    /**
+     * Spawns a random monster for a difficulty, drawn from the given source of randomness.
+     *
+     * @param theDifficulty The game's difficulty, in any case. Unknown difficulties use
+     *                      the weights of {@link #DEFAULT_DIFFICULTY}.
+     * @param theRandom Source of randomness.
+     * @return A new monster at full health, or null if its type has no stats.
+     */
+    public Monster spawn(final String theDifficulty, final RandomGenerator theRandom) {
+        return create(getWeights(theDifficulty).sample(theRandom));
+    }
+
+    /**
+     * Creates a monster of a given type, from the pool if one is waiting there.
+     *
+     * @param theMonsterName The monster type, in any case.
+     * @return A new monster at full health, or null if the type has no stats.
+     */
+    public Monster create(final String theMonsterName) {
+        final Prototype prototype = getPrototype(theMonsterName);
+        if (prototype == null) {
+            return null;
+        }
+        final Monster pooled = myPoolCapacity == 0 ? null : getPool(prototype).myMonsters.poll();
+        return pooled != null ? pooled : prototype.myMonster.copy();
+    }
+
+    /**
+     * Hands back a defeated monster so it can be spawned again. The monster is kept only if
+     * pooling is on, it has no health left, it was made from the current prototype of its
+     * type, and the pool of that type is not full.
+     *
+     * @param theMonster The defeated monster, which must not be used by the caller afterward.
+     * @return True if the monster was kept.
+     */
+    public boolean recycle(final Monster theMonster) {
+        if (myPoolCapacity == 0 || theMonster == null || theMonster.getHP() > 0 || theMonster.getName() == null) {
+            return false;
+        }
+        final Prototype prototype = myPrototypes.get(theMonster.getName());
+        if (prototype == null) {
+            return false;
+        }
+        final ArrayDeque<Monster> pool = getPool(prototype).myMonsters;
+        if (pool.size() >= myPoolCapacity || pool.contains(theMonster) || !theMonster.resetTo(prototype.myMonster)) {
+            return false;
+        }
+        pool.push(theMonster);
+        return true;
+    }
+
+    /**
+     * Returns this service's pool of a prototype's monsters. A pool of an older prototype of the
+     * same type, whose stats have since been reloaded, is dropped.
+     *
+     * @param thePrototype The prototype.
+     * @return The pool.
+     */
+    private Pool getPool(final Prototype thePrototype) {
+        final String key = thePrototype.myStats.name();
+        Pool pool = myPools.get(key);
+        if (pool == null || pool.myPrototype != thePrototype) {
+            pool = new Pool(thePrototype);
+            myPools.put(key, pool);
+        }
+        return pool;
+    }
+
+    /**
+     * Returns the most defeated monsters kept per type.
+     *
+     * @return The pool capacity; zero means pooling is off.
+     */
+    public int getPoolCapacity() {
+        return myPoolCapacity;
+    }
+
+    /**
+     * Sets the most defeated monsters kept per type. Pools larger than the new capacity are trimmed.
+     *
+     * @param theCapacity The pool capacity, or zero to turn pooling off.
+     * @throws IllegalArgumentException if the capacity is negative.
+     */
+    public void setPoolCapacity(final int theCapacity) {
+        if (theCapacity < 0) {
+            throw new IllegalArgumentException("Pool capacity cannot be negative: " + theCapacity);
+        }
+        myPoolCapacity = theCapacity;
+        for (final Pool pool : myPools.values()) {
+            while (pool.myMonsters.size() > theCapacity) {
+                pool.myMonsters.pop();
+            }
+        }
+    }
+
+    /**
+     * Returns the number of defeated monsters of a type waiting in the pool.
+     *
+     * @param theMonsterName The monster type, in any case.
+     * @return The number of pooled monsters of that type.
+     */
+    int getPooledCount(final String theMonsterName) {
+        final Prototype prototype = myPrototypes.get(theMonsterName);
+        final Pool pool = myPools.get(theMonsterName);
+        return prototype == null || pool == null || pool.myPrototype != prototype ? 0 : pool.myMonsters.size();
+    }
+
+    /**
+     * Returns the weights of a difficulty.
+     *
+     * @param theDifficulty The difficulty, in any case, or null for the default.
+     * @return The difficulty's weights, or those of {@link #DEFAULT_DIFFICULTY} if it has none.
+     */
+    SpawnWeights getWeights(final String theDifficulty) {
+        final SpawnWeights weights = theDifficulty == null ? null : myWeights.get(theDifficulty);
+        return weights != null ? weights : myWeights.get(DEFAULT_DIFFICULTY);
+    }
+
+    /**
+     * Reads spawn weights, one "Difficulty,Monster,Weight" line per entry after a header line.
+     * Blank lines and lines starting with '#' are skipped.
+     *
+     * @param theReader The weights to read.
+     * @return Weights by difficulty, in the order the difficulties first appear.
+     * @throws IOException if the weights cannot be read or a line is malformed.
+     */
+    static Map<String, SpawnWeights> readWeights(final Reader theReader) throws IOException {
+        final Map<String, List<String>> names = new LinkedHashMap<>();
+        final Map<String, List<Double>> weights = new HashMap<>();
+        final BufferedReader reader = new BufferedReader(theReader);
+        reader.readLine(); // Header
+
+        String line;
+        int lineNumber = 1;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            line = line.strip();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            final String[] fields = line.split(",");
+            if (fields.length != 3) {
+                throw new IOException("Spawn weights line " + lineNumber + " needs three fields: " + line);
+            }
+            final String difficulty = key(fields[0].strip());
+            final double weight;
+            try {
+                weight = Double.parseDouble(fields[2].strip());
+            } catch (NumberFormatException e) {
+                throw new IOException("Spawn weights line " + lineNumber + " has an invalid weight: " + line, e);
+            }
+            names.computeIfAbsent(difficulty, theKey -> new ArrayList<>()).add(fields[1].strip());
+            weights.computeIfAbsent(difficulty, theKey -> new ArrayList<>()).add(weight);
+        }
+
+        final Map<String, SpawnWeights> result = new LinkedHashMap<>();
+        for (final Map.Entry<String, List<String>> entry : names.entrySet()) {
+            final List<Double> difficultyWeights = weights.get(entry.getKey());
+            final double[] array = new double[difficultyWeights.size()];
+            for (int i = 0; i < array.length; i++) {
+                array[i] = difficultyWeights.get(i);
+            }
+            try {
+                result.put(entry.getKey(), new SpawnWeights(entry.getValue(), array));
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Invalid spawn weights for " + entry.getKey() + ": " + e.getMessage(), e);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Reads the packaged spawn weights. If they cannot be read, every difficulty uses the
+     * chances the game had before the weights were moved into a table.
+     */
+    private static Map<String, SpawnWeights> loadDefaultWeights() {
+        try (InputStream in = SpawnService.class.getResourceAsStream(WEIGHTS_RESOURCE)) {
+            if (in == null) {
+                throw new IOException("Missing resource " + WEIGHTS_RESOURCE);
+            }
+            return readWeights(new InputStreamReader(in, StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            e.printStackTrace(); // Might want to log this exception.
+            return Map.of(DEFAULT_DIFFICULTY,
+                    new SpawnWeights(List.of("Ogre", "Gremlin", "Witch"), new double[] {25, 25, 50}));
+        }
+    }
+
+    /**
+     * Returns the prototype of a monster type, building it again if the stats have been
+     * reloaded since. Only building takes a lock, of the type's entry alone.
+     */
+    private Prototype getPrototype(final String theMonsterName) {
+        final MonsterStats stats = StatCatalog.getInstance().getMonsterStats(theMonsterName);
+        if (stats == null) {
+            System.err.println("Monster not found: " + theMonsterName);
+            return null;
+        }
+        final Prototype prototype = myPrototypes.get(stats.name());
+        if (prototype != null && prototype.myStats == stats) {
+            return prototype;
+        }
+        return myPrototypes.compute(stats.name(), (theKey, theOld) -> {
+            if (theOld != null && theOld.myStats == stats) {
+                return theOld; // Built by another thread in the meantime
+            }
+            final Monster monster = MonsterFactory.createMonster(stats.name());
+            return monster == null ? theOld : new Prototype(stats, monster);
+        });
+    }
+
+    /**
+     * Normalizes a name for use as a map key.
+     */
+    private static String key(final String theName) {
+        return theName.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * The monster types of one difficulty and their alias table.
+     *
+     * @param monsters The monster types, in table order
+     * @param table The alias table over the types' weights
+     */
+    record SpawnWeights(List<String> monsters, AliasTable table) {
+
+        /**
+         * Builds the weights of one difficulty.
+         *
+         * @param theMonsters The monster types.
+         * @param theWeights The weight of each type.
+         * @throws IllegalArgumentException if the lists differ in length or the weights are invalid.
+         */
+        SpawnWeights(final List<String> theMonsters, final double[] theWeights) {
+            this(List.copyOf(theMonsters), new AliasTable(theWeights));
+            if (theMonsters.size() != theWeights.length) {
+                throw new IllegalArgumentException("Each monster type needs one weight.");
+            }
+        }
+
+        /**
+         * Draws a monster type.
+         *
+         * @param theRandom Source of randomness.
+         * @return The name of the monster type.
+         */
+        String sample(final RandomGenerator theRandom) {
+            return monsters.get(table.sample(theRandom));
+        }
+    }
+
+    /**
+     * The prototype of one monster type and the stats it was built from. Never changed once built.
+     */
+    private static final class Prototype {
+
+        /** The stats the prototype was built from. */
+        private final MonsterStats myStats;
+
+        /** The monster that new monsters of this type are copied from. */
+        private final Monster myMonster;
+
+        private Prototype(final MonsterStats theStats, final Monster theMonster) {
+            myStats = Objects.requireNonNull(theStats);
+            myMonster = Objects.requireNonNull(theMonster);
+        }
+    }
+
+    /**
+     * The defeated monsters of one prototype kept by one spawn service.
+     */
+    private static final class Pool {
+
+        /** The prototype the monsters were restored to. */
+        private final Prototype myPrototype;
+
+        /** Defeated monsters restored to full health, ready to spawn again. */
+        private final ArrayDeque<Monster> myMonsters = new ArrayDeque<>();
+
+        private Pool(final Prototype thePrototype) {
+            myPrototype = thePrototype;
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.swagteam360.dungeonadventure.model;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Future;
+
+/**
+ * The StatCatalog class keeps the stats of every hero and monster type in memory, so that
+ * the factories can create characters without querying the database. The catalog reads both
+ * stat tables in one go, either when {@link #preload()} runs at startup or, failing that, the
+ * first time stats are looked up.
+ * <p>
+ * {@link #reload()} reads the tables again, which picks up tuning changes made in the
+ * database without restarting the game. Each load builds new immutable maps and replaces the
+ * old ones at once, so a lookup never sees a half-loaded catalog. Names are matched without
+ * regard to case.
+ *
+ * @author agent
+ * @version 1.0 (19 October 2026)
+ */
+public final class StatCatalog {
+
+    /**
+     * A singleton instance of the StatCatalog class.
+     */
+    private static final StatCatalog mySingleton = new StatCatalog();
+
+    /**
+     * Hero stats by lower-case name, or null until the catalog has been loaded.
+     */
+    private volatile Map<String, HeroStats> myHeroes;
+
+    /**
+     * Monster stats by lower-case name, or null until the catalog has been loaded.
+     */
+    private volatile Map<String, MonsterStats> myMonsters;
+
+    /**
+     * Private constructor. The catalog is loaded by {@link #preload()} or the first lookup.
+     */
+    private StatCatalog() {
+        super();
+    }
+
+    /**
+     * Provides access to the singleton instance of the StatCatalog class.
+     *
+     * @return the singleton instance of StatCatalog
+     */
+    public static StatCatalog getInstance() {
+        return mySingleton;
+    }
+
+    /**
+     * Queues a load of the catalog on the game-logic thread, which keeps the database off the
+     * JavaFX Application Thread. Commands queued afterward, such as starting a new game, find
+     * the catalog already loaded.
+     *
+     * @return A Future that completes once the catalog has been loaded.
+     */
+    public Future<?> preload() {
+        return GameExecutor.getInstance().submit(this::reload);
+    }
+
+    /**
+     * Reads both stat tables from the database and replaces the catalog with them. If either
+     * table cannot be read, the catalog is left as it was.
+     *
+     * @return True if the catalog was replaced.
+     */
+    public synchronized boolean reload() {
+        final Database database = Database.getInstance();
+        final List<HeroStats> heroes = database.getAllHeroStats();
+        final List<MonsterStats> monsters = database.getAllMonsterStats();
+        if (heroes == null || monsters == null) {
+            System.err.println("Could not load the stat catalog; keeping the current stats.");
+            return false;
+        }
+        replace(heroes, monsters);
+        return true;
+    }
+
+    /**
+     * Looks up the stats of a hero type.
+     *
+     * @param theName The hero type, in any case.
+     * @return The hero's stats, or null if there is no such hero.
+     */
+    public HeroStats getHeroStats(final String theName) {
+        return theName == null || !ensureLoaded() ? null : myHeroes.get(theName);
+    }
+
+    /**
+     * Looks up the stats of a monster type.
+     *
+     * @param theName The monster type, in any case.
+     * @return The monster's stats, or null if there is no such monster.
+     */
+    public MonsterStats getMonsterStats(final String theName) {
+        return theName == null || !ensureLoaded() ? null : myMonsters.get(theName);
+    }
+
+    /**
+     * Returns the stats of every hero type.
+     *
+     * @return An unmodifiable list of hero stats.
+     */
+    public List<HeroStats> getAllHeroStats() {
+        return ensureLoaded() ? List.copyOf(myHeroes.values()) : List.of();
+    }
+
+    /**
+     * Returns the stats of every monster type.
+     *
+     * @return An unmodifiable list of monster stats.
+     */
+    public List<MonsterStats> getAllMonsterStats() {
+        return ensureLoaded() ? List.copyOf(myMonsters.values()) : List.of();
+    }
+
+    /**
+     * Replaces the catalog with the given stats. A later entry with the same name as an
+     * earlier one takes its place.
+     *
+     * @param theHeroes Stats of every hero type.
+     * @param theMonsters Stats of every monster type.
+     */
+    synchronized void replace(final Collection<HeroStats> theHeroes, final Collection<MonsterStats> theMonsters) {
+        // Names are matched in any case without making lower-case copies of them
+        final Map<String, HeroStats> heroes = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (final HeroStats stats : theHeroes) {
+            heroes.put(stats.name(), stats);
+        }
+        final Map<String, MonsterStats> monsters = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (final MonsterStats stats : theMonsters) {
+            monsters.put(stats.name(), stats);
+        }
+
+        // Monsters are published last and checked first, so a reader that sees them sees the heroes too
+        myHeroes = Collections.unmodifiableMap(heroes);
+        myMonsters = Collections.unmodifiableMap(monsters);
+    }
+
+    /**
+     * Loads the catalog if nothing has been loaded yet. After a failed load, the next lookup
+     * tries again.
+     *
+     * @return True if the catalog is loaded.
+     */
+    private boolean ensureLoaded() {
+        if (myMonsters == null) {
+            synchronized (this) {
+                if (myMonsters == null) {
+                    return reload();
+                }
+            }
+        }
+        return true;
+    }
+}
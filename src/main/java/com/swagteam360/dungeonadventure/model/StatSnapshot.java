@@ -0,0 +1,149 @@
+package com.swagteam360.dungeonadventure.model;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A compact binary copy of the HeroStats and MonsterStats tables, packaged on the classpath as
+ * {@value #RESOURCE}. Reading it takes microseconds and needs neither the JDBC driver nor the
+ * database file, so the game starts the same way from any working directory. The snapshot is
+ * produced from the database by {@link StatSnapshotTool}.
+ * <p>
+ * The format is the magic number "STAT" and a version number, then the number of heroes and
+ * each hero, then the number of monsters and each monster. Names are modified UTF-8 strings;
+ * all numbers are big-endian, with the monsters' heal chance as a double.
+ *
+ * @param heroes Stats of every hero type
+ * @param monsters Stats of every monster type
+ *
+ * @author agent
+ * @version 1.0 (19 October 2026)
+ */
+public record StatSnapshot(List<HeroStats> heroes, List<MonsterStats> monsters) {
+
+    /**
+     * Classpath location of the packaged snapshot.
+     */
+    public static final String RESOURCE = "/com/swagteam360/dungeonadventure/stats.bin";
+
+    /**
+     * Marks a file as a stat snapshot. Spells "STAT" in ASCII.
+     */
+    private static final int MAGIC = 0x53544154;
+
+    /**
+     * The snapshot format version this class writes and understands.
+     */
+    private static final short VERSION = 1;
+
+    /**
+     * Copies the lists so the snapshot cannot change.
+     */
+    public StatSnapshot {
+        heroes = List.copyOf(heroes);
+        monsters = List.copyOf(monsters);
+    }
+
+    /**
+     * Reads the snapshot packaged on the classpath.
+     *
+     * @return The packaged snapshot, or null if the resource is missing.
+     * @throws IOException if the resource cannot be read or is not a valid snapshot.
+     */
+    public static StatSnapshot readPackaged() throws IOException {
+        try (InputStream in = StatSnapshot.class.getResourceAsStream(RESOURCE)) {
+            return in == null ? null : read(in);
+        }
+    }
+
+    /**
+     * Reads a snapshot. The stream is not closed.
+     *
+     * @param theIn Stream positioned at the start of a snapshot.
+     * @return The snapshot.
+     * @throws IOException if the stream cannot be read or does not hold a valid snapshot.
+     */
+    public static StatSnapshot read(final InputStream theIn) throws IOException {
+        final DataInputStream in = new DataInputStream(new BufferedInputStream(theIn));
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a stat snapshot.");
+        }
+        final short version = in.readShort();
+        if (version != VERSION) {
+            throw new IOException("Unsupported stat snapshot version: " + version);
+        }
+
+        try {
+            final int heroCount = readCount(in);
+            final List<HeroStats> heroes = new ArrayList<>(heroCount);
+            for (int i = 0; i < heroCount; i++) {
+                heroes.add(new HeroStats(in.readUTF(), in.readInt(), in.readInt(), in.readInt(), in.readInt(),
+                        in.readInt(), in.readInt()));
+            }
+
+            final int monsterCount = readCount(in);
+            final List<MonsterStats> monsters = new ArrayList<>(monsterCount);
+            for (int i = 0; i < monsterCount; i++) {
+                monsters.add(new MonsterStats(in.readUTF(), in.readInt(), in.readInt(), in.readInt(), in.readInt(),
+                        in.readInt(), in.readDouble(), in.readInt(), in.readInt()));
+            }
+            return new StatSnapshot(heroes, monsters);
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new IOException("Invalid stat snapshot.", e);
+        }
+    }
+
+    /**
+     * Writes this snapshot. The stream is flushed but not closed.
+     *
+     * @param theOut Stream to write to.
+     * @throws IOException if the stream cannot be written.
+     */
+    public void write(final OutputStream theOut) throws IOException {
+        final DataOutputStream out = new DataOutputStream(theOut);
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+
+        out.writeInt(heroes.size());
+        for (final HeroStats hero : heroes) {
+            out.writeUTF(hero.name());
+            out.writeInt(hero.healthPoints());
+            out.writeInt(hero.attackSpeed());
+            out.writeInt(hero.damageRangeMin());
+            out.writeInt(hero.damageRangeMax());
+            out.writeInt(hero.hitChance());
+            out.writeInt(hero.blockChance());
+        }
+
+        out.writeInt(monsters.size());
+        for (final MonsterStats monster : monsters) {
+            out.writeUTF(monster.name());
+            out.writeInt(monster.healthPoints());
+            out.writeInt(monster.attackSpeed());
+            out.writeInt(monster.damageRangeMin());
+            out.writeInt(monster.damageRangeMax());
+            out.writeInt(monster.hitChance());
+            out.writeDouble(monster.healChance());
+            out.writeInt(monster.minHealPoints());
+            out.writeInt(monster.maxHealPoints());
+        }
+        out.flush();
+    }
+
+    /**
+     * Reads a list length, checking that it is not negative.
+     */
+    private static int readCount(final DataInputStream theIn) throws IOException {
+        final int count = theIn.readInt();
+        if (count < 0) {
+            throw new IOException("Invalid stat snapshot count: " + count);
+        }
+        return count;
+    }
+}
@@ -0,0 +1,71 @@
+package com.swagteam360.dungeonadventure.model;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Command-line tool that reads the stat tables from the SQLite database and writes them as a
+ * {@link StatSnapshot}. Run it after changing the stats in the database, either through the
+ * stat-snapshot Maven profile:
+ * <pre>
+ *     mvn -Pstat-snapshot process-classes
+ * </pre>
+ * or directly, with the SQLite JDBC driver on the classpath. Each argument is a file to write
+ * the snapshot to; without arguments the snapshot in the source resources is replaced.
+ *
+ * @author agent
+ * @version 1.0 (19 October 2026)
+ */
+public final class StatSnapshotTool {
+
+    /**
+     * Where the snapshot is kept in the source tree, relative to the project directory.
+     */
+    private static final String DEFAULT_OUTPUT = "src/main/resources" + StatSnapshot.RESOURCE;
+
+    private StatSnapshotTool() {
+        super();
+    }
+
+    /**
+     * Writes the snapshot.
+     *
+     * @param theArgs Files to write the snapshot to.
+     * @throws IOException if the tables cannot be read or a file cannot be written.
+     */
+    public static void main(final String[] theArgs) throws IOException {
+        final StatSnapshot snapshot = readDatabase();
+        final List<String> outputs = theArgs.length == 0 ? List.of(DEFAULT_OUTPUT) : List.of(theArgs);
+        for (final String output : outputs) {
+            final Path file = Path.of(output).toAbsolutePath();
+            Files.createDirectories(file.getParent());
+            SaveCodec.replaceAtomically(file, snapshot::write);
+            System.out.printf("Wrote %d heroes and %d monsters to %s (%d bytes)%n", snapshot.heroes().size(),
+                    snapshot.monsters().size(), file, Files.size(file));
+        }
+    }
+
+    /**
+     * Reads both stat tables from the live database, never from a packaged snapshot.
+     *
+     * @return The stats in the database.
+     * @throws IOException if either table cannot be read or is empty.
+     */
+    static StatSnapshot readDatabase() throws IOException {
+        final Database database = Database.getInstance();
+        final boolean live = database.isLiveStats();
+        database.setLiveStats(true);
+        try {
+            final List<HeroStats> heroes = database.getAllHeroStats();
+            final List<MonsterStats> monsters = database.getAllMonsterStats();
+            if (heroes == null || monsters == null || heroes.isEmpty() || monsters.isEmpty()) {
+                throw new IOException("Could not read the stat tables from the database.");
+            }
+            return new StatSnapshot(heroes, monsters);
+        } finally {
+            database.setLiveStats(live);
+        }
+    }
+}
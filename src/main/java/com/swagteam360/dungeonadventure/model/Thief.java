@@ -1,6 +1,6 @@
 package com.swagteam360.dungeonadventure.model;
 
-import java.util.Random;
+import java.util.random.RandomGenerator;
 
 /**
  *  The Thief class is a specific type of Hero, one of the 3-player
@@ -12,6 +12,11 @@ import java.util.Random;
  */
 public class Thief extends Hero {
 
+    /**
+     * Pinned so that games saved with Java serialization keep loading.
+     */
+    private static final long serialVersionUID = -5752563713854067621L;
+
     /**
      * Variable for roll chance
      */
@@ -49,49 +54,38 @@ public class Thief extends Hero {
      *
      * @param theMonster The monster in which the special move may be performed on.
      * @param theRandom The random number generator used to determine the roll chance.
-     * @return A string representation of the outcome of this special move.
+     * @return The outcome of this special move.
      */
-    protected String specialMove(final Monster theMonster, final Random theRandom) {
+    @Override
+    public BattleOutcome specialMove(final Monster theMonster, final RandomGenerator theRandom) {
 
         final int roll = theRandom.nextInt(HUNDRED);
-        String result;
+        BattleOutcome result;
 
         if (roll < PERCENT_CAUGHT) {
-            result = "You've been caught! Attack missed!";
+            result = BattleOutcome.special(BattleOutcome.Kind.CAUGHT, 1, 0, 0, 0);
         } else if (roll < PERCENT_NORMAL) {
-            int damage = attack(getDamageRangeMin(), getDamageRangeMax(), HUNDRED); // Guaranteed to hit
+            int damage = attack(getDamageRangeMin(), getDamageRangeMax(), HUNDRED, theRandom); // Guaranteed to hit
 
             theMonster.takeDamage(damage);
-            result = "You performed a normal attack for " + damage + " damage!";
+            result = BattleOutcome.special(BattleOutcome.Kind.NORMAL_ATTACK, 1, 1, damage, damage);
 
         } else {
+            int firstDamage = 0;
             int totalDamage = 0;
-            StringBuilder sb = new StringBuilder("Surprise attack successful! ");
             for (int i = 1; i <= 2; i++) {
-                int damage = attack(getDamageRangeMin(), getDamageRangeMax(), HUNDRED); // Guaranteed to hit
+                int damage = attack(getDamageRangeMin(), getDamageRangeMax(), HUNDRED, theRandom); // Guaranteed to hit
                 theMonster.takeDamage(damage);
                 totalDamage += damage;
-                sb.append("Hit ").append(i).append(": ").append(damage).append(" damage!\n");
-
+                if (i == 1) {
+                    firstDamage = damage;
+                }
             }
 
-            sb.append("Total damage: ").append(totalDamage).append("!");
-            result = sb.toString();
+            result = BattleOutcome.special(BattleOutcome.Kind.SURPRISE_ATTACK, 2, 2, totalDamage, firstDamage);
         }
 
         return result;
 
     }
-
-    /**
-     * Thief can launch a surprise attack against a monster. A successful surprise attack will deal two attacks worth
-     * of damage to the monster. An unsuccessful surprise attack may only consist of one attack or a missed attack.
-     *
-     * @param theMonster The monster in which the special move may be performed on.
-     * @return A string representation of the outcome of this special move.
-     */
-    @Override
-    public String specialMove(final Monster theMonster) {
-        return specialMove(theMonster, new Random());
-    }
 }
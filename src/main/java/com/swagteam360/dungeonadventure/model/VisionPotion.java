@@ -14,7 +14,12 @@ package com.swagteam360.dungeonadventure.model;
  */
 public class VisionPotion implements Item {
 
-    private static final String NAME = "Vision Potion";
+    /**
+     * Pinned so that games saved with Java serialization keep loading.
+     */
+    private static final long serialVersionUID = -1804837957154717689L;
+
+    static final String NAME = "Vision Potion";
 
 
     /**
@@ -28,12 +33,13 @@ public class VisionPotion implements Item {
      * Grants the user enhanced vision of the surrounding area, enabling them to
      * gain insights about nearby elements such as hidden objects or terrain details.
      *
+     * @param theTarget The game the potion is used in.
      * @return A string indicating the effect of the vision enhancement provided by this item.
      */
     @Override
-    public String buff() {
-        Hero player = GameManager.getInstance().getHero();
-        GameManager.getInstance().enableSuperVision();  // ENABLE vision powers
+    public String buff(final ItemTarget theTarget) {
+        Hero player = theTarget.getHero();
+        theTarget.enableSuperVision();  // ENABLE vision powers
         player.removeFromInventory(this);       // REMOVE this item from inventory
         return "You gain vision of the surrounding area!";
     }
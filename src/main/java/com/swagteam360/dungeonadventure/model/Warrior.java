@@ -1,6 +1,6 @@
 package com.swagteam360.dungeonadventure.model;
 
-import java.util.Random;
+import java.util.random.RandomGenerator;
 
 /**
  * The Warrior class is a specific type of Hero, one of the 3 player
@@ -12,6 +12,11 @@ import java.util.Random;
  */
 public class Warrior extends Hero {
 
+    /**
+     * Pinned so that games saved with Java serialization keep loading.
+     */
+    private static final long serialVersionUID = -1530546923158515430L;
+
     /**
      * Parametered constructor, calls upon the super constructor to help establish the object.
      *
@@ -35,10 +40,12 @@ public class Warrior extends Hero {
      * has a 30% chance of hitting but does double the damage a normal warrior
      * attack does.
      *
-     * @return String representing the outcome of this special move.
+     * @param theMonster The monster in which the special move may be performed on.
+     * @param theRandom source of randomness for the special move's rolls.
+     * @return The outcome of this special move.
      */
     @Override
-    public String specialMove(final Monster theMonster) {
+    public BattleOutcome specialMove(final Monster theMonster, final RandomGenerator theRandom) {
         //multiplier for bash damage, 30% chance to hit, multiplied by 2 for ability effect.
         /*
          * method returns the attack function, with the warriors default damage min and max,
@@ -46,24 +53,16 @@ public class Warrior extends Hero {
          * damage.
          */
 
-        final Random rand = new Random();
-        final int roll = rand.nextInt(100);
-        String result;
+        final int roll = theRandom.nextInt(100);
+        int damage = 0;
 
         if (roll < 30) {
-            final int damage = 2 * attack(getDamageRangeMin(), getDamageRangeMax(), 30);
+            damage = 2 * attack(getDamageRangeMin(), getDamageRangeMax(), 30, theRandom);
             theMonster.takeDamage(damage);
-            if (damage <= 0) { // the damage is sometimes rolled as 0. In that case, the bash still fails.
-                result = "Bash failed! You missed!";
-            } else {
-                result = "Bash successful! You dealt " + damage + " damage.";
-            }
-
-        } else {
-            result = "Bash failed! You missed!";
         }
 
-        return result;
+        // the damage is sometimes rolled as 0. In that case, the bash still fails.
+        return BattleOutcome.special(BattleOutcome.Kind.BASH, 1, damage > 0 ? 1 : 0, damage, damage);
 
     }
 }
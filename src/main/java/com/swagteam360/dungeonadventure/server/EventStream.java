@@ -0,0 +1,253 @@
+package com.swagteam360.dungeonadventure.server;
+
+import com.swagteam360.dungeonadventure.model.BattleOutcome;
+import com.swagteam360.dungeonadventure.model.GameEvent;
+import com.swagteam360.dungeonadventure.model.GameSession;
+import com.swagteam360.dungeonadventure.model.Item;
+import com.swagteam360.dungeonadventure.model.Monster;
+import com.swagteam360.dungeonadventure.model.Room;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Turns the events of one session into server-sent event frames for one client. The stream
+ * listens on the session's thread and only queues frames, so a slow client never holds up the
+ * game; the client's own thread takes frames off the queue and writes them.
+ * <p>
+ * Frames carry only what changed: the room that was entered rather than the whole dungeon,
+ * health only when it differs from what the client last saw, and inventory counts only for the
+ * items whose count changed. The first frame is the full state. The stream ends with the game,
+ * and a client that falls too far behind is cut off; either way it starts over with the full
+ * state when it reconnects.
+ *
+ * @author agent
+ * @version 1.0 (19 October 2026)
+ */
+final class EventStream implements Consumer<GameEvent> {
+
+    /**
+     * Most frames that may wait for a client before it is cut off.
+     */
+    static final int MAX_QUEUED_FRAMES = 1024;
+
+    /**
+     * Frame that tells the writer the stream has ended.
+     */
+    private static final String END = "";
+
+    /**
+     * Frames waiting to be written.
+     */
+    private final BlockingQueue<String> myFrames = new ArrayBlockingQueue<>(MAX_QUEUED_FRAMES + 1);
+
+    /**
+     * The session whose events this stream carries.
+     */
+    private final long mySessionId;
+
+    /**
+     * Hit points the client last saw, or -1 before the state was sent.
+     */
+    private int myLastHP = -1;
+
+    /**
+     * Item counts the client last saw.
+     */
+    private final Map<String, Integer> myItemCounts = new HashMap<>();
+
+    /**
+     * Name of the monster in the current battle, used to word battle messages.
+     */
+    private String myMonsterName = "Monster";
+
+    /**
+     * True once the stream has ended.
+     */
+    private volatile boolean myClosed;
+
+    /**
+     * Constructs a stream.
+     *
+     * @param theSessionId The session whose events this stream carries.
+     */
+    EventStream(final long theSessionId) {
+        mySessionId = theSessionId;
+    }
+
+    /**
+     * Queues the full state of the game, which later frames are changes to. Called on the
+     * session's thread once the stream is listening, so that no change falls between the two.
+     *
+     * @param theSession The session.
+     */
+    void sendState(final GameSession theSession) {
+        myLastHP = theSession.getHero().getHP();
+        myItemCounts.clear();
+        myItemCounts.putAll(GameJson.countItems(theSession.getHero().getInventory()));
+        offer("event: STATE\ndata: " + GameJson.state(mySessionId, theSession) + "\n\n");
+    }
+
+    /**
+     * Queues the frame for an event. Called on the session's thread.
+     *
+     * @param theEvent The event.
+     */
+    @Override
+    public void accept(final GameEvent theEvent) {
+        if (myClosed) {
+            return;
+        }
+        final String data = switch (theEvent.type()) {
+            case ROOM_CHANGE -> roomData((Room) theEvent.value());
+            case PIT -> Json.object().add("damage", ((Number) theEvent.value()).longValue()).build();
+            case HERO_HEALTH_CHANGE -> healthData(((Number) theEvent.value()).intValue());
+            case INVENTORY_CHANGE -> inventoryData(theEvent.value());
+            case VISION_POWERS -> Json.object().add("active", (Boolean) theEvent.value()).build();
+            case FIGHT -> {
+                final Monster monster = (Monster) theEvent.value();
+                myMonsterName = monster.getName();
+                yield GameJson.monster(monster);
+            }
+            case BATTLE -> GameJson.outcome((BattleOutcome) theEvent.value(), myMonsterName);
+            case BATTLE_END -> Json.object().add("heroWon", (Boolean) theEvent.value()).build();
+            case EXIT -> Json.object().add("pillars", ((Number) theEvent.value()).longValue()).build();
+            case DEAD, WON -> Json.object().add("status", theEvent.type() == GameEvent.Type.WON ? "WON" : "LOST").build();
+        };
+        if (data != null) {
+            offer("event: " + theEvent.type().getPropertyName() + "\ndata: " + data + "\n\n");
+        }
+        if (theEvent.type() == GameEvent.Type.DEAD || theEvent.type() == GameEvent.Type.WON) {
+            close();
+        }
+    }
+
+    /**
+     * Describes the room that was entered by its walls, which is enough for the client to work
+     * out the ways out.
+     *
+     * @param theRoom The room.
+     * @return The event data.
+     */
+    private static String roomData(final Room theRoom) {
+        return Json.object()
+                .add("row", theRoom.getRow())
+                .add("col", theRoom.getCol())
+                .add("top", theRoom.hasTopWall())
+                .add("bottom", theRoom.hasBottomWall())
+                .add("left", theRoom.hasLeftWall())
+                .add("right", theRoom.hasRightWall())
+                .add("pit", theRoom.hasPit())
+                .add("entrance", theRoom.isEntrance())
+                .add("exit", theRoom.isExit())
+                .build();
+    }
+
+    /**
+     * Describes a health change, unless the client already has it.
+     *
+     * @param theHP The Hero's hit points.
+     * @return The event data, or null if nothing changed.
+     */
+    private String healthData(final int theHP) {
+        if (theHP == myLastHP) {
+            return null;
+        }
+        myLastHP = theHP;
+        return Json.object().add("hp", theHP).build();
+    }
+
+    /**
+     * Describes the items whose count changed, with zero for items that are gone.
+     *
+     * @param theInventory The new inventory.
+     * @return The event data, or null if no count changed.
+     */
+    private String inventoryData(final Object theInventory) {
+        @SuppressWarnings("unchecked")
+        final Map<String, Integer> counts = GameJson.countItems((List<Item>) theInventory);
+        final Map<String, Integer> changed = new TreeMap<>();
+        counts.forEach((theName, theCount) -> {
+            if (!theCount.equals(myItemCounts.get(theName))) {
+                changed.put(theName, theCount);
+            }
+        });
+        for (final String name : myItemCounts.keySet()) {
+            if (!counts.containsKey(name)) {
+                changed.put(name, 0);
+            }
+        }
+        myItemCounts.clear();
+        myItemCounts.putAll(counts);
+        return changed.isEmpty() ? null : GameJson.inventory(changed);
+    }
+
+    /**
+     * Queues a frame, cutting the client off if too many are waiting.
+     *
+     * @param theFrame The frame.
+     */
+    private void offer(final String theFrame) {
+        if (myFrames.size() >= MAX_QUEUED_FRAMES || !myFrames.offer(theFrame)) {
+            close();
+        }
+    }
+
+    /**
+     * Ends the stream. The writer finishes once it reaches the end of the queue.
+     */
+    void close() {
+        if (!myClosed) {
+            myClosed = true;
+            myFrames.offer(END);
+        }
+    }
+
+    /**
+     * Indicates whether frames are waiting to be written.
+     *
+     * @return True if a frame is waiting.
+     */
+    boolean hasFrames() {
+        return !myFrames.isEmpty();
+    }
+
+    /**
+     * Indicates whether the stream has ended.
+     *
+     * @return True once the stream has ended.
+     */
+    boolean isClosed() {
+        return myClosed;
+    }
+
+    /**
+     * Waits for the next frame.
+     *
+     * @param theTimeoutMillis How long to wait.
+     * @return The frame, an empty string once the stream has ended, or null if none came in time.
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    String take(final long theTimeoutMillis) throws InterruptedException {
+        final String frame = myFrames.poll(theTimeoutMillis, TimeUnit.MILLISECONDS);
+        if (END.equals(frame)) {
+            myFrames.offer(END);
+        }
+        return frame;
+    }
+
+    /**
+     * Returns the session whose events this stream carries.
+     *
+     * @return The session's id.
+     */
+    long getSessionId() {
+        return mySessionId;
+    }
+}
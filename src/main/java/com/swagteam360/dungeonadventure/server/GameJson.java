@@ -0,0 +1,140 @@
+package com.swagteam360.dungeonadventure.server;
+
+import com.swagteam360.dungeonadventure.model.BattleOutcome;
+import com.swagteam360.dungeonadventure.model.BattleText;
+import com.swagteam360.dungeonadventure.model.Direction;
+import com.swagteam360.dungeonadventure.model.GameSession;
+import com.swagteam360.dungeonadventure.model.Hero;
+import com.swagteam360.dungeonadventure.model.Item;
+import com.swagteam360.dungeonadventure.model.Monster;
+import com.swagteam360.dungeonadventure.model.Room;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Describes the parts of a game as JSON for the clients of the {@link GameServer}. Must be
+ * called on the session's thread, since it reads the live game.
+ *
+ * @author agent
+ * @version 1.0 (19 October 2026)
+ */
+final class GameJson {
+
+    /**
+     * Constructor that is private to prevent instantiation.
+     */
+    private GameJson() {
+    }
+
+    /**
+     * Describes everything a client needs to draw the game. Later changes arrive as events.
+     *
+     * @param theId The session's id.
+     * @param theSession The session.
+     * @return The game as JSON.
+     */
+    static String state(final long theId, final GameSession theSession) {
+        final Hero hero = theSession.getHero();
+        final Monster monster = theSession.getMonster();
+        return Json.object()
+                .add("id", theId)
+                .add("status", theSession.getStatus().name())
+                .add("hero", hero.getClass().getSimpleName())
+                .add("hp", hero.getHP())
+                .add("maxHp", hero.getMaxHP())
+                .add("pillars", hero.getPillarCount())
+                .add("moves", theSession.getMoveCount())
+                .add("superVision", theSession.hasSuperVision())
+                .addRaw("inventory", inventory(countItems(hero.getInventory())))
+                .addRaw("room", room(theSession.getCurrentRoom(), theSession))
+                .addRaw("monster", monster == null ? "null" : monster(monster))
+                .build();
+    }
+
+    /**
+     * Describes a room and the ways out of it.
+     *
+     * @param theRoom The room.
+     * @param theSession The session the room belongs to, which knows the dungeon's edges.
+     * @return The room as JSON.
+     */
+    static String room(final Room theRoom, final GameSession theSession) {
+        final StringBuilder directions = new StringBuilder("[");
+        if (theRoom == theSession.getCurrentRoom()) {
+            for (final Direction direction : Direction.values()) {
+                if (theSession.canMove(direction)) {
+                    directions.append(directions.length() > 1 ? "," : "").append(Json.quote(direction.name()));
+                }
+            }
+        }
+        return Json.object()
+                .add("row", theRoom.getRow())
+                .add("col", theRoom.getCol())
+                .addRaw("directions", directions.append(']').toString())
+                .add("pit", theRoom.hasPit())
+                .add("entrance", theRoom.isEntrance())
+                .add("exit", theRoom.isExit())
+                .build();
+    }
+
+    /**
+     * Describes a monster.
+     *
+     * @param theMonster The monster.
+     * @return The monster as JSON.
+     */
+    static String monster(final Monster theMonster) {
+        return Json.object()
+                .add("name", theMonster.getName())
+                .add("hp", theMonster.getHP())
+                .add("maxHp", theMonster.getMaxHP())
+                .build();
+    }
+
+    /**
+     * Describes one step of a battle, including the message the GUI would show for it.
+     *
+     * @param theOutcome What happened.
+     * @param theMonsterName Name of the monster in the battle.
+     * @return The step as JSON.
+     */
+    static String outcome(final BattleOutcome theOutcome, final String theMonsterName) {
+        return Json.object()
+                .add("kind", theOutcome.kind().name())
+                .add("attempts", theOutcome.attempts())
+                .add("hits", theOutcome.hits())
+                .add("blocks", theOutcome.blocks())
+                .add("damage", theOutcome.damage())
+                .add("heal", theOutcome.heal())
+                .add("text", BattleText.render(theOutcome, theMonsterName))
+                .build();
+    }
+
+    /**
+     * Counts the items of each name in an inventory.
+     *
+     * @param theItems The inventory.
+     * @return The count of each item name, sorted by name.
+     */
+    static Map<String, Integer> countItems(final List<Item> theItems) {
+        final Map<String, Integer> counts = new TreeMap<>();
+        for (final Item item : theItems) {
+            counts.merge(item.getName(), 1, Integer::sum);
+        }
+        return counts;
+    }
+
+    /**
+     * Describes item counts as an object from item name to count.
+     *
+     * @param theCounts The count of each item name.
+     * @return The counts as JSON.
+     */
+    static String inventory(final Map<String, Integer> theCounts) {
+        final Json.Builder json = Json.object();
+        theCounts.forEach(json::add);
+        return json.build();
+    }
+}
@@ -0,0 +1,479 @@
+package com.swagteam360.dungeonadventure.server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.swagteam360.dungeonadventure.model.BattleOutcome;
+import com.swagteam360.dungeonadventure.model.Direction;
+import com.swagteam360.dungeonadventure.model.GameSession;
+import com.swagteam360.dungeonadventure.model.GameSettings;
+import com.swagteam360.dungeonadventure.model.SessionManager;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+/**
+ * Serves the games of a {@link SessionManager} over HTTP, so that other programs can play without
+ * the GUI. Requests and responses are JSON, and each request is handled on its own virtual
+ * thread while the game itself runs on its session's thread.
+ * <ul>
+ *     <li>{@code POST /sessions} starts a game from {@code {"name", "hero", "difficulty", "seed"}},
+ *     all optional, and answers {@code {"id"}}.</li>
+ *     <li>{@code GET /sessions/{id}} answers the full state of a game, and {@code DELETE}
+ *     ends it.</li>
+ *     <li>{@code POST /sessions/{id}/move} with {@code {"direction"}}, {@code /attack},
+ *     {@code /special}, and {@code /item} with {@code {"name"}} play the game.</li>
+ *     <li>{@code GET /sessions/{id}/events} streams the game's events as server-sent events:
+ *     the full state first, then only what changes, named like the property changes the GUI
+ *     receives.</li>
+ * </ul>
+ * Errors are answered as {@code {"error"}}, with 404 for an unknown game, 400 for a bad request,
+ * and 409 for a command the game does not allow right now, such as attacking outside a battle.
+ *
+ * @author agent
+ * @version 1.0 (19 October 2026)
+ */
+public final class GameServer implements AutoCloseable {
+
+    /**
+     * Port the server listens on when none is given.
+     */
+    public static final int DEFAULT_PORT = 8360;
+
+    /**
+     * Longest an event stream stays silent before a comment is sent to keep it open.
+     */
+    private static final long KEEP_ALIVE_MILLIS = 15_000;
+
+    /**
+     * Path all requests start with.
+     */
+    private static final String ROOT = "/sessions";
+
+    /**
+     * The HTTP server.
+     */
+    private final HttpServer myServer;
+
+    /**
+     * Runs each request on its own virtual thread.
+     */
+    private final ExecutorService myExecutor;
+
+    /**
+     * The games being served.
+     */
+    private final SessionManager mySessions;
+
+    /**
+     * Event streams with a client connected.
+     */
+    private final Set<EventStream> myStreams = ConcurrentHashMap.newKeySet();
+
+    static {
+        // Responses are written as headers and then body, which Nagle's algorithm holds back until
+        // the client's delayed acknowledgement, adding tens of milliseconds to every request. The
+        // HTTP server reads this once, when the first server in the JVM is created.
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    /**
+     * Creates a server. It does not accept requests until it is started.
+     *
+     * @param theAddress Address to listen on; port 0 picks a free port.
+     * @param theSessions The games to serve. The server does not close them.
+     * @throws IOException if the address cannot be bound.
+     */
+    public GameServer(final InetSocketAddress theAddress, final SessionManager theSessions) throws IOException {
+        mySessions = theSessions;
+        myServer = HttpServer.create(theAddress, 1024);
+        myExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        myServer.setExecutor(myExecutor);
+        myServer.createContext(ROOT, this::handle);
+    }
+
+    /**
+     * Starts a server on the loopback address. The first argument is the port, and the second is
+     * the directory idle games are kept in.
+     *
+     * @param theArgs The port and the session directory, both optional.
+     * @throws IOException if the server cannot start.
+     */
+    public static void main(final String[] theArgs) throws IOException {
+        final int port = theArgs.length > 0 ? Integer.parseInt(theArgs[0]) : DEFAULT_PORT;
+        final Path directory = theArgs.length > 1 ? Path.of(theArgs[1])
+                : Path.of(System.getProperty("java.io.tmpdir"), "dungeon-sessions");
+
+        final SessionManager sessions = new SessionManager(directory, SessionManager.DEFAULT_IDLE_TIMEOUT);
+        final GameServer server = new GameServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), port),
+                sessions);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.close();
+            sessions.close();
+        }));
+        server.start();
+        System.out.println("Serving games at http://localhost:" + server.getPort() + ROOT);
+    }
+
+    /**
+     * Starts accepting requests.
+     */
+    public void start() {
+        myServer.start();
+    }
+
+    /**
+     * Returns the port the server listens on.
+     *
+     * @return The port.
+     */
+    public int getPort() {
+        return myServer.getAddress().getPort();
+    }
+
+    /**
+     * Stops the server, ending every event stream. The games are left to the session manager.
+     */
+    @Override
+    public void close() {
+        for (final EventStream stream : myStreams) {
+            stream.close();
+        }
+        myServer.stop(0);
+        myExecutor.shutdown();
+    }
+
+    /**
+     * Handles a request, answering errors as JSON.
+     *
+     * @param theExchange The request and its response.
+     */
+    private void handle(final HttpExchange theExchange) {
+        try {
+            route(theExchange);
+        } catch (IllegalArgumentException e) {
+            sendError(theExchange, 400, e.getMessage());
+        } catch (IllegalStateException e) {
+            sendError(theExchange, 409, e.getMessage());
+        } catch (IOException e) {
+            // The client went away
+        } catch (RuntimeException e) {
+            e.printStackTrace(); // Might want to log this exception.
+            sendError(theExchange, 500, e.toString());
+        } finally {
+            theExchange.close();
+        }
+    }
+
+    /**
+     * Finds what a request asks for and answers it.
+     *
+     * @param theExchange The request and its response.
+     * @throws IOException if the response cannot be sent.
+     */
+    private void route(final HttpExchange theExchange) throws IOException {
+        final String method = theExchange.getRequestMethod();
+        final String path = theExchange.getRequestURI().getPath().substring(ROOT.length());
+        if (!path.isEmpty() && path.charAt(0) != '/') {
+            sendError(theExchange, 404, "No such resource.");
+            return;
+        }
+        final String[] parts = path.length() <= 1 ? new String[0] : path.substring(1).split("/");
+
+        if (parts.length == 0) {
+            if (requireMethod(theExchange, "POST")) {
+                create(theExchange);
+            }
+            return;
+        }
+        if (parts.length > 2 || !parts[0].matches("\\d{1,18}")) {
+            sendError(theExchange, 404, "No such resource.");
+            return;
+        }
+        final long id = Long.parseLong(parts[0]);
+        if (!mySessions.hasSession(id)) {
+            sendError(theExchange, 404, "No game with id " + id + ".");
+            return;
+        }
+
+        if (parts.length == 1) {
+            switch (method) {
+                case "GET" -> sendJson(theExchange, 200, call(id, theSession -> GameJson.state(id, theSession)));
+                case "DELETE" -> {
+                    mySessions.remove(id);
+                    for (final EventStream stream : myStreams) {
+                        if (stream.getSessionId() == id) {
+                            stream.close();
+                        }
+                    }
+                    sendJson(theExchange, 200, Json.object().add("id", id).build());
+                }
+                default -> sendMethodNotAllowed(theExchange, "GET, DELETE");
+            }
+            return;
+        }
+
+        switch (parts[1]) {
+            case "events" -> {
+                if (requireMethod(theExchange, "GET")) {
+                    streamEvents(theExchange, id);
+                }
+            }
+            case "move", "attack", "special", "item" -> {
+                if (requireMethod(theExchange, "POST")) {
+                    command(theExchange, id, parts[1], readBody(theExchange));
+                }
+            }
+            default -> sendError(theExchange, 404, "No such resource.");
+        }
+    }
+
+    /**
+     * Starts a game.
+     *
+     * @param theExchange The request and its response.
+     * @throws IOException if the response cannot be sent.
+     */
+    private void create(final HttpExchange theExchange) throws IOException {
+        final Map<String, String> body = readBody(theExchange);
+        final GameSettings settings = new GameSettings(body.getOrDefault("name", "Hero"),
+                body.getOrDefault("hero", "warrior").toLowerCase(Locale.ROOT),
+                body.getOrDefault("difficulty", "normal").toLowerCase(Locale.ROOT));
+        final long seed = body.containsKey("seed") ? Long.parseLong(body.get("seed"))
+                : ThreadLocalRandom.current().nextLong();
+        final long id = mySessions.create(settings, seed);
+        sendJson(theExchange, 201, Json.object().add("id", id).build());
+    }
+
+    /**
+     * Plays a command in a game and answers what came of it.
+     *
+     * @param theExchange The request and its response.
+     * @param theId The game's id.
+     * @param theCommand The command's name.
+     * @param theBody The command's fields.
+     * @throws IOException if the response cannot be sent.
+     */
+    private void command(final HttpExchange theExchange, final long theId, final String theCommand,
+                         final Map<String, String> theBody) throws IOException {
+        final Function<GameSession, String> command = switch (theCommand) {
+            case "move" -> {
+                final Direction direction = Direction.valueOf(required(theBody, "direction").toUpperCase(Locale.ROOT));
+                yield theSession -> Json.object()
+                        .add("moved", theSession.move(direction))
+                        .add("inBattle", theSession.isInBattle())
+                        .add("status", theSession.getStatus().name())
+                        .build();
+            }
+            case "item" -> {
+                final String name = required(theBody, "name");
+                yield theSession -> {
+                    final String text = theSession.useItem(name);
+                    if (text == null) {
+                        throw new IllegalStateException("The Hero has no " + name + ".");
+                    }
+                    return Json.object()
+                            .add("text", text)
+                            .add("status", theSession.getStatus().name())
+                            .build();
+                };
+            }
+            default -> {
+                final boolean special = theCommand.equals("special");
+                yield theSession -> {
+                    final String monsterName = theSession.isInBattle() ? theSession.getMonster().getName() : "";
+                    final BattleOutcome outcome = special ? theSession.special() : theSession.attack();
+                    return Json.object()
+                            .addRaw("outcome", GameJson.outcome(outcome, monsterName))
+                            .add("inBattle", theSession.isInBattle())
+                            .add("status", theSession.getStatus().name())
+                            .build();
+                };
+            }
+        };
+        sendJson(theExchange, 200, call(theId, command));
+    }
+
+    /**
+     * Streams a game's events until the game ends, the client leaves, or the server stops.
+     *
+     * @param theExchange The request and its response.
+     * @param theId The game's id.
+     * @throws IOException if the stream cannot be started.
+     */
+    private void streamEvents(final HttpExchange theExchange, final long theId) throws IOException {
+        final EventStream stream = new EventStream(theId);
+        myStreams.add(stream);
+        try {
+            join(mySessions.addListener(theId, stream));
+            call(theId, theSession -> {
+                stream.sendState(theSession);
+                return null;
+            });
+
+            theExchange.getResponseHeaders().set("Content-Type", "text/event-stream");
+            theExchange.getResponseHeaders().set("Cache-Control", "no-cache");
+            theExchange.sendResponseHeaders(200, 0);
+            final OutputStream out = theExchange.getResponseBody();
+            while (true) {
+                final String frame = stream.take(KEEP_ALIVE_MILLIS);
+                if (frame != null && frame.isEmpty()) {
+                    break;
+                }
+                out.write((frame == null ? ": keep-alive\n\n" : frame).getBytes(StandardCharsets.UTF_8));
+                if (!stream.hasFrames()) {
+                    out.flush();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            stream.close();
+            myStreams.remove(stream);
+            if (mySessions.hasSession(theId)) {
+                try {
+                    mySessions.removeListener(theId, stream);
+                } catch (RuntimeException e) {
+                    // The game or the manager has ended, and the listener with it
+                }
+            }
+        }
+    }
+
+    /**
+     * Runs a command on a game's thread and waits for its result.
+     *
+     * @param theId The game's id.
+     * @param theCommand The command.
+     * @param <T> The type of the result.
+     * @return The command's result.
+     */
+    private <T> T call(final long theId, final Function<GameSession, T> theCommand) {
+        return join(mySessions.submit(theId, theCommand));
+    }
+
+    /**
+     * Waits for a command, throwing what it threw.
+     *
+     * @param theFuture The command's result.
+     * @param <T> The type of the result.
+     * @return The result.
+     */
+    private static <T> T join(final CompletableFuture<T> theFuture) {
+        try {
+            return theFuture.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Reads a request body as a flat JSON object.
+     *
+     * @param theExchange The request.
+     * @return The body's fields.
+     * @throws IOException if the body cannot be read.
+     */
+    private static Map<String, String> readBody(final HttpExchange theExchange) throws IOException {
+        return Json.parseObject(new String(theExchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns a field a request must have.
+     *
+     * @param theBody The request's fields.
+     * @param theName The field's name.
+     * @return The field's value.
+     * @throws IllegalArgumentException if the field is missing.
+     */
+    private static String required(final Map<String, String> theBody, final String theName) {
+        final String value = theBody.get(theName);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing \"" + theName + "\".");
+        }
+        return value;
+    }
+
+    /**
+     * Checks a request's method, answering 405 if it is wrong.
+     *
+     * @param theExchange The request and its response.
+     * @param theMethod The method the resource takes.
+     * @return True if the method is right.
+     * @throws IOException if the response cannot be sent.
+     */
+    private static boolean requireMethod(final HttpExchange theExchange, final String theMethod) throws IOException {
+        if (theExchange.getRequestMethod().equals(theMethod)) {
+            return true;
+        }
+        sendMethodNotAllowed(theExchange, theMethod);
+        return false;
+    }
+
+    /**
+     * Answers 405 for a method the resource does not take.
+     *
+     * @param theExchange The request and its response.
+     * @param theAllowed The methods the resource takes.
+     * @throws IOException if the response cannot be sent.
+     */
+    private static void sendMethodNotAllowed(final HttpExchange theExchange, final String theAllowed)
+            throws IOException {
+        theExchange.getResponseHeaders().set("Allow", theAllowed);
+        sendJson(theExchange, 405, Json.object().add("error", "Use " + theAllowed + ".").build());
+    }
+
+    /**
+     * Answers with an error, unless a response has already been started.
+     *
+     * @param theExchange The request and its response.
+     * @param theStatus The HTTP status.
+     * @param theMessage What went wrong.
+     */
+    private static void sendError(final HttpExchange theExchange, final int theStatus, final String theMessage) {
+        if (theExchange.getResponseCode() != -1) {
+            return;
+        }
+        try {
+            sendJson(theExchange, theStatus, Json.object().add("error", theMessage).build());
+        } catch (IOException e) {
+            // The client went away
+        }
+    }
+
+    /**
+     * Answers with JSON.
+     *
+     * @param theExchange The request and its response.
+     * @param theStatus The HTTP status.
+     * @param theJson The response body.
+     * @throws IOException if the response cannot be sent.
+     */
+    private static void sendJson(final HttpExchange theExchange, final int theStatus, final String theJson)
+            throws IOException {
+        final byte[] body = theJson.getBytes(StandardCharsets.UTF_8);
+        theExchange.getResponseHeaders().set("Content-Type", "application/json");
+        theExchange.sendResponseHeaders(theStatus, body.length);
+        try (OutputStream out = theExchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
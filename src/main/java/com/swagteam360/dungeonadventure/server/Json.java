@@ -0,0 +1,290 @@
+package com.swagteam360.dungeonadventure.server;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The little JSON the game server needs: building objects field by field, and reading the flat
+ * objects that clients send as command bodies.
+ *
+ * @author agent
+ * @version 1.0 (19 October 2026)
+ */
+final class Json {
+
+    /**
+     * Builds a JSON object one field at a time.
+     */
+    static final class Builder {
+
+        /**
+         * The object so far, without its closing brace.
+         */
+        private final StringBuilder myJson = new StringBuilder("{");
+
+        /**
+         * Adds a string field, or a null field if the value is null.
+         *
+         * @param theName The field name.
+         * @param theValue The value.
+         * @return This builder.
+         */
+        Builder add(final String theName, final String theValue) {
+            return addRaw(theName, theValue == null ? "null" : quote(theValue));
+        }
+
+        /**
+         * Adds a number field.
+         *
+         * @param theName The field name.
+         * @param theValue The value.
+         * @return This builder.
+         */
+        Builder add(final String theName, final long theValue) {
+            return addRaw(theName, Long.toString(theValue));
+        }
+
+        /**
+         * Adds a boolean field.
+         *
+         * @param theName The field name.
+         * @param theValue The value.
+         * @return This builder.
+         */
+        Builder add(final String theName, final boolean theValue) {
+            return addRaw(theName, Boolean.toString(theValue));
+        }
+
+        /**
+         * Adds a field whose value is already JSON, such as a nested object or an array.
+         *
+         * @param theName The field name.
+         * @param theJson The value as JSON.
+         * @return This builder.
+         */
+        Builder addRaw(final String theName, final String theJson) {
+            if (myJson.length() > 1) {
+                myJson.append(',');
+            }
+            myJson.append(quote(theName)).append(':').append(theJson);
+            return this;
+        }
+
+        /**
+         * Finishes the object.
+         *
+         * @return The object as JSON.
+         */
+        String build() {
+            return myJson + "}";
+        }
+    }
+
+    /**
+     * Constructor that is private to prevent instantiation.
+     */
+    private Json() {
+    }
+
+    /**
+     * Starts a new object.
+     *
+     * @return An empty builder.
+     */
+    static Builder object() {
+        return new Builder();
+    }
+
+    /**
+     * Quotes and escapes a string.
+     *
+     * @param theText The string.
+     * @return The string as a JSON string literal.
+     */
+    static String quote(final String theText) {
+        final StringBuilder json = new StringBuilder(theText.length() + 2).append('"');
+        for (int i = 0; i < theText.length(); i++) {
+            final char c = theText.charAt(i);
+            switch (c) {
+                case '"' -> json.append("\\\"");
+                case '\\' -> json.append("\\\\");
+                case '\n' -> json.append("\\n");
+                case '\r' -> json.append("\\r");
+                case '\t' -> json.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+                }
+            }
+        }
+        return json.append('"').toString();
+    }
+
+    /**
+     * Reads a flat JSON object, whose values are strings, numbers, booleans or null. Every value
+     * is returned as text; null values are left out. Blank input reads as an empty object.
+     *
+     * @param theJson The JSON text.
+     * @return The fields by name, in order.
+     * @throws IllegalArgumentException if the text is not a flat JSON object.
+     */
+    static Map<String, String> parseObject(final String theJson) {
+        final Map<String, String> fields = new LinkedHashMap<>();
+        final Reader reader = new Reader(theJson);
+        if (reader.atEnd()) {
+            return fields;
+        }
+
+        reader.expect('{');
+        if (!reader.skip('}')) {
+            do {
+                final String name = reader.readString();
+                reader.expect(':');
+                final String value = reader.peek() == '"' ? reader.readString() : reader.readLiteral();
+                if (value != null) {
+                    fields.put(name, value);
+                }
+            } while (reader.skip(','));
+            reader.expect('}');
+        }
+        if (!reader.atEnd()) {
+            throw new IllegalArgumentException("Unexpected text after the JSON object.");
+        }
+        return fields;
+    }
+
+    /**
+     * Reads JSON text one token at a time, skipping whitespace.
+     */
+    private static final class Reader {
+
+        /**
+         * The text being read.
+         */
+        private final String myText;
+
+        /**
+         * Position of the next character.
+         */
+        private int myPosition;
+
+        /**
+         * Constructs a reader.
+         *
+         * @param theText The text to read.
+         */
+        Reader(final String theText) {
+            myText = theText;
+        }
+
+        /**
+         * Indicates whether only whitespace is left.
+         */
+        boolean atEnd() {
+            skipWhitespace();
+            return myPosition >= myText.length();
+        }
+
+        /**
+         * Returns the next character without reading it.
+         */
+        char peek() {
+            if (atEnd()) {
+                throw new IllegalArgumentException("Unexpected end of JSON.");
+            }
+            return myText.charAt(myPosition);
+        }
+
+        /**
+         * Reads the next character if it is the given one.
+         */
+        boolean skip(final char theChar) {
+            if (!atEnd() && myText.charAt(myPosition) == theChar) {
+                myPosition++;
+                return true;
+            }
+            return false;
+        }
+
+        /**
+         * Reads the given character.
+         *
+         * @throws IllegalArgumentException if another character comes next.
+         */
+        void expect(final char theChar) {
+            if (!skip(theChar)) {
+                throw new IllegalArgumentException("Expected '" + theChar + "' at position " + myPosition);
+            }
+        }
+
+        /**
+         * Reads a string literal.
+         */
+        String readString() {
+            expect('"');
+            final StringBuilder text = new StringBuilder();
+            while (myPosition < myText.length()) {
+                final char c = myText.charAt(myPosition++);
+                if (c == '"') {
+                    return text.toString();
+                }
+                if (c != '\\') {
+                    text.append(c);
+                    continue;
+                }
+                if (myPosition >= myText.length()) {
+                    break;
+                }
+                final char escaped = myText.charAt(myPosition++);
+                switch (escaped) {
+                    case 'n' -> text.append('\n');
+                    case 'r' -> text.append('\r');
+                    case 't' -> text.append('\t');
+                    case 'b' -> text.append('\b');
+                    case 'f' -> text.append('\f');
+                    case 'u' -> {
+                        if (myPosition + 4 > myText.length()) {
+                            throw new IllegalArgumentException("Bad escape in JSON string.");
+                        }
+                        text.append((char) Integer.parseInt(myText.substring(myPosition, myPosition + 4), 16));
+                        myPosition += 4;
+                    }
+                    default -> text.append(escaped);
+                }
+            }
+            throw new IllegalArgumentException("Unterminated JSON string.");
+        }
+
+        /**
+         * Reads a number, true, false or null.
+         *
+         * @return The literal's text, or null for null.
+         */
+        String readLiteral() {
+            final int start = myPosition;
+            while (myPosition < myText.length() && ",}] \t\r\n".indexOf(myText.charAt(myPosition)) < 0) {
+                myPosition++;
+            }
+            final String literal = myText.substring(start, myPosition);
+            if (literal.equals("null")) {
+                return null;
+            }
+            if (literal.equals("true") || literal.equals("false") || literal.matches("-?\\d+(\\.\\d+)?([eE][+-]?\\d+)?")) {
+                return literal;
+            }
+            throw new IllegalArgumentException("Unexpected JSON value: " + literal);
+        }
+
+        /**
+         * Moves past any whitespace.
+         */
+        private void skipWhitespace() {
+            while (myPosition < myText.length() && Character.isWhitespace(myText.charAt(myPosition))) {
+                myPosition++;
+            }
+        }
+    }
+}
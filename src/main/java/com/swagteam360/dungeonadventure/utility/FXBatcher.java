@@ -0,0 +1,70 @@
+package com.swagteam360.dungeonadventure.utility;
+
+import javafx.application.Platform;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The FXBatcher class carries user interface updates from the game-logic thread
+ * back to the JavaFX Application Thread. Updates posted while a batch is already
+ * pending are appended to that batch, so at most one {@code Platform.runLater}
+ * call is outstanding at any time and every update produced during a frame is
+ * applied together on the next pulse.
+ * <p>
+ * Updates always run in the order they were posted.
+ *
+ * @author agent
+ * @version 1.0 (19 October 2026)
+ */
+public final class FXBatcher {
+
+    /**
+     * Updates waiting to be applied on the JavaFX Application Thread.
+     */
+    private static final Queue<Runnable> myPendingUpdates = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Indicates whether a drain of the pending updates has already been scheduled.
+     */
+    private static final AtomicBoolean myDrainScheduled = new AtomicBoolean(false);
+
+    /**
+     * Private constructor to prevent instantiation of the utility class.
+     */
+    private FXBatcher() {
+        super();
+    }
+
+    /**
+     * Queues a user interface update. The update runs on the JavaFX Application
+     * Thread together with every other update posted before the next frame.
+     *
+     * @param theUpdate The update to apply on the JavaFX Application Thread.
+     */
+    public static void post(final Runnable theUpdate) {
+        myPendingUpdates.add(theUpdate);
+
+        if (myDrainScheduled.compareAndSet(false, true)) {
+            Platform.runLater(FXBatcher::drain);
+        }
+    }
+
+    /**
+     * Applies every pending update. The scheduled flag is cleared before draining so an
+     * update posted during the drain is either picked up here or schedules a new batch.
+     */
+    private static void drain() {
+        myDrainScheduled.set(false);
+
+        Runnable update;
+        while ((update = myPendingUpdates.poll()) != null) {
+            try {
+                update.run();
+            } catch (RuntimeException e) {
+                e.printStackTrace(); // Keep draining so one failed update does not freeze the UI.
+            }
+        }
+    }
+}
@@ -1,8 +1,10 @@
 package com.swagteam360.dungeonadventure.view;
 
+import com.swagteam360.dungeonadventure.model.GameExecutor;
 import com.swagteam360.dungeonadventure.model.GameManager;
 import com.swagteam360.dungeonadventure.model.Item;
 import com.swagteam360.dungeonadventure.model.Pillar;
+import com.swagteam360.dungeonadventure.utility.FXBatcher;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.event.ActionEvent;
@@ -67,8 +69,8 @@ public class InventoryPanel extends HBox implements PropertyChangeListener {
         // ADD ListView controls to this panel
         getChildren().addAll(myBuffButton, myInventory, myPillars);
 
-        // ADD PropertyChangeListener
-        GameManager.getInstance().addPropertyChangeListener(this);
+        // ADD PropertyChangeListener (on the game-logic thread, which owns the model)
+        GameExecutor.getInstance().submit(() -> GameManager.getInstance().addPropertyChangeListener(this));
     }
 
     private void initializeListViewProperties() {
@@ -110,7 +112,8 @@ public class InventoryPanel extends HBox implements PropertyChangeListener {
     private void onBuffClick() {
         final Item selected = myInventory.getSelectionModel().getSelectedItem();
         if (selected != null) {
-            System.out.println(selected.buff()); // BUFF the item
+            GameExecutor.getInstance().submit(() -> System.out.println(
+                    GameManager.getInstance().useItem(selected.getName()))); // BUFF the item
             myObservableItems.remove(selected);
         } else {
             myBuffButton.disableProperty().setValue(true);
@@ -119,6 +122,11 @@ public class InventoryPanel extends HBox implements PropertyChangeListener {
 
     @Override
     public void propertyChange(PropertyChangeEvent theEvent) {
+        // Events arrive on the game-logic thread; the lists must be changed on the JavaFX Application Thread
+        FXBatcher.post(() -> updateInventory(theEvent));
+    }
+
+    private void updateInventory(final PropertyChangeEvent theEvent) {
         if ("INVENTORY_CHANGE".equals(theEvent.getPropertyName())) {
             final List<Item> itemList = new ArrayList<>();
             // Cast check - check if the new event data is of type List (generic)
@@ -0,0 +1,124 @@
+package com.swagteam360.dungeonadventure.view;
+
+import com.swagteam360.dungeonadventure.model.SaveSlotInfo;
+import com.swagteam360.dungeonadventure.model.SaveSlots;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.image.ImageView;
+import javafx.scene.image.PixelWriter;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+import javafx.util.Callback;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+
+/**
+ * Renders save slots in a list. Each cell shows the slot's thumbnail and a summary of the saved
+ * game, taken from the slot index. The list items are slot numbers; slots without an entry in
+ * the given map are shown as empty.
+ *
+ * @author agent
+ * @version 1.0 (19 October 2026)
+ */
+final class SaveSlotCellFactory implements Callback<ListView<Integer>, ListCell<Integer>> {
+
+    /**
+     * Size in pixels that thumbnails are scaled up to.
+     */
+    private static final int THUMBNAIL_DISPLAY_SIZE = 64;
+
+    /**
+     * Format of the time a slot was saved at.
+     */
+    private static final DateTimeFormatter SAVED_AT_FORMAT =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm").withZone(ZoneId.systemDefault());
+
+    /**
+     * Index entries of the occupied slots, by slot number.
+     */
+    private final Map<Integer, SaveSlotInfo> mySlots;
+
+    /**
+     * Constructs a cell factory for the given slots.
+     *
+     * @param theSlots Index entries of the occupied slots, by slot number.
+     */
+    public SaveSlotCellFactory(final Map<Integer, SaveSlotInfo> theSlots) {
+        mySlots = Map.copyOf(theSlots);
+    }
+
+    @Override
+    public ListCell<Integer> call(final ListView<Integer> theListView) {
+        return new ListCell<Integer>() {
+            @Override
+            public void updateItem(final Integer theSlot, final boolean empty) {
+                super.updateItem(theSlot, empty);
+
+                if (empty || theSlot == null) {
+                    setText(null);
+                    setGraphic(null);
+                    return;
+                }
+
+                final String name = theSlot == SaveSlots.AUTOSAVE_SLOT ? "Autosave" : "Slot " + theSlot;
+                final SaveSlotInfo info = mySlots.get(theSlot);
+                if (info == null) {
+                    setText(name + " - Empty");
+                    setGraphic(null);
+                } else {
+                    setText(describe(name, info));
+                    setGraphic(new ImageView(createThumbnail(info)));
+                }
+            }
+        };
+    }
+
+    /**
+     * Builds the summary text of an occupied slot.
+     *
+     * @param theName Display name of the slot
+     * @param theInfo The slot's index entry
+     * @return Two lines describing the saved game
+     */
+    private static String describe(final String theName, final SaveSlotInfo theInfo) {
+        final long minutes = theInfo.playTimeMillis() / 60_000L;
+        return String.format("%s - %s (%s, %s)%nPillars: %d   Played: %d:%02d   Saved: %s",
+                theName, theInfo.playerName(), theInfo.heroType(), theInfo.difficulty(),
+                theInfo.pillarCount(), minutes / 60, minutes % 60,
+                SAVED_AT_FORMAT.format(Instant.ofEpochMilli(theInfo.savedAt())));
+    }
+
+    /**
+     * Draws a slot's thumbnail, scaled up so that its longer side is about
+     * {@value #THUMBNAIL_DISPLAY_SIZE} pixels.
+     *
+     * @param theInfo The slot's index entry
+     * @return The thumbnail image
+     */
+    private static WritableImage createThumbnail(final SaveSlotInfo theInfo) {
+        final int width = Math.max(theInfo.thumbnailWidth(), 1);
+        final int height = Math.max(theInfo.thumbnailHeight(), 1);
+        final int scale = Math.max(1, THUMBNAIL_DISPLAY_SIZE / Math.max(width, height));
+        final WritableImage image = new WritableImage(width * scale, height * scale);
+        final PixelWriter writer = image.getPixelWriter();
+
+        for (int y = 0; y < theInfo.thumbnailHeight(); y++) {
+            for (int x = 0; x < theInfo.thumbnailWidth(); x++) {
+                final Color color = switch (theInfo.thumbnailPixel(x, y)) {
+                    case SaveSlotInfo.THUMBNAIL_HERO -> Color.GOLD;
+                    case SaveSlotInfo.THUMBNAIL_EXPLORED -> Color.LIGHTGRAY;
+                    default -> Color.DIMGRAY;
+                };
+                for (int dy = 0; dy < scale; dy++) {
+                    for (int dx = 0; dx < scale; dx++) {
+                        writer.setColor(x * scale + dx, y * scale + dy, color);
+                    }
+                }
+            }
+        }
+        return image;
+    }
+}
@@ -0,0 +1,57 @@
+package com.swagteam360.dungeonadventure.view;
+
+import com.swagteam360.dungeonadventure.model.SaveSlotInfo;
+import com.swagteam360.dungeonadventure.model.SaveSlots;
+import javafx.scene.control.ButtonBar;
+import javafx.scene.control.ButtonType;
+import javafx.scene.control.Dialog;
+import javafx.scene.control.ListView;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A dialog that lets the player pick a save slot, either to save to or to load from.
+ * The slots are described by their entries in the slot index, which the dialog reads
+ * from {@link SaveSlots}, so showing the dialog never reads a save file.
+ *
+ * @author agent
+ * @version 1.0 (19 October 2026)
+ */
+public final class SaveSlotDialog extends Dialog<Integer> {
+
+    /**
+     * Constructs a dialog listing the given slots.
+     *
+     * @param theTitle Title of the dialog window.
+     * @param theHeader Text shown above the list.
+     * @param theConfirmText Text of the button that confirms the choice.
+     * @param theSlotNumbers The slots to list, in order.
+     */
+    public SaveSlotDialog(final String theTitle, final String theHeader, final String theConfirmText,
+                          final List<Integer> theSlotNumbers) {
+        super();
+        final Map<Integer, SaveSlotInfo> slots = new HashMap<>();
+        for (final SaveSlotInfo info : SaveSlots.getInstance().listSlots()) {
+            slots.put(info.slot(), info);
+        }
+
+        setTitle(theTitle);
+        setHeaderText(theHeader);
+
+        final ListView<Integer> list = new ListView<>();
+        list.getItems().setAll(theSlotNumbers);
+        list.setCellFactory(new SaveSlotCellFactory(slots));
+        list.setPrefSize(480, 360);
+        list.getSelectionModel().selectFirst();
+        getDialogPane().setContent(list);
+
+        final ButtonType confirm = new ButtonType(theConfirmText, ButtonBar.ButtonData.OK_DONE);
+        getDialogPane().getButtonTypes().setAll(confirm, ButtonType.CANCEL);
+        getDialogPane().lookupButton(confirm).disableProperty()
+                .bind(list.getSelectionModel().selectedItemProperty().isNull());
+
+        setResultConverter(theButton -> theButton == confirm ? list.getSelectionModel().getSelectedItem() : null);
+    }
+}
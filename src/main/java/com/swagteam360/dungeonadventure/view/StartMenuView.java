@@ -1,5 +1,11 @@
 package com.swagteam360.dungeonadventure.view;
 
+import com.swagteam360.dungeonadventure.model.AutosaveService;
+import com.swagteam360.dungeonadventure.model.Database;
+import com.swagteam360.dungeonadventure.model.GameExecutor;
+import com.swagteam360.dungeonadventure.model.RunHistory;
+import com.swagteam360.dungeonadventure.model.SaveSlots;
+import com.swagteam360.dungeonadventure.model.StatCatalog;
 import javafx.application.Application;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
@@ -34,6 +40,8 @@ public class StartMenuView extends Application {
      */
     @Override
     public void start(final Stage thePrimaryStage) {
+        // Read the character stats in the background while the menu is shown
+        StatCatalog.getInstance().preload();
 
         try {
             final Parent root = FXMLLoader.load(Objects.requireNonNull(getClass()
@@ -51,4 +59,17 @@ public class StartMenuView extends Application {
         }
 
     }
+
+    /**
+     * Releases resources held for the whole session when the application exits,
+     * including through {@code Platform.exit()}.
+     */
+    @Override
+    public void stop() {
+        GameExecutor.getInstance().close();
+        AutosaveService.getInstance().close(); // after the game thread, which may still queue an autosave
+        SaveSlots.getInstance().close(); // after autosave, which updates the autosave slot's entry
+        Database.getInstance().close();
+        RunHistory.getInstance().close();
+    }
 }
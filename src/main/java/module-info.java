@@ -1,8 +1,9 @@
 module com.swagteam360.dungeonadventure {
-    requires javafx.controls;
+    requires transitive javafx.controls;
     requires javafx.fxml;
     requires java.desktop;
     requires java.sql;
+    requires jdk.httpserver;
 
 
     opens com.swagteam360.dungeonadventure to javafx.fxml;
@@ -0,0 +1,120 @@
+package com.swagteam360.dungeonadventure.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+public class AutosaveServiceTest {
+
+    @TempDir
+    Path myTempDir;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        AutosaveService.getInstance().stop();
+        AutosaveService.getInstance().flush().get(5, TimeUnit.SECONDS);
+    }
+
+    private GameSnapshot createSnapshot(final String theName) {
+        final Dungeon dungeon = new Dungeon(5, 5);
+        final Hero hero = new Warrior("Warrior", 125, 4, 35, 60, 80, 20);
+        return GameSnapshot.capture(new GameSettings(theName, "warrior", "easy"), hero, dungeon,
+                dungeon.getRoom(dungeon.getEntranceRow(), dungeon.getEntranceCol()), false, 0);
+    }
+
+    private GameSnapshot readSave(final Path theFile) throws IOException {
+        try (BufferedInputStream in = new BufferedInputStream(Files.newInputStream(theFile))) {
+            return SaveCodec.read(in);
+        }
+    }
+
+    @Test
+    void testSaveWritesInBackgroundAndLeavesNoTempFiles() throws Exception {
+        final Path target = myTempDir.resolve("autosave.sav");
+        final AutosaveService autosave = AutosaveService.getInstance();
+
+        autosave.start(target, 1, TimeUnit.HOURS);
+        autosave.save(createSnapshot("First"), SaveFormat.FULL);
+        autosave.save(createSnapshot("Second"), SaveFormat.FULL);
+        autosave.flush().get(5, TimeUnit.SECONDS);
+
+        assertEquals("Second", readSave(target).getPlayerName(), "The newest snapshot should be written last");
+        try (Stream<Path> files = Files.list(myTempDir)) {
+            assertEquals(1, files.count(), "Only the autosave file should remain");
+        }
+    }
+
+    @Test
+    void testJournalWrittenNextToAutosave() throws Exception {
+        final Path target = myTempDir.resolve("autosave.sav");
+        final Path journal = GameJournal.journalFileFor(target);
+        final AutosaveService autosave = AutosaveService.getInstance();
+
+        autosave.start(target, 1, TimeUnit.HOURS);
+        autosave.save(createSnapshot("Recorded"), SaveFormat.FULL, new byte[] {1, 2, 3});
+        autosave.flush().get(5, TimeUnit.SECONDS);
+        assertArrayEquals(new byte[] {1, 2, 3}, Files.readAllBytes(journal));
+
+        // A game without a journal must not be saved next to the journal of another game
+        autosave.save(createSnapshot("Unrecorded"), SaveFormat.FULL);
+        autosave.flush().get(5, TimeUnit.SECONDS);
+        assertFalse(Files.exists(journal));
+    }
+
+    @Test
+    void testStoppedServiceIgnoresSaves() throws Exception {
+        final Path target = myTempDir.resolve("autosave.sav");
+        final AutosaveService autosave = AutosaveService.getInstance();
+
+        autosave.start(target, 1, TimeUnit.HOURS);
+        autosave.stop();
+        autosave.save(createSnapshot("Ignored"), SaveFormat.FULL);
+        autosave.flush().get(5, TimeUnit.SECONDS);
+
+        assertFalse(autosave.isRunning());
+        assertFalse(Files.exists(target), "Nothing should be written while stopped");
+    }
+
+    @Test
+    void testPeriodicAutosave() throws Exception {
+        final Path target = myTempDir.resolve("autosave.sav");
+        final GameManager gm = GameManager.getInstance();
+        GameExecutor.getInstance().submit(() -> gm.startNewGame(new GameSettings("Periodic", "priestess", "easy")))
+                .get(5, TimeUnit.SECONDS);
+
+        AutosaveService.getInstance().start(target, 50, TimeUnit.MILLISECONDS);
+
+        final long deadline = System.currentTimeMillis() + 5_000;
+        while (!Files.exists(target) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+
+        assertTrue(Files.exists(target), "A periodic autosave should have been written");
+        assertEquals("Periodic", readSave(target).getPlayerName());
+    }
+
+    @Test
+    void testNoAutosaveAfterDeath() throws Exception {
+        final Path target = myTempDir.resolve("autosave.sav");
+        final GameManager gm = GameManager.getInstance();
+        AutosaveService.getInstance().start(target, 1, TimeUnit.HOURS);
+
+        GameExecutor.getInstance().submit(() -> {
+            gm.startNewGame(new GameSettings("Dead", "thief", "easy"));
+            gm.getHero().takeDamage(gm.getHero().getHP());
+            gm.autosave();
+        }).get(5, TimeUnit.SECONDS);
+        AutosaveService.getInstance().flush().get(5, TimeUnit.SECONDS);
+
+        assertFalse(Files.exists(target), "A dead hero should not be autosaved");
+    }
+}
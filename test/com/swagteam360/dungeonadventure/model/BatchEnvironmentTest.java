@@ -0,0 +1,176 @@
+package com.swagteam360.dungeonadventure.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+class BatchEnvironmentTest {
+
+    private static final GameSettings SETTINGS = new GameSettings("Bot", "priestess", "easy");
+
+    /**
+     * Picks an action from the observations alone: attacks during a battle, and otherwise moves
+     * through a random open side.
+     */
+    private static void chooseActions(final BatchEnvironment theBatch, final SplittableRandom theRandom,
+                                      final int[] theActions) {
+        final int[] walls = theBatch.getWalls();
+        final int[] monsterHP = theBatch.getMonsterHP();
+        for (int i = 0; i < theActions.length; i++) {
+            if (monsterHP[i] > 0) {
+                theActions[i] = BatchEnvironment.ATTACK;
+                continue;
+            }
+            int action;
+            do {
+                action = theRandom.nextInt(4);
+            } while ((walls[i] & (1 << action)) != 0);
+            theActions[i] = action;
+        }
+    }
+
+    @Test
+    void testObservationsMatchTheGames() {
+        BatchEnvironment batch = new BatchEnvironment(SETTINGS, 10, 3L, new ForkJoinPool(2));
+        SplittableRandom random = new SplittableRandom(1L);
+        int[] actions = new int[batch.size()];
+
+        for (int step = 0; step < 200; step++) {
+            chooseActions(batch, random, actions);
+            batch.step(actions);
+            for (int i = 0; i < batch.size(); i++) {
+                GameSession game = batch.getGame(i);
+                assertEquals(game.getHero().getHP(), batch.getHeroHP()[i]);
+                assertEquals(game.getHero().getPillarCount(), batch.getPillars()[i]);
+                assertEquals(game.isInBattle() ? game.getMonster().getHP() : 0, batch.getMonsterHP()[i]);
+                for (Direction direction : Direction.values()) {
+                    assertEquals(!game.canMove(direction), (batch.getWalls()[i] & (1 << direction.ordinal())) != 0);
+                }
+                assertFalse(batch.getIgnored()[i]);
+            }
+        }
+    }
+
+    @Test
+    void testIgnoredActions() {
+        BatchEnvironment batch = new BatchEnvironment(SETTINGS, 2, 8L);
+        // The entrance is on the top row, so north is always walled off
+        batch.step(new int[] {BatchEnvironment.MOVE_NORTH, BatchEnvironment.ATTACK});
+        assertTrue(batch.getIgnored()[0]);
+        assertTrue(batch.getIgnored()[1]);
+        assertEquals(0, batch.getGame(0).getMoveCount());
+
+        batch.step(new int[] {BatchEnvironment.USE_HEALTH_POTION, 99});
+        assertTrue(batch.getIgnored()[0]);
+        assertTrue(batch.getIgnored()[1]);
+        assertThrows(IllegalArgumentException.class, () -> batch.step(new int[3]));
+    }
+
+    @Test
+    void testEndedGamesStartOverAndReplayExactly() {
+        long[] outcomes = new long[2];
+        int[][] hp = new int[2][];
+        for (int run = 0; run < 2; run++) {
+            BatchEnvironment batch = new BatchEnvironment(SETTINGS, 300, 42L, new ForkJoinPool(run == 0 ? 1 : 4));
+            SplittableRandom random = new SplittableRandom(9L);
+            int[] actions = new int[batch.size()];
+            for (int step = 0; step < 300; step++) {
+                chooseActions(batch, random, actions);
+                batch.step(actions);
+                for (int i = 0; i < batch.size(); i++) {
+                    if (batch.getDone()[i]) {
+                        assertNotEquals(GameSession.Status.PLAYING.ordinal(), batch.getStatus()[i]);
+                        assertEquals(GameSession.Status.PLAYING, batch.getGame(i).getStatus());
+                        assertEquals(0, batch.getGame(i).getMoveCount());
+                        outcomes[run] = outcomes[run] * 31 + i * 7L + batch.getStatus()[i];
+                    }
+                }
+            }
+            hp[run] = batch.getHeroHP().clone();
+            assertTrue(batch.getEpisodeCount(0) + batch.getEpisodeCount(1) + batch.getEpisodeCount(2) > 0);
+        }
+        assertEquals(outcomes[0], outcomes[1]);
+        assertArrayEquals(hp[0], hp[1]);
+    }
+
+    /**
+     * Whether Mockito's inline mocks have been used in this JVM. Mocking instruments every method of the
+     * mocked classes, such as Monster and Random, to allocate on each call, so allocations are no longer
+     * the model's own.
+     */
+    private static boolean inlineMocksUsed() {
+        try {
+            Class.forName("org.mockito.internal.creation.bytebuddy.inject.MockMethodDispatcher", false, null);
+            return true;
+        } catch (final ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    @Test
+    void testStepsDoNotAllocate() {
+        assumeFalse(inlineMocksUsed(), "Mocks in earlier tests allocate on every call.");
+        final com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        // Few enough games to be stepped on this thread, where the allocations can be counted.
+        BatchEnvironment batch = new BatchEnvironment(new GameSettings("Bot", "warrior", "normal"),
+                BatchEnvironment.MIN_TASK_GAMES, 5L);
+        SplittableRandom random = new SplittableRandom(6L);
+        int[] actions = new int[batch.size()];
+        for (int step = 0; step < 20_000; step++) {
+            chooseActions(batch, random, actions);
+            batch.step(actions);
+        }
+
+        final int steps = 20_000;
+        final long allocated = threads.getCurrentThreadAllocatedBytes();
+        for (int step = 0; step < steps; step++) {
+            chooseActions(batch, random, actions);
+            batch.step(actions);
+        }
+        final double bytesPerStep = (double) (threads.getCurrentThreadAllocatedBytes() - allocated)
+                / batch.size() / steps;
+        assertTrue(batch.getEpisodeCount(0) > 1);
+        assertTrue(bytesPerStep < 32, bytesPerStep + " bytes per game-step");
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark.large", matches = "true")
+    void benchmarkSteps() {
+        final com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        for (final int size : new int[] {1_000, 10_000}) {
+            final BatchEnvironment batch = new BatchEnvironment(new GameSettings("Bot", "warrior", "normal"), size, 1L);
+            final SplittableRandom random = new SplittableRandom(2L);
+            final int[] actions = new int[size];
+            for (int round = 0; round < 3; round++) {
+                final int steps = 2_000_000 / size;
+                long chooseNanos = 0;
+                final long allocated = threads.getTotalThreadAllocatedBytes();
+                final long start = System.nanoTime();
+                long episodes = 0;
+                for (int step = 0; step < steps; step++) {
+                    final long choose = System.nanoTime();
+                    chooseActions(batch, random, actions);
+                    chooseNanos += System.nanoTime() - choose;
+                    batch.step(actions);
+                    for (final boolean done : batch.getDone()) {
+                        episodes += done ? 1 : 0;
+                    }
+                }
+                final double seconds = (System.nanoTime() - start - chooseNanos) / 1e9;
+                final long bytes = threads.getTotalThreadAllocatedBytes() - allocated;
+                System.out.printf("%d games x %d steps: %.0f game-steps/s, %.1f bytes/game-step, %d games ended%n",
+                        size, steps, (double) size * steps / seconds, (double) bytes / size / steps, episodes);
+            }
+            System.out.println(Arrays.stream(batch.getHeroHP()).summaryStatistics());
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.swagteam360.dungeonadventure.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+class BattleCalculatorTest {
+
+    private static final HeroStats WARRIOR = new HeroStats("Warrior", 125, 4, 35, 60, 80, 20);
+    private static final MonsterStats OGRE = new MonsterStats("Ogre", 200, 2, 30, 60, 60, 0.1, 30, 60);
+
+    @Test
+    void testCoinFlip() {
+        // The thief kills the ogre with its first hit, and the ogre kills the thief with its first attack
+        BattleOdds odds = new BattleCalculator().getOdds(new HeroStats("Thief", 50, 5, 10, 10, 50, 0),
+                new MonsterStats("Ogre", 10, 5, 50, 50, 100, 0, 0, 0));
+
+        assertEquals(0.5, odds.winProbability(), 1e-12);
+        assertEquals(0.5, odds.lossProbability(), 1e-12);
+        assertEquals(25.0, odds.expectedHeroHP(), 1e-9);
+        assertEquals(5.0, odds.expectedMonsterHP(), 1e-9);
+        assertEquals(1.0, odds.expectedRounds(), 1e-12);
+    }
+
+    @Test
+    void testHarmlessMonster() {
+        // The thief needs two hits at even chances, so the fight lasts four rounds on average
+        BattleOdds odds = new BattleCalculator().getOdds(new HeroStats("Thief", 50, 5, 10, 10, 50, 0),
+                new MonsterStats("Gremlin", 20, 5, 50, 50, 0, 0, 0, 0));
+
+        assertEquals(1.0, odds.winProbability(), 1e-9);
+        assertEquals(50.0, odds.expectedHeroHP(), 1e-6);
+        assertEquals(0.0, odds.expectedMonsterHP(), 1e-9);
+        assertEquals(4.0, odds.expectedRounds(), 1e-6);
+    }
+
+    @Test
+    void testRoundLimit() {
+        // Neither side can hit, so every fight reaches the round limit and counts as a loss
+        BattleOdds odds = new BattleCalculator().getOdds(new HeroStats("Priestess", 30, 5, 10, 10, 0, 0),
+                new MonsterStats("Witch", 40, 5, 10, 10, 0, 0, 0, 0));
+
+        assertEquals(0.0, odds.winProbability());
+        assertEquals(30.0, odds.expectedHeroHP());
+        assertEquals(40.0, odds.expectedMonsterHP());
+        assertEquals(BattleSystem.MAX_ROUNDS, odds.expectedRounds());
+    }
+
+    @Test
+    void testMatchesSimulator() throws IOException {
+        BattleOdds odds = new BattleCalculator().getOdds(WARRIOR, OGRE);
+        BattleSimulator simulator = new BattleSimulator(ForkJoinPool.commonPool(), new SpawnService(
+                SpawnService.readWeights(new StringReader("Difficulty,Monster,Weight\nnormal,Ogre,1\n")), 0));
+        BattleSimulator.Result result = simulator.simulate(List.of(WARRIOR), List.of(OGRE), List.of(),
+                400_000, 5).get(0);
+
+        assertTrue(result.winRateLow() < odds.winProbability() && odds.winProbability() < result.winRateHigh(),
+                odds + " vs " + result);
+        assertEquals(result.meanRounds(), odds.expectedRounds(), 0.01);
+        // A lost fight costs the hero all of its hit points
+        assertEquals(WARRIOR.healthPoints() - result.meanHpLost(), odds.expectedHeroHP(),
+                4 * result.sdHpLost() / Math.sqrt(result.fights()));
+    }
+
+    @Test
+    void testCurrentHitPointsAndCache() {
+        BattleCalculator calculator = new BattleCalculator();
+        Hero hero = HeroFactory.createHero(WARRIOR);
+        Monster monster = MonsterFactory.createMonster(OGRE);
+
+        BattleOdds full = calculator.getOdds(hero, monster);
+        assertEquals(calculator.getOdds(WARRIOR, OGRE), full);
+
+        hero.takeDamage(100);
+        BattleOdds hurt = calculator.getOdds(hero, monster);
+        assertEquals(calculator.getOdds(WARRIOR, OGRE, 25, 200), hurt);
+        assertTrue(hurt.winProbability() < full.winProbability());
+        assertEquals(1, calculator.getTableCount());
+
+        assertEquals(new BattleOdds(1, 25, 0, 0), calculator.getOdds(WARRIOR, OGRE, 25, 0));
+        assertEquals(new BattleOdds(0, 0, 200, 0), calculator.getOdds(WARRIOR, OGRE, 0, 200));
+        assertThrows(IllegalArgumentException.class, () -> calculator.getOdds(WARRIOR, OGRE, 126, 200));
+    }
+}
@@ -0,0 +1,144 @@
+package com.swagteam360.dungeonadventure.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+class BattleSimulatorTest {
+
+    private static final String WEIGHTS = """
+            Difficulty,Monster,Weight
+            normal,Ogre,1
+            normal,Witch,3
+            """;
+
+    private static final HeroStats STRONG = new HeroStats("Warrior", 100, 5, 100, 100, 100, 0);
+    private static final HeroStats WEAK = new HeroStats("Priestess", 50, 5, 1, 1, 0, 0);
+    private static final HeroStats COIN_FLIP = new HeroStats("Thief", 50, 5, 10, 10, 50, 0);
+    private static final MonsterStats OGRE = new MonsterStats("Ogre", 10, 5, 50, 50, 100, 0, 0, 0);
+    private static final MonsterStats WITCH = new MonsterStats("Witch", 10, 5, 20, 20, 100, 0, 0, 0);
+
+    private BattleSimulator createSimulator() throws IOException {
+        return new BattleSimulator(ForkJoinPool.commonPool(),
+                new SpawnService(SpawnService.readWeights(new StringReader(WEIGHTS)), 0));
+    }
+
+    @Test
+    void testOneSidedFights() throws IOException {
+        List<BattleSimulator.Result> results = createSimulator().simulate(List.of(STRONG, WEAK), List.of(OGRE),
+                List.of(), 20_000, 1);
+
+        assertEquals(2, results.size());
+        BattleSimulator.Result strong = results.get(0);
+        assertEquals("Warrior", strong.hero());
+        assertEquals("Ogre", strong.monster());
+        assertEquals(BattleSimulator.ANY_DIFFICULTY, strong.difficulty());
+        assertEquals(20_000, strong.fights());
+        assertEquals(1.0, strong.winRate());
+        assertEquals(1.0, strong.meanRounds());
+        assertEquals(0, strong.p90HpLost());
+        assertEquals(100.0, strong.meanDamagePerTurn());
+
+        BattleSimulator.Result weak = results.get(1);
+        assertEquals(0, weak.wins());
+        assertEquals(50.0, weak.meanHpLost());
+        assertEquals(0.0, weak.sdHpLost());
+        assertTrue(weak.winRateHigh() < 0.001);
+    }
+
+    @Test
+    void testWinRateInterval() throws IOException {
+        // The thief kills the ogre with its first hit, and the ogre kills the thief with its first attack
+        BattleSimulator.Result result = createSimulator().simulate(List.of(COIN_FLIP),
+                List.of(new MonsterStats("Ogre", 10, 5, 50, 50, 100, 0, 0, 0)), List.of(), 100_000, 7).get(0);
+
+        assertEquals(0.5, result.winRate(), 0.01);
+        assertTrue(result.winRateLow() < result.winRate() && result.winRate() < result.winRateHigh());
+        assertEquals(2 * 1.96 * Math.sqrt(0.25 / 100_000), result.winRateHigh() - result.winRateLow(), 1e-4);
+        assertEquals(1.0, result.meanRounds());
+        assertEquals(0, result.p10HpLost());
+        assertEquals(50, result.p90HpLost());
+    }
+
+    @Test
+    void testDifficultyMix() throws IOException {
+        // The ogre kills the priestess in one round and the witch in three, and one monster in four is an ogre
+        List<BattleSimulator.Result> results = createSimulator().simulate(List.of(WEAK), List.of(OGRE, WITCH),
+                List.of("normal"), 40_000, 3);
+
+        assertEquals(3, results.size());
+        assertEquals(1.0, results.get(0).meanRounds());
+        assertEquals(3.0, results.get(1).meanRounds());
+        BattleSimulator.Result mix = results.get(2);
+        assertEquals(BattleSimulator.MIXED_MONSTERS, mix.monster());
+        assertEquals("normal", mix.difficulty());
+        assertEquals(0, mix.wins());
+        assertEquals(2.5, mix.meanRounds(), 0.02);
+    }
+
+    @Test
+    void testSameSeedSameResults() throws IOException {
+        BattleSimulator simulator = createSimulator();
+        List<HeroStats> heroes = List.of(COIN_FLIP, new HeroStats("Warrior", 125, 4, 35, 60, 80, 20));
+        List<MonsterStats> monsters = List.of(new MonsterStats("Ogre", 200, 2, 30, 60, 60, 0.1, 30, 60), WITCH);
+
+        List<BattleSimulator.Result> first = simulator.simulate(heroes, monsters, List.of("normal"), 50_000, 11);
+        List<BattleSimulator.Result> second = new BattleSimulator(new ForkJoinPool(3),
+                new SpawnService(SpawnService.readWeights(new StringReader(WEIGHTS)), 0)).simulate(heroes, monsters, List.of("normal"), 50_000, 11);
+
+        assertEquals(first, second);
+        assertNotEquals(first, simulator.simulate(heroes, monsters, List.of("normal"), 50_000, 12));
+    }
+
+    @Test
+    void testRejectsUnknownNames() throws IOException {
+        BattleSimulator simulator = createSimulator();
+
+        assertThrows(IllegalArgumentException.class, () -> simulator.simulate(
+                List.of(new HeroStats("Bard", 10, 1, 1, 1, 1, 1)), List.of(OGRE), List.of(), 10, 1));
+        assertThrows(IllegalArgumentException.class, () -> simulator.simulate(
+                List.of(STRONG), List.of(new MonsterStats("Gremlin", 10, 1, 1, 1, 1, 0, 0, 0)), List.of("normal"), 10, 1));
+        assertThrows(IllegalArgumentException.class, () -> simulator.simulate(
+                List.of(STRONG), List.of(OGRE), List.of(), 0, 1));
+    }
+
+    @Test
+    void testCsvAndJson() throws IOException {
+        List<BattleSimulator.Result> results = createSimulator().simulate(List.of(STRONG), List.of(OGRE, WITCH),
+                List.of("normal"), 100, 1);
+
+        String[] lines = BattleSimulator.toCsv(results).split("\n");
+        assertEquals(4, lines.length);
+        assertTrue(lines[0].startsWith("hero,monster,difficulty,fights,wins,win_rate,win_rate_low,win_rate_high"));
+        assertTrue(lines[1].startsWith("Warrior,Ogre,any,100,100,1.000000,"));
+        assertEquals(lines[0].split(",").length, lines[3].split(",").length);
+
+        String json = BattleSimulator.toJson(results);
+        assertTrue(json.startsWith("[\n  {\"hero\": \"Warrior\", \"monster\": \"Ogre\""));
+        assertTrue(json.contains("\"difficulty\": \"normal\""));
+        assertTrue(json.contains("\"hpLost\": {\"mean\": 0.000"));
+        assertEquals("[]\n", BattleSimulator.toJson(List.of()));
+    }
+
+    @Test
+    void testPolicy() throws IOException {
+        // A bash hits less often than a normal attack, so the warrior fares worse using it every turn
+        HeroStats warrior = new HeroStats("Warrior", 125, 4, 35, 60, 80, 20);
+        MonsterStats ogre = new MonsterStats("Ogre", 200, 2, 30, 60, 60, 0.1, 30, 60);
+        BattleSimulator simulator = createSimulator();
+
+        BattleSimulator.Result attacks = simulator.simulate(List.of(warrior), List.of(ogre), List.of(), 20_000, 9,
+                BattlePolicy.ATTACK_ONLY).get(0);
+        BattleSimulator.Result specials = simulator.simulate(List.of(warrior), List.of(ogre), List.of(), 20_000, 9,
+                BattlePolicy.SPECIAL_WHEN_AVAILABLE).get(0);
+
+        assertEquals(attacks, simulator.simulate(List.of(warrior), List.of(ogre), List.of(), 20_000, 9).get(0));
+        assertTrue(specials.winRateHigh() < attacks.winRateLow());
+        assertTrue(specials.meanRounds() > attacks.meanRounds());
+    }
+}
@@ -6,8 +6,14 @@ import static org.mockito.Mockito.*;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
 public class BattleSystemTest {
 
+    private static final BattleOutcome BASH = new BattleOutcome(BattleOutcome.Kind.BASH, 1, 1, 0, 20, 20, 0);
+
     private Hero myHero;
 
     private Monster myMonster;
@@ -31,7 +37,7 @@ public class BattleSystemTest {
         when(myHero.getName()).thenReturn("Hero");
         when(myMonster.getName()).thenReturn("Monster");
 
-        when(myHero.block()).thenReturn(false); // No blocking
+        when(myHero.block(any(RandomGenerator.class))).thenReturn(false); // No blocking
 
         when(myHero.getHP()).thenReturn(100);
         when(myMonster.getHP()).thenReturn(100);
@@ -40,11 +46,15 @@ public class BattleSystemTest {
 
     }
 
+    private String render(final BattleOutcome theOutcome) {
+        return BattleText.render(theOutcome, myMonster.getName());
+    }
+
     @Test
     void testProcessPlayerAttacks() {
 
-        when(myHero.attack(anyInt(), anyInt(), anyInt())).thenReturn(7);
-        final String result = myBattleSystem.processPlayerAttacks();
+        when(myHero.attack(anyInt(), anyInt(), anyInt(), any(RandomGenerator.class))).thenReturn(7);
+        final String result = render(myBattleSystem.processPlayerAttacks());
 
         assertTrue(result.contains("attack"));
         verify(myMonster, atLeastOnce()).takeDamage(7);
@@ -58,9 +68,9 @@ public class BattleSystemTest {
 
         when(myHero.getMyAttackSpeed()).thenReturn(10);
         when(myMonster.getMyAttackSpeed()).thenReturn(10);
-        when(myHero.attack(anyInt(), anyInt(), anyInt())).thenReturn(0);
+        when(myHero.attack(anyInt(), anyInt(), anyInt(), any(RandomGenerator.class))).thenReturn(0);
 
-        final String result = myBattleSystem.processPlayerAttacks();
+        final String result = render(myBattleSystem.processPlayerAttacks());
         assertTrue(result.contains("missed"));
         verify(myMonster, never()).takeDamage(anyInt());
     }
@@ -68,10 +78,10 @@ public class BattleSystemTest {
     @Test
     void testProcessMonsterAttacks() {
 
-        when(myMonster.attack(anyInt(), anyInt(), anyInt())).thenReturn(7);
+        when(myMonster.attack(anyInt(), anyInt(), anyInt(), any(RandomGenerator.class))).thenReturn(7);
         when(myHero.getHP()).thenReturn(100);
 
-        final String result = myBattleSystem.processMonsterAttacks();
+        final String result = render(myBattleSystem.processMonsterAttacks());
         assertTrue(result.contains("attack"));
         verify(myHero, atLeastOnce()).takeDamage(7);
 
@@ -84,21 +94,21 @@ public class BattleSystemTest {
 
         when(myMonster.getMyAttackSpeed()).thenReturn(10);
         when(myHero.getMyAttackSpeed()).thenReturn(10); // 1 attack
-        when(myMonster.attack(anyInt(), anyInt(), anyInt())).thenReturn(10);
+        when(myMonster.attack(anyInt(), anyInt(), anyInt(), any(RandomGenerator.class))).thenReturn(10);
 
-        when(myHero.block()).thenReturn(true); // Hero blocks all attacks
+        when(myHero.block(any(RandomGenerator.class))).thenReturn(true); // Hero blocks all attacks
 
-        final String res1 = myBattleSystem.processMonsterAttacks();
+        final String res1 = render(myBattleSystem.processMonsterAttacks());
         assertTrue(res1.contains("blocked"), "Expected attack to be blocked");
         verify(myMonster, never()).takeDamage(anyInt());
 
         when(myMonster.getMyAttackSpeed()).thenReturn(10);
         when(myHero.getMyAttackSpeed()).thenReturn(5); // 2 attacks
-        when(myMonster.attack(anyInt(), anyInt(), anyInt())).thenReturn(10);
+        when(myMonster.attack(anyInt(), anyInt(), anyInt(), any(RandomGenerator.class))).thenReturn(10);
 
-        when(myHero.block()).thenReturn(true); // Hero blocks all attacks
+        when(myHero.block(any(RandomGenerator.class))).thenReturn(true); // Hero blocks all attacks
 
-        final String res2 = myBattleSystem.processMonsterAttacks();
+        final String res2 = render(myBattleSystem.processMonsterAttacks());
         assertTrue(res2.contains("blocked"), "Expected all attacks to be blocked");
         verify(myMonster, never()).takeDamage(anyInt());
 
@@ -111,12 +121,12 @@ public class BattleSystemTest {
         when(myHero.getMyAttackSpeed()).thenReturn(5);
 
         // 3 attacks
-        when(myMonster.attack(anyInt(), anyInt(), anyInt()))
+        when(myMonster.attack(anyInt(), anyInt(), anyInt(), any(RandomGenerator.class)))
                 .thenReturn(10) // hit
                 .thenReturn(5); // block
 
-        when(myHero.block()).thenReturn(false).thenReturn(true);
-        final String result = myBattleSystem.processMonsterAttacks();
+        when(myHero.block(any(RandomGenerator.class))).thenReturn(false).thenReturn(true);
+        final String result = render(myBattleSystem.processMonsterAttacks());
         System.out.println(result);
 
         assertTrue(result.contains("attempted 2 attacks"), "Expected 2 attacks");
@@ -130,9 +140,9 @@ public class BattleSystemTest {
     @Test
     void testProcessPlayerSpecialMove() {
 
-        // Custom String result
-        when(myHero.specialMove(myMonster)).thenReturn("Special Move Executed");
-        final String result = myBattleSystem.processPlayerSpecialMove();
+        // Custom result
+        when(myHero.specialMove(eq(myMonster), any(RandomGenerator.class))).thenReturn(BASH);
+        final String result = render(myBattleSystem.processPlayerSpecialMove());
 
         // I cannot compare exact text since subclasses return different Strings.
         // We can check for null and empty, though.
@@ -145,13 +155,13 @@ public class BattleSystemTest {
     @Test
     void testProcessPlayerSpecialMoveNotYourTurn() {
 
-        when(myHero.specialMove(myMonster)).thenReturn("Special Move Executed");
+        when(myHero.specialMove(eq(myMonster), any(RandomGenerator.class))).thenReturn(BASH);
         myBattleSystem.processPlayerSpecialMove();
 
-        final String result = myBattleSystem.processPlayerSpecialMove();
+        final String result = render(myBattleSystem.processPlayerSpecialMove());
 
         assertEquals("It is not your turn yet!", result);
-        verify(myHero, times(1)).specialMove(myMonster);
+        verify(myHero, times(1)).specialMove(eq(myMonster), any(RandomGenerator.class));
         assertFalse(myBattleSystem.isPlayerTurn());
 
     }
@@ -160,10 +170,10 @@ public class BattleSystemTest {
     void testProcessMonsterHeal() {
 
         when(myMonster.getHP()).thenReturn(50);
-        when(myMonster.heal()).thenReturn(20);
+        when(myMonster.heal(any(RandomGenerator.class))).thenReturn(20);
         when(myMonster.getName()).thenReturn("Ogre");
 
-        final String result = myBattleSystem.processMonsterHeal();
+        final String result = render(myBattleSystem.processMonsterHeal());
         assertEquals("The Ogre healed itself for 20 HP!", result);
 
     }
@@ -172,16 +182,16 @@ public class BattleSystemTest {
     void testProcessMonsterHealNoHP() {
         when(myMonster.getHP()).thenReturn(0);
 
-        final String result = myBattleSystem.processMonsterHeal();
+        final String result = render(myBattleSystem.processMonsterHeal());
         assertEquals("", result);
     }
 
     @Test
     void testProcessMonsterHealFail() {
         when(myMonster.getHP()).thenReturn(100);
-        when(myMonster.heal()).thenReturn(0);
+        when(myMonster.heal(any(RandomGenerator.class))).thenReturn(0);
 
-        final String result = myBattleSystem.processMonsterHeal();
+        final String result = render(myBattleSystem.processMonsterHeal());
         assertEquals("", result);
 
     }
@@ -225,5 +235,53 @@ public class BattleSystemTest {
 
     }
 
+    @Test
+    void testAutoResolveAttackOnly() {
+        Warrior warrior = new Warrior("Warrior", 125, 4, 35, 60, 80, 20);
+        Ogre ogre = new Ogre("Ogre", 200, 2, 30, 60, 60, 0.1, 30, 60);
+
+        BattleSummary summary = new BattleSystem(warrior, ogre, new SplittableRandom(3))
+                .autoResolve(BattlePolicy.ATTACK_ONLY);
+
+        assertTrue(summary.finished());
+        assertTrue(summary.heroWon());
+        assertEquals(0, ogre.getHP());
+        assertEquals(0, summary.specialMoves());
+        assertEquals(125 - warrior.getHP(), summary.damageTaken());
+        // The last hit may deal more damage than the ogre had left
+        assertTrue(summary.damageDealt() >= 200 + summary.monsterHealed());
+    }
 
+    @Test
+    void testAutoResolveSpecialWhenAvailable() {
+        Warrior warrior = new Warrior("Warrior", 125, 4, 35, 60, 80, 20);
+        Gremlin gremlin = new Gremlin("Gremlin", 70, 5, 15, 30, 80, 0.4, 20, 40);
+
+        BattleSummary summary = new BattleSystem(warrior, gremlin, new SplittableRandom(5))
+                .autoResolve(BattlePolicy.SPECIAL_WHEN_AVAILABLE);
+
+        assertTrue(summary.finished());
+        assertEquals(summary.rounds(), summary.specialMoves());
+
+        Priestess priestess = new Priestess("Priestess", 75, 5, 25, 45, 70, 30);
+        assertFalse(BattlePolicy.SPECIAL_WHEN_AVAILABLE.useSpecialMove(priestess, gremlin));
+        priestess.takeDamage(40);
+        assertTrue(BattlePolicy.SPECIAL_WHEN_AVAILABLE.useSpecialMove(priestess, gremlin));
+        assertFalse(BattlePolicy.ATTACK_ONLY.useSpecialMove(priestess, gremlin));
+    }
+
+    @Test
+    void testAutoResolveRoundLimit() {
+        // Neither side can hit, so the battle is stopped after the last round's monster turn
+        Thief thief = new Thief("Thief", 75, 6, 20, 40, 0, 40);
+        Witch witch = new Witch("Witch", 40, 6, 10, 20, 0, 0.2, 5, 10);
+        BattleSystem battle = new BattleSystem(thief, witch, new SplittableRandom(1));
+
+        BattleSummary summary = battle.autoResolve(BattlePolicy.ATTACK_ONLY);
+
+        assertFalse(summary.finished());
+        assertFalse(summary.heroWon());
+        assertEquals(BattleSystem.MAX_ROUNDS, summary.rounds());
+        assertTrue(battle.isPlayerTurn());
+    }
 }
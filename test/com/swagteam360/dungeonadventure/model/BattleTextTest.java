@@ -0,0 +1,67 @@
+package com.swagteam360.dungeonadventure.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+class BattleTextTest {
+
+    @Test
+    void testAttacks() {
+        assertEquals("You attempted 1 attack, but it missed!",
+                BattleText.render(BattleOutcome.attacks(true, 1, 0, 0, 0), "Ogre"));
+        assertEquals("The Ogre attempted 2 attacks, but they were all blocked!",
+                BattleText.render(BattleOutcome.attacks(false, 2, 0, 2, 0), "Ogre"));
+        assertEquals("You landed 3 attacks for a total of 45 damage!",
+                BattleText.render(BattleOutcome.attacks(true, 3, 3, 0, 45), "Ogre"));
+        assertEquals("The Witch attempted 3 attacks, 1 was blocked, 1 landed for a total of 12 damage!",
+                BattleText.render(BattleOutcome.attacks(false, 3, 1, 1, 12), "Witch"));
+    }
+
+    @Test
+    void testSpecialMovesAndHeals() {
+        assertEquals("Bash failed! You missed!",
+                BattleText.render(BattleOutcome.special(BattleOutcome.Kind.BASH, 1, 0, 0, 0), "Ogre"));
+        assertEquals("Surprise attack successful! Hit 1: 10 damage!\nHit 2: 15 damage!\nTotal damage: 25!",
+                BattleText.render(BattleOutcome.special(BattleOutcome.Kind.SURPRISE_ATTACK, 2, 2, 25, 10), "Ogre"));
+        assertEquals("You healed for 30 points of health!",
+                BattleText.render(BattleOutcome.heal(BattleOutcome.Kind.HEAL, 30), "Ogre"));
+        assertEquals("The Gremlin healed itself for 5 HP!",
+                BattleText.render(BattleOutcome.heal(BattleOutcome.Kind.MONSTER_HEAL, 5), "Gremlin"));
+        assertEquals("", BattleText.render(BattleOutcome.heal(BattleOutcome.Kind.MONSTER_HEAL, 0), "Gremlin"));
+        assertEquals("It is not your turn yet!", BattleText.render(BattleOutcome.NOT_YOUR_TURN, "Gremlin"));
+
+        assertTrue(BattleOutcome.Kind.CAUGHT.isSpecialMove());
+        assertFalse(BattleOutcome.Kind.MONSTER_HEAL.isSpecialMove());
+    }
+
+    @Test
+    void testPriestessReportsActualHeal() {
+        Priestess priestess = new Priestess("Test", 100, 5, 10, 20, 70, 30);
+        SplittableRandom random = new SplittableRandom(1);
+
+        BattleOutcome outcome = priestess.specialMove(null, random);
+        assertEquals(BattleOutcome.Kind.HEAL, outcome.kind());
+        assertEquals(0, outcome.heal());
+
+        priestess.takeDamage(95);
+        outcome = priestess.specialMove(null, random);
+        assertTrue(outcome.heal() >= 10);
+        assertEquals(5 + outcome.heal(), priestess.getHP());
+    }
+
+    @Test
+    void testSummary() {
+        assertEquals("You defeated the Ogre in 3 rounds! You dealt 210 damage and took 45, blocking 1 attack."
+                        + " Special moves used: 2. The Ogre healed 10 HP.",
+                BattleText.renderSummary(new BattleSummary(BattlePolicy.SPECIAL_WHEN_AVAILABLE, 3, true, true, 210,
+                        45, 1, 2, 0, 10), "Ogre"));
+        assertEquals("You were defeated by the Witch in 1 round! You dealt 0 damage and took 75. You healed 5 HP.",
+                BattleText.renderSummary(new BattleSummary(BattlePolicy.ATTACK_ONLY, 1, true, false, 0, 75, 0, 0,
+                        5, 0), "Witch"));
+        assertTrue(BattleText.renderSummary(new BattleSummary(BattlePolicy.ATTACK_ONLY, 1000, false, false, 0, 0,
+                0, 0, 0, 0), "Witch").startsWith("The fight with the Witch is still going after 1000 rounds!"));
+    }
+}
@@ -0,0 +1,110 @@
+package com.swagteam360.dungeonadventure.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.LongFunction;
+
+class BotTournamentTest {
+
+    private static final GameSettings SETTINGS = new GameSettings("Bot", "warrior", "normal");
+
+    @Test
+    void testViewShowsTheCurrentRoom() {
+        GameSession session = new GameSession(SETTINGS, new Warrior("Warrior", 125, 4, 35, 60, 80, 20),
+                new Dungeon(5, 5, 3L), new Random(3L));
+        BotView view = new BotView(session);
+
+        assertEquals(session.getCurrentRoom().getAvailableDirections(), view.getDirections());
+        assertEquals(session.getCurrentRoom().getRow(), view.getRoom().row());
+        assertEquals(5, view.getRowCount());
+        assertEquals("Warrior", view.getHeroType());
+        assertFalse(view.isInBattle());
+        assertNull(view.getMonsterName());
+        assertNull(view.getBattleOdds());
+    }
+
+    @Test
+    void testReferenceBotsFinishTheirGames() {
+        for (Map.Entry<String, LongFunction<Bot>> bot : BotTournament.getReferenceBots().entrySet()) {
+            for (long seed = 0; seed < 20; seed++) {
+                GameSession session = new GameSession(SETTINGS, seed);
+                BotTournament.GameResult game = BotTournament.playGame(bot.getValue().apply(seed), session,
+                        BotTournament.DEFAULT_MAX_TURNS);
+
+                assertTrue(session.isOver(), bot.getKey() + " did not finish game " + seed);
+                assertEquals(session.getStatus(), game.status());
+                assertEquals(session.getMoveCount(), game.moves());
+                if (!bot.getKey().equals("random-walker")) {
+                    assertEquals(0, game.wastedTurns(), bot.getKey());
+                }
+            }
+        }
+    }
+
+    @Test
+    void testCollectorWinsWhenItSurvives() {
+        // Without monsters, only pits can stop a bot that maps the maze
+        GameSession session = new GameSession(SETTINGS, new Warrior("Warrior", 1000, 4, 35, 60, 80, 20),
+                new Dungeon(7, 7, 5L), new Random(5L));
+        BotTournament.GameResult game = BotTournament.playGame(new PillarCollectorBot(), session, 10_000);
+
+        assertEquals(GameSession.Status.WON, game.status());
+        assertTrue(game.moves() < 7 * 7 * 4, "moves: " + game.moves());
+    }
+
+    @Test
+    void testWastedTurnsAreCounted() {
+        GameSession session = new GameSession(SETTINGS, 1L);
+        BotTournament.GameResult game = BotTournament.playGame(theView -> BotAction.attack(), session, 50);
+
+        assertEquals(GameSession.Status.PLAYING, game.status());
+        assertEquals(50, game.turns());
+        assertEquals(50, game.wastedTurns());
+        assertThrows(NullPointerException.class, () -> BotAction.useItem(null));
+    }
+
+    @Test
+    void testResultsDependOnlyOnTheSeed() {
+        List<BotTournament.Result> first = new BotTournament(new ForkJoinPool(4))
+                .play(BotTournament.getReferenceBots(), SETTINGS, 200, 77L);
+        List<BotTournament.Result> second = new BotTournament(new ForkJoinPool(1))
+                .play(BotTournament.getReferenceBots(), SETTINGS, 200, 77L);
+
+        assertEquals(3, first.size());
+        for (int i = 0; i < first.size(); i++) {
+            assertEquals(first.get(i).bot(), second.get(i).bot());
+            assertEquals(first.get(i).wins(), second.get(i).wins());
+            assertEquals(first.get(i).meanMoves(), second.get(i).meanMoves());
+            assertEquals(200, first.get(i).games());
+        }
+        // Mapping the maze and looking after the Hero should both pay
+        assertTrue(first.get(1).wins() > first.get(0).wins());
+        assertTrue(first.get(2).wins() > first.get(1).wins());
+        assertThrows(IllegalArgumentException.class, () -> new BotTournament()
+                .play(BotTournament.getReferenceBots(), new GameSettings("Bot", "wizard", "normal"), 1, 0L));
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark.large", matches = "true")
+    void benchmarkTournament() {
+        for (String difficulty : List.of("easy", "normal", "hard")) {
+            for (String hero : List.of("warrior", "priestess", "thief")) {
+                long start = System.nanoTime();
+                List<BotTournament.Result> results = new BotTournament().play(BotTournament.getReferenceBots(),
+                        new GameSettings("Bot", hero, difficulty), 10_000, 1L);
+                double seconds = (System.nanoTime() - start) / 1e9;
+                System.out.print(BotTournament.toCsv(results).lines().skip(1)
+                        .map(theLine -> theLine + "\n").reduce("", String::concat));
+                System.out.printf("  %.0f games/s%n", 30_000 / seconds);
+            }
+        }
+    }
+}
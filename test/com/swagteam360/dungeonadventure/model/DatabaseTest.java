@@ -1,12 +1,13 @@
 package com.swagteam360.dungeonadventure.model;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import org.mockito.MockedStatic;
 
 import java.sql.*;
-import java.util.Map;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -36,6 +37,13 @@ class DatabaseTest {
         mockResultSet = mock(ResultSet.class);
 
         database = Database.getInstance();
+        database.setLiveStats(true); // Query the mocked connection rather than the packaged snapshot
+    }
+
+    @AfterEach
+    void tearDown() {
+        // Leave a fresh instance, reading the packaged snapshot, for the other tests
+        resetSingleton();
     }
 
     /**
@@ -62,9 +70,8 @@ class DatabaseTest {
     }
 
     @Test
-    void testGetMonsterByName_Success() throws SQLException {
+    void testGetAllMonsterStats_Success() throws SQLException {
         // Arrange
-        String monsterName = "Goblin";
         setupMockResultSetForMonster();
 
         try (MockedStatic<DriverManager> mockedDriverManager = mockStatic(DriverManager.class)) {
@@ -73,58 +80,44 @@ class DatabaseTest {
 
             when(mockConnection.prepareStatement(anyString())).thenReturn(mockPreparedStatement);
             when(mockPreparedStatement.executeQuery()).thenReturn(mockResultSet);
-            when(mockResultSet.next()).thenReturn(true);
+            when(mockResultSet.next()).thenReturn(true, false);
 
             // Act
-            Map<String, Object> result = database.getMonsterByName(monsterName);
+            List<MonsterStats> result = database.getAllMonsterStats();
 
             // Assert
             assertNotNull(result, "Result should not be null");
-            assertEquals("Goblin", result.get("Name"));
-            assertEquals(50, result.get("HealthPoints"));
-            assertEquals(5, result.get("DamageRangeMin"));
-            assertEquals(15, result.get("DamageRangeMax"));
-            assertEquals(3, result.get("AttackSpeed"));
-            assertEquals(80, result.get("HitChance"));
-            assertEquals(0.2, result.get("HealChance"));
-            assertEquals(2, result.get("MinHealPoints"));
-            assertEquals(8, result.get("MaxHealPoints"));
+            assertEquals(1, result.size());
+            assertEquals(new MonsterStats("Goblin", 50, 3, 5, 15, 80, 0.2, 2, 8), result.get(0));
 
             // Verify interactions
-            verify(mockPreparedStatement).setString(1, monsterName);
             verify(mockPreparedStatement).executeQuery();
         }
     }
 
     @Test
-    void testGetMonsterByName_NotFound() throws SQLException {
-        // Arrange
-        String monsterName = "NonExistentMonster";
-
+    void testGetAllMonsterStats_Empty() throws SQLException {
         try (MockedStatic<DriverManager> mockedDriverManager = mockStatic(DriverManager.class)) {
             mockedDriverManager.when(() -> DriverManager.getConnection(anyString()))
                     .thenReturn(mockConnection);
 
             when(mockConnection.prepareStatement(anyString())).thenReturn(mockPreparedStatement);
             when(mockPreparedStatement.executeQuery()).thenReturn(mockResultSet);
-            when(mockResultSet.next()).thenReturn(false); // No results found
+            when(mockResultSet.next()).thenReturn(false); // No rows
 
             // Act
-            Map<String, Object> result = database.getMonsterByName(monsterName);
+            List<MonsterStats> result = database.getAllMonsterStats();
 
             // Assert
-            assertNull(result, "Result should be null when monster is not found");
-
-            // Verify interactions
-            verify(mockPreparedStatement).setString(1, monsterName);
+            assertNotNull(result, "An empty table should give an empty list");
+            assertTrue(result.isEmpty());
         }
     }
 
 
     @Test
-    void testGetHeroByName_Success() throws SQLException {
+    void testGetAllHeroStats_Success() throws SQLException {
         // Arrange
-        String heroName = "Warrior";
         setupMockResultSetForHero();
 
         try (MockedStatic<DriverManager> mockedDriverManager = mockStatic(DriverManager.class)) {
@@ -133,51 +126,92 @@ class DatabaseTest {
 
             when(mockConnection.prepareStatement(anyString())).thenReturn(mockPreparedStatement);
             when(mockPreparedStatement.executeQuery()).thenReturn(mockResultSet);
-            when(mockResultSet.next()).thenReturn(true);
+            when(mockResultSet.next()).thenReturn(true, false);
 
             // Act
-            Map<String, Object> result = database.getHeroByName(heroName);
+            List<HeroStats> result = database.getAllHeroStats();
 
             // Assert
             assertNotNull(result, "Result should not be null");
-            assertEquals("Warrior", result.get("Name"));
-            assertEquals(100, result.get("HealthPoints"));
-            assertEquals(4, result.get("AttackSpeed"));
-            assertEquals(10, result.get("DamageRangeMin"));
-            assertEquals(25, result.get("DamageRangeMax"));
-            assertEquals(85, result.get("HitChance"));
-            assertEquals(30, result.get("BlockChance"));
+            assertEquals(1, result.size());
+            assertEquals(new HeroStats("Warrior", 100, 4, 10, 25, 85, 30), result.get(0));
 
             // Verify interactions
-            verify(mockPreparedStatement).setString(1, heroName);
             verify(mockPreparedStatement).executeQuery();
         }
     }
 
     @Test
-    void testGetHeroByName_NotFound() throws SQLException {
-        // Arrange
-        String heroName = "NonExistentHero";
+    void testStatsFromSnapshotNeedNoConnection() {
+        database.setLiveStats(false);
+
+        try (MockedStatic<DriverManager> mockedDriverManager = mockStatic(DriverManager.class)) {
+            assertFalse(database.getAllHeroStats().isEmpty());
+            assertFalse(database.getAllMonsterStats().isEmpty());
 
+            mockedDriverManager.verifyNoInteractions();
+        }
+    }
+
+    @Test
+    void testConnectionAndStatementReused() throws SQLException {
         try (MockedStatic<DriverManager> mockedDriverManager = mockStatic(DriverManager.class)) {
             mockedDriverManager.when(() -> DriverManager.getConnection(anyString()))
                     .thenReturn(mockConnection);
 
             when(mockConnection.prepareStatement(anyString())).thenReturn(mockPreparedStatement);
             when(mockPreparedStatement.executeQuery()).thenReturn(mockResultSet);
-            when(mockResultSet.next()).thenReturn(false); // No results found
+            when(mockResultSet.next()).thenReturn(false);
 
-            // Act
-            Map<String, Object> result = database.getHeroByName(heroName);
+            database.getAllMonsterStats();
+            database.getAllMonsterStats();
+            database.getAllMonsterStats();
 
-            // Assert
-            assertNull(result, "Result should be null when hero is not found");
+            mockedDriverManager.verify(() -> DriverManager.getConnection(anyString()), times(1));
+            verify(mockConnection, times(1)).prepareStatement(anyString());
+            verify(mockPreparedStatement, times(3)).executeQuery();
+            verify(mockResultSet, times(3)).close();
+        }
+    }
 
-            // Verify interactions
-            verify(mockPreparedStatement).setString(1, heroName);
+    @Test
+    void testCloseReleasesConnectionAndReconnects() throws SQLException {
+        try (MockedStatic<DriverManager> mockedDriverManager = mockStatic(DriverManager.class)) {
+            mockedDriverManager.when(() -> DriverManager.getConnection(anyString()))
+                    .thenReturn(mockConnection);
+
+            when(mockConnection.prepareStatement(anyString())).thenReturn(mockPreparedStatement);
+            when(mockPreparedStatement.executeQuery()).thenReturn(mockResultSet);
+            when(mockResultSet.next()).thenReturn(false);
+
+            database.getAllHeroStats();
+            database.close();
+
+            verify(mockPreparedStatement).close();
+            verify(mockConnection).close();
+
+            database.getAllHeroStats();
+            mockedDriverManager.verify(() -> DriverManager.getConnection(anyString()), times(2));
         }
     }
 
+    @Test
+    void testFailedQueryDropsConnection() throws SQLException {
+        // Created first, since the SQLException constructor calls into DriverManager
+        final SQLException failure = new SQLException("disk I/O error");
+
+        try (MockedStatic<DriverManager> mockedDriverManager = mockStatic(DriverManager.class)) {
+            mockedDriverManager.when(() -> DriverManager.getConnection(anyString()))
+                    .thenReturn(mockConnection);
+
+            when(mockConnection.prepareStatement(anyString())).thenReturn(mockPreparedStatement);
+            when(mockPreparedStatement.executeQuery()).thenThrow(failure);
+
+            assertNull(database.getAllMonsterStats());
+
+            verify(mockConnection).close();
+        }
+    }
 
     /**
      * Helper method to setup mock ResultSet for monster data
@@ -162,4 +162,35 @@ class DungeonTest {
         assertThrows(IllegalArgumentException.class, () -> new Dungeon(-1, 5));
         assertThrows(IllegalArgumentException.class, () -> new Dungeon(5, -1));
     }
+
+    @Test
+    void testGetRoomViewModelsWindow() {
+        final Dungeon seeded = new Dungeon(8, 8, 3L);
+
+        final IRoom.RoomViewModel[][] window = seeded.getRoomViewModels(2, 3, 4, 2);
+
+        assertEquals(4, window.length);
+        assertEquals(2, window[0].length);
+        assertEquals(2, window[0][0].row());
+        assertEquals(3, window[0][0].col());
+        assertEquals(5, window[3][1].row());
+        assertEquals(4, window[3][1].col());
+        assertThrows(IllegalArgumentException.class, () -> seeded.getRoomViewModels(6, 0, 3, 1));
+    }
+
+    @Test
+    void testSameSeedGeneratesSameDungeon() {
+        final Dungeon first = new Dungeon(12, 9, 42L);
+        final Dungeon second = new Dungeon(12, 9, 42L);
+
+        assertEquals(first.getEntranceCol(), second.getEntranceCol());
+        assertEquals(first.toDetailedString(), second.toDetailedString());
+        assertTrue(first.hasSeed());
+        assertEquals(42L, first.getSeed());
+    }
+
+    @Test
+    void testDifferentSeedsGenerateDifferentDungeons() {
+        assertNotEquals(new Dungeon(12, 9, 1L).toDetailedString(), new Dungeon(12, 9, 2L).toDetailedString());
+    }
 }
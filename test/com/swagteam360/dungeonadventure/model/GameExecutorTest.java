@@ -0,0 +1,59 @@
+package com.swagteam360.dungeonadventure.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+public class GameExecutorTest {
+
+    @Test
+    void testCommandsRunInOrderOnOneThread() throws Exception {
+        final GameExecutor executor = GameExecutor.getInstance();
+        final List<Integer> order = new ArrayList<>(); // Only touched by the game-logic thread
+        final List<Thread> threads = new ArrayList<>();
+
+        for (int i = 0; i < 100; i++) {
+            final int index = i;
+            executor.submit(() -> {
+                order.add(index);
+                threads.add(Thread.currentThread());
+            });
+        }
+        executor.submit(() -> { }).get(5, TimeUnit.SECONDS); // Wait for the queue to drain
+
+        assertEquals(100, order.size(), "Every command should have run");
+        for (int i = 0; i < order.size(); i++) {
+            assertEquals(i, order.get(i), "Commands should run in the order they were submitted");
+        }
+        assertTrue(threads.stream().allMatch(t -> t == threads.get(0)), "All commands should share one thread");
+        assertNotSame(Thread.currentThread(), threads.get(0), "Commands should not run on the caller's thread");
+    }
+
+    @Test
+    void testIsGameThread() throws Exception {
+        final GameExecutor executor = GameExecutor.getInstance();
+        final boolean[] onGameThread = {false};
+
+        executor.submit(() -> onGameThread[0] = executor.isGameThread()).get(5, TimeUnit.SECONDS);
+
+        assertTrue(onGameThread[0], "Commands should run on the game-logic thread");
+        assertFalse(executor.isGameThread(), "The test thread is not the game-logic thread");
+    }
+
+    @Test
+    void testFailingCommandDoesNotStopExecutor() throws Exception {
+        final GameExecutor executor = GameExecutor.getInstance();
+        final boolean[] ran = {false};
+
+        executor.submit(() -> {
+            throw new IllegalStateException("Expected failure");
+        });
+        executor.submit(() -> ran[0] = true).get(5, TimeUnit.SECONDS);
+
+        assertTrue(ran[0], "A failing command should not stop later commands");
+    }
+}
@@ -0,0 +1,210 @@
+package com.swagteam360.dungeonadventure.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+class GameJournalTest {
+
+    private static final GameSettings SETTINGS = new GameSettings("Bot", "priestess", "normal");
+
+    /** Length of the start of a journal of these settings. */
+    private static final int HEADER = 4 + 2 + "Bot".length() + 2 + "priestess".length() + 2 + "normal".length() + 8;
+
+    /**
+     * Records a game played to the end by the risk-aware bot.
+     */
+    private static byte[] recordGame(final long theSeed) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        GameSession session = GameJournal.record(SETTINGS, theSeed, out);
+        BotTournament.playGame(new RiskAwareBot(), session, BotTournament.DEFAULT_MAX_TURNS);
+        return out.toByteArray();
+    }
+
+    @Test
+    void testReplayEndsLikeTheGame() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        GameSession original = GameJournal.record(SETTINGS, 17L, out);
+        BotTournament.GameResult result =
+                BotTournament.playGame(new RiskAwareBot(), original, BotTournament.DEFAULT_MAX_TURNS);
+        assertTrue(original.isOver());
+
+        GameJournal.Replay replay = GameJournal.replay(new ByteArrayInputStream(out.toByteArray()));
+        GameSession copy = replay.playToEnd();
+        assertEquals(original.getStatus(), copy.getStatus());
+        assertEquals(original.getMoveCount(), copy.getMoveCount());
+        assertEquals(original.getHero().getHP(), copy.getHero().getHP());
+        assertEquals(original.getStateHash(), copy.getStateHash());
+        assertEquals(result.turns() - result.wastedTurns(), replay.getCommandCount());
+        assertEquals(replay.getCommandCount() / GameJournal.CHECKPOINT_INTERVAL + 1, replay.getCheckpointCount());
+        assertFalse(replay.step());
+    }
+
+    @Test
+    void testJournalIsAboutOneBytePerCommand() throws IOException {
+        byte[] journal = recordGame(17L);
+        GameJournal.Replay replay = GameJournal.replay(new ByteArrayInputStream(journal));
+        replay.playToEnd();
+        assertEquals(HEADER + replay.getCommandCount() + 5 * replay.getCheckpointCount(), journal.length);
+    }
+
+    @Test
+    void testCutJournalReplaysUpToItsEnd() throws IOException {
+        byte[] journal = recordGame(17L);
+        GameJournal.Replay replay = GameJournal.replay(new ByteArrayInputStream(Arrays.copyOf(journal, HEADER + 30)));
+        GameSession session = replay.playToEnd();
+        assertEquals(30, replay.getCommandCount());
+        assertEquals(GameSession.Status.PLAYING, session.getStatus());
+
+        // Cut inside the last checkpoint
+        replay = GameJournal.replay(new ByteArrayInputStream(Arrays.copyOf(journal, journal.length - 2)));
+        assertTrue(replay.playToEnd().isOver());
+        assertEquals(0, replay.getCheckpointCount());
+    }
+
+    @Test
+    void testChangedJournalIsCaught() throws IOException {
+        byte[] journal = recordGame(5L);
+        // Going north from the entrance on the top row is always refused
+        journal[HEADER] = (byte) Direction.NORTH.ordinal();
+        GameJournal.Replay replay = GameJournal.replay(new ByteArrayInputStream(journal));
+        assertThrows(IllegalStateException.class, replay::playToEnd);
+
+        assertThrows(IOException.class, () -> GameJournal.replay(new ByteArrayInputStream(new byte[] {1, 2, 3, 4})));
+    }
+
+    @Test
+    void testAutoResolvedBattlesReplay() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        GameSession original = GameJournal.record(SETTINGS, 23L, out);
+        Random random = new Random(3);
+        int battles = 0;
+        for (int step = 0; step < 5_000 && !original.isOver(); step++) {
+            if (original.isInBattle()) {
+                original.autoResolve(BattlePolicy.values()[battles++ % BattlePolicy.values().length]);
+            } else {
+                original.move(Direction.values()[random.nextInt(4)]);
+            }
+        }
+        assertTrue(battles > 0, "A battle should have been fought");
+
+        GameSession copy = GameJournal.replay(new ByteArrayInputStream(out.toByteArray())).playToEnd();
+        assertEquals(original.getStateHash(), copy.getStateHash());
+        assertEquals(original.getHero().getHP(), copy.getHero().getHP());
+    }
+
+    @Test
+    void testLoadedGameResumesJournal() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        GameSession original = GameJournal.record(SETTINGS, 29L, out);
+        Random random = new Random(4);
+        play(original, random, 30);
+        original.markSavePoint();
+        original.flushJournal();
+        byte[] journal = out.toByteArray();
+
+        // Load the game from a save, which knows neither the moves made nor the random numbers to come
+        ByteArrayOutputStream save = new ByteArrayOutputStream();
+        SaveCodec.write(GameSnapshot.capture(SETTINGS, original.getHero(), original.getDungeon(),
+                original.getCurrentRoom(), original.hasSuperVision(), original.getSuperVisionCounter()),
+                SaveFormat.FULL, save);
+        GameSnapshot snapshot = SaveCodec.read(new ByteArrayInputStream(save.toByteArray()));
+        Dungeon dungeon = snapshot.toDungeon();
+        GameSession loaded = GameSession.resume(snapshot.toGameSettings(), snapshot.toHero(), dungeon,
+                dungeon.getRoom(snapshot.getCurrentRow(), snapshot.getCurrentCol()), snapshot.isSuperVision(),
+                snapshot.getSuperVisionCounter(), new Random());
+
+        ByteArrayOutputStream continued = new ByteArrayOutputStream();
+        continued.writeBytes(journal);
+        assertTrue(GameJournal.resume(loaded, journal, continued));
+        assertEquals(original.getStateHash(), loaded.getStateHash());
+        play(loaded, random, 5_000);
+        loaded.flushJournal();
+
+        GameSession copy = GameJournal.replay(new ByteArrayInputStream(continued.toByteArray())).playToEnd();
+        assertEquals(loaded.getStateHash(), copy.getStateHash());
+        assertEquals(loaded.getStatus(), copy.getStatus());
+    }
+
+    @Test
+    void testJournalPastItsSavePointNotResumed() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        GameSession original = GameJournal.record(SETTINGS, 31L, out);
+        Random random = new Random(5);
+        play(original, random, 30);
+        original.markSavePoint();
+        original.flushJournal();
+        byte[] savedJournal = out.toByteArray();
+
+        // A game of another seed, or one played on after the save, does not match the save point
+        GameSession other = new GameSession(SETTINGS, 32L);
+        assertFalse(GameJournal.resume(other, savedJournal, new ByteArrayOutputStream()));
+        original.setWaitsAtExit(true); // A command that is always journaled
+        original.flushJournal();
+        assertFalse(GameJournal.resume(original, out.toByteArray(), new ByteArrayOutputStream()));
+        assertFalse(GameJournal.resume(original, Arrays.copyOf(savedJournal, savedJournal.length - 1),
+                new ByteArrayOutputStream()));
+    }
+
+    /**
+     * Plays a number of commands: attacks during a battle, random moves otherwise. Stops early if the
+     * game ends.
+     */
+    private static void play(final GameSession theSession, final Random theRandom, final int theCommands) {
+        for (int command = 0; command < theCommands && !theSession.isOver(); command++) {
+            if (theSession.isInBattle()) {
+                theSession.attack();
+            } else {
+                theSession.move(Direction.values()[theRandom.nextInt(4)]);
+            }
+        }
+    }
+
+    @Test
+    void testFinishAtExitReplays() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        // The game of this seed is won by GameSessionTest.playTurn
+        GameSession original = GameJournal.record(new GameSettings("Test name", "priestess", "easy"), 46L, out);
+        original.setWaitsAtExit(true);
+        while (!original.isOver() && !original.canFinish()) {
+            GameSessionTest.playTurn(original);
+        }
+        original.finish();
+
+        GameSession copy = GameJournal.replay(new ByteArrayInputStream(out.toByteArray())).playToEnd();
+        assertEquals(GameSession.Status.WON, copy.getStatus());
+        assertEquals(original.getStateHash(), copy.getStateHash());
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark.large", matches = "true")
+    void benchmarkReplay() throws IOException {
+        final int games = 2_000;
+        final byte[][] journals = new byte[games][];
+        long bytes = 0;
+        long commands = 0;
+        for (int i = 0; i < games; i++) {
+            journals[i] = recordGame(i);
+            bytes += journals[i].length;
+        }
+        for (int round = 0; round < 3; round++) {
+            commands = 0;
+            final long start = System.nanoTime();
+            for (final byte[] journal : journals) {
+                final GameJournal.Replay replay = GameJournal.replay(new ByteArrayInputStream(journal));
+                replay.playToEnd();
+                commands += replay.getCommandCount();
+            }
+            final double millis = (System.nanoTime() - start) / 1e6;
+            System.out.printf("%d replays: %.3f ms per game, %.1f commands and %.1f bytes per journal%n",
+                    games, millis / games, (double) commands / games, (double) bytes / games);
+        }
+    }
+}
@@ -4,14 +4,40 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import java.beans.PropertyChangeListener;
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
 
 public class GameManagerTest {
 
+    @TempDir
+    Path myDirectory;
+
+    private RunHistory myRunHistory;
+
+    @BeforeEach
+    void setUp() {
+        // Games lost or won by the tests are recorded here rather than in the player's history
+        myRunHistory = new RunHistory(myDirectory.resolve("runs.db"));
+        GameManager.getInstance().setRunHistory(myRunHistory);
+    }
+
+    @AfterEach
+    void tearDown() {
+        GameManager.getInstance().setRunHistory(RunHistory.getInstance());
+        myRunHistory.close();
+    }
+
     @Test
     void testStartNewGame() {
 
@@ -30,15 +56,39 @@ public class GameManagerTest {
     }
 
     @Test
-    void testMovePlayer() {
+    void testRoamingMonstersLetLooseWhenGameStarts() {
+
+        final GameManager gm = GameManager.getInstance();
+        final GameSettings gs = new GameSettings("Test Name", "warrior", "easy");
+
+        gm.startNewGame(gs);
+        assertEquals(0, countMonsters(gm.getDungeon()));
+
+        gs.setRoamingMonsters(true);
+        gm.startNewGame(gs);
+        final int monsters = countMonsters(gm.getDungeon());
+        assertTrue(monsters > 0 && monsters <= GameManager.ROAMING_MONSTER_COUNT, "Monsters: " + monsters);
+        assertNull(gm.getCurrentRoom().getMonster());
+
+    }
+
+    private static int countMonsters(final Dungeon theDungeon) {
+        int count = 0;
+        for (int row = 0; row < theDungeon.getRowSize(); row++) {
+            for (int col = 0; col < theDungeon.getColSize(); col++) {
+                if (theDungeon.getRoom(row, col).getMonster() != null) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
 
-        // This is kind of a tricky method to test.
-        // movePlayer() does not indicate that the actual player has moved.
-        // The GUI prevents illegal movement (buttons are hidden), but if
-        // someone else were testing this method (black-box testing), they
-        // would have some trouble.
+    @Test
+    void testMovePlayer() {
 
-        // Yes, I know I wrote the method... - Jonathan
+        // movePlayer() plays the move on the game's session, so walls
+        // block the way just like the edges of the dungeon do.
 
         final GameManager gm = GameManager.getInstance();
         final GameSettings gs = mock(GameSettings.class);
@@ -54,8 +104,9 @@ public class GameManagerTest {
             final int originalRow = originalRoom.getRow();
             final int originalCol = originalRoom.getCol();
 
-            gm.movePlayer(dir);
+            final boolean moved = gm.movePlayer(dir);
             final Room newRoom = gm.getCurrentRoom();
+            assertEquals(moved, originalRoom != newRoom, "movePlayer should tell whether the player moved");
 
             if (originalRoom != newRoom) {
                 // Movement occurred
@@ -72,24 +123,22 @@ public class GameManagerTest {
 
                 assertTrue(newRoom.isVisited(), "New room should be marked as visited");
             } else {
-                // No movement — likely edge of dungeon
+                // No movement — a wall or the edge of the dungeon
                 switch (dir) {
                     case NORTH ->
-                            assertEquals(0,
-                                    originalRow,
-                                    "Should only fail to move NORTH if at top edge");
+                            assertTrue(originalRoom.hasTopWall() || originalRow == 0,
+                                    "Should only fail to move NORTH if blocked");
                     case SOUTH ->
-                            assertEquals(gm.getDungeon().getRowSize() - 1,
-                                    originalRow,
-                                    "Should only fail to move SOUTH if at bottom edge");
+                            assertTrue(originalRoom.hasBottomWall()
+                                            || originalRow == gm.getDungeon().getRowSize() - 1,
+                                    "Should only fail to move SOUTH if blocked");
                     case WEST ->
-                            assertEquals(0,
-                                    originalCol,
-                                    "Should only fail to move WEST if at left edge");
+                            assertTrue(originalRoom.hasLeftWall() || originalCol == 0,
+                                    "Should only fail to move WEST if blocked");
                     case EAST ->
-                            assertEquals(gm.getDungeon().getColSize() - 1,
-                                    originalCol,
-                                    "Should only fail to move EAST if at right edge");
+                            assertTrue(originalRoom.hasRightWall()
+                                            || originalCol == gm.getDungeon().getColSize() - 1,
+                                    "Should only fail to move EAST if blocked");
                 }
 
                 assertEquals(originalRoom, newRoom, "Player should remain in same room if move was invalid");
@@ -265,4 +314,247 @@ public class GameManagerTest {
         gm.removePropertyChangeListener(listener);
     }
 
+    @Test
+    void testBattleThroughGameManager() {
+        final GameManager gm = GameManager.getInstance();
+        final Random random = new Random(7);
+        final List<String> events = new ArrayList<>();
+        final PropertyChangeListener listener = theEvent -> events.add(theEvent.getPropertyName());
+
+        gm.startNewGame(new GameSettings("Test Name", "warrior", "hard"));
+        gm.addPropertyChangeListener(listener);
+        for (int step = 0; step < 10_000 && !gm.isInBattle(); step++) {
+            gm.movePlayer(Direction.values()[random.nextInt(4)]);
+        }
+        assertTrue(gm.isInBattle(), "A monster should have been met");
+        assertTrue(events.contains("Fight"), "Fight should have fired");
+
+        final Room battleRoom = gm.getCurrentRoom();
+        while (gm.isInBattle()) {
+            assertNotNull(gm.attack());
+        }
+        assertTrue(events.contains("Battle"), "Every move of a round should fire Battle");
+        assertTrue(events.contains("Battle End"), "Battle End should have fired");
+        if (gm.getHero().getHP() > 0) {
+            assertFalse(battleRoom.hasMonster(), "A beaten monster should leave the room");
+        } else {
+            assertTrue(events.contains("Dead"), "A beaten hero should fire Dead");
+        }
+        gm.removePropertyChangeListener(listener);
+    }
+
+    @Test
+    void testNewListenerAloneSentCurrentState() {
+        final GameManager gm = GameManager.getInstance();
+        final Random random = new Random(7);
+        final List<String> events = new ArrayList<>();
+        final List<String> lateEvents = new ArrayList<>();
+        final List<Object> lateValues = new ArrayList<>();
+        final PropertyChangeListener listener = theEvent -> events.add(theEvent.getPropertyName());
+        final PropertyChangeListener lateListener = theEvent -> {
+            lateEvents.add(theEvent.getPropertyName());
+            lateValues.add(theEvent.getNewValue());
+        };
+
+        gm.startNewGame(new GameSettings("Test Name", "warrior", "hard"));
+        gm.addPropertyChangeListener(listener);
+        for (int step = 0; step < 10_000 && !gm.isInBattle(); step++) {
+            gm.movePlayer(Direction.values()[random.nextInt(4)]);
+        }
+        assertTrue(gm.isInBattle(), "A monster should have been met");
+
+        // A panel registering mid-battle must not restart the battle shown by the others
+        final int seen = events.size();
+        gm.addPropertyChangeListener(lateListener);
+        assertEquals(seen, events.size(), "Earlier listeners should not be sent the state again");
+        assertEquals(List.of("HERO_STATUS", "INVENTORY_CHANGE", "VISION_POWERS", "ROOM_CHANGE", "Fight"), lateEvents);
+
+        // The view is sent copies of the state, never the live Hero, room or monster
+        assertEquals(gm.getHero().getViewModel(), lateValues.get(0));
+        final IRoom.RoomViewModel[][] rooms = (IRoom.RoomViewModel[][]) lateValues.get(3);
+        assertEquals(gm.getCurrentRoom().getAvailableDirections(), rooms[1][1].availableDirections());
+        final DungeonCharacter.CharacterViewModel monster = (DungeonCharacter.CharacterViewModel) lateValues.get(4);
+        assertTrue(monster.hp() > 0 && monster.hp() <= monster.maxHP());
+        assertNotNull(gm.getBattleOdds(), "The odds of the battle should be worked out for the view");
+        gm.removePropertyChangeListener(listener);
+        gm.removePropertyChangeListener(lateListener);
+    }
+
+    @Test
+    void testNothingHappensAfterDeath() {
+        final GameManager gm = GameManager.getInstance();
+        final Random random = new Random(11);
+        final List<String> events = new ArrayList<>();
+        final PropertyChangeListener listener = theEvent -> events.add(theEvent.getPropertyName());
+
+        gm.startNewGame(new GameSettings("Test Name", "thief", "hard"));
+        gm.getHero().takeDamage(gm.getHero().getHP() - 1); // The next pit or blow is fatal
+        gm.addPropertyChangeListener(listener);
+        for (int step = 0; step < 10_000 && !events.contains("Dead"); step++) {
+            if (gm.isInBattle()) {
+                gm.attack();
+            } else {
+                gm.movePlayer(Direction.values()[random.nextInt(4)]);
+            }
+        }
+
+        assertEquals("Dead", events.get(events.size() - 1), "Nothing should happen after the hero dies");
+        assertThrows(IllegalStateException.class, () -> gm.movePlayer(Direction.NORTH),
+                "A lost game should not go on");
+        gm.removePropertyChangeListener(listener);
+    }
+
+    @Test
+    void testGameFinishedOnlyAtTheExit() {
+        final GameManager gm = GameManager.getInstance();
+        final List<String> events = new ArrayList<>();
+        final PropertyChangeListener listener = theEvent -> events.add(theEvent.getPropertyName());
+
+        gm.startNewGame(new GameSettings("Exit", "warrior", "easy"));
+        gm.addPropertyChangeListener(listener);
+        assertThrows(IllegalStateException.class, gm::finishGame,
+                "The hero can only leave at the exit with every pillar");
+        assertFalse(events.contains("Won"));
+        assertTrue(gm.movePlayer(Direction.SOUTH) || gm.movePlayer(Direction.EAST) || gm.movePlayer(Direction.WEST)
+                || gm.isInBattle(), "The game should go on");
+        gm.removePropertyChangeListener(listener);
+    }
+
+    @Test
+    void testJournalKeptNextToSlot() {
+        final GameManager gm = GameManager.getInstance();
+        final SaveSlots slots = new SaveSlots(myDirectory.resolve("saves"));
+
+        gm.startNewGame(new GameSettings("Journal", "warrior", "easy"));
+        play(gm, new Random(5), 40);
+        gm.saveToSlot(slots, 1);
+        assertTrue(slots.hasJournal(1), "A new game's journal should be saved next to its slot");
+
+        // A loaded game goes on recording into the journal it was loaded with
+        gm.loadGame(slots.getSlotFile(1).toFile());
+        play(gm, new Random(6), 40);
+        gm.saveToSlot(slots, 2);
+        final Room saved = gm.getCurrentRoom();
+        final int savedHP = gm.getHero().getHP();
+
+        assertTrue(gm.startReplay(slots.getSlotFile(2)), "The journal should lead to the saved game");
+        while (gm.stepReplay()) {
+            // Play the whole journal
+        }
+        assertEquals(saved.getRow(), gm.getCurrentRoom().getRow());
+        assertEquals(saved.getCol(), gm.getCurrentRoom().getCol());
+        assertEquals(savedHP, gm.getHero().getHP());
+        slots.close();
+    }
+
+    @Test
+    void testReplayShowsSavedGame() {
+        final GameManager gm = GameManager.getInstance();
+        final File file = myDirectory.resolve("replay.sav").toFile();
+        final List<String> events = new ArrayList<>();
+        final PropertyChangeListener listener = theEvent -> events.add(theEvent.getPropertyName());
+
+        gm.startNewGame(new GameSettings("Replay", "priestess", "easy"));
+        play(gm, new Random(9), 60);
+        gm.saveGame(file);
+        final int savedRow = gm.getCurrentRoom().getRow();
+        final int savedCol = gm.getCurrentRoom().getCol();
+
+        assertTrue(gm.startReplay(file.toPath()));
+        assertTrue(gm.isReplaying());
+        gm.addPropertyChangeListener(listener);
+        assertThrows(IllegalStateException.class, () -> gm.movePlayer(Direction.NORTH),
+                "The player should not be able to change a replay");
+
+        int commands = 0;
+        while (gm.stepReplay()) {
+            commands++;
+        }
+        assertTrue(commands > 0, "The replay should play the saved moves");
+        assertTrue(events.contains("ROOM_CHANGE"), "Listeners should see the replayed moves");
+        assertEquals("Replay End", events.get(events.size() - 1));
+        assertFalse(gm.isReplaying());
+        assertEquals(savedRow, gm.getCurrentRoom().getRow());
+        assertEquals(savedCol, gm.getCurrentRoom().getCol());
+        gm.removePropertyChangeListener(listener);
+    }
+
+    @Test
+    void testStaleJournalRemovedBySave() throws IOException {
+        final GameManager gm = GameManager.getInstance();
+        final Path recorded = myDirectory.resolve("recorded.sav");
+        final Path copy = myDirectory.resolve("copy.sav");
+
+        gm.startNewGame(new GameSettings("Stale", "thief", "easy"));
+        gm.saveGame(recorded.toFile());
+        assertTrue(Files.exists(GameJournal.journalFileFor(recorded)));
+
+        // A save without a journal loads a game that is not recorded, so saving it drops the old journal
+        Files.copy(recorded, copy);
+        gm.loadGame(copy.toFile());
+        assertFalse(gm.startReplay(copy), "A save without a journal cannot be replayed");
+        gm.saveGame(recorded.toFile());
+        assertFalse(Files.exists(GameJournal.journalFileFor(recorded)));
+    }
+
+    /**
+     * Plays a number of commands: attacks during a battle, random moves otherwise. Stops early if the
+     * hero dies.
+     */
+    private static void play(final GameManager theGameManager, final Random theRandom, final int theCommands) {
+        for (int command = 0; command < theCommands && theGameManager.getHero().getHP() > 0; command++) {
+            if (theGameManager.isInBattle()) {
+                theGameManager.attack();
+            } else {
+                theGameManager.movePlayer(Direction.values()[theRandom.nextInt(4)]);
+            }
+        }
+    }
+
+    /**
+     * Switches between the start menu and the game screen hundreds of times. Each game screen
+     * registers a game view, which unregisters on exit, plus a minimap and an inventory panel,
+     * which never do. The live listener count must stay bounded.
+     */
+    @Test
+    void testListenersBoundedAcrossSceneSwitches() throws InterruptedException {
+        final GameManager gm = GameManager.getInstance();
+        final int before = gm.getLiveListenerCount();
+
+        for (int scene = 0; scene < 300; scene++) {
+            gm.startNewGame(new GameSettings("Test Name", "warrior", "easy"));
+            final FakeController gameView = new FakeController();
+            gm.addPropertyChangeListener(gameView);
+            gm.addPropertyChangeListener(new FakeController()); // Minimap
+            gm.addPropertyChangeListener(new FakeController()); // Inventory panel
+            for (final Direction direction : Direction.values()) {
+                if (gm.isInBattle()) {
+                    break; // A monster blocks the way
+                }
+                gm.movePlayer(direction);
+            }
+            gm.sendHeroHealthUpdate();
+            gm.removePropertyChangeListener(gameView); // Back to the start menu
+        }
+
+        final long deadline = System.currentTimeMillis() + 10_000;
+        while (gm.getLiveListenerCount() > before && System.currentTimeMillis() < deadline) {
+            System.gc();
+            Thread.sleep(20);
+        }
+        assertTrue(gm.getLiveListenerCount() <= before, "Dropped controllers should be collected");
+    }
+
+    /**
+     * Stand-in for a controller that is thrown away on a scene switch.
+     */
+    private static final class FakeController implements PropertyChangeListener {
+        private final byte[] myPayload = new byte[1024];
+
+        @Override
+        public void propertyChange(final java.beans.PropertyChangeEvent theEvent) {
+            myPayload[0]++;
+        }
+    }
+
 }
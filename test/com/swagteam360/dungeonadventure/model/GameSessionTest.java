@@ -0,0 +1,248 @@
+package com.swagteam360.dungeonadventure.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+class GameSessionTest {
+
+    private static final GameSettings SETTINGS = new GameSettings("Test name", "warrior", "normal");
+
+    /**
+     * Plays a game to the end with {@link #playTurn}.
+     */
+    static void playToEnd(final GameSession theSession) {
+        while (!theSession.isOver()) {
+            playTurn(theSession);
+        }
+    }
+
+    /**
+     * Gives one command: fights any monster, drinking a health potion when hurt, and otherwise explores
+     * the nearest unvisited room until every pillar is held, then heads for the exit.
+     */
+    static void playTurn(final GameSession theSession) {
+        if (theSession.isInBattle()) {
+            final Hero hero = theSession.getHero();
+            if (hero.getHP() * 3 >= hero.getMaxHP() || theSession.useItem("Health Potion") == null) {
+                theSession.attack();
+            }
+        } else {
+            assertTrue(theSession.move(nextStep(theSession)));
+        }
+    }
+
+    /**
+     * Finds the first step towards the nearest unvisited room, or towards the exit once every pillar is held.
+     */
+    private static Direction nextStep(final GameSession theSession) {
+        final Dungeon dungeon = theSession.getDungeon();
+        final boolean toExit = theSession.getHero().getPillarCount() == PillarType.values().length;
+        final int cols = dungeon.getColSize();
+        final Direction[] firstStep = new Direction[dungeon.getRowSize() * cols];
+        final Room start = theSession.getCurrentRoom();
+        final ArrayDeque<Room> queue = new ArrayDeque<>();
+        queue.add(start);
+
+        while (!queue.isEmpty()) {
+            final Room room = queue.poll();
+            if (room != start && (toExit ? room.isExit() : !room.isVisited())) {
+                return firstStep[room.getRow() * cols + room.getCol()];
+            }
+            for (final Direction direction : Direction.values()) {
+                final boolean open = switch (direction) {
+                    case NORTH -> !room.hasTopWall();
+                    case SOUTH -> !room.hasBottomWall();
+                    case WEST -> !room.hasLeftWall();
+                    case EAST -> !room.hasRightWall();
+                };
+                if (!open) {
+                    continue;
+                }
+                final int row = room.getRow() + (direction == Direction.NORTH ? -1 : direction == Direction.SOUTH ? 1 : 0);
+                final int col = room.getCol() + (direction == Direction.WEST ? -1 : direction == Direction.EAST ? 1 : 0);
+                final Room next = dungeon.getRoom(row, col);
+                final int index = row * cols + col;
+                if (next != start && firstStep[index] == null) {
+                    firstStep[index] = room == start ? direction : firstStep[room.getRow() * cols + room.getCol()];
+                    queue.add(next);
+                }
+            }
+        }
+        throw new IllegalStateException("Nowhere left to go.");
+    }
+
+    @Test
+    void testSameSeedPlaysTheSame() {
+        List<List<GameEvent.Type>> runs = new ArrayList<>();
+        List<Integer> moves = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            GameSession session = new GameSession(SETTINGS, 42L);
+            List<GameEvent.Type> events = new ArrayList<>();
+            session.addListener(theEvent -> events.add(theEvent.type()));
+            playToEnd(session);
+            runs.add(events);
+            moves.add(session.getMoveCount());
+        }
+
+        assertEquals(runs.get(0), runs.get(1));
+        assertEquals(moves.get(0), moves.get(1));
+        assertTrue(runs.get(0).contains(GameEvent.Type.ROOM_CHANGE));
+    }
+
+    @Test
+    void testRestartPlaysLikeANewGame() {
+        GameSession restarted = new GameSession(SETTINGS, 1L);
+        playToEnd(restarted);
+        Hero hero = restarted.getHero();
+        for (long seed = 2; seed < 12; seed++) {
+            restarted.restart(seed);
+            GameSession fresh = new GameSession(SETTINGS, seed);
+
+            assertSame(hero, restarted.getHero());
+            assertEquals(GameSession.Status.PLAYING, restarted.getStatus());
+            assertEquals(fresh.getDungeon().toString(), restarted.getDungeon().toString());
+            assertEquals(fresh.getStateHash(), restarted.getStateHash());
+            while (!fresh.isOver()) {
+                playTurn(fresh);
+                playTurn(restarted);
+                assertEquals(fresh.getStateHash(), restarted.getStateHash());
+            }
+            assertEquals(fresh.getStatus(), restarted.getStatus());
+            assertEquals(fresh.getMoveCount(), restarted.getMoveCount());
+        }
+    }
+
+    @Test
+    void testGamesEndWonOrLost() {
+        int won = 0;
+        for (long seed = 0; seed < 50; seed++) {
+            GameSession session = new GameSession(new GameSettings("Test name", "priestess", "easy"), seed);
+            List<GameEvent> events = new ArrayList<>();
+            session.addListener(events::add);
+            playToEnd(session);
+
+            GameEvent last = events.get(events.size() - 1);
+            if (session.getStatus() == GameSession.Status.WON) {
+                won++;
+                assertEquals(GameEvent.Type.WON, last.type());
+                assertTrue(session.getCurrentRoom().isExit());
+                assertEquals(4, session.getHero().getPillarCount());
+            } else {
+                assertEquals(GameEvent.Type.DEAD, last.type());
+                assertTrue(session.getHero().getHP() <= 0);
+            }
+            assertThrows(IllegalStateException.class, () -> session.move(Direction.NORTH));
+        }
+        assertTrue(won > 0);
+    }
+
+    @Test
+    void testWallsAndBattlesBlockMoves() {
+        Dungeon dungeon = new Dungeon(5, 5, 3L);
+        GameSession session = new GameSession(SETTINGS, new Warrior("Warrior", 125, 4, 35, 60, 80, 20), dungeon,
+                new Random(3L));
+
+        // The entrance is on the top row, so north is always walled off
+        assertFalse(session.canMove(Direction.NORTH));
+        assertFalse(session.move(Direction.NORTH));
+        assertEquals(0, session.getMoveCount());
+        assertThrows(IllegalStateException.class, session::attack);
+
+        Room entrance = session.getCurrentRoom();
+        Direction open = null;
+        for (Direction direction : Direction.values()) {
+            if (session.canMove(direction)) {
+                open = direction;
+            }
+        }
+        assertNotNull(open);
+        Room next = dungeon.getRoom(entrance.getRow() + (open == Direction.SOUTH ? 1 : 0),
+                entrance.getCol() + (open == Direction.EAST ? 1 : open == Direction.WEST ? -1 : 0));
+        next.setPit(false);
+        next.addMonster(new Ogre("Ogre", 200, 2, 30, 60, 60, 0.1, 30, 60));
+
+        List<GameEvent.Type> events = new ArrayList<>();
+        session.addListener(theEvent -> events.add(theEvent.type()));
+        assertTrue(session.move(open));
+
+        assertTrue(session.isInBattle());
+        assertEquals(GameEvent.Type.FIGHT, events.get(events.size() - 1));
+        assertThrows(IllegalStateException.class, () -> session.move(Direction.NORTH));
+
+        session.attack();
+        assertTrue(events.contains(GameEvent.Type.BATTLE));
+    }
+
+    @Test
+    void testWaitingAtExitLetsTheHeroKeepExploring() {
+        // The game of this seed is won by playTurn
+        GameSession session = new GameSession(new GameSettings("Test name", "priestess", "easy"), 46L);
+        session.setWaitsAtExit(true);
+        assertFalse(session.canFinish());
+        assertThrows(IllegalStateException.class, session::finish);
+
+        while (!session.isOver() && !session.canFinish()) {
+            playTurn(session);
+        }
+
+        // Standing at the exit with every pillar does not end the game until the player says so
+        assertEquals(GameSession.Status.PLAYING, session.getStatus());
+        assertTrue(session.getCurrentRoom().isExit());
+        List<GameEvent.Type> events = new ArrayList<>();
+        session.addListener(theEvent -> events.add(theEvent.type()));
+        session.finish();
+        assertEquals(GameSession.Status.WON, session.getStatus());
+        assertEquals(List.of(GameEvent.Type.WON), events);
+        assertThrows(IllegalStateException.class, session::finish);
+    }
+
+    @Test
+    void testUseItem() {
+        GameSession session = new GameSession(SETTINGS, new Priestess("Priestess", 75, 5, 25, 45, 70, 30),
+                new Dungeon(5, 5, 9L), new Random(9L));
+        List<GameEvent> events = new ArrayList<>();
+        session.addListener(events::add);
+        Hero hero = session.getHero();
+        hero.takeDamage(20);
+        hero.addToInventory(List.of(new HealthPotion(5), new VisionPotion()));
+
+        assertEquals("You gain 5 HP!", session.useItem("Health Potion"));
+        assertEquals(60, hero.getHP());
+        assertEquals(new GameEvent(GameEvent.Type.HERO_HEALTH_CHANGE, 60), events.get(0));
+        assertEquals(GameEvent.Type.INVENTORY_CHANGE, events.get(1).type());
+
+        assertNotNull(session.useItem("Vision Potion"));
+        assertTrue(session.hasSuperVision());
+        assertTrue(hero.getInventory().isEmpty());
+        assertNull(session.useItem("Health Potion"));
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark.large", matches = "true")
+    void benchmarkGamesPerSecond() {
+        final int games = 20_000;
+        for (int round = 0; round < 3; round++) {
+            int won = 0;
+            long moves = 0;
+            final long start = System.nanoTime();
+            for (int i = 0; i < games; i++) {
+                final GameSession session = new GameSession(SETTINGS, i);
+                playToEnd(session);
+                moves += session.getMoveCount();
+                if (session.getStatus() == GameSession.Status.WON) {
+                    won++;
+                }
+            }
+            final double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("%d games in %.2f s: %.0f games/s, %.1f moves/game, %.1f%% won%n",
+                    games, seconds, games / seconds, (double) moves / games, 100.0 * won / games);
+        }
+    }
+}
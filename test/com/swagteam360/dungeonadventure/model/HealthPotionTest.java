@@ -75,7 +75,7 @@ public class HealthPotionTest {
         testInventory.add(testPotion);
         GameManager.getInstance().getHero().addToInventory(testInventory);
 
-        testPotion.buff();
+        testPotion.buff(GameManager.getInstance());
 
         assertEquals(
                 initialHealth - damageToTake + myHealthAmount,
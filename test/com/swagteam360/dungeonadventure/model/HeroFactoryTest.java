@@ -3,40 +3,47 @@ package com.swagteam360.dungeonadventure.model;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.MockedStatic;
 
 import java.io.OutputStream;
 import java.io.PrintStream;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.List;
 
 class HeroFactoryTest {
 
+    @AfterEach
+    void restoreCatalog() {
+        // The catalog is shared, so put the real stats back for the other tests
+        StatCatalog.getInstance().reload();
+    }
+
     @Test
     void testCreateWarrior() {
-        Map<String, Object> fakeData = createFakeHeroData("Warrior");
+        HeroStats fakeData = createFakeHeroData("Warrior");
 
         try (MockedStatic<Database> mockedDatabase = mockStatic(Database.class)) {
             Database mockDb = mock(Database.class);
             mockedDatabase.when(Database::getInstance).thenReturn(mockDb);
-            when(mockDb.getHeroByName("warrior")).thenReturn(fakeData);
+            loadCatalog(mockDb, fakeData);
 
             Hero hero = HeroFactory.createHero("warrior");
 
             assertNotNull(hero);
             assertTrue(hero instanceof Warrior);
+            assertEquals(100, hero.getMaxHP());
         }
     }
 
     @Test
     void testCreatePriestess() {
-        Map<String, Object> fakeData = createFakeHeroData("Priestess");
+        HeroStats fakeData = createFakeHeroData("Priestess");
 
         try (MockedStatic<Database> mockedDatabase = mockStatic(Database.class)) {
             Database mockDb = mock(Database.class);
             mockedDatabase.when(Database::getInstance).thenReturn(mockDb);
-            when(mockDb.getHeroByName("priestess")).thenReturn(fakeData);
+            loadCatalog(mockDb, fakeData);
 
             Hero hero = HeroFactory.createHero("priestess");
 
@@ -47,12 +54,12 @@ class HeroFactoryTest {
 
     @Test
     void testCreateThief() {
-        Map<String, Object> fakeData = createFakeHeroData("Thief");
+        HeroStats fakeData = createFakeHeroData("Thief");
 
         try (MockedStatic<Database> mockedDatabase = mockStatic(Database.class)) {
             Database mockDb = mock(Database.class);
             mockedDatabase.when(Database::getInstance).thenReturn(mockDb);
-            when(mockDb.getHeroByName("thief")).thenReturn(fakeData);
+            loadCatalog(mockDb, fakeData);
 
             Hero hero = HeroFactory.createHero("thief");
 
@@ -70,7 +77,7 @@ class HeroFactoryTest {
         try (MockedStatic<Database> mockedDatabase = mockStatic(Database.class)) {
             Database mockDb = mock(Database.class);
             mockedDatabase.when(Database::getInstance).thenReturn(mockDb);
-            when(mockDb.getHeroByName("unknown")).thenReturn(null);
+            loadCatalog(mockDb, createFakeHeroData("Warrior"));
 
             Hero hero = HeroFactory.createHero("unknown");
 
@@ -82,15 +89,14 @@ class HeroFactoryTest {
 
 
     // Helper method to create fake hero data
-    private Map<String, Object> createFakeHeroData(String name) {
-        Map<String, Object> data = new HashMap<>();
-        data.put("Name", name);
-        data.put("HealthPoints", 100);
-        data.put("AttackSpeed", 5);
-        data.put("DamageRangeMin", 10);
-        data.put("DamageRangeMax", 20);
-        data.put("HitChance", 75);
-        data.put("BlockChance", 25);
-        return data;
+    private HeroStats createFakeHeroData(String name) {
+        return new HeroStats(name, 100, 5, 10, 20, 75, 25);
+    }
+
+    // Helper method to fill the stat catalog from the mocked database
+    private void loadCatalog(Database mockDb, HeroStats... heroes) {
+        when(mockDb.getAllHeroStats()).thenReturn(List.of(heroes));
+        when(mockDb.getAllMonsterStats()).thenReturn(List.of());
+        assertTrue(StatCatalog.getInstance().reload());
     }
 }
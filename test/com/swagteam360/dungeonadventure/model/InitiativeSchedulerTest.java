@@ -0,0 +1,101 @@
+package com.swagteam360.dungeonadventure.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+class InitiativeSchedulerTest {
+
+    private static Thief createThief(final int theHP, final int theSpeed) {
+        return new Thief("Thief", theHP, theSpeed, 20, 40, 80, 40);
+    }
+
+    private static Ogre createOgre(final int theHP, final int theSpeed) {
+        return new Ogre("Ogre", theHP, theSpeed, 30, 60, 60, 0.1, 30, 60);
+    }
+
+    @Test
+    void testFasterCombatantsActMoreOften() {
+        Thief thief = createThief(10_000, 6);
+        Ogre ogre = createOgre(10_000, 2);
+        InitiativeScheduler scheduler = new InitiativeScheduler(List.of(thief), List.of(ogre),
+                BattlePolicy.ATTACK_ONLY, new SplittableRandom(1));
+
+        // The thief acts three times for every action of the ogre, and first on ties
+        List<DungeonCharacter> order = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            order.add(scheduler.peekNext());
+            assertTrue(scheduler.step());
+        }
+        assertEquals(List.of(thief, thief, thief, ogre, thief, thief, thief, ogre), order);
+        assertEquals(2 * (InitiativeScheduler.TICKS_PER_ACTION / 2), scheduler.getTime());
+    }
+
+    @Test
+    void testSkirmish() {
+        List<Hero> heroes = List.of(new Warrior("Warrior", 125, 4, 35, 60, 80, 20), createThief(75, 6),
+                new Priestess("Priestess", 75, 5, 25, 45, 70, 30));
+        List<Monster> monsters = List.of(createOgre(200, 2), createOgre(200, 2),
+                new Gremlin("Gremlin", 70, 5, 15, 30, 80, 0.4, 20, 40));
+        InitiativeScheduler scheduler = new InitiativeScheduler(heroes, monsters,
+                BattlePolicy.SPECIAL_WHEN_AVAILABLE, new SplittableRandom(7));
+
+        InitiativeScheduler.Summary summary = scheduler.run(100_000);
+
+        assertTrue(summary.finished());
+        assertTrue(scheduler.isOver());
+        assertFalse(scheduler.step());
+        assertNull(scheduler.peekNext());
+        long living = summary.heroesWon() ? heroes.stream().filter(hero -> hero.getHP() > 0).count()
+                : monsters.stream().filter(monster -> monster.getHP() > 0).count();
+        assertEquals(living, summary.heroesWon() ? summary.heroesLeft() : summary.monstersLeft());
+        assertEquals(0, summary.heroesWon() ? summary.monstersLeft() : summary.heroesLeft());
+    }
+
+    @Test
+    void testSameSeedSameEncounter() {
+        assertEquals(runArmies(50, 11), runArmies(50, 11));
+        assertNotEquals(runArmies(50, 11), runArmies(50, 12));
+    }
+
+    @Test
+    void testDeadCombatantsAndEmptySides() {
+        Thief dead = createThief(75, 6);
+        dead.takeDamage(75);
+        InitiativeScheduler scheduler = new InitiativeScheduler(List.of(dead, createThief(75, 3)),
+                List.of(createOgre(200, 2)), BattlePolicy.ATTACK_ONLY, new SplittableRandom(1));
+        assertEquals(1, scheduler.getSummary().heroesLeft());
+        assertNotSame(dead, scheduler.peekNext());
+
+        assertThrows(IllegalArgumentException.class, () -> new InitiativeScheduler(List.of(), List.of(createOgre(1, 1)),
+                BattlePolicy.ATTACK_ONLY, new SplittableRandom(1)));
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark.large", matches = "true")
+    void benchmarkLargeSkirmish() {
+        for (int run = 0; run < 3; run++) {
+            long start = System.nanoTime();
+            InitiativeScheduler.Summary summary = runArmies(50_000, run);
+            long nanos = System.nanoTime() - start;
+            System.out.printf("50k vs 50k: %d actions in %d ms (%.0f ns per action)%n", summary.actions(),
+                    nanos / 1_000_000, (double) nanos / summary.actions());
+        }
+    }
+
+    private static InitiativeScheduler.Summary runArmies(final int theSize, final long theSeed) {
+        List<Hero> heroes = new ArrayList<>();
+        List<Monster> monsters = new ArrayList<>();
+        for (int i = 0; i < theSize; i++) {
+            heroes.add(i % 2 == 0 ? new Warrior("Warrior", 125, 4, 35, 60, 80, 20) : createThief(75, 6));
+            monsters.add(i % 2 == 0 ? createOgre(200, 2) : new Gremlin("Gremlin", 70, 5, 15, 30, 80, 0.4, 20, 40));
+        }
+        return new InitiativeScheduler(heroes, monsters, BattlePolicy.ATTACK_ONLY, new SplittableRandom(theSeed))
+                .run(Long.MAX_VALUE);
+    }
+}
@@ -0,0 +1,151 @@
+package com.swagteam360.dungeonadventure.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.beans.PropertyChangeListener;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ListenerRegistryTest {
+
+    private ListenerRegistry myRegistry;
+
+    @BeforeEach
+    void setUp() {
+        myRegistry = new ListenerRegistry(this);
+    }
+
+    @Test
+    void testFireReachesListeners() {
+        final List<String> received = new ArrayList<>();
+        final PropertyChangeListener listener = e -> received.add(e.getPropertyName());
+
+        myRegistry.addPropertyChangeListener(listener);
+        myRegistry.firePropertyChange("ROOM_CHANGE", null, "room");
+
+        assertEquals(List.of("ROOM_CHANGE"), received);
+    }
+
+    @Test
+    void testEqualValuesAreNotFired() {
+        final List<String> received = new ArrayList<>();
+        final PropertyChangeListener listener = e -> received.add(e.getPropertyName());
+
+        myRegistry.addPropertyChangeListener(listener);
+        myRegistry.firePropertyChange("VISION_POWERS", true, true);
+        myRegistry.firePropertyChange("Clear Label", null, null);
+
+        assertEquals(List.of("Clear Label"), received, "Only the event with differing values should be fired");
+    }
+
+    @Test
+    void testDuplicateListenerRegisteredOnce() {
+        final int[] calls = {0};
+        final PropertyChangeListener listener = e -> calls[0]++;
+
+        myRegistry.addPropertyChangeListener(listener);
+        myRegistry.addPropertyChangeListener(listener);
+        myRegistry.firePropertyChange("Pit", null, 10);
+
+        assertEquals(1, calls[0]);
+        assertEquals(1, myRegistry.getLiveListenerCount());
+    }
+
+    @Test
+    void testRemovedListenerNotNotified() {
+        final int[] calls = {0};
+        final PropertyChangeListener listener = e -> calls[0]++;
+
+        myRegistry.addPropertyChangeListener(listener);
+        myRegistry.removePropertyChangeListener(listener);
+        myRegistry.firePropertyChange("Pit", null, 10);
+
+        assertEquals(0, calls[0]);
+        assertEquals(0, myRegistry.getLiveListenerCount());
+    }
+
+    @Test
+    void testListenerMayRemoveItselfDuringFire() {
+        final int[] calls = {0};
+        final PropertyChangeListener[] self = new PropertyChangeListener[1];
+        self[0] = e -> {
+            calls[0]++;
+            myRegistry.removePropertyChangeListener(self[0]);
+        };
+
+        myRegistry.addPropertyChangeListener(self[0]);
+        myRegistry.firePropertyChange("Dead", null, 1);
+        myRegistry.firePropertyChange("Dead", null, 2);
+
+        assertEquals(1, calls[0]);
+    }
+
+    /**
+     * Simulates hundreds of scene switches in which each new controller registers and the
+     * old one is dropped without unregistering. The live count must stay bounded.
+     */
+    @Test
+    void testListenerCountBoundedAcrossSceneSwitches() throws InterruptedException {
+        final PropertyChangeListener keptAlive = e -> { };
+        myRegistry.addPropertyChangeListener(keptAlive);
+
+        for (int i = 0; i < 500; i++) {
+            myRegistry.addPropertyChangeListener(new FakeController());
+            myRegistry.firePropertyChange("ROOM_CHANGE", null, i);
+        }
+
+        final long deadline = System.currentTimeMillis() + 10_000;
+        while (myRegistry.getLiveListenerCount() > 1 && System.currentTimeMillis() < deadline) {
+            System.gc();
+            Thread.sleep(20);
+        }
+
+        assertEquals(1, myRegistry.getLiveListenerCount(), "Dropped controllers should be collected");
+        assertTrue(myRegistry.getLiveListenerCount() <= ListenerRegistry.LEAK_WARNING_THRESHOLD);
+    }
+
+    @Test
+    void testLeakReportedOncePerCrossing() {
+        final java.io.PrintStream err = System.err;
+        final java.io.ByteArrayOutputStream captured = new java.io.ByteArrayOutputStream();
+        final List<PropertyChangeListener> held = new ArrayList<>();
+        System.setErr(new java.io.PrintStream(captured, true));
+        try {
+            for (int i = 0; i < ListenerRegistry.LEAK_WARNING_THRESHOLD * 3; i++) {
+                held.add(new FakeController());
+                myRegistry.addPropertyChangeListener(held.get(i));
+            }
+            assertEquals(1, captured.toString().lines().count(), "One leak should be reported once");
+
+            while (held.size() > ListenerRegistry.LEAK_WARNING_THRESHOLD) {
+                myRegistry.removePropertyChangeListener(held.remove(held.size() - 1));
+            }
+            for (int i = 0; i < 5; i++) {
+                final PropertyChangeListener listener = new FakeController();
+                held.add(listener);
+                myRegistry.addPropertyChangeListener(listener);
+            }
+            assertEquals(2, captured.toString().lines().count(), "Crossing the threshold again is reported");
+            assertFalse(captured.toString().matches("(?s).*\\b" + held.size() + "\\b.*"),
+                    "The count is only reported by getLiveListenerCount");
+            assertEquals(held.size(), myRegistry.getLiveListenerCount());
+        } finally {
+            System.setErr(err);
+        }
+    }
+
+    /**
+     * Stand-in for a controller that is thrown away on a scene switch.
+     */
+    private static final class FakeController implements PropertyChangeListener {
+        private final byte[] myPayload = new byte[1024];
+
+        @Override
+        public void propertyChange(final java.beans.PropertyChangeEvent theEvent) {
+            myPayload[0]++;
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package com.swagteam360.dungeonadventure.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+public class MappedDungeonStoreTest {
+
+    @TempDir
+    Path myTempDir;
+
+    private Dungeon myDungeon;
+    private Room myMonsterRoom;
+
+    @BeforeEach
+    void setUp() {
+        myDungeon = new Dungeon(9, 9);
+        myMonsterRoom = myDungeon.getRoom(4, 4);
+        myMonsterRoom.setMonster(new Ogre("Ogre", 200, 2, 30, 60, 60, 0.1, 30, 60));
+        myMonsterRoom.getMonster().takeDamage(40);
+        myDungeon.getRoom(3, 5).setVisited(true);
+    }
+
+    private static void assertSameRooms(final Dungeon theExpected, final Dungeon theActual) {
+        assertEquals(theExpected.toDetailedString(), theActual.toDetailedString(), "Walls and contents should match");
+        for (int row = 0; row < theExpected.getRowSize(); row++) {
+            for (int col = 0; col < theExpected.getColSize(); col++) {
+                final Room expected = theExpected.getRoom(row, col);
+                final Room actual = theActual.getRoom(row, col);
+                assertEquals(expected.isVisited(), actual.isVisited());
+                assertEquals(expected.isLooted(), actual.isLooted());
+                assertEquals(expected.hasPit(), actual.hasPit());
+                assertEquals(expected.hasPillar(), actual.hasPillar());
+                assertEquals(expected.getAllItems().size(), actual.getAllItems().size());
+                assertEquals(expected.hasMonster(), actual.hasMonster());
+            }
+        }
+    }
+
+    @Test
+    void testCreateAndReopen() throws IOException {
+        final Path file = myTempDir.resolve("game.rooms");
+        MappedDungeonStore.create(file, myDungeon);
+
+        final Dungeon loaded = MappedDungeonStore.open(file).toDungeon();
+
+        assertSameRooms(myDungeon, loaded);
+        assertEquals(myDungeon.getEntranceRow(), loaded.getEntranceRow());
+        assertEquals(myDungeon.getSeed(), loaded.getSeed());
+        assertEquals(160, loaded.getRoom(4, 4).getMonster().getHP());
+    }
+
+    @Test
+    void testChangesAreWrittenInPlaceOnFlush() throws IOException {
+        final Path file = myTempDir.resolve("game.rooms");
+        final MappedDungeonStore store = MappedDungeonStore.create(file, myDungeon);
+        final long size = Files.size(file);
+
+        myDungeon.getRoom(0, 0).setVisited(true);
+        myMonsterRoom.removeMonster();
+        assertEquals(2, store.getDirtyCount());
+        assertFalse(MappedDungeonStore.open(file).toDungeon().getRoom(0, 0).isVisited(),
+                "Changes should not reach the file before a save");
+
+        store.flush(myDungeon.getRoom(3, 5));
+
+        assertEquals(0, store.getDirtyCount());
+        assertEquals(size, Files.size(file), "The file should be updated in place");
+        final Dungeon loaded = MappedDungeonStore.open(file).toDungeon();
+        assertTrue(loaded.getRoom(0, 0).isVisited());
+        assertFalse(loaded.getRoom(4, 4).hasMonster());
+    }
+
+    @Test
+    void testCurrentRoomMonsterHealthSavedOnFlush() throws IOException {
+        final Path file = myTempDir.resolve("game.rooms");
+        final MappedDungeonStore store = MappedDungeonStore.create(file, myDungeon);
+
+        myMonsterRoom.getMonster().takeDamage(60); // the room is not told about this
+        store.flush(myMonsterRoom);
+
+        assertEquals(100, MappedDungeonStore.open(file).toDungeon().getRoom(4, 4).getMonster().getHP());
+    }
+
+    @Test
+    void testSnapshotKeepsRoomsOverwrittenByLaterFlush() throws IOException {
+        final Path file = myTempDir.resolve("game.rooms");
+        MappedDungeonStore.create(file, myDungeon);
+        final Dungeon loaded = MappedDungeonStore.open(file).toDungeon();
+        final Room current = loaded.getRoom(4, 4);
+        final GameSnapshot snapshot = GameSnapshot.capture(new GameSettings("Test", "thief", "hard"),
+                new Thief("Thief", 75, 6, 20, 40, 80, 40), loaded, current, false, 0);
+
+        loaded.getRoom(0, 0).setVisited(true);
+        loaded.getRoom(8, 8).setMonster(new Ogre("Ogre", 200, 2, 30, 60, 60, 0.1, 30, 60));
+        loaded.getStore().flush(current);
+
+        final Dungeon restored = SaveCodec.read(new ByteArrayInputStream(toBytes(snapshot))).toDungeon();
+        assertSameRooms(myDungeon, restored);
+        assertFalse(restored.getRoom(8, 8).hasMonster());
+    }
+
+    private static byte[] toBytes(final GameSnapshot theSnapshot) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        SaveCodec.write(theSnapshot, bytes);
+        return bytes.toByteArray();
+    }
+
+    @Test
+    void testCorruptFileRejected() throws IOException {
+        final Path file = myTempDir.resolve("game.rooms");
+        MappedDungeonStore.create(file, myDungeon);
+        Files.write(file, Arrays.copyOf(Files.readAllBytes(file), 100));
+
+        assertThrows(IOException.class, () -> MappedDungeonStore.open(file));
+    }
+
+    @Test
+    void testSnapshotNeverWrittenAsMapped() throws IOException {
+        final GameSnapshot snapshot = GameSnapshot.capture(new GameSettings("Test", "thief", "hard"),
+                new Thief("Thief", 75, 6, 20, 40, 80, 40), myDungeon, myMonsterRoom, false, 0);
+
+        assertThrows(IllegalArgumentException.class, () -> SaveCodec.resolveFormat(snapshot, SaveFormat.MAPPED));
+    }
+
+    @Test
+    void testFlushIncreasesGeneration() throws IOException {
+        final Path file = myTempDir.resolve("game.rooms");
+        final MappedDungeonStore store = MappedDungeonStore.create(file, myDungeon);
+        final long created = store.getGeneration();
+
+        store.flush(myMonsterRoom);
+
+        assertEquals(created + 1, store.getGeneration());
+        assertEquals(created + 1, MappedDungeonStore.open(file).getGeneration());
+    }
+
+    @Test
+    void testClosedStoreIgnoresChanges() throws IOException {
+        final MappedDungeonStore store = MappedDungeonStore.create(myTempDir.resolve("game.rooms"), myDungeon);
+        store.close();
+
+        myDungeon.getRoom(7, 7).setVisited(true);
+
+        assertEquals(0, store.getDirtyCount());
+        assertThrows(IllegalStateException.class, () -> store.flush(myMonsterRoom));
+    }
+
+    @Test
+    void testInterruptedSaveRejected() throws Exception {
+        final Path file = myTempDir.resolve("mapped.sav");
+        final GameManager gm = GameManager.getInstance();
+        final SaveFormat previous = gm.getSaveFormat();
+
+        try {
+            final String[] name = new String[1];
+            GameExecutor.getInstance().submit(() -> {
+                gm.setSaveFormat(SaveFormat.MAPPED);
+                gm.startNewGame(new GameSettings("Mapper", "warrior", "normal"));
+                gm.saveGame(file.toFile());
+                // The rooms reach the disk but the save file is never rewritten
+                gm.getDungeon().getStore().flush(gm.getCurrentRoom());
+                gm.startNewGame(new GameSettings("Other", "thief", "easy"));
+                gm.loadGame(file.toFile());
+                name[0] = gm.getGameSettings().getName();
+            }).get(10, TimeUnit.SECONDS);
+
+            assertEquals("Other", name[0], "A save whose files do not match should not be loaded");
+        } finally {
+            GameExecutor.getInstance().submit(() -> gm.setSaveFormat(previous)).get(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    void testGameManagerMappedSlotSave() throws Exception {
+        final SaveSlots slots = new SaveSlots(myTempDir.resolve("saves"));
+        final GameManager gm = GameManager.getInstance();
+        final SaveFormat previous = gm.getSaveFormat();
+
+        try {
+            final String[] name = new String[1];
+            GameExecutor.getInstance().submit(() -> {
+                gm.setSaveFormat(SaveFormat.MAPPED);
+                gm.startNewGame(new GameSettings("Slotted", "priestess", "normal"));
+                gm.saveToSlot(slots, 2);
+                gm.startNewGame(new GameSettings("Other", "thief", "easy"));
+                gm.loadGame(slots.getSlotFile(2).toFile());
+                name[0] = gm.getGameSettings().getName();
+            }).get(10, TimeUnit.SECONDS);
+            slots.close();
+
+            assertEquals("Slotted", name[0]);
+            assertTrue(Files.exists(MappedDungeonStore.roomsFileFor(slots.getSlotFile(2))));
+            try (BufferedInputStream in = new BufferedInputStream(Files.newInputStream(slots.getSlotFile(2)))) {
+                assertEquals(SaveFormat.MAPPED, SaveCodec.peekFormat(in));
+            }
+            assertEquals("Slotted", slots.getSlot(2).playerName());
+        } finally {
+            GameExecutor.getInstance().submit(() -> gm.setSaveFormat(previous)).get(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    void testGameManagerMappedSaveAndLoad() throws Exception {
+        final Path file = myTempDir.resolve("mapped.sav");
+        final GameManager gm = GameManager.getInstance();
+        final SaveFormat previous = gm.getSaveFormat();
+
+        try {
+            final Dungeon[] saved = new Dungeon[1];
+            GameExecutor.getInstance().submit(() -> {
+                gm.setSaveFormat(SaveFormat.MAPPED);
+                gm.startNewGame(new GameSettings("Mapper", "warrior", "normal"));
+                gm.saveGame(file.toFile());
+                gm.getDungeon().getRoom(6, 6).setVisited(true);
+                gm.saveGame(file.toFile()); // only the changed rooms are written
+                saved[0] = gm.getDungeon();
+                gm.startNewGame(new GameSettings("Other", "thief", "easy"));
+                gm.loadGame(file.toFile());
+            }).get(10, TimeUnit.SECONDS);
+
+            final Dungeon[] loaded = new Dungeon[1];
+            final String[] name = new String[1];
+            final MappedDungeonStore[] store = new MappedDungeonStore[1];
+            GameExecutor.getInstance().submit(() -> {
+                loaded[0] = gm.getDungeon();
+                name[0] = gm.getGameSettings().getName();
+                store[0] = loaded[0].getStore();
+            }).get(10, TimeUnit.SECONDS);
+
+            assertEquals("Mapper", name[0]);
+            assertNotSame(saved[0], loaded[0]);
+            assertTrue(loaded[0].getRoom(6, 6).isVisited());
+            assertSameRooms(saved[0], loaded[0]);
+            assertTrue(Files.exists(MappedDungeonStore.roomsFileFor(file)));
+            // Taking over the save's journal keeps the loaded game, which goes on saving into its room file
+            assertNotNull(store[0], "The loaded game should keep its room file");
+            assertEquals(MappedDungeonStore.roomsFileFor(file).toAbsolutePath(), store[0].getFile());
+            try (BufferedInputStream in = new BufferedInputStream(Files.newInputStream(file))) {
+                assertEquals(SaveFormat.MAPPED, SaveCodec.peekFormat(in));
+            }
+        } finally {
+            GameExecutor.getInstance().submit(() -> gm.setSaveFormat(previous)).get(5, TimeUnit.SECONDS);
+        }
+    }
+}
@@ -3,24 +3,30 @@ package com.swagteam360.dungeonadventure.model;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.MockedStatic;
 
 import java.io.OutputStream;
 import java.io.PrintStream;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.List;
 
 class MonsterFactoryTest {
 
+    @AfterEach
+    void restoreCatalog() {
+        // The catalog is shared, so put the real stats back for the other tests
+        StatCatalog.getInstance().reload();
+    }
+
     @Test
     void testCreateWitch() {
-        Map<String, Object> fakeData = createFakeMonsterData("Witch");
+        MonsterStats fakeData = createFakeMonsterData("Witch");
 
         try (MockedStatic<Database> mockedDatabase = mockStatic(Database.class)) {
             Database mockDb = mock(Database.class);
             mockedDatabase.when(Database::getInstance).thenReturn(mockDb);
-            when(mockDb.getMonsterByName("witch")).thenReturn(fakeData);
+            loadCatalog(mockDb, fakeData);
 
             Monster monster = MonsterFactory.createMonster("witch");
 
@@ -31,12 +37,12 @@ class MonsterFactoryTest {
 
     @Test
     void testCreateGremlin() {
-        Map<String, Object> fakeData = createFakeMonsterData("Gremlin");
+        MonsterStats fakeData = createFakeMonsterData("Gremlin");
 
         try (MockedStatic<Database> mockedDatabase = mockStatic(Database.class)) {
             Database mockDb = mock(Database.class);
             mockedDatabase.when(Database::getInstance).thenReturn(mockDb);
-            when(mockDb.getMonsterByName("gremlin")).thenReturn(fakeData);
+            loadCatalog(mockDb, fakeData);
 
             Monster monster = MonsterFactory.createMonster("gremlin");
 
@@ -47,12 +53,12 @@ class MonsterFactoryTest {
 
     @Test
     void testCreateOgre() {
-        Map<String, Object> fakeData = createFakeMonsterData("Ogre");
+        MonsterStats fakeData = createFakeMonsterData("Ogre");
 
         try (MockedStatic<Database> mockedDatabase = mockStatic(Database.class)) {
             Database mockDb = mock(Database.class);
             mockedDatabase.when(Database::getInstance).thenReturn(mockDb);
-            when(mockDb.getMonsterByName("ogre")).thenReturn(fakeData);
+            loadCatalog(mockDb, fakeData);
 
             Monster monster = MonsterFactory.createMonster("ogre");
 
@@ -70,7 +76,7 @@ class MonsterFactoryTest {
         try (MockedStatic<Database> mockedDatabase = mockStatic(Database.class)) {
             Database mockDb = mock(Database.class);
             mockedDatabase.when(Database::getInstance).thenReturn(mockDb);
-            when(mockDb.getMonsterByName("unknown")).thenReturn(null);
+            loadCatalog(mockDb, createFakeMonsterData("Ogre"));
 
             Monster monster = MonsterFactory.createMonster("unknown");
 
@@ -81,17 +87,14 @@ class MonsterFactoryTest {
     }
 
     // Helper method to create fake monster data
-    private Map<String, Object> createFakeMonsterData(String name) {
-        Map<String, Object> data = new HashMap<>();
-        data.put("Name", name);
-        data.put("HealthPoints", 150);
-        data.put("DamageRangeMin", 10);
-        data.put("DamageRangeMax", 25);
-        data.put("AttackSpeed", 4);
-        data.put("HitChance", 80);
-        data.put("HealChance", 0.3);
-        data.put("MinHealPoints", 5);
-        data.put("MaxHealPoints", 15);
-        return data;
+    private MonsterStats createFakeMonsterData(String name) {
+        return new MonsterStats(name, 150, 4, 10, 25, 80, 0.3, 5, 15);
+    }
+
+    // Helper method to fill the stat catalog from the mocked database
+    private void loadCatalog(Database mockDb, MonsterStats... monsters) {
+        when(mockDb.getAllHeroStats()).thenReturn(List.of());
+        when(mockDb.getAllMonsterStats()).thenReturn(List.of(monsters));
+        assertTrue(StatCatalog.getInstance().reload());
     }
 }
@@ -40,6 +40,6 @@ public class PillarTest {
     @Test
     void buff() {
         Pillar pillar = new Pillar(PillarType.GOLD);
-        assertNull(pillar.buff());
+        assertNull(pillar.buff(new GameSession(new GameSettings("Test name", "warrior", "easy"), 1L)));
     }
 }
@@ -0,0 +1,203 @@
+package com.swagteam360.dungeonadventure.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Random;
+
+class RoamingMonstersTest {
+
+    private static final GameSettings SETTINGS = new GameSettings("Test name", "warrior", "normal");
+
+    /**
+     * Places a monster in every free room chosen by a seeded source, and returns each monster's room.
+     */
+    private static Map<Monster, Room> populate(final Dungeon theDungeon, final RoamingMonsters theRoamers,
+                                               final int theCount, final long theSeed) {
+        final Random random = new Random(theSeed);
+        final Map<Monster, Room> monsters = new IdentityHashMap<>();
+        while (monsters.size() < theCount) {
+            final Room room = theDungeon.getRoom(random.nextInt(theDungeon.getRowSize()),
+                    random.nextInt(theDungeon.getColSize()));
+            if (RoamingMonsters.canEnter(room)) {
+                final Monster monster = MonsterFactory.createMonster("Gremlin");
+                theRoamers.add(room, monster);
+                monsters.put(monster, room);
+            }
+        }
+        return monsters;
+    }
+
+    /**
+     * Returns every monster's room.
+     */
+    private static Map<Monster, Room> locate(final Dungeon theDungeon) {
+        final Map<Monster, Room> monsters = new IdentityHashMap<>();
+        for (int row = 0; row < theDungeon.getRowSize(); row++) {
+            for (int col = 0; col < theDungeon.getColSize(); col++) {
+                final Room room = theDungeon.getRoom(row, col);
+                if (room.hasMonster()) {
+                    monsters.put(room.getMonster(), room);
+                }
+            }
+        }
+        return monsters;
+    }
+
+    /**
+     * Returns the number of rooms along the paths from one room to every room.
+     */
+    private static int[] distancesFrom(final Dungeon theDungeon, final Room theStart) {
+        final int cols = theDungeon.getColSize();
+        final int[] distances = new int[theDungeon.getRowSize() * cols];
+        Arrays.fill(distances, -1);
+        distances[theStart.getRow() * cols + theStart.getCol()] = 0;
+        final ArrayDeque<Room> queue = new ArrayDeque<>();
+        queue.add(theStart);
+        while (!queue.isEmpty()) {
+            final Room room = queue.poll();
+            for (final Direction direction : room.getAvailableDirections()) {
+                final Room next = neighbor(theDungeon, room, direction);
+                if (distances[next.getRow() * cols + next.getCol()] < 0) {
+                    distances[next.getRow() * cols + next.getCol()] =
+                            distances[room.getRow() * cols + room.getCol()] + 1;
+                    queue.add(next);
+                }
+            }
+        }
+        return distances;
+    }
+
+    private static Room neighbor(final Dungeon theDungeon, final Room theRoom, final Direction theDirection) {
+        return switch (theDirection) {
+            case NORTH -> theDungeon.getRoom(theRoom.getRow() - 1, theRoom.getCol());
+            case SOUTH -> theDungeon.getRoom(theRoom.getRow() + 1, theRoom.getCol());
+            case WEST -> theDungeon.getRoom(theRoom.getRow(), theRoom.getCol() - 1);
+            case EAST -> theDungeon.getRoom(theRoom.getRow(), theRoom.getCol() + 1);
+        };
+    }
+
+    @Test
+    void testMonstersMoveThroughOpenSidesNearTheHero() {
+        Dungeon dungeon = new Dungeon(40, 40, 7L);
+        RoamingMonsters roamers = new RoamingMonsters(dungeon);
+        Map<Monster, Room> before = populate(dungeon, roamers, 400, 1L);
+        Room hero = dungeon.getRoom(20, 20);
+        Random random = new Random(2L);
+        int activeRadius = (RoamingMonsters.ACTIVE_REGIONS + 1) * RoamingMonsters.REGION_SIZE;
+
+        for (int tick = 0; tick < 50; tick++) {
+            roamers.tick(hero, random);
+            Map<Monster, Room> after = locate(dungeon);
+            assertEquals(400, after.size());
+            assertEquals(400, roamers.size());
+            for (Map.Entry<Monster, Room> entry : before.entrySet()) {
+                Room from = entry.getValue();
+                Room to = after.get(entry.getKey());
+                assertNotNull(to);
+                assertFalse(to.isEntranceOrExit());
+                if (to != from) {
+                    assertTrue(from.getAvailableDirections().stream()
+                            .anyMatch(direction -> neighbor(dungeon, from, direction) == to));
+                    assertTrue(Math.abs(from.getRow() - hero.getRow()) < activeRadius
+                            && Math.abs(from.getCol() - hero.getCol()) < activeRadius);
+                }
+            }
+            before = after;
+        }
+    }
+
+    @Test
+    void testMonstersCloseInOnTheHero() {
+        Dungeon dungeon = new Dungeon(20, 20, 3L);
+        Room hero = dungeon.getRoom(10, 10);
+        int[] distances = distancesFrom(dungeon, hero);
+        RoamingMonsters roamers = new RoamingMonsters(dungeon);
+        Room start = null;
+        for (int i = 0; i < distances.length && start == null; i++) {
+            Room room = dungeon.getRoom(i / 20, i % 20);
+            if (distances[i] == RoamingMonsters.PURSUIT_RANGE && RoamingMonsters.canEnter(room)) {
+                start = room;
+            }
+        }
+        assertNotNull(start);
+        Monster monster = MonsterFactory.createMonster("Ogre");
+        roamers.add(start, monster);
+
+        Random random = new Random(4L);
+        for (int expected = RoamingMonsters.PURSUIT_RANGE - 1; expected >= 1; expected--) {
+            roamers.tick(hero, random);
+            Room room = locate(dungeon).get(monster);
+            assertEquals(expected, distances[room.getRow() * 20 + room.getCol()]);
+        }
+        roamers.tick(hero, random);
+        assertSame(monster, hero.getMonster());
+    }
+
+    @Test
+    void testRoamingGamesReplayAndResume() throws IOException {
+        ByteArrayOutputStream journal = new ByteArrayOutputStream();
+        GameSession original = GameJournal.record(SETTINGS, 11L, journal);
+        int placed = original.addRoamingMonsters(12);
+        assertTrue(placed > 0);
+        assertThrows(IllegalArgumentException.class, () -> original.addRoamingMonsters(-1));
+
+        for (int turn = 0; turn < 40 && !original.isOver(); turn++) {
+            GameSessionTest.playTurn(original);
+        }
+
+        ByteArrayOutputStream saved = new ByteArrayOutputStream();
+        original.writeTo(saved);
+        GameSession resumed = GameSession.readFrom(new ByteArrayInputStream(saved.toByteArray()));
+        GameSession replayed = GameJournal.replay(new ByteArrayInputStream(journal.toByteArray())).playToEnd();
+        assertEquals(original.getStateHash(), replayed.getStateHash());
+        assertEquals(original.getStateHash(), resumed.getStateHash());
+
+        while (!original.isOver()) {
+            GameSessionTest.playTurn(original);
+            GameSessionTest.playTurn(resumed);
+            assertEquals(original.getStateHash(), resumed.getStateHash());
+        }
+        replayed = GameJournal.replay(new ByteArrayInputStream(journal.toByteArray())).playToEnd();
+        assertEquals(original.getStatus(), replayed.getStatus());
+        assertEquals(original.getStateHash(), replayed.getStateHash());
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark.large", matches = "true")
+    void benchmarkTicks() {
+        for (final int size : new int[] {100, 300, 1_000}) {
+            final Dungeon dungeon = new Dungeon(size, size, 5L);
+            final RoamingMonsters roamers = new RoamingMonsters(dungeon);
+            populate(dungeon, roamers, size * size / 20, 6L);
+            final Random random = new Random(7L);
+            for (int round = 0; round < 3; round++) {
+                Room hero = dungeon.getRoom(size / 2, size / 2);
+                final int ticks = 200_000;
+                long moved = 0;
+                final long start = System.nanoTime();
+                for (int tick = 0; tick < ticks; tick++) {
+                    // The Hero wanders too, through an open side
+                    final Direction[] open = hero.getAvailableDirections().toArray(new Direction[0]);
+                    final Room next = neighbor(dungeon, hero, open[random.nextInt(open.length)]);
+                    if (!next.hasMonster()) {
+                        hero = next;
+                    }
+                    moved += roamers.tick(hero, random);
+                }
+                final double nanos = (double) (System.nanoTime() - start) / ticks;
+                System.out.printf("%dx%d rooms, %d monsters: %.0f ns/tick, %.1f moves/tick%n",
+                        size, size, roamers.size(), nanos, (double) moved / ticks);
+            }
+        }
+    }
+}
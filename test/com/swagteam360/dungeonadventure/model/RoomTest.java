@@ -1,11 +1,9 @@
 package com.swagteam360.dungeonadventure.model;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.Mockito.*;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.MockedStatic;
 
 import java.util.List;
 import java.util.Set;
@@ -94,25 +92,19 @@ class RoomTest {
 
     @Test
     void testAddRemoveMonster() {
-        // Mock MonsterFactory
-        Monster fakeMonster = mock(Monster.class);
-        try (MockedStatic<MonsterFactory> mockedFactory = mockStatic(MonsterFactory.class)) {
-            mockedFactory.when(() -> MonsterFactory.createMonster(anyString()))
-                    .thenReturn(fakeMonster);
+        assertFalse(room.hasMonster());
+        assertNull(room.getMonster());
 
-            assertFalse(room.hasMonster());
-            assertNull(room.getMonster());
+        room.addMonster();
 
-            room.addMonster();
+        assertTrue(room.hasMonster());
+        assertNotNull(room.getMonster());
+        assertEquals(room.getMonster().getMaxHP(), room.getMonster().getHP());
 
-            assertTrue(room.hasMonster());
-            assertEquals(fakeMonster, room.getMonster());
+        room.removeMonster();
 
-            room.removeMonster();
-
-            assertFalse(room.hasMonster());
-            assertNull(room.getMonster());
-        }
+        assertFalse(room.hasMonster());
+        assertNull(room.getMonster());
     }
 
     @Test
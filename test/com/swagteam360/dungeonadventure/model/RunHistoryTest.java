@@ -0,0 +1,112 @@
+package com.swagteam360.dungeonadventure.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+class RunHistoryTest {
+
+    @TempDir
+    Path myDirectory;
+
+    private RunHistory myHistory;
+
+    @BeforeEach
+    void setUp() {
+        myHistory = new RunHistory(myDirectory.resolve("history").resolve("runs.db"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        myHistory.close();
+    }
+
+    private static RunRecord run(String name, String difficulty, int score, long finishedAt) {
+        return new RunRecord(name, "Warrior", difficulty, score > 1000, 4, 60_000L, finishedAt, score);
+    }
+
+    @Test
+    void testScore() {
+        assertEquals(2 * 250, RunRecord.score(false, 2, 5_000L, "easy"));
+        assertEquals(2 * (4 * 250 + 1000 + 1000 - 90), RunRecord.score(true, 4, 90_500L, "Normal"));
+        assertEquals(3 * (4 * 250 + 1000), RunRecord.score(true, 4, 10_000_000L, "hard"));
+    }
+
+    @Test
+    void testRunFromSettings() {
+        RunRecord run = RunRecord.of(new GameSettings("Ana", "thief", "hard"), false, 1, 1_000L, 42L);
+
+        assertEquals("Ana", run.playerName());
+        assertEquals("thief", run.heroType());
+        assertFalse(run.won());
+        assertEquals(750, run.score());
+    }
+
+    @Test
+    void testLeaderboardKeepsBestRunPerPlayer() throws Exception {
+        myHistory.record(run("Ana", "normal", 500, 1));
+        myHistory.record(run("Ben", "normal", 900, 2));
+        myHistory.record(run("Ana", "normal", 1200, 3));
+        myHistory.record(run("Ana", "normal", 700, 4));
+        myHistory.record(run("Cy", "hard", 900, 5));
+        myHistory.flush().get(10, TimeUnit.SECONDS);
+
+        List<RunRecord> top = myHistory.getTopRuns(null, 10);
+        assertEquals(List.of("Ana", "Ben", "Cy"), top.stream().map(RunRecord::playerName).toList());
+        assertEquals(1200, top.get(0).score());
+        assertEquals(2, top.get(1).finishedAt()); // Ben reached 900 before Cy
+
+        assertEquals(List.of(run("Cy", "hard", 900, 5)), myHistory.getTopRuns("hard", 10));
+        assertEquals(1, myHistory.getTopRuns(null, 1).size());
+        assertEquals(5, myHistory.getRecentRuns(10).size());
+        assertEquals(4, myHistory.getRecentRuns(2).get(1).finishedAt());
+    }
+
+    @Test
+    void testWritesInWalMode() throws Exception {
+        myHistory.record(run("Ana", "easy", 250, 1));
+        myHistory.flush().get(10, TimeUnit.SECONDS);
+
+        assertTrue(Files.exists(myDirectory.resolve("history").resolve("runs.db-wal")));
+    }
+
+    @Test
+    void testQueriesUseIndexes() throws Exception {
+        for (String query : List.of(RunHistory.TOP_QUERY, RunHistory.TOP_BY_DIFFICULTY_QUERY,
+                RunHistory.RECENT_QUERY)) {
+            String plan = myHistory.explain(query);
+            assertFalse(plan.contains("TEMP B-TREE"), plan); // No sorting of the whole table
+            assertTrue(plan.contains("INDEX"), plan);
+        }
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark.large", matches = "true")
+    void testTopRunsWithManyRuns() throws Exception {
+        final int runs = 300_000;
+        long start = System.nanoTime();
+        for (int i = 0; i < runs; i++) {
+            myHistory.record(run("Player" + (i % 50_000), i % 3 == 0 ? "hard" : "normal", (i * 7919) % 10_000, i));
+        }
+        myHistory.flush().get(5, TimeUnit.MINUTES);
+        long writeMillis = (System.nanoTime() - start) / 1_000_000L;
+
+        myHistory.getTopRuns(null, 10); // Warm up
+        start = System.nanoTime();
+        List<RunRecord> top = myHistory.getTopRuns("hard", 10);
+        long queryMicros = (System.nanoTime() - start) / 1_000L;
+
+        System.out.printf("%d runs written in %d ms; top 10 read in %d us%n", runs, writeMillis, queryMicros);
+        assertEquals(10, top.size());
+        assertTrue(queryMicros < 50_000, "Top-10 query took " + queryMicros + " us");
+    }
+}
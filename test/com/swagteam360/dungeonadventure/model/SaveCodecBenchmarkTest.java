@@ -0,0 +1,332 @@
+package com.swagteam360.dungeonadventure.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * Compares the binary save format with the Java serialization format it replaced, and the
+ * seed-plus-delta layout with the full binary layout.
+ * The 1024x1024 runs need a large heap and are only enabled with -Dbenchmark.large=true.
+ */
+@Tag("benchmark")
+public class SaveCodecBenchmarkTest {
+
+    private record Result(long size, long saveNanos, long loadNanos) { }
+
+    @Test
+    void testSmallDungeon() throws Exception {
+        compare(9, 9, 20);
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark.large", matches = "true")
+    void testLargeDungeon() throws Exception {
+        compare(1024, 1024, 2);
+    }
+
+    @Test
+    void testSmallDungeonSeedDelta() throws Exception {
+        compareSeedDelta(9, 9, 20);
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark.large", matches = "true")
+    void testLargeDungeonSeedDelta() throws Exception {
+        compareSeedDelta(1024, 1024, 2);
+    }
+
+    @Test
+    void testSmallDungeonFirstFrame() throws Exception {
+        compareFirstFrame(9, 9, 20);
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark.large", matches = "true")
+    void testLargeDungeonFirstFrame() throws Exception {
+        compareFirstFrame(1024, 1024, 2);
+    }
+
+    @Test
+    void testSmallDungeonMappedResave() throws Exception {
+        compareMappedResave(9, 9, 20);
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark.large", matches = "true")
+    void testLargeDungeonMappedResave() throws Exception {
+        compareMappedResave(1024, 1024, 2);
+    }
+
+    @Test
+    void testSmallDungeonCapture() throws Exception {
+        compareCapture(9, 9, 20);
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark.large", matches = "true")
+    void testLargeDungeonCapture() throws Exception {
+        compareCapture(1024, 1024, 5);
+    }
+
+    private void compare(final int theRows, final int theCols, final int theRuns) throws Exception {
+        final GameSettings settings = new GameSettings("Bench", "warrior", "hard");
+        final Hero hero = new Warrior("Warrior", 125, 4, 35, 60, 80, 20);
+        hero.addToInventory(List.of(new HealthPotion(3), new Pillar(PillarType.SILVER)));
+        final Dungeon dungeon = createDungeon(theRows, theCols);
+        final Room current = dungeon.getRoom(dungeon.getEntranceRow(), dungeon.getEntranceCol());
+
+        Result legacy = null;
+        Result binary = null;
+        for (int i = 0; i < theRuns; i++) { // the last run is reported, earlier runs warm up the JIT
+            legacy = runLegacy(settings, hero, dungeon, current);
+            binary = runBinary(settings, hero, dungeon, current, SaveFormat.FULL);
+        }
+
+        System.out.printf("%dx%d legacy: %,d bytes, save %.2f ms, load %.2f ms%n", theRows, theCols,
+                legacy.size(), legacy.saveNanos() / 1e6, legacy.loadNanos() / 1e6);
+        System.out.printf("%dx%d binary: %,d bytes, save %.2f ms, load %.2f ms%n", theRows, theCols,
+                binary.size(), binary.saveNanos() / 1e6, binary.loadNanos() / 1e6);
+
+        assertTrue(binary.size() < legacy.size(), "Binary saves should be smaller");
+    }
+
+    private void compareSeedDelta(final int theRows, final int theCols, final int theRuns) throws Exception {
+        final GameSettings settings = new GameSettings("Bench", "warrior", "hard");
+        final Hero hero = new Warrior("Warrior", 125, 4, 35, 60, 80, 20);
+        final Dungeon dungeon = createExploredDungeon(theRows, theCols);
+        final Room current = dungeon.getRoom(dungeon.getEntranceRow(), dungeon.getEntranceCol());
+
+        Result full = null;
+        Result delta = null;
+        for (int i = 0; i < theRuns; i++) {
+            full = runBinary(settings, hero, dungeon, current, SaveFormat.FULL);
+            delta = runBinary(settings, hero, dungeon, current, SaveFormat.SEED_DELTA);
+        }
+
+        System.out.printf("%dx%d full:  %,d bytes, save %.2f ms, load %.2f ms%n", theRows, theCols,
+                full.size(), full.saveNanos() / 1e6, full.loadNanos() / 1e6);
+        System.out.printf("%dx%d delta: %,d bytes, save %.2f ms, load %.2f ms%n", theRows, theCols,
+                delta.size(), delta.saveNanos() / 1e6, delta.loadNanos() / 1e6);
+
+        assertTrue(delta.size() < full.size(), "Delta saves should be smaller");
+    }
+
+    /**
+     * Measures the time from opening a save until the rooms the game view draws first are available.
+     */
+    private void compareFirstFrame(final int theRows, final int theCols, final int theRuns) throws Exception {
+        final GameSettings settings = new GameSettings("Bench", "warrior", "hard");
+        final Hero hero = new Warrior("Warrior", 125, 4, 35, 60, 80, 20);
+        final Dungeon dungeon = createDungeon(theRows, theCols);
+        final Room current = dungeon.getRoom(theRows / 2, theCols / 2);
+        final GameSnapshot snapshot = GameSnapshot.capture(settings, hero, dungeon, current, false, 0);
+
+        final File fullFile = File.createTempFile("bench_full", ".sav");
+        final File indexedFile = File.createTempFile("bench_indexed", ".sav");
+        fullFile.deleteOnExit();
+        indexedFile.deleteOnExit();
+        SaveCodec.writeAtomically(snapshot, SaveFormat.FULL, fullFile.toPath());
+        SaveCodec.writeAtomically(snapshot, SaveFormat.INDEXED, indexedFile.toPath());
+
+        long full = 0;
+        long indexed = 0;
+        for (int i = 0; i < theRuns; i++) {
+            long start = System.nanoTime();
+            try (BufferedInputStream in = new BufferedInputStream(new FileInputStream(fullFile))) {
+                final Dungeon loaded = SaveCodec.read(in).toDungeon();
+                assertNotNull(loaded.getAdjacentRoomViewModels(current.getRow(), current.getCol()));
+            }
+            full = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            final IndexedSave save = SaveCodec.openIndexed(indexedFile.toPath());
+            final Dungeon loaded = save.toDungeon();
+            assertNotNull(save.toHero());
+            assertNotNull(loaded.getAdjacentRoomViewModels(save.getCurrentRow(), save.getCurrentCol()));
+            indexed = System.nanoTime() - start;
+        }
+
+        System.out.printf("%dx%d first frame: full %.2f ms, indexed %.2f ms%n", theRows, theCols,
+                full / 1e6, indexed / 1e6);
+        assertTrue(fullFile.delete());
+        assertTrue(indexedFile.delete());
+    }
+
+    /**
+     * Measures saving again after the player explored a few more rooms: a full indexed rewrite
+     * against flushing the changed records of a mapped dungeon.
+     */
+    private void compareMappedResave(final int theRows, final int theCols, final int theRuns) throws Exception {
+        final GameSettings settings = new GameSettings("Bench", "warrior", "hard");
+        final Hero hero = new Warrior("Warrior", 125, 4, 35, 60, 80, 20);
+        final Dungeon dungeon = createDungeon(theRows, theCols);
+        final Room current = dungeon.getRoom(theRows / 2, theCols / 2);
+
+        final File indexedFile = File.createTempFile("bench_indexed", ".sav");
+        final File roomsFile = File.createTempFile("bench_mapped", ".rooms");
+        indexedFile.deleteOnExit();
+        roomsFile.deleteOnExit();
+        final MappedDungeonStore store = MappedDungeonStore.create(roomsFile.toPath(), dungeon);
+
+        long indexed = 0;
+        long mapped = 0;
+        for (int i = 0; i < theRuns; i++) {
+            for (int col = 0; col < Math.min(theCols, 10); col++) {
+                dungeon.getRoom(i % theRows, col).collectAllItems();
+            }
+
+            long start = System.nanoTime();
+            SaveCodec.writeAtomically(GameSnapshot.capture(settings, hero, dungeon, current, false, 0),
+                    SaveFormat.INDEXED, indexedFile.toPath());
+            indexed = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            store.flush(current);
+            mapped = System.nanoTime() - start;
+        }
+
+        System.out.printf("%dx%d resave: indexed %,d bytes %.2f ms, mapped %,d bytes %.2f ms%n", theRows, theCols,
+                indexedFile.length(), indexed / 1e6, roomsFile.length(), mapped / 1e6);
+        assertTrue(indexedFile.delete());
+        assertTrue(roomsFile.delete());
+    }
+
+    /**
+     * Measures what an autosave costs the game-logic thread in a lazily loaded game: copying every
+     * room, as snapshots used to, against capturing only the rooms the player changed.
+     */
+    private void compareCapture(final int theRows, final int theCols, final int theRuns) throws Exception {
+        final GameSettings settings = new GameSettings("Bench", "warrior", "hard");
+        final Hero hero = new Warrior("Warrior", 125, 4, 35, 60, 80, 20);
+        final Dungeon explored = createExploredDungeon(theRows, theCols);
+        final File file = File.createTempFile("bench_indexed", ".sav");
+        file.deleteOnExit();
+        SaveCodec.writeAtomically(GameSnapshot.capture(settings, hero, explored, explored.getRoom(0, 0), false, 0),
+                SaveFormat.INDEXED, file.toPath());
+
+        long copyAll = 0;
+        long changedOnly = 0;
+        for (int i = 0; i < theRuns; i++) {
+            final Dungeon dungeon = SaveCodec.openIndexed(file.toPath()).toDungeon();
+            final Room current = dungeon.getRoom(theRows / 2, theCols / 2);
+            current.setVisited(true);
+
+            long start = System.nanoTime();
+            final GameSnapshot snapshot = GameSnapshot.capture(settings, hero, dungeon, current, false, 0);
+            changedOnly = System.nanoTime() - start;
+            assertFalse(theRows * theCols > 100 && dungeon.loadPendingRooms(0), "No room should have been read");
+
+            start = System.nanoTime();
+            assertNotNull(GameSnapshot.captureLayout(dungeon));
+            copyAll = System.nanoTime() - start;
+            assertEquals(dungeon.toDetailedString(), snapshot.toDungeon().toDetailedString());
+        }
+
+        System.out.printf("%dx%d capture: every room %.3f ms, changed rooms %.3f ms%n", theRows, theCols,
+                copyAll / 1e6, changedOnly / 1e6);
+        assertTrue(file.delete());
+    }
+
+    /**
+     * Builds a dungeon the way a player leaves it: a strip of rooms along the top has been
+     * visited and looted, and a monster was spawned in every tenth of those rooms.
+     */
+    private Dungeon createExploredDungeon(final int theRows, final int theCols) {
+        final Dungeon dungeon = new Dungeon(theRows, theCols, 7L);
+        final int explored = Math.min(theRows * theCols, 2_000);
+        for (int index = 0; index < explored; index++) {
+            final Room room = dungeon.getRoom(index / theCols, index % theCols);
+            room.setVisited(true);
+            room.collectAllItems();
+            if (index % 10 == 0 && !room.isEntranceOrExit()) {
+                room.setMonster(new Ogre("Ogre", 200, 2, 30, 60, 60, 0.1, 30, 60));
+            }
+        }
+        return dungeon;
+    }
+
+    /**
+     * Builds a dungeon where every room has been visited and every fourth normal room holds a monster.
+     */
+    private Dungeon createDungeon(final int theRows, final int theCols) {
+        final Dungeon dungeon = new Dungeon(theRows, theCols);
+        for (int row = 0; row < theRows; row++) {
+            for (int col = 0; col < theCols; col++) {
+                final Room room = dungeon.getRoom(row, col);
+                room.setVisited(true);
+                if ((row * theCols + col) % 4 == 0 && !room.isEntranceOrExit()) {
+                    room.setMonster(new Ogre("Ogre", 200, 2, 30, 60, 60, 0.1, 30, 60));
+                }
+            }
+        }
+        return dungeon;
+    }
+
+    private Result runLegacy(final GameSettings theSettings, final Hero theHero, final Dungeon theDungeon,
+                             final Room theCurrent) throws IOException, ClassNotFoundException {
+        final File file = File.createTempFile("bench_legacy", ".sav");
+        file.deleteOnExit();
+
+        // Same streams as the original GameManager.saveGame and loadGame
+        long start = System.nanoTime();
+        try (ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream(file))) {
+            out.writeObject(theSettings);
+            out.writeObject(theHero);
+            out.writeObject(theDungeon);
+            out.writeObject(theCurrent);
+        }
+        final long save = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        try (ObjectInputStream in = new ObjectInputStream(new FileInputStream(file))) {
+            assertNotNull(in.readObject());
+            assertNotNull(in.readObject());
+            assertNotNull(in.readObject());
+            assertNotNull(in.readObject());
+        }
+        final long load = System.nanoTime() - start;
+
+        final long size = file.length();
+        assertTrue(file.delete());
+        return new Result(size, save, load);
+    }
+
+    private Result runBinary(final GameSettings theSettings, final Hero theHero, final Dungeon theDungeon,
+                             final Room theCurrent, final SaveFormat theFormat) throws IOException {
+        final File file = File.createTempFile("bench_binary", ".sav");
+        file.deleteOnExit();
+
+        long start = System.nanoTime();
+        final GameSnapshot snapshot = GameSnapshot.capture(theSettings, theHero, theDungeon, theCurrent, false, 0);
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(file))) {
+            SaveCodec.write(snapshot, theFormat, out);
+        }
+        final long save = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        try (BufferedInputStream in = new BufferedInputStream(new FileInputStream(file))) {
+            final GameSnapshot loaded = SaveCodec.read(in);
+            assertNotNull(loaded.toHero());
+            assertEquals(theDungeon.getRowSize(), loaded.toDungeon().getRowSize());
+        }
+        final long load = System.nanoTime() - start;
+
+        final long size = file.length();
+        assertTrue(file.delete());
+        return new Result(size, save, load);
+    }
+}
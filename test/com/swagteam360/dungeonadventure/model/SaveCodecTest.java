@@ -0,0 +1,328 @@
+package com.swagteam360.dungeonadventure.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+public class SaveCodecTest {
+
+    private Dungeon myDungeon;
+    private Hero myHero;
+    private Room myMonsterRoom;
+
+    @BeforeEach
+    void setUp() {
+        myDungeon = new Dungeon(9, 9);
+        myHero = new Thief("Thief", 75, 6, 20, 40, 80, 40);
+        myHero.takeDamage(12);
+        myHero.addToInventory(List.of(new HealthPotion(4), new VisionPotion(), new Pillar(PillarType.GOLD)));
+
+        myMonsterRoom = myDungeon.getRoom(4, 4);
+        myMonsterRoom.setMonster(new Gremlin("Gremlin", 70, 5, 15, 30, 80, 0.4, 20, 40));
+        myMonsterRoom.getMonster().takeDamage(25);
+        myDungeon.getRoom(3, 5).setVisited(true);
+    }
+
+    private GameSnapshot roundTrip(final GameSnapshot theSnapshot) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        SaveCodec.write(theSnapshot, bytes);
+        return SaveCodec.read(new ByteArrayInputStream(bytes.toByteArray()));
+    }
+
+    @Test
+    void testDungeonRoundTrip() throws IOException {
+        final GameSnapshot snapshot = GameSnapshot.capture(new GameSettings("Test", "thief", "hard"),
+                myHero, myDungeon, myMonsterRoom, true, 2);
+
+        final Dungeon loaded = roundTrip(snapshot).toDungeon();
+
+        assertEquals(myDungeon.getRowSize(), loaded.getRowSize());
+        assertEquals(myDungeon.getColSize(), loaded.getColSize());
+        assertEquals(myDungeon.getEntranceRow(), loaded.getEntranceRow());
+        assertEquals(myDungeon.getEntranceCol(), loaded.getEntranceCol());
+        assertEquals(myDungeon.toDetailedString(), loaded.toDetailedString(), "Walls and contents should match");
+
+        for (int row = 0; row < myDungeon.getRowSize(); row++) {
+            for (int col = 0; col < myDungeon.getColSize(); col++) {
+                final Room original = myDungeon.getRoom(row, col);
+                final Room copy = loaded.getRoom(row, col);
+                assertEquals(original.isVisited(), copy.isVisited());
+                assertEquals(original.isExit(), copy.isExit());
+                assertEquals(original.hasPit(), copy.hasPit());
+                assertEquals(original.hasPillar(), copy.hasPillar());
+                assertEquals(original.getAllItems().size(), copy.getAllItems().size());
+                assertEquals(original.hasMonster(), copy.hasMonster());
+            }
+        }
+
+        final Monster monster = loaded.getRoom(4, 4).getMonster();
+        assertInstanceOf(Gremlin.class, monster);
+        assertEquals(45, monster.getHP());
+        assertEquals(70, monster.getMaxHP());
+    }
+
+    @Test
+    void testPlayTimeRoundTrip() throws IOException {
+        final GameSnapshot loaded = roundTrip(GameSnapshot.capture(new GameSettings("Test", "thief", "hard"),
+                myHero, myDungeon, myMonsterRoom, false, 0, 3_723_000L));
+
+        assertEquals(3_723_000L, loaded.getPlayTimeMillis());
+    }
+
+    @Test
+    void testHeroAndSettingsRoundTrip() throws IOException {
+        final GameSnapshot loaded = roundTrip(GameSnapshot.capture(new GameSettings("Test", "thief", "hard"),
+                myHero, myDungeon, myMonsterRoom, true, 2));
+
+        final GameSettings settings = loaded.toGameSettings();
+        assertEquals("Test", settings.getName());
+        assertEquals("thief", settings.getHero());
+        assertEquals("hard", settings.getDifficulty());
+        assertTrue(loaded.isSuperVision());
+        assertEquals(2, loaded.getSuperVisionCounter());
+        assertEquals(4, loaded.getCurrentRow());
+        assertEquals(4, loaded.getCurrentCol());
+
+        final Hero hero = loaded.toHero();
+        assertInstanceOf(Thief.class, hero);
+        assertEquals(63, hero.getHP());
+        assertEquals(75, hero.getMaxHP());
+        assertEquals(40, hero.getBlockChance());
+        assertEquals(1, hero.getPillarCount());
+        assertEquals(3, hero.getInventory().size());
+        assertEquals(4, ((HealthPotion) hero.getInventory().get(0)).getHealAmount());
+        assertInstanceOf(VisionPotion.class, hero.getInventory().get(1));
+        assertEquals(PillarType.GOLD, ((Pillar) hero.getInventory().get(2)).getPillarType());
+    }
+
+    @Test
+    void testHeaderIsDetected() throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        SaveCodec.write(GameSnapshot.capture(new GameSettings("Test", "thief", "hard"),
+                myHero, myDungeon, myMonsterRoom, false, 0), bytes);
+
+        assertTrue(SaveCodec.isBinarySave(new BufferedInputStream(
+                new ByteArrayInputStream(bytes.toByteArray()))));
+        assertFalse(SaveCodec.isBinarySave(new BufferedInputStream(
+                new ByteArrayInputStream(new byte[] {(byte) 0xAC, (byte) 0xED, 0, 5}))));
+    }
+
+    @Test
+    void testNewerVersionRejected() {
+        final byte[] header = {0x44, 0x55, 0x4E, 0x47, 0x7F, 0x7F};
+        assertThrows(IOException.class, () -> SaveCodec.read(new ByteArrayInputStream(header)));
+    }
+
+    @Test
+    void testTruncatedFileRejected() throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        SaveCodec.write(GameSnapshot.capture(new GameSettings("Test", "thief", "hard"),
+                myHero, myDungeon, myMonsterRoom, false, 0), bytes);
+        final byte[] truncated = Arrays.copyOf(bytes.toByteArray(), bytes.size() / 2);
+
+        assertThrows(IOException.class, () -> SaveCodec.read(new ByteArrayInputStream(truncated)));
+    }
+
+    @Test
+    void testSeedDeltaRoundTrip() throws IOException {
+        final Dungeon dungeon = new Dungeon(9, 9, 1234L);
+        Room looted = null;
+        for (int col = 0; col < 9 && looted == null; col++) {
+            for (int row = 1; row < 8; row++) {
+                if (dungeon.getRoom(row, col).hasItems()) {
+                    looted = dungeon.getRoom(row, col);
+                    break;
+                }
+            }
+        }
+        assertNotNull(looted, "The seeded dungeon should contain items");
+        looted.setVisited(true);
+        looted.collectAllItems();
+        dungeon.getRoom(2, 2).setVisited(true);
+        dungeon.getRoom(4, 4).setMonster(new Ogre("Ogre", 200, 2, 30, 60, 60, 0.1, 30, 60));
+        dungeon.getRoom(4, 4).getMonster().takeDamage(50);
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        SaveCodec.write(GameSnapshot.capture(new GameSettings("Test", "thief", "hard"),
+                myHero, dungeon, looted, false, 0), SaveFormat.SEED_DELTA, bytes);
+        final GameSnapshot snapshot = SaveCodec.read(new ByteArrayInputStream(bytes.toByteArray()));
+        assertTrue(snapshot.isSeedOnly());
+
+        final Dungeon loaded = snapshot.toDungeon();
+        assertEquals(dungeon.toDetailedString(), loaded.toDetailedString(), "Walls and contents should match");
+        for (int row = 0; row < 9; row++) {
+            for (int col = 0; col < 9; col++) {
+                assertEquals(dungeon.getRoom(row, col).isVisited(), loaded.getRoom(row, col).isVisited());
+                assertEquals(dungeon.getRoom(row, col).getAllItems().size(),
+                        loaded.getRoom(row, col).getAllItems().size());
+            }
+        }
+        assertFalse(loaded.getRoom(looted.getRow(), looted.getCol()).hasItems());
+        assertEquals(150, loaded.getRoom(4, 4).getMonster().getHP());
+        assertEquals(1234L, loaded.getSeed());
+    }
+
+    @Test
+    void testSeedDeltaStaysSmallForLargeDungeons() throws IOException {
+        final Dungeon dungeon = new Dungeon(300, 300, 99L);
+        for (int col = 0; col < 300; col++) {
+            dungeon.getRoom(150, col).setVisited(true);
+        }
+        final GameSnapshot snapshot = GameSnapshot.capture(new GameSettings("Test", "thief", "hard"),
+                myHero, dungeon, dungeon.getRoom(150, 0), false, 0);
+
+        final ByteArrayOutputStream delta = new ByteArrayOutputStream();
+        SaveCodec.write(snapshot, SaveFormat.SEED_DELTA, delta);
+        final ByteArrayOutputStream full = new ByteArrayOutputStream();
+        SaveCodec.write(snapshot, SaveFormat.FULL, full);
+
+        assertTrue(delta.size() < 2_048, "Delta save was " + delta.size() + " bytes");
+        assertTrue(full.size() > 40 * delta.size());
+    }
+
+    @Test
+    void testSeedDeltaFromOtherGeneratorRejected() throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        SaveCodec.write(GameSnapshot.capture(new GameSettings("Test", "thief", "hard"),
+                myHero, myDungeon, myMonsterRoom, false, 0), SaveFormat.SEED_DELTA, bytes);
+        final byte[] data = bytes.toByteArray();
+
+        // The generator version follows the 8 byte seed and 8 byte play time at the end of the shared header
+        final int offset = indexOfSeed(data, myDungeon.getSeed()) + 2 * Long.BYTES;
+        data[offset + Integer.BYTES - 1]++;
+
+        assertThrows(IOException.class, () -> SaveCodec.read(new ByteArrayInputStream(data)));
+    }
+
+    private static int indexOfSeed(final byte[] theData, final long theSeed) {
+        final byte[] seed = ByteBuffer.allocate(Long.BYTES).putLong(theSeed).array();
+        for (int i = 0; i + seed.length <= theData.length; i++) {
+            if (Arrays.equals(theData, i, i + seed.length, seed, 0, seed.length)) {
+                return i;
+            }
+        }
+        throw new AssertionError("Seed not found in save");
+    }
+
+    @Test
+    void testIndexedSaveReadsLikeFullSave() throws IOException {
+        final GameSnapshot snapshot = GameSnapshot.capture(new GameSettings("Test", "thief", "hard"),
+                myHero, myDungeon, myMonsterRoom, false, 0);
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        SaveCodec.write(snapshot, SaveFormat.INDEXED, bytes);
+
+        final GameSnapshot loaded = SaveCodec.read(new ByteArrayInputStream(bytes.toByteArray()));
+
+        assertEquals(myDungeon.toDetailedString(), loaded.toDungeon().toDetailedString());
+        assertEquals(snapshot.getRooms(), loaded.getRooms());
+    }
+
+    @Test
+    void testIndexedSaveLoadsRoomsOnDemand() throws IOException {
+        // Large enough to span several blocks of the index
+        final Dungeon dungeon = new Dungeon(60, 60, 5L);
+        dungeon.getRoom(59, 59).setMonster(new Witch("Witch", 100, 3, 25, 45, 70, 0.3, 20, 40));
+        dungeon.getRoom(30, 17).setVisited(true);
+        final File file = File.createTempFile("dungeon_indexed_save", ".sav");
+        file.deleteOnExit();
+        SaveCodec.writeAtomically(GameSnapshot.capture(new GameSettings("Test", "thief", "hard"),
+                myHero, dungeon, dungeon.getRoom(30, 17), false, 0), SaveFormat.INDEXED, file.toPath());
+
+        final IndexedSave save = SaveCodec.openIndexed(file.toPath());
+        final Dungeon loaded = save.toDungeon();
+
+        assertEquals(30, save.getCurrentRow());
+        assertEquals(63, save.toHero().getHP());
+        assertEquals("Test", save.toGameSettings().getName());
+        assertTrue(loaded.getRoom(30, 17).isVisited());
+        assertEquals(100, loaded.getRoom(59, 59).getMonster().getHP());
+        assertFalse(loaded.loadPendingRooms(100), "Most rooms should not have been read yet");
+        assertTrue(loaded.loadPendingRooms(60 * 60));
+        assertEquals(dungeon.toDetailedString(), loaded.toDetailedString());
+    }
+
+    @Test
+    void testCaptureLeavesUnloadedRoomsUnread() throws IOException {
+        final Dungeon dungeon = new Dungeon(60, 60, 5L);
+        dungeon.getRoom(59, 59).setMonster(new Witch("Witch", 100, 3, 25, 45, 70, 0.3, 20, 40));
+        final File file = File.createTempFile("dungeon_indexed_save", ".sav");
+        file.deleteOnExit();
+        SaveCodec.writeAtomically(GameSnapshot.capture(new GameSettings("Test", "thief", "hard"),
+                myHero, dungeon, dungeon.getRoom(30, 17), false, 0), SaveFormat.INDEXED, file.toPath());
+
+        final Dungeon loaded = SaveCodec.openIndexed(file.toPath()).toDungeon();
+        final Room current = loaded.getRoom(30, 18);
+        current.setVisited(true);
+        current.collectAllItems();
+        final GameSnapshot snapshot = GameSnapshot.capture(new GameSettings("Test", "thief", "hard"),
+                myHero, loaded, current, false, 0);
+
+        assertFalse(loaded.loadPendingRooms(0), "Capturing should not read the rooms the player never reached");
+        final Dungeon restored = roundTrip(snapshot).toDungeon();
+        assertTrue(loaded.loadPendingRooms(60 * 60));
+        assertEquals(loaded.toDetailedString(), restored.toDetailedString());
+        assertTrue(restored.getRoom(30, 18).isVisited());
+        assertEquals(100, restored.getRoom(59, 59).getMonster().getHP());
+    }
+
+    @Test
+    void testSnapshotIgnoresLaterChanges() throws IOException {
+        final GameSnapshot snapshot = GameSnapshot.capture(new GameSettings("Test", "thief", "hard"),
+                myHero, myDungeon, myMonsterRoom, false, 0);
+        final String expected = myDungeon.toDetailedString();
+
+        myDungeon.getRoom(0, 0).setVisited(true);
+        myDungeon.getRoom(8, 8).setMonster(new Ogre("Ogre", 200, 2, 30, 60, 60, 0.1, 30, 60));
+        myMonsterRoom.removeMonster();
+
+        final Dungeon loaded = roundTrip(snapshot).toDungeon();
+        assertEquals(expected, loaded.toDetailedString());
+        assertFalse(loaded.getRoom(0, 0).isVisited());
+        assertFalse(loaded.getRoom(8, 8).hasMonster());
+        assertEquals(45, loaded.getRoom(4, 4).getMonster().getHP());
+    }
+
+    @Test
+    void testFullSaveCannotBeOpenedLazily() throws IOException {
+        final File file = File.createTempFile("dungeon_full_save", ".sav");
+        file.deleteOnExit();
+        SaveCodec.writeAtomically(GameSnapshot.capture(new GameSettings("Test", "thief", "hard"),
+                myHero, myDungeon, myMonsterRoom, false, 0), SaveFormat.FULL, file.toPath());
+
+        assertThrows(IOException.class, () -> SaveCodec.openIndexed(file.toPath()));
+    }
+
+    @Test
+    void testLegacySaveStillLoads() throws IOException {
+        final GameSettings settings = new GameSettings("Legacy", "thief", "hard");
+        final File temp = File.createTempFile("dungeon_legacy_save", ".txt");
+        temp.deleteOnExit();
+
+        try (ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream(temp))) {
+            out.writeObject(settings);
+            out.writeObject(myHero);
+            out.writeObject(myDungeon);
+            out.writeObject(myMonsterRoom);
+        }
+
+        final GameManager gm = GameManager.getInstance();
+        gm.loadGame(temp);
+
+        assertEquals("Legacy", gm.getGameSettings().getName());
+        assertEquals(63, gm.getHero().getHP());
+        assertEquals(4, gm.getCurrentRoom().getRow());
+        assertSame(gm.getDungeon().getRoom(4, 4), gm.getCurrentRoom());
+    }
+}
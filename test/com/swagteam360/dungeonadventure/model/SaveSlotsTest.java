@@ -0,0 +1,135 @@
+package com.swagteam360.dungeonadventure.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+public class SaveSlotsTest {
+
+    @TempDir
+    Path myTempDir;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        AutosaveService.getInstance().stop();
+        AutosaveService.getInstance().flush().get(5, TimeUnit.SECONDS);
+    }
+
+    private GameSnapshot createSnapshot(final String theName, final int theRows, final int theCols) {
+        final Dungeon dungeon = new Dungeon(theRows, theCols);
+        final Hero hero = new Warrior("Warrior", 125, 4, 35, 60, 80, 20);
+        hero.addToInventory(List.of(new Pillar(PillarType.GOLD), new HealthPotion(5), new Pillar(PillarType.SILVER)));
+        final Room current = dungeon.getRoom(dungeon.getEntranceRow(), dungeon.getEntranceCol());
+        current.setVisited(true);
+        return GameSnapshot.capture(new GameSettings(theName, "warrior", "normal"), hero, dungeon,
+                current, false, 0, 90_000L);
+    }
+
+    @Test
+    void testSaveIsListedWithItsMetadata() throws Exception {
+        final SaveSlots slots = new SaveSlots(myTempDir);
+        final GameSnapshot snapshot = createSnapshot("Alice", 7, 7);
+
+        slots.save(3, snapshot, SaveFormat.INDEXED);
+        slots.flush().get(5, TimeUnit.SECONDS);
+
+        assertTrue(Files.exists(slots.getSlotFile(3)));
+        final SaveSlotInfo info = slots.getSlot(3);
+        assertNotNull(info);
+        assertEquals("Alice", info.playerName());
+        assertEquals("warrior", info.heroType());
+        assertEquals("normal", info.difficulty());
+        assertEquals(2, info.pillarCount());
+        assertEquals(90_000L, info.playTimeMillis());
+        assertNull(slots.getSlot(4), "Unused slots should be empty");
+    }
+
+    @Test
+    void testIndexIsReadWithoutOpeningSaves() throws Exception {
+        final SaveSlots writer = new SaveSlots(myTempDir);
+        writer.save(1, createSnapshot("First", 5, 5), SaveFormat.FULL);
+        writer.save(2, createSnapshot("Second", 5, 5), SaveFormat.FULL);
+        writer.flush().get(5, TimeUnit.SECONDS);
+
+        // Corrupt the saves: a fresh instance must still list the slots from the index alone
+        Files.write(writer.getSlotFile(1), new byte[] {1, 2, 3});
+        Files.delete(writer.getSlotFile(2));
+
+        final List<SaveSlotInfo> listed = new SaveSlots(myTempDir).listSlots();
+        assertEquals(2, listed.size());
+        assertEquals("First", listed.get(0).playerName());
+        assertEquals(2, listed.get(1).slot());
+    }
+
+    @Test
+    void testCloseWritesQueuedIndexUpdates() throws Exception {
+        final SaveSlots slots = new SaveSlots(myTempDir);
+        slots.save(5, createSnapshot("Closing", 9, 9), SaveFormat.INDEXED);
+
+        slots.close();
+
+        final SaveSlotInfo info = new SaveSlots(myTempDir).getSlot(5);
+        assertNotNull(info, "A save made just before closing should be in the index");
+        assertEquals("Closing", info.playerName());
+    }
+
+    @Test
+    void testThumbnailShowsExploredRoomsAndHero() throws Exception {
+        final GameSnapshot snapshot = createSnapshot("Explorer", 64, 40);
+
+        final SaveSlotInfo info = SaveSlots.describe(1, snapshot, 0L);
+
+        assertEquals(SaveSlots.THUMBNAIL_SIZE, info.thumbnailWidth());
+        assertEquals(SaveSlots.THUMBNAIL_SIZE, info.thumbnailHeight());
+        final int heroX = snapshot.getCurrentCol() * info.thumbnailWidth() / snapshot.getCols();
+        final int heroY = snapshot.getCurrentRow() * info.thumbnailHeight() / snapshot.getRows();
+        int explored = 0;
+        for (final byte pixel : info.thumbnail()) {
+            if (pixel != SaveSlotInfo.THUMBNAIL_UNEXPLORED) {
+                explored++;
+            }
+        }
+        assertEquals(SaveSlotInfo.THUMBNAIL_HERO, info.thumbnailPixel(heroX, heroY));
+        assertEquals(1, explored, "Only the hero's room has been visited");
+    }
+
+    @Test
+    void testAutosaveIsListedInAutosaveSlot() throws Exception {
+        final SaveSlots slots = new SaveSlots(myTempDir);
+        final AutosaveService autosave = AutosaveService.getInstance();
+
+        autosave.start(slots, 1, TimeUnit.HOURS);
+        autosave.save(createSnapshot("Auto", 5, 5), SaveFormat.INDEXED);
+        autosave.flush().get(5, TimeUnit.SECONDS);
+        slots.flush().get(5, TimeUnit.SECONDS);
+
+        final SaveSlotInfo info = slots.getSlot(SaveSlots.AUTOSAVE_SLOT);
+        assertNotNull(info);
+        assertTrue(info.isAutosave());
+        assertEquals("Auto", info.playerName());
+        assertTrue(Files.exists(slots.getSlotFile(SaveSlots.AUTOSAVE_SLOT)));
+    }
+
+    @Test
+    void testInvalidSlotRejected() {
+        final SaveSlots slots = new SaveSlots(myTempDir);
+
+        assertThrows(IllegalArgumentException.class, () -> slots.getSlotFile(SaveSlots.SLOT_COUNT + 1));
+        assertThrows(IllegalArgumentException.class, () -> slots.getSlot(-1));
+    }
+
+    @Test
+    void testDamagedIndexListsNothing() throws IOException {
+        Files.write(myTempDir.resolve("slots.idx"), new byte[] {0, 1, 2, 3, 4});
+
+        assertTrue(new SaveSlots(myTempDir).listSlots().isEmpty());
+    }
+}
@@ -0,0 +1,183 @@
+package com.swagteam360.dungeonadventure.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+class SessionManagerTest {
+
+    private static final GameSettings SETTINGS = new GameSettings("Test name", "thief", "normal");
+
+    @TempDir
+    Path myTempDir;
+
+    /**
+     * Describes the end of a game, for comparing two runs of it.
+     */
+    private static String describe(final GameSession theSession) {
+        return theSession.getStatus() + " after " + theSession.getMoveCount() + " moves with "
+                + theSession.getHero().getHP() + " HP and " + theSession.getHero().getInventory().size() + " items";
+    }
+
+    private static void awaitPassivation(final SessionManager theManager) throws InterruptedException {
+        final long deadline = System.nanoTime() + 10_000_000_000L;
+        while (theManager.getActiveCount() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, theManager.getActiveCount());
+    }
+
+    @Test
+    void testPassivatedSessionResumesExactly() throws Exception {
+        GameSession reference = new GameSession(SETTINGS, 5L);
+        GameSessionTest.playToEnd(reference);
+
+        try (SessionManager manager = new SessionManager(myTempDir, Duration.ofMillis(20))) {
+            long id = manager.create(SETTINGS, 5L);
+            assertEquals(1, manager.getActiveCount());
+
+            // Passivate the session after every few turns until the game is over
+            while (!manager.submit(id, GameSession::isOver).get()) {
+                manager.submit(id, theSession -> {
+                    for (int i = 0; i < 3 && !theSession.isOver(); i++) {
+                        GameSessionTest.playTurn(theSession);
+                    }
+                    return null;
+                }).get();
+                awaitPassivation(manager);
+                assertTrue(Files.size(manager.getSessionFile(id)) < 4096);
+            }
+
+            assertEquals(describe(reference), manager.submit(id, SessionManagerTest::describe).get());
+        }
+    }
+
+    @Test
+    void testSessionsRunConcurrently() throws Exception {
+        try (SessionManager manager = new SessionManager(myTempDir, SessionManager.DEFAULT_IDLE_TIMEOUT)) {
+            List<Long> ids = new ArrayList<>();
+            List<CompletableFuture<String>> results = new ArrayList<>();
+            for (long seed = 0; seed < 300; seed++) {
+                long id = manager.create(SETTINGS, seed);
+                ids.add(id);
+                results.add(manager.submit(id, theSession -> {
+                    GameSessionTest.playToEnd(theSession);
+                    return describe(theSession);
+                }));
+            }
+            assertEquals(300, manager.getSessionCount());
+
+            for (int i = 0; i < ids.size(); i++) {
+                GameSession reference = new GameSession(SETTINGS, i);
+                GameSessionTest.playToEnd(reference);
+                assertEquals(describe(reference), results.get(i).get());
+            }
+        }
+    }
+
+    @Test
+    void testReopenedManagerFindsSessions() throws Exception {
+        long id;
+        String before;
+        try (SessionManager manager = new SessionManager(myTempDir, SessionManager.DEFAULT_IDLE_TIMEOUT)) {
+            id = manager.create(SETTINGS, 11L);
+            before = manager.submit(id, theSession -> {
+                GameSessionTest.playTurn(theSession);
+                return describe(theSession);
+            }).get();
+        }
+        assertTrue(Files.exists(myTempDir.resolve(id + ".session")));
+
+        try (SessionManager manager = new SessionManager(myTempDir, SessionManager.DEFAULT_IDLE_TIMEOUT)) {
+            assertEquals(1, manager.getSessionCount());
+            assertEquals(0, manager.getActiveCount());
+            assertEquals(before, manager.submit(id, SessionManagerTest::describe).get());
+            assertEquals(1, manager.getActiveCount());
+            assertTrue(manager.create(SETTINGS, 12L) > id);
+        }
+    }
+
+    @Test
+    void testRemoveAndFailures() throws Exception {
+        try (SessionManager manager = new SessionManager(myTempDir, SessionManager.DEFAULT_IDLE_TIMEOUT)) {
+            long id = manager.create(SETTINGS, 3L);
+
+            ExecutionException failure = assertThrows(ExecutionException.class,
+                    () -> manager.submit(id, GameSession::attack).get());
+            assertInstanceOf(IllegalStateException.class, failure.getCause());
+
+            assertTrue(manager.remove(id));
+            assertFalse(manager.remove(id));
+            assertThrows(IllegalArgumentException.class, () -> manager.submit(id, GameSession::getHero));
+            awaitPassivation(manager);
+            assertFalse(Files.exists(manager.getSessionFile(id)));
+        }
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark.large", matches = "true")
+    void benchmarkManySessions() throws Exception {
+        final int sessions = 20_000;
+        final Runtime runtime = Runtime.getRuntime();
+        final SessionManager manager = new SessionManager(myTempDir, SessionManager.DEFAULT_IDLE_TIMEOUT);
+        try {
+            System.gc();
+            final long heapBefore = runtime.totalMemory() - runtime.freeMemory();
+            final long[] ids = new long[sessions];
+            for (int i = 0; i < sessions; i++) {
+                ids[i] = manager.create(SETTINGS, i);
+            }
+            System.gc();
+            final long heapAfter = runtime.totalMemory() - runtime.freeMemory();
+            System.out.printf("%d active sessions: about %d bytes each%n", sessions, (heapAfter - heapBefore) / sessions);
+
+            // Every session takes 20 turns, each as its own command, all sessions at once
+            final long start = System.nanoTime();
+            final List<CompletableFuture<Void>> turns = new ArrayList<>();
+            for (int turn = 0; turn < 20; turn++) {
+                for (final long id : ids) {
+                    turns.add(manager.submit(id, theSession -> {
+                        if (!theSession.isOver()) {
+                            GameSessionTest.playTurn(theSession);
+                        }
+                        return null;
+                    }));
+                }
+            }
+            CompletableFuture.allOf(turns.toArray(new CompletableFuture<?>[0])).get();
+            final double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("%d commands in %.2f s: %.0f commands/s%n", turns.size(), seconds, turns.size() / seconds);
+
+            final long passivateStart = System.nanoTime();
+            manager.close();
+            long bytes = 0;
+            for (final long id : ids) {
+                bytes += Files.size(manager.getSessionFile(id));
+            }
+            System.out.printf("Passivated in %.2f s, %d bytes per session on disk%n",
+                    (System.nanoTime() - passivateStart) / 1e9, bytes / sessions);
+        } finally {
+            manager.close(); // Does nothing once closed
+        }
+
+        try (SessionManager restored = new SessionManager(myTempDir, SessionManager.DEFAULT_IDLE_TIMEOUT)) {
+            final long start = System.nanoTime();
+            final List<CompletableFuture<Boolean>> restores = new ArrayList<>();
+            for (long id = 1; id <= sessions; id++) {
+                restores.add(restored.submit(id, GameSession::isOver));
+            }
+            CompletableFuture.allOf(restores.toArray(new CompletableFuture<?>[0])).get();
+            System.out.printf("Restored %d sessions in %.2f s%n", sessions, (System.nanoTime() - start) / 1e9);
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.swagteam360.dungeonadventure.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+class SpawnServiceTest {
+
+    private static final String WEIGHTS = """
+            Difficulty,Monster,Weight
+            normal,Ogre,1
+            normal,Gremlin,1
+            normal,Witch,2
+            # Hard games only have ogres
+            hard,Ogre,1
+            """;
+
+    @AfterEach
+    void restoreCatalog() {
+        StatCatalog.getInstance().reload();
+    }
+
+    @Test
+    void testAliasTableMatchesWeights() {
+        AliasTable table = new AliasTable(new double[] {1, 0, 3, 6});
+
+        assertEquals(4, table.size());
+        assertEquals(0.1, table.probability(0), 1e-9);
+        assertEquals(0.0, table.probability(1), 1e-9);
+        assertEquals(0.3, table.probability(2), 1e-9);
+        assertEquals(0.6, table.probability(3), 1e-9);
+
+        int[] counts = new int[4];
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < 100_000; i++) {
+            counts[table.sample(random)]++;
+        }
+        assertEquals(0, counts[1]);
+        assertEquals(10_000, counts[0], 1_000);
+        assertEquals(60_000, counts[3], 1_000);
+    }
+
+    @Test
+    void testAliasTableRejectsInvalidWeights() {
+        assertThrows(IllegalArgumentException.class, () -> new AliasTable(new double[0]));
+        assertThrows(IllegalArgumentException.class, () -> new AliasTable(new double[] {0, 0}));
+        assertThrows(IllegalArgumentException.class, () -> new AliasTable(new double[] {1, -1}));
+        assertThrows(IllegalArgumentException.class, () -> new AliasTable(new double[] {Double.NaN}));
+    }
+
+    @Test
+    void testWeightsPerDifficulty() throws IOException {
+        SpawnService spawns = new SpawnService(SpawnService.readWeights(new StringReader(WEIGHTS)), 0);
+        SplittableRandom random = new SplittableRandom(7);
+
+        for (int i = 0; i < 100; i++) {
+            assertInstanceOf(Ogre.class, spawns.spawn("HARD", random));
+        }
+
+        Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < 4_000; i++) {
+            counts.merge(spawns.spawn("unknown", random).getName(), 1, Integer::sum);
+        }
+        assertEquals(1_000, counts.get("Ogre"), 150);
+        assertEquals(2_000, counts.get("Witch"), 150);
+    }
+
+    @Test
+    void testPackagedWeightsCoverEveryDifficulty() {
+        for (String difficulty : List.of("easy", "normal", "hard")) {
+            assertEquals(3, SpawnService.getInstance().getWeights(difficulty).monsters().size(), difficulty);
+        }
+    }
+
+    @Test
+    void testMalformedWeightsAreRejected() {
+        assertThrows(IOException.class, () -> SpawnService.readWeights(new StringReader("h\nnormal,Ogre\n")));
+        assertThrows(IOException.class, () -> SpawnService.readWeights(new StringReader("h\nnormal,Ogre,x\n")));
+        assertThrows(IOException.class, () -> SpawnService.readWeights(new StringReader("h\nnormal,Ogre,0\n")));
+    }
+
+    @Test
+    void testSpawnedMonstersAreIndependentCopies() {
+        SpawnService spawns = new SpawnService(Map.of("normal", SpawnService.getInstance().getWeights("normal")), 0);
+
+        Monster first = spawns.create("gremlin");
+        Monster second = spawns.create("Gremlin");
+
+        assertInstanceOf(Gremlin.class, first);
+        assertNotSame(first, second);
+        first.takeDamage(10);
+        assertEquals(second.getMaxHP(), second.getHP());
+        assertEquals(second.getMaxHP() - 10, first.getHP());
+        assertEquals(second.getMaxHP(), spawns.create("gremlin").getHP());
+    }
+
+    @Test
+    void testRecycleRestoresDefeatedMonsters() throws IOException {
+        SpawnService spawns = new SpawnService(SpawnService.readWeights(new StringReader(WEIGHTS)), 1);
+
+        Monster ogre = spawns.create("Ogre");
+        Monster other = spawns.create("Ogre");
+        assertFalse(spawns.recycle(ogre)); // Still alive
+
+        ogre.takeDamage(ogre.getMaxHP());
+        assertTrue(spawns.recycle(ogre));
+        assertFalse(spawns.recycle(ogre)); // Already pooled
+        assertEquals(1, spawns.getPooledCount("ogre"));
+
+        other.takeDamage(other.getMaxHP());
+        assertNotSame(ogre, other);
+        assertFalse(spawns.recycle(other)); // Pool is full
+
+        Monster reused = spawns.create("Ogre");
+        assertSame(ogre, reused);
+        assertEquals(reused.getMaxHP(), reused.getHP());
+        assertEquals(0, spawns.getPooledCount("ogre"));
+    }
+
+    @Test
+    void testCopiesSharePrototypesButNotPools() throws IOException {
+        SpawnService spawns = new SpawnService(SpawnService.readWeights(new StringReader(WEIGHTS)), 2);
+        SpawnService copy = spawns.copy();
+        assertEquals(2, copy.getPoolCapacity());
+        assertSame(spawns.getWeights("hard"), copy.getWeights("hard"));
+
+        Monster ogre = copy.create("Ogre");
+        ogre.takeDamage(ogre.getMaxHP());
+        assertTrue(copy.recycle(ogre));
+        assertEquals(1, copy.getPooledCount("ogre"));
+        assertEquals(0, spawns.getPooledCount("ogre"));
+        assertNotSame(ogre, spawns.create("Ogre"));
+        assertSame(ogre, copy.create("Ogre"));
+    }
+
+    @Test
+    void testGamesSpawnFromTheirOwnCopies() {
+        SpawnService shared = SpawnService.getInstance();
+        List<Integer> spawned = IntStream.range(0, 8).parallel()
+                .map(theSeed -> {
+                    SpawnService copy = shared.copy();
+                    copy.setPoolCapacity(4);
+                    SplittableRandom random = new SplittableRandom(theSeed);
+                    int count = 0;
+                    for (int i = 0; i < 1000; i++) {
+                        Monster monster = copy.spawn(SpawnService.DEFAULT_DIFFICULTY, random);
+                        monster.takeDamage(monster.getMaxHP());
+                        copy.recycle(monster);
+                        count++;
+                    }
+                    return count;
+                }).boxed().toList();
+
+        assertEquals(List.of(1000, 1000, 1000, 1000, 1000, 1000, 1000, 1000), spawned);
+        assertEquals(0, shared.getPooledCount("ogre"));
+    }
+
+    @Test
+    void testReloadedStatsRebuildThePrototype() throws IOException {
+        SpawnService spawns = new SpawnService(SpawnService.readWeights(new StringReader(WEIGHTS)), 4);
+        Monster ogre = spawns.create("Ogre");
+        ogre.takeDamage(ogre.getMaxHP());
+        assertTrue(spawns.recycle(ogre));
+
+        MonsterStats tuned = new MonsterStats("Ogre", 321, 2, 30, 60, 60, 0.1, 30, 60);
+        StatCatalog.getInstance().replace(StatCatalog.getInstance().getAllHeroStats(), List.of(tuned));
+
+        Monster tunedOgre = spawns.create("Ogre");
+        assertNotSame(ogre, tunedOgre);
+        assertEquals(321, tunedOgre.getMaxHP());
+        assertEquals(0, spawns.getPooledCount("Ogre"));
+        assertFalse(spawns.recycle(ogre)); // Made from the old stats
+    }
+
+    @Test
+    void testPoolingIsOffByDefault() {
+        assertEquals(0, SpawnService.getInstance().getPoolCapacity());
+        assertThrows(IllegalArgumentException.class, () -> SpawnService.getInstance().setPoolCapacity(-1));
+    }
+}
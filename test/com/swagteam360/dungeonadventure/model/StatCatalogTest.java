@@ -0,0 +1,96 @@
+package com.swagteam360.dungeonadventure.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+class StatCatalogTest {
+
+    @AfterEach
+    void restoreCatalog() {
+        StatCatalog.getInstance().reload();
+    }
+
+    @Test
+    void testLoadsEveryCharacterFromDatabase() {
+        StatCatalog catalog = StatCatalog.getInstance();
+        assertTrue(catalog.reload());
+
+        assertEquals(3, catalog.getAllHeroStats().size());
+        assertEquals(3, catalog.getAllMonsterStats().size());
+        for (String name : List.of("Warrior", "Priestess", "Thief")) {
+            assertNotNull(catalog.getHeroStats(name), name);
+        }
+        for (String name : List.of("Ogre", "Gremlin", "Witch")) {
+            assertNotNull(catalog.getMonsterStats(name), name);
+        }
+    }
+
+    @Test
+    void testLookupIgnoresCase() {
+        StatCatalog catalog = StatCatalog.getInstance();
+        catalog.replace(List.of(new HeroStats("Warrior", 125, 4, 35, 60, 80, 20)), List.of());
+
+        assertSame(catalog.getHeroStats("Warrior"), catalog.getHeroStats("wARRIOR"));
+        assertNull(catalog.getHeroStats("Ogre"));
+        assertNull(catalog.getMonsterStats("Ogre"));
+        assertNull(catalog.getHeroStats(null));
+    }
+
+    @Test
+    void testReloadPicksUpTuningChanges() {
+        try (MockedStatic<Database> mockedDatabase = mockStatic(Database.class)) {
+            Database mockDb = mock(Database.class);
+            mockedDatabase.when(Database::getInstance).thenReturn(mockDb);
+            when(mockDb.getAllHeroStats()).thenReturn(List.of());
+            when(mockDb.getAllMonsterStats())
+                    .thenReturn(List.of(new MonsterStats("Ogre", 200, 2, 30, 60, 60, 0.1, 30, 60)))
+                    .thenReturn(List.of(new MonsterStats("Ogre", 250, 2, 30, 60, 60, 0.1, 30, 60)));
+
+            assertTrue(StatCatalog.getInstance().reload());
+            assertEquals(200, MonsterFactory.createMonster("Ogre").getMaxHP());
+
+            assertTrue(StatCatalog.getInstance().reload());
+            assertEquals(250, MonsterFactory.createMonster("Ogre").getMaxHP());
+        }
+    }
+
+    @Test
+    void testFailedReloadKeepsCurrentStats() {
+        PrintStream originalErr = System.err;
+        System.setErr(new PrintStream(OutputStream.nullOutputStream()));
+
+        StatCatalog catalog = StatCatalog.getInstance();
+        MonsterStats gremlin = new MonsterStats("Gremlin", 70, 5, 15, 30, 80, 0.4, 20, 40);
+        catalog.replace(List.of(), List.of(gremlin));
+
+        try (MockedStatic<Database> mockedDatabase = mockStatic(Database.class)) {
+            Database mockDb = mock(Database.class);
+            mockedDatabase.when(Database::getInstance).thenReturn(mockDb);
+            when(mockDb.getAllHeroStats()).thenReturn(List.of());
+            when(mockDb.getAllMonsterStats()).thenReturn(null);
+
+            assertFalse(catalog.reload());
+            assertSame(gremlin, catalog.getMonsterStats("gremlin"));
+        } finally {
+            System.setErr(originalErr);
+        }
+    }
+
+    @Test
+    void testPreloadLoadsCatalog() throws Exception {
+        StatCatalog.getInstance().replace(List.of(), List.of());
+
+        StatCatalog.getInstance().preload().get(5, TimeUnit.SECONDS);
+
+        assertNotNull(StatCatalog.getInstance().getHeroStats("Thief"));
+    }
+}
@@ -0,0 +1,61 @@
+package com.swagteam360.dungeonadventure.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+class StatSnapshotTest {
+
+    @AfterEach
+    void restoreStatSource() {
+        Database.getInstance().setLiveStats(false);
+    }
+
+    @Test
+    void testRoundTrip() throws IOException {
+        StatSnapshot snapshot = new StatSnapshot(
+                List.of(new HeroStats("Warrior", 125, 4, 35, 60, 80, 20)),
+                List.of(new MonsterStats("Witch", 70, 3, 15, 30, 75, 0.25, 25, 45),
+                        new MonsterStats("Ogre", 200, 2, 30, 60, 60, 0.1, 30, 60)));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        snapshot.write(out);
+
+        assertEquals(snapshot, StatSnapshot.read(new ByteArrayInputStream(out.toByteArray())));
+    }
+
+    @Test
+    void testRejectsOtherFiles() {
+        assertThrows(IOException.class,
+                () -> StatSnapshot.read(new ByteArrayInputStream("SQLite format 3".getBytes())));
+    }
+
+    @Test
+    void testPackagedSnapshotMatchesDatabase() throws IOException {
+        // Fails when the database changed without rebuilding the snapshot (mvn -Pstat-snapshot process-classes)
+        StatSnapshot packaged = StatSnapshot.readPackaged();
+
+        assertNotNull(packaged);
+        assertEquals(StatSnapshotTool.readDatabase(), packaged);
+    }
+
+    @Test
+    void testDatabaseReadsSnapshotUnlessLive() throws IOException {
+        Database database = Database.getInstance();
+        StatSnapshot packaged = StatSnapshot.readPackaged();
+
+        database.setLiveStats(false);
+        assertEquals(packaged.heroes(), database.getAllHeroStats());
+        assertEquals(packaged.monsters(), database.getAllMonsterStats());
+
+        database.setLiveStats(true);
+        assertEquals(packaged.heroes(), database.getAllHeroStats());
+        assertTrue(database.isLiveStats());
+    }
+}
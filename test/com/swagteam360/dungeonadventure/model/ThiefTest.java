@@ -9,6 +9,7 @@ import org.junit.jupiter.api.Test;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
+import java.util.random.RandomGenerator;
 
 /**
  * Thief test suite.
@@ -104,7 +105,7 @@ public class ThiefTest {
         final Random mockRand = mock(Random.class);
 
         when(mockRand.nextInt(100)).thenReturn(5);
-        final String result = myThief.specialMove(monster, mockRand);
+        final String result = BattleText.render(myThief.specialMove(monster, mockRand), "Monster");
 
         assertTrue(result.contains("caught"));
         verify(monster, never()).takeDamage(anyInt());
@@ -118,8 +119,8 @@ public class ThiefTest {
         final Random mockRand = mock(Random.class);
 
         when(mockRand.nextInt(100)).thenReturn(25);
-        doReturn(10).when(myThief).attack(anyInt(), anyInt(), anyInt());
-        final String result = myThief.specialMove(monster, mockRand);
+        doReturn(10).when(myThief).attack(anyInt(), anyInt(), anyInt(), any(RandomGenerator.class));
+        final String result = BattleText.render(myThief.specialMove(monster, mockRand), "Monster");
 
         assertTrue(result.contains("normal attack"));
         verify(monster).takeDamage(10);
@@ -132,9 +133,9 @@ public class ThiefTest {
         final Random mockRand = mock(Random.class);
 
         when(mockRand.nextInt(100)).thenReturn(90);
-        doReturn(10, 15).when(myThief).attack(anyInt(), anyInt(), anyInt());
+        doReturn(10, 15).when(myThief).attack(anyInt(), anyInt(), anyInt(), any(RandomGenerator.class));
 
-        final String result = myThief.specialMove(monster, mockRand);
+        final String result = BattleText.render(myThief.specialMove(monster, mockRand), "Monster");
 
         // Assertions to check if the response reflects the two hits
         assertTrue(result.contains("Surprise attack successful!"));
@@ -39,7 +39,7 @@ public class VisionPotionTest {
         testInventory.add(visionPotion);
         GameManager.getInstance().getHero().addToInventory(testInventory);
 
-        visionPotion.buff();
+        visionPotion.buff(GameManager.getInstance());
 
         // test if property change was fired and the item was removed from inventory
         PropertyChangeEvent evt = null;
@@ -157,7 +157,7 @@ public class WarriorTest {
         String result;
 
         for (int i = 0; i < 100; i++) {
-            result = myWarrior.specialMove(monster);
+            result = BattleText.render(myWarrior.specialMove(monster), monster.getName());
             if ("Bash failed! You missed!".equals(result)) {
                 bashFail++;
             } else {
@@ -188,7 +188,7 @@ public class WarriorTest {
         String result;
 
         do {
-            result = testWarrior.specialMove(monster);
+            result = BattleText.render(testWarrior.specialMove(monster), monster.getName());
         } while("Bash failed! You missed!".equals(result));
 
         assertEquals(
@@ -0,0 +1,221 @@
+package com.swagteam360.dungeonadventure.server;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.swagteam360.dungeonadventure.model.SessionManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+class GameServerTest {
+
+    private static final String[] DIRECTIONS = {"north", "south", "east", "west"};
+
+    @TempDir
+    Path myTempDir;
+
+    private SessionManager mySessions;
+
+    private GameServer myServer;
+
+    private HttpClient myClient;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        mySessions = new SessionManager(myTempDir, Duration.ofMinutes(1));
+        myServer = new GameServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), mySessions);
+        myServer.start();
+        myClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        myServer.close();
+        mySessions.close();
+    }
+
+    private URI uri(final String thePath) {
+        return URI.create("http://localhost:" + myServer.getPort() + "/sessions" + thePath);
+    }
+
+    private HttpResponse<String> send(final String theMethod, final String thePath, final String theBody)
+            throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(uri(thePath))
+                .method(theMethod, theBody == null ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofString(theBody))
+                .build();
+        return myClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private long createGame(final String theBody) throws IOException, InterruptedException {
+        HttpResponse<String> response = send("POST", "", theBody);
+        assertEquals(201, response.statusCode(), response.body());
+        return Long.parseLong(Json.parseObject(response.body()).get("id"));
+    }
+
+    /**
+     * Reads the next event from a stream, skipping keep-alive comments.
+     */
+    private static String[] nextEvent(final Iterator<String> theLines) {
+        String name = null;
+        String data = null;
+        while (theLines.hasNext()) {
+            String line = theLines.next();
+            if (line.startsWith("event: ")) {
+                name = line.substring(7);
+            } else if (line.startsWith("data: ")) {
+                data = line.substring(6);
+            } else if (line.isEmpty() && name != null) {
+                return new String[] {name, data};
+            }
+        }
+        return null;
+    }
+
+    @Test
+    void testJsonRoundTrip() {
+        String json = Json.object().add("text", "\"Hi\"\n\\").add("n", -3).add("ok", true).add("none", null).build();
+        Map<String, String> fields = Json.parseObject(json);
+
+        assertEquals(Map.of("text", "\"Hi\"\n\\", "n", "-3", "ok", "true"), fields);
+        assertTrue(Json.parseObject("  ").isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> Json.parseObject("{\"a\":}"));
+        assertThrows(IllegalArgumentException.class, () -> Json.parseObject("{\"a\":1} x"));
+    }
+
+    @Test
+    @Timeout(20)
+    void testPlayOverHttp() throws Exception {
+        long id = createGame("{\"hero\":\"Priestess\",\"difficulty\":\"easy\",\"seed\":7}");
+
+        HttpResponse<String> state = send("GET", "/" + id, null);
+        assertEquals(200, state.statusCode());
+        assertTrue(state.body().contains("\"status\":\"PLAYING\""), state.body());
+        assertTrue(state.body().contains("\"hero\":\"Priestess\""), state.body());
+
+        assertEquals(409, send("POST", "/" + id + "/attack", null).statusCode());
+        assertEquals(409, send("POST", "/" + id + "/item", "{\"name\":\"Health Potion\"}").statusCode());
+        assertEquals(400, send("POST", "/" + id + "/move", "{\"direction\":\"up\"}").statusCode());
+        assertEquals(400, send("POST", "/" + id + "/move", "{\"direction\":").statusCode());
+        assertEquals(400, send("POST", "", "{\"hero\":\"wizard\"}").statusCode());
+        assertEquals(405, send("GET", "", null).statusCode());
+        assertEquals(404, send("GET", "/" + (id + 100), null).statusCode());
+        assertEquals(404, send("POST", "/" + id + "/dance", null).statusCode());
+
+        // The entrance is on the top row, so north is always walled off
+        HttpResponse<String> move = send("POST", "/" + id + "/move", "{\"direction\":\"north\"}");
+        assertEquals(200, move.statusCode());
+        assertEquals("false", Json.parseObject(move.body()).get("moved"));
+
+        assertEquals(200, send("DELETE", "/" + id, null).statusCode());
+        assertEquals(404, send("GET", "/" + id, null).statusCode());
+    }
+
+    @Test
+    @Timeout(20)
+    void testEventsStreamChanges() throws Exception {
+        long id = createGame("{\"seed\":11}");
+        HttpRequest request = HttpRequest.newBuilder(uri("/" + id + "/events")).GET().build();
+        HttpResponse<Stream<String>> response = myClient.send(request, HttpResponse.BodyHandlers.ofLines());
+        assertEquals(200, response.statusCode());
+        assertEquals("text/event-stream", response.headers().firstValue("Content-Type").orElse(null));
+        Iterator<String> lines = response.body().iterator();
+
+        String[] first = nextEvent(lines);
+        assertEquals("STATE", first[0]);
+        Matcher open = Pattern.compile("\"directions\":\\[\"(\\w+)\"").matcher(first[1]);
+        assertTrue(open.find(), first[1]);
+
+        HttpResponse<String> move = send("POST", "/" + id + "/move", "{\"direction\":\"" + open.group(1) + "\"}");
+        assertEquals("true", Json.parseObject(move.body()).get("moved"));
+        String[] entered = nextEvent(lines);
+        assertEquals("ROOM_CHANGE", entered[0]);
+        assertTrue(entered[1].contains("\"row\":"), entered[1]);
+
+        // Ending the game ends its stream
+        send("DELETE", "/" + id, null);
+        while (nextEvent(lines) != null) {
+            // Skip whatever else the move caused
+        }
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark.large", matches = "true")
+    void benchmarkLoopback() throws Exception {
+        final int clients = 64;
+        final int requestsPerClient = 1_000;
+        for (int round = 0; round < 3; round++) {
+            final long[] latencies = new long[clients * requestsPerClient];
+            final long start = System.nanoTime();
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int c = 0; c < clients; c++) {
+                    final int client = c;
+                    executor.submit(() -> {
+                        playRandomly(latencies, client * requestsPerClient, requestsPerClient);
+                        return null;
+                    });
+                }
+                executor.shutdown();
+                assertTrue(executor.awaitTermination(5, TimeUnit.MINUTES));
+            }
+            final double seconds = (System.nanoTime() - start) / 1e9;
+            Arrays.sort(latencies);
+            System.out.printf("%d requests from %d clients in %.2f s: %.0f req/s, p50 %.2f ms, p99 %.2f ms%n",
+                    latencies.length, clients, seconds, latencies.length / seconds,
+                    latencies[latencies.length / 2] / 1e6, latencies[latencies.length * 99 / 100] / 1e6);
+        }
+    }
+
+    /**
+     * Plays games by moving at random and attacking whatever is met, recording how long each request took.
+     */
+    private void playRandomly(final long[] theLatencies, final int theOffset, final int theCount) throws Exception {
+        long id = -1;
+        boolean inBattle = false;
+        for (int i = 0; i < theCount; i++) {
+            final long start = System.nanoTime();
+            final HttpResponse<String> response;
+            if (id < 0) {
+                response = send("POST", "", "{\"seed\":" + ThreadLocalRandom.current().nextLong() + "}");
+                id = Long.parseLong(Json.parseObject(response.body()).get("id"));
+            } else if (inBattle) {
+                response = send("POST", "/" + id + "/attack", null);
+            } else {
+                response = send("POST", "/" + id + "/move",
+                        "{\"direction\":\"" + DIRECTIONS[ThreadLocalRandom.current().nextInt(4)] + "\"}");
+            }
+            theLatencies[theOffset + i] = System.nanoTime() - start;
+
+            assertTrue(response.statusCode() < 300, response.body());
+            final Map<String, String> body = Json.parseObject(response.body().replaceAll("\"outcome\":\\{[^}]*},", ""));
+            inBattle = "true".equals(body.get("inBattle"));
+            if (body.containsKey("status") && !"PLAYING".equals(body.get("status"))) {
+                mySessions.remove(id);
+                id = -1;
+            }
+        }
+    }
+}